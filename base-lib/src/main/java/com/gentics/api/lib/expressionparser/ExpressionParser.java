@@ -34,6 +34,11 @@ public final class ExpressionParser {
 
 	private final static String EXPRESSIONPARSER_PARAMETER = "portal.expressionparser";
 
+	/**
+	 * Name of the system property to enable/disable compilation of parsed expressions for evaluation
+	 */
+	public final static String COMPILE_PARAMETER = "portal.expressionparser.compile";
+
 	private final static NodeLogger logger = NodeLogger.getNodeLogger(ExpressionParser.class);
 
 	/**
@@ -51,6 +56,11 @@ public final class ExpressionParser {
 	 */
 	private static boolean treatEmptyStringAsNull = false;
 
+	/**
+	 * Flag for compiling parsed expressions for evaluation
+	 */
+	private static boolean compileExpressions = ObjectTransformer.getBoolean(System.getProperty(COMPILE_PARAMETER), true);
+
 	/**
 	 * constant for an empty expression
 	 */
@@ -177,6 +187,22 @@ public final class ExpressionParser {
 		return treatEmptyStringAsNull;
 	}
 
+	/**
+	 * Set whether parsed expressions shall be compiled for evaluation
+	 * @param value true to compile expressions, false to interpret them
+	 */
+	public static void setCompileExpressions(boolean value) {
+		compileExpressions = value;
+	}
+
+	/**
+	 * Check whether parsed expressions are compiled for evaluation
+	 * @return true when expressions are compiled, false if they are interpreted. Default is true.
+	 */
+	public static boolean isCompileExpressions() {
+		return compileExpressions;
+	}
+
 	/**
 	 * Check whether compatibility mode is on for the expression parser.
 	 * (Default is true). When the compatibility mode is off, the old API
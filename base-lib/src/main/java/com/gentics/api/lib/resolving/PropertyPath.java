@@ -0,0 +1,251 @@
+package com.gentics.api.lib.resolving;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.gentics.api.lib.exception.UnknownPropertyException;
+import com.gentics.lib.base.MapResolver;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Compiled representation of a property path (like "folder.node.host"), which is used by the {@link PropertyResolver}.
+ * Instances are immutable and interned per path string (see {@link #get(String)}), so that the path is split only once.
+ * Resolving a path with {@link #resolve(Resolvable, boolean)} does not allocate anything, unless plain maps or collections are resolved.
+ */
+public final class PropertyPath {
+	/**
+	 * Maximum number of cached property paths. When the cache gets larger, it is cleared.
+	 */
+	public final static int MAX_CACHED = 10000;
+
+	/**
+	 * Cached property paths
+	 */
+	private final static Map<String, PropertyPath> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Logger
+	 */
+	private static NodeLogger logger = NodeLogger.getNodeLogger(PropertyPath.class);
+
+	/**
+	 * Property path
+	 */
+	private final String path;
+
+	/**
+	 * Parts of the path
+	 */
+	private final String[] parts;
+
+	/**
+	 * Resolved prefixes of the path. The entry at index i contains the first i parts
+	 */
+	private final String[] prefixes;
+
+	/**
+	 * Remaining parts of the path. The entry at index i contains the part of the path following the first i parts
+	 */
+	private final String[] remaining;
+
+	/**
+	 * Get the compiled property path for the given path
+	 * @param path property path
+	 * @return compiled property path
+	 */
+	public static PropertyPath get(String path) {
+		PropertyPath compiled = cache.get(path);
+		if (compiled == null) {
+			if (cache.size() >= MAX_CACHED) {
+				cache.clear();
+			}
+			compiled = new PropertyPath(path);
+			PropertyPath existing = cache.putIfAbsent(path, compiled);
+			if (existing != null) {
+				compiled = existing;
+			}
+		}
+		return compiled;
+	}
+
+	/**
+	 * Compile the given property path
+	 * @param path property path
+	 */
+	private PropertyPath(String path) {
+		this.path = path;
+
+		// empty parts are omitted, as the StringTokenizer always did
+		StringTokenizer tokenizer = new StringTokenizer(path, ".", false);
+		parts = new String[tokenizer.countTokens()];
+		for (int i = 0; i < parts.length; i++) {
+			parts[i] = tokenizer.nextToken();
+		}
+
+		prefixes = new String[parts.length + 1];
+		remaining = new String[parts.length + 1];
+		StringBuilder prefix = new StringBuilder(path.length());
+		for (int i = 0; i <= parts.length; i++) {
+			if (i > 0) {
+				if (i > 1) {
+					prefix.append(".");
+				}
+				prefix.append(parts[i - 1]);
+			}
+			prefixes[i] = prefix.toString();
+			remaining[i] = i > 0 && i < parts.length ? path.substring(prefix.length() + 1) : "";
+		}
+	}
+
+	/**
+	 * Get the property path
+	 * @return property path
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Get the number of parts
+	 * @return number of parts
+	 */
+	public int size() {
+		return parts.length;
+	}
+
+	/**
+	 * Get the part with given index
+	 * @param index index
+	 * @return part
+	 */
+	public String getPart(int index) {
+		return parts[index];
+	}
+
+	/**
+	 * Get the prefix of the path consisting of the given number of parts
+	 * @param count number of parts
+	 * @return prefix
+	 */
+	public String getPrefix(int count) {
+		return prefixes[count];
+	}
+
+	/**
+	 * Get the remaining path following the given number of parts
+	 * @param count number of parts
+	 * @return remaining path
+	 */
+	public String getRemaining(int count) {
+		return remaining[count];
+	}
+
+	/**
+	 * Resolve the path starting with the given object. Resolvable objects are pushed into the {@link ResolverContextHandler} while resolving and
+	 * are popped in reverse order before this method returns.
+	 * @param startObject start object
+	 * @param failIfUnresolvablePath true when resolving shall fail with an UnknownPropertyException, when a part of the path (not the last) could not be resolved
+	 * @return resolved value (which might be a collection of values) or null
+	 * @throws UnknownPropertyException
+	 */
+	public Object resolve(Resolvable startObject, boolean failIfUnresolvablePath) throws UnknownPropertyException {
+		return resolve(startObject, 0, failIfUnresolvablePath);
+	}
+
+	/**
+	 * Resolve the remaining parts of the path, starting with the part at the given index
+	 * @param object object, which was resolved by the previous parts
+	 * @param index index of the next part
+	 * @param failIfUnresolvablePath true when resolving shall fail, if a part of the path (not the last) could not be resolved
+	 * @return resolved value
+	 * @throws UnknownPropertyException
+	 */
+	private Object resolve(Object object, int index, boolean failIfUnresolvablePath) throws UnknownPropertyException {
+		if (index >= parts.length) {
+			return object;
+		}
+		if (object == null) {
+			// a part before the last resolved to null
+			unresolvable(index > 0 ? parts[index - 1] : "", Math.max(index - 1, 0), failIfUnresolvablePath);
+			return null;
+		}
+
+		// if the object is a map, but not a resolvable, wrap into into a mapresolver
+		if (object instanceof Map && !(object instanceof Resolvable)) {
+			object = new MapResolver((Map<?, ?>) object);
+		}
+
+		if (object instanceof Resolvable) {
+			Resolvable r = (Resolvable) object;
+
+			ResolverContextHandler.push(r);
+			try {
+				return resolve(r.canResolve() ? r.getProperty(parts[index]) : null, index + 1, failIfUnresolvablePath);
+			} finally {
+				ResolverContextHandler.pop(r);
+			}
+		} else if (object instanceof Collection) {
+			// continue resolving with every resolvable object in the collection
+			Collection newCol = new NestedCollection();
+			List<Resolvable> pushed = new ArrayList<>();
+
+			try {
+				for (Object part : (Collection<?>) object) {
+					if (part instanceof Resolvable) {
+						Resolvable r = (Resolvable) part;
+
+						ResolverContextHandler.push(r);
+						pushed.add(r);
+
+						Object prop = r.getProperty(parts[index]);
+
+						if (prop instanceof Collection) {
+							newCol.addAll((Collection) prop);
+						} else if (prop != null) {
+							newCol.add(prop);
+						}
+					}
+				}
+
+				return resolve(newCol, index + 1, failIfUnresolvablePath);
+			} finally {
+				for (int i = pushed.size() - 1; i >= 0; i--) {
+					ResolverContextHandler.pop(pushed.get(i));
+				}
+			}
+		} else {
+			// this is not a resolvable object
+			unresolvable(parts[index], index, failIfUnresolvablePath);
+			return null;
+		}
+	}
+
+	/**
+	 * Handle a part of the path, which could not be resolved
+	 * @param part part
+	 * @param resolved number of resolved parts
+	 * @param failIfUnresolvablePath true to throw an exception, false to just log it
+	 * @throws UnknownPropertyException
+	 */
+	private void unresolvable(String part, int resolved, boolean failIfUnresolvablePath) throws UnknownPropertyException {
+		if (failIfUnresolvablePath || logger.isDebugEnabled()) {
+			UnknownPropertyException e = new UnknownPropertyException(
+					"Failed to resolve {" + path + "}: could not resolve Property {" + part + "} for object {" + prefixes[resolved] + "}");
+
+			if (failIfUnresolvablePath) {
+				throw e;
+			} else {
+				logger.debug(e);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+}
@@ -5,13 +5,12 @@
  */
 package com.gentics.api.lib.resolving;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
-import java.util.StringTokenizer;
-import java.util.Vector;
 
 import com.gentics.api.lib.exception.UnknownPropertyException;
 import com.gentics.lib.base.MapResolver;
@@ -138,7 +137,7 @@ public class PropertyResolver implements Resolvable {
 
 			// path will hold all resolved entries that implement the given
 			// class and the last entry
-			Vector path = null;
+			List path = null;
 
 			// currently resolved object
 			Object ret = null;
@@ -149,21 +148,24 @@ public class PropertyResolver implements Resolvable {
 			/* If the Property is not null, try to validate the property */
 			if (propertyPath != null) {
 				// initialise values
-				StringTokenizer parts = new StringTokenizer(propertyPath, ".", false);
+				PropertyPath compiled = PropertyPath.get(propertyPath);
+				int size = compiled.size();
+				int index = 0;
 
 				ret = startObject;
-				path = new Vector(parts.countTokens());
+				path = new ArrayList(implementingClass != null ? size + 1 : 1);
 				String nextToken = "";
-				StringBuffer resolvedSoFar = new StringBuffer(propertyPath.length());
+				// number of parts, which have been resolved so far
+				int resolvedSoFar = 0;
 
 				if (implementingClass != null && ret != null && implementingClass.isAssignableFrom(ret.getClass())) {
 					path.add(new PropertyPathEntry("", propertyPath, ret, mother));
 				}
 
 				// as long as there are more elements
-				while (parts.hasMoreElements() && ret != null) {
+				while (index < size && ret != null) {
 					// get the next token
-					nextToken = parts.nextToken();
+					nextToken = compiled.getPart(index++);
 
 					mother = ret;
 
@@ -189,14 +191,11 @@ public class PropertyResolver implements Resolvable {
 							// resolve the next token
 							ret = r.getProperty(nextToken);
 							if (ret != null) {
-								if (resolvedSoFar.length() > 0) {
-									resolvedSoFar.append(".");
-								}
-								resolvedSoFar.append(nextToken);
+								resolvedSoFar = index;
 
 								// add the current ret value to the token
-								if (implementingClass != null && implementingClass.isAssignableFrom(ret.getClass()) && parts.hasMoreElements()) {
-									path.add(new PropertyPathEntry(resolvedSoFar.toString(), propertyPath.substring(resolvedSoFar.length() + 1), ret, mother));
+								if (implementingClass != null && implementingClass.isAssignableFrom(ret.getClass()) && index < size) {
+									path.add(new PropertyPathEntry(compiled.getPrefix(resolvedSoFar), compiled.getRemaining(resolvedSoFar), ret, mother));
 								}
 							}
 						} else {
@@ -232,24 +231,19 @@ public class PropertyResolver implements Resolvable {
 						}
 
 						ret = newCol;
-						if (ret != null) {
-							if (resolvedSoFar.length() > 0) {
-								resolvedSoFar.append(".");
-							}
-							resolvedSoFar.append(nextToken);
+						resolvedSoFar = index;
 
-							// add the current ret value to the token
-							if (implementingClass != null && implementingClass.isAssignableFrom(ret.getClass()) && parts.hasMoreElements()) {
-								path.add(new PropertyPathEntry(resolvedSoFar.toString(), propertyPath.substring(resolvedSoFar.length() + 1), ret, mother));
-							}
+						// add the current ret value to the token
+						if (implementingClass != null && implementingClass.isAssignableFrom(ret.getClass()) && index < size) {
+							path.add(new PropertyPathEntry(compiled.getPrefix(resolvedSoFar), compiled.getRemaining(resolvedSoFar), ret, mother));
 						}
 					} else {
 						// this is now not a valid resolvable objecct --> return
 						// null, not an exception
 						ret = null;
 						UnknownPropertyException e = new UnknownPropertyException(
-								"Failed to resolve {" + propertyPath + "}: could not resolve Property {" + nextToken + "} for object {" + resolvedSoFar.toString()
-								+ "}");
+								"Failed to resolve {" + propertyPath + "}: could not resolve Property {" + nextToken + "} for object {"
+										+ compiled.getPrefix(resolvedSoFar) + "}");
 
 						if (failIfUnresolvablePath) {
 							throw e;
@@ -259,9 +253,10 @@ public class PropertyResolver implements Resolvable {
 					}
 				}
 
-				if (parts.hasMoreElements() && ret == null) {
+				if (index < size && ret == null) {
 					UnknownPropertyException e = new UnknownPropertyException(
-							"Failed to resolve {" + propertyPath + "}: could not resolve Property {" + nextToken + "} for object {" + resolvedSoFar.toString() + "}");
+							"Failed to resolve {" + propertyPath + "}: could not resolve Property {" + nextToken + "} for object {"
+									+ compiled.getPrefix(resolvedSoFar) + "}");
 
 					if (failIfUnresolvablePath) {
 						throw e;
@@ -297,6 +292,25 @@ public class PropertyResolver implements Resolvable {
 		return resolve(m_startObject, propertyPath, failIfUnresolvablePath);
 	}
 
+	/**
+	 * Resolve the given compiled property path to a value (which also might be a
+	 * Collection of values) or null.
+	 * @param propertyPath compiled property path
+	 * @param failIfUnresolvablePath true when the resolving shall fail with an
+	 *        UnknownPropertyException, when a part of the property path (not
+	 *        the last) could not be resolved
+	 * @return the value of the property
+	 * @throws UnknownPropertyException when the property path cannot be fully resolved
+	 */
+	public Object resolve(PropertyPath propertyPath, boolean failIfUnresolvablePath) throws UnknownPropertyException {
+		try {
+			RuntimeProfiler.beginMark(ComponentsConstants.PROPERTY_RESOLVER_RESOLVE, propertyPath.getPath());
+			return propertyPath.resolve(m_startObject, failIfUnresolvablePath);
+		} finally {
+			RuntimeProfiler.endMark(ComponentsConstants.PROPERTY_RESOLVER_RESOLVE, propertyPath.getPath());
+		}
+	}
+
 	/**
 	 * Resolve the given property path to a value (which also might be a
 	 * Collection of values) or null, starting with the given startObject.
@@ -311,9 +325,15 @@ public class PropertyResolver implements Resolvable {
 	 */
 	public static Object resolve(Resolvable startObject, String propertyPath,
 			boolean failIfUnresolvablePath) throws UnknownPropertyException {
-		List path = resolvePath(startObject, propertyPath, failIfUnresolvablePath, null, true, null);
-
-		return path != null && path.size() > 0 ? ((PropertyPathEntry) path.get(path.size() - 1)).getEntry() : null;
+		if (propertyPath == null) {
+			return null;
+		}
+		try {
+			RuntimeProfiler.beginMark(ComponentsConstants.PROPERTY_RESOLVER_RESOLVE, propertyPath);
+			return PropertyPath.get(propertyPath).resolve(startObject, failIfUnresolvablePath);
+		} finally {
+			RuntimeProfiler.endMark(ComponentsConstants.PROPERTY_RESOLVER_RESOLVE, propertyPath);
+		}
 	}
 
 	/**
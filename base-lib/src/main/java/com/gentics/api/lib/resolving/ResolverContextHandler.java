@@ -5,7 +5,6 @@
  */
 package com.gentics.api.lib.resolving;
 
-import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -21,6 +20,11 @@ public final class ResolverContextHandler {
 	 */
 	private static Map contextMap = new TreeMap();
 
+	/**
+	 * registered {@link ResolverContext} instances in the order of their names (updated when contexts are registered or unregistered)
+	 */
+	private static volatile ResolverContext[] contexts = new ResolverContext[0];
+
 	/**
 	 * logger
 	 */
@@ -36,16 +40,18 @@ public final class ResolverContextHandler {
 	 * @param name name of the ResolverContext
 	 * @param context ResolverContext instance to register
 	 */
-	public static void registerContext(String name, ResolverContext context) {
+	public static synchronized void registerContext(String name, ResolverContext context) {
 		contextMap.put(name, context);
+		contexts = (ResolverContext[]) contextMap.values().toArray(new ResolverContext[contextMap.size()]);
 	}
 
 	/**
 	 * Inregister the ResolverContext which was registered under the given name
 	 * @param name name of the ResolverContext to unregister
 	 */
-	public static void unregisterContext(String name) {
+	public static synchronized void unregisterContext(String name) {
 		contextMap.remove(name);
+		contexts = (ResolverContext[]) contextMap.values().toArray(new ResolverContext[contextMap.size()]);
 	}
 
 	/**
@@ -53,9 +59,7 @@ public final class ResolverContextHandler {
 	 * @param object object to push into the ResolverContext instances
 	 */
 	public static void push(Object object) {
-		for (Iterator iterator = contextMap.values().iterator(); iterator.hasNext();) {
-			ResolverContext context = (ResolverContext) iterator.next();
-
+		for (ResolverContext context : contexts) {
 			try {
 				context.push(object);
 			} catch (Exception e) {
@@ -69,9 +73,7 @@ public final class ResolverContextHandler {
 	 * @param object object to pop from the ResolverContext instances
 	 */
 	public static void pop(Object object) {
-		for (Iterator iterator = contextMap.values().iterator(); iterator.hasNext();) {
-			ResolverContext context = (ResolverContext) iterator.next();
-
+		for (ResolverContext context : contexts) {
 			try {
 				context.pop(object);
 			} catch (Exception e) {
@@ -10,6 +10,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
@@ -30,6 +31,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -71,6 +77,8 @@ import com.gentics.lib.datasource.object.ObjectManagementManager.ObjectTypeDiff;
 import com.gentics.lib.db.DB;
 import com.gentics.lib.db.DBHandle;
 import com.gentics.lib.db.PoolConnection;
+import com.gentics.lib.db.SimpleResultProcessor;
+import com.gentics.lib.db.SimpleResultRow;
 import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
 
@@ -125,6 +133,15 @@ public class CRSync {
     
 	private static final String PARAM_FORCE_CONTENTIDS = "forcecontentids";
 
+	private static final String PARAM_STREAMING = "streaming";
+
+	private static final String PARAM_THREADS = "threads";
+
+	/**
+	 * prefix for the names of the checkpoints, which are stored in the contentstatus of the target
+	 */
+	private static final String CHECKPOINT_NAME = "crsynccheckpoint";
+
 	/**
 	 * use this logger for test-run output, use method .info() only
 	 */
@@ -228,6 +245,22 @@ public class CRSync {
 
 	private String[] forceContentIds;
 
+	/**
+	 * flag for the streaming sync. If set, objects are synced in ranges of obj_id, lob values are streamed,
+	 * progress is stored in checkpoints and object types and id ranges can be synced in parallel
+	 */
+	private boolean streaming = false;
+
+	/**
+	 * number of threads for the streaming sync
+	 */
+	private int threads = 1;
+
+	/**
+	 * prefix of the checkpoint values, which are valid for the current sync
+	 */
+	private String checkpointPrefix;
+
 	/**
 	 * Read the commandline parameters and start the sync. For details and
 	 * available parameters, see commandline help (-help).
@@ -373,6 +406,8 @@ public class CRSync {
 			cs.setObsoletionCheckBatchSize(ObjectTransformer.getInt(line.getOptionValue(PARAM_DELETION_BATCHSIZE), CHECK_OBSOLETE_BATCHSIZE));
 			cs.setUseLobStreams(!disableLobStreams);
 			cs.setIgnoreOptimized(line.hasOption(PARAM_IGNOREOPTIMIZED));
+			cs.setStreaming(line.hasOption(PARAM_STREAMING));
+			cs.setThreads(ObjectTransformer.getInt(line.getOptionValue(PARAM_THREADS), 1));
 			String returnMessage = cs.doSync();
 
 			logger.info(returnMessage);
@@ -412,6 +447,22 @@ public class CRSync {
 		this.ignoreOptimized = ignoreOptimized;
 	}
 
+	/**
+	 * Set the flag for the streaming sync
+	 * @param streaming true to sync objects in ranges of obj_id with checkpoints, false for the classic sync
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Set the number of threads for the streaming sync
+	 * @param threads number of threads
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
 	/**
 	 * Parse Datasource Information from CommandLine line evaluate -prefix
 	 * bevore -prefix_*
@@ -591,6 +642,12 @@ public class CRSync {
 		options.addOption(PARAM_IGNOREOPTIMIZED, false,
 				"ignore optimized flag for attributetypes. This allows different quick columns in source and target content repositories.");
 
+		options.addOption(PARAM_STREAMING, false,
+				"sync objects in ranges of obj_id with bounded memory and stream lob values. The progress is stored in the target repository, so that an interrupted sync will resume, when started again (and the source repository was not changed meanwhile).");
+
+		options.addOption(PARAM_THREADS, true,
+				"number of threads for the streaming sync (default: 1). Object types and id ranges are synced in parallel. Will be ignored, when transactions are enabled.");
+
 		// undocumented features below
 		if (!hideUndocumented) {
 			options.addOption(PARAM_DISABLELOBOPTIMIZATION, false, "uses a stream for large objects instead of reading it into memory.");
@@ -902,6 +959,11 @@ public class CRSync {
 				logger.info("Last update of source cr was @ " + sourceUpdateTS);
 			}
 
+			// checkpoints of an interrupted sync are only valid, if neither the source, nor the target, nor the rule changed
+			if (streaming) {
+				checkpointPrefix = sourceUpdateTS + ":" + targetUpdateTS + ":" + (rule != null ? rule.hashCode() : 0) + ":";
+			}
+
 			// if (targetUpdateTS == -1) {
 			// throw new NodeException("Got LastUpdate " + targetUpdateTS);
 			// }
@@ -929,6 +991,10 @@ public class CRSync {
 					targetDS.setContentStatus("lastcrsyncrule", rule);
 					logger.info("Last crsync rule is now " + (StringUtils.isEmpty(rule) ? "[empty]" : rule));
 				}
+				// the sync is complete, so the checkpoints are obsolete
+				if (streaming && !test) {
+					removeCheckpoints();
+				}
 			} else {
 				logger.info("last update timestamp from source and target are identical. not syncing.");
 			}
@@ -950,7 +1016,8 @@ public class CRSync {
 			}
 			throw ex;
 		} catch (OutOfMemoryError e) {
-			logger.fatal("The sync ran out of memory, please consult http://www.gentics.com/infoportal/ (CRSync) for more information on how to avoid this!");
+			logger.fatal("The sync ran out of memory, please consult http://www.gentics.com/infoportal/ (CRSync) for more information on how to avoid this! Consider using the streaming sync (-"
+					+ PARAM_STREAMING + ")");
 			throw e;
 		} finally {
 			// restore PrefetchAttributesThreshold
@@ -1040,6 +1107,10 @@ public class CRSync {
 		// get all ObjectTypes from target - collection of ObjectTypeBean
 		Collection targetObjectTypesArray = loadObjectTypesFromDatasource(targetDS, allowEmpty);
 
+		if (streaming) {
+			return syncStreaming(sourceObjectTypesArray, targetObjectTypesArray, ruleString);
+		}
+
 		int numObjectTypes = sourceObjectTypesArray.size();
 		int currentObjectType = 0;
 
@@ -1053,14 +1124,90 @@ public class CRSync {
 
 			currentObjectType++;
 
+			ObjectTypeSync typeSync = new ObjectTypeSync(sourceObjectType, targetObjectType, ruleString, currentObjectType, numObjectTypes);
+
+			modifiedCount += typeSync.syncObjects(null);
+			deletedCount += typeSync.removeObsoleteObjects(false);
+
+			if (progressLogger.isInfoEnabled()) {
+				progressLogger.info("Finished syncing objects of type {" + sourceObjectType.getType() + "} (" + currentObjectType + "/" + numObjectTypes + ")");
+			}
+		}
+
+		return new Long[] { new Long(modifiedCount), new Long(deletedCount)};
+	}
+
+	/**
+	 * Synchronization of the objects of a single object type
+	 */
+	private class ObjectTypeSync {
+		/**
+		 * Object type in the source
+		 */
+		private ObjectTypeBean sourceObjectType;
+
+		/**
+		 * Object type in the target
+		 */
+		private ObjectTypeBean targetObjectType;
+
+		/**
+		 * Sync rule
+		 */
+		private String ruleString;
+
+		/**
+		 * Number of the object type (for progress info)
+		 */
+		private int currentObjectType;
+
+		/**
+		 * Total number of object types (for progress info)
+		 */
+		private int numObjectTypes;
+
+		/**
+		 * Create an instance
+		 * @param sourceObjectType object type in the source
+		 * @param targetObjectType object type in the target
+		 * @param ruleString sync rule
+		 * @param currentObjectType number of the object type (for progress info)
+		 * @param numObjectTypes total number of object types (for progress info)
+		 */
+		private ObjectTypeSync(ObjectTypeBean sourceObjectType, ObjectTypeBean targetObjectType, String ruleString, int currentObjectType,
+				int numObjectTypes) {
+			this.sourceObjectType = sourceObjectType;
+			this.targetObjectType = targetObjectType;
+			this.ruleString = ruleString;
+			this.currentObjectType = currentObjectType;
+			this.numObjectTypes = numObjectTypes;
+		}
+
+		/**
+		 * Sync the added/modified objects from the source to the target
+		 * @param range id range for streaming sync, null to page over all objects ordered by contentid
+		 * @return number of synced objects
+		 * @throws NodeException
+		 */
+		private long syncObjects(IdRange range) throws NodeException {
+			Map data = new HashMap();
+			Expression objectRule = null;
+			DatasourceFilter objectFilter = null;
+			Collection objects = null;
+			String ruleExpression = null;
+			long startTime = System.currentTimeMillis();
+
 			if (forceContentIds == null) {
-				objectRule = PortalConnectorFactory.createExpression(
-						"object.obj_type == data.obj_type && object.updatetimestamp > data.updatetimestamp && (" + ruleString + ")");
+				ruleExpression = "object.obj_type == data.obj_type && object.updatetimestamp > data.updatetimestamp && (" + ruleString + ")";
 			} else {
-				objectRule = PortalConnectorFactory.createExpression(
-						"object.obj_type == data.obj_type && ((object.updatetimestamp > data.updatetimestamp && (" + ruleString
-						+ ")) || object.contentid CONTAINSONEOF data.forceContentIds)");
+				ruleExpression = "object.obj_type == data.obj_type && ((object.updatetimestamp > data.updatetimestamp && (" + ruleString
+						+ ")) || object.contentid CONTAINSONEOF data.forceContentIds)";
+			}
+			if (range != null) {
+				// restrict to the id range, starting after the last checkpoint
+				ruleExpression += " && object.obj_id > data.lastObjId && object.obj_id <= data.maxObjId";
 			}
+			objectRule = PortalConnectorFactory.createExpression(ruleExpression);
 			// .createExpression("object.obj_type == data.obj_type &&
 			// object.updatetimestamp > data.updatetimestamp");
 
@@ -1074,6 +1221,15 @@ public class CRSync {
 			if (forceContentIds != null) {
 				data.put("forceContentIds", forceContentIds);
 			}
+			if (range != null) {
+				int lastObjId = readCheckpoint(range.getCheckpointName(), range.from);
+
+				if (lastObjId != range.from) {
+					logger.info("Resuming sync of objects of type {" + sourceObjectType.getType() + "} in range " + range + " after obj_id " + lastObjId);
+				}
+				data.put("lastObjId", lastObjId);
+				data.put("maxObjId", range.to);
+			}
 
 			objectFilter.addBaseResolvable("data", new MapResolver(data));
 
@@ -1148,8 +1304,8 @@ public class CRSync {
 
 			if (progressLogger.isInfoEnabled()) {
 				objectsToSync = sourceDS.getCount(objectFilter);
-				progressLogger.info(
-						"Start syncing " + objectsToSync + " objects of type {" + sourceObjectType.getType() + "} (" + currentObjectType + "/" + numObjectTypes + ")");
+				progressLogger.info("Start syncing " + objectsToSync + " objects of type {" + sourceObjectType.getType() + "}"
+						+ (range != null ? " in range " + range : "") + " (" + currentObjectType + "/" + numObjectTypes + ")");
 			}
             
 			// open our connections
@@ -1186,17 +1342,24 @@ public class CRSync {
 
 				// do the above
 				while (true) {
-					objects = sourceDS.getResultForcePrefill(objectFilter, attributeNames, counter, batchSize,
-							new Datasource.Sorting[] { new Datasource.Sorting("contentid", Datasource.SORTORDER_ASC)});
+					if (range == null) {
+						objects = sourceDS.getResultForcePrefill(objectFilter, attributeNames, counter, batchSize,
+								new Datasource.Sorting[] { new Datasource.Sorting("contentid", Datasource.SORTORDER_ASC)});
+					} else {
+						// page by obj_id, so that every batch is a range query, which does not get slower with the progress
+						objects = sourceDS.getResultForcePrefill(objectFilter, attributeNames, 0, batchSize,
+								new Datasource.Sorting[] { new Datasource.Sorting("obj_id", Datasource.SORTORDER_ASC)});
+					}
     
 					// exit if there are no more objects left to sync
 					if (objects.size() == 0) {
 						if (progressLogger.isInfoEnabled()) {
-							progressLogger.info("Synced all objects of type {" + sourceObjectType.getType() + "}");
+							progressLogger.info("Synced all " + modifiedSubCount + " objects of type {" + sourceObjectType.getType() + "}"
+									+ (range != null ? " in range " + range : "") + getThroughput(modifiedSubCount, startTime, System.currentTimeMillis()));
 						}
 						break;
 					}
-					modifiedCount += objects.size();
+					int lastObjId = getMaxObjId(objects);
 					modifiedSubCount += objects.size();
     
 					// replace all attributes of type obj_type with the contentids of the objects
@@ -1218,11 +1381,11 @@ public class CRSync {
 					if (!test) {
 						// if data modifier exists, modify all objects before
 						// storing them
-						if (this.dataModifier != null) {
+						if (CRSync.this.dataModifier != null) {
 							for (Iterator iterator = objects.iterator(); iterator.hasNext();) {
 								Changeable changeable = (Changeable) iterator.next();
 
-								this.dataModifier.modify(changeable);
+								CRSync.this.dataModifier.modify(changeable);
 							}
 						}
 						if (logger.isDebugEnabled()) {
@@ -1337,6 +1500,18 @@ public class CRSync {
 												// we are not using streams here ..
 												// first get the value from the source
 
+												if (streaming) {
+													// pass the character stream through, instead of reading the whole value into memory
+													Reader reader = osourcers.getCharacterStream(colname);
+
+													if (reader == null) {
+														otargetrs.updateNull(targetColName);
+													} else {
+														otargetrs.updateCharacterStream(targetColName, reader);
+													}
+													break;
+												}
+
 												Object value = osourcers.getObject(colname);
 
 												if (value instanceof String) {
@@ -1569,11 +1744,22 @@ public class CRSync {
 									// see: http://dev.mysql.com/doc/refman/5.0/en/connector-j-reference-implementation-notes.html
 									// The Clob implementation does not allow in-place modification (they are copies, as reported by the DatabaseMetaData.locatorsUpdateCopies()  method). Because of this, you should use the PreparedStatement.setClob() method to save changes back to the database. The JDBC API does not have a ResultSet.updateClob() method.
 									// Clob clob = sourcers.getClob(type);
-									String value = sourcers.getString(type);
+									if (streaming) {
+										// pass the character stream through, instead of reading the whole value into memory
+										Reader reader = sourcers.getCharacterStream(type);
+
+										if (reader == null) {
+											stmt.setNull(lobcol, Types.LONGVARCHAR);
+										} else {
+											stmt.setCharacterStream(lobcol, reader);
+										}
+									} else {
+										String value = sourcers.getString(type);
 
-									// //                                        updaters.updateClob("value_clob", clob);
-									// System. out.println("clob.length: " + clob.length());
-									stmt.setString(lobcol, value);
+										// //                                        updaters.updateClob("value_clob", clob);
+										// System. out.println("clob.length: " + clob.length());
+										stmt.setString(lobcol, value);
+									}
 									// Clob clob = sourcers.getClob(type);
 									// stmt.setCharacterStream(lobcol, clob.getCharacterStream(), (int) clob.length());
 									// stmt.setAsciiStream(lobcol, clob.getAsciiStream(), (int) clob.length());
@@ -1600,7 +1786,17 @@ public class CRSync {
 
 								case GenticsContentAttribute.ATTR_TYPE_BINARY:
 									type = "value_bin";
-									stmt.setObject(lobcol + 2, sourcers.getObject(type));
+									if (streaming) {
+										InputStream in = sourcers.getBinaryStream(type);
+
+										if (in == null) {
+											stmt.setNull(lobcol + 2, Types.LONGVARBINARY);
+										} else {
+											stmt.setBinaryStream(lobcol + 2, in);
+										}
+									} else {
+										stmt.setObject(lobcol + 2, sourcers.getObject(type));
+									}
 									// Blob blob = sourcers.getBlob(type);
 									// stmt.setBlob(lobcol+2, blob);
 									break;
@@ -1701,7 +1897,12 @@ public class CRSync {
 					}
     
 					// set new start
-					counter += batchSize;
+					if (range == null) {
+						counter += batchSize;
+					} else {
+						data.put("lastObjId", lastObjId);
+						writeCheckpoint(range.getCheckpointName(), lastObjId);
+					}
 				}
                 
 				// FIXME close connections
@@ -1721,6 +1922,23 @@ public class CRSync {
 				}
 			}
 
+			return modifiedSubCount;
+		}
+
+		/**
+		 * Remove objects from the target, which do not exist in the source (any more)
+		 * @param streaming true to page over the target objects by obj_id and store checkpoints
+		 * @return number of removed objects
+		 * @throws NodeException
+		 */
+		private long removeObsoleteObjects(boolean streaming) throws NodeException {
+			Map data = new HashMap();
+			Expression objectRule = null;
+			DatasourceFilter objectFilter = null;
+			Collection objects = null;
+			int counter = 0;
+			String checkpointName = CHECKPOINT_NAME + "." + sourceObjectType.getType() + ".obsolete";
+
 			// /* *** this is 2)
 			// **************************************************************************
 			// */
@@ -1729,10 +1947,11 @@ public class CRSync {
 				// the lastupdate timestamp in the target cr is 0, so we needed
 				// to do a full sync and will need to check all objects for
 				// obsoletion
-				objectRule = PortalConnectorFactory.createExpression("object.obj_type == data.obj_type && (" + ruleString + ")");
-			} else {
 				objectRule = PortalConnectorFactory.createExpression(
-						"object.obj_type == data.obj_type && object.updatetimestamp <= data.updatetimestamp && (" + ruleString + ")");
+						"object.obj_type == data.obj_type && (" + ruleString + ")" + (streaming ? " && object.obj_id > data.lastObjId" : ""));
+			} else {
+				objectRule = PortalConnectorFactory.createExpression("object.obj_type == data.obj_type && object.updatetimestamp <= data.updatetimestamp && ("
+						+ ruleString + ")" + (streaming ? " && object.obj_id > data.lastObjId" : ""));
 			}
 
 			// create a datasource filter from the expression
@@ -1742,6 +1961,9 @@ public class CRSync {
 			data.clear();
 			data.put("obj_type", sourceObjectType.getType());
 			data.put("updatetimestamp", new Long(targetUpdateTS));
+			if (streaming) {
+				data.put("lastObjId", readCheckpoint(checkpointName, Integer.MIN_VALUE));
+			}
 
 			objectFilter.addBaseResolvable("data", new MapResolver(data));
 
@@ -1749,8 +1971,6 @@ public class CRSync {
 			// filter, prefill attributes, collection of Resolvable
 			objects = null;
 
-			counter = 0;
-			modifiedSubCount = 0;
 			objectFilter.getMainFilterPart();
 			objectFilter.getExpressionString();
 
@@ -1774,8 +1994,13 @@ public class CRSync {
 			int deletedObjectsPerType = 0;
 
 			while (true) {
-				objects = targetDS.getResult(objectFilter, null, counter, obsoletionCheckBatchSize,
-						new Datasource.Sorting[] { new Datasource.Sorting("contentid", Datasource.SORTORDER_ASC)});
+				if (streaming) {
+					objects = targetDS.getResult(objectFilter, null, 0, obsoletionCheckBatchSize,
+							new Datasource.Sorting[] { new Datasource.Sorting("obj_id", Datasource.SORTORDER_ASC)});
+				} else {
+					objects = targetDS.getResult(objectFilter, null, counter, obsoletionCheckBatchSize,
+							new Datasource.Sorting[] { new Datasource.Sorting("contentid", Datasource.SORTORDER_ASC)});
+				}
 
 				// exit if there are no more objects left to sync
 				if (objects.size() == 0) {
@@ -1785,6 +2010,7 @@ public class CRSync {
 					break;
 				}
 				int checkedObjects = objects.size();
+				int lastObjId = getMaxObjId(objects);
 
 				// get all objects from the source ds with the id's from the target objects
 				sourceData.put("objects", objects);
@@ -1792,7 +2018,6 @@ public class CRSync {
 
 				// get the objects from the target ds which are no longer present in the source
 				objects.removeAll(sourceObjects);
-				deletedCount += objects.size();
 				deletedObjectsPerType += objects.size();
 				if (!test) {
 					// delete the obsolete objects from the target ds
@@ -1806,16 +2031,214 @@ public class CRSync {
 
 				// set new beginning
 				counter += obsoletionCheckBatchSize;
+				if (streaming) {
+					data.put("lastObjId", lastObjId);
+					writeCheckpoint(checkpointName, lastObjId);
+				}
+			}
+
+			return deletedObjectsPerType;
+		}
+	}
+
+	/**
+	 * Sync the data of all object types with the streaming sync. The objects of every type are split into ranges of obj_id,
+	 * which are synced one after the other or in parallel (if more than one thread is used). The progress is stored in checkpoints after every batch.
+	 * @param sourceObjectTypes object types in the source
+	 * @param targetObjectTypes object types in the target
+	 * @param ruleString sync rule
+	 * @return number of added/modified and number of deleted objects
+	 * @throws NodeException
+	 */
+	private Long[] syncStreaming(Collection sourceObjectTypes, Collection targetObjectTypes, final String ruleString) throws NodeException {
+		int numThreads = threads;
+
+		if (numThreads > 1 && (sourceTransaction || targetTransaction)) {
+			logger.warn("Transactions are bound to a single thread, syncing with 1 thread instead of " + numThreads);
+			numThreads = 1;
+		}
+
+		final int numObjectTypes = sourceObjectTypes.size();
+		int currentObjectType = 0;
+		List<Callable<Void>> tasks = new ArrayList<>();
+		List<TypeStatistics> statistics = new ArrayList<>();
+
+		for (Iterator it = sourceObjectTypes.iterator(); it.hasNext();) {
+			final ObjectTypeBean sourceObjectType = (ObjectTypeBean) it.next();
+			final ObjectTypeBean targetObjectType = getObjectTypeBean(targetObjectTypes, sourceObjectType.getType().intValue());
+			final int typeNumber = ++currentObjectType;
+			final TypeStatistics typeStatistics = new TypeStatistics(sourceObjectType.getType());
+			final ObjectTypeSync typeSync = new ObjectTypeSync(sourceObjectType, targetObjectType, ruleString, typeNumber, numObjectTypes);
+
+			statistics.add(typeStatistics);
+			for (final IdRange range : getIdRanges(sourceObjectType.getType(), numThreads)) {
+				tasks.add(() -> {
+					typeStatistics.start();
+					typeStatistics.finish(typeSync.syncObjects(range), 0);
+					return null;
+				});
+			}
+			tasks.add(() -> {
+				typeStatistics.start();
+				typeStatistics.finish(0, typeSync.removeObsoleteObjects(true));
+				return null;
+			});
+		}
+
+		if (numThreads == 1) {
+			// run the tasks in this thread, which holds the transactions (if any)
+			for (Callable<Void> task : tasks) {
+				try {
+					task.call();
+				} catch (NodeException e) {
+					throw e;
+				} catch (Exception e) {
+					throw new NodeException("Error while synchronizing data", e);
+				}
 			}
+		} else {
+			ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+			try {
+				List<Future<Void>> futures = new ArrayList<>();
+
+				for (Callable<Void> task : tasks) {
+					futures.add(executor.submit(task));
+				}
+				for (Future<Void> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				throw new NodeException("Interrupted while synchronizing data", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof NodeException) {
+					throw (NodeException) e.getCause();
+				}
+				throw new NodeException("Error while synchronizing data", e.getCause());
+			} finally {
+				executor.shutdownNow();
+			}
+		}
 
+		long modifiedCount = 0;
+		long deletedCount = 0;
+
+		for (TypeStatistics typeStatistics : statistics) {
+			modifiedCount += typeStatistics.synced;
+			deletedCount += typeStatistics.removed;
 			if (progressLogger.isInfoEnabled()) {
-				progressLogger.info("Finished syncing objects of type {" + sourceObjectType.getType() + "} (" + currentObjectType + "/" + numObjectTypes + ")");
+				progressLogger.info(typeStatistics.toString());
 			}
 		}
 
 		return new Long[] { new Long(modifiedCount), new Long(deletedCount)};
 	}
 
+	/**
+	 * Split the obj_id values of the given object type in the source into ranges. Every range will contain at least one batch of objects.
+	 * @param objectType object type
+	 * @param numRanges maximum number of ranges
+	 * @return list of ranges
+	 * @throws NodeException
+	 */
+	private List<IdRange> getIdRanges(Integer objectType, int numRanges) throws NodeException {
+		DBHandle sourcedb = sourceDS.getHandle().getDBHandle();
+		SimpleResultProcessor proc = new SimpleResultProcessor();
+
+		try {
+			DB.query(sourcedb, "SELECT MIN(obj_id) min_id, MAX(obj_id) max_id, COUNT(*) c FROM " + sourcedb.getContentMapName() + " WHERE obj_type = ?",
+					new Object[] { objectType }, proc);
+		} catch (SQLException e) {
+			throw new NodeException("Error while getting the obj_id range of objects of type {" + objectType + "}", e);
+		}
+
+		SimpleResultRow row = proc.getRow(1);
+		int count = row.getInt("c");
+		long min = row.getInt("min_id") - 1L;
+		long max = row.getInt("max_id");
+		int n = (int) Math.max(1, Math.min(numRanges, count / Math.max(1, batchSize)));
+		long step = (max - min + n - 1) / n;
+		List<IdRange> ranges = new ArrayList<>(n);
+
+		for (int i = 0; i < n; i++) {
+			// the last range is open, so that no objects are left out
+			ranges.add(new IdRange(objectType, (int) (min + i * step), i == n - 1 ? Integer.MAX_VALUE : (int) (min + (i + 1) * step)));
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * Read the checkpoint with given name from the target contentstatus
+	 * @param name checkpoint name
+	 * @param defaultValue default value
+	 * @return last obj_id, which was synced, or the default value if no valid checkpoint was found
+	 * @throws NodeException
+	 */
+	private int readCheckpoint(String name, int defaultValue) throws NodeException {
+		String value = targetDS.getStringContentStatus(name);
+
+		if (value != null && checkpointPrefix != null && value.startsWith(checkpointPrefix)) {
+			return ObjectTransformer.getInt(value.substring(checkpointPrefix.length()), defaultValue);
+		} else {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Write the checkpoint with given name into the target contentstatus
+	 * @param name checkpoint name
+	 * @param lastObjId last obj_id, which was synced
+	 * @throws NodeException
+	 */
+	private void writeCheckpoint(String name, int lastObjId) throws NodeException {
+		if (!test) {
+			targetDS.setContentStatus(name, checkpointPrefix + lastObjId);
+		}
+	}
+
+	/**
+	 * Remove all checkpoints from the target contentstatus
+	 * @throws NodeException
+	 */
+	private void removeCheckpoints() throws NodeException {
+		DBHandle targetdb = targetDS.getHandle().getDBHandle();
+
+		try {
+			DB.update(targetdb, "DELETE FROM " + targetdb.getContentStatusName() + " WHERE name LIKE ?", new Object[] { CHECKPOINT_NAME + ".%" });
+		} catch (SQLException e) {
+			throw new NodeException("Error while removing the sync checkpoints", e);
+		}
+	}
+
+	/**
+	 * Get the maximum obj_id of the given objects
+	 * @param objects collection of GenticsContentObjects
+	 * @return maximum obj_id
+	 */
+	private static int getMaxObjId(Collection objects) {
+		int max = Integer.MIN_VALUE;
+
+		for (Iterator i = objects.iterator(); i.hasNext();) {
+			max = Math.max(max, ((GenticsContentObject) i.next()).getObjectId());
+		}
+		return max;
+	}
+
+	/**
+	 * Get the duration and throughput for logging
+	 * @param count number of objects
+	 * @param startTime start timestamp
+	 * @param endTime end timestamp
+	 * @return duration and throughput
+	 */
+	private static String getThroughput(long count, long startTime, long endTime) {
+		long duration = Math.max(endTime - startTime, 1);
+
+		return " in " + duration + " ms (" + (count * 1000 / duration) + " objects/s)";
+	}
+
+
 	/**
 	 * a helper method which deletes one row from the resultset and assures that the 'pointer' is BEFORE the next row.
 	 */
@@ -2048,4 +2471,112 @@ public class CRSync {
 
 		return (Object[]) list1.toArray(new Object[list1.size()]);
 	}
+
+	/**
+	 * Range of obj_id values of an object type for the streaming sync
+	 */
+	protected static class IdRange {
+		/**
+		 * object type
+		 */
+		protected Integer objectType;
+
+		/**
+		 * lower bound (exclusive)
+		 */
+		protected int from;
+
+		/**
+		 * upper bound (inclusive)
+		 */
+		protected int to;
+
+		/**
+		 * Create an instance
+		 * @param objectType object type
+		 * @param from lower bound (exclusive)
+		 * @param to upper bound (inclusive)
+		 */
+		protected IdRange(Integer objectType, int from, int to) {
+			this.objectType = objectType;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Get the name of the checkpoint of this range
+		 * @return checkpoint name
+		 */
+		protected String getCheckpointName() {
+			return CHECKPOINT_NAME + "." + objectType + "." + from;
+		}
+
+		@Override
+		public String toString() {
+			return "(" + from + ", " + (to == Integer.MAX_VALUE ? "*" : Integer.toString(to)) + "]";
+		}
+	}
+
+	/**
+	 * Statistics of the streaming sync of an object type
+	 */
+	protected static class TypeStatistics {
+		/**
+		 * object type
+		 */
+		protected Integer objectType;
+
+		/**
+		 * timestamp of the start of the first task
+		 */
+		protected long startTime;
+
+		/**
+		 * timestamp of the end of the last task
+		 */
+		protected long endTime;
+
+		/**
+		 * number of synced objects
+		 */
+		protected long synced;
+
+		/**
+		 * number of removed objects
+		 */
+		protected long removed;
+
+		/**
+		 * Create an instance
+		 * @param objectType object type
+		 */
+		protected TypeStatistics(Integer objectType) {
+			this.objectType = objectType;
+		}
+
+		/**
+		 * Mark the start of a task
+		 */
+		protected synchronized void start() {
+			if (startTime == 0) {
+				startTime = System.currentTimeMillis();
+			}
+		}
+
+		/**
+		 * Mark the end of a task
+		 * @param synced number of synced objects
+		 * @param removed number of removed objects
+		 */
+		protected synchronized void finish(long synced, long removed) {
+			this.synced += synced;
+			this.removed += removed;
+			endTime = System.currentTimeMillis();
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "Synced " + synced + " and removed " + removed + " objects of type {" + objectType + "}" + getThroughput(synced, startTime, endTime);
+		}
+	}
 }
@@ -0,0 +1,193 @@
+package com.gentics.lib.content;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.AutoCloseInputStream;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.NullOutputStream;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.lib.util.FileUtil;
+
+import fi.iki.santtu.md5.MD5;
+import fi.iki.santtu.md5.MD5InputStream;
+
+/**
+ * Class to encapsulate binary attribute data, which is stored in a file and will be streamed into the database
+ * (instead of being read into memory).
+ * When an instance is set as value of a binary attribute in a {@link com.gentics.lib.datasource.CNWriteableDatasource},
+ * the data is passed to the database with {@link java.sql.PreparedStatement#setBinaryStream(int, InputStream, long)} and
+ * writing is omitted, if the stored data is identical.
+ */
+public class BinaryStreamValue {
+	/**
+	 * Pattern for valid md5 hashes
+	 */
+	protected final static Pattern MD5_PATTERN = Pattern.compile("[0-9a-f]{32}");
+
+	/**
+	 * Number of bytes streamed into the database
+	 */
+	private final static AtomicLong bytesStreamed = new AtomicLong();
+
+	/**
+	 * Number of bytes not written, because the stored data was identical
+	 */
+	private final static AtomicLong bytesSkipped = new AtomicLong();
+
+	/**
+	 * File containing the data
+	 */
+	protected File file;
+
+	/**
+	 * Binary length of the data
+	 */
+	protected long length;
+
+	/**
+	 * MD5 hash of the data
+	 */
+	protected String md5;
+
+	/**
+	 * True if the md5 hash was given when creating the instance. Only a given md5 hash is used to detect identical stored data,
+	 * otherwise the stored data is compared with the file
+	 */
+	protected boolean md5Given;
+
+	/**
+	 * Get the number of bytes streamed into the database since the last call to {@link #resetStatistics()}
+	 * @return number of bytes
+	 */
+	public static long getBytesStreamed() {
+		return bytesStreamed.get();
+	}
+
+	/**
+	 * Get the number of bytes, which were not written into the database (because the stored data was identical)
+	 * since the last call to {@link #resetStatistics()}
+	 * @return number of bytes
+	 */
+	public static long getBytesSkipped() {
+		return bytesSkipped.get();
+	}
+
+	/**
+	 * Reset the statistics
+	 */
+	public static void resetStatistics() {
+		bytesStreamed.set(0);
+		bytesSkipped.set(0);
+	}
+
+	/**
+	 * Calculate the md5 hash of the given stream. The stream will be consumed, but not closed
+	 * @param in input stream
+	 * @return md5 hash (lowercase hex)
+	 * @throws IOException
+	 */
+	public static String md5(InputStream in) throws IOException {
+		MD5InputStream md5Stream = new MD5InputStream(in);
+
+		FileUtil.pooledBufferInToOut(md5Stream, new NullOutputStream());
+		return MD5.asHex(md5Stream.hash()).toLowerCase();
+	}
+
+	/**
+	 * Create an instance
+	 * @param file file containing the data
+	 * @param md5 md5 hash of the data (may be null). The md5 hash must match the data, because stored data with the same md5 hash and length will not
+	 * be overwritten. If the md5 hash is not known for sure, null should be passed.
+	 */
+	public BinaryStreamValue(File file, String md5) {
+		this.file = file;
+		this.length = file.length();
+		this.md5 = ObjectTransformer.isEmpty(md5) ? null : md5.toLowerCase();
+		if (this.md5 != null && !MD5_PATTERN.matcher(this.md5).matches()) {
+			this.md5 = null;
+		}
+		this.md5Given = this.md5 != null;
+	}
+
+	/**
+	 * Get the binary length
+	 * @return length
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Get the md5 hash of the data. If not given when creating the instance, it will be calculated from the file.
+	 * @return md5 hash (lowercase hex)
+	 * @throws IOException
+	 */
+	public String getMD5() throws IOException {
+		if (md5 == null) {
+			try (InputStream in = new FileInputStream(file)) {
+				md5 = md5(in);
+			}
+		}
+		return md5;
+	}
+
+	/**
+	 * Check whether the given stored data is identical to the data of this instance. If the md5 hash was given when creating the instance,
+	 * the md5 hash and the length of the stored data are compared with it, so that the file does not need to be read.
+	 * Otherwise the stored data is compared with the file byte by byte. The stream will be consumed, but not closed
+	 * @param stored stream of the stored data
+	 * @return true iff the stored data is identical
+	 * @throws IOException
+	 */
+	public boolean isIdentical(InputStream stored) throws IOException {
+		if (md5Given) {
+			CountingInputStream countingStream = new CountingInputStream(stored);
+			String storedMD5 = md5(countingStream);
+
+			return countingStream.getByteCount() == length && md5.equals(storedMD5);
+		} else {
+			try (InputStream in = new FileInputStream(file)) {
+				return IOUtils.contentEquals(stored, in);
+			}
+		}
+	}
+
+	/**
+	 * Open a stream for writing the data into the database. The stream will be closed automatically, when it was read completely.
+	 * @return input stream
+	 * @throws IOException
+	 */
+	public InputStream getInputStream() throws IOException {
+		bytesStreamed.addAndGet(length);
+		return new AutoCloseInputStream(new FileInputStream(file));
+	}
+
+	/**
+	 * Read the data into memory. This should only be used, where streaming is not supported
+	 * @return data
+	 * @throws IOException
+	 */
+	public byte[] getBytes() throws IOException {
+		return Files.readAllBytes(file.toPath());
+	}
+
+	/**
+	 * Mark that writing the data was skipped
+	 */
+	public void skipped() {
+		bytesSkipped.addAndGet(length);
+	}
+
+	@Override
+	public String toString() {
+		return "BinaryStreamValue {" + file.getPath() + "}, " + length + " bytes";
+	}
+}
@@ -659,6 +659,12 @@ public class GenticsContentAttributeImpl implements GenticsContentAttribute, Clo
 
 			if (o instanceof byte[]) {
 				return (byte[]) o;
+			} else if (o instanceof BinaryStreamValue) {
+				try {
+					return ((BinaryStreamValue) o).getBytes();
+				} catch (IOException e) {
+					throw new CMSUnavailableException("Error while reading " + o, e);
+				}
 			} else {
 				return null;
 			}
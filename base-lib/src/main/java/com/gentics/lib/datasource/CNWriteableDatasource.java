@@ -1,6 +1,9 @@
 package com.gentics.lib.datasource;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -29,6 +32,7 @@ import com.gentics.api.lib.resolving.Changeable;
 import com.gentics.api.lib.resolving.Resolvable;
 import com.gentics.lib.base.CMSUnavailableException;
 import com.gentics.lib.base.NodeIllegalArgumentException;
+import com.gentics.lib.content.BinaryStreamValue;
 import com.gentics.lib.content.DatatypeHelper;
 import com.gentics.lib.content.FilesystemAttributeValue;
 import com.gentics.lib.content.GenticsContentAttribute;
@@ -38,6 +42,7 @@ import com.gentics.lib.content.PreparedBatchStatement;
 import com.gentics.lib.content.ResolvableGenticsContentObject;
 import com.gentics.lib.db.DB;
 import com.gentics.lib.db.DBHandle;
+import com.gentics.lib.db.ResultProcessor;
 import com.gentics.lib.db.SimpleResultProcessor;
 import com.gentics.lib.db.SimpleResultRow;
 import com.gentics.lib.db.StringLengthManipulator;
@@ -384,7 +389,7 @@ public class CNWriteableDatasource extends CNDatasource implements
 		Object newValue = null;
 
 		if (attribute.getAttributeType() == GenticsContentAttribute.ATTR_TYPE_BLOB) {
-			newValue = attribute.getNextBinaryValue();
+			newValue = getNextBinaryParam(attribute);
 		} else {
             
 			// truncate the value
@@ -398,6 +403,10 @@ public class CNWriteableDatasource extends CNDatasource implements
 			}
 		}
 
+		if (newValue instanceof BinaryStreamValue) {
+			return updateBinaryStreamAttribute(attribute, (BinaryStreamValue) newValue, null, null, null);
+		}
+
 		// get the original attribute (if original object exists)
 		GenticsContentAttribute originalAttribute = originalObject != null ? originalObject.getAttribute(attribute.getAttributeName()) : null;
 
@@ -525,7 +534,7 @@ public class CNWriteableDatasource extends CNDatasource implements
 		Object newValue = null;
 
 		if (attribute.getAttributeType() == GenticsContentAttribute.ATTR_TYPE_BLOB) {
-			newValue = attribute.getNextBinaryValue();
+			newValue = getNextBinaryParam(attribute);
 		} else {
             
 			// truncate the value
@@ -539,6 +548,10 @@ public class CNWriteableDatasource extends CNDatasource implements
 			}
 		}
 
+		if (newValue instanceof BinaryStreamValue) {
+			return updateBinaryStreamAttribute(attribute, (BinaryStreamValue) newValue, insert, update, delete);
+		}
+
 		// get the original attribute (if original object exists)
 		GenticsContentAttribute originalAttribute = originalObject != null ? originalObject.getAttribute(attribute.getAttributeName()) : null;
 
@@ -625,6 +638,116 @@ public class CNWriteableDatasource extends CNDatasource implements
 		insert.add(data);
 	}
 
+	/**
+	 * Get the next value of the binary attribute, which can be used as parameter for a database statement.
+	 * This is either a byte array or a {@link BinaryStreamValue}, which will be streamed into the database
+	 * @param attribute binary attribute
+	 * @return next value or null
+	 * @throws CMSUnavailableException
+	 */
+	protected Object getNextBinaryParam(GenticsContentAttribute attribute) throws CMSUnavailableException {
+		Object value = attribute.getNextObjectValue();
+
+		if (value instanceof byte[] || value instanceof BinaryStreamValue) {
+			return value;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Check whether the given attribute has a single value, which will be streamed into the database
+	 * @param attribute attribute
+	 * @return true for a streamed binary value
+	 */
+	protected boolean isBinaryStream(GenticsContentAttribute attribute) {
+		if (attribute == null || attribute.isMultivalue() || attribute.getAttributeType() != GenticsContentAttribute.ATTR_TYPE_BLOB) {
+			return false;
+		}
+		List<?> values = attribute.getValues();
+
+		return values != null && values.size() == 1 && values.get(0) instanceof BinaryStreamValue;
+	}
+
+	/**
+	 * Update the given single value binary attribute with data that is streamed into the database.
+	 * The stored data is streamed and compared with the new data (see {@link BinaryStreamValue#isIdentical(InputStream)}), so that the original data
+	 * never has to be loaded into memory and writing is omitted, when the data did not change.
+	 * @param attribute attribute to update
+	 * @param newValue new value
+	 * @param insert prepared batch insert statement (null to update directly)
+	 * @param update prepared batch update statement (null to update directly)
+	 * @param delete prepared batch delete statement (null to update directly)
+	 * @return true when the attribute really was changed, false if not
+	 * @throws SQLException
+	 * @throws CMSUnavailableException
+	 */
+	protected boolean updateBinaryStreamAttribute(GenticsContentAttribute attribute, BinaryStreamValue newValue, PreparedBatchStatement insert,
+			PreparedBatchStatement update, PreparedBatchStatement delete) throws SQLException, CMSUnavailableException {
+		String contentId = attribute.getParent().getContentId();
+		String name = attribute.getAttributeName();
+		String column = getDataTypeColumn(name);
+		DBHandle dbHandle = getHandle().getDBHandle();
+		List<Boolean> identical = new ArrayList<>();
+
+		// compare the stored values with the new value by streaming them
+		DB.query(dbHandle, "SELECT " + column + " FROM " + dbHandle.getContentAttributeName() + " WHERE contentid = ? AND name = ?",
+				new Object[] { contentId, name }, new ResultProcessor() {
+					@Override
+					public void process(ResultSet rs) throws SQLException {
+						while (rs.next()) {
+							try (InputStream in = rs.getBinaryStream(column)) {
+								identical.add(in != null && newValue.isIdentical(in));
+							} catch (IOException e) {
+								throw new SQLException("Error while reading stored value of " + name + " for " + contentId, e);
+							}
+						}
+					}
+
+					@Override
+					public void takeOver(ResultProcessor p) {
+					}
+				});
+
+		if (identical.size() == 1 && identical.get(0)) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("omit updating unchanged binary attribute '" + name + "' for object '" + contentId + "'");
+			}
+			newValue.skipped();
+			return false;
+		}
+
+		if (identical.size() == 1) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("updating singlevalue attribute '" + name + "' for object '" + contentId + "'");
+			}
+			if (update != null) {
+				Map<String, Object> data = new HashMap<>();
+				data.put(column, newValue);
+				data.put("contentid", contentId);
+				data.put("name", name);
+				update.add(data);
+			} else {
+				DB.update(dbHandle, "UPDATE " + dbHandle.getContentAttributeName() + " set " + column + " = ? WHERE contentid = ? AND name = ?",
+						new Object[] { newValue, contentId, name }, null);
+			}
+		} else if (insert != null) {
+			insertSinglevalueAttribute(attribute, newValue, insert, delete, !identical.isEmpty());
+		} else {
+			insertSinglevalueAttribute(attribute, newValue);
+		}
+
+		// ensure that the attribute is removed from the cache since it is changed
+		try {
+			clearQueryCache();
+			GenticsContentFactory.uncacheAttribute(this, attribute.getParent(), attribute);
+		} catch (PortalCacheException e) {
+			logger.warn("Error while removing attribute from cache", e);
+		}
+
+		return true;
+	}
+
 	/**
 	 * Update the given foreign link attribute objects in the database
 	 * @param originalObject object for which the attribute has to be updated
@@ -1139,10 +1262,14 @@ public class CNWriteableDatasource extends CNDatasource implements
 						String[] escapedAttr = null;
 
 						if (attr != null) {
-							escapedAttr = new String[attr.length];
+							List<String> prefillAttr = new ArrayList<>(attr.length);
 							for (int i = 0; i < attr.length; i++) {
-								escapedAttr[i] = attr[i].replaceAll("\\.", "\\\\\\.");
+								// streamed binary values are compared by md5 hash, so the original values must not be loaded into memory
+								if (!isBinaryStream(cnObj.getAttribute(attr[i]))) {
+									prefillAttr.add(attr[i].replaceAll("\\.", "\\\\\\."));
+								}
 							}
+							escapedAttr = prefillAttr.toArray(new String[prefillAttr.size()]);
 						}
 						GenticsContentFactory.prefillContentObjects(this, Collections.singletonList(originalObject), escapedAttr, -1, true); // TODO:
 						// use
@@ -1696,10 +1823,10 @@ public class CNWriteableDatasource extends CNDatasource implements
 						} else if (attribute.isFilesystem()) {
 							insertFilesystemAttribute(attribute);
 						} else if (attribute.getAttributeType() == GenticsContentAttribute.ATTR_TYPE_BLOB) {
-							byte[] binaryData = null;
+							Object binaryData = null;
 							int sortorder = 1;
 
-							while ((binaryData = attribute.getNextBinaryValue()) != null) {
+							while ((binaryData = getNextBinaryParam(attribute)) != null) {
 								if (isVersioning()) {
 									// Clear buffers
 									sql.delete(0, sql.length());
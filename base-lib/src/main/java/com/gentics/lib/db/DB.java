@@ -8,6 +8,7 @@
 package com.gentics.lib.db;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -33,6 +34,7 @@ import com.gentics.api.lib.cache.PortalCacheException;
 import com.gentics.api.lib.etc.ObjectTransformer;
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.api.lib.resolving.Resolvable;
+import com.gentics.lib.content.BinaryStreamValue;
 import com.gentics.lib.content.DatatypeHelper;
 import com.gentics.lib.content.DatatypeHelper.SQLDatatype;
 import com.gentics.lib.etc.MiscUtils;
@@ -210,6 +212,13 @@ public class DB {
 				} else {
 					stmt.setObject(i + 1, param);
 				}
+			} else if (param instanceof BinaryStreamValue) {
+				BinaryStreamValue streamValue = (BinaryStreamValue) param;
+				try {
+					stmt.setBinaryStream(i + 1, streamValue.getInputStream(), streamValue.getLength());
+				} catch (IOException e) {
+					throw new SQLException("Error while opening " + streamValue, e);
+				}
 			} else {
 				stmt.setObject(i + 1, param);
 			}
@@ -31,6 +31,11 @@ public abstract class AbstractFunctionRegistry {
 	 */
 	private Map<Class<?>, FunctionStore> functionStores = new HashMap<Class<?>, AbstractFunctionRegistry.FunctionStore>();
 
+	/**
+	 * Number of function registrations. Compiled expressions use this to detect registrations, that happened after compilation.
+	 */
+	private volatile int modificationCount = 0;
+
 	/**
 	 * Private constructor for the singleton
 	 */
@@ -96,6 +101,7 @@ public abstract class AbstractFunctionRegistry {
 								: null + "}");
 			}
 		}
+		modificationCount++;
 		if (functionRegistrations == 0) {
 			logger.warn("Function {" + functionClassName + "} could not be registered and will not be used anywhere.");
 		} else if (logger.isDebugEnabled()) {
@@ -103,6 +109,14 @@ public abstract class AbstractFunctionRegistry {
 		}
 	}
 
+	/**
+	 * Get the number of function registrations
+	 * @return number of function registrations
+	 */
+	public int getModificationCount() {
+		return modificationCount;
+	}
+
 	/**
 	 * Check all function stores for completeness
 	 */
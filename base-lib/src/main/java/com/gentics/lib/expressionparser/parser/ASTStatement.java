@@ -5,6 +5,7 @@ package com.gentics.lib.expressionparser.parser;
 import com.gentics.api.lib.expressionparser.EvaluableExpression;
 import com.gentics.api.lib.expressionparser.EvaluationException;
 import com.gentics.api.lib.expressionparser.ExpressionEvaluator;
+import com.gentics.api.lib.expressionparser.ExpressionParser;
 import com.gentics.api.lib.expressionparser.ExpressionParserException;
 import com.gentics.api.lib.expressionparser.ExpressionQueryRequest;
 import com.gentics.api.lib.expressionparser.filtergenerator.DatasourceFilter;
@@ -14,6 +15,11 @@ import com.gentics.api.lib.expressionparser.filtergenerator.FilterPart;
 public class ASTStatement extends SimpleNode implements EvaluableExpression {
 	protected String expression;
 
+	/**
+	 * Compiled expression, which is created with the first evaluation
+	 */
+	protected transient volatile ExpressionCompiler.Compilation compilation;
+
 	public ASTStatement(int id) {
 		super(id);
 	}
@@ -49,7 +55,7 @@ public class ASTStatement extends SimpleNode implements EvaluableExpression {
 	public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
 		try {
 			if (children != null && children.length > 0 && children[0] instanceof EvaluableExpression) {
-				return ((EvaluableExpression) children[0]).evaluate(request, expectedValueType);
+				return getEvaluable().evaluate(request, expectedValueType);
 			} else {
 				throw new EvaluationException("expression is not evaluable");
 			}
@@ -60,6 +66,24 @@ public class ASTStatement extends SimpleNode implements EvaluableExpression {
 		}
 	}
 
+	/**
+	 * Get the expression, which is evaluated. This is the compiled expression, unless compilation is disabled
+	 * by {@link ExpressionParser#setCompileExpressions(boolean)}.
+	 * The compiled expression is recompiled, when functions were registered since it was compiled.
+	 * @return evaluated expression
+	 */
+	protected EvaluableExpression getEvaluable() {
+		if (!ExpressionParser.isCompileExpressions()) {
+			return (EvaluableExpression) children[0];
+		}
+		ExpressionCompiler.Compilation current = compilation;
+		if (current == null || !current.isValid()) {
+			current = ExpressionCompiler.compile((EvaluableExpression) children[0]);
+			compilation = current;
+		}
+		return current.getExpression();
+	}
+
 	public boolean isStatic(DatasourceFilter filter) throws ExpressionParserException {
 		if (children != null && children.length > 0 && children[0] instanceof EvaluableExpression) {
 			return ((EvaluableExpression) children[0]).isStatic(filter);
@@ -0,0 +1,971 @@
+package com.gentics.lib.expressionparser.parser;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.exception.UnknownPropertyException;
+import com.gentics.api.lib.expressionparser.EvaluableExpression;
+import com.gentics.api.lib.expressionparser.EvaluationException;
+import com.gentics.api.lib.expressionparser.ExpressionEvaluator;
+import com.gentics.api.lib.expressionparser.ExpressionParser;
+import com.gentics.api.lib.expressionparser.ExpressionParserException;
+import com.gentics.api.lib.expressionparser.ExpressionQueryRequest;
+import com.gentics.api.lib.expressionparser.filtergenerator.DatasourceFilter;
+import com.gentics.api.lib.expressionparser.filtergenerator.FilterPart;
+import com.gentics.api.lib.expressionparser.functions.Function;
+import com.gentics.api.lib.resolving.PropertyPath;
+import com.gentics.api.lib.resolving.PropertyResolver;
+import com.gentics.lib.expressionparser.functions.ConcatFunction;
+import com.gentics.lib.expressionparser.functions.FunctionRegistry;
+import com.gentics.lib.expressionparser.functions.GenericAndOrFunction;
+import com.gentics.lib.expressionparser.functions.GenericCalcFunction;
+import com.gentics.lib.expressionparser.functions.GenericComparisonFunction;
+import com.gentics.lib.expressionparser.functions.GenericExtendedComparisonFunction;
+import com.gentics.lib.expressionparser.functions.GenericUnaryFunction;
+import com.gentics.lib.expressionparser.functions.IsEmptyFunction;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Compiler, which specializes a parsed expression once for evaluation.
+ * The compiled expression is a tree of closures, which
+ * <ul>
+ * <li>call the evaluation functions, that were looked up in the {@link FunctionRegistry} during compilation, with operands that were checked during compilation</li>
+ * <li>implement comparisons, "and", "or" and "not" of the generic functions directly</li>
+ * <li>specialize comparisons with a literal for the type of the literal</li>
+ * <li>resolve names with precompiled {@link PropertyPath}s</li>
+ * <li>fold operations of the generic functions on literals into constants</li>
+ * </ul>
+ * Every compiled node delegates everything but the evaluation to the parsed node, so generating datasource filters is not affected.
+ * Nodes, which cannot be compiled, are evaluated unchanged.
+ */
+public final class ExpressionCompiler {
+	/**
+	 * Logger
+	 */
+	private static NodeLogger logger = NodeLogger.getNodeLogger(ExpressionCompiler.class);
+
+	/**
+	 * Classes of the functions, which have no side effects and only depend on their operands. Operations of these functions on constant operands are folded.
+	 */
+	private final static Set<Class<?>> PURE_FUNCTIONS = new HashSet<>(Arrays.asList(GenericAndOrFunction.class, GenericComparisonFunction.class,
+			GenericExtendedComparisonFunction.class, GenericCalcFunction.class, GenericUnaryFunction.class, ConcatFunction.class, IsEmptyFunction.class));
+
+	/**
+	 * Default expression parser mode. Operations are only folded for this mode.
+	 */
+	private final static String DEFAULT_MODE = "true";
+
+	/**
+	 * Private constructor to avoid instantiation
+	 */
+	private ExpressionCompiler() {
+	}
+
+	/**
+	 * Compile the given expression
+	 * @param expression parsed expression
+	 * @return compilation
+	 */
+	public static Compilation compile(EvaluableExpression expression) {
+		FunctionRegistry registry = FunctionRegistry.getInstance();
+		int modificationCount = registry.getModificationCount();
+		EvaluableExpression compiled = null;
+
+		try {
+			compiled = compileNode(expression);
+		} catch (RuntimeException e) {
+			logger.warn("Error while compiling expression {" + expression.getExpressionString() + "}, expression will be interpreted", e);
+			compiled = expression;
+		}
+		return new Compilation(registry, modificationCount, compiled);
+	}
+
+	/**
+	 * Compile the given node
+	 * @param node node
+	 * @return compiled node or the node itself, if it cannot be compiled
+	 */
+	protected static EvaluableExpression compileNode(EvaluableExpression node) {
+		if (node instanceof LiteralNode) {
+			return new Constant(node, ((LiteralNode) node).getLiteralValue());
+		} else if (node instanceof ASTName) {
+			return new Name((ASTName) node);
+		} else if (node instanceof FunctionNode) {
+			return compileFunction((FunctionNode) node);
+		} else {
+			return node;
+		}
+	}
+
+	/**
+	 * Compile the given function node
+	 * @param node function node
+	 * @return compiled node or the node itself, if it cannot be compiled
+	 */
+	protected static EvaluableExpression compileFunction(FunctionNode node) {
+		Function function = null;
+		EvaluableExpression[] operands = null;
+		try {
+			function = node.getFunctionInstance(ExpressionEvaluator.class);
+			operands = node.getFunctionOperands(function);
+		} catch (EvaluationException e) {
+			// evaluating the node will fail, so we let the node do this
+			return node;
+		}
+
+		boolean constantOperands = true;
+		for (int i = 0; i < operands.length; i++) {
+			operands[i] = compileNode(operands[i]);
+			constantOperands &= operands[i] instanceof CompiledExpression && ((CompiledExpression) operands[i]).isConstant();
+		}
+
+		int type = node.getType();
+		Class<?> functionClass = function.getClass();
+		CompiledExpression compiled = null;
+
+		if (functionClass == GenericComparisonFunction.class) {
+			compiled = compileComparison(node, type, operands[0], operands[1]);
+		} else if (functionClass == GenericAndOrFunction.class) {
+			compiled = new AndOr(node, type, operands[0], operands[1]);
+		} else if (functionClass == GenericUnaryFunction.class && type == Function.TYPE_NOT) {
+			compiled = new Not(node, operands[0]);
+		} else {
+			compiled = new Call(node, function, type, operands);
+		}
+
+		if (constantOperands && PURE_FUNCTIONS.contains(functionClass)) {
+			compiled = new Folded(compiled);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Compile the given comparison. When one operand is a literal, the comparison is specialized for the type of the literal:
+	 * values of the same type are compared directly, all other values are compared like in {@link GenericComparisonFunction}.
+	 * Comparisons of two non-literal operands (or with literals, for which no specialization exists) are compiled into a generic {@link Comparison}.
+	 * @param node function node
+	 * @param type function type
+	 * @param left compiled left operand
+	 * @param right compiled right operand
+	 * @return compiled comparison
+	 */
+	protected static CompiledExpression compileComparison(FunctionNode node, int type, EvaluableExpression left, EvaluableExpression right) {
+		boolean literalLeft = left instanceof Constant && !(right instanceof Constant);
+		EvaluableExpression literalOperand = literalLeft ? left : right;
+		if (!(literalOperand instanceof Constant)) {
+			return new Comparison(node, type, left, right);
+		}
+
+		Object literal = ((Constant) literalOperand).value;
+		boolean equality = type == Function.TYPE_EQUAL || type == Function.TYPE_UNEQUAL;
+		NumberOperator operator = NumberOperator.get(type, literalLeft);
+
+		if (literal instanceof Number && operator != null) {
+			return new NumberComparison(node, type, left, right, literalLeft, operator);
+		} else if (literal instanceof String && equality) {
+			return new StringComparison(node, type, left, right, literalLeft);
+		} else if (literal instanceof Boolean && equality) {
+			return new BooleanComparison(node, type, left, right, literalLeft);
+		} else if (literal == null && equality) {
+			return new NullComparison(node, type, left, right, literalLeft);
+		} else {
+			return new Comparison(node, type, left, right);
+		}
+	}
+
+	/**
+	 * Assert that the generated value type is compatible with the expected value type
+	 * @param generatedValueType generated value type
+	 * @param expectedValueType expected value type
+	 * @throws EvaluationException if the value types are not compatible
+	 */
+	protected static void assertCompatibleValueType(int generatedValueType, int expectedValueType) throws EvaluationException {
+		if (expectedValueType != ExpressionEvaluator.OBJECTTYPE_ANY && generatedValueType != expectedValueType) {
+			throw new EvaluationException(
+					"Function generates value of type {" + ExpressionEvaluator.getValuetypeName(generatedValueType) + "} but caller expected value of type {"
+					+ ExpressionEvaluator.getValuetypeName(expectedValueType) + "}");
+		}
+	}
+
+	/**
+	 * Result of a compilation
+	 */
+	public static class Compilation {
+		/**
+		 * Function registry used for compilation
+		 */
+		protected FunctionRegistry registry;
+
+		/**
+		 * Modification count of the function registry at the time of compilation
+		 */
+		protected int modificationCount;
+
+		/**
+		 * Compiled expression
+		 */
+		protected EvaluableExpression expression;
+
+		/**
+		 * Create an instance
+		 * @param registry function registry
+		 * @param modificationCount modification count
+		 * @param expression compiled expression
+		 */
+		protected Compilation(FunctionRegistry registry, int modificationCount, EvaluableExpression expression) {
+			this.registry = registry;
+			this.modificationCount = modificationCount;
+			this.expression = expression;
+		}
+
+		/**
+		 * Check whether the compilation is still valid (no functions have been registered since)
+		 * @return true iff the compilation is valid
+		 */
+		public boolean isValid() {
+			return registry == FunctionRegistry.getInstance() && modificationCount == registry.getModificationCount();
+		}
+
+		/**
+		 * Get the compiled expression
+		 * @return compiled expression
+		 */
+		public EvaluableExpression getExpression() {
+			return expression;
+		}
+	}
+
+	/**
+	 * Abstract base class for compiled nodes. Everything except the evaluation is delegated to the parsed node.
+	 */
+	public abstract static class CompiledExpression implements EvaluableExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 2416325061520446658L;
+
+		/**
+		 * Parsed node
+		 */
+		protected EvaluableExpression source;
+
+		/**
+		 * Create an instance
+		 * @param source parsed node
+		 */
+		protected CompiledExpression(EvaluableExpression source) {
+			this.source = source;
+		}
+
+		/**
+		 * Check whether the compiled node evaluates to constant values
+		 * @return true for constants
+		 */
+		public boolean isConstant() {
+			return false;
+		}
+
+		@Override
+		public String getExpressionString() {
+			return source.getExpressionString();
+		}
+
+		@Override
+		public void generateFilterPart(ExpressionQueryRequest request, FilterPart filterPart, int expectedValueType) throws ExpressionParserException {
+			source.generateFilterPart(request, filterPart, expectedValueType);
+		}
+
+		@Override
+		public boolean isStatic(DatasourceFilter filter) throws ExpressionParserException {
+			return source.isStatic(filter);
+		}
+
+		@Override
+		public boolean isVariable(DatasourceFilter filter) throws ExpressionParserException {
+			return source.isVariable(filter);
+		}
+
+		@Override
+		public boolean allowsNullValues(DatasourceFilter filter) throws ExpressionParserException {
+			return source.allowsNullValues(filter);
+		}
+
+		@Override
+		public int getExpectedValueType(DatasourceFilter filter) throws ExpressionParserException {
+			return source.getExpectedValueType(filter);
+		}
+	}
+
+	/**
+	 * Compiled literal
+	 */
+	public static class Constant extends CompiledExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = -4417010932474785183L;
+
+		/**
+		 * Literal value
+		 */
+		protected Object value;
+
+		/**
+		 * Create an instance
+		 * @param source literal node
+		 * @param value literal value
+		 */
+		protected Constant(EvaluableExpression source, Object value) {
+			super(source);
+			this.value = value;
+		}
+
+		@Override
+		public boolean isConstant() {
+			return true;
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			return ExpressionEvaluator.getAsType(value, expectedValueType);
+		}
+	}
+
+	/**
+	 * Compiled name, which is resolved with a precompiled property path
+	 */
+	public static class Name extends CompiledExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 7303325404346565374L;
+
+		/**
+		 * Name
+		 */
+		protected String name;
+
+		/**
+		 * Compiled property path
+		 */
+		protected transient PropertyPath path;
+
+		/**
+		 * Create an instance
+		 * @param source name node
+		 */
+		protected Name(ASTName source) {
+			super(source);
+			name = source.getObjectName();
+			path = PropertyPath.get(name);
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			try {
+				PropertyResolver resolver = request.getResolver();
+				// subclasses of the PropertyResolver may resolve differently
+				Object value = resolver.getClass() == PropertyResolver.class ? resolver.resolve(path, false) : resolver.resolve(name);
+
+				if (value == null && expectedValueType != ExpressionEvaluator.OBJECTTYPE_NULL) {
+					if ("content.node".equals(ExpressionParser.getExpressionParserMode(request))) {
+						// for compatibility with content.node, we return the name
+						// when it does not resolve (content.node allows strings in
+						// expressions without quotes)
+						value = name;
+					} else if (ExpressionParser.isCompatibilityTestMode()) {
+						NodeLogger.getNodeLogger(ASTName.class).warn(
+								"The object path {" + name + "} in the expression {" + getExpressionString() + "} was resolved into null. When {" + name
+								+ "} should be a string literal," + " you have to enclose it by \"\"");
+					}
+				}
+				return ExpressionEvaluator.getAsType(value, expectedValueType);
+			} catch (UnknownPropertyException e) {
+				throw new EvaluationException(e);
+			}
+		}
+	}
+
+	/**
+	 * Compiled call of a function, which was looked up during compilation
+	 */
+	public static class Call extends CompiledExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = -3436279497893519064L;
+
+		/**
+		 * Function
+		 */
+		protected transient Function function;
+
+		/**
+		 * Function type
+		 */
+		protected int type;
+
+		/**
+		 * Compiled operands
+		 */
+		protected EvaluableExpression[] operands;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param function function
+		 * @param type function type
+		 * @param operands compiled operands
+		 */
+		protected Call(EvaluableExpression source, Function function, int type, EvaluableExpression[] operands) {
+			super(source);
+			this.function = function;
+			this.type = type;
+			this.operands = operands;
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			return function.evaluate(type, request, operands, expectedValueType);
+		}
+	}
+
+	/**
+	 * Compiled comparison (==, !=, &lt;, &lt;=, &gt;, &gt;=)
+	 */
+	public static class Comparison extends CompiledExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 5153795574829436393L;
+
+		/**
+		 * Function type
+		 */
+		protected int type;
+
+		/**
+		 * Left operand
+		 */
+		protected EvaluableExpression left;
+
+		/**
+		 * Right operand
+		 */
+		protected EvaluableExpression right;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param type function type
+		 * @param left left operand
+		 * @param right right operand
+		 */
+		protected Comparison(EvaluableExpression source, int type, EvaluableExpression left, EvaluableExpression right) {
+			super(source);
+			this.type = type;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			assertCompatibleValueType(ExpressionEvaluator.OBJECTTYPE_BOOLEAN, expectedValueType);
+			Object leftValue = left.evaluate(request, ExpressionEvaluator.OBJECTTYPE_ANY);
+			Object rightValue = right.evaluate(request, ExpressionEvaluator.OBJECTTYPE_ANY);
+			return compareValues(request, leftValue, rightValue);
+		}
+
+		/**
+		 * Compare the given values like {@link GenericComparisonFunction}
+		 * @param request request
+		 * @param leftValue left value
+		 * @param rightValue right value
+		 * @return result of the comparison
+		 * @throws EvaluationException
+		 */
+		protected Boolean compareValues(ExpressionQueryRequest request, Object leftValue, Object rightValue) throws EvaluationException {
+			switch (type) {
+			case Function.TYPE_EQUAL:
+				return Boolean.valueOf(ExpressionEvaluator.isTypeSafeEqual(leftValue, rightValue));
+
+			case Function.TYPE_UNEQUAL:
+				return Boolean.valueOf(ExpressionEvaluator.isTypeSafeUnequal(leftValue, rightValue));
+
+			default:
+				return Boolean.valueOf(ExpressionEvaluator.typeSafeComparison(request, leftValue, rightValue, type));
+			}
+		}
+	}
+
+	/**
+	 * Abstract base class for comparisons of an operand with a literal. Only the operand is evaluated, values having the type of the literal are compared
+	 * by {@link #compareTyped(Object)}, all other values are compared generically.
+	 */
+	public abstract static class LiteralComparison extends Comparison {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = -1806395007937307283L;
+
+		/**
+		 * True when the literal is the left operand
+		 */
+		protected boolean literalLeft;
+
+		/**
+		 * Operand, which is not the literal
+		 */
+		protected EvaluableExpression operand;
+
+		/**
+		 * Literal value
+		 */
+		protected Object literal;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param type function type
+		 * @param left left operand
+		 * @param right right operand
+		 * @param literalLeft true when the left operand is the literal, false when the right operand is the literal
+		 */
+		protected LiteralComparison(EvaluableExpression source, int type, EvaluableExpression left, EvaluableExpression right, boolean literalLeft) {
+			super(source, type, left, right);
+			this.literalLeft = literalLeft;
+			this.operand = literalLeft ? right : left;
+			this.literal = ((Constant) (literalLeft ? left : right)).value;
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			assertCompatibleValueType(ExpressionEvaluator.OBJECTTYPE_BOOLEAN, expectedValueType);
+			Object value = operand.evaluate(request, ExpressionEvaluator.OBJECTTYPE_ANY);
+			Boolean result = compareTyped(value);
+			if (result == null) {
+				result = literalLeft ? compareValues(request, literal, value) : compareValues(request, value, literal);
+			}
+			return result;
+		}
+
+		/**
+		 * Compare the value with the literal, if the value has the type of the literal
+		 * @param value value of the operand
+		 * @return result of the comparison or null, if the value must be compared generically
+		 */
+		protected abstract Boolean compareTyped(Object value);
+	}
+
+	/**
+	 * Operators for comparing numbers. The value of the operand is always the first argument, so comparisons with the literal on the left side use the
+	 * mirrored operator.
+	 */
+	protected static enum NumberOperator {
+		EQUAL {
+			@Override
+			protected boolean test(double value, double literal) {
+				// same as the comparison of numbers in ExpressionEvaluator.TypeSafeComparator
+				return (int) Math.signum(literal - value) == 0;
+			}
+		},
+		UNEQUAL {
+			@Override
+			protected boolean test(double value, double literal) {
+				return (int) Math.signum(literal - value) != 0;
+			}
+		},
+		SMALLER {
+			@Override
+			protected boolean test(double value, double literal) {
+				return value < literal;
+			}
+		},
+		SMALLEROREQUAL {
+			@Override
+			protected boolean test(double value, double literal) {
+				return value <= literal;
+			}
+		},
+		GREATER {
+			@Override
+			protected boolean test(double value, double literal) {
+				return value > literal;
+			}
+		},
+		GREATEROREQUAL {
+			@Override
+			protected boolean test(double value, double literal) {
+				return value >= literal;
+			}
+		};
+
+		/**
+		 * Get the operator for the given function type
+		 * @param type function type
+		 * @param literalLeft true when the literal is the left operand
+		 * @return operator or null for unsupported function types
+		 */
+		protected static NumberOperator get(int type, boolean literalLeft) {
+			switch (type) {
+			case Function.TYPE_EQUAL:
+				return EQUAL;
+
+			case Function.TYPE_UNEQUAL:
+				return UNEQUAL;
+
+			case Function.TYPE_SMALLER:
+				return literalLeft ? GREATER : SMALLER;
+
+			case Function.TYPE_SMALLEROREQUAL:
+				return literalLeft ? GREATEROREQUAL : SMALLEROREQUAL;
+
+			case Function.TYPE_GREATER:
+				return literalLeft ? SMALLER : GREATER;
+
+			case Function.TYPE_GREATEROREQUAL:
+				return literalLeft ? SMALLEROREQUAL : GREATEROREQUAL;
+
+			default:
+				return null;
+			}
+		}
+
+		/**
+		 * Compare the value with the literal
+		 * @param value value of the operand
+		 * @param literal literal
+		 * @return result of the comparison
+		 */
+		protected abstract boolean test(double value, double literal);
+	}
+
+	/**
+	 * Compiled comparison (==, !=, &lt;, &lt;=, &gt;, &gt;=) with a number literal
+	 */
+	public static class NumberComparison extends LiteralComparison {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 3815409531212738164L;
+
+		/**
+		 * Operator
+		 */
+		protected NumberOperator operator;
+
+		/**
+		 * Literal number
+		 */
+		protected double number;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param type function type
+		 * @param left left operand
+		 * @param right right operand
+		 * @param literalLeft true when the left operand is the literal
+		 * @param operator operator
+		 */
+		protected NumberComparison(EvaluableExpression source, int type, EvaluableExpression left, EvaluableExpression right, boolean literalLeft,
+				NumberOperator operator) {
+			super(source, type, left, right, literalLeft);
+			this.operator = operator;
+			this.number = ((Number) literal).doubleValue();
+		}
+
+		@Override
+		protected Boolean compareTyped(Object value) {
+			if (value instanceof Number) {
+				return Boolean.valueOf(operator.test(((Number) value).doubleValue(), number));
+			} else {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Compiled comparison (==, !=) with a string literal
+	 */
+	public static class StringComparison extends LiteralComparison {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = -2512446335640861960L;
+
+		/**
+		 * True for ==, false for !=
+		 */
+		protected boolean equal;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param type function type
+		 * @param left left operand
+		 * @param right right operand
+		 * @param literalLeft true when the left operand is the literal
+		 */
+		protected StringComparison(EvaluableExpression source, int type, EvaluableExpression left, EvaluableExpression right, boolean literalLeft) {
+			super(source, type, left, right, literalLeft);
+			this.equal = type == Function.TYPE_EQUAL;
+		}
+
+		@Override
+		protected Boolean compareTyped(Object value) {
+			if (value instanceof String) {
+				return Boolean.valueOf(literal.equals(value) == equal);
+			} else {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Compiled comparison (==, !=) with a boolean literal
+	 */
+	public static class BooleanComparison extends LiteralComparison {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 6305006735981716457L;
+
+		/**
+		 * True for ==, false for !=
+		 */
+		protected boolean equal;
+
+		/**
+		 * Literal boolean
+		 */
+		protected boolean bool;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param type function type
+		 * @param left left operand
+		 * @param right right operand
+		 * @param literalLeft true when the left operand is the literal
+		 */
+		protected BooleanComparison(EvaluableExpression source, int type, EvaluableExpression left, EvaluableExpression right, boolean literalLeft) {
+			super(source, type, left, right, literalLeft);
+			this.equal = type == Function.TYPE_EQUAL;
+			this.bool = ((Boolean) literal).booleanValue();
+		}
+
+		@Override
+		protected Boolean compareTyped(Object value) {
+			if (value instanceof Boolean) {
+				return Boolean.valueOf((((Boolean) value).booleanValue() == bool) == equal);
+			} else {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Compiled comparison (==, !=) with null. Only null values are compared directly, because the comparison of empty strings with null depends on
+	 * {@link ExpressionParser#isTreatEmptyStringAsNull()}.
+	 */
+	public static class NullComparison extends LiteralComparison {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 1964186212860527473L;
+
+		/**
+		 * True for ==, false for !=
+		 */
+		protected boolean equal;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param type function type
+		 * @param left left operand
+		 * @param right right operand
+		 * @param literalLeft true when the left operand is the literal
+		 */
+		protected NullComparison(EvaluableExpression source, int type, EvaluableExpression left, EvaluableExpression right, boolean literalLeft) {
+			super(source, type, left, right, literalLeft);
+			this.equal = type == Function.TYPE_EQUAL;
+		}
+
+		@Override
+		protected Boolean compareTyped(Object value) {
+			if (value == null) {
+				return Boolean.valueOf(equal);
+			} else {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Compiled "and" and "or"
+	 */
+	public static class AndOr extends CompiledExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = -8969409862683016012L;
+
+		/**
+		 * True for "and", false for "or"
+		 */
+		protected boolean and;
+
+		/**
+		 * Left operand
+		 */
+		protected EvaluableExpression left;
+
+		/**
+		 * Right operand
+		 */
+		protected EvaluableExpression right;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param type function type
+		 * @param left left operand
+		 * @param right right operand
+		 */
+		protected AndOr(EvaluableExpression source, int type, EvaluableExpression left, EvaluableExpression right) {
+			super(source);
+			this.and = type == Function.TYPE_AND;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			assertCompatibleValueType(ExpressionEvaluator.OBJECTTYPE_BOOLEAN, expectedValueType);
+			boolean leftValue = ObjectTransformer.getBoolean(ExpressionEvaluator.getAsBoolean(left.evaluate(request, ExpressionEvaluator.OBJECTTYPE_ANY)), false);
+
+			// the right operand is only evaluated, if necessary
+			if (and != leftValue) {
+				return Boolean.valueOf(leftValue);
+			}
+			return Boolean.valueOf(ObjectTransformer.getBoolean(ExpressionEvaluator.getAsBoolean(right.evaluate(request, ExpressionEvaluator.OBJECTTYPE_ANY)), false));
+		}
+	}
+
+	/**
+	 * Compiled "not"
+	 */
+	public static class Not extends CompiledExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 4557606455616011806L;
+
+		/**
+		 * Operand
+		 */
+		protected EvaluableExpression operand;
+
+		/**
+		 * Create an instance
+		 * @param source function node
+		 * @param operand operand
+		 */
+		protected Not(EvaluableExpression source, EvaluableExpression operand) {
+			super(source);
+			this.operand = operand;
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			assertCompatibleValueType(ExpressionEvaluator.OBJECTTYPE_BOOLEAN, expectedValueType);
+			return Boolean.valueOf(!ObjectTransformer.getBoolean(ExpressionEvaluator.getAsBoolean(operand.evaluate(request, expectedValueType)), false));
+		}
+	}
+
+	/**
+	 * Compiled operation on constant operands. The operation is evaluated once per expected value type (in the default expression parser mode),
+	 * immutable results (null, strings, numbers and booleans) are kept. Errors are not kept, so they are thrown for every evaluation.
+	 */
+	public static class Folded extends CompiledExpression {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = -7244124096584919000L;
+
+		/**
+		 * Compiled operation
+		 */
+		protected CompiledExpression operation;
+
+		/**
+		 * Folded values per expected value type
+		 */
+		protected transient FoldedValue[] values = new FoldedValue[ExpressionEvaluator.OBJECTTYPE_BINARY + 1];
+
+		/**
+		 * Create an instance
+		 * @param operation compiled operation
+		 */
+		protected Folded(CompiledExpression operation) {
+			super(operation.source);
+			this.operation = operation;
+		}
+
+		@Override
+		public boolean isConstant() {
+			return true;
+		}
+
+		@Override
+		public Object evaluate(ExpressionQueryRequest request, int expectedValueType) throws ExpressionParserException {
+			if (expectedValueType < 0 || expectedValueType >= values.length) {
+				return operation.evaluate(request, expectedValueType);
+			}
+			// the result of some operations depends on the expression parser mode
+			if (!DEFAULT_MODE.equals(ExpressionParser.getExpressionParserMode(request))) {
+				return operation.evaluate(request, expectedValueType);
+			}
+			boolean treatEmptyStringAsNull = ExpressionParser.isTreatEmptyStringAsNull();
+			FoldedValue folded = values[expectedValueType];
+			if (folded != null && folded.treatEmptyStringAsNull == treatEmptyStringAsNull) {
+				return folded.value;
+			}
+
+			Object value = operation.evaluate(request, expectedValueType);
+			if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+				values[expectedValueType] = new FoldedValue(value, treatEmptyStringAsNull);
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Immutable holder of a folded value
+	 */
+	protected static class FoldedValue {
+		/**
+		 * Value
+		 */
+		protected final Object value;
+
+		/**
+		 * Setting of {@link ExpressionParser#isTreatEmptyStringAsNull()}, when the value was folded
+		 */
+		protected final boolean treatEmptyStringAsNull;
+
+		/**
+		 * Create an instance
+		 * @param value value
+		 * @param treatEmptyStringAsNull setting of {@link ExpressionParser#isTreatEmptyStringAsNull()}
+		 */
+		protected FoldedValue(Object value, boolean treatEmptyStringAsNull) {
+			this.value = value;
+			this.treatEmptyStringAsNull = treatEmptyStringAsNull;
+		}
+	}
+}
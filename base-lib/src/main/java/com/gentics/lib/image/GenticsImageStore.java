@@ -19,6 +19,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.media.jai.PlanarImage;
+
 import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -522,6 +524,58 @@ public class GenticsImageStore {
 		}
 	}
 
+	/**
+	 * Decode the given image file. The decoded image can be used to resize the image into multiple variants with
+	 * {@link #handleResizeAction(DecodedImage, boolean, String, Properties, Properties)} without decoding the image again.
+	 * @param file image file
+	 * @return decoded image
+	 * @throws NodeException if the type of the image cannot be determined or the image cannot be decoded
+	 */
+	public static DecodedImage decode(File file) throws NodeException {
+		String contentType = MimetypesFileTypeMap.getDefaultFileTypeMap().getContentType(file.getName());
+		Matcher m = IMAGE_TYPE_PATTERN.matcher(contentType);
+
+		if (!m.matches()) {
+			try (InputStream in = new FileInputStream(file)) {
+				contentType = FileUtil.getMimeTypeByContent(in, file.getName());
+			} catch (IOException e) {
+				throw new NodeException("Could not determine filetype of image " + file.getName(), e);
+			}
+			m = IMAGE_TYPE_PATTERN.matcher(contentType);
+			if (!m.matches()) {
+				throw new NodeException("Could not determine filetype of image " + file.getName());
+			}
+		}
+
+		try {
+			return new DecodedImage(file, m.group(1), ImageUtils.read(file));
+		} catch (IOException e) {
+			throw new NodeException("Could not decode image " + file.getName(), e);
+		}
+	}
+
+	/**
+	 * Resize the already decoded image using the given arguments.
+	 * @param image decoded image
+	 * @param cropandresize
+	 * @param filterChain
+	 * @param filterChainProperties The resize parameters
+	 * @param cropProperties The crop parameters
+	 * @return Never returns null
+	 * @throws NodeException
+	 */
+	public static GenticsImageStoreResizeResponse handleResizeAction(DecodedImage image, boolean cropandresize, String filterChain,
+			Properties filterChainProperties, Properties cropProperties) throws NodeException {
+		PatchedDefaultImageFactory.setPreloadedImage(image.file.toURI(), image.image);
+		try {
+			// the image type is passed as encoding, so that the image file is neither inspected nor copied again
+			return handleResizeAction(image.file.getAbsolutePath(), null, null, image.imageType, cropandresize, image.file.getName() + "." + image.imageType,
+					filterChain, filterChainProperties, cropProperties);
+		} finally {
+			PatchedDefaultImageFactory.clearPreloadedImage();
+		}
+	}
+
 	/**
 	 * Create the cache key for the cropped and resized image
 	 * @param fileId fileId of the file
@@ -989,4 +1043,44 @@ public class GenticsImageStore {
 		out.close();
 		in.close();
 	}
+
+	/**
+	 * Decoded image, which can be resized into multiple variants
+	 */
+	public static class DecodedImage {
+		/**
+		 * Image file
+		 */
+		protected final File file;
+
+		/**
+		 * Image type (e.g. "jpeg")
+		 */
+		protected final String imageType;
+
+		/**
+		 * Decoded image
+		 */
+		protected final PlanarImage image;
+
+		/**
+		 * Create an instance
+		 * @param file image file
+		 * @param imageType image type
+		 * @param image decoded image
+		 */
+		protected DecodedImage(File file, String imageType, PlanarImage image) {
+			this.file = file;
+			this.imageType = imageType;
+			this.image = image;
+		}
+
+		/**
+		 * Get the image type
+		 * @return image type
+		 */
+		public String getImageType() {
+			return imageType;
+		}
+	}
 }
@@ -38,6 +38,42 @@ public class PatchedDefaultImageFactory extends DefaultImageFactory {
 	private static final String URL_RESOURCE_RETRIEVED = " retrieved URL resource: ";
 	private static final String STREAM = "stream";
 
+	/**
+	 * Image, which was already decoded by the current thread and will be returned instead of loading the image from its resource URI
+	 */
+	private static final ThreadLocal<PreloadedImage> preloadedImage = new ThreadLocal<>();
+
+	/**
+	 * Set the decoded image, which will be returned when the resource with the given URI is loaded by the current thread,
+	 * until {@link #clearPreloadedImage()} is called
+	 * @param uri resource URI of the image
+	 * @param image decoded image
+	 */
+	public static void setPreloadedImage(URI uri, PlanarImage image) {
+		preloadedImage.set(new PreloadedImage(uri, image));
+	}
+
+	/**
+	 * Clear the decoded image for the current thread
+	 */
+	public static void clearPreloadedImage() {
+		preloadedImage.remove();
+	}
+
+	/**
+	 * Get the image, which was decoded by the current thread for the given resource URI
+	 * @param resource resource URI
+	 * @return decoded image or null
+	 */
+	protected static PlanarImage getPreloadedImage(URI resource) {
+		PreloadedImage preloaded = preloadedImage.get();
+		if (preloaded != null && preloaded.uri.equals(resource)) {
+			return preloaded.image;
+		} else {
+			return null;
+		}
+	}
+
 	/**
 	 * Create instance of the patched default image factory
 	 */
@@ -49,6 +85,9 @@ public class PatchedDefaultImageFactory extends DefaultImageFactory {
 
 	@Override
 	public boolean canHandle(URI var1) {
+		if (getPreloadedImage(var1) != null) {
+			return true;
+		}
 		try {
 			String var2 = var1.getPath().substring(var1.getPath().lastIndexOf(46) + 1).toLowerCase();
 			String var3 = var1.getScheme();
@@ -66,6 +105,11 @@ public class PatchedDefaultImageFactory extends DefaultImageFactory {
 	 * @throws ResourceException
 	 */
 	public Object createFrom(URI resource) throws ResourceException {
+		PlanarImage preloaded = getPreloadedImage(resource);
+		if (preloaded != null) {
+			return preloaded;
+		}
+
 		String scheme = resource.getScheme().toLowerCase();
 
 		if ("file".equals(scheme)) {
@@ -165,4 +209,29 @@ public class PatchedDefaultImageFactory extends DefaultImageFactory {
 		}
 		return image;
 	}
+
+	/**
+	 * Decoded image with its resource URI
+	 */
+	private static class PreloadedImage {
+		/**
+		 * Resource URI
+		 */
+		private final URI uri;
+
+		/**
+		 * Decoded image
+		 */
+		private final PlanarImage image;
+
+		/**
+		 * Create an instance
+		 * @param uri resource URI
+		 * @param image decoded image
+		 */
+		private PreloadedImage(URI uri, PlanarImage image) {
+			this.uri = uri;
+			this.image = image;
+		}
+	}
 }
@@ -0,0 +1,126 @@
+package com.gentics.lib.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import com.gentics.contentnode.tests.category.BaseLibTest;
+
+/**
+ * Test cases for {@link BinaryStreamValue}
+ */
+@Category(BaseLibTest.class)
+public class BinaryStreamValueTest {
+	/**
+	 * Test data
+	 */
+	public final static byte[] DATA = "This is the binary content".getBytes(StandardCharsets.UTF_8);
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	/**
+	 * File containing the test data
+	 */
+	protected File dataFile;
+
+	/**
+	 * Write the test data into a file and reset the statistics
+	 * @throws Exception
+	 */
+	@Before
+	public void setup() throws Exception {
+		dataFile = testFolder.newFile("1.bin");
+		Files.write(dataFile.toPath(), DATA);
+		BinaryStreamValue.resetStatistics();
+	}
+
+	/**
+	 * Test that the md5 hash is calculated from the file, if not given
+	 * @throws Exception
+	 */
+	@Test
+	public void testMD5() throws Exception {
+		String expected = BinaryStreamValue.md5(new ByteArrayInputStream(DATA));
+
+		assertThat(new BinaryStreamValue(dataFile, null).getMD5()).as("Calculated md5").isEqualTo(expected);
+		assertThat(new BinaryStreamValue(dataFile, expected.toUpperCase()).getMD5()).as("Given md5").isEqualTo(expected);
+	}
+
+	/**
+	 * Test that stored data is compared by md5 hash and length, if the md5 hash is given
+	 * @throws Exception
+	 */
+	@Test
+	public void testIdenticalByMD5() throws Exception {
+		String md5 = BinaryStreamValue.md5(new ByteArrayInputStream(DATA));
+		BinaryStreamValue value = new BinaryStreamValue(dataFile, md5);
+
+		assertThat(value.isIdentical(new ByteArrayInputStream(DATA))).as("Identical data").isTrue();
+		assertThat(value.isIdentical(new ByteArrayInputStream(modified(DATA)))).as("Modified data").isFalse();
+
+		// the file is not read, when the md5 hash is given
+		Files.write(dataFile.toPath(), modified(DATA));
+		assertThat(value.isIdentical(new ByteArrayInputStream(DATA))).as("Data with given md5 hash").isTrue();
+	}
+
+	/**
+	 * Test that stored data is compared with the file, if the md5 hash is not given or invalid
+	 * @throws Exception
+	 */
+	@Test
+	public void testIdenticalByContent() throws Exception {
+		for (String md5 : Arrays.asList(null, "", "not an md5 hash")) {
+			BinaryStreamValue value = new BinaryStreamValue(dataFile, md5);
+
+			assertThat(value.isIdentical(new ByteArrayInputStream(DATA))).as("Identical data with md5 '" + md5 + "'").isTrue();
+			assertThat(value.isIdentical(new ByteArrayInputStream(modified(DATA)))).as("Modified data with md5 '" + md5 + "'").isFalse();
+			assertThat(value.isIdentical(new ByteArrayInputStream(Arrays.copyOf(DATA, DATA.length - 1)))).as("Truncated data with md5 '" + md5 + "'")
+					.isFalse();
+		}
+	}
+
+	/**
+	 * Test streaming the data and the statistics
+	 * @throws Exception
+	 */
+	@Test
+	public void testStatistics() throws Exception {
+		BinaryStreamValue value = new BinaryStreamValue(dataFile, null);
+		assertThat(value.getLength()).as("Length").isEqualTo(DATA.length);
+
+		try (InputStream in = value.getInputStream()) {
+			assertThat(IOUtils.toByteArray(in)).as("Streamed data").isEqualTo(DATA);
+		}
+		value.skipped();
+
+		assertThat(BinaryStreamValue.getBytesStreamed()).as("Bytes streamed").isEqualTo(DATA.length);
+		assertThat(BinaryStreamValue.getBytesSkipped()).as("Bytes skipped").isEqualTo(DATA.length);
+
+		BinaryStreamValue.resetStatistics();
+		assertThat(BinaryStreamValue.getBytesStreamed()).as("Bytes streamed after reset").isEqualTo(0);
+	}
+
+	/**
+	 * Get a copy of the data with the same length, but a modified last byte
+	 * @param data data
+	 * @return modified copy
+	 */
+	protected static byte[] modified(byte[] data) {
+		byte[] modified = Arrays.copyOf(data, data.length);
+		modified[modified.length - 1]++;
+		return modified;
+	}
+}
@@ -24,6 +24,7 @@ import org.junit.experimental.categories.Category;
 
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.tests.category.BaseLibTest;
+import com.gentics.lib.image.GenticsImageStore.DecodedImage;
 import com.gentics.lib.log.NodeLogger;
 import com.gentics.testutils.GenericTestUtils;
 import com.gentics.testutils.TestFileProvider;
@@ -367,6 +368,58 @@ public class GenticsImageStoreTest {
 		assertEquals("The height of the result image was not correct.", 300, dim.x, 0);
 	}
 
+	/**
+	 * Test resizing a decoded image into multiple variants
+	 * @throws Exception
+	 */
+	@Test
+	public void testDecodedImage() throws Exception {
+		File testImage = File.createTempFile("testimage", ".jpeg");
+		try {
+			FileUtils.writeToFile(testImage, TestFileProvider.getTestJPG1());
+			DecodedImage decoded = GenticsImageStore.decode(testImage);
+			assertEquals("Check image type", "jpeg", decoded.getImageType());
+
+			int[][] dimensions = { { 100, 50 }, { 40, 30 } };
+			for (int[] dim : dimensions) {
+				Properties filterChainProperties = new Properties();
+				filterChainProperties.put("WIDTH", String.valueOf(dim[0]));
+				filterChainProperties.put("HEIGHT", String.valueOf(dim[1]));
+				filterChainProperties.put("MODE", "unproportional");
+				GenticsImageStoreResizeResponse response = GenticsImageStore.handleResizeAction(decoded, false, ResizeFilter.class.getCanonicalName(),
+						filterChainProperties, new Properties());
+				Point resized = JavaImageUtils.getImageDimensions(new ByteArrayInputStream(response.getImageData()), "image/jpeg");
+				assertEquals("The width of the result image was not correct.", dim[0], resized.x, 0);
+				assertEquals("The height of the result image was not correct.", dim[1], resized.y, 0);
+				assertThat(PatchedDefaultImageFactory.getPreloadedImage(testImage.toURI())).as("Preloaded image after resizing").isNull();
+			}
+		} finally {
+			testImage.delete();
+		}
+	}
+
+	/**
+	 * Test that the preloaded image is only used for the resource, from which it was decoded
+	 * @throws Exception
+	 */
+	@Test
+	public void testPreloadedImageURI() throws Exception {
+		File testImage = File.createTempFile("testimage", ".jpeg");
+		File otherImage = File.createTempFile("otherimage", ".jpeg");
+		try {
+			FileUtils.writeToFile(testImage, TestFileProvider.getTestJPG1());
+			DecodedImage decoded = GenticsImageStore.decode(testImage);
+
+			PatchedDefaultImageFactory.setPreloadedImage(testImage.toURI(), decoded.image);
+			assertThat(PatchedDefaultImageFactory.getPreloadedImage(testImage.toURI())).as("Preloaded image of decoded resource").isSameAs(decoded.image);
+			assertThat(PatchedDefaultImageFactory.getPreloadedImage(otherImage.toURI())).as("Preloaded image of other resource").isNull();
+		} finally {
+			PatchedDefaultImageFactory.clearPreloadedImage();
+			testImage.delete();
+			otherImage.delete();
+		}
+	}
+
 	public static GenticsImageStoreResizeResponse invokeGIS(String filePath, String fileUri, InputStream is, String mode, boolean cropandresize,
 			int height, int width) throws NodeException {
 
@@ -0,0 +1,126 @@
+package com.gentics.node.tests.crsync;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Vector;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.gentics.api.lib.resolving.Changeable;
+import com.gentics.api.portalnode.connector.PortalConnectorFactory;
+import com.gentics.contentnode.tests.category.BaseLibTest;
+import com.gentics.lib.content.GenticsContentObject;
+import com.gentics.testutils.database.JDBCMalformedURLException;
+import com.gentics.testutils.database.TestDatabase;
+import com.gentics.testutils.database.variations.AbstractDatabaseVariationTest;
+import com.gentics.testutils.database.variations.TestDatabaseVariationConfigurations;
+
+/**
+ * Test cases for the streaming sync
+ */
+@Category(BaseLibTest.class)
+public class CRSyncStreamingTest extends AbstractCRSyncTest {
+	/**
+	 * Name of the checkpoint for removing obsolete folders
+	 */
+	public final static String FOLDER_OBSOLETE_CHECKPOINT = "crsynccheckpoint." + GenticsContentObject.STR_OBJ_TYPE_FOLDER + ".obsolete";
+
+	/**
+	 * Get the test parameters
+	 *
+	 * @return test parameters
+	 * @throws JDBCMalformedURLException
+	 */
+	@Parameters(name = "{index}: multiDBTest: {0} -> {1}")
+	public static Collection<Object[]> data() throws JDBCMalformedURLException {
+		Map<String, TestDatabase> sourceVariations = AbstractDatabaseVariationTest.getVariations(TestDatabaseVariationConfigurations.BASIC);
+		Map<String, TestDatabase> targetVariations = AbstractDatabaseVariationTest.getVariations(TestDatabaseVariationConfigurations.BASIC);
+		Collection<Object[]> data = new Vector<Object[]>();
+
+		for (TestDatabase source : sourceVariations.values()) {
+			for (TestDatabase target : targetVariations.values()) {
+				data.add(new Object[] { source, target });
+			}
+		}
+
+		return data;
+	}
+
+	/**
+	 * Create instance with test parameters
+	 *
+	 * @param source
+	 *            source database
+	 * @param target
+	 *            target database
+	 */
+	public CRSyncStreamingTest(TestDatabase source, TestDatabase target) {
+		super(source, target);
+	}
+
+	/**
+	 * Test the streaming sync with multiple threads
+	 *
+	 * @throws Exception
+	 */
+	@Test(timeout = TEST_TIMEOUT_MS)
+	public void testStreamingSync() throws Exception {
+		Changeable c;
+
+		c = getContentObject(sourceDS, "10007.227", null);
+		c.setProperty("description", "changed description"); // ATTR_TYPE_TEXT_LONG
+		storeSingleChangeable(sourceDS, c);
+
+		c = getContentObject(sourceDS, "10007.666", null);
+		c.setProperty("optimizedclob", "i have changed");
+		storeSingleChangeable(sourceDS, c);
+
+		sync.setStreaming(true);
+		sync.setThreads(4);
+		doIt();
+
+		assertNull("Checkpoints must be removed after the sync", targetDS.getStringContentStatus(FOLDER_OBSOLETE_CHECKPOINT));
+	}
+
+	/**
+	 * Test that a valid checkpoint is used to resume the sync
+	 *
+	 * @throws Exception
+	 */
+	@Test(timeout = TEST_TIMEOUT_MS)
+	public void testResume() throws Exception {
+		touchAllObjects(target, 1);
+		touchRepository(targetDS, 1, false);
+		touchAllObjects(source, 2);
+		touchRepository(sourceDS, 2, false);
+
+		// simulate an interrupted sync, which already removed all obsolete folders
+		targetDS.setContentStatus(FOLDER_OBSOLETE_CHECKPOINT, "2:1:0:" + Integer.MAX_VALUE);
+
+		sync.setStreaming(true);
+		sync.doSync();
+
+		assertNotNull("Obsolete folder must not be removed, when resuming", PortalConnectorFactory.getContentObject("10002.99", targetDS));
+		assertNull("Checkpoints must be removed after the sync", targetDS.getStringContentStatus(FOLDER_OBSOLETE_CHECKPOINT));
+	}
+
+	/**
+	 * Test that checkpoints of an outdated sync are ignored
+	 *
+	 * @throws Exception
+	 */
+	@Test(timeout = TEST_TIMEOUT_MS)
+	public void testIgnoreOutdatedCheckpoint() throws Exception {
+		targetDS.setContentStatus(FOLDER_OBSOLETE_CHECKPOINT, "1:0:0:" + Integer.MAX_VALUE);
+
+		sync.setStreaming(true);
+		doIt();
+
+		assertNull("Obsolete folder must be removed", PortalConnectorFactory.getContentObject("10002.99", targetDS));
+	}
+}
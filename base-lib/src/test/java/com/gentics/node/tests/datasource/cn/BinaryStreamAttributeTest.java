@@ -0,0 +1,234 @@
+package com.gentics.node.tests.datasource.cn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.resolving.Changeable;
+import com.gentics.api.portalnode.connector.PortalConnectorFactory;
+import com.gentics.api.portalnode.connector.PortalConnectorHelper;
+import com.gentics.contentnode.tests.category.BaseLibTest;
+import com.gentics.lib.content.BinaryStreamValue;
+import com.gentics.lib.content.GenticsContentAttribute;
+import com.gentics.lib.datasource.CNWriteableDatasource;
+import com.gentics.lib.datasource.object.ObjectAttributeBean;
+import com.gentics.lib.datasource.object.ObjectManagementManager;
+import com.gentics.lib.datasource.object.ObjectTypeBean;
+
+/**
+ * Test cases for binary attributes, which are streamed into the database with {@link BinaryStreamValue}
+ */
+@Category(BaseLibTest.class)
+public class BinaryStreamAttributeTest {
+	/**
+	 * Object type
+	 */
+	public final static int OBJECT_TYPE = 5000;
+
+	/**
+	 * Name of the singlevalue binary attribute
+	 */
+	public final static String BINARY_ATTRIBUTE = "binary";
+
+	/**
+	 * Test data
+	 */
+	public final static byte[] DATA = "This is the binary content".getBytes(StandardCharsets.UTF_8);
+
+	/**
+	 * Modified test data with the same length
+	 */
+	public final static byte[] MODIFIED_DATA = "This is the binary CONTENT".getBytes(StandardCharsets.UTF_8);
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	/**
+	 * Tested datasource
+	 */
+	protected CNWriteableDatasource ds;
+
+	/**
+	 * File containing the data
+	 */
+	protected File dataFile;
+
+	/**
+	 * Create the datasource (hsql in memory) and the structure
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Map<String, String> handle = new HashMap<String, String>();
+
+		handle.put("type", "jdbc");
+		handle.put("driverClass", "org.hsqldb.jdbcDriver");
+		handle.put("url", "jdbc:hsqldb:mem:binarystream");
+		handle.put("shutDownCommand", "SHUTDOWN");
+
+		Map<String, String> props = new HashMap<String, String>();
+
+		props.put("sanitycheck2", "true");
+		props.put("autorepair2", "true");
+		props.put("cache", "false");
+
+		ds = (CNWriteableDatasource) PortalConnectorFactory.createWriteableDatasource(handle, props);
+
+		ObjectTypeBean type = new ObjectTypeBean();
+
+		type.setName("data");
+		type.setType(OBJECT_TYPE);
+		ObjectManagementManager.saveObjectType(ds, type);
+
+		ObjectAttributeBean binary = new ObjectAttributeBean();
+
+		binary.setObjecttype(OBJECT_TYPE);
+		binary.setAttributetype(GenticsContentAttribute.ATTR_TYPE_BLOB);
+		binary.setName(BINARY_ATTRIBUTE);
+		ObjectManagementManager.saveAttributeType(ds, binary, false);
+
+		dataFile = testFolder.newFile("1.bin");
+		Files.write(dataFile.toPath(), DATA);
+		BinaryStreamValue.resetStatistics();
+	}
+
+	/**
+	 * Destroy the datasource
+	 */
+	@After
+	public void tearDown() {
+		PortalConnectorHelper.clearCache(ds);
+		PortalConnectorFactory.destroy();
+	}
+
+	/**
+	 * Test that the data is streamed into the database, when an object is created
+	 * @throws Exception
+	 */
+	@Test
+	public void testStreamedInsert() throws Exception {
+		String contentId = create(new BinaryStreamValue(dataFile, null));
+
+		assertThat(BinaryStreamValue.getBytesStreamed()).as("Bytes streamed").isEqualTo(DATA.length);
+		assertThat(read(contentId)).as("Stored data").isEqualTo(DATA);
+	}
+
+	/**
+	 * Test that the modified data is streamed into the database, when an object is updated
+	 * @throws Exception
+	 */
+	@Test
+	public void testStreamedUpdate() throws Exception {
+		String contentId = create(new BinaryStreamValue(dataFile, null));
+		BinaryStreamValue.resetStatistics();
+
+		Files.write(dataFile.toPath(), MODIFIED_DATA);
+		update(contentId, new BinaryStreamValue(dataFile, md5(MODIFIED_DATA)));
+
+		assertThat(BinaryStreamValue.getBytesStreamed()).as("Bytes streamed").isEqualTo(MODIFIED_DATA.length);
+		assertThat(BinaryStreamValue.getBytesSkipped()).as("Bytes skipped").isEqualTo(0);
+		assertThat(read(contentId)).as("Stored data").isEqualTo(MODIFIED_DATA);
+	}
+
+	/**
+	 * Test that writing is omitted, when the md5 hash of the stored data is the given md5 hash
+	 * @throws Exception
+	 */
+	@Test
+	public void testSkipByMD5() throws Exception {
+		String contentId = create(new BinaryStreamValue(dataFile, null));
+		BinaryStreamValue.resetStatistics();
+
+		update(contentId, new BinaryStreamValue(dataFile, md5(DATA)));
+
+		assertThat(BinaryStreamValue.getBytesStreamed()).as("Bytes streamed").isEqualTo(0);
+		assertThat(BinaryStreamValue.getBytesSkipped()).as("Bytes skipped").isEqualTo(DATA.length);
+		assertThat(read(contentId)).as("Stored data").isEqualTo(DATA);
+	}
+
+	/**
+	 * Test that the stored data is compared with the file, when no md5 hash is given
+	 * @throws Exception
+	 */
+	@Test
+	public void testCompareWithoutMD5() throws Exception {
+		String contentId = create(new BinaryStreamValue(dataFile, null));
+		BinaryStreamValue.resetStatistics();
+
+		update(contentId, new BinaryStreamValue(dataFile, null));
+		assertThat(BinaryStreamValue.getBytesStreamed()).as("Bytes streamed for unchanged data").isEqualTo(0);
+		assertThat(BinaryStreamValue.getBytesSkipped()).as("Bytes skipped for unchanged data").isEqualTo(DATA.length);
+
+		Files.write(dataFile.toPath(), MODIFIED_DATA);
+		update(contentId, new BinaryStreamValue(dataFile, null));
+		assertThat(BinaryStreamValue.getBytesStreamed()).as("Bytes streamed for modified data").isEqualTo(MODIFIED_DATA.length);
+		assertThat(read(contentId)).as("Stored data").isEqualTo(MODIFIED_DATA);
+	}
+
+	/**
+	 * Create an object with the given binary value
+	 * @param value binary value
+	 * @return contentid of the object
+	 * @throws Exception
+	 */
+	protected String create(BinaryStreamValue value) throws Exception {
+		Map<String, Object> objectParams = new HashMap<String, Object>();
+
+		objectParams.put("obj_type", OBJECT_TYPE);
+		objectParams.put(BINARY_ATTRIBUTE, value);
+		Changeable object = ds.create(objectParams);
+
+		ds.store(Collections.singleton(object));
+		return ObjectTransformer.getString(object.get("contentid"), null);
+	}
+
+	/**
+	 * Update the binary value of the object
+	 * @param contentId contentid of the object
+	 * @param value new binary value
+	 * @throws Exception
+	 */
+	protected void update(String contentId, BinaryStreamValue value) throws Exception {
+		Changeable object = ds.create(Collections.singletonMap("contentid", contentId));
+
+		object.setProperty(BINARY_ATTRIBUTE, value);
+		ds.update(Collections.singleton(object));
+	}
+
+	/**
+	 * Read the stored binary value of the object
+	 * @param contentId contentid of the object
+	 * @return stored data
+	 * @throws Exception
+	 */
+	protected byte[] read(String contentId) throws Exception {
+		PortalConnectorHelper.clearCache(ds);
+		Changeable object = ds.create(Collections.singletonMap("contentid", contentId));
+
+		return ObjectTransformer.getBinary(object.get(BINARY_ATTRIBUTE), null);
+	}
+
+	/**
+	 * Calculate the md5 hash of the given data
+	 * @param data data
+	 * @return md5 hash
+	 * @throws Exception
+	 */
+	protected String md5(byte[] data) throws Exception {
+		return BinaryStreamValue.md5(new ByteArrayInputStream(data));
+	}
+}
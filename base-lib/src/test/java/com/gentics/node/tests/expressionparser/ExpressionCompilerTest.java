@@ -0,0 +1,134 @@
+package com.gentics.node.tests.expressionparser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.gentics.api.lib.expressionparser.Expression;
+import com.gentics.api.lib.expressionparser.ExpressionEvaluator;
+import com.gentics.api.lib.expressionparser.ExpressionParser;
+import com.gentics.contentnode.tests.category.BaseLibTest;
+import com.gentics.lib.base.MapResolver;
+
+/**
+ * Test cases, which compare the evaluation of compiled expressions with the evaluation of interpreted expressions
+ */
+@RunWith(value = Parameterized.class)
+@Category(BaseLibTest.class)
+public class ExpressionCompilerTest {
+	/**
+	 * Tested expression
+	 */
+	protected String expression;
+
+	/**
+	 * Expected result
+	 */
+	protected boolean expected;
+
+	/**
+	 * Get the test parameters
+	 *
+	 * @return collection of test parameter sets
+	 */
+	@Parameters(name = "{index}: expression {0}, match {1}")
+	public static Collection<Object[]> data() throws Exception {
+		Collection<Object[]> data = new ArrayList<Object[]>();
+
+		ExpressionTest.addBooleanTests(data, ExpressionTest.booleanTrueTests, true);
+		ExpressionTest.addBooleanTests(data, ExpressionTest.booleanFalseTests, false);
+
+		// expressions resolving properties of the matched object
+		data.add(new Object[] { "object.name == 'Item 42'", true });
+		data.add(new Object[] { "object.size > 10 * 4 && !(object.category == 'jobs')", true });
+		data.add(new Object[] { "object.category CONTAINSONEOF ['events', 'jobs'] || object.name LIKE 'Item 4%'", true });
+		data.add(new Object[] { "concat('Item ', object.size) == object.name", true });
+		data.add(new Object[] { "object.bogus == 'Item 42'", false });
+		data.add(new Object[] { "object.size <= 40 || object.size >= 50", false });
+		data.add(new Object[] { "isempty(object.name)", false });
+
+		// comparisons with literals, which are specialized for the type of the literal
+		data.add(new Object[] { "object.size == 42", true });
+		data.add(new Object[] { "42.0 == object.size", true });
+		data.add(new Object[] { "object.size != 42", false });
+		data.add(new Object[] { "40 < object.size && object.size < 50", true });
+		data.add(new Object[] { "42 <= object.size && 42 >= object.size", true });
+		data.add(new Object[] { "object.size > 42 || 42 > object.size", false });
+		data.add(new Object[] { "object.sizestring == 42 && 42 == object.sizestring", true });
+		data.add(new Object[] { "object.sizestring > 41 && 43 > object.sizestring", true });
+		data.add(new Object[] { "'news' == object.category", true });
+		data.add(new Object[] { "object.category != 'news'", false });
+		data.add(new Object[] { "object.tags == 'b' && 'c' != object.tags", true });
+		data.add(new Object[] { "object.size == '42'", true });
+		data.add(new Object[] { "object.flag == true && false != object.flag", true });
+		data.add(new Object[] { "object.flagstring == true", true });
+		data.add(new Object[] { "object.bogus == null && null != object.name", true });
+		data.add(new Object[] { "object.empty == null", false });
+		return data;
+	}
+
+	/**
+	 * Create a test instance
+	 * @param expression tested expression
+	 * @param expected expected result
+	 */
+	public ExpressionCompilerTest(String expression, boolean expected) {
+		this.expression = expression;
+		this.expected = expected;
+	}
+
+	/**
+	 * Reset the compilation flag
+	 */
+	@After
+	public void tearDown() {
+		ExpressionParser.setCompileExpressions(true);
+	}
+
+	/**
+	 * Test that the compiled and the interpreted expression have the expected result
+	 * @throws Exception
+	 */
+	@Test
+	public void testMatch() throws Exception {
+		Expression exp = ExpressionParser.getInstance().parse(expression);
+
+		ExpressionParser.setCompileExpressions(false);
+		assertThat(match(exp)).as("Interpreted result").isEqualTo(expected);
+
+		ExpressionParser.setCompileExpressions(true);
+		assertThat(match(exp)).as("Compiled result").isEqualTo(expected);
+		// evaluate a second time, so that folded values are used
+		assertThat(match(exp)).as("Compiled result (second evaluation)").isEqualTo(expected);
+	}
+
+	/**
+	 * Match the expression against the test object
+	 * @param exp expression
+	 * @return true iff the expression matches
+	 * @throws Exception
+	 */
+	protected boolean match(Expression exp) throws Exception {
+		Map<String, Object> data = new HashMap<>();
+		data.put("name", "Item 42");
+		data.put("category", "news");
+		data.put("size", 42);
+		data.put("sizestring", "42");
+		data.put("tags", Arrays.asList("a", "b"));
+		data.put("flag", true);
+		data.put("flagstring", "true");
+		data.put("empty", "");
+		return new ExpressionEvaluator().match(exp, new MapResolver(data));
+	}
+}
@@ -0,0 +1,176 @@
+package com.gentics.node.tests.resolving;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.gentics.api.lib.exception.UnknownPropertyException;
+import com.gentics.api.lib.resolving.PropertyPath;
+import com.gentics.api.lib.resolving.PropertyResolver;
+import com.gentics.api.lib.resolving.PropertyResolver.PropertyPathEntry;
+import com.gentics.api.lib.resolving.ResolverContext;
+import com.gentics.api.lib.resolving.ResolverContextHandler;
+import com.gentics.contentnode.tests.category.BaseLibTest;
+import com.gentics.lib.base.MapResolver;
+
+/**
+ * Test cases for the compiled {@link PropertyPath}
+ */
+@Category(BaseLibTest.class)
+public class PropertyPathTest {
+	/**
+	 * Name of the registered resolver context
+	 */
+	public final static String CONTEXT_NAME = "PropertyPathTest";
+
+	/**
+	 * Resolver context, which records all pushed objects
+	 */
+	protected RecordingContext context;
+
+	/**
+	 * Start object
+	 */
+	protected MapResolver start;
+
+	/**
+	 * Create the test data and register the resolver context
+	 */
+	@Before
+	public void setup() {
+		Map<String, Object> node = new HashMap<>();
+		node.put("host", "www.gentics.com");
+
+		Map<String, Object> folder = new HashMap<>();
+		folder.put("name", "Folder");
+		folder.put("node", node);
+
+		Map<String, Object> first = new HashMap<>();
+		first.put("name", "First");
+		Map<String, Object> second = new HashMap<>();
+		second.put("name", "Second");
+
+		Map<String, Object> page = new HashMap<>();
+		page.put("name", "Page");
+		page.put("folder", folder);
+		page.put("languages", Arrays.asList(new MapResolver(first), new MapResolver(second)));
+
+		start = new MapResolver(page);
+
+		context = new RecordingContext();
+		ResolverContextHandler.registerContext(CONTEXT_NAME, context);
+	}
+
+	/**
+	 * Unregister the resolver context
+	 */
+	@After
+	public void tearDown() {
+		ResolverContextHandler.unregisterContext(CONTEXT_NAME);
+	}
+
+	/**
+	 * Test that compiled paths are interned
+	 */
+	@Test
+	public void testInterned() {
+		assertThat(PropertyPath.get("folder.node.host")).as("Compiled path").isSameAs(PropertyPath.get("folder.node.host"));
+	}
+
+	/**
+	 * Test the parts, prefixes and remaining paths
+	 */
+	@Test
+	public void testParts() {
+		PropertyPath path = PropertyPath.get("folder.node.host");
+		assertThat(path.size()).as("Number of parts").isEqualTo(3);
+		assertThat(path.getPart(1)).as("Second part").isEqualTo("node");
+		assertThat(path.getPrefix(0)).as("Empty prefix").isEqualTo("");
+		assertThat(path.getPrefix(2)).as("Prefix").isEqualTo("folder.node");
+		assertThat(path.getRemaining(1)).as("Remaining path").isEqualTo("node.host");
+	}
+
+	/**
+	 * Test resolving and that the resolver context is cleaned afterwards
+	 * @throws Exception
+	 */
+	@Test
+	public void testResolve() throws Exception {
+		assertThat(PropertyResolver.resolve(start, "folder.node.host")).as("Resolved value").isEqualTo("www.gentics.com");
+		assertThat(context.pushed).as("Pushed objects").hasSize(3);
+		assertThat(context.stack).as("Objects left in context").isEmpty();
+	}
+
+	/**
+	 * Test resolving over collections
+	 * @throws Exception
+	 */
+	@Test
+	public void testResolveCollection() throws Exception {
+		assertThat(new ArrayList<Object>((Collection<?>) PropertyResolver.resolve(start, "languages.name"))).as("Resolved values").containsOnly("First", "Second");
+		assertThat(context.stack).as("Objects left in context").isEmpty();
+	}
+
+	/**
+	 * Test that the resolved value is identical to the last entry of the resolved path
+	 * @throws Exception
+	 */
+	@Test
+	public void testResolvePath() throws Exception {
+		List<?> entries = PropertyResolver.resolvePath(start, "folder.node.host");
+		assertThat(entries).as("Path entries").hasSize(4);
+		assertThat(((PropertyPathEntry) entries.get(1)).getPath()).as("Path of entry").isEqualTo("folder");
+		assertThat(((PropertyPathEntry) entries.get(1)).getRemainingPath()).as("Remaining path of entry").isEqualTo("node.host");
+		assertThat(((PropertyPathEntry) entries.get(3)).getEntry()).as("Last entry").isEqualTo(PropertyResolver.resolve(start, "folder.node.host"));
+	}
+
+	/**
+	 * Test resolving unresolvable paths
+	 * @throws Exception
+	 */
+	@Test
+	public void testUnresolvable() throws Exception {
+		assertThat(PropertyResolver.resolve(start, "folder.bogus.host")).as("Resolved value").isNull();
+		assertThat(PropertyResolver.resolve(start, "name.length")).as("Resolved value").isNull();
+		assertThatThrownBy(() -> PropertyResolver.resolve(start, "folder.bogus.host", true)).isInstanceOf(UnknownPropertyException.class)
+				.hasMessageContaining("could not resolve Property {bogus} for object {folder}");
+		assertThat(context.stack).as("Objects left in context").isEmpty();
+	}
+
+	/**
+	 * Resolver context, which records the pushed objects
+	 */
+	public static class RecordingContext implements ResolverContext {
+		/**
+		 * All pushed objects
+		 */
+		protected List<Object> pushed = new ArrayList<>();
+
+		/**
+		 * Current stack
+		 */
+		protected List<Object> stack = new ArrayList<>();
+
+		@Override
+		public void push(Object object) {
+			pushed.add(object);
+			stack.add(object);
+		}
+
+		@Override
+		public void pop(Object object) {
+			assertThat(stack.remove(stack.size() - 1)).as("Popped object").isSameAs(object);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.gentics.contentnode.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.Trx;
+
+/**
+ * Abstract base class for benchmarks of the CMS backend.
+ * The {@link BenchmarkDBContext} is started once per trial, the test data is created by {@link #createData()}
+ * and the benchmark methods are executed in a transaction (which is opened by {@link #startTransaction()}).
+ * Since transactions are bound to the thread, the benchmarks must run single threaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public abstract class AbstractCMSBenchmark {
+	/**
+	 * Context
+	 */
+	protected BenchmarkDBContext context;
+
+	/**
+	 * Transaction used by the benchmark methods
+	 */
+	protected Trx trx;
+
+	/**
+	 * Start the context, create the test data and start the transaction
+	 * @throws Exception
+	 */
+	@Setup(Level.Trial)
+	public void setupTrial() throws Exception {
+		context = new BenchmarkDBContext();
+		context.start(getClass());
+		context.getContext().getTransaction().commit();
+
+		createData();
+		trx = startTransaction();
+	}
+
+	/**
+	 * Close the transaction and stop the context
+	 * @throws Exception
+	 */
+	@TearDown(Level.Trial)
+	public void tearDownTrial() throws Exception {
+		if (trx != null) {
+			trx.close();
+			trx = null;
+		}
+		if (context != null) {
+			context.stop();
+			context = null;
+		}
+	}
+
+	/**
+	 * Get the transaction used by the benchmark methods
+	 * @return transaction
+	 */
+	protected Transaction t() {
+		return trx.getTransaction();
+	}
+
+	/**
+	 * Create the test data. This is called without a transaction, so implementations need to start their own transactions (e.g. with {@link Trx#operate(com.gentics.contentnode.etc.Operator)})
+	 * @throws NodeException
+	 */
+	protected abstract void createData() throws NodeException;
+
+	/**
+	 * Start the transaction used by the benchmark methods. The default implementation starts a transaction for the system user
+	 * @return transaction
+	 * @throws NodeException
+	 */
+	protected Trx startTransaction() throws NodeException {
+		return new Trx();
+	}
+}
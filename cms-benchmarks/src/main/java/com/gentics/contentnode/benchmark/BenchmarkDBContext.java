@@ -0,0 +1,69 @@
+package com.gentics.contentnode.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.runner.Description;
+
+import com.gentics.contentnode.runtime.ConfigurationValue;
+import com.gentics.contentnode.testutils.DBTestContext;
+
+/**
+ * Variant of the {@link DBTestContext}, which can be started and stopped from JMH lifecycle methods (instead of being used as JUnit rule).
+ * Like for the tests, the database is provided by the gcn-testdb-manager.
+ */
+public class BenchmarkDBContext extends DBTestContext {
+	/**
+	 * Description of the benchmark
+	 */
+	protected Description description;
+
+	/**
+	 * Create an instance. The default test configuration (which is contained in the cms-core test-jar) will be used.
+	 */
+	public BenchmarkDBContext() {
+		super();
+		setDefaultTestConfig();
+	}
+
+	/**
+	 * Start the context for the given benchmark class
+	 * @param benchmarkClass benchmark class
+	 */
+	public void start(Class<?> benchmarkClass) {
+		description = Description.createSuiteDescription(benchmarkClass);
+		starting(description);
+	}
+
+	/**
+	 * Stop the context
+	 */
+	public void stop() {
+		if (description != null) {
+			finished(description);
+			description = null;
+		}
+	}
+
+	/**
+	 * Extract the default test configuration from the classpath into a temporary file (the configuration cannot be read from the jar)
+	 * and use it as configuration file
+	 */
+	protected void setDefaultTestConfig() {
+		try (InputStream in = DBTestContext.class.getResourceAsStream(DEFAULT_CONFIG_NAME)) {
+			if (in == null) {
+				return;
+			}
+			File config = File.createTempFile("benchmark_", "_" + DEFAULT_CONFIG_NAME);
+			config.deleteOnExit();
+			Files.copy(in, config.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			System.setProperty(ConfigurationValue.CONF_FILES.getSystemPropertyName(), config.getAbsolutePath());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error while preparing the test configuration", e);
+		}
+	}
+}
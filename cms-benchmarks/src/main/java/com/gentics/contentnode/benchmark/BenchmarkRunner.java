@@ -0,0 +1,55 @@
+package com.gentics.contentnode.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of the benchmarks jar.
+ * Runs the benchmarks selected by the given command line arguments (all JMH command line options are supported)
+ * and writes the results in JSON format to {@link #DEFAULT_RESULT_FILE} (unless a different format or file is given with -rf or -rff).
+ * The JSON results of different releases can be compared e.g. with the JMH Visualizer.
+ */
+public class BenchmarkRunner {
+	/**
+	 * Default result file
+	 */
+	public final static String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	/**
+	 * Include pattern used, when no benchmarks are selected
+	 */
+	public final static String DEFAULT_INCLUDE = BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark";
+
+	/**
+	 * Run the benchmarks
+	 * @param args command line arguments
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+		if (cmdOptions.shouldHelp()) {
+			cmdOptions.showHelp();
+			return;
+		}
+		if (cmdOptions.shouldList()) {
+			new Runner(cmdOptions).list();
+			return;
+		}
+
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+		if (cmdOptions.getIncludes().isEmpty()) {
+			builder.include(DEFAULT_INCLUDE);
+		}
+		if (!cmdOptions.getResultFormat().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON);
+		}
+		if (!cmdOptions.getResult().hasValue()) {
+			builder.result(DEFAULT_RESULT_FILE);
+		}
+
+		new Runner(builder.build()).run();
+	}
+}
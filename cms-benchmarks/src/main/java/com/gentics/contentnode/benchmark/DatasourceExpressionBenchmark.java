@@ -0,0 +1,201 @@
+package com.gentics.contentnode.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.api.lib.expressionparser.Expression;
+import com.gentics.api.lib.expressionparser.ExpressionEvaluator;
+import com.gentics.api.lib.expressionparser.ExpressionParser;
+import com.gentics.api.lib.expressionparser.filtergenerator.DatasourceFilter;
+import com.gentics.api.lib.resolving.Changeable;
+import com.gentics.api.lib.resolving.Resolvable;
+import com.gentics.api.portalnode.connector.DatasourceType;
+import com.gentics.api.portalnode.connector.HandleType;
+import com.gentics.api.portalnode.connector.PortalConnectorFactory;
+import com.gentics.lib.content.GenticsContentAttribute;
+import com.gentics.lib.datasource.CNWriteableDatasource;
+import com.gentics.lib.datasource.object.ObjectAttributeBean;
+import com.gentics.lib.datasource.object.ObjectManagementManager;
+import com.gentics.lib.datasource.object.ObjectTypeBean;
+
+/**
+ * Benchmarks for the evaluation of expressions (as used by the datasources) against a content repository in an embedded HSQLDB.
+ * The expressions are parsed, evaluated in memory (like done for filtering in velocity) and transformed into database queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DatasourceExpressionBenchmark {
+	/**
+	 * ID of the handle
+	 */
+	public final static String HANDLE_ID = "benchmarkhandle";
+
+	/**
+	 * ID of the datasource
+	 */
+	public final static String DATASOURCE_ID = "benchmarkds";
+
+	/**
+	 * Object type
+	 */
+	public final static int OBJECT_TYPE = 10007;
+
+	/**
+	 * Prefilled attributes
+	 */
+	public final static String[] PREFILL_ATTRIBUTES = { "name", "category", "size" };
+
+	/**
+	 * Categories of the objects
+	 */
+	public final static List<String> CATEGORIES = Arrays.asList("news", "products", "events", "jobs");
+
+	/**
+	 * Evaluated expression
+	 */
+	@Param({ "object.category == 'news'", "object.category == 'news' && object.size > 500",
+			"object.category CONTAINSONEOF ['events', 'jobs'] || object.name LIKE 'Item 1%'" })
+	public String expressionString;
+
+	/**
+	 * Number of objects in the content repository
+	 */
+	@Param({ "1000" })
+	public int numObjects;
+
+	/**
+	 * Datasource
+	 */
+	protected CNWriteableDatasource ds;
+
+	/**
+	 * Parsed expression
+	 */
+	protected Expression expression;
+
+	/**
+	 * Datasource filter
+	 */
+	protected DatasourceFilter filter;
+
+	/**
+	 * All objects (with prefilled attributes)
+	 */
+	protected List<Resolvable> objects;
+
+	/**
+	 * Create the datasource in the embedded HSQLDB and fill it with objects
+	 * @throws NodeException
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws NodeException {
+		Map<String, String> handleProperties = new HashMap<>();
+		handleProperties.put("type", "jdbc");
+		handleProperties.put("driverClass", "org.hsqldb.jdbcDriver");
+		handleProperties.put("url", "jdbc:hsqldb:mem:" + getClass().getSimpleName());
+		handleProperties.put("shutDownCommand", "SHUTDOWN");
+		PortalConnectorFactory.registerHandle(HANDLE_ID, HandleType.sql, handleProperties);
+
+		Map<String, String> dsProperties = new HashMap<>();
+		dsProperties.put("autorepair2", "true");
+		dsProperties.put("sanitycheck2", "true");
+		dsProperties.put("cache", "true");
+		PortalConnectorFactory.registerDatasource(DATASOURCE_ID, DatasourceType.contentrepository, dsProperties, Arrays.asList(HANDLE_ID));
+
+		ds = PortalConnectorFactory.createDatasource(CNWriteableDatasource.class, DATASOURCE_ID);
+		ObjectTypeBean type = new ObjectTypeBean(OBJECT_TYPE, "benchmark", false);
+		type.addAttributeType(new ObjectAttributeBean("name", GenticsContentAttribute.ATTR_TYPE_TEXT, false, null, false, OBJECT_TYPE, 0, null, null, null, false, false));
+		type.addAttributeType(new ObjectAttributeBean("category", GenticsContentAttribute.ATTR_TYPE_TEXT, false, null, false, OBJECT_TYPE, 0, null, null, null, false, false));
+		type.addAttributeType(new ObjectAttributeBean("size", GenticsContentAttribute.ATTR_TYPE_INTEGER, false, null, false, OBJECT_TYPE, 0, null, null, null, false, false));
+		ObjectManagementManager.saveObjectType(ds, type, true, true);
+
+		List<Changeable> created = new ArrayList<>(numObjects);
+		for (int i = 1; i <= numObjects; i++) {
+			Map<String, Object> data = new HashMap<>();
+			data.put("contentid", String.format("%d.%d", OBJECT_TYPE, i));
+			data.put("name", "Item " + i);
+			data.put("category", CATEGORIES.get(i % CATEGORIES.size()));
+			data.put("size", i);
+			created.add(ds.create(data, -1, false));
+		}
+		ds.store(created);
+
+		expression = ExpressionParser.getInstance().parse(expressionString);
+		filter = ds.createDatasourceFilter(expression);
+		objects = new ArrayList<>(ds.getResult(ds.createDatasourceFilter(ExpressionParser.TRUE), PREFILL_ATTRIBUTES));
+	}
+
+	/**
+	 * Destroy the datasource
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		PortalConnectorFactory.destroy();
+	}
+
+	/**
+	 * Parse the expression
+	 * @return parsed expression
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Expression parse() throws NodeException {
+		return ExpressionParser.getInstance().parse(expressionString);
+	}
+
+	/**
+	 * Filter all objects in memory with the parsed expression
+	 * @return filtered objects
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public List<Resolvable> filterInMemory() throws NodeException {
+		List<Resolvable> filtered = new ArrayList<>(objects);
+		new ExpressionEvaluator().filter(expression, filtered);
+		return filtered;
+	}
+
+	/**
+	 * Create the datasource filter for the parsed expression
+	 * @return datasource filter
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public DatasourceFilter createFilter() throws NodeException {
+		return ds.createDatasourceFilter(expression);
+	}
+
+	/**
+	 * Get the result of the datasource filter from the content repository
+	 * @return result
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Collection<Resolvable> getResult() throws NodeException {
+		return ds.getResult(filter, PREFILL_ATTRIBUTES);
+	}
+}
@@ -0,0 +1,107 @@
+package com.gentics.contentnode.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.api.lib.expressionparser.Expression;
+import com.gentics.api.lib.expressionparser.ExpressionEvaluator;
+import com.gentics.api.lib.expressionparser.ExpressionParser;
+import com.gentics.api.lib.resolving.Resolvable;
+import com.gentics.lib.base.MapResolver;
+
+/**
+ * Benchmarks for the in memory evaluation of expressions, comparing the compiled expressions with the interpreted expressions
+ * (see {@link ExpressionParser#setCompileExpressions(boolean)}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExpressionEvaluationBenchmark {
+	/**
+	 * Categories of the objects
+	 */
+	public final static List<String> CATEGORIES = Arrays.asList("news", "products", "events", "jobs");
+
+	/**
+	 * Evaluated expression
+	 */
+	@Param({ "object.category == 'news'", "object.category == 'news' && object.size > 500",
+			"object.category CONTAINSONEOF ['events', 'jobs'] || object.name LIKE 'Item 1%'",
+			"object.size > 10 * 50 && !(object.category == 'jobs') && concat('Item ', '1') != object.name" })
+	public String expressionString;
+
+	/**
+	 * True to evaluate the compiled expression, false to interpret the parsed expression
+	 */
+	@Param({ "false", "true" })
+	public boolean compile;
+
+	/**
+	 * Number of filtered objects
+	 */
+	@Param({ "1000" })
+	public int numObjects;
+
+	/**
+	 * Parsed expression
+	 */
+	protected Expression expression;
+
+	/**
+	 * All objects
+	 */
+	protected List<Resolvable> objects;
+
+	/**
+	 * Create the objects and parse the expression
+	 * @throws NodeException
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws NodeException {
+		ExpressionParser.setCompileExpressions(compile);
+
+		objects = new ArrayList<>(numObjects);
+		for (int i = 1; i <= numObjects; i++) {
+			Map<String, Object> data = new HashMap<>();
+			data.put("name", "Item " + i);
+			data.put("category", CATEGORIES.get(i % CATEGORIES.size()));
+			data.put("size", i);
+			objects.add(new MapResolver(data));
+		}
+
+		expression = ExpressionParser.getInstance().parse(expressionString);
+	}
+
+	/**
+	 * Filter all objects in memory with the parsed expression
+	 * @return filtered objects
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public List<Resolvable> filterInMemory() throws NodeException {
+		List<Resolvable> filtered = new ArrayList<>(objects);
+		new ExpressionEvaluator().filter(expression, filtered);
+		return filtered;
+	}
+}
@@ -0,0 +1,113 @@
+package com.gentics.contentnode.benchmark;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.gentics.contentnode.factory.NodeFactory;
+import com.gentics.contentnode.factory.ObjectCacheKey;
+
+/**
+ * JMH Benchmark for the object cache keys of the {@link NodeFactory}, comparing the {@link ObjectCacheKey} with the previously used String keys.
+ * The benchmark replays a sequence of object lookups, which is similar to rendering pages (most lookups hit a small set of frequently used objects,
+ * like constructs, parts and templates). Run with the GC profiler (-prof gc) to show the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectCacheKeyBenchmark {
+	/**
+	 * Number of cached objects
+	 */
+	@Param({ "100000" })
+	public int numObjects;
+
+	/**
+	 * Number of frequently used objects
+	 */
+	@Param({ "500" })
+	public int numHotObjects;
+
+	/**
+	 * Number of lookups per invocation
+	 */
+	@Param({ "1000" })
+	public int numLookups;
+
+	/**
+	 * Cache with String keys
+	 */
+	protected Map<Object, Object> stringKeyCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Cache with {@link ObjectCacheKey} keys
+	 */
+	protected Map<Object, Object> objectKeyCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Object IDs to look up
+	 */
+	protected Integer[] lookups;
+
+	/**
+	 * Fill the caches and generate the lookups
+	 */
+	@Setup
+	public void setup() {
+		for (int id = 1; id <= numObjects; id++) {
+			Object object = new Object();
+			stringKeyCache.put(id + "|" + -1, object);
+			objectKeyCache.put(new ObjectCacheKey(id, -1), object);
+		}
+
+		Random random = new Random(4711);
+		lookups = new Integer[numLookups];
+		for (int i = 0; i < numLookups; i++) {
+			// 80% of the lookups are for the frequently used objects
+			if (random.nextInt(10) < 8) {
+				lookups[i] = random.nextInt(numHotObjects) + 1;
+			} else {
+				lookups[i] = random.nextInt(numObjects) + 1;
+			}
+		}
+	}
+
+	/**
+	 * Lookups with String keys
+	 * @param blackhole blackhole
+	 */
+	@Benchmark
+	public void stringKeys(Blackhole blackhole) {
+		for (Integer id : lookups) {
+			blackhole.consume(stringKeyCache.get(id + "|" + -1));
+		}
+	}
+
+	/**
+	 * Lookups with {@link ObjectCacheKey} keys
+	 * @param blackhole blackhole
+	 */
+	@Benchmark
+	public void objectCacheKeys(Blackhole blackhole) {
+		for (Integer id : lookups) {
+			blackhole.consume(objectKeyCache.get(new ObjectCacheKey(id, -1)));
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.gentics.contentnode.benchmark;
+
+import static com.gentics.contentnode.factory.Trx.operate;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createNode;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createPage;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.factory.NodeFactory;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.Template;
+
+/**
+ * Benchmarks for loading objects with the {@link NodeFactory}, when the objects are found in the object cache (hits)
+ * and when the objects need to be loaded from the database (misses)
+ */
+public class ObjectLoadingBenchmark extends AbstractCMSBenchmark {
+	/**
+	 * Number of pages
+	 */
+	@Param({ "100" })
+	public int numPages;
+
+	/**
+	 * Page IDs
+	 */
+	protected List<Integer> pageIds;
+
+	/**
+	 * Index of the next page ID
+	 */
+	protected int index;
+
+	@Override
+	protected void createData() throws NodeException {
+		operate(() -> {
+			Node node = createNode();
+			Template template = createTemplate(node.getFolder(), "Benchmark Template");
+			pageIds = new ArrayList<>(numPages);
+			for (int i = 0; i < numPages; i++) {
+				pageIds.add(createPage(node.getFolder(), template, "Page " + i).getId());
+			}
+		});
+	}
+
+	/**
+	 * Get the next page ID
+	 * @return page ID
+	 */
+	protected Integer nextPageId() {
+		Integer id = pageIds.get(index);
+		index = (index + 1) % pageIds.size();
+		return id;
+	}
+
+	/**
+	 * Get a single page from the cache
+	 * @return page
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Page getObjectCacheHit() throws NodeException {
+		return t().getObject(Page.class, nextPageId());
+	}
+
+	/**
+	 * Dirt the cache for a single page and get it (which loads the page from the database)
+	 * @return page
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Page getObjectCacheMiss() throws NodeException {
+		Integer id = nextPageId();
+		t().dirtObjectCache(Page.class, id, false);
+		return t().getObject(Page.class, id);
+	}
+
+	/**
+	 * Get all pages from the cache
+	 * @return pages
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public List<Page> getObjectsCacheHit() throws NodeException {
+		return t().getObjects(Page.class, pageIds);
+	}
+
+	/**
+	 * Dirt the cache for all pages and get them (which loads the pages from the database with a single statement)
+	 * @return pages
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public List<Page> getObjectsCacheMiss() throws NodeException {
+		for (Integer id : pageIds) {
+			t().dirtObjectCache(Page.class, id, false);
+		}
+		return t().getObjects(Page.class, pageIds);
+	}
+}
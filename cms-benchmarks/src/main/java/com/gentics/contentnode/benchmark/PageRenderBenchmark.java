@@ -0,0 +1,178 @@
+package com.gentics.contentnode.benchmark;
+
+import static com.gentics.contentnode.factory.Trx.operate;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.TEMPLATE_PARTNAME;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.create;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createConstruct;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createNode;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createPage;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createVelocityConstruct;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.getPartType;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.update;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.factory.RenderTypeTrx;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.Template;
+import com.gentics.contentnode.object.TemplateTag;
+import com.gentics.contentnode.object.parttype.LongHTMLPartType;
+import com.gentics.contentnode.render.RenderResult;
+import com.gentics.contentnode.render.RenderType;
+import com.gentics.contentnode.render.RendererFactory;
+import com.gentics.contentnode.render.TemplateRenderer;
+
+/**
+ * Benchmarks for rendering pages (with the {@link TemplateRenderer} of the {@link RenderType}) and for rendering velocity tags
+ */
+public class PageRenderBenchmark extends AbstractCMSBenchmark {
+	/**
+	 * Name of the html tag
+	 */
+	public final static String HTML_TAG = "html";
+
+	/**
+	 * Name of the velocity tag
+	 */
+	public final static String VTL_TAG = "vtl";
+
+	/**
+	 * Source of the page template
+	 */
+	public final static String TEMPLATE_SOURCE = "<!DOCTYPE html>\n<html><head><title><node page.name></title></head>\n"
+			+ "<body><h1><node " + HTML_TAG + "></h1>\n<node " + VTL_TAG + ">\n</body></html>";
+
+	/**
+	 * Velocity template of the velocity tag
+	 */
+	public final static String VTL_SOURCE = "<ul>#foreach($i in [1..20])<li>$i: $cms.page.name in $cms.folder.name ($cms.node.host)</li>#end</ul>"
+			+ "#if($cms.page.template.name)<p>$cms.page.template.name</p>#end";
+
+	/**
+	 * Page containing html and velocity tag
+	 */
+	protected Page page;
+
+	/**
+	 * Page containing only the velocity tag
+	 */
+	protected Page velocityPage;
+
+	@Override
+	protected void createData() throws NodeException {
+		operate(() -> {
+			Node node = createNode();
+			int htmlConstructId = createConstruct(node, LongHTMLPartType.class, HTML_TAG, HTML_TAG);
+			int vtlConstructId = createVelocityConstruct(node, VTL_TAG, VTL_TAG);
+
+			Template template = create(Template.class, tmpl -> {
+				tmpl.setSource(TEMPLATE_SOURCE);
+				tmpl.setName("Benchmark Template");
+				tmpl.addFolder(node.getFolder());
+				tmpl.getTags().put(HTML_TAG, createTemplateTag(htmlConstructId, HTML_TAG));
+				tmpl.getTags().put(VTL_TAG, createTemplateTag(vtlConstructId, VTL_TAG));
+			});
+
+			Template velocityTemplate = create(Template.class, tmpl -> {
+				tmpl.setSource("<node " + VTL_TAG + ">");
+				tmpl.setName("Velocity Template");
+				tmpl.addFolder(node.getFolder());
+				tmpl.getTags().put(VTL_TAG, createTemplateTag(vtlConstructId, VTL_TAG));
+			});
+
+			page = update(createPage(node.getFolder(), template, "Benchmark Page"), upd -> {
+				getPartType(LongHTMLPartType.class, upd.getContentTag(HTML_TAG), HTML_TAG).setText("Rendered with <b>Gentics CMS</b>");
+				getPartType(LongHTMLPartType.class, upd.getContentTag(VTL_TAG), TEMPLATE_PARTNAME).setText(VTL_SOURCE);
+			});
+
+			velocityPage = update(createPage(node.getFolder(), velocityTemplate, "Velocity Page"), upd -> {
+				getPartType(LongHTMLPartType.class, upd.getContentTag(VTL_TAG), TEMPLATE_PARTNAME).setText(VTL_SOURCE);
+			});
+		});
+	}
+
+	/**
+	 * Create an editable template tag for the construct
+	 * @param constructId construct ID
+	 * @param name tag name
+	 * @return template tag (not saved)
+	 * @throws NodeException
+	 */
+	protected TemplateTag createTemplateTag(int constructId, String name) throws NodeException {
+		return create(TemplateTag.class, tTag -> {
+			tTag.setConstructId(constructId);
+			tTag.setEnabled(true);
+			tTag.setName(name);
+			tTag.setPublic(true);
+		}, false);
+	}
+
+	/**
+	 * Render the page in publish mode (without handling dependencies)
+	 * @return rendered page
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public String renderPagePublish() throws NodeException {
+		try (RenderTypeTrx rTrx = new RenderTypeTrx(RenderType.EM_PUBLISH, page, false, false, true)) {
+			return page.render(new RenderResult());
+		}
+	}
+
+	/**
+	 * Render the page in publish mode and collect the dependencies (without storing them)
+	 * @return rendered page
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public String renderPagePublishDependencies() throws NodeException {
+		try (RenderTypeTrx rTrx = new RenderTypeTrx(RenderType.EM_PUBLISH, page, true, false, true)) {
+			return page.render(new RenderResult());
+		}
+	}
+
+	/**
+	 * Render the page in preview mode
+	 * @return rendered page
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public String renderPagePreview() throws NodeException {
+		try (RenderTypeTrx rTrx = new RenderTypeTrx(RenderType.EM_PREVIEW, page, false, false, false)) {
+			return page.render(new RenderResult());
+		}
+	}
+
+	/**
+	 * Render the template source with the default {@link TemplateRenderer} of the {@link RenderType}
+	 * @return rendered source
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public String renderTemplate() throws NodeException {
+		try (RenderTypeTrx rTrx = new RenderTypeTrx(RenderType.EM_PUBLISH, page, false, false, true)) {
+			RenderType renderType = rTrx.get();
+			TemplateRenderer renderer = RendererFactory.getRenderer(renderType.getDefaultRenderer());
+			renderType.push(page);
+			try {
+				return renderer.render(new RenderResult(), TEMPLATE_SOURCE);
+			} finally {
+				renderType.pop();
+			}
+		}
+	}
+
+	/**
+	 * Render the page, which only contains the velocity tag
+	 * @return rendered page
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public String renderVelocity() throws NodeException {
+		try (RenderTypeTrx rTrx = new RenderTypeTrx(RenderType.EM_PUBLISH, velocityPage, false, false, true)) {
+			return velocityPage.render(new RenderResult());
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.gentics.contentnode.benchmark;
+
+import static com.gentics.contentnode.factory.Trx.operate;
+import static com.gentics.contentnode.factory.Trx.supply;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.NODE_GROUP_ID;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createFolder;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createNode;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createPage;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createSystemUser;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createTemplate;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createUserGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.object.Folder;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.SystemUser;
+import com.gentics.contentnode.object.Template;
+import com.gentics.contentnode.object.UserGroup;
+import com.gentics.contentnode.perm.PermHandler;
+import com.gentics.contentnode.perm.PermHandler.Permission;
+
+/**
+ * Benchmarks for permission checks with the {@link PermHandler} of a user, who has permissions on some of the folders
+ */
+public class PermHandlerBenchmark extends AbstractCMSBenchmark {
+	/**
+	 * Number of folders
+	 */
+	@Param({ "50" })
+	public int numFolders;
+
+	/**
+	 * User doing the permission checks
+	 */
+	protected SystemUser user;
+
+	/**
+	 * Folders (the user has permissions on every second folder)
+	 */
+	protected List<Folder> folders;
+
+	/**
+	 * Pages (one page per folder)
+	 */
+	protected List<Page> pages;
+
+	/**
+	 * Index of the next checked object
+	 */
+	protected int index;
+
+	@Override
+	protected void createData() throws NodeException {
+		UserGroup group = supply(() -> createUserGroup("Benchmark Group", NODE_GROUP_ID));
+		user = supply(() -> createSystemUser("Benchmark", "User", null, "benchmark", "benchmark", Arrays.asList(group)));
+		Node node = supply(() -> createNode());
+		Template template = supply(() -> createTemplate(node.getFolder(), "Benchmark Template"));
+
+		folders = new ArrayList<>(numFolders);
+		pages = new ArrayList<>(numFolders);
+		operate(() -> {
+			for (int i = 0; i < numFolders; i++) {
+				Folder folder = createFolder(node.getFolder(), "Folder " + i);
+				folders.add(folder);
+				pages.add(createPage(folder, template, "Page " + i));
+			}
+		});
+
+		operate(() -> {
+			String perm = new Permission(PermHandler.PERM_VIEW, PermHandler.PERM_PAGE_VIEW, PermHandler.PERM_PAGE_UPDATE).toString();
+			PermHandler.setPermissions(Node.TYPE_NODE, node.getFolder().getId(), Arrays.asList(group), perm);
+			for (int i = 0; i < folders.size(); i += 2) {
+				PermHandler.setPermissions(Folder.TYPE_FOLDER, folders.get(i).getId(), Arrays.asList(group), perm);
+			}
+		});
+	}
+
+	@Override
+	protected Trx startTransaction() throws NodeException {
+		return new Trx(null, user.getId());
+	}
+
+	/**
+	 * Get the index of the next checked object
+	 * @return index
+	 */
+	protected int nextIndex() {
+		int current = index;
+		index = (index + 1) % numFolders;
+		return current;
+	}
+
+	/**
+	 * Check view permission on a folder
+	 * @return check result
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public boolean canViewFolder() throws NodeException {
+		return t().getPermHandler().canView(folders.get(nextIndex()));
+	}
+
+	/**
+	 * Check view permission on a page
+	 * @return check result
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public boolean canViewPage() throws NodeException {
+		return t().getPermHandler().canView(pages.get(nextIndex()));
+	}
+
+	/**
+	 * Check edit permission on a page
+	 * @return check result
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public boolean canEditPage() throws NodeException {
+		return t().getPermHandler().canEdit(pages.get(nextIndex()));
+	}
+
+	/**
+	 * Check a single permission bit on a folder
+	 * @return check result
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public boolean checkPermissionBit() throws NodeException {
+		return t().getPermHandler().checkPermissionBit(Folder.TYPE_FOLDER, folders.get(nextIndex()).getId(), PermHandler.PERM_VIEW);
+	}
+}
@@ -0,0 +1,263 @@
+package com.gentics.contentnode.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.object.Folder;
+import com.gentics.contentnode.perm.PermHandler;
+import com.gentics.contentnode.perm.PermissionPair;
+import com.gentics.contentnode.perm.PermissionStore;
+import com.gentics.contentnode.perm.Permissions;
+import com.gentics.contentnode.perm.RolePermissions;
+
+import gnu.trove.THashMap;
+import gnu.trove.TIntObjectHashMap;
+
+/**
+ * JMH Benchmark for permission checks (like done in {@link PermHandler#checkPermissionBits(Integer, Integer, Integer...)}) on the {@link PermissionStore}
+ * compared to the previous implementation, which stored the permissions in nested synchronized maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class PermissionStoreBenchmark {
+	/**
+	 * Number of groups
+	 */
+	@Param({ "200" })
+	public int numGroups;
+
+	/**
+	 * Number of folders
+	 */
+	@Param({ "20000" })
+	public int numFolders;
+
+	/**
+	 * Number of folders with permissions per group
+	 */
+	@Param({ "2000" })
+	public int foldersPerGroup;
+
+	/**
+	 * Number of groups of the checking user
+	 */
+	@Param({ "5" })
+	public int userGroups;
+
+	/**
+	 * Permission store
+	 */
+	protected PermissionStore store;
+
+	/**
+	 * Previous implementation
+	 */
+	protected NestedMapPermissionStore nestedMapStore;
+
+	/**
+	 * Group IDs of the checking user
+	 */
+	protected List<Integer> groupIds;
+
+	/**
+	 * Folder IDs to check
+	 */
+	protected int[] folderIds;
+
+	/**
+	 * Index of the next folder ID to check
+	 */
+	protected int index;
+
+	/**
+	 * Generate the permissions
+	 * @throws NodeException
+	 */
+	@Setup
+	public void setup() throws NodeException {
+		Random random = new Random(4711);
+		Permissions[] samplePerms = new Permissions[16];
+		for (int i = 0; i < samplePerms.length; i++) {
+			samplePerms[i] = Permissions.fromBits(random.nextInt() | 1);
+		}
+
+		TIntObjectHashMap<PermissionStore.GroupPermissions> perms = new TIntObjectHashMap<>();
+		nestedMapStore = new NestedMapPermissionStore();
+		for (int groupId = 1; groupId <= numGroups; groupId++) {
+			TIntObjectHashMap<Permissions> folderPerms = new TIntObjectHashMap<>();
+			for (int i = 0; i < foldersPerGroup; i++) {
+				int folderId = random.nextInt(numFolders) + 1;
+				Permissions p = samplePerms[random.nextInt(samplePerms.length)];
+				folderPerms.put(folderId, p);
+				nestedMapStore.put(groupId, Folder.TYPE_FOLDER, folderId, p);
+			}
+			TIntObjectHashMap<TIntObjectHashMap<Permissions>> typePerms = new TIntObjectHashMap<>();
+			typePerms.put(Folder.TYPE_FOLDER, folderPerms);
+			perms.put(groupId, new PermissionStore.GroupPermissions(typePerms, new TIntObjectHashMap<>()));
+		}
+		store = new PermissionStore(perms, new TIntObjectHashMap<RolePermissions>()) {
+		};
+
+		groupIds = new ArrayList<>();
+		for (int i = 0; i < userGroups; i++) {
+			groupIds.add(random.nextInt(numGroups) + 1);
+		}
+
+		folderIds = new int[1024];
+		for (int i = 0; i < folderIds.length; i++) {
+			folderIds[i] = random.nextInt(numFolders) + 1;
+		}
+	}
+
+	/**
+	 * Get the next folder ID to check
+	 * @return folder ID
+	 */
+	protected int nextFolderId() {
+		return folderIds[(index++) & (folderIds.length - 1)];
+	}
+
+	/**
+	 * Check the permission bit on a folder with the {@link PermissionStore}
+	 * @return check result
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public boolean checkObjectPermission() throws NodeException {
+		PermissionPair pair = store.getMergedPermissions(groupIds, Folder.TYPE_FOLDER, nextFolderId(), Folder.TYPE_FOLDER, -1);
+		return pair.checkPermissionBits(PermHandler.PERM_VIEW, -1);
+	}
+
+	/**
+	 * Check the permission bit on a folder with the previous implementation
+	 * @return check result
+	 */
+	@Benchmark
+	public boolean checkObjectPermissionNestedMaps() {
+		PermissionPair pair = new PermissionPair(nestedMapStore.getMergedPermissions(groupIds, Folder.TYPE_FOLDER, nextFolderId()));
+		return pair.checkPermissionBits(PermHandler.PERM_VIEW, -1);
+	}
+
+	/**
+	 * Check the permission bit on the type with the {@link PermissionStore}
+	 * @return check result
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public boolean checkTypePermission() throws NodeException {
+		return store.getMergedPermissions(groupIds, Folder.TYPE_FOLDER).check(PermHandler.PERM_VIEW);
+	}
+
+	/**
+	 * Check the permission bit on the type with the previous implementation
+	 * @return check result
+	 */
+	@Benchmark
+	public boolean checkTypePermissionNestedMaps() {
+		return nestedMapStore.getMergedPermissions(groupIds, Folder.TYPE_FOLDER).check(PermHandler.PERM_VIEW);
+	}
+
+	/**
+	 * Previous implementation of the lookups in the {@link PermissionStore}, which used nested synchronized maps with boxed keys
+	 */
+	protected static class NestedMapPermissionStore {
+		/**
+		 * Nested map holding all permission entries (organized by group/type/id)
+		 */
+		@SuppressWarnings("unchecked")
+		protected Map<Integer, Map<Integer, Map<Integer, Permissions>>> perms = Collections.synchronizedMap(new THashMap());
+
+		/**
+		 * Put the permissions
+		 * @param groupId group id
+		 * @param objType object type
+		 * @param objId object id
+		 * @param p permissions
+		 */
+		@SuppressWarnings("unchecked")
+		protected synchronized void put(int groupId, int objType, int objId, Permissions p) {
+			Map<Integer, Map<Integer, Permissions>> groupPerms = perms.get(groupId);
+			if (groupPerms == null) {
+				groupPerms = Collections.synchronizedMap(new THashMap());
+				perms.put(groupId, groupPerms);
+			}
+			Map<Integer, Permissions> typePerms = groupPerms.get(objType);
+			if (typePerms == null) {
+				typePerms = Collections.synchronizedMap(new THashMap());
+				groupPerms.put(objType, typePerms);
+			}
+			typePerms.put(objId, p);
+		}
+
+		/**
+		 * Get the merged permission bits for the given groups on the given object type
+		 * @param groupIds list of group ids
+		 * @param objectType object type
+		 * @return merged permission bits
+		 */
+		protected Permissions getMergedPermissions(List<Integer> groupIds, int objectType) {
+			List<Permissions> collectedPerms = new ArrayList<Permissions>();
+			for (Integer groupId : groupIds) {
+				Map<Integer, Map<Integer, Permissions>> groupPerms = perms.get(groupId);
+				if (groupPerms != null) {
+					Map<Integer, Permissions> typePerms = groupPerms.get(objectType);
+					if (typePerms != null) {
+						synchronized (typePerms) {
+							collectedPerms.addAll(typePerms.values());
+						}
+					}
+				}
+			}
+
+			return Permissions.merge(collectedPerms);
+		}
+
+		/**
+		 * Get the merged permission bits for the given groups on the given object
+		 * @param groupIds list of group ids
+		 * @param objectType object type
+		 * @param objectId object id
+		 * @return merged permission bits
+		 */
+		protected Permissions getMergedPermissions(List<Integer> groupIds, int objectType, int objectId) {
+			List<Permissions> collectedPerms = new ArrayList<Permissions>();
+			for (Integer groupId : groupIds) {
+				Map<Integer, Map<Integer, Permissions>> groupPerms = perms.get(groupId);
+				if (groupPerms != null) {
+					Map<Integer, Permissions> typePerms = groupPerms.get(objectType);
+					if (typePerms != null) {
+						Permissions objectPerms = typePerms.get(objectId);
+						if (objectPerms != null) {
+							collectedPerms.add(objectPerms);
+						}
+					}
+				}
+			}
+
+			return Permissions.merge(collectedPerms);
+		}
+	}
+}
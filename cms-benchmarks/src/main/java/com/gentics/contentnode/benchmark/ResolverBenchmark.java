@@ -0,0 +1,116 @@
+package com.gentics.contentnode.benchmark;
+
+import static com.gentics.contentnode.factory.Trx.operate;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createNode;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createPage;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createTemplate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.api.lib.resolving.PropertyPath;
+import com.gentics.api.lib.resolving.PropertyResolver;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.Template;
+import com.gentics.contentnode.render.RenderType;
+import com.gentics.contentnode.resolving.StackResolver;
+
+/**
+ * Benchmarks for resolving properties of pages with the {@link PropertyResolver} and the {@link StackResolver}
+ */
+public class ResolverBenchmark extends AbstractCMSBenchmark {
+	/**
+	 * Resolved property path (relative to the page)
+	 */
+	@Param({ "name", "folder.name", "template.name", "folder.node.host" })
+	public String property;
+
+	/**
+	 * Compiled property path
+	 */
+	protected PropertyPath compiledProperty;
+
+	/**
+	 * Property path resolved with the stack resolver
+	 */
+	protected String stackProperty;
+
+	/**
+	 * Page
+	 */
+	protected Page page;
+
+	/**
+	 * Stack resolver containing the page
+	 */
+	protected StackResolver stackResolver;
+
+	@Override
+	protected void createData() throws NodeException {
+		operate(() -> {
+			Node node = createNode();
+			Template template = createTemplate(node.getFolder(), "Benchmark Template");
+			page = createPage(node.getFolder(), template, "Benchmark Page");
+		});
+	}
+
+	@Override
+	protected Trx startTransaction() throws NodeException {
+		Trx trx = new Trx();
+		// the stack resolver needs a rendertype
+		RenderType renderType = RenderType.getDefaultRenderType(trx.getTransaction().getNodeConfig().getDefaultPreferences(), RenderType.EM_PUBLISH,
+				trx.getTransaction().getSessionId(), -1);
+		renderType.setHandleDependencies(false);
+		trx.getTransaction().setRenderType(renderType);
+
+		page = trx.getTransaction().getObject(page);
+		stackResolver = new StackResolver();
+		stackResolver.push(page);
+		compiledProperty = PropertyPath.get(property);
+		stackProperty = "page." + property;
+		return trx;
+	}
+
+	/**
+	 * Resolve the property with the {@link PropertyResolver}
+	 * @return resolved value
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Object propertyResolver() throws NodeException {
+		return PropertyResolver.resolve(page, property);
+	}
+
+	/**
+	 * Resolve the precompiled {@link PropertyPath}
+	 * @return resolved value
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Object compiledPropertyPath() throws NodeException {
+		return compiledProperty.resolve(page, false);
+	}
+
+	/**
+	 * Resolve the property into the list of path entries with the {@link PropertyResolver}
+	 * @return list of path entries
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Object propertyResolverPath() throws NodeException {
+		return PropertyResolver.resolvePath(page, property);
+	}
+
+	/**
+	 * Resolve the property with the {@link StackResolver}
+	 * @return resolved value
+	 * @throws NodeException
+	 */
+	@Benchmark
+	public Object stackResolver() throws NodeException {
+		return stackResolver.resolve(stackProperty);
+	}
+}
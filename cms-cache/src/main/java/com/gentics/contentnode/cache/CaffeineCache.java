@@ -0,0 +1,295 @@
+package com.gentics.contentnode.cache;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.ObjectName;
+
+import com.gentics.api.lib.cache.PortalCache;
+import com.gentics.api.lib.cache.PortalCacheAttributes;
+import com.gentics.api.lib.cache.PortalCacheException;
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.contentnode.cache.CaffeineCacheRegion.CacheEntry;
+import com.gentics.contentnode.cache.CaffeineCacheRegion.GroupKey;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Implementation of the cache, which is based on Caffeine (in memory only).
+ * The regions are configured in the same configuration file as the JCS based {@link GCMSCache} (see {@link CaffeineCacheRegion} for details).
+ * The statistics of every region are available as MBean <code>com.gentics.contentnode.mbeans:type=Cache,name=[region]</code>.
+ */
+public class CaffeineCache extends PortalCache {
+	/**
+	 * Name of the cache implementation
+	 */
+	public final static String IMPLEMENTATION_NAME = "caffeine";
+
+	/**
+	 * Logger
+	 */
+	private static NodeLogger logger = NodeLogger.getNodeLogger(CaffeineCache.class);
+
+	/**
+	 * Flag to mark whether the cache has already been initialized
+	 */
+	private static boolean initialized = false;
+
+	/**
+	 * Cache configuration
+	 */
+	private static Properties config = new Properties();
+
+	/**
+	 * Regions
+	 */
+	private static Map<String, CaffeineCacheRegion> regions = new ConcurrentHashMap<>();
+
+	/**
+	 * Region of this instance
+	 */
+	private CaffeineCacheRegion cacheRegion;
+
+	/**
+	 * Initialize the cache and load the configuration from the given file
+	 * @param path path to the configuration file
+	 * @throws PortalCacheException
+	 */
+	public synchronized static void initialize(String path) throws PortalCacheException {
+		if (initialized) {
+			return;
+		} else {
+			initialized = true;
+		}
+		PortalCache.setCacheClass(CaffeineCache.class);
+
+		boolean enablePortalCache = ObjectTransformer.getBoolean(System.getProperty("com.gentics.portalnode.portalcache"), true);
+
+		if (!enablePortalCache) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Disabling portalcache");
+			}
+			PortalCache.disableCache = true;
+		} else {
+			Properties properties = new Properties();
+
+			try (FileInputStream in = new FileInputStream(path)) {
+				properties.load(in);
+				configure(properties);
+			} catch (FileNotFoundException e) {
+				logger.error("could not load cache configuration file from {" + path + "}", e);
+			} catch (IOException e) {
+				logger.error("encountered IOException while trying to read file {" + path + "}", e);
+			}
+		}
+	}
+
+	/**
+	 * Set the configuration. Regions, which already exist, are removed.
+	 * @param properties configuration properties
+	 */
+	public synchronized static void configure(Properties properties) {
+		config = properties;
+		for (String region : regions.keySet()) {
+			CaffeineCacheRegion removed = regions.remove(region);
+			if (removed != null) {
+				removed.clear();
+				unregisterMBean(region);
+			}
+		}
+	}
+
+	/**
+	 * Get the region with the given name (create it, if it does not exist)
+	 * @param region region name
+	 * @return region
+	 */
+	public static CaffeineCacheRegion getRegion(String region) {
+		return regions.computeIfAbsent(region, name -> {
+			CaffeineCacheRegion cacheRegion = new CaffeineCacheRegion(name, config);
+			registerMBean(cacheRegion);
+			if (logger.isInfoEnabled()) {
+				logger.info("Created cache region {" + name + "} with " + (cacheRegion.isWeighted() ? "max weight " : "max objects ")
+						+ cacheRegion.getMaxSize());
+			}
+			return cacheRegion;
+		});
+	}
+
+	/**
+	 * Register the MBean for the region
+	 * @param cacheRegion region
+	 */
+	protected static void registerMBean(CaffeineCacheRegion cacheRegion) {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(cacheRegion, getObjectName(cacheRegion.getRegion()));
+		} catch (Exception e) {
+			logger.error("Error while registering MBean for cache region " + cacheRegion.getRegion(), e);
+		}
+	}
+
+	/**
+	 * Unregister the MBean for the region
+	 * @param region region name
+	 */
+	protected static void unregisterMBean(String region) {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(getObjectName(region));
+		} catch (Exception e) {
+			logger.error("Error while unregistering MBean for cache region " + region, e);
+		}
+	}
+
+	/**
+	 * Get the object name of the MBean for the region
+	 * @param region region name
+	 * @return object name
+	 * @throws Exception
+	 */
+	protected static ObjectName getObjectName(String region) throws Exception {
+		return new ObjectName("com.gentics.contentnode.mbeans:type=Cache,name=" + ObjectName.quote(region));
+	}
+
+	/**
+	 * create an instance for the given region
+	 * @param region cache region
+	 */
+	public CaffeineCache(String region) {
+		super(region);
+		cacheRegion = getRegion(region);
+	}
+
+	@Override
+	public Object get(Object key) throws PortalCacheException {
+		return getObject(cacheRegion.get(key));
+	}
+
+	@Override
+	public Object getFromGroup(String groupName, Object key) throws PortalCacheException {
+		return getObject(cacheRegion.get(new GroupKey(groupName, key)));
+	}
+
+	@Override
+	public void put(Object key, Object object) throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache put for region {" + region + "} key {" + key + "}");
+		}
+		cacheRegion.put(key, object, null);
+	}
+
+	@Override
+	public void putIntoGroup(String groupName, Object key, Object object) throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache put for region {" + region + "} key {" + key + "} group {" + groupName + "}");
+		}
+		cacheRegion.put(new GroupKey(groupName, key), object, null);
+	}
+
+	@Override
+	public void put(Object key, Object object, PortalCacheAttributes attribs) throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache put for region {" + region + "} key {" + key + "}");
+		}
+		cacheRegion.put(key, object, toAttributes(attribs));
+	}
+
+	@Override
+	public void putIntoGroup(String groupName, Object key, Object object, PortalCacheAttributes attribs) throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache put for region {" + region + "} key {" + key + "} group {" + groupName + "}");
+		}
+		cacheRegion.put(new GroupKey(groupName, key), object, toAttributes(attribs));
+	}
+
+	@Override
+	public PortalCacheAttributes getDefaultCacheAttributes() throws PortalCacheException {
+		return cacheRegion.createDefaultAttributes();
+	}
+
+	@Override
+	public PortalCacheAttributes getCacheAttributes(Object key) throws PortalCacheException {
+		return getAttributes(cacheRegion.peek(key));
+	}
+
+	@Override
+	public PortalCacheAttributes getCacheAttributes(String groupName, Object key) throws PortalCacheException {
+		return getAttributes(cacheRegion.peek(new GroupKey(groupName, key)));
+	}
+
+	@Override
+	public void remove(Object key) throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache remove for region {" + region + "} key {" + key + "}");
+		}
+		cacheRegion.remove(key);
+	}
+
+	@Override
+	public void removeFromGroup(String groupName, Object key) throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache remove for region {" + region + "} key {" + key + "} group {" + groupName + "}");
+		}
+		cacheRegion.remove(new GroupKey(groupName, key));
+	}
+
+	@Override
+	public void clear() throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache clear for region {" + region + "}");
+		}
+		cacheRegion.clear();
+	}
+
+	@Override
+	public void clearGroup(String groupName) throws PortalCacheException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("cache clear for region {" + region + "} group {" + groupName + "}");
+		}
+		cacheRegion.removeGroup(groupName);
+	}
+
+	/**
+	 * Get the region instance
+	 * @return region
+	 */
+	public CaffeineCacheRegion getCacheRegion() {
+		return cacheRegion;
+	}
+
+	/**
+	 * Get the object from the entry
+	 * @param entry entry (may be null)
+	 * @return object or null
+	 */
+	protected Object getObject(CacheEntry entry) {
+		return entry != null ? entry.getObject() : null;
+	}
+
+	/**
+	 * Get the attributes from the entry
+	 * @param entry entry (may be null)
+	 * @return attributes or null
+	 */
+	protected PortalCacheAttributes getAttributes(CacheEntry entry) {
+		return entry != null ? entry.getAttributes() : null;
+	}
+
+	/**
+	 * Transform the given attributes into {@link CaffeineCacheAttributes}
+	 * @param attribs attributes (may be null)
+	 * @return attributes or null
+	 */
+	protected CaffeineCacheAttributes toAttributes(PortalCacheAttributes attribs) {
+		if (attribs == null) {
+			return null;
+		} else if (attribs instanceof CaffeineCacheAttributes) {
+			return (CaffeineCacheAttributes) attribs;
+		} else {
+			return new CaffeineCacheAttributes(attribs);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.gentics.contentnode.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import com.gentics.api.lib.cache.PortalCacheAttributes;
+
+/**
+ * Implementation of {@link PortalCacheAttributes} for entries in the {@link CaffeineCache}
+ */
+public class CaffeineCacheAttributes implements PortalCacheAttributes {
+	/**
+	 * Eternal flag
+	 */
+	protected volatile boolean eternal;
+
+	/**
+	 * Creation timestamp (in ms)
+	 */
+	protected final long createDate;
+
+	/**
+	 * Last access timestamp (in ms)
+	 */
+	protected volatile long lastAccessDate;
+
+	/**
+	 * Maximum lifetime in seconds
+	 */
+	protected volatile int maxAge;
+
+	/**
+	 * Maximum idle time in seconds
+	 */
+	protected volatile int maxIdleTime;
+
+	/**
+	 * Size
+	 */
+	protected volatile int size;
+
+	/**
+	 * Create an instance
+	 */
+	public CaffeineCacheAttributes() {
+		createDate = System.currentTimeMillis();
+		lastAccessDate = createDate;
+	}
+
+	/**
+	 * Create a copy of the given attributes
+	 * @param attribs attributes
+	 */
+	public CaffeineCacheAttributes(PortalCacheAttributes attribs) {
+		this();
+		eternal = attribs.getIsEternal();
+		maxAge = attribs.getMaxAge();
+		maxIdleTime = attribs.getMaxIdleTime();
+		size = attribs.getSize();
+	}
+
+	@Override
+	public boolean getIsEternal() {
+		return eternal;
+	}
+
+	@Override
+	public void setIsEternal(boolean isEternal) {
+		this.eternal = isEternal;
+	}
+
+	@Override
+	public long getCreateDate() {
+		return createDate;
+	}
+
+	@Override
+	public long getLastAccessDate() {
+		return lastAccessDate;
+	}
+
+	@Override
+	public void setLastAccessDateToNow() {
+		lastAccessDate = System.currentTimeMillis();
+	}
+
+	@Override
+	public int getMaxAge() {
+		return maxAge;
+	}
+
+	@Override
+	public void setMaxAge(int maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	@Override
+	public int getMaxIdleTime() {
+		return maxIdleTime;
+	}
+
+	@Override
+	public void setMaxIdleTime(int maxIdleTime) {
+		this.maxIdleTime = maxIdleTime;
+	}
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Get the remaining time (in ns) until the entry expires
+	 * @param now current timestamp in ms
+	 * @return remaining time in ns (Long.MAX_VALUE for entries, that do not expire)
+	 */
+	public long getRemainingNanos(long now) {
+		return getRemainingNanos(now, false);
+	}
+
+	/**
+	 * Get the remaining time (in ns) until the entry expires
+	 * @param now current timestamp in ms
+	 * @param accessed true, if the entry is accessed now
+	 * @return remaining time in ns (Long.MAX_VALUE for entries, that do not expire)
+	 */
+	public long getRemainingNanos(long now, boolean accessed) {
+		if (eternal) {
+			return Long.MAX_VALUE;
+		}
+		long remaining = Long.MAX_VALUE;
+		if (maxAge > 0) {
+			remaining = Math.min(remaining, createDate + TimeUnit.SECONDS.toMillis(maxAge) - now);
+		}
+		if (maxIdleTime > 0) {
+			long lastAccess = accessed ? now : lastAccessDate;
+			remaining = Math.min(remaining, lastAccess + TimeUnit.SECONDS.toMillis(maxIdleTime) - now);
+		}
+		if (remaining == Long.MAX_VALUE) {
+			return Long.MAX_VALUE;
+		}
+		return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+	}
+}
@@ -0,0 +1,485 @@
+package com.gentics.contentnode.cache;
+
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.gentics.api.lib.etc.ObjectTransformer;
+
+/**
+ * Region of the {@link CaffeineCache}. All {@link CaffeineCache} instances for the same region share the region instance.
+ * Entries in groups are stored with a {@link GroupKey}.
+ * The region settings are read from the cache configuration (see {@link CaffeineCache#initialize(String)}), in the following order:
+ * <ol>
+ * <li><code>caffeine.region.[region].[setting]</code></li>
+ * <li>The corresponding JCS setting of the region (<code>jcs.region.[region]. ...</code>)</li>
+ * <li><code>caffeine.default.[setting]</code></li>
+ * <li>The corresponding JCS setting of the default region (<code>jcs.default. ...</code>)</li>
+ * </ol>
+ * Supported settings are
+ * <ul>
+ * <li><code>MaxObjects</code> (JCS: <code>cacheattributes.MaxObjects</code>): maximum number of entries</li>
+ * <li><code>MaxWeight</code>: maximum total weight of the entries. The weight of an entry is the size from its {@link CaffeineCacheAttributes}. If set, <code>MaxObjects</code> is ignored</li>
+ * <li><code>MaxLifeSeconds</code> (JCS: <code>elementattributes.MaxLifeSeconds</code>): default maximum lifetime of entries</li>
+ * <li><code>MaxIdleSeconds</code> (JCS: <code>cacheattributes.MaxMemoryIdleTimeSeconds</code>): default maximum idle time of entries</li>
+ * <li><code>IsEternal</code> (JCS: <code>elementattributes.IsEternal</code>): whether entries never expire by default</li>
+ * </ul>
+ */
+public class CaffeineCacheRegion implements CaffeineCacheRegionMBean {
+	/**
+	 * Prefix of the caffeine specific settings
+	 */
+	public final static String CAFFEINE_PREFIX = "caffeine.";
+
+	/**
+	 * Prefix of the JCS settings
+	 */
+	public final static String JCS_PREFIX = "jcs.";
+
+	/**
+	 * Default maximum number of entries, if nothing is configured
+	 */
+	public final static int DEFAULT_MAX_OBJECTS = 1000;
+
+	/**
+	 * Region name
+	 */
+	protected final String region;
+
+	/**
+	 * Maximum number of entries or maximum weight
+	 */
+	protected final long maxSize;
+
+	/**
+	 * Flag for weighted regions
+	 */
+	protected final boolean weighted;
+
+	/**
+	 * Default maximum lifetime in seconds
+	 */
+	protected final int maxLifeSeconds;
+
+	/**
+	 * Default maximum idle time in seconds
+	 */
+	protected final int maxIdleSeconds;
+
+	/**
+	 * Default eternal flag
+	 */
+	protected final boolean eternal;
+
+	/**
+	 * Statistics counter
+	 */
+	protected final ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter();
+
+	/**
+	 * Snapshot of the statistics at the last reset
+	 */
+	protected volatile CacheStats statsBaseline = CacheStats.empty();
+
+	/**
+	 * Key and start time (in ns) of the last miss of the current thread. When the key is put into the cache, the time is recorded as load time.
+	 */
+	protected final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+	/**
+	 * Wrapped cache
+	 */
+	protected final Cache<Object, CacheEntry> cache;
+
+	/**
+	 * Create the region
+	 * @param region region name
+	 * @param config cache configuration
+	 */
+	public CaffeineCacheRegion(String region, Properties config) {
+		this.region = region;
+		long maxWeight = ObjectTransformer.getLong(getSetting(config, "MaxWeight", null), 0);
+		weighted = maxWeight > 0;
+		if (weighted) {
+			maxSize = maxWeight;
+		} else {
+			maxSize = getMaxObjects(config);
+		}
+		maxLifeSeconds = ObjectTransformer.getInt(getSetting(config, "MaxLifeSeconds", "elementattributes.MaxLifeSeconds"), 0);
+		maxIdleSeconds = ObjectTransformer.getInt(getSetting(config, "MaxIdleSeconds", "cacheattributes.MaxMemoryIdleTimeSeconds"), 0);
+		eternal = ObjectTransformer.getBoolean(getSetting(config, "IsEternal", "elementattributes.IsEternal"), false);
+
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats(() -> statsCounter);
+		if (weighted) {
+			builder.maximumWeight(maxSize).weigher((Object key, CacheEntry entry) -> Math.max(1, entry.attributes.getSize()));
+		} else {
+			builder.maximumSize(maxSize);
+		}
+		cache = builder.expireAfter(new EntryExpiry()).build();
+	}
+
+	/**
+	 * Get the configured maximum number of entries. Since regions, which are configured with a JCS disk cache often have MaxObjects set to 0,
+	 * a value of 0 taken from the JCS settings of the region is ignored.
+	 * @param config cache configuration
+	 * @return maximum number of entries
+	 */
+	protected long getMaxObjects(Properties config) {
+		String value = config.getProperty(CAFFEINE_PREFIX + "region." + region + ".MaxObjects");
+		if (value == null) {
+			value = config.getProperty(JCS_PREFIX + "region." + region + ".cacheattributes.MaxObjects");
+			if (ObjectTransformer.getLong(value, 0) <= 0) {
+				value = null;
+			}
+		}
+		if (value == null) {
+			value = config.getProperty(CAFFEINE_PREFIX + "default.MaxObjects");
+		}
+		if (value == null) {
+			value = config.getProperty(JCS_PREFIX + "default.cacheattributes.MaxObjects");
+		}
+		return Math.max(0, ObjectTransformer.getLong(value, DEFAULT_MAX_OBJECTS));
+	}
+
+	/**
+	 * Get the setting for the region
+	 * @param config cache configuration
+	 * @param name name of the caffeine setting
+	 * @param jcsName name of the corresponding JCS setting (may be null)
+	 * @return setting or null if not configured
+	 */
+	protected String getSetting(Properties config, String name, String jcsName) {
+		String value = config.getProperty(CAFFEINE_PREFIX + "region." + region + "." + name);
+		if (value == null && jcsName != null) {
+			value = config.getProperty(JCS_PREFIX + "region." + region + "." + jcsName);
+		}
+		if (value == null) {
+			value = config.getProperty(CAFFEINE_PREFIX + "default." + name);
+		}
+		if (value == null && jcsName != null) {
+			value = config.getProperty(JCS_PREFIX + "default." + jcsName);
+		}
+		return value;
+	}
+
+	/**
+	 * Create new attributes with the region defaults
+	 * @return attributes
+	 */
+	public CaffeineCacheAttributes createDefaultAttributes() {
+		CaffeineCacheAttributes attributes = new CaffeineCacheAttributes();
+		attributes.setIsEternal(eternal);
+		attributes.setMaxAge(maxLifeSeconds);
+		attributes.setMaxIdleTime(maxIdleSeconds);
+		return attributes;
+	}
+
+	/**
+	 * Get the entry with the given key
+	 * @param key key
+	 * @return entry or null
+	 */
+	public CacheEntry get(Object key) {
+		CacheEntry entry = cache.getIfPresent(key);
+		if (entry == null) {
+			pendingLoad.set(new PendingLoad(key, System.nanoTime()));
+		} else {
+			entry.attributes.setLastAccessDateToNow();
+		}
+		return entry;
+	}
+
+	/**
+	 * Get the entry with the given key without recording statistics
+	 * @param key key
+	 * @return entry or null
+	 */
+	public CacheEntry peek(Object key) {
+		return cache.asMap().get(key);
+	}
+
+	/**
+	 * Put an object into the region
+	 * @param key key
+	 * @param object object (null to remove the entry)
+	 * @param attributes attributes (null for default attributes)
+	 */
+	public void put(Object key, Object object, CaffeineCacheAttributes attributes) {
+		PendingLoad load = pendingLoad.get();
+		if (load != null) {
+			pendingLoad.remove();
+			if (Objects.equals(load.key, key)) {
+				statsCounter.recordLoadSuccess(System.nanoTime() - load.start);
+			}
+		}
+
+		if (object == null) {
+			cache.invalidate(key);
+			return;
+		}
+		if (attributes == null) {
+			attributes = createDefaultAttributes();
+		}
+		cache.put(key, new CacheEntry(object, attributes));
+	}
+
+	/**
+	 * Remove the entry with the given key
+	 * @param key key
+	 */
+	public void remove(Object key) {
+		cache.invalidate(key);
+	}
+
+	/**
+	 * Remove all entries of the given group
+	 * @param group group name
+	 */
+	public void removeGroup(String group) {
+		removeIf(key -> key instanceof GroupKey && ((GroupKey) key).group.equals(group));
+	}
+
+	/**
+	 * Remove all entries with keys matching the given predicate
+	 * @param predicate predicate
+	 */
+	protected void removeIf(Predicate<Object> predicate) {
+		cache.asMap().keySet().removeIf(predicate);
+	}
+
+	@Override
+	public String getRegion() {
+		return region;
+	}
+
+	@Override
+	public long getSize() {
+		return cache.estimatedSize();
+	}
+
+	@Override
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public boolean isWeighted() {
+		return weighted;
+	}
+
+	@Override
+	public long getWeightedSize() {
+		return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(-1L)).orElse(-1L);
+	}
+
+	@Override
+	public int getMaxLifeSeconds() {
+		return maxLifeSeconds;
+	}
+
+	@Override
+	public int getMaxIdleSeconds() {
+		return maxIdleSeconds;
+	}
+
+	@Override
+	public long getHitCount() {
+		return getStats().hitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return getStats().missCount();
+	}
+
+	@Override
+	public double getHitRatio() {
+		return getStats().hitRate();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return getStats().evictionCount();
+	}
+
+	@Override
+	public long getEvictionWeight() {
+		return getStats().evictionWeight();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return getStats().loadCount();
+	}
+
+	@Override
+	public double getAverageLoadTime() {
+		return getStats().averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return TimeUnit.NANOSECONDS.toMillis(getStats().totalLoadTime());
+	}
+
+	@Override
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	@Override
+	public void resetStatistics() {
+		statsBaseline = statsCounter.snapshot();
+	}
+
+	/**
+	 * Get the statistics since the last reset
+	 * @return statistics
+	 */
+	public CacheStats getStats() {
+		return statsCounter.snapshot().minus(statsBaseline);
+	}
+
+	/**
+	 * Cache entry
+	 */
+	public static class CacheEntry {
+		/**
+		 * Cached object
+		 */
+		protected final Object object;
+
+		/**
+		 * Element attributes
+		 */
+		protected final CaffeineCacheAttributes attributes;
+
+		/**
+		 * Create an instance
+		 * @param object cached object
+		 * @param attributes element attributes
+		 */
+		protected CacheEntry(Object object, CaffeineCacheAttributes attributes) {
+			this.object = object;
+			this.attributes = attributes;
+		}
+
+		/**
+		 * Get the cached object
+		 * @return object
+		 */
+		public Object getObject() {
+			return object;
+		}
+
+		/**
+		 * Get the element attributes
+		 * @return attributes
+		 */
+		public CaffeineCacheAttributes getAttributes() {
+			return attributes;
+		}
+	}
+
+	/**
+	 * Key of an entry in a group
+	 */
+	public static class GroupKey {
+		/**
+		 * Group name
+		 */
+		protected final String group;
+
+		/**
+		 * Key within the group
+		 */
+		protected final Object key;
+
+		/**
+		 * Create an instance
+		 * @param group group name
+		 * @param key key within the group
+		 */
+		public GroupKey(String group, Object key) {
+			this.group = group;
+			this.key = key;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * group.hashCode() + Objects.hashCode(key);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof GroupKey) {
+				GroupKey other = (GroupKey) obj;
+				return group.equals(other.group) && Objects.equals(key, other.key);
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return group + ":" + key;
+		}
+	}
+
+	/**
+	 * Key and start time of a pending load
+	 */
+	protected static class PendingLoad {
+		/**
+		 * Key
+		 */
+		protected final Object key;
+
+		/**
+		 * Start time in ns
+		 */
+		protected final long start;
+
+		/**
+		 * Create an instance
+		 * @param key key
+		 * @param start start time in ns
+		 */
+		protected PendingLoad(Object key, long start) {
+			this.key = key;
+			this.start = start;
+		}
+	}
+
+	/**
+	 * Expiry, which calculates the expiration from the maximum lifetime and the maximum idle time stored in the element attributes
+	 */
+	protected static class EntryExpiry implements Expiry<Object, CacheEntry> {
+		@Override
+		public long expireAfterCreate(Object key, CacheEntry value, long currentTime) {
+			return value.attributes.getRemainingNanos(System.currentTimeMillis());
+		}
+
+		@Override
+		public long expireAfterUpdate(Object key, CacheEntry value, long currentTime, long currentDuration) {
+			return value.attributes.getRemainingNanos(System.currentTimeMillis());
+		}
+
+		@Override
+		public long expireAfterRead(Object key, CacheEntry value, long currentTime, long currentDuration) {
+			if (value.attributes.getIsEternal() || value.attributes.getMaxIdleTime() <= 0) {
+				return currentDuration;
+			}
+			// the idle time starts again
+			return value.attributes.getRemainingNanos(System.currentTimeMillis(), true);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.gentics.contentnode.cache;
+
+/**
+ * MBean interface for the statistics of a region of the {@link CaffeineCache}
+ */
+public interface CaffeineCacheRegionMBean {
+	/**
+	 * Get the region name
+	 * @return region name
+	 */
+	String getRegion();
+
+	/**
+	 * Get the (estimated) number of entries
+	 * @return number of entries
+	 */
+	long getSize();
+
+	/**
+	 * Get the maximum number of entries (or the maximum weight, if the region is weighted)
+	 * @return maximum size
+	 */
+	long getMaxSize();
+
+	/**
+	 * Check whether the maximum size is the weight of the entries
+	 * @return true for weighted regions
+	 */
+	boolean isWeighted();
+
+	/**
+	 * Get the total weight of all entries (for weighted regions)
+	 * @return weighted size or -1 for regions, which are not weighted
+	 */
+	long getWeightedSize();
+
+	/**
+	 * Get the maximum lifetime of entries in seconds
+	 * @return maximum lifetime (0 for no maximum lifetime)
+	 */
+	int getMaxLifeSeconds();
+
+	/**
+	 * Get the maximum idle time of entries in seconds
+	 * @return maximum idle time (0 for no maximum idle time)
+	 */
+	int getMaxIdleSeconds();
+
+	/**
+	 * Get the number of cache hits
+	 * @return number of hits
+	 */
+	long getHitCount();
+
+	/**
+	 * Get the number of cache misses
+	 * @return number of misses
+	 */
+	long getMissCount();
+
+	/**
+	 * Get the ratio of hits to requests
+	 * @return hit ratio (between 0 and 1)
+	 */
+	double getHitRatio();
+
+	/**
+	 * Get the number of evicted entries
+	 * @return number of evicted entries
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Get the total weight of evicted entries
+	 * @return weight of evicted entries
+	 */
+	long getEvictionWeight();
+
+	/**
+	 * Get the number of loaded entries (entries, which were put into the cache after a miss)
+	 * @return number of loaded entries
+	 */
+	long getLoadCount();
+
+	/**
+	 * Get the average time (in ms) between a miss and putting the loaded entry into the cache
+	 * @return average load time in ms
+	 */
+	double getAverageLoadTime();
+
+	/**
+	 * Get the total time (in ms) between misses and putting the loaded entries into the cache
+	 * @return total load time in ms
+	 */
+	long getTotalLoadTime();
+
+	/**
+	 * Remove all entries
+	 */
+	void clear();
+
+	/**
+	 * Reset the statistics
+	 */
+	void resetStatistics();
+}
@@ -0,0 +1,163 @@
+package com.gentics.contentnode.tests.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.gentics.api.lib.cache.PortalCacheAttributes;
+import com.gentics.contentnode.cache.CaffeineCache;
+import com.gentics.contentnode.cache.CaffeineCacheRegion;
+
+/**
+ * Test cases for the {@link CaffeineCache}
+ */
+public class CaffeineCacheTest {
+	/**
+	 * Region configured with JCS settings
+	 */
+	public final static String JCS_REGION = "jcs-region";
+
+	/**
+	 * Region configured with caffeine settings
+	 */
+	public final static String CAFFEINE_REGION = "caffeine-region";
+
+	/**
+	 * Region configured with a maximum weight
+	 */
+	public final static String WEIGHTED_REGION = "weighted-region";
+
+	/**
+	 * Configure the cache
+	 */
+	@BeforeClass
+	public static void setupOnce() {
+		Properties config = new Properties();
+		config.setProperty("jcs.default.cacheattributes.MaxObjects", "1000");
+		config.setProperty("jcs.default.elementattributes.MaxLifeSeconds", "1800");
+		config.setProperty("jcs.region." + JCS_REGION + ".cacheattributes.MaxObjects", "500");
+		config.setProperty("jcs.region." + JCS_REGION + ".elementattributes.MaxLifeSeconds", "86400");
+		config.setProperty("jcs.region." + CAFFEINE_REGION + ".cacheattributes.MaxObjects", "0");
+		config.setProperty("caffeine.region." + CAFFEINE_REGION + ".MaxIdleSeconds", "60");
+		config.setProperty("caffeine.region." + WEIGHTED_REGION + ".MaxWeight", "10000");
+		CaffeineCache.configure(config);
+	}
+
+	/**
+	 * Test the region settings
+	 */
+	@Test
+	public void testRegionSettings() {
+		CaffeineCacheRegion jcsRegion = CaffeineCache.getRegion(JCS_REGION);
+		assertThat(jcsRegion.getMaxSize()).as("Max size").isEqualTo(500);
+		assertThat(jcsRegion.getMaxLifeSeconds()).as("Max life seconds").isEqualTo(86400);
+		assertThat(jcsRegion.getMaxIdleSeconds()).as("Max idle seconds").isEqualTo(0);
+
+		CaffeineCacheRegion caffeineRegion = CaffeineCache.getRegion(CAFFEINE_REGION);
+		assertThat(caffeineRegion.getMaxSize()).as("Max size").isEqualTo(1000);
+		assertThat(caffeineRegion.getMaxLifeSeconds()).as("Max life seconds").isEqualTo(1800);
+		assertThat(caffeineRegion.getMaxIdleSeconds()).as("Max idle seconds").isEqualTo(60);
+
+		CaffeineCacheRegion weightedRegion = CaffeineCache.getRegion(WEIGHTED_REGION);
+		assertThat(weightedRegion.isWeighted()).as("Weighted").isTrue();
+		assertThat(weightedRegion.getMaxSize()).as("Max size").isEqualTo(10000);
+	}
+
+	/**
+	 * Test putting, getting and removing objects in groups
+	 * @throws Exception
+	 */
+	@Test
+	public void testGroups() throws Exception {
+		CaffeineCache cache = new CaffeineCache(JCS_REGION);
+		cache.put("key", "no group");
+		cache.putIntoGroup("first", "key", "first group");
+		cache.putIntoGroup("second", "key", "second group");
+		cache.putIntoGroup("second", "other", "second group other");
+
+		assertThat(cache.get("key")).as("Object without group").isEqualTo("no group");
+		assertThat(cache.getFromGroup("first", "key")).as("Object in first group").isEqualTo("first group");
+		assertThat(cache.getFromGroup("second", "key")).as("Object in second group").isEqualTo("second group");
+
+		cache.removeFromGroup("first", "key");
+		assertThat(cache.getFromGroup("first", "key")).as("Removed object in first group").isNull();
+		assertThat(cache.get("key")).as("Object without group").isEqualTo("no group");
+
+		cache.clearGroup("second");
+		assertThat(cache.getFromGroup("second", "key")).as("Object in cleared group").isNull();
+		assertThat(cache.getFromGroup("second", "other")).as("Object in cleared group").isNull();
+		assertThat(cache.get("key")).as("Object without group").isEqualTo("no group");
+
+		cache.clear();
+		assertThat(cache.get("key")).as("Object in cleared cache").isNull();
+	}
+
+	/**
+	 * Test that instances for the same region share the entries
+	 * @throws Exception
+	 */
+	@Test
+	public void testSharedRegion() throws Exception {
+		new CaffeineCache(JCS_REGION).put("shared", "object");
+		assertThat(new CaffeineCache(JCS_REGION).get("shared")).as("Shared object").isEqualTo("object");
+	}
+
+	/**
+	 * Test element attributes
+	 * @throws Exception
+	 */
+	@Test
+	public void testAttributes() throws Exception {
+		CaffeineCache cache = new CaffeineCache(CAFFEINE_REGION);
+		cache.put("default", "object");
+		PortalCacheAttributes attributes = cache.getCacheAttributes("default");
+		assertThat(attributes).as("Default attributes").isNotNull();
+		assertThat(attributes.getMaxAge()).as("Max age").isEqualTo(1800);
+		assertThat(attributes.getMaxIdleTime()).as("Max idle time").isEqualTo(60);
+
+		PortalCacheAttributes custom = cache.getDefaultCacheAttributes();
+		custom.setMaxAge(10);
+		cache.putIntoGroup("group", "custom", "object", custom);
+		assertThat(cache.getCacheAttributes("group", "custom").getMaxAge()).as("Max age").isEqualTo(10);
+		assertThat(cache.getCacheAttributes("custom")).as("Attributes of object not in group").isNull();
+	}
+
+	/**
+	 * Test expiration of entries
+	 * @throws Exception
+	 */
+	@Test
+	public void testExpiration() throws Exception {
+		CaffeineCache cache = new CaffeineCache(CAFFEINE_REGION);
+		PortalCacheAttributes attributes = cache.getDefaultCacheAttributes();
+		attributes.setMaxAge(1);
+		cache.put("expiring", "object", attributes);
+		assertThat(cache.get("expiring")).as("Object before expiration").isEqualTo("object");
+
+		Thread.sleep(1100);
+		assertThat(cache.get("expiring")).as("Object after expiration").isNull();
+	}
+
+	/**
+	 * Test the statistics
+	 * @throws Exception
+	 */
+	@Test
+	public void testStatistics() throws Exception {
+		CaffeineCache cache = new CaffeineCache(WEIGHTED_REGION);
+		CaffeineCacheRegion region = cache.getCacheRegion();
+		region.resetStatistics();
+
+		assertThat(cache.getFromGroup("group", "key")).as("Object before loading").isNull();
+		cache.putIntoGroup("group", "key", "object");
+		assertThat(cache.getFromGroup("group", "key")).as("Object after loading").isEqualTo("object");
+
+		assertThat(region.getHitCount()).as("Hits").isEqualTo(1);
+		assertThat(region.getMissCount()).as("Misses").isEqualTo(1);
+		assertThat(region.getHitRatio()).as("Hit ratio").isEqualTo(0.5);
+		assertThat(region.getLoadCount()).as("Loads").isEqualTo(1);
+	}
+}
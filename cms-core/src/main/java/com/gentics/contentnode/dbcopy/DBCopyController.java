@@ -15,6 +15,7 @@ import java.util.Map;
 
 import com.gentics.api.lib.etc.ObjectTransformer;
 import com.gentics.contentnode.dbcopy.jaxb.JAXBTableType;
+import com.gentics.contentnode.factory.object.ContentAddressedStore;
 import com.gentics.contentnode.nodecopy.AbstractCopyController;
 import com.gentics.contentnode.nodecopy.ObjectHelper;
 import com.gentics.contentnode.object.Page;
@@ -147,7 +148,12 @@ public class DBCopyController extends AbstractCopyController {
 							FileUtils fileUtils = new FileUtilsImpl();
 
 							try {
-								fileUtils.createCopy(dbFile, new File(filepath, object.getId() + ".bin"));
+								if (ContentAddressedStore.isEnabled()) {
+									// let the copy share the binary content
+									ContentAddressedStore.link(dbFile, new File(filepath, object.getId() + ".bin"));
+								} else {
+									fileUtils.createCopy(dbFile, new File(filepath, object.getId() + ".bin"));
+								}
 							} catch (IOException e) {
 								throw new StructureCopyException("Error while copying contentfile {" + object.getOriginalId() + "}", e);
 							}
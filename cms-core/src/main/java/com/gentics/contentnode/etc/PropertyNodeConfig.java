@@ -37,8 +37,10 @@ import com.gentics.contentnode.changelog.ChangeLogEntry;
 import com.gentics.contentnode.changelog.ChangeLogHandler;
 import com.gentics.contentnode.db.DBUtils;
 import com.gentics.contentnode.devtools.Synchronizer;
+import com.gentics.contentnode.events.DependencyIndex;
 import com.gentics.contentnode.factory.ContentNodeFactory;
 import com.gentics.contentnode.factory.Session;
+import com.gentics.contentnode.factory.SessionCache;
 import com.gentics.contentnode.factory.Transaction;
 import com.gentics.contentnode.factory.TransactionManager;
 import com.gentics.contentnode.factory.Trx;
@@ -48,6 +50,7 @@ import com.gentics.contentnode.i18n.ContentNodeLanguageProviderWrapper;
 import com.gentics.contentnode.object.ContentRepository;
 import com.gentics.contentnode.object.scheduler.SchedulerSchedule;
 import com.gentics.contentnode.perm.PermissionStore;
+import com.gentics.contentnode.publish.InstantPublishingCoalescer;
 import com.gentics.contentnode.publish.PublishQueueStats;
 import com.gentics.contentnode.publish.mesh.MeshPublisher;
 import com.gentics.contentnode.render.RenderResult;
@@ -56,6 +59,7 @@ import com.gentics.contentnode.rest.util.Operator;
 import com.gentics.contentnode.runtime.ConfigurationValue;
 import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
 import com.gentics.contentnode.scheduler.SimpleScheduler;
+import com.gentics.contentnode.search.FullTextIndex;
 import com.gentics.contentnode.servlets.UdateChecker;
 import com.gentics.lib.datasource.SQLHandle;
 import com.gentics.lib.db.DB;
@@ -184,6 +188,9 @@ public class PropertyNodeConfig implements NodeConfig {
 		// Restart the cleaning of old session.s
 		Session.scheduleSessionCleaning();
 
+		// initialize the session cache (if enabled)
+		SessionCache.initialize();
+
 		PublishQueueStats.get().init(ObjectTransformer.getLong(defPrefs.getProperty("publish_queue_stats.refresh_delay"), 60_000));
 
 		registerLanguageProvider();
@@ -204,6 +211,12 @@ public class PropertyNodeConfig implements NodeConfig {
 		// initialize the PermissionStore
 		Trx.operate(() -> PermissionStore.initialize());
 
+		// initialize the dependency index (if enabled)
+		Trx.operate(() -> DependencyIndex.initialize());
+
+		// initialize the full-text index (if enabled)
+		FullTextIndex.initialize();
+
 		// initialize lifecycleServices
 		lifecycleServiceLoader.forEach(LifecycleService::start);
 	}
@@ -370,6 +383,9 @@ public class PropertyNodeConfig implements NodeConfig {
 		FileRemover.shutdown();
 		Operator.shutdown();
 		PublishQueueStats.get().shutdown();
+		InstantPublishingCoalescer.shutdown();
+		FullTextIndex.shutdown();
+		SessionCache.shutdown();
 		SimpleScheduler.shutdown();
 		datasources.clear();
 		for (GenericObjectPool<Object> pool : connectionPools.values()) {
@@ -0,0 +1,781 @@
+package com.gentics.contentnode.events;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.db.DBUtils;
+import com.gentics.contentnode.factory.AbstractTransactional;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.lib.db.SQLExecutor;
+import com.gentics.lib.log.NodeLogger;
+
+import gnu.trove.TIntHashSet;
+import gnu.trove.TIntObjectHashMap;
+import gnu.trove.TLongObjectHashMap;
+
+/**
+ * In-memory reverse index of the table dependencymap2.
+ * When the index is enabled, the {@link DependencyManager} finds the dependencies on modified objects and elements without querying the
+ * database (the eventmask predicates of these queries cannot be served by any database index).
+ * The index is loaded at startup and kept in sync by the {@link DependencyManager}, which applies all modifications of dependencymap2 to the
+ * index after the modifying transaction has been committed.
+ */
+public class DependencyIndex implements DependencyIndexMBean {
+	/**
+	 * Name of the configuration parameter to enable the dependency index
+	 */
+	public final static String ENABLED_PARAM = "dependency_index.enabled";
+
+	/**
+	 * Estimated size of an indexed dependency in bytes
+	 */
+	protected final static int ROW_SIZE = 72;
+
+	/**
+	 * Estimated size of an index key in bytes
+	 */
+	protected final static int KEY_SIZE = 96;
+
+	/**
+	 * Estimated size of a dependency id stored for a key in bytes
+	 */
+	protected final static int ID_SIZE = 10;
+
+	/**
+	 * Logger
+	 */
+	protected static NodeLogger logger = NodeLogger.getNodeLogger(DependencyIndex.class);
+
+	/**
+	 * Singleton (null if the index is not enabled)
+	 */
+	protected static volatile DependencyIndex instance;
+
+	/**
+	 * Lock for the index structures
+	 */
+	protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * Indexed dependencies per id
+	 */
+	protected TIntObjectHashMap<Row> rows = new TIntObjectHashMap<>();
+
+	/**
+	 * Dependency ids per modified object
+	 */
+	protected TLongObjectHashMap<TIntHashSet> byModObj = new TLongObjectHashMap<>();
+
+	/**
+	 * Dependency ids per modified element
+	 */
+	protected TLongObjectHashMap<TIntHashSet> byModEle = new TLongObjectHashMap<>();
+
+	/**
+	 * Dependency ids per dependent object
+	 */
+	protected TLongObjectHashMap<TIntHashSet> byDepObj = new TLongObjectHashMap<>();
+
+	/**
+	 * Number of answered queries
+	 */
+	protected LongAdder queries = new LongAdder();
+
+	/**
+	 * Duration of the last load in ms
+	 */
+	protected volatile long loadTime;
+
+	/**
+	 * Modifications, which were applied while the index is (re)loaded (null if the index is not loaded). Guarded by the write lock.
+	 */
+	protected List<Consumer<DependencyIndex>> replay;
+
+	/**
+	 * Initialize the dependency index according to the configuration. If the index is enabled and not yet loaded, it is loaded now.
+	 * If the index is disabled, it is dropped.
+	 * @throws NodeException
+	 */
+	public static synchronized void initialize() throws NodeException {
+		boolean enabled = false;
+		try {
+			enabled = ObjectTransformer.getBoolean(NodeConfigRuntimeConfiguration.getPreferences().getProperty(ENABLED_PARAM), false);
+		} catch (Exception e) {
+			logger.warn("Could not read configuration for the dependency index, index will be disabled", e);
+		}
+
+		if (enabled && instance == null) {
+			DependencyIndex index = new DependencyIndex();
+			index.load();
+			instance = index;
+			MBeanRegistry.registerMBean(index, "DirtQueue", "DependencyIndex");
+		} else if (!enabled && instance != null) {
+			instance = null;
+			MBeanRegistry.unregisterMBean("DirtQueue", "DependencyIndex");
+			logger.info("Dropped dependency index");
+		}
+	}
+
+	/**
+	 * Get the dependency index
+	 * @return dependency index or null, if not enabled
+	 */
+	public static DependencyIndex get() {
+		return instance;
+	}
+
+	/**
+	 * Apply the given modification to the dependency index (if enabled), after the current transaction has been committed.
+	 * @param modification modification
+	 * @throws NodeException
+	 */
+	public static void afterCommit(Consumer<DependencyIndex> modification) throws NodeException {
+		DependencyIndex index = instance;
+		if (index != null) {
+			TransactionManager.getCurrentTransaction().addTransactional(new Modification(index, modification));
+		}
+	}
+
+	/**
+	 * Load all dependencies of the given dependent object from the database
+	 * @param depObjType type of the dependent object (0 for null)
+	 * @param depObjId id of the dependent object (0 for null)
+	 * @return list of dependencies
+	 * @throws NodeException
+	 */
+	public static List<Row> loadDependent(int depObjType, int depObjId) throws NodeException {
+		StringBuilder sql = new StringBuilder("SELECT * FROM dependencymap2 WHERE dep_obj_type ");
+		sql.append(depObjType == 0 ? "IS NULL" : "= ?");
+		sql.append(" AND dep_obj_id ");
+		sql.append(depObjId == 0 ? "IS NULL" : "= ?");
+
+		List<Row> loaded = new ArrayList<>();
+		DBUtils.executeStatement(sql.toString(), new SQLExecutor() {
+			@Override
+			public void prepareStatement(PreparedStatement stmt) throws SQLException {
+				int paramCounter = 1;
+				if (depObjType != 0) {
+					stmt.setInt(paramCounter++, depObjType);
+				}
+				if (depObjId != 0) {
+					stmt.setInt(paramCounter++, depObjId);
+				}
+			}
+
+			@Override
+			public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+				while (rs.next()) {
+					loaded.add(new Row(rs));
+				}
+			}
+		});
+		return loaded;
+	}
+
+	/**
+	 * Load all dependencies from the database
+	 * @return map of dependencies per id
+	 * @throws NodeException
+	 */
+	protected TIntObjectHashMap<Row> loadAll() throws NodeException {
+		TIntObjectHashMap<Row> loaded = new TIntObjectHashMap<>();
+		DBUtils.executeStatement("SELECT * FROM dependencymap2", new SQLExecutor() {
+			@Override
+			public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+				while (rs.next()) {
+					Row row = new Row(rs);
+					loaded.put(row.id, row);
+				}
+			}
+		});
+		return loaded;
+	}
+
+	/**
+	 * Get the index key for the given type and id
+	 * @param type type
+	 * @param id id
+	 * @return key
+	 */
+	protected static long key(int type, int id) {
+		return ((long) type << 32) | (id & 0xffffffffL);
+	}
+
+	/**
+	 * Create an empty instance
+	 */
+	protected DependencyIndex() {
+	}
+
+	/**
+	 * (Re)load the index from the database.
+	 * The dependencies are loaded without holding the lock, so the index can still be used while loading. All modifications, which are applied
+	 * in the meantime, are recorded and replayed on the loaded dependencies, because the loaded data might not contain them.
+	 * @throws NodeException
+	 */
+	protected synchronized void load() throws NodeException {
+		long start = System.currentTimeMillis();
+		lock.writeLock().lock();
+		try {
+			replay = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		TIntObjectHashMap<Row> loaded = null;
+		int replayed = 0;
+		try {
+			loaded = loadAll();
+		} finally {
+			lock.writeLock().lock();
+			try {
+				List<Consumer<DependencyIndex>> modifications = replay;
+				replay = null;
+
+				if (loaded != null) {
+					rows = new TIntObjectHashMap<>(loaded.size());
+					byModObj = new TLongObjectHashMap<>();
+					byModEle = new TLongObjectHashMap<>();
+					byDepObj = new TLongObjectHashMap<>();
+					loaded.forEachValue(row -> {
+						add(row);
+						return true;
+					});
+					for (Consumer<DependencyIndex> modification : modifications) {
+						modification.accept(this);
+					}
+					replayed = modifications.size();
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		loadTime = System.currentTimeMillis() - start;
+		if (logger.isInfoEnabled()) {
+			logger.info("Loaded " + loaded.size() + " dependencies into the dependency index in " + loadTime + " ms (replayed " + replayed
+					+ " modifications)");
+		}
+	}
+
+	/**
+	 * Apply the modification to the index. If the index is currently (re)loaded, the modification is also recorded for being replayed after loading.
+	 * @param modification modification
+	 */
+	protected void apply(Consumer<DependencyIndex> modification) {
+		lock.writeLock().lock();
+		try {
+			modification.accept(this);
+			if (replay != null) {
+				replay.add(modification);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Get the dependencies on the given modified object
+	 * @param modObjType type of the modified object
+	 * @param modObjId id of the modified object
+	 * @param withElements true to also get the dependencies on elements of the object, false to only get the dependencies on the object itself
+	 * @param properties modified properties (null for all, empty to only get dependencies without property)
+	 * @param eventMask event mask
+	 * @return list of matching dependencies
+	 */
+	public List<Row> getByModifiedObject(int modObjType, int modObjId, boolean withElements, String[] properties, int eventMask) {
+		return find(byModObj, key(modObjType, modObjId),
+				row -> (withElements || !row.hasModifiedElement()) && row.matches(properties, eventMask));
+	}
+
+	/**
+	 * Get the dependencies on the given modified element (of any object)
+	 * @param modEleType type of the modified element
+	 * @param modEleId id of the modified element
+	 * @param properties modified properties (null for all, empty to only get dependencies without property)
+	 * @param eventMask event mask
+	 * @return list of matching dependencies
+	 */
+	public List<Row> getByModifiedElement(int modEleType, int modEleId, String[] properties, int eventMask) {
+		return find(byModEle, key(modEleType, modEleId), row -> row.matches(properties, eventMask));
+	}
+
+	/**
+	 * Get the dependencies on the given modified element of the given object
+	 * @param modObjType type of the modified object
+	 * @param modObjId id of the modified object
+	 * @param modEleType type of the modified element
+	 * @param modEleId id of the modified element
+	 * @param properties modified properties (null for all, empty to only get dependencies without property)
+	 * @param eventMask event mask
+	 * @return list of matching dependencies
+	 */
+	public List<Row> getByModifiedObjectAndElement(int modObjType, int modObjId, int modEleType, int modEleId, String[] properties, int eventMask) {
+		return find(byModEle, key(modEleType, modEleId),
+				row -> row.modObjType == modObjType && row.modObjId == modObjId && row.matches(properties, eventMask));
+	}
+
+	/**
+	 * Replace the indexed dependencies of the given dependent object
+	 * @param depObjType type of the dependent object (0 for null)
+	 * @param depObjId id of the dependent object (0 for null)
+	 * @param dependencies current dependencies of the dependent object
+	 */
+	public void replaceDependent(int depObjType, int depObjId, Collection<Row> dependencies) {
+		lock.writeLock().lock();
+		try {
+			removeAll(byDepObj.get(key(depObjType, depObjId)));
+			for (Row row : dependencies) {
+				add(row);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all dependencies of the given dependent object
+	 * @param depObjType type of the dependent object (0 for null)
+	 * @param depObjId id of the dependent object (0 for null)
+	 */
+	public void removeDependent(int depObjType, int depObjId) {
+		lock.writeLock().lock();
+		try {
+			removeAll(byDepObj.get(key(depObjType, depObjId)));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all dependencies on or of the given objects
+	 * @param objType object type
+	 * @param objIds object ids
+	 */
+	public void removeObjects(int objType, Collection<Integer> objIds) {
+		lock.writeLock().lock();
+		try {
+			for (int objId : objIds) {
+				removeAll(byModObj.get(key(objType, objId)));
+				removeAll(byDepObj.get(key(objType, objId)));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Compare the index with the table dependencymap2
+	 * @return result of the check
+	 * @throws NodeException
+	 */
+	public Consistency check() throws NodeException {
+		TIntObjectHashMap<Row> dbRows = loadAll();
+		Consistency result = new Consistency();
+		result.total = dbRows.size();
+
+		lock.readLock().lock();
+		try {
+			dbRows.forEachValue(dbRow -> {
+				Row indexed = rows.get(dbRow.id);
+				if (indexed == null) {
+					result.missing++;
+				} else if (!indexed.equals(dbRow)) {
+					result.different++;
+				}
+				return true;
+			});
+			rows.forEachKey(id -> {
+				if (!dbRows.containsKey(id)) {
+					result.obsolete++;
+				}
+				return true;
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+		return result;
+	}
+
+	@Override
+	public int getDependencies() {
+		lock.readLock().lock();
+		try {
+			return rows.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int getKeys() {
+		lock.readLock().lock();
+		try {
+			return byModObj.size() + byModEle.size() + byDepObj.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public long getEstimatedMemory() {
+		long[] memory = new long[1];
+		lock.readLock().lock();
+		try {
+			memory[0] = (long) rows.size() * ROW_SIZE;
+			for (TLongObjectHashMap<TIntHashSet> map : List.of(byModObj, byModEle, byDepObj)) {
+				memory[0] += (long) map.size() * KEY_SIZE;
+				map.forEachValue(ids -> {
+					memory[0] += (long) ids.size() * ID_SIZE;
+					return true;
+				});
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return memory[0];
+	}
+
+	@Override
+	public long getQueries() {
+		return queries.sum();
+	}
+
+	@Override
+	public long getLoadTime() {
+		return loadTime;
+	}
+
+	@Override
+	public String checkConsistency() {
+		try {
+			return Trx.supply(() -> check().toString());
+		} catch (NodeException e) {
+			logger.error("Error while checking consistency of the dependency index", e);
+			return "Error while checking consistency: " + e.getLocalizedMessage();
+		}
+	}
+
+	@Override
+	public String rebuild() {
+		try {
+			Trx.operate(() -> load());
+			return "Loaded " + getDependencies() + " dependencies in " + loadTime + " ms";
+		} catch (NodeException e) {
+			logger.error("Error while rebuilding the dependency index", e);
+			return "Error while rebuilding: " + e.getLocalizedMessage();
+		}
+	}
+
+	/**
+	 * Find the dependencies stored for the key in the given map, which match the filter
+	 * @param map index map
+	 * @param key key
+	 * @param filter filter
+	 * @return list of matching dependencies
+	 */
+	protected List<Row> find(TLongObjectHashMap<TIntHashSet> map, long key, Predicate<Row> filter) {
+		queries.increment();
+		List<Row> result = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			TIntHashSet ids = map.get(key);
+			if (ids != null) {
+				ids.forEach(id -> {
+					Row row = rows.get(id);
+					if (row != null && filter.test(row)) {
+						result.add(row);
+					}
+					return true;
+				});
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return result;
+	}
+
+	/**
+	 * Add the dependency to the index (replacing the dependency with the same id). Must be called while holding the write lock.
+	 * @param row dependency
+	 */
+	protected void add(Row row) {
+		remove(row.id);
+		rows.put(row.id, row);
+		addId(byModObj, key(row.modObjType, row.modObjId), row.id);
+		if (row.hasModifiedElement()) {
+			addId(byModEle, key(row.modEleType, row.modEleId), row.id);
+		}
+		addId(byDepObj, key(row.depObjType, row.depObjId), row.id);
+	}
+
+	/**
+	 * Remove the dependencies with given ids from the index. Must be called while holding the write lock.
+	 * @param ids set of ids (may be null)
+	 */
+	protected void removeAll(TIntHashSet ids) {
+		if (ids == null) {
+			return;
+		}
+		// copy the ids, because the set will be modified
+		for (int id : ids.toArray()) {
+			remove(id);
+		}
+	}
+
+	/**
+	 * Remove the dependency with given id from the index. Must be called while holding the write lock.
+	 * @param id dependency id
+	 */
+	protected void remove(int id) {
+		Row row = rows.remove(id);
+		if (row == null) {
+			return;
+		}
+		removeId(byModObj, key(row.modObjType, row.modObjId), id);
+		if (row.hasModifiedElement()) {
+			removeId(byModEle, key(row.modEleType, row.modEleId), id);
+		}
+		removeId(byDepObj, key(row.depObjType, row.depObjId), id);
+	}
+
+	/**
+	 * Add the id to the set stored for the key
+	 * @param map index map
+	 * @param key key
+	 * @param id dependency id
+	 */
+	protected void addId(TLongObjectHashMap<TIntHashSet> map, long key, int id) {
+		TIntHashSet ids = map.get(key);
+		if (ids == null) {
+			ids = new TIntHashSet(4);
+			map.put(key, ids);
+		}
+		ids.add(id);
+	}
+
+	/**
+	 * Remove the id from the set stored for the key, remove the key if the set is empty
+	 * @param map index map
+	 * @param key key
+	 * @param id dependency id
+	 */
+	protected void removeId(TLongObjectHashMap<TIntHashSet> map, long key, int id) {
+		TIntHashSet ids = map.get(key);
+		if (ids != null) {
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Immutable representation of a row in dependencymap2. Null values of the integer columns are represented as 0.
+	 */
+	public static class Row {
+		protected final int id;
+
+		protected final int modObjType;
+
+		protected final int modObjId;
+
+		protected final int modEleType;
+
+		protected final int modEleId;
+
+		protected final String modProp;
+
+		protected final int depObjType;
+
+		protected final int depObjId;
+
+		protected final String depChannelId;
+
+		protected final int eventMask;
+
+		protected final String depProp;
+
+		/**
+		 * Create an instance from the current row of the resultset
+		 * @param rs resultset
+		 * @throws SQLException
+		 */
+		protected Row(ResultSet rs) throws SQLException {
+			id = rs.getInt("id");
+			modObjType = rs.getInt("mod_obj_type");
+			modObjId = rs.getInt("mod_obj_id");
+			modEleType = rs.getInt("mod_ele_type");
+			modEleId = rs.getInt("mod_ele_id");
+			modProp = intern(rs.getString("mod_prop"));
+			depObjType = rs.getInt("dep_obj_type");
+			depObjId = rs.getInt("dep_obj_id");
+			depChannelId = intern(rs.getString("dep_channel_id"));
+			eventMask = rs.getInt("eventmask");
+			depProp = intern(rs.getString("dep_prop"));
+		}
+
+		/**
+		 * Intern the string (the same properties and channel lists occur many times)
+		 * @param value value (may be null)
+		 * @return interned value
+		 */
+		protected static String intern(String value) {
+			return value != null ? value.intern() : null;
+		}
+
+		/**
+		 * Get the dependency id
+		 * @return id
+		 */
+		public int getId() {
+			return id;
+		}
+
+		/**
+		 * Check whether the dependency is on a modified element
+		 * @return true for dependencies on elements
+		 */
+		public boolean hasModifiedElement() {
+			return modEleType != 0 || modEleId != 0;
+		}
+
+		/**
+		 * Check whether the dependency matches the properties and the event mask
+		 * @param properties modified properties (null for all, empty to only match dependencies without property)
+		 * @param mask event mask
+		 * @return true if the dependency matches
+		 */
+		public boolean matches(String[] properties, int mask) {
+			if ((eventMask & mask) <= 0) {
+				return false;
+			}
+			if (properties == null) {
+				return true;
+			}
+			if (properties.length == 0) {
+				return modProp == null;
+			}
+			for (String property : properties) {
+				if (property.equals(modProp)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Row)) {
+				return false;
+			}
+			Row other = (Row) obj;
+			return id == other.id && modObjType == other.modObjType && modObjId == other.modObjId && modEleType == other.modEleType
+					&& modEleId == other.modEleId && Objects.equals(modProp, other.modProp) && depObjType == other.depObjType
+					&& depObjId == other.depObjId && Objects.equals(depChannelId, other.depChannelId) && eventMask == other.eventMask
+					&& Objects.equals(depProp, other.depProp);
+		}
+	}
+
+	/**
+	 * Result of the consistency check
+	 */
+	public static class Consistency {
+		/**
+		 * Number of dependencies in dependencymap2
+		 */
+		protected int total;
+
+		/**
+		 * Number of dependencies, which are missing in the index
+		 */
+		protected int missing;
+
+		/**
+		 * Number of dependencies, which are in the index, but not in dependencymap2
+		 */
+		protected int obsolete;
+
+		/**
+		 * Number of dependencies, which are different in the index
+		 */
+		protected int different;
+
+		/**
+		 * Check whether the index is consistent
+		 * @return true for consistent index
+		 */
+		public boolean isConsistent() {
+			return missing == 0 && obsolete == 0 && different == 0;
+		}
+
+		@Override
+		public String toString() {
+			if (isConsistent()) {
+				return "Dependency index is consistent with " + total + " dependencies";
+			} else {
+				return "Dependency index is inconsistent: " + missing + " missing, " + obsolete + " obsolete, " + different + " different (of " + total
+						+ " dependencies)";
+			}
+		}
+	}
+
+	/**
+	 * Transactional, which modifies the index after the transaction has been committed
+	 */
+	protected static class Modification extends AbstractTransactional {
+		/**
+		 * Dependency index
+		 */
+		protected DependencyIndex index;
+
+		/**
+		 * Modification
+		 */
+		protected Consumer<DependencyIndex> modification;
+
+		/**
+		 * Create an instance
+		 * @param index dependency index
+		 * @param modification modification
+		 */
+		protected Modification(DependencyIndex index, Consumer<DependencyIndex> modification) {
+			this.index = index;
+			this.modification = modification;
+		}
+
+		@Override
+		public void onDBCommit(Transaction t) throws NodeException {
+		}
+
+		@Override
+		public boolean onTransactionCommit(Transaction t) {
+			index.apply(modification);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.gentics.contentnode.events;
+
+/**
+ * Interface for the dependency index MBean
+ */
+public interface DependencyIndexMBean {
+	/**
+	 * Get the number of indexed dependencies (rows of dependencymap2)
+	 * @return number of dependencies
+	 */
+	int getDependencies();
+
+	/**
+	 * Get the number of index keys (modified objects, modified elements and dependent objects)
+	 * @return number of keys
+	 */
+	int getKeys();
+
+	/**
+	 * Get the estimated heap memory used by the index in bytes
+	 * @return estimated memory in bytes
+	 */
+	long getEstimatedMemory();
+
+	/**
+	 * Get the number of queries, which were answered by the index
+	 * @return number of queries
+	 */
+	long getQueries();
+
+	/**
+	 * Get the duration of the last (re)load of the index in ms
+	 * @return load duration in ms
+	 */
+	long getLoadTime();
+
+	/**
+	 * Compare the index with the table dependencymap2 and return the result
+	 * @return result of the consistency check
+	 */
+	String checkConsistency();
+
+	/**
+	 * Reload the index from the table dependencymap2
+	 * @return result message
+	 */
+	String rebuild();
+}
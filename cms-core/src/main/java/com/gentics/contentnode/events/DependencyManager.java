@@ -29,6 +29,8 @@ import java.util.TreeSet;
 import java.util.Vector;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.tuple.Pair;
+
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gentics.api.lib.etc.ObjectTransformer;
@@ -359,6 +361,10 @@ public final class DependencyManager {
 					RuntimeProfiler.beginMark(JavaParserConstants.DEPENDENCY_MANAGER_DELETE_EXECUTE, sql.toString());
 					st.executeUpdate();
 					RuntimeProfiler.endMark(JavaParserConstants.DEPENDENCY_MANAGER_DELETE_EXECUTE, sql.toString());
+
+					int depObjType = ObjectTransformer.getInt(objType, 0);
+					int depObjId = ObjectTransformer.getInt(objId, 0);
+					DependencyIndex.afterCommit(index -> index.removeDependent(depObjType, depObjId));
 				} catch (SQLException e) {
 					throw new NodeException("Error while clearing dependencies", e);
 				} finally {
@@ -461,6 +467,19 @@ public final class DependencyManager {
 						st.executeUpdate();
 					}
 
+					// reload the dependencies of the modified dependent objects into the dependency index
+					if (DependencyIndex.get() != null && storedDeps + updatedDeps + deletedDeps > 0) {
+						Set<Pair<Integer, Integer>> dependents = new HashSet<>();
+						for (Dependency dep : dependencies) {
+							dependents.add(Pair.of(ObjectTransformer.getInt(getTTypeOrNull(dep.getDependent().getObjectClass()), 0),
+									ObjectTransformer.getInt(dep.getDependent().getObjectId(), 0)));
+						}
+						for (Pair<Integer, Integer> dependent : dependents) {
+							List<DependencyIndex.Row> rows = DependencyIndex.loadDependent(dependent.getLeft(), dependent.getRight());
+							DependencyIndex.afterCommit(index -> index.replaceDependent(dependent.getLeft(), dependent.getRight(), rows));
+						}
+					}
+
 					// finally log the stats
 					if (logger.isInfoEnabled()) {
 						logger.info("Stored " + storedDeps + " new dependencies");
@@ -614,6 +633,27 @@ public final class DependencyManager {
 			return Collections.emptyList();
 		} else {
 			final List<Dependency> dependencies = new Vector<Dependency>();
+			DependencyIndex dependencyIndex = DependencyIndex.get();
+			if (dependencyIndex != null) {
+				long start = System.currentTimeMillis();
+				int objType = ObjectTransformer.getInt(getTTypeOrNull(object.getObjectInfo().getObjectClass()), 0);
+				int objId = ObjectTransformer.getInt(object.getId(), 0);
+
+				// when the object was deleted, we are not interested in mod_prop or ele!
+				if (Events.isEvent(eventMask, Events.DELETE)) {
+					dependencies.addAll(getDependencies(dependencyIndex.getByModifiedObject(objType, objId, true, null, eventMask)));
+				} else {
+					dependencies.addAll(getDependencies(dependencyIndex.getByModifiedObject(objType, objId, false, properties, eventMask)));
+				}
+				dependencies.addAll(getDependencies(dependencyIndex.getByModifiedElement(objType, objId, properties, eventMask)));
+
+				if (stats != null) {
+					stats.addGetTime(start);
+				}
+				filterForChannel(dependencies, node);
+				return dependencies;
+			}
+
 			TransactionManager.execute(new Executable() {
 				/* (non-Javadoc)
 				 * @see com.gentics.lib.base.factory.TransactionManager.Executable#execute()
@@ -743,6 +783,20 @@ public final class DependencyManager {
 		}
 
 		final List<Dependency> deps = new ArrayList<Dependency>();
+		DependencyIndex dependencyIndex = DependencyIndex.get();
+		if (dependencyIndex != null) {
+			long start = System.currentTimeMillis();
+			deps.addAll(getDependencies(dependencyIndex.getByModifiedObjectAndElement(
+					ObjectTransformer.getInt(getTTypeOrNull(sourceObject.getObjectInfo().getObjectClass()), 0), ObjectTransformer.getInt(sourceObject.getId(), 0),
+					ObjectTransformer.getInt(getTTypeOrNull(sourceElement.getObjectInfo().getObjectClass()), 0), ObjectTransformer.getInt(sourceElement.getId(), 0),
+					properties, eventMask)));
+			if (stats != null) {
+				stats.addGetTime(start);
+			}
+			filterForChannel(deps, node);
+			return deps;
+		}
+
 		TransactionManager.execute(new Executable() {
 			/* (non-Javadoc)
 			 * @see com.gentics.lib.base.factory.TransactionManager.Executable#execute()
@@ -1165,17 +1219,7 @@ public final class DependencyManager {
 						null, null);
 
 				// create the dependency object
-				Dependency newDep = new DependencyImpl(modObject, res.getString("mod_prop"), depObject, res.getInt("eventmask"), res.getInt("id"), res.getString("dep_prop"), res.getString("dep_channel_id"));
-				// check whether the dependency was already found
-				int index = Collections.binarySearch(dependencies, newDep);
-				if (index >= 0) {
-					// already found, so just merge the channel ids
-					Dependency foundDep = dependencies.get(index);
-					foundDep.merge(newDep);
-				} else {
-					// not yet found, so add the dependency
-					dependencies.add(-index-1, newDep);
-				}
+				addDependency(dependencies, new DependencyImpl(modObject, res.getString("mod_prop"), depObject, res.getInt("eventmask"), res.getInt("id"), res.getString("dep_prop"), res.getString("dep_channel_id")));
 			}
 		} catch (SQLException e) {
 			throw new NodeException("Error while getting dependencies", e);
@@ -1184,6 +1228,45 @@ public final class DependencyManager {
 		return dependencies;
 	}
 
+	/**
+	 * Get the list of dependencies with data given as rows of the {@link DependencyIndex}
+	 * @param rows rows of the dependency index
+	 * @return list of dependencies
+	 * @throws NodeException
+	 */
+	protected static List<Dependency> getDependencies(Collection<DependencyIndex.Row> rows) throws NodeException {
+		List<Dependency> dependencies = new ArrayList<Dependency>();
+
+		for (DependencyIndex.Row row : rows) {
+			DependencyObject modObject = new DependencyObject(getObjectClassOrNull(row.modObjType), getObjectIdOrNull(row.modObjId),
+					getObjectClassOrNull(row.modEleType), getObjectIdOrNull(row.modEleId));
+			DependencyObject depObject = new DependencyObject(getObjectClassOrNull(row.depObjType), getObjectIdOrNull(row.depObjId), null, null);
+
+			addDependency(dependencies, new DependencyImpl(modObject, row.modProp, depObject, row.eventMask, row.id, row.depProp, row.depChannelId));
+		}
+
+		return dependencies;
+	}
+
+	/**
+	 * Add the dependency to the sorted list of dependencies, or merge it into an equal dependency, which was already found
+	 * @param dependencies sorted list of dependencies
+	 * @param newDep new dependency
+	 * @throws NodeException
+	 */
+	protected static void addDependency(List<Dependency> dependencies, Dependency newDep) throws NodeException {
+		// check whether the dependency was already found
+		int index = Collections.binarySearch(dependencies, newDep);
+		if (index >= 0) {
+			// already found, so just merge the channel ids
+			Dependency foundDep = dependencies.get(index);
+			foundDep.merge(newDep);
+		} else {
+			// not yet found, so add the dependency
+			dependencies.add(-index-1, newDep);
+		}
+	}
+
 	/**
 	 * Get the object id as Object or null, if the object id is 0
 	 * @param objectId object id
@@ -2043,6 +2126,10 @@ public final class DependencyManager {
 						}
 
 						st.executeUpdate();
+
+						int cleanedObjType = objType;
+						List<Integer> cleanedIds = new ArrayList<>(ids);
+						DependencyIndex.afterCommit(index -> index.removeObjects(cleanedObjType, cleanedIds));
 					} catch (Exception e) {
 						throw new NodeException("error while executing cleanup", e);
 					} finally {
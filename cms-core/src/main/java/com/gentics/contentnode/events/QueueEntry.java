@@ -9,6 +9,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Vector;
@@ -46,6 +47,7 @@ import com.gentics.contentnode.publish.PublishQueue;
 import com.gentics.contentnode.publish.PublishQueueMigration;
 import com.gentics.contentnode.publish.mesh.MeshPublisher;
 import com.gentics.contentnode.rest.model.DirtQueueEntry;
+import com.gentics.contentnode.search.FullTextIndex;
 import com.gentics.lib.datasource.mccr.WritableMCCRDatasource;
 import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
@@ -143,6 +145,37 @@ public class QueueEntry {
 		}
 	}
 
+	/**
+	 * Get the oldest queue entries (which are not failed)
+	 * @param maxEntries maximum number of entries to get
+	 * @return list of queue entries ordered by id (oldest first), may be empty
+	 * @throws NodeException
+	 */
+	public static List<QueueEntry> getOldestQueueEntries(int maxEntries) throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransaction();
+		PreparedStatement pst = null;
+		ResultSet res = null;
+		List<QueueEntry> entries = new ArrayList<>();
+
+		try {
+			pst = t.prepareStatement("SELECT * FROM dirtqueue WHERE failed = ? ORDER BY id ASC");
+			pst.setInt(1, 0);
+			pst.setMaxRows(maxEntries);
+
+			res = pst.executeQuery();
+
+			while (res.next() && entries.size() < maxEntries) {
+				entries.add(new QueueEntry(res));
+			}
+			return entries;
+		} catch (SQLException e) {
+			throw new NodeException("Error while getting oldest queue entries", e);
+		} finally {
+			t.closeResultSet(res);
+			t.closeStatement(pst);
+		}
+	}
+
 	/**
 	 * Get number queue entries older than the given entry
 	 * @param entry queue entry
@@ -317,6 +350,25 @@ public class QueueEntry {
 		return Events.isEvent(eventMask, Events.LOGGING_START) || Events.isEvent(eventMask, Events.LOGGING_END);
 	}
 
+	/**
+	 * Check whether the queue entry may be handled in parallel to queue entries for other objects.
+	 * This is true for dirt events on objects. Maintenance actions, contentrepository actions, logging events and simulated events
+	 * must be handled alone and in the order of the queue.
+	 * @return true if the queue entry may be handled in parallel
+	 */
+	public boolean isParallelizable() {
+		return objType > 0 && objId > 0 && !isPublish() && !isBlocker() && !isMaintenanceAction() && !isContentRepositoryAction()
+				&& !isLoggingEvent() && !isSimulated();
+	}
+
+	/**
+	 * Get the key of the object, the queue entry refers to. Queue entries with the same key must be handled in the order of the queue.
+	 * @return object key
+	 */
+	public String getObjectKey() {
+		return objType + "." + objId;
+	}
+
 	/**
 	 * Handle a maintenance action
 	 * @throws NodeException
@@ -992,6 +1044,11 @@ public class QueueEntry {
 								obj.triggerEvent(depObj, property, eventMask, 0, 0);
 							}
 						}
+
+						// update the full-text index (if enabled), after the transaction has been committed
+						if (!isSimulated()) {
+							FullTextIndex.handleEvent(objType, objId, eventMask);
+						}
 					}
 
 					PublishQueue.finishFastDependencyDirting();
@@ -1108,6 +1165,9 @@ public class QueueEntry {
 	 * <li>Deadlock occurs because publish thread and dirtqueue worker thread both access the dependencymap2
 	 * </ol>
 	 * 
+	 * <p>
+	 * After the entry has been stored, the dirt queue worker is woken up, so that it does not need to wait for the next poll.
+	 * 
 	 * @param factory
 	 * 		  A ContentNodeFactory that will be used to allocate a new transaction.
 	 * @return fluent API
@@ -1121,6 +1181,9 @@ public class QueueEntry {
 			synchronized (QueueEntry.class) {
 				insertIntoDb(factory);
 			}
+			if (!isPublish() && !isBlocker()) {
+				factory.wakeUpDirtQueueWorker();
+			}
 		}
 		return this;
 	}
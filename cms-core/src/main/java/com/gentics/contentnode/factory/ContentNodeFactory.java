@@ -360,6 +360,13 @@ public class ContentNodeFactory {
 		factory.stopDirtQueueWorker();
 	}
 
+	/**
+	 * Wake up the dirt queue worker, if it is waiting for new entries
+	 */
+	public void wakeUpDirtQueueWorker() {
+		factory.wakeUpDirtQueueWorker();
+	}
+
 	/**
 	 * Check whether the dirtqueue worker thread is up and running
 	 * @return true, iff thread is alive
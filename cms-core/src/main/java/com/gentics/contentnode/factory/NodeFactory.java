@@ -18,6 +18,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -31,10 +36,12 @@ import com.gentics.contentnode.cache.CacheService;
 import com.gentics.contentnode.distributed.DistributionUtil;
 import com.gentics.contentnode.etc.NodeConfig;
 import com.gentics.contentnode.etc.NodePreferences;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
 import com.gentics.contentnode.etc.ServiceLoaderUtil;
 import com.gentics.contentnode.events.QueueEntry;
 import com.gentics.contentnode.factory.TransactionStatistics.Item;
 import com.gentics.contentnode.factory.object.AbstractFactory.FactoryDataField;
+import com.gentics.contentnode.jmx.MBeanRegistry;
 import com.gentics.contentnode.object.Construct;
 import com.gentics.contentnode.object.ContentFile;
 import com.gentics.contentnode.object.File;
@@ -114,6 +121,22 @@ public class NodeFactory {
 	 */
 	private final static int DIRTQUEUE_THREAD_DEFAULTWAIT = 10;
 
+	/**
+	 * Name of the configuration parameter for the number of threads handling dirtqueue entries.
+	 * If set to more than 1, dirtqueue entries for different objects are handled in parallel
+	 */
+	public final static String DIRTQUEUE_THREADS_CONFIG_KEY = "dirtqueue_worker.threads";
+
+	/**
+	 * Name of the configuration parameter for the maximum number of dirtqueue entries, which are fetched together, when handling entries in parallel
+	 */
+	public final static String DIRTQUEUE_BATCHSIZE_CONFIG_KEY = "dirtqueue_worker.batchsize";
+
+	/**
+	 * Default batch size
+	 */
+	private final static int DIRTQUEUE_DEFAULT_BATCHSIZE = 100;
+
 	/**
 	 * Background Thread that handles dirtqueue entries
 	 */
@@ -593,7 +616,7 @@ public class NodeFactory {
 		PortalCache cache = getCache(clazz);
 		if (cache != null && clazz != null && id != null) {
 			try {
-				Object cacheKey = createCacheKey(clazz, id, -1);
+				ObjectCacheKey cacheKey = createCacheKey(clazz, id, -1);
 				String cacheGroupName = normalizeClass(clazz).getName();
 
 				cache.removeFromGroup(cacheGroupName, cacheKey);
@@ -627,7 +650,7 @@ public class NodeFactory {
 			try {
 				String cacheGroupName = normalizeClass(clazz).getName();
 				for (Integer id : ids) {
-					Object cacheKey = createCacheKey(clazz, id, -1);
+					ObjectCacheKey cacheKey = createCacheKey(clazz, id, -1);
 					cache.removeFromGroup(cacheGroupName, cacheKey);
 				}
 			} catch (PortalCacheException e) {
@@ -785,12 +808,11 @@ public class NodeFactory {
 	 * @param versionTimestamp version timestamp. -1 for current version
 	 * @return the cache key
 	 */
-	private static String createCacheKey(Class<? extends NodeObject> clazz, Integer id, int versionTimestamp) {
+	private static ObjectCacheKey createCacheKey(Class<? extends NodeObject> clazz, Integer id, int versionTimestamp) {
 		// generate the cache key. The cache key will contain the version
 		// timestamp (if != -1), so that different versions of the same object
 		// can be cached
-		return id + "|" + versionTimestamp;
-		// return versionTimestamp == -1 ? id : id + "@" + versionTimestamp;
+		return new ObjectCacheKey(id != null ? id.intValue() : 0, versionTimestamp);
 	}
 
 	/**
@@ -854,7 +876,7 @@ public class NodeFactory {
 		ObjectContainer objectContainer = null;
 
 		// create the cache key
-		String cacheKey = createCacheKey(clazz, id, versionTimestamp);
+		ObjectCacheKey cacheKey = createCacheKey(clazz, id, versionTimestamp);
 
 		PortalCache cache = getCache(clazz);
 		if (cache != null) {
@@ -978,7 +1000,7 @@ public class NodeFactory {
 		if (cache != null) {
 			try {
 
-				String cacheKey = createCacheKey(clazz, id, -1);
+				ObjectCacheKey cacheKey = createCacheKey(clazz, id, -1);
 
 				// try loading the object from the cache
 				objectContainer = (ObjectContainer) cache.getFromGroup(cacheGroupName, cacheKey);
@@ -1272,7 +1294,7 @@ public class NodeFactory {
 		TransactionStatistics stats = t.getStatistics();
 
 		// create the cache key
-		Object cacheKey = createCacheKey(clazz, id, versionTimestamp);
+		ObjectCacheKey cacheKey = createCacheKey(clazz, id, versionTimestamp);
 
 		PortalCache cache = getCache(clazz);
 		if (cache != null) {
@@ -1472,7 +1494,7 @@ public class NodeFactory {
 			try {
 				String cacheGroupName = normalizeClass(clazz).getName();
 				Integer id = obj.getId();
-				Object cacheKey = createCacheKey(clazz, id, versionTimestamp);
+				ObjectCacheKey cacheKey = createCacheKey(clazz, id, versionTimestamp);
 
 				ObjectContainer objectContainer = (ObjectContainer) cache.getFromGroup(cacheGroupName, cacheKey);
 
@@ -1649,6 +1671,16 @@ public class NodeFactory {
 		}
 	}
 
+	/**
+	 * Wake up the dirtqueue worker thread, if it is waiting for new entries
+	 */
+	public void wakeUpDirtQueueWorker() {
+		TriggerEventJobThread worker = dirtQueueWorkerThread;
+		if (worker != null) {
+			worker.wakeUp();
+		}
+	}
+
 	/**
 	 * Initialize the caches
 	 */
@@ -1792,7 +1824,43 @@ public class NodeFactory {
 	}
 
 	/**
-	 * Background thread for periodically triggering dirt events
+	 * Action of the dirt queue worker after handling entries
+	 */
+	protected static enum NextAction {
+		/**
+		 * Immediately continue with the next entries
+		 */
+		CONTINUE,
+
+		/**
+		 * Wait until new entries are stored (or the wait time elapsed)
+		 */
+		WAIT_FOR_ENTRIES,
+
+		/**
+		 * Wait for the full wait time
+		 */
+		WAIT,
+
+		/**
+		 * Wait for the full wait time, because an entry could neither be handled nor set to be failed. Later entries for the same object must not be handled.
+		 */
+		RETRY;
+
+		/**
+		 * Merge this action with the other action (the action with the longer waiting wins)
+		 * @param other other action
+		 * @return merged action
+		 */
+		public NextAction merge(NextAction other) {
+			return other.ordinal() > ordinal() ? other : this;
+		}
+	}
+
+	/**
+	 * Background thread for periodically triggering dirt events.
+	 * If the number of threads is configured to be greater than 1, the thread will claim batches of entries and
+	 * handle entries for different objects in parallel, while the entries for the same object are handled in the order of the queue.
 	 */
 	protected class TriggerEventJobThread extends Thread {
 
@@ -1801,6 +1869,16 @@ public class NodeFactory {
 		 */
 		protected boolean stopped = false;
 
+		/**
+		 * Monitor for waiting for new entries
+		 */
+		protected final Object wakeUpMonitor = new Object();
+
+		/**
+		 * Flag to mark whether new entries were stored since the last fetch
+		 */
+		protected boolean wakeUpRequested = false;
+
 		/*
 		 * (non-Javadoc)
 		 * @see java.lang.Runnable#run()
@@ -1809,95 +1887,345 @@ public class NodeFactory {
 			if (logger.isInfoEnabled()) {
 				logger.info("Background thread {" + getName() + "} starting to trigger queued events");
 			}
-			while (!stopped && !isInterrupted()) {
-				QueueEntry entry = null;
-				boolean doSleep = true;
-				boolean doUpdatePublishQueueStats = false;
-
-				if (DistributionUtil.isTaskExecutionAllowed()) {
-					try (Trx trx = new Trx()) {
-						doSleep = true;
-
-						entry = QueueEntry.getOldestQueueEntry();
-
-						if (entry != null) {
-
-							trx.getTransaction().setTimestamp(entry.getTimestamp());
-
-							if (entry.isPublish()) {
-								// TODO check whether the publish process is still
-								// running, if yes wait some time
-								if (logger.isInfoEnabled()) {
-									logger.info("Publish is running, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT + " seconds");
-								}
-								doSleep = true;
-							} else if (entry.isBlocker()) {
-								if (logger.isInfoEnabled()) {
-									logger.info(
-											"Found a manual blocker, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT
-											+ " seconds... don't forget to remove the blocker when maintenance work is done (id is " + entry.getId() + ")!");
-								}
-								doSleep = true;
-							} else {
-								if (logger.isInfoEnabled()) {
-									logger.info("Triggering event " + entry);
-								}
-								// this is no publish process, so trigger the event
-								if (entry.triggerEvent()) {
-									// event was triggered, delete the queue entry
-									entry.delete();
-									doSleep = false;
-									// after a maintenance action, update the publish queue stats immediately
-									if (entry.isMaintenanceAction()) {
-										doUpdatePublishQueueStats = true;
-									}
-								}
-							}
+			NodePreferences prefs = NodeConfigRuntimeConfiguration.getDefault().getNodeConfig().getDefaultPreferences();
+			int threads = Math.max(1, ObjectTransformer.getInt(prefs.getProperty(DIRTQUEUE_THREADS_CONFIG_KEY), 1));
+			int batchSize = Math.max(1, ObjectTransformer.getInt(prefs.getProperty(DIRTQUEUE_BATCHSIZE_CONFIG_KEY), DIRTQUEUE_DEFAULT_BATCHSIZE));
+			MBeanRegistry.getDirtQueueInfo().setWorkerThreads(threads);
+			ExecutorService executor = null;
+			if (threads > 1) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Handling queued events in batches of " + batchSize + " using " + threads + " threads");
+				}
+				executor = Executors.newFixedThreadPool(threads, new PrefixedThreadFactory("dirtqueue-worker"));
+			}
+
+			try {
+				while (!stopped && !isInterrupted()) {
+					NextAction next = NextAction.WAIT;
+
+					if (DistributionUtil.isTaskExecutionAllowed()) {
+						synchronized (wakeUpMonitor) {
+							wakeUpRequested = false;
+						}
+						if (executor != null) {
+							next = handleBatch(executor, batchSize);
 						} else {
-							if (logger.isInfoEnabled()) {
-								logger.info("Found no queued event, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT + " seconds");
+							next = handleOldestEntry();
+						}
+					}
+
+					if (next != NextAction.CONTINUE) {
+						long waitMs = ObjectTransformer.getInt(System.getProperty("com.gentics.contentnode.dirtqueue.wait"), DIRTQUEUE_THREAD_DEFAULTWAIT * 1000);
+						try {
+							if (next == NextAction.WAIT_FOR_ENTRIES) {
+								waitForEntries(waitMs);
+							} else {
+								sleep(waitMs);
 							}
-							// found no queued dirt, so wait some time
-							doSleep = true;
+						} catch (InterruptedException e) {
+							logger.warn("Thread was interrupted while sleeping");
+						}
+					}
+				}
+			} finally {
+				if (executor != null) {
+					executor.shutdownNow();
+				}
+			}
+
+			if (logger.isInfoEnabled()) {
+				logger.info("Background thread {" + getName() + "} was stopped");
+			}
+		}
+
+		/**
+		 * Handle the oldest queue entry
+		 * @return next action
+		 */
+		protected NextAction handleOldestEntry() {
+			QueueEntry entry = null;
+			NextAction next = NextAction.WAIT;
+			boolean doUpdatePublishQueueStats = false;
+			boolean failed = false;
+			long start = System.currentTimeMillis();
+
+			try (Trx trx = new Trx()) {
+				entry = QueueEntry.getOldestQueueEntry();
+
+				if (entry != null) {
+
+					trx.getTransaction().setTimestamp(entry.getTimestamp());
+
+					if (entry.isPublish()) {
+						// TODO check whether the publish process is still
+						// running, if yes wait some time
+						if (logger.isInfoEnabled()) {
+							logger.info("Publish is running, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT + " seconds");
 						}
-						trx.success();
-					} catch (Exception e) {
-						// when an entry was handled, we try to set the entry to be failed
-						if (entry != null) {
-							logger.error("Error while handling event", e);
-							// store the failure in the dirtqueue entry
-							try {
-								Trx.consume(tmpEntry -> tmpEntry.setFailed(e), entry);
-
-								// only immediately proceed with the next event, when we managed to set the previous entry to be failed and the
-								// originating error was not an SQLException
-								if (!(e instanceof SQLException) && !(e.getCause() instanceof SQLException)) {
-									doSleep = false;
-								}
-							} catch (NodeException e1) {
-								logger.error("Error while setting the entry to failed", e1);
+						next = NextAction.WAIT;
+					} else if (entry.isBlocker()) {
+						if (logger.isInfoEnabled()) {
+							logger.info(
+									"Found a manual blocker, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT
+									+ " seconds... don't forget to remove the blocker when maintenance work is done (id is " + entry.getId() + ")!");
+						}
+						next = NextAction.WAIT;
+					} else {
+						if (logger.isInfoEnabled()) {
+							logger.info("Triggering event " + entry);
+						}
+						// this is no publish process, so trigger the event
+						if (entry.triggerEvent()) {
+							// event was triggered, delete the queue entry
+							entry.delete();
+							next = NextAction.CONTINUE;
+							// after a maintenance action, update the publish queue stats immediately
+							if (entry.isMaintenanceAction()) {
+								doUpdatePublishQueueStats = true;
 							}
-						} else {
-							logger.error("Error while fetching next entry", e);
 						}
 					}
+				} else {
+					if (logger.isInfoEnabled()) {
+						logger.info("Found no queued event, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT + " seconds");
+					}
+					// found no queued dirt, so wait some time (or until new entries are stored)
+					next = NextAction.WAIT_FOR_ENTRIES;
+				}
+				trx.success();
+			} catch (Exception e) {
+				// when an entry was handled, we try to set the entry to be failed
+				if (entry != null) {
+					next = handleFailure(entry, e);
+					failed = true;
+				} else {
+					logger.error("Error while fetching next entry", e);
+				}
+			}
+
+			if (next == NextAction.CONTINUE && !failed) {
+				MBeanRegistry.getDirtQueueInfo().entryProcessed(entry.getTimestamp(), false);
+			}
+
+			if (entry != null && !entry.isPublish() && !entry.isBlocker()) {
+				MBeanRegistry.getDirtQueueInfo().processed(System.currentTimeMillis() - start);
+			}
+
+			if (doUpdatePublishQueueStats) {
+				PublishQueueStats.get().refresh();
+			}
+
+			return next;
+		}
+
+		/**
+		 * Claim a batch of the oldest queue entries and handle them (see {@link #handleEntries(ExecutorService, List)}).
+		 * @param executor executor
+		 * @param batchSize maximum number of entries in the batch
+		 * @return next action
+		 */
+		protected NextAction handleBatch(ExecutorService executor, int batchSize) {
+			List<QueueEntry> entries = null;
+			try (Trx trx = new Trx()) {
+				entries = QueueEntry.getOldestQueueEntries(batchSize);
+				trx.success();
+			} catch (NodeException e) {
+				logger.error("Error while fetching next entries", e);
+				return NextAction.WAIT;
+			}
+
+			if (entries.isEmpty()) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Found no queued event, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT + " seconds");
+				}
+				return NextAction.WAIT_FOR_ENTRIES;
+			}
+
+			QueueEntry first = entries.get(0);
+			if (first.isPublish()) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Publish is running, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT + " seconds");
+				}
+				return NextAction.WAIT;
+			} else if (first.isBlocker()) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Found a manual blocker, waiting " + DIRTQUEUE_THREAD_DEFAULTWAIT
+							+ " seconds... don't forget to remove the blocker when maintenance work is done (id is " + first.getId() + ")!");
+				}
+				return NextAction.WAIT;
+			}
+
+			return handleEntries(executor, entries);
+		}
 
-					if (doUpdatePublishQueueStats) {
-						PublishQueueStats.get().refresh();
+		/**
+		 * Handle the given entries. Entries, which are {@link QueueEntry#isParallelizable() parallelizable}, are grouped by
+		 * the objects and the groups are handled in parallel by the given executor. All other entries are handled alone, after all previous entries were handled.
+		 * Handling stops at the first publish entry or blocker and at the first entry, which is still queued after being handled ({@link NextAction#RETRY}),
+		 * so that no later entry (for the same object) is handled before that entry.
+		 * @param executor executor
+		 * @param entries entries in the order of the queue
+		 * @return next action
+		 */
+		protected NextAction handleEntries(ExecutorService executor, List<QueueEntry> entries) {
+			long start = System.currentTimeMillis();
+			NextAction next = NextAction.CONTINUE;
+			boolean doUpdatePublishQueueStats = false;
+			Map<String, List<QueueEntry>> groups = new LinkedHashMap<>();
+			for (QueueEntry entry : entries) {
+				if (stopped || entry.isPublish() || entry.isBlocker()) {
+					break;
+				}
+				if (entry.isParallelizable()) {
+					groups.computeIfAbsent(entry.getObjectKey(), key -> new ArrayList<>()).add(entry);
+				} else {
+					NextAction groupsAction = handleGroups(executor, groups);
+					groups.clear();
+					next = next.merge(groupsAction);
+					if (groupsAction == NextAction.RETRY) {
+						// an entry of the groups is still queued, so we must not handle later entries
+						break;
+					}
+
+					NextAction entryAction = handleEntry(entry);
+					next = next.merge(entryAction);
+					if (entry.isMaintenanceAction()) {
+						doUpdatePublishQueueStats = true;
+					}
+					if (entryAction == NextAction.RETRY) {
+						// the entry is still queued, so we must not handle later entries
+						break;
 					}
 				}
+			}
+			next = next.merge(handleGroups(executor, groups));
+			MBeanRegistry.getDirtQueueInfo().processed(System.currentTimeMillis() - start);
 
-				if (doSleep) {
-					try {
-						sleep(ObjectTransformer.getInt(System.getProperty("com.gentics.contentnode.dirtqueue.wait"), DIRTQUEUE_THREAD_DEFAULTWAIT * 1000));
-					} catch (InterruptedException e) {
-						logger.warn("Thread was interrupted while sleeping");
+			if (doUpdatePublishQueueStats) {
+				PublishQueueStats.get().refresh();
+			}
+
+			return next;
+		}
+
+		/**
+		 * Handle the given groups of entries in parallel
+		 * @param executor executor
+		 * @param groups groups of entries
+		 * @return next action
+		 */
+		protected NextAction handleGroups(ExecutorService executor, Map<String, List<QueueEntry>> groups) {
+			if (groups.isEmpty()) {
+				return NextAction.CONTINUE;
+			}
+			MBeanRegistry.getDirtQueueInfo().batchStarted(groups.values().stream().mapToInt(List::size).sum());
+
+			List<Callable<NextAction>> tasks = new ArrayList<>(groups.size());
+			for (List<QueueEntry> group : groups.values()) {
+				tasks.add(() -> {
+					NextAction groupAction = NextAction.CONTINUE;
+					for (QueueEntry entry : group) {
+						NextAction entryAction = handleEntry(entry);
+						groupAction = groupAction.merge(entryAction);
+						if (entryAction == NextAction.RETRY) {
+							// the entry is still queued, so we must not handle later entries for the same object
+							break;
+						}
 					}
+					return groupAction;
+				});
+			}
+
+			NextAction next = NextAction.CONTINUE;
+			try {
+				for (Future<NextAction> future : executor.invokeAll(tasks)) {
+					next = next.merge(future.get());
 				}
+			} catch (InterruptedException e) {
+				logger.warn("Thread was interrupted while handling queued events");
+				interrupt();
+				next = NextAction.WAIT;
+			} catch (ExecutionException e) {
+				logger.error("Error while handling queued events", e);
+				next = NextAction.WAIT;
 			}
+			return next;
+		}
 
-			if (logger.isInfoEnabled()) {
-				logger.info("Background thread {" + getName() + "} was stopped");
+		/**
+		 * Handle the given entry in its own transaction
+		 * @param entry entry
+		 * @return next action ({@link NextAction#RETRY} if the entry is still queued)
+		 */
+		protected NextAction handleEntry(QueueEntry entry) {
+			try (Trx trx = new Trx()) {
+				trx.getTransaction().setTimestamp(entry.getTimestamp());
+				if (logger.isInfoEnabled()) {
+					logger.info("Triggering event " + entry);
+				}
+				if (!entry.triggerEvent()) {
+					trx.success();
+					return NextAction.RETRY;
+				}
+				entry.delete();
+				trx.success();
+			} catch (Exception e) {
+				return handleFailure(entry, e);
+			}
+			MBeanRegistry.getDirtQueueInfo().entryProcessed(entry.getTimestamp(), false);
+			return NextAction.CONTINUE;
+		}
+
+		/**
+		 * Handle failure of the given entry by setting the entry to be failed
+		 * @param entry failed entry
+		 * @param e exception
+		 * @return next action
+		 */
+		protected NextAction handleFailure(QueueEntry entry, Exception e) {
+			logger.error("Error while handling event", e);
+			MBeanRegistry.getDirtQueueInfo().entryProcessed(entry.getTimestamp(), true);
+			// store the failure in the dirtqueue entry
+			try {
+				Trx.consume(tmpEntry -> tmpEntry.setFailed(e), entry);
+
+				// only immediately proceed with the next event, when we managed to set the previous entry to be failed and the
+				// originating error was not an SQLException
+				if (!(e instanceof SQLException) && !(e.getCause() instanceof SQLException)) {
+					return NextAction.CONTINUE;
+				} else {
+					return NextAction.WAIT;
+				}
+			} catch (NodeException e1) {
+				logger.error("Error while setting the entry to failed", e1);
+				return NextAction.RETRY;
+			}
+		}
+
+		/**
+		 * Wait until new entries are stored or the given time elapsed
+		 * @param waitMs maximum wait time in ms
+		 * @throws InterruptedException
+		 */
+		protected void waitForEntries(long waitMs) throws InterruptedException {
+			synchronized (wakeUpMonitor) {
+				if (!wakeUpRequested) {
+					wakeUpMonitor.wait(waitMs);
+				}
+				if (wakeUpRequested) {
+					MBeanRegistry.getDirtQueueInfo().wokenUp();
+				}
+				wakeUpRequested = false;
+			}
+		}
+
+		/**
+		 * Wake up the worker, if it is waiting for new entries
+		 */
+		public void wakeUp() {
+			synchronized (wakeUpMonitor) {
+				wakeUpRequested = true;
+				wakeUpMonitor.notifyAll();
 			}
 		}
 
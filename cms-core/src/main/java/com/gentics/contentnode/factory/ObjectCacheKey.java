@@ -0,0 +1,72 @@
+package com.gentics.contentnode.factory;
+
+import java.io.Serializable;
+
+/**
+ * Key of objects in the object cache of the {@link NodeFactory}, consisting of the object id and the version timestamp (-1 for the current version).
+ * The object class is not part of the key, since the objects are cached in groups per class.
+ */
+public final class ObjectCacheKey implements Serializable {
+	/**
+	 * Serial Version UID
+	 */
+	private static final long serialVersionUID = -4781530386014468296L;
+
+	/**
+	 * Object id
+	 */
+	private final int id;
+
+	/**
+	 * Version timestamp
+	 */
+	private final int versionTimestamp;
+
+	/**
+	 * Create an instance
+	 * @param id object id
+	 * @param versionTimestamp version timestamp. -1 for current version
+	 */
+	public ObjectCacheKey(int id, int versionTimestamp) {
+		this.id = id;
+		this.versionTimestamp = versionTimestamp;
+	}
+
+	/**
+	 * Get the object id
+	 * @return object id
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Get the version timestamp
+	 * @return version timestamp (-1 for current version)
+	 */
+	public int getVersionTimestamp() {
+		return versionTimestamp;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * id + versionTimestamp;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof ObjectCacheKey) {
+			ObjectCacheKey other = (ObjectCacheKey) obj;
+			return id == other.id && versionTimestamp == other.versionTimestamp;
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return id + "|" + versionTimestamp;
+	}
+}
@@ -1,12 +1,23 @@
 package com.gentics.contentnode.factory;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.perm.PermissionStore;
 
 /**
- * Transactional Implementation that refreshes the perm handler
+ * Transactional Implementation that refreshes the perm handler.
+ * All objects, which are refreshed in the same transaction, are collected in {@link #onDBCommit(Transaction)} and refreshed together
+ * by the first instance, which is called in {@link #onTransactionCommit(Transaction)}.
  */
 public class RefreshPermHandler extends AbstractTransactional {
+	/**
+	 * Name of the transaction attribute containing the ids of the objects to refresh per object type
+	 */
+	protected final static String OBJECTS_ATTRIBUTE = RefreshPermHandler.class.getName() + ".objects";
 	/**
 	 * Object type
 	 */
@@ -66,12 +77,20 @@ public class RefreshPermHandler extends AbstractTransactional {
 	/* (non-Javadoc)
 	 * @see com.gentics.lib.base.factory.Transactional#onDBCommit(com.gentics.lib.base.factory.Transaction)
 	 */
-	public void onDBCommit(Transaction t) throws NodeException {}
+	public void onDBCommit(Transaction t) throws NodeException {
+		if (objType > 0) {
+			getObjects(t, true).computeIfAbsent(objType, key -> new LinkedHashSet<>()).add(objId);
+		}
+	}
 
 	/* (non-Javadoc)
 	 * @see com.gentics.lib.base.factory.Transactional#onTransactionCommit(com.gentics.lib.base.factory.Transaction)
 	 */
 	public boolean onTransactionCommit(Transaction t) {
+		// the first instance refreshes the objects collected by all instances
+		Map<Integer, Set<Integer>> objects = getObjects(t, false);
+		t.getAttributes().remove(OBJECTS_ATTRIBUTE);
+
 		// Getting the PermissionStore instance will throw an exception, if
 		// the PermissionStore has not yet been initialized, which is ok,
 		// we just ignore it
@@ -80,24 +99,45 @@ public class RefreshPermHandler extends AbstractTransactional {
 		} catch (NodeException e) {
 			return false;
 		}
-		try {
-			if (objType > 0) {
-				PermissionStore.getInstance().refreshObject(objType, objId);
+		if (objects != null) {
+			for (Map.Entry<Integer, Set<Integer>> entry : objects.entrySet()) {
+				try {
+					PermissionStore.getInstance().refreshObjects(entry.getKey(), entry.getValue());
+				} catch (NodeException e) {
+					PermissionStore.logger.error("Error while refreshing permission store for objects " + entry.getValue() + " of type " + entry.getKey(), e);
+				}
 			}
+		}
+		try {
 			if (groupId > 0) {
 				PermissionStore.getInstance().refreshGroup(groupId);
 			}
 		} catch (NodeException e) {
-			if (objType > 0) {
-				PermissionStore.logger.error("Error while refreshing permission store for object " + objType + "." + objId, e);
-			}
-			if (groupId > 0) {
-				PermissionStore.logger.error("Error while refreshing permission store for group " + groupId, e);
-			}
+			PermissionStore.logger.error("Error while refreshing permission store for group " + groupId, e);
 		}
 		return false;
 	}
 
+	@Override
+	public void onTransactionRollback(Transaction t) {
+		t.getAttributes().remove(OBJECTS_ATTRIBUTE);
+	}
+
+	/**
+	 * Get the ids of the objects to refresh per object type, which are stored in the transaction
+	 * @param t transaction
+	 * @param create true to create the map, if not yet stored
+	 * @return map of object ids per object type (may be null, if create is false)
+	 */
+	@SuppressWarnings("unchecked")
+	protected static Map<Integer, Set<Integer>> getObjects(Transaction t, boolean create) {
+		if (create) {
+			return (Map<Integer, Set<Integer>>) t.getAttributes().computeIfAbsent(OBJECTS_ATTRIBUTE, key -> new HashMap<>());
+		} else {
+			return (Map<Integer, Set<Integer>>) t.getAttributes().get(OBJECTS_ATTRIBUTE);
+		}
+	}
+
 	@Override
 	public int getThreshold(Transaction t) {
 		return 100;
@@ -50,6 +50,18 @@ public class Session implements LanguageProvider, Serializable {
 	 * @param t the DB transaction to use.
 	 */
 	public Session(int sessionId, Transaction t) throws InvalidSessionIdException, TransactionException {
+		SessionCache cache = SessionCache.get();
+		SessionCache.Entry cached = cache != null ? cache.get(sessionId) : null;
+		if (cached != null) {
+			this.sessionId = sessionId;
+			this.userId = cached.getUserId();
+			this.languageId = cached.getLanguageId();
+			this.language = getLanguage(languageId);
+			this.sessionSecret = cached.getSecret();
+			return;
+		}
+		long generation = cache != null ? cache.getGeneration() : 0;
+
 		PreparedStatement stmt = null;
 		ResultSet result = null;
 
@@ -60,11 +72,7 @@ public class Session implements LanguageProvider, Serializable {
 			if (result.first()) {
 				this.userId = result.getInt("user_id");
 				this.languageId = result.getInt("language");
-				try {
-					this.language = languageId > 0 ? new CNDictionary(languageId).asLanguage() : null;
-				} catch (NodeException e) {
-					throw new TransactionException("Error while checking session", e);
-				}
+				this.language = getLanguage(languageId);
 				this.sessionSecret = result.getString("secret");
 			} else {
 				throw new InvalidSessionIdException(Integer.toString(sessionId));
@@ -76,6 +84,10 @@ public class Session implements LanguageProvider, Serializable {
 			t.closeStatement(stmt);
 		}
 		this.sessionId = sessionId;
+
+		if (cache != null) {
+			cache.put(new SessionCache.Entry(cache, sessionId, userId, languageId, sessionSecret), generation);
+		}
 	}
 
 	/**
@@ -168,6 +180,7 @@ public class Session implements LanguageProvider, Serializable {
 				pst.setString(6, val);
 				pst.setInt(7, newSid);
 				pst.executeUpdate();
+				SessionCache.invalidate(newSid);
 
 				this.sessionId = sid;
 			}
@@ -190,6 +203,7 @@ public class Session implements LanguageProvider, Serializable {
 		Transaction t = TransactionManager.getCurrentTransaction();
 
 		DBUtils.executeUpdate("UPDATE systemsession SET secret = ? WHERE id = ? AND user_id = ?", new Object[] { "", sessionId, userId });
+		SessionCache.invalidate(sessionId);
 
 		// log the logout
 		ActionLogger.logCmd(ActionLogger.LOGOUT, SystemUser.TYPE_SYSTEMUSER, this.userId, t.getUnixTimestamp(), "sid(" + this.sessionId + ")");
@@ -209,6 +223,7 @@ public class Session implements LanguageProvider, Serializable {
 			pst.setString(1, "");
 			pst.setString(2, this.getSessionSecret());
 			pst.executeUpdate();
+			SessionCache.invalidateSecret(this.getSessionSecret());
 
 			// log the logout
 			ActionLogger.logCmd(ActionLogger.LOGOUT, SystemUser.TYPE_SYSTEMUSER, this.userId, t.getUnixTimestamp(), "sid(" + this.sessionId + ", all sessions)");
@@ -306,6 +321,12 @@ public class Session implements LanguageProvider, Serializable {
 	 * only the last of those sessions will be kept
 	 */
 	protected static void cleanOldSessions() {
+		// write the collected session touches first, so that recently used sessions are not removed
+		SessionCache cache = SessionCache.get();
+		if (cache != null) {
+			cache.writeTouches();
+		}
+
 		try (Trx trx = new Trx()) {
 			Transaction t = TransactionManager.getCurrentTransaction();
 			int sessionAge = ObjectTransformer.getInt(t.getNodeConfig().getDefaultPreferences().getProperty("session_age"), 3600);
@@ -334,6 +355,7 @@ public class Session implements LanguageProvider, Serializable {
 
 			DBUtils.updateWithPK("systemsession", "id", "secret = ?", new Object[] { "" }, "secret != ? AND since < ?",
 					new Object[] { "", allowedSince });
+			SessionCache.invalidateAll();
 
 			trx.success();
 		} catch (NodeException e) {
@@ -362,11 +384,17 @@ public class Session implements LanguageProvider, Serializable {
 	}
 
 	/**
-	 * Touch the system session by setting the column since to the transaction timestamp
+	 * Touch the system session by setting the column since to the transaction timestamp.
+	 * If the {@link SessionCache} is enabled, the session will be touched in the background.
 	 * @throws NodeException
 	 */
 	public void touch() throws NodeException {
 		Transaction t = TransactionManager.getCurrentTransaction();
+		SessionCache cache = SessionCache.get();
+		if (cache != null) {
+			cache.touch(sessionId, sessionSecret, t.getUnixTimestamp());
+			return;
+		}
 		DBUtils.executeUpdate("UPDATE systemsession SET since = ? WHERE id = ? AND secret = ?", new Object[] {t.getUnixTimestamp(), sessionId, sessionSecret});
 	}
 
@@ -374,4 +402,18 @@ public class Session implements LanguageProvider, Serializable {
 	public Language getLanguage() {
 		return language;
 	}
+
+	/**
+	 * Get the language for the given language id
+	 * @param languageId language id
+	 * @return language or null, if the language id is not positive
+	 * @throws TransactionException
+	 */
+	protected static Language getLanguage(int languageId) throws TransactionException {
+		try {
+			return languageId > 0 ? new CNDictionary(languageId).asLanguage() : null;
+		} catch (NodeException e) {
+			throw new TransactionException("Error while checking session", e);
+		}
+	}
 }
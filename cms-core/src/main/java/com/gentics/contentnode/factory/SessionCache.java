@@ -0,0 +1,509 @@
+package com.gentics.contentnode.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.db.DBUtils;
+import com.gentics.contentnode.etc.NodePreferences;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
+import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * In-memory cache for the validation of system sessions.
+ * Sessions loaded by {@link Session#Session(int, Transaction)} are cached for a short time (TTL), so that consecutive requests of the same session
+ * do not need to read the session from the table systemsession. All modifications of sessions done by the CMS invalidate the cached entries.
+ * Additionally, touching a session (updating the column since) is not done for every request, but collected and written by a background thread
+ * in batches.
+ */
+public class SessionCache {
+	/**
+	 * Name of the configuration parameter to enable the session cache
+	 */
+	public final static String ENABLED_PARAM = "session_cache.enabled";
+
+	/**
+	 * Name of the configuration parameter for the maximum number of cached sessions
+	 */
+	public final static String SIZE_PARAM = "session_cache.size";
+
+	/**
+	 * Name of the configuration parameter for the TTL of cached sessions in seconds
+	 */
+	public final static String TTL_PARAM = "session_cache.ttl";
+
+	/**
+	 * Name of the configuration parameter for the interval of writing the collected session touches in seconds
+	 */
+	public final static String TOUCH_INTERVAL_PARAM = "session_cache.touch_interval";
+
+	/**
+	 * Default maximum number of cached sessions
+	 */
+	public final static int DEFAULT_SIZE = 10000;
+
+	/**
+	 * Default TTL in seconds
+	 */
+	public final static int DEFAULT_TTL_S = 10;
+
+	/**
+	 * Default touch interval in seconds
+	 */
+	public final static int DEFAULT_TOUCH_INTERVAL_S = 5;
+
+	/**
+	 * Logger
+	 */
+	protected static NodeLogger logger = NodeLogger.getNodeLogger(SessionCache.class);
+
+	/**
+	 * Singleton (null if the cache is not enabled)
+	 */
+	protected static volatile SessionCache instance;
+
+	/**
+	 * Maximum number of cached sessions
+	 */
+	protected final int size;
+
+	/**
+	 * TTL in ms
+	 */
+	protected final long ttl;
+
+	/**
+	 * Cached sessions
+	 */
+	protected final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Collected session touches, which are not yet written
+	 */
+	protected final Map<Integer, Touch> touches = new ConcurrentHashMap<>();
+
+	/**
+	 * Generation, which is incremented with every invalidation. Sessions are only put into the cache,
+	 * if no invalidation happened while they were loaded.
+	 */
+	protected final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Service, which writes the collected session touches
+	 */
+	protected ScheduledExecutorService service;
+
+	/**
+	 * Number of cache hits
+	 */
+	protected final LongAdder hits = new LongAdder();
+
+	/**
+	 * Number of cache misses
+	 */
+	protected final LongAdder misses = new LongAdder();
+
+	/**
+	 * Number of invalidations
+	 */
+	protected final LongAdder invalidations = new LongAdder();
+
+	/**
+	 * Number of written session touches
+	 */
+	protected final LongAdder writtenTouches = new LongAdder();
+
+	/**
+	 * Initialize the session cache according to the configuration. If the cache is disabled, collected session touches are written.
+	 * @throws NodeException
+	 */
+	public static synchronized void initialize() throws NodeException {
+		boolean enabled = false;
+		int size = DEFAULT_SIZE;
+		int ttl = DEFAULT_TTL_S;
+		int touchInterval = DEFAULT_TOUCH_INTERVAL_S;
+		try {
+			NodePreferences prefs = NodeConfigRuntimeConfiguration.getPreferences();
+			enabled = ObjectTransformer.getBoolean(prefs.getProperty(ENABLED_PARAM), false);
+			size = ObjectTransformer.getInt(prefs.getProperty(SIZE_PARAM), DEFAULT_SIZE);
+			ttl = ObjectTransformer.getInt(prefs.getProperty(TTL_PARAM), DEFAULT_TTL_S);
+			touchInterval = ObjectTransformer.getInt(prefs.getProperty(TOUCH_INTERVAL_PARAM), DEFAULT_TOUCH_INTERVAL_S);
+		} catch (Exception e) {
+			logger.warn("Could not read configuration for the session cache, cache will be disabled", e);
+		}
+
+		// changed configuration requires a new instance
+		shutdown();
+
+		if (enabled && size > 0 && ttl > 0) {
+			SessionCache cache = new SessionCache(size, TimeUnit.SECONDS.toMillis(ttl));
+			int interval = Math.max(1, touchInterval);
+			cache.service = Executors.newSingleThreadScheduledExecutor(new PrefixedThreadFactory("session-touch"));
+			cache.service.scheduleWithFixedDelay(cache::writeTouches, interval, interval, TimeUnit.SECONDS);
+			instance = cache;
+			logger.info(String.format("Enabled session cache with size %d, TTL %d s and touch interval %d s", size, ttl, interval));
+		}
+	}
+
+	/**
+	 * Disable the session cache (if enabled). Collected session touches are written before this method returns.
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			SessionCache stopping = instance;
+			instance = null;
+			if (stopping.service != null) {
+				stopping.service.shutdown();
+				try {
+					stopping.service.awaitTermination(1, TimeUnit.MINUTES);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			stopping.writeTouches();
+			logger.info("Disabled session cache");
+		}
+	}
+
+	/**
+	 * Get the session cache
+	 * @return session cache or null, if not enabled
+	 */
+	public static SessionCache get() {
+		return instance;
+	}
+
+	/**
+	 * Invalidate the cached session with given ID (if the cache is enabled)
+	 * @param sessionId session ID
+	 */
+	public static void invalidate(int sessionId) {
+		invalidateIf(entry -> entry.sessionId == sessionId);
+	}
+
+	/**
+	 * Invalidate all cached sessions with the given secret (if the cache is enabled)
+	 * @param secret session secret
+	 */
+	public static void invalidateSecret(String secret) {
+		invalidateIf(entry -> entry.secret.equals(secret));
+	}
+
+	/**
+	 * Invalidate all cached sessions (if the cache is enabled)
+	 */
+	public static void invalidateAll() {
+		invalidateIf(entry -> true);
+	}
+
+	/**
+	 * Invalidate all cached sessions matching the filter (if the cache is enabled).
+	 * If called within a transaction, the sessions are invalidated again, when the transaction is committed,
+	 * so that sessions which were loaded by other threads before the commit will not remain cached.
+	 * @param filter filter for the invalidated sessions
+	 */
+	protected static void invalidateIf(Predicate<Entry> filter) {
+		SessionCache cache = instance;
+		if (cache == null) {
+			return;
+		}
+		cache.remove(filter);
+
+		Transaction t = TransactionManager.getCurrentTransactionOrNull();
+		if (t != null) {
+			t.addTransactional(new AbstractTransactional() {
+				@Override
+				public void onDBCommit(Transaction t) throws NodeException {
+				}
+
+				@Override
+				public boolean onTransactionCommit(Transaction t) {
+					cache.remove(filter);
+					return false;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Create an instance
+	 * @param size maximum number of cached sessions
+	 * @param ttl TTL in ms
+	 */
+	public SessionCache(int size, long ttl) {
+		this.size = size;
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Get the current generation. The generation must be fetched before the session is loaded from the database and
+	 * passed to {@link #put(Entry, long)}
+	 * @return generation
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Get the cached session
+	 * @param sessionId session ID
+	 * @return cached session or null, if not cached or expired
+	 */
+	public Entry get(int sessionId) {
+		Entry entry = entries.get(sessionId);
+		if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+			entries.remove(sessionId, entry);
+			entry = null;
+		}
+		if (entry != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return entry;
+	}
+
+	/**
+	 * Put the loaded session into the cache, unless sessions were invalidated since the given generation or the cache is full
+	 * (even after removing the expired sessions)
+	 * @param entry loaded session
+	 * @param loadGeneration generation before the session was loaded
+	 */
+	public void put(Entry entry, long loadGeneration) {
+		if (entries.size() >= size) {
+			removeExpired();
+			if (entries.size() >= size) {
+				return;
+			}
+		}
+		entries.put(entry.sessionId, entry);
+
+		// if an invalidation happened in the meantime, the loaded data might be outdated
+		if (generation.get() != loadGeneration) {
+			entries.remove(entry.sessionId, entry);
+		}
+	}
+
+	/**
+	 * Remove all cached sessions matching the filter
+	 * @param filter filter
+	 */
+	public void remove(Predicate<Entry> filter) {
+		generation.incrementAndGet();
+		invalidations.increment();
+		entries.values().removeIf(filter);
+	}
+
+	/**
+	 * Remove the expired sessions
+	 */
+	public void removeExpired() {
+		long now = System.currentTimeMillis();
+		entries.values().removeIf(entry -> entry.isExpired(now));
+	}
+
+	/**
+	 * Collect touching the session. The session will be touched in the background
+	 * @param sessionId session ID
+	 * @param secret session secret
+	 * @param timestamp timestamp
+	 */
+	public void touch(int sessionId, String secret, int timestamp) {
+		touches.merge(sessionId, new Touch(secret, timestamp), (oldTouch, newTouch) -> oldTouch.timestamp > newTouch.timestamp ? oldTouch : newTouch);
+	}
+
+	/**
+	 * Write the collected session touches to the database
+	 */
+	public void writeTouches() {
+		List<Object[]> args = new ArrayList<>();
+		for (Integer sessionId : touches.keySet()) {
+			Touch touch = touches.remove(sessionId);
+			if (touch != null) {
+				args.add(new Object[] { touch.timestamp, sessionId, touch.secret });
+			}
+		}
+		if (args.isEmpty()) {
+			return;
+		}
+
+		try {
+			Trx.operate(() -> DBUtils.executeBatchUpdate("UPDATE systemsession SET since = ? WHERE id = ? AND secret = ?", args));
+			writtenTouches.add(args.size());
+		} catch (Throwable e) {
+			logger.error(String.format("Error while touching %d sessions", args.size()), e);
+		}
+
+		removeExpired();
+	}
+
+	/**
+	 * Get the number of cached sessions
+	 * @return number of cached sessions
+	 */
+	public int getSize() {
+		return entries.size();
+	}
+
+	/**
+	 * Get the number of cache hits
+	 * @return number of cache hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of cache misses
+	 * @return number of cache misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of invalidations
+	 * @return number of invalidations
+	 */
+	public long getInvalidations() {
+		return invalidations.sum();
+	}
+
+	/**
+	 * Get the number of collected session touches, which are not yet written
+	 * @return number of pending touches
+	 */
+	public int getPendingTouches() {
+		return touches.size();
+	}
+
+	/**
+	 * Get the number of written session touches
+	 * @return number of written touches
+	 */
+	public long getWrittenTouches() {
+		return writtenTouches.sum();
+	}
+
+	/**
+	 * Cached session
+	 */
+	public static class Entry {
+		/**
+		 * Session ID
+		 */
+		protected final int sessionId;
+
+		/**
+		 * User ID
+		 */
+		protected final int userId;
+
+		/**
+		 * Language ID
+		 */
+		protected final int languageId;
+
+		/**
+		 * Session secret
+		 */
+		protected final String secret;
+
+		/**
+		 * Expiration timestamp in ms
+		 */
+		protected final long expires;
+
+		/**
+		 * Create an instance
+		 * @param cache cache
+		 * @param sessionId session ID
+		 * @param userId user ID
+		 * @param languageId language ID
+		 * @param secret session secret
+		 */
+		public Entry(SessionCache cache, int sessionId, int userId, int languageId, String secret) {
+			this.sessionId = sessionId;
+			this.userId = userId;
+			this.languageId = languageId;
+			this.secret = secret != null ? secret : "";
+			this.expires = System.currentTimeMillis() + cache.ttl;
+		}
+
+		/**
+		 * Check whether the entry is expired
+		 * @param now current timestamp in ms
+		 * @return true iff expired
+		 */
+		protected boolean isExpired(long now) {
+			return now >= expires;
+		}
+
+		/**
+		 * Get the session ID
+		 * @return session ID
+		 */
+		public int getSessionId() {
+			return sessionId;
+		}
+
+		/**
+		 * Get the user ID
+		 * @return user ID
+		 */
+		public int getUserId() {
+			return userId;
+		}
+
+		/**
+		 * Get the language ID
+		 * @return language ID
+		 */
+		public int getLanguageId() {
+			return languageId;
+		}
+
+		/**
+		 * Get the session secret
+		 * @return session secret
+		 */
+		public String getSecret() {
+			return secret;
+		}
+	}
+
+	/**
+	 * Collected session touch
+	 */
+	protected static class Touch {
+		/**
+		 * Session secret
+		 */
+		protected final String secret;
+
+		/**
+		 * Timestamp
+		 */
+		protected final int timestamp;
+
+		/**
+		 * Create an instance
+		 * @param secret session secret
+		 * @param timestamp timestamp
+		 */
+		protected Touch(String secret, int timestamp) {
+			this.secret = secret;
+			this.timestamp = timestamp;
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package com.gentics.contentnode.factory.object;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.contentnode.etc.NodePreferences;
+import com.gentics.contentnode.runtime.ConfigurationValue;
+import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Content addressed storage for the binary contents of files (dbfiles).
+ * The binary contents are stored once per md5 hash in the subdirectory {@link #STORE_DIR} of the dbfiles directory,
+ * the files {fileId}.bin are hard links to the stored contents. Therefore every reader of the dbfiles is unaffected,
+ * the reference count of a stored content is the number of its hard links and copies of files are made by just adding another hard link.
+ * Contents, which are no longer referenced, are removed by {@link #purge()}.
+ */
+public class ContentAddressedStore {
+	/**
+	 * Name of the configuration parameter to enable the content addressed storage
+	 */
+	public final static String ENABLED_PARAM = "content_addressed_dbfiles.enabled";
+
+	/**
+	 * Name of the subdirectory containing the stored contents
+	 */
+	public final static String STORE_DIR = "cas";
+
+	/**
+	 * The logger
+	 */
+	protected static NodeLogger logger = NodeLogger.getNodeLogger(ContentAddressedStore.class);
+
+	/**
+	 * Lock for synchronizing storing and purging
+	 */
+	protected final static Object LOCK = new Object();
+
+	/**
+	 * Directory containing the stored contents
+	 */
+	protected File storeDir;
+
+	/**
+	 * Check whether the content addressed storage is enabled
+	 * @return true iff enabled
+	 */
+	public static boolean isEnabled() {
+		NodePreferences prefs = NodeConfigRuntimeConfiguration.getPreferences();
+		return ObjectTransformer.getBoolean(prefs.getProperty(ENABLED_PARAM), false) && !prefs.getFeature("contentfile_data_to_db");
+	}
+
+	/**
+	 * Get the store for the configured dbfiles directory
+	 * @return store
+	 */
+	public static ContentAddressedStore get() {
+		return new ContentAddressedStore(new File(ConfigurationValue.DBFILES_PATH.get()));
+	}
+
+	/**
+	 * Let the target file share the binary content of the source file by creating a hard link. If hard links are not supported, the file is copied.
+	 * @param source source file
+	 * @param target target file (will be replaced)
+	 * @throws IOException
+	 */
+	public static void link(File source, File target) throws IOException {
+		Files.deleteIfExists(target.toPath());
+		try {
+			Files.createLink(target.toPath(), source.toPath());
+		} catch (UnsupportedOperationException | FileSystemException e) {
+			logger.debug(String.format("Could not link %s to %s, copying instead", target, source), e);
+			Files.copy(source.toPath(), target.toPath(), REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Get the number of references of the given stored content
+	 * @param content stored content
+	 * @return number of references (hard links except the stored content itself)
+	 * @throws IOException
+	 */
+	public static int getReferences(File content) throws IOException {
+		try {
+			return ObjectTransformer.getInt(Files.getAttribute(content.toPath(), "unix:nlink"), 1) - 1;
+		} catch (UnsupportedOperationException | IllegalArgumentException e) {
+			throw new IOException(String.format("Cannot get the number of references of %s, the link count is not supported by the filesystem", content), e);
+		}
+	}
+
+	/**
+	 * Create an instance
+	 * @param dbFilesDir dbfiles directory
+	 */
+	public ContentAddressedStore(File dbFilesDir) {
+		storeDir = new File(dbFilesDir, STORE_DIR);
+	}
+
+	/**
+	 * Get the stored content with the given md5 hash
+	 * @param md5 md5 hash
+	 * @return stored content (which may not exist)
+	 */
+	public File getContent(String md5) {
+		String key = md5.toLowerCase();
+		return new File(new File(storeDir, key.substring(0, 2)), key);
+	}
+
+	/**
+	 * Store the given data and let the target file reference it. If a content with the md5 hash is already stored, the data is not stored again.
+	 * If the stored content differs from the data (which would be an md5 collision or a modified stored content), the data is moved to the
+	 * target file without storing it.
+	 * @param data file containing the data (will be moved into the store, to the target or deleted)
+	 * @param md5 md5 hash of the data
+	 * @param target target file (will be replaced)
+	 * @throws IOException
+	 */
+	public void store(File data, String md5, File target) throws IOException {
+		File content = getContent(md5);
+
+		synchronized (LOCK) {
+			if (content.exists()) {
+				if (!sameContent(content, data)) {
+					logger.warn(String.format("Stored content with md5 %s differs from the data, not using the stored content for %s", md5, target));
+					Files.move(data.toPath(), target.toPath(), REPLACE_EXISTING);
+					return;
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug(String.format("Content with md5 %s is already stored", md5));
+				}
+				Files.delete(data.toPath());
+			} else {
+				Files.createDirectories(content.getParentFile().toPath());
+				Files.move(data.toPath(), content.toPath(), REPLACE_EXISTING);
+			}
+			link(content, target);
+		}
+	}
+
+	/**
+	 * Check whether the given files have the same size and the same bytes
+	 * @param first first file
+	 * @param second second file
+	 * @return true iff the contents are the same
+	 * @throws IOException
+	 */
+	protected static boolean sameContent(File first, File second) throws IOException {
+		return first.length() == second.length() && Files.mismatch(first.toPath(), second.toPath()) == -1L;
+	}
+
+	/**
+	 * Remove all stored contents, which are not referenced anymore
+	 * @return purge result
+	 * @throws IOException
+	 */
+	public PurgeResult purge() throws IOException {
+		PurgeResult result = new PurgeResult();
+
+		if (!storeDir.isDirectory()) {
+			return result;
+		}
+
+		try (Stream<Path> contents = Files.walk(storeDir.toPath(), 2)) {
+			for (Iterator<Path> i = contents.filter(Files::isRegularFile).iterator(); i.hasNext();) {
+				File content = i.next().toFile();
+
+				synchronized (LOCK) {
+					if (getReferences(content) <= 0) {
+						long length = content.length();
+
+						Files.delete(content.toPath());
+						result.removed++;
+						result.bytes += length;
+					} else {
+						result.kept++;
+					}
+				}
+			}
+		}
+
+		if (logger.isInfoEnabled()) {
+			logger.info(String.format("Purged %s", result));
+		}
+		return result;
+	}
+
+	/**
+	 * Result of {@link ContentAddressedStore#purge()}
+	 */
+	public static class PurgeResult {
+		/**
+		 * Number of removed contents
+		 */
+		protected int removed;
+
+		/**
+		 * Number of freed bytes
+		 */
+		protected long bytes;
+
+		/**
+		 * Number of kept contents
+		 */
+		protected int kept;
+
+		/**
+		 * Get the number of removed contents
+		 * @return number
+		 */
+		public int getRemoved() {
+			return removed;
+		}
+
+		/**
+		 * Get the number of freed bytes
+		 * @return number of bytes
+		 */
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * Get the number of kept (still referenced) contents
+		 * @return number
+		 */
+		public int getKept() {
+			return kept;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d unreferenced binary contents (%d bytes), kept %d binary contents", removed, bytes, kept);
+		}
+	}
+}
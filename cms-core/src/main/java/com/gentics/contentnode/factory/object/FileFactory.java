@@ -232,6 +232,11 @@ public class FileFactory extends AbstractFactory {
 		 */
 		protected InputStream updateInputStream;
 
+		/**
+		 * File, from which the {@link #updateInputStream} was taken (when copying a file)
+		 */
+		protected File updateSourceFile;
+
 		protected transient NodeObjectInfo info;
 
 		/**
@@ -1288,6 +1293,7 @@ public class FileFactory extends AbstractFactory {
 
 				// copy the file content
 				updateInputStream = file.getFileStream();
+				updateSourceFile = file;
 
 				// copy the alternate URLs (which are not stored in the contentfile table)
 				if (NodeConfigRuntimeConfiguration.isFeature(Feature.NICE_URLS)) {
@@ -1429,6 +1435,7 @@ public class FileFactory extends AbstractFactory {
 			}
 			this.modified = true;
 			this.updateInputStream = stream;
+			this.updateSourceFile = null;
 		}
 
 		/*
@@ -2147,13 +2154,18 @@ public class FileFactory extends AbstractFactory {
 		// Check if we need to update/create the binary content as well
 		if (binaryUpdate) {
 			try {
-				file = (EditableFactoryFile) fileFactory.storeFileContents(file.updateInputStream, file, isNew);
+				if (file.updateSourceFile != null && ContentAddressedStore.isEnabled()) {
+					file = (EditableFactoryFile) fileFactory.shareFileContents(file.updateSourceFile, file);
+				} else {
+					file = (EditableFactoryFile) fileFactory.storeFileContents(file.updateInputStream, file, isNew);
+				}
 			} finally {
 				try {
 					file.updateInputStream.close();
 				} catch (IOException e2) {// ignore this
 				}
 				file.updateInputStream = null;
+				file.updateSourceFile = null;
 			}
 
 			// Identify the mimetype of the file and check if it changed with the new file
@@ -2406,23 +2418,8 @@ public class FileFactory extends AbstractFactory {
 		// Transform stream into hashingStream
 		try (MD5InputStream hashingStream = new MD5InputStream(stream)) {
 			try (CountingInputStream countingStream = new CountingInputStream(hashingStream)) {
-				Transaction t = TransactionManager.getCurrentTransaction();
-
-				// Get GCN Filesizelimit
-				NodePreferences prefs = t.getNodeConfig().getDefaultPreferences();
-				int filesizelimit = ObjectTransformer.getInt(prefs.getProperty("contentnode.maxfilesize"), -1);
-
-				// check whether the current user is member of one of the groups defined in NO_MAXFILESIZE
-				String[] noFilesizeLimitGroupIds = prefs.getProperties("no_max_filesize");
-				if (!ObjectTransformer.isEmpty(noFilesizeLimitGroupIds)) {
-					SystemUser currentUser = t.getObject(SystemUser.class, t.getUserId());
-					if (currentUser != null) {
-						List<String> groupIds = Arrays.asList(noFilesizeLimitGroupIds);
-						if (currentUser.getUserGroups().stream().anyMatch(group -> groupIds.contains(group.getId().toString()) || groupIds.contains(group.getName()))) {
-							filesizelimit = 0;
-						}
-					}
-				}
+				int filesizelimit = getFilesizeLimit();
+				String md5 = null;
 
 				java.io.File tmpFile = null;
 				java.io.File targetBackupFile = null;
@@ -2444,14 +2441,16 @@ public class FileFactory extends AbstractFactory {
 					}
 
 					// Check filesizelimit
-					if (filesizelimit > 0 && (countingStream.getByteCount() > filesizelimit)) {
-						logger.info("Filesize limit exceeded - deleting tmp dbfile");
+					checkFilesizeLimit(filesizelimit, countingStream.getByteCount());
 
-						I18nString i18nMessage = new CNI18nString("rest.file.upload.limit_reached");
+					// The hashing stream calculated the md5 hash while reading from it.
+					md5 = MD5.asHex(hashingStream.hash());
 
-						i18nMessage.setParameter("0", FileUtils.byteCountToDisplaySize(filesizelimit));
-						i18nMessage.setParameter("1", FileUtils.byteCountToDisplaySize(countingStream.getByteCount() - filesizelimit));
-						throw new FileSizeException(i18nMessage.toString());
+					if (ContentAddressedStore.isEnabled()) {
+						// store the content (if not already stored) and replace the tmp file with a link to it
+						java.io.File linkFile = new java.io.File(dbFilesDir, file.getId() + ".tmp");
+						ContentAddressedStore.get().store(tmpFile, md5, linkFile);
+						tmpFile = linkFile;
 					}
 
 					// Check was successful - now swap the files for real
@@ -2490,8 +2489,7 @@ public class FileFactory extends AbstractFactory {
 					}
 				}
 
-				// The hashing stream calculated the md5 hash while reading from it.
-				file.setMd5(MD5.asHex(hashingStream.hash()));
+				file.setMd5(md5);
 				// The byte count calculated while reading from stream
 				file.setFilesize((int) countingStream.getByteCount());
 			}
@@ -2501,6 +2499,82 @@ public class FileFactory extends AbstractFactory {
 		return file;
 	}
 
+	/**
+	 * Let the given file share the binary content of the source file (by linking it in the filesystem)
+	 * @param source source file
+	 * @param file file that should be stored
+	 * @return File with new attributes (MD5, Filesize)
+	 * @throws NodeException
+	 */
+	protected File shareFileContents(File source, File file) throws NodeException {
+		java.io.File sourceFile = getBinFile(source);
+		java.io.File targetFile = getBinFile(file);
+		java.io.File linkFile = new java.io.File(dbFilesDir, file.getId() + ".tmp");
+
+		checkFilesizeLimit(getFilesizeLimit(), sourceFile.length());
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Link dbfile of file with id { " + file.getId() + " } to " + sourceFile.getAbsolutePath());
+		}
+
+		try {
+			ContentAddressedStore.link(sourceFile, linkFile);
+			Files.move(linkFile.toPath(), targetFile.toPath(), REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new NodeException("Error while storing binary content for file with id { " + file.getId() + " } in the filesystem.", e);
+		} finally {
+			linkFile.delete();
+		}
+
+		file.setMd5(source.getMd5());
+		file.setFilesize((int) targetFile.length());
+		return file;
+	}
+
+	/**
+	 * Get the filesize limit for the current user
+	 * @return filesize limit (0 or negative for no limit)
+	 * @throws NodeException
+	 */
+	protected int getFilesizeLimit() throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransaction();
+
+		// Get GCN Filesizelimit
+		NodePreferences prefs = t.getNodeConfig().getDefaultPreferences();
+		int filesizelimit = ObjectTransformer.getInt(prefs.getProperty("contentnode.maxfilesize"), -1);
+
+		// check whether the current user is member of one of the groups defined in NO_MAXFILESIZE
+		String[] noFilesizeLimitGroupIds = prefs.getProperties("no_max_filesize");
+		if (!ObjectTransformer.isEmpty(noFilesizeLimitGroupIds)) {
+			SystemUser currentUser = t.getObject(SystemUser.class, t.getUserId());
+			if (currentUser != null) {
+				List<String> groupIds = Arrays.asList(noFilesizeLimitGroupIds);
+				if (currentUser.getUserGroups().stream().anyMatch(group -> groupIds.contains(group.getId().toString()) || groupIds.contains(group.getName()))) {
+					filesizelimit = 0;
+				}
+			}
+		}
+		return filesizelimit;
+	}
+
+	/**
+	 * Check whether the given filesize exceeds the filesize limit
+	 * @param filesizelimit filesize limit
+	 * @param filesize filesize
+	 * @throws FileSizeException if the limit is exceeded
+	 */
+	protected void checkFilesizeLimit(int filesizelimit, long filesize) throws FileSizeException {
+		if (filesizelimit > 0 && (filesize > filesizelimit)) {
+			logger.info("Filesize limit exceeded - deleting tmp dbfile");
+
+			I18nString i18nMessage = new CNI18nString("rest.file.upload.limit_reached");
+
+			i18nMessage.setParameter("0", FileUtils.byteCountToDisplaySize(filesizelimit));
+			i18nMessage.setParameter("1", FileUtils.byteCountToDisplaySize(filesize - filesizelimit));
+			throw new FileSizeException(i18nMessage.toString());
+		}
+	}
+
 	/**
 	 * Get the binary file for the given content file
 	 * @param file content file
@@ -112,6 +112,7 @@ import com.gentics.contentnode.rest.model.PageLanguageCode;
 import com.gentics.contentnode.rest.model.request.Permission;
 import com.gentics.contentnode.rest.util.MiscUtils;
 import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.contentnode.search.FullTextIndex;
 import com.gentics.lib.db.SQLExecutor;
 import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
@@ -1242,6 +1243,11 @@ public class FolderFactory extends AbstractFactory {
 					collectSubfolderIds(folderIds, Page.TYPE_PAGE, perms);
 				}
 
+				// when the full-text index is enabled, the pages with matching name, description (or content) are found in the index
+				Set<Integer> indexedIds = isStringSearch
+						? FullTextIndex.find(Page.TYPE_PAGE, search.getSearchString(), true, search.isSearchContent(), folderIds)
+						: null;
+
 				if (multiChannelling) {
 					boolean nodeIsChannel = getNode().isChannel();
 
@@ -1297,7 +1303,7 @@ public class FolderFactory extends AbstractFactory {
 						sql.append("LEFT JOIN publishworkflow_step wfs2 ON wf.id = wfs2.publishworkflow_id ");
 					}
 
-					if (isStringSearch && search.isSearchContent()) {
+					if (isStringSearch && search.isSearchContent() && indexedIds == null) {
 						sql.append("LEFT JOIN contenttag ON contenttag.content_id = page.content_id ");
 						sql.append("LEFT JOIN value ON value.contenttag_id = contenttag.id ");
 					}
@@ -1330,7 +1336,11 @@ public class FolderFactory extends AbstractFactory {
 							() -> sql.append(" AND (page.time_pub = 0 AND page.time_off = 0)"));
 
 					// do a string search
-					if (isStringSearch) {
+					if (isStringSearch && indexedIds != null) {
+						sql.append(" AND (page.id = ?").append(" OR LOWER(page.filename) LIKE ?").append(" OR LOWER(page.nice_url) LIKE ? OR LOWER(page_alt_url.url) LIKE ?");
+						appendIndexedIds(sql, "page.id", indexedIds);
+						sql.append(")");
+					} else if (isStringSearch) {
 						sql.append(" AND (page.id = ?").append(" OR LOWER(page.name) LIKE ?").append(" OR LOWER(page.filename) LIKE ?").append(
 								" OR LOWER(page.description) LIKE ? OR LOWER(page.nice_url) LIKE ? OR LOWER(page_alt_url.url) LIKE ?");
 						if (search.isSearchContent()) {
@@ -1463,7 +1473,15 @@ public class FolderFactory extends AbstractFactory {
 					}
 					stmt.setObject(pCounter++, getNode().getId());
 
-					if (isStringSearch) {
+					if (isStringSearch && indexedIds != null) {
+						String pattern_like = "%" + search.getSearchString() + "%";
+
+						// add search term for id, filename, nice_url, page_alt_url.url (the other properties were searched in the full-text index)
+						stmt.setObject(pCounter++, search.getSearchString());
+						stmt.setObject(pCounter++, pattern_like);
+						stmt.setObject(pCounter++, pattern_like);
+						stmt.setObject(pCounter++, pattern_like);
+					} else if (isStringSearch) {
 						String pattern_nolike = search.getSearchString();
 						String pattern_like = "%" + search.getSearchString() + "%";
 
@@ -1593,7 +1611,7 @@ public class FolderFactory extends AbstractFactory {
 						if (search.isWorkflowWatch()) {
 							sql.append("LEFT JOIN publishworkflow_step wfs2 ON wf.id = wfs2.publishworkflow_id ");
 						}
-						if (isStringSearch && search.isSearchContent()) {
+						if (isStringSearch && search.isSearchContent() && indexedIds == null) {
 							sql.append("LEFT JOIN contenttag ON contenttag.content_id = page.content_id ");
 							sql.append("LEFT JOIN value ON value.contenttag_id = contenttag.id ");
 						}
@@ -1623,7 +1641,11 @@ public class FolderFactory extends AbstractFactory {
 								() -> sql.append(" AND (page.time_pub = 0 AND page.time_off = 0)"));
 
 						// do a string search
-						if (isStringSearch) {
+						if (isStringSearch && indexedIds != null) {
+							sql.append(" AND (page.id = ?").append(" OR LOWER(page.filename) LIKE ?").append(" OR LOWER(page.nice_url) LIKE ? OR LOWER(page_alt_url.url) LIKE ?");
+							appendIndexedIds(sql, "page.id", indexedIds);
+							sql.append(")");
+						} else if (isStringSearch) {
 							sql.append(" AND (page.id = ?").append(" OR LOWER(page.name) LIKE ?").append(" OR LOWER(page.filename) LIKE ?").append(
 									" OR LOWER(page.description) LIKE ? OR LOWER(page.nice_url) LIKE ? OR LOWER(page_alt_url.url) LIKE ?");
 							if (search.isSearchContent()) {
@@ -1749,7 +1771,15 @@ public class FolderFactory extends AbstractFactory {
 							stmt.setObject(pCounter++, fId);
 						}
 
-						if (isStringSearch) {
+						if (isStringSearch && indexedIds != null) {
+							String pattern_like = "%" + search.getSearchString() + "%";
+
+							// add search term for id, filename, nice_url, page_alt_url.url (the other properties were searched in the full-text index)
+							stmt.setObject(pCounter++, search.getSearchString());
+							stmt.setObject(pCounter++, pattern_like);
+							stmt.setObject(pCounter++, pattern_like);
+							stmt.setObject(pCounter++, pattern_like);
+						} else if (isStringSearch) {
 							String pattern_nolike = search.getSearchString();
 							String pattern_like = "%" + search.getSearchString() + "%";
 
@@ -2093,6 +2123,9 @@ public class FolderFactory extends AbstractFactory {
 					collectSubfolderIds(folderIds, File.TYPE_FILE, PermHandler.PERM_VIEW);
 				}
 
+				// when the full-text index is enabled, the files with matching name or description are found in the index
+				Set<Integer> indexedIds = isStringSearch ? FullTextIndex.find(File.TYPE_FILE, search.getSearchString(), true, false, folderIds) : null;
+
 				if (multiChannelling) {
 					boolean nodeIsChannel = getNode().isChannel();
 
@@ -2111,7 +2144,7 @@ public class FolderFactory extends AbstractFactory {
 
 					sql.append(StringUtils.repeat("?", folderIds.size(), ",")).append(")");
 
-					appendFileSearchSql(sql, search, loadType);
+					appendFileSearchSql(sql, search, loadType, indexedIds);
 					sql.append(" AND contentfile.channel_id IN (").append(StringUtils.repeat("?", masterNodes.size() + 2, ",")).append(")");
 
 					sql.append(wastebin.filterClause("contentfile"));
@@ -2124,7 +2157,7 @@ public class FolderFactory extends AbstractFactory {
 						stmt.setObject(pCounter++, fId);
 					}
 
-					pCounter = setFileSearchSqlValues(stmt, search, pCounter);
+					pCounter = setFileSearchSqlValues(stmt, search, indexedIds, pCounter);
 					// always search for files without channel_id
 					stmt.setObject(pCounter++, 0);
 					// ... and belonging to this channel
@@ -2176,7 +2209,7 @@ public class FolderFactory extends AbstractFactory {
 					sql.append(StringUtils.repeat("?", folderIds.size(), ","));
 					sql.append(")");
 
-					appendFileSearchSql(sql, search, loadType);
+					appendFileSearchSql(sql, search, loadType, indexedIds);
 					sql.append(wastebin.filterClause("contentfile"));
 
 					stmt = t.prepareStatement(sql.toString());
@@ -2186,7 +2219,7 @@ public class FolderFactory extends AbstractFactory {
 					for (Integer fId : folderIds) {
 						stmt.setObject(pCounter++, fId);
 					}
-					pCounter = setFileSearchSqlValues(stmt, search, pCounter);
+					pCounter = setFileSearchSqlValues(stmt, search, indexedIds, pCounter);
 
 					rs = stmt.executeQuery();
 
@@ -2204,12 +2237,25 @@ public class FolderFactory extends AbstractFactory {
 			}
 		}
 
+		/**
+		 * Append an OR clause restricting the column to the ids found in the full-text index (if any ids were found).
+		 * The number of ids is limited by the maximum number of hits of the index.
+		 * @param sql SQL statement
+		 * @param column id column
+		 * @param indexedIds ids found in the full-text index
+		 */
+		private void appendIndexedIds(StringBuffer sql, String column, Set<Integer> indexedIds) {
+			if (!indexedIds.isEmpty()) {
+				sql.append(" OR ").append(column).append(" IN (").append(StringUtils.merge(indexedIds.toArray(), ",")).append(")");
+			}
+		}
+
 		/**
 		 * Will append to the given StringBuffer a SQL expression representing the given
 		 * FileSearch and loadType.
 		 *
 		 * Will use '?' characters in place of values. To get the values the resulting
-		 * SQL must be made part of a PreparedStatment and {@link #setFileSearchSqlValues(PreparedStatement, FileSearch, int)}
+		 * SQL must be made part of a PreparedStatment and {@link #setFileSearchSqlValues(PreparedStatement, FileSearch, Set, int)}
 		 * must be invoked on the PreparedStatement.
 		 *
 		 * @param sql
@@ -2222,13 +2268,20 @@ public class FolderFactory extends AbstractFactory {
 		 * 			One of LOAD_FILES and LOAD_IMAGES which can be used to
 		 * 			the condition to match only one or the other. If none of these
 		 * 			two values are given, both types will appear in the result.
+		 * @param indexedIds
+		 * 			Ids of the files with matching name or description found in the full-text index,
+		 * 			null if the full-text index was not used.
 		 * @return
 		 * 			The given StringBuffer
 		 */
-		private StringBuffer appendFileSearchSql(StringBuffer sql, FileSearch search, int loadType) {
+		private StringBuffer appendFileSearchSql(StringBuffer sql, FileSearch search, int loadType, Set<Integer> indexedIds) {
 			boolean isStringSearch = !ObjectTransformer.isEmpty(search.getSearchString()); //
 
-			if (isStringSearch) {
+			if (isStringSearch && indexedIds != null) {
+				sql.append(" AND (contentfile.id = ? OR LOWER(contentfile.nice_url) LIKE ? OR LOWER(contentfile_alt_url.url) LIKE ?");
+				appendIndexedIds(sql, "contentfile.id", indexedIds);
+				sql.append(")");
+			} else if (isStringSearch) {
 				sql.append(" AND (contentfile.id = ? OR name LIKE ? OR description LIKE ? OR LOWER(contentfile.nice_url) LIKE ? OR LOWER(contentfile_alt_url.url) LIKE ?)");
 			}
 
@@ -2306,12 +2359,14 @@ public class FolderFactory extends AbstractFactory {
 
 		/**
 		 * Will set the values of a PreparedStatement according to the given FileSearch.
-		 * To be used in conjunction with {@link #appendFileSearchSql(StringBuffer, FileSearch, int)}.
+		 * To be used in conjunction with {@link #appendFileSearchSql(StringBuffer, FileSearch, int, Set)}.
 		 *
 		 * @param stmt
 		 * 			The PreparedStatement that will receive the values.
 		 * @param search
 		 * 			The FileSearch according to which the values will be set.
+		 * @param indexedIds
+		 * 			Ids of the files found in the full-text index, null if the full-text index was not used.
 		 * @param pCounter
 		 * 			The index value to use with {@link PreparedStatement#setObject(int, Object)}.
 		 * 			Must be the index of the first value to be set.
@@ -2320,10 +2375,17 @@ public class FolderFactory extends AbstractFactory {
 		 * 			incremented by 1 (can be used to set the next value).
 		 * @throws SQLException
 		 */
-		private int setFileSearchSqlValues(PreparedStatement stmt, FileSearch search, int pCounter) throws SQLException {
+		private int setFileSearchSqlValues(PreparedStatement stmt, FileSearch search, Set<Integer> indexedIds, int pCounter) throws SQLException {
 			boolean isStringSearch = !ObjectTransformer.isEmpty(search.getSearchString());
 
-			if (isStringSearch) {
+			if (isStringSearch && indexedIds != null) {
+				String pattern_like = "%" + search.getSearchString() + "%";
+
+				// add search term for id, nice_url, contentfile_alt_url.url (name and description were searched in the full-text index)
+				stmt.setObject(pCounter++, search.getSearchString());
+				stmt.setObject(pCounter++, pattern_like);
+				stmt.setObject(pCounter++, pattern_like);
+			} else if (isStringSearch) {
 				String pattern_nolike = search.getSearchString();
 				String pattern_like = "%" + search.getSearchString() + "%";
 
@@ -12,6 +12,7 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
@@ -20,15 +21,22 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -49,6 +57,7 @@ import com.gentics.contentnode.db.DBUtils;
 import com.gentics.contentnode.etc.BiConsumer;
 import com.gentics.contentnode.etc.BiFunction;
 import com.gentics.contentnode.etc.NodeConfig;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
 import com.gentics.contentnode.factory.ChannelTrx;
 import com.gentics.contentnode.factory.HandleDependenciesTrx;
 import com.gentics.contentnode.factory.Transaction;
@@ -60,10 +69,12 @@ import com.gentics.contentnode.object.ImageFile;
 import com.gentics.contentnode.object.Node;
 import com.gentics.contentnode.publish.CnMapPublisher;
 import com.gentics.contentnode.publish.FilePublisher;
+import com.gentics.contentnode.publish.PublishInterruptedException;
 import com.gentics.contentnode.publish.mesh.MeshPublisher;
 import com.gentics.contentnode.render.PublishRenderResult;
 import com.gentics.contentnode.render.RenderResult;
 import com.gentics.contentnode.runtime.ConfigurationValue;
+import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
 import com.gentics.lib.cache.JCSPortalCache;
 import com.gentics.lib.db.IntegerColumnRetriever;
 import com.gentics.lib.db.SQLExecutor;
@@ -134,6 +145,50 @@ public class CNGenticsImageStore extends GenticsImageStore {
 	public final static String WEBP_QUALITY_CONF = "image_resizer_webp_quality";
 	public final static String WEBP_LOSSLESS_CONF = "image_resizer_webp_lossless";
 
+	/**
+	 * Name of the configuration parameter for the number of concurrent resize operations
+	 */
+	public final static String SEMAPHORE_PERMITS = "gis_requests";
+
+	/**
+	 * Default number of concurrent resize operations
+	 */
+	public final static int DEFAULT_SEMAPHORE_PERMITS = 10;
+
+	/**
+	 * Timeout in minutes for acquiring a permit of the shared semaphore while publishing
+	 */
+	protected final static int SHARED_SEMAPHORE_TIMEOUT = 10;
+
+	/**
+	 * Semaphore, which is shared between the GenticsImageStore servlet and the publish process
+	 */
+	private static Semaphore sharedSemaphore;
+
+	/**
+	 * Number of permits of the shared semaphore
+	 */
+	private static int sharedSemaphorePermits = DEFAULT_SEMAPHORE_PERMITS;
+
+	/**
+	 * Get the semaphore, which limits the number of concurrent resize operations (and therefore the memory usage) of the GenticsImageStore servlet
+	 * and the publish process
+	 * @return shared semaphore
+	 */
+	public static synchronized Semaphore getSharedSemaphore() {
+		if (sharedSemaphore == null) {
+			try {
+				sharedSemaphorePermits = ObjectTransformer.getInt(NodeConfigRuntimeConfiguration.getPreferences().getProperty(SEMAPHORE_PERMITS),
+						DEFAULT_SEMAPHORE_PERMITS);
+			} catch (Exception e) {
+				logger.warn("Could not read configuration for " + SEMAPHORE_PERMITS + ", using default " + DEFAULT_SEMAPHORE_PERMITS, e);
+			}
+			sharedSemaphorePermits = Math.max(1, sharedSemaphorePermits);
+			sharedSemaphore = new Semaphore(sharedSemaphorePermits, true);
+		}
+		return sharedSemaphore;
+	}
+
 	public CNGenticsImageStore(NodeConfig config) {
 		this(config, null);
 	}
@@ -325,6 +380,9 @@ public class CNGenticsImageStore extends GenticsImageStore {
 
 	/**
 	 * Renders all images from the imagestoreimage table that are not up-to-date.
+	 * The variants are grouped by their source image, every source image is decoded only once and the variants of different
+	 * source images are rendered in parallel. Every worker holds a permit of the {@link #getSharedSemaphore() shared semaphore} while
+	 * rendering the variants of a source image, the number of workers is limited by {@link #getRendererThreads(int, int)}.
 	 * @param publisher gets kept alive if specified
 	 * @param gisImageIds IDs of imagestoreimage entries, which are used for publishing into the filesystem
 	 * @return information about processed images
@@ -333,7 +391,7 @@ public class CNGenticsImageStore extends GenticsImageStore {
 	public GenticsImageStoreResult renderImages(CnMapPublisher publisher, Set<Integer> gisImageIds) throws NodeException {
 		imageStoreResult = new GenticsImageStoreResult(0, 0);
 		Transaction t = TransactionManager.getCurrentTransaction();
-		final Map<Integer, ImageDescription> toUpdate = new HashMap<Integer, CNGenticsImageStore.ImageDescription>();
+		final Map<Integer, List<ImageDescription>> toUpdate = new HashMap<>();
 		// We need to access data written in the publish transaction, so we declare this to be an update statement.
 		DBUtils.executeStatement("SELECT ii.id, ii.contentfile_id, ii.transform FROM imagestoreimage ii LEFT JOIN contentfile cf ON cf.id = ii.contentfile_id WHERE IFNULL(ii.hash_orig <> cf.md5, TRUE)", new SQLExecutor() {
 			@Override
@@ -341,23 +399,229 @@ public class CNGenticsImageStore extends GenticsImageStore {
 				while(rs.next()) {
 					int id = rs.getInt("id");
 					if (gisImageIds.contains(id)) {
-						toUpdate.put(id, new ImageDescription(id, rs.getInt("contentfile_id"), rs.getString("transform")));
+						int contentfileId = rs.getInt("contentfile_id");
+						toUpdate.computeIfAbsent(contentfileId, key -> new ArrayList<>()).add(new ImageDescription(id, contentfileId, rs.getString("transform")));
 					}
 				}
 			}
 		}, Transaction.UPDATE_STATEMENT);
-		for (Entry<Integer, ImageDescription> entry : toUpdate.entrySet()) {
-			if (publisher != null) {
-				publisher.keepContentmapsAlive();
+
+		if (toUpdate.isEmpty()) {
+			return imageStoreResult;
+		}
+
+		// load the source images here, because the workers do not have a transaction
+		List<SourceImage> sourceImages = new ArrayList<>(toUpdate.size());
+		for (Entry<Integer, List<ImageDescription>> entry : toUpdate.entrySet()) {
+			ImageFile image = t.getObject(ImageFile.class, entry.getKey());
+			if (image == null) {
+				logger.error("Could not find image {" + entry.getKey() + "} for resizing");
+				throw new NodeException("Could not find image {" + entry.getKey() + "} for resizing");
+			}
+			sourceImages.add(new SourceImage(image, entry.getValue()));
+		}
+
+		Semaphore s = getSharedSemaphore();
+		int threads = getRendererThreads(Runtime.getRuntime().availableProcessors(), sharedSemaphorePermits);
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new PrefixedThreadFactory("gis-renderer"));
+		List<Object[]> updates = new ArrayList<>();
+
+		try {
+			Map<SourceImage, Future<List<RenderedVariant>>> futures = new LinkedHashMap<>();
+			for (SourceImage sourceImage : sourceImages) {
+				futures.put(sourceImage, executor.submit(() -> renderVariants(sourceImage, s)));
+			}
+
+			for (Entry<SourceImage, Future<List<RenderedVariant>>> entry : futures.entrySet()) {
+				SourceImage sourceImage = entry.getKey();
+				List<RenderedVariant> rendered = null;
+				while (rendered == null) {
+					if (publisher != null) {
+						publisher.keepContentmapsAlive();
+					}
+					try {
+						rendered = entry.getValue().get(1, TimeUnit.SECONDS);
+					} catch (TimeoutException e) {
+						PublishRenderResult.checkInterrupted();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new PublishInterruptedException("Publish process has been interrupted while resizing images", e);
+					} catch (ExecutionException e) {
+						if (e.getCause() instanceof NodeException) {
+							throw (NodeException) e.getCause();
+						} else {
+							throw new NodeException("Error while resizing image {" + sourceImage.id + "}", e.getCause());
+						}
+					}
+				}
+
+				for (RenderedVariant variant : rendered) {
+					imageStoreResult.setTotal(imageStoreResult.getTotal() + 1);
+					if (variant.resized) {
+						imageStoreResult.setResized(imageStoreResult.getResized() + 1);
+					}
+					updates.add(new Object[] { sourceImage.edate, variant.hash, sourceImage.md5, variant.id });
+				}
 			}
-			String hash = resizeImage(entry.getValue());
-			ImageFile imageFile = t.getObject(ImageFile.class, entry.getValue().contentfileId);
-			DBUtils.executeUpdate("UPDATE imagestoreimage SET edate = ?, hash = ?, hash_orig = ? WHERE id = ?",
-					new Object[] { imageFile.getEDate().getTimestamp(), hash, imageFile.getMd5(), entry.getKey() });
+		} finally {
+			executor.shutdownNow();
 		}
+
+		DBUtils.executeBatchUpdate("UPDATE imagestoreimage SET edate = ?, hash = ?, hash_orig = ? WHERE id = ?", updates);
 		return imageStoreResult;
 	}
 
+	/**
+	 * Get the number of threads for rendering images while publishing. At least one permit of the shared semaphore is left to the
+	 * GenticsImageStore servlet, so that live resize requests are not starved while publishing.
+	 * @param processors number of available processors
+	 * @param permits number of permits of the shared semaphore
+	 * @return number of threads (at least 1)
+	 */
+	protected static int getRendererThreads(int processors, int permits) {
+		return Math.max(1, Math.min(processors, permits - 1));
+	}
+
+	/**
+	 * Render all variants of the given source image. The source image is decoded at most once.
+	 * @param sourceImage source image
+	 * @param semaphore semaphore, which limits the number of images processed concurrently
+	 * @return list of rendered variants
+	 * @throws NodeException
+	 */
+	protected List<RenderedVariant> renderVariants(SourceImage sourceImage, Semaphore semaphore) throws NodeException {
+		List<RenderedVariant> rendered = new ArrayList<>(sourceImage.variants.size());
+		boolean lock = false;
+		try {
+			lock = semaphore.tryAcquire(SHARED_SEMAPHORE_TIMEOUT, TimeUnit.MINUTES);
+			if (!lock) {
+				throw new NodeException(String.format("Timeout (%d %s) while waiting for semaphore", SHARED_SEMAPHORE_TIMEOUT, TimeUnit.MINUTES));
+			}
+
+			for (ImageDescription variant : sourceImage.variants) {
+				// check whether publish process shall be interrupted
+				PublishRenderResult.checkInterrupted();
+
+				RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_HANDLEPAGE);
+				try {
+					// the permit is already held, so resizing must not acquire another one
+					rendered.add(renderVariant(sourceImage, variant, null));
+				} finally {
+					RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_HANDLEPAGE);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PublishInterruptedException("Resizing image {" + sourceImage.id + "} has been interrupted", e);
+		} finally {
+			if (lock) {
+				semaphore.release();
+			}
+		}
+		return rendered;
+	}
+
+	/**
+	 * Render a single variant of the source image: get the resized image from the cache or resize it and write it into the storage directory.
+	 * @param sourceImage source image
+	 * @param variant variant to render
+	 * @param s optional semaphore for locking of the resize operation (may be null)
+	 * @return rendered variant
+	 * @throws NodeException
+	 */
+	protected RenderedVariant renderVariant(SourceImage sourceImage, ImageDescription variant, Semaphore s) throws NodeException {
+		// flag if image should be cropped before resize
+		boolean cropAndResize = false;
+
+		Matcher m = TRANSFORM_PATTERN.matcher(variant.transform);
+		if (!m.matches()) {
+			throw new NodeException("Couldn't parse " + variant.transform);
+		}
+		String width = m.group("width");
+		String height = m.group("height");
+		String mode = m.group("mode");
+		if (mode == null) {
+			mode = m.group("cropmode");
+			cropAndResize = true;
+		}
+
+		// crop parameters
+		String topleft_x = m.group("tlx");
+		String topleft_y = m.group("tly");
+		String cropwidth = m.group("cw");
+		String cropheight = m.group("ch");
+
+		RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_CREATECACHEKEY);
+
+		Object cacheKey = null;
+
+		if (cropAndResize) {
+			cacheKey = createCropCacheKey(sourceImage.id + "", mode, width, height, topleft_x, topleft_y, cropwidth, cropheight, sourceImage.edate);
+		} else {
+			cacheKey = createCacheKey(sourceImage.id + "", mode, width, height, sourceImage.edate);
+		}
+
+		RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_CREATECACHEKEY);
+
+		if (cacheKey == null) {
+			handleError("Could not create cacheKey for image {" + sourceImage.id + "}", null, true);
+			throw new NodeException("Couldn't resize image");
+		}
+
+		RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_GETCACHE);
+
+		FileInformation resizedImage = getCachedImage(cacheKey);
+
+		RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_GETCACHE);
+		File originalFile = sourceImage.binFile;
+		boolean resized = false;
+		if (resizedImage == null) {
+			try {
+				RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_RESIZE);
+				resizedImage = invokeGIS(mode, width, height, cropAndResize, topleft_x, topleft_y, cropwidth, cropheight, originalFile.getAbsolutePath(),
+						sourceImage.filename, sourceImage.filetype, sourceImage.getDecoded(), s);
+				resized = true;
+			} catch (NodeException e) {
+				handleError("Error while resizing image {" + sourceImage.id + "} imagePath: {" + originalFile.getAbsolutePath() + "}", e, true);
+				throw new NodeException("Couldn't resize image", e);
+			} finally {
+				RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_RESIZE);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Successfully resized image {" + originalFile.getAbsolutePath() + "} to {" + width + "/" + height + "/" + mode + "}");
+			}
+		} else if (logger.isDebugEnabled()) {
+			logger.debug("Fetched resized image {" + originalFile.getAbsolutePath() + "} from cache");
+		}
+
+		// store the file at the filepath
+		try {
+			RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_WRITE);
+			File resizedFile = writeHashedImage(resizedImage);
+			RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_WRITE);
+
+			if (logger.isDebugEnabled()) {
+				logger.debug("Written resized image to {" + resizedFile + "}");
+			}
+			long lastModified = originalFile.lastModified();
+
+			if (logger.isDebugEnabled()) {
+				logger.debug("Setting modification date ... to {" + lastModified + "}");
+			}
+			if (lastModified > 0L) {
+				if (!resizedFile.setLastModified(lastModified)) {
+					logger.warn("Unable to set modification timestamp of {" + resizedFile + "} to {" + lastModified + "}");
+				}
+			} else {
+				logger.warn("Unable to retrieve modification timestamp from {" + originalFile.getAbsolutePath() + "}");
+			}
+			return new RenderedVariant(variant.id, resizedFile.getName(), resized);
+		} catch (IOException e) {
+			handleError("Error while writing to target file for image {" + sourceImage.id + "}", e, true);
+			throw new NodeException(e);
+		}
+	}
+
 	/**
 	 * Creates hardlinks in the pub folder according to the imagestoretarget entries
 	 */
@@ -532,27 +796,6 @@ public class CNGenticsImageStore extends GenticsImageStore {
 		RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_HANDLEPAGE);
 		try {
 			Transaction t = TransactionManager.getCurrentTransaction();
-			// flag if image should be cropped before resize
-			boolean cropAndResize = false;
-
-			Matcher m = TRANSFORM_PATTERN.matcher(task.transform);
-			if (!m.matches()) {
-				throw new NodeException("Couldn't parse " + task.transform);
-			}
-			String width = m.group("width");
-			String height = m.group("height");
-			String mode = m.group("mode");
-			if (mode == null) {
-				mode = m.group("cropmode");
-				cropAndResize = true;
-			}
-
-			// crop parameters
-			String topleft_x = m.group("tlx");
-			String topleft_y = m.group("tly");
-			String cropwidth = m.group("cw");
-			String cropheight = m.group("ch");
-
 			ImageFile image = t.getObject(ImageFile.class, task.contentfileId);
 
 			if (image == null) {
@@ -560,85 +803,12 @@ public class CNGenticsImageStore extends GenticsImageStore {
 				throw new NodeException("Could not find image {" + task.contentfileId + "} for resizing");
 			}
 
-			RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_CREATECACHEKEY);
-
-			Object cacheKey = null;
-
-			if (cropAndResize) {
-				cacheKey = createCropCacheKey(image.getId() + "", mode, width, height, topleft_x, topleft_y, cropwidth,
-						cropheight, image.getEDate().getIntTimestamp());
-			} else {
-				cacheKey = createCacheKey(image.getId() + "", mode, width, height, image.getEDate().getIntTimestamp());
-			}
-
-			RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_CREATECACHEKEY);
-
-			if (cacheKey != null) {
-
-				RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_GETCACHE);
-
-				FileInformation resizedImage = getCachedImage(cacheKey);
-
-				RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_GETCACHE);
-				File originalFile = image.getBinFile();
-				if (resizedImage == null) {
-					try {
-						// TODO load image from dbfiles, not originalfilepath? like this problem situations like disabled nodes
-						// are avoided.
-						try {
-							RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_RESIZE);
-							resizedImage = invokeGIS(mode, width, height, cropAndResize, topleft_x, topleft_y, cropwidth, cropheight,
-								image);
-							imageStoreResult.setResized(imageStoreResult.getResized()+1);
-
-						} finally {
-							RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_RESIZE);
-						}
-						if (logger.isDebugEnabled()) {
-							logger.debug("Successfully resized image {" + originalFile.getAbsolutePath() + "} to {" + width + "/" + height + "/" + mode + "}");
-						}
-						// put the image into the cache
-					} catch (NodeException e) {
-						handleError("Error while resizing image {" + image.getId() + "} imagePath: {" + originalFile.getAbsolutePath() + "}", e, true);
-					}
-				} else if (logger.isDebugEnabled()) {
-					logger.debug("Fetched resized image {" + originalFile.getAbsolutePath() + "} from cache");
-				}
-
-				// store the file at the filepath
-				if (resizedImage != null) {
-					imageStoreResult.setTotal(imageStoreResult.getTotal()+1);
-					try {
-						RuntimeProfiler.beginMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_WRITE);
-						File resizedFile = writeHashedImage(resizedImage);
-						RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_WRITE);
-
-						if (logger.isDebugEnabled()) {
-							logger.debug("Written resized image to {" + resizedFile + "}");
-						}
-						long lastModified = originalFile.lastModified();
-
-						if (logger.isDebugEnabled()) {
-							logger.debug("Setting modification date ... to {" + lastModified + "}");
-						}
-						if (lastModified > 0L) {
-							if (!resizedFile.setLastModified(lastModified)) {
-								logger.warn("Unable to set modification timestamp of {" + resizedFile + "} to {" + lastModified + "}");
-							}
-						} else {
-							logger.warn("Unable to retrieve modification timestamp from {" + originalFile.getAbsolutePath() + "}");
-						}
-						return resizedFile.getName();
-					} catch (IOException e) {
-						handleError("Error while writing to target file for image {" + image + "}", e, true);
-						throw new NodeException(e);
-					}
-				}
-			} else {
-				handleError("Could not create cacheKey for image {" + image + "}", null, true);
+			RenderedVariant rendered = renderVariant(new SourceImage(image, Collections.singletonList(task)), task, semaphore);
+			imageStoreResult.setTotal(imageStoreResult.getTotal() + 1);
+			if (rendered.resized) {
+				imageStoreResult.setResized(imageStoreResult.getResized() + 1);
 			}
-
-			throw new NodeException("Couldn't resize image");
+			return rendered.hash;
 		} finally {
 			RuntimeProfiler.endMark(JavaParserConstants.PUBLISHER_WRITEFS_IMAGERESIZER_HANDLEPAGE);
 		}
@@ -676,10 +846,8 @@ public class CNGenticsImageStore extends GenticsImageStore {
 			String digest = Hex.encodeHexString(md.digest());
 			File targetFile = new File(storageDirectory, digest.substring(0, 2) + "/" + digest);
 			targetFile.getParentFile().mkdirs();
-			if (targetFile.exists()) {
-				Files.delete(targetFile.toPath());
-			}
-			Files.move(tempFile.toPath(), targetFile.toPath());
+			// images with the same content may be written concurrently, so we replace existing files
+			Files.move(tempFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 			return targetFile;
 		} catch (NoSuchAlgorithmException e) {
 			// Should not happen
@@ -1306,6 +1474,64 @@ public class CNGenticsImageStore extends GenticsImageStore {
 		}
 	}
 
+	/**
+	 * Source image with the variants, which need to be rendered. The data of the image is read from the {@link ImageFile} when the instance is created,
+	 * because the instance is used in threads without transaction.
+	 */
+	protected static class SourceImage {
+		protected final int id;
+		protected final File binFile;
+		protected final int edate;
+		protected final String md5;
+		protected final String filename;
+		protected final String filetype;
+		protected final List<ImageDescription> variants;
+		protected DecodedImage decoded;
+		protected boolean decodeFailed;
+
+		protected SourceImage(ImageFile image, List<ImageDescription> variants) throws NodeException {
+			this.id = image.getId();
+			this.binFile = image.getBinFile();
+			this.edate = image.getEDate().getIntTimestamp();
+			this.md5 = image.getMd5();
+			this.filename = image.getFilename();
+			this.filetype = image.getFiletype();
+			this.variants = variants;
+		}
+
+		/**
+		 * Get the decoded source image. The source image is only decoded, when more than one variant is rendered from it,
+		 * single variants are resized from the file.
+		 * @return decoded source image or null
+		 */
+		protected DecodedImage getDecoded() {
+			if (decoded == null && !decodeFailed && variants.size() > 1) {
+				try {
+					decoded = GenticsImageStore.decode(binFile);
+				} catch (NodeException e) {
+					logger.warn("Could not decode image {" + id + "} imagePath: {" + binFile.getAbsolutePath() + "}, will resize from file", e);
+					decodeFailed = true;
+				}
+			}
+			return decoded;
+		}
+	}
+
+	/**
+	 * Rendered variant of an image
+	 */
+	protected static class RenderedVariant {
+		protected final int id;
+		protected final String hash;
+		protected final boolean resized;
+
+		protected RenderedVariant(int id, String hash, boolean resized) {
+			this.id = id;
+			this.hash = hash;
+			this.resized = resized;
+		}
+	}
+
 	/**
 	 * This immutable class represents an entry in the imagestoretarget table.
 	 * @author escitalopram
@@ -1485,7 +1711,31 @@ public class CNGenticsImageStore extends GenticsImageStore {
 	 */
 	protected FileInformation invokeGIS(String mode, String width, String height, boolean cropImage, String topleftx, String toplefty, String cwidth, String cheight,
 			ImageFile sourceImage) throws NodeException {
-		String filePath = sourceImage.getBinFile().getAbsolutePath();
+		return invokeGIS(mode, width, height, cropImage, topleftx, toplefty, cwidth, cheight, sourceImage.getBinFile().getAbsolutePath(),
+				sourceImage.getFilename(), sourceImage.getFiletype(), null, semaphore);
+	}
+
+	/**
+	 * Invokes the GIS and returns the resized image
+	 *
+	 * @param mode
+	 * @param width
+	 * @param height
+	 * @param cropImage
+	 * @param topleftx
+	 * @param toplefty
+	 * @param cwidth
+	 * @param cheight
+	 * @param filePath path of the source image file
+	 * @param filename filename of the source image
+	 * @param filetype filetype of the source image
+	 * @param decoded optional decoded source image (may be null)
+	 * @param s optional semaphore for locking (may be null)
+	 * @return FileInformation containing the resized image data
+	 * @throws NodeException
+	 */
+	protected FileInformation invokeGIS(String mode, String width, String height, boolean cropImage, String topleftx, String toplefty, String cwidth, String cheight,
+			String filePath, String filename, String filetype, DecodedImage decoded, Semaphore s) throws NodeException {
 
 		mode = transformMode(mode);
 		String filterChain = "smart".equals(mode) ? SmarterResizeFilter.class.getCanonicalName() : ResizeFilter.class.getCanonicalName();
@@ -1530,7 +1780,6 @@ public class CNGenticsImageStore extends GenticsImageStore {
 		GenticsImageStoreResizeResponse response;
 
 		boolean lock = false;
-		Semaphore s = semaphore;
 		TimeUnit unit = tryTimeoutUnit;
 		long timeout = tryTimeout;
 		try {
@@ -1541,7 +1790,11 @@ public class CNGenticsImageStore extends GenticsImageStore {
 				}
 			}
 			try {
-				response = handleResizeAction(filePath, null, null, null, cropImage, null, filterChain, filterChainProperties, cropProperties);
+				if (decoded != null) {
+					response = handleResizeAction(decoded, cropImage, filterChain, filterChainProperties, cropProperties);
+				} else {
+					response = handleResizeAction(filePath, null, null, null, cropImage, null, filterChain, filterChainProperties, cropProperties);
+				}
 				if (response != null) {
 					return response.getFileInformation();
 				} else {
@@ -1583,7 +1836,7 @@ public class CNGenticsImageStore extends GenticsImageStore {
 						}
 					}
 				}
-				return new FileInformation(sourceImage.getFilename(), file.length(), sourceImage.getFiletype(), bytes);
+				return new FileInformation(filename, file.length(), filetype, bytes);
 			} else {
 				throw new NodeException(msg);
 			}
@@ -0,0 +1,161 @@
+package com.gentics.contentnode.jmx;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DirtQueueInfo Management Bean
+ */
+public class DirtQueueInfo implements DirtQueueInfoMBean, Serializable {
+	/**
+	 * Serial Version UID
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Number of handled entries
+	 */
+	protected AtomicLong processedEntries = new AtomicLong();
+
+	/**
+	 * Number of failed entries
+	 */
+	protected AtomicLong failedEntries = new AtomicLong();
+
+	/**
+	 * Processing time in ms
+	 */
+	protected AtomicLong processingTime = new AtomicLong();
+
+	/**
+	 * Lag of the last handled entry in seconds
+	 */
+	protected volatile long lastLag;
+
+	/**
+	 * Maximum lag in seconds
+	 */
+	protected AtomicLong maxLag = new AtomicLong();
+
+	/**
+	 * Number of worker threads
+	 */
+	protected volatile int workerThreads = 1;
+
+	/**
+	 * Size of the last batch
+	 */
+	protected volatile int lastBatchSize;
+
+	/**
+	 * Number of wake-ups
+	 */
+	protected AtomicLong wakeUps = new AtomicLong();
+
+	@Override
+	public long getProcessedEntries() {
+		return processedEntries.get();
+	}
+
+	@Override
+	public long getFailedEntries() {
+		return failedEntries.get();
+	}
+
+	@Override
+	public long getProcessingTime() {
+		return processingTime.get();
+	}
+
+	@Override
+	public double getThroughput() {
+		long time = processingTime.get();
+		if (time <= 0) {
+			return 0;
+		}
+		return processedEntries.get() * 1000d / time;
+	}
+
+	@Override
+	public long getLastLag() {
+		return lastLag;
+	}
+
+	@Override
+	public long getMaxLag() {
+		return maxLag.get();
+	}
+
+	@Override
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	@Override
+	public int getLastBatchSize() {
+		return lastBatchSize;
+	}
+
+	@Override
+	public long getWakeUps() {
+		return wakeUps.get();
+	}
+
+	@Override
+	public void reset() {
+		processedEntries.set(0);
+		failedEntries.set(0);
+		processingTime.set(0);
+		lastLag = 0;
+		maxLag.set(0);
+		lastBatchSize = 0;
+		wakeUps.set(0);
+	}
+
+	/**
+	 * Set the number of worker threads
+	 * @param workerThreads number of worker threads
+	 */
+	public void setWorkerThreads(int workerThreads) {
+		this.workerThreads = workerThreads;
+	}
+
+	/**
+	 * Inform about a handled entry
+	 * @param timestamp creation timestamp of the entry in ms
+	 * @param failed true if handling the entry failed
+	 */
+	public void entryProcessed(long timestamp, boolean failed) {
+		processedEntries.incrementAndGet();
+		if (failed) {
+			failedEntries.incrementAndGet();
+		}
+		long lag = Math.max(0, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - timestamp));
+		lastLag = lag;
+		maxLag.accumulateAndGet(lag, Math::max);
+	}
+
+	/**
+	 * Inform about time spent handling entries
+	 * @param duration duration in ms
+	 */
+	public void processed(long duration) {
+		processingTime.addAndGet(duration);
+	}
+
+	/**
+	 * Inform about a batch of entries, which is handled in parallel
+	 * @param size number of entries in the batch
+	 */
+	public void batchStarted(int size) {
+		lastBatchSize = size;
+	}
+
+	/**
+	 * Inform about a wake-up of the dirt queue worker
+	 */
+	public void wokenUp() {
+		wakeUps.incrementAndGet();
+	}
+}
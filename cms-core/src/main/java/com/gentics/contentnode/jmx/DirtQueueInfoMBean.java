@@ -0,0 +1,65 @@
+package com.gentics.contentnode.jmx;
+
+/**
+ * Interface for the dirt queue MBean
+ */
+public interface DirtQueueInfoMBean {
+	/**
+	 * Get the number of dirt queue entries, which were handled by the dirt queue worker (including failed entries)
+	 * @return number of handled entries
+	 */
+	long getProcessedEntries();
+
+	/**
+	 * Get the number of dirt queue entries, which failed
+	 * @return number of failed entries
+	 */
+	long getFailedEntries();
+
+	/**
+	 * Get the total time (in ms) the dirt queue worker spent handling entries
+	 * @return processing time in ms
+	 */
+	long getProcessingTime();
+
+	/**
+	 * Get the throughput of the dirt queue worker (handled entries per second of processing time)
+	 * @return throughput in entries per second
+	 */
+	double getThroughput();
+
+	/**
+	 * Get the lag (in seconds) of the last handled entry, which is the time between creation and handling of the entry
+	 * @return lag of the last entry in seconds
+	 */
+	long getLastLag();
+
+	/**
+	 * Get the maximum lag (in seconds) of all handled entries
+	 * @return maximum lag in seconds
+	 */
+	long getMaxLag();
+
+	/**
+	 * Get the number of threads handling dirt queue entries
+	 * @return number of threads
+	 */
+	int getWorkerThreads();
+
+	/**
+	 * Get the number of entries in the last batch, which was handled in parallel
+	 * @return size of the last batch
+	 */
+	int getLastBatchSize();
+
+	/**
+	 * Get the number of times, the dirt queue worker was woken up because new entries were stored
+	 * @return number of wake-ups
+	 */
+	long getWakeUps();
+
+	/**
+	 * Reset the counters
+	 */
+	void reset();
+}
@@ -14,6 +14,16 @@ public class MBeanRegistry {
 	 */
 	protected static PublisherInfo publisherInfo;
 
+	/**
+	 * Dirt Queue Info
+	 */
+	protected static DirtQueueInfo dirtQueueInfo;
+
+	/**
+	 * Velocity Template Info
+	 */
+	protected static VelocityTemplateInfo velocityTemplateInfo;
+
 	/**
 	 * Logger
 	 */
@@ -22,6 +32,10 @@ public class MBeanRegistry {
 	static {
 		publisherInfo = new PublisherInfo();
 		registerMBean(publisherInfo, "Publish", "PublisherInfo");
+		dirtQueueInfo = new DirtQueueInfo();
+		registerMBean(dirtQueueInfo, "DirtQueue", "DirtQueueInfo");
+		velocityTemplateInfo = new VelocityTemplateInfo();
+		registerMBean(velocityTemplateInfo, "Render", "VelocityTemplateInfo");
 	}
 
 	/**
@@ -32,6 +46,22 @@ public class MBeanRegistry {
 		return publisherInfo;
 	}
 
+	/**
+	 * Get the dirt queue info MBean
+	 * @return dirt queue info
+	 */
+	public static DirtQueueInfo getDirtQueueInfo() {
+		return dirtQueueInfo;
+	}
+
+	/**
+	 * Get the velocity template info MBean
+	 * @return velocity template info
+	 */
+	public static VelocityTemplateInfo getVelocityTemplateInfo() {
+		return velocityTemplateInfo;
+	}
+
 	/**
 	 * Register the MBean under the given type and name
 	 * @param mBean MBean
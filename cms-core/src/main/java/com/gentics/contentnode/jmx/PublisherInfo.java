@@ -5,7 +5,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * PublisherInfo Management Bean
@@ -66,6 +69,61 @@ public class PublisherInfo implements PublisherInfoMBean, Serializable {
 	 */
 	protected Map<Integer, AtomicInteger> publishedForms = new HashMap<>();
 
+	/**
+	 * Number of pages still queued in the page distributors
+	 */
+	protected Map<Integer, AtomicInteger> pageQueueDepth = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of contended page distributions
+	 */
+	protected AtomicLong pageDistributionContentions = new AtomicLong();
+
+	/**
+	 * Total time (in ns) spent waiting for the page distributor
+	 */
+	protected AtomicLong pageDistributionWaitTime = new AtomicLong();
+
+	/**
+	 * Number of stolen pages
+	 */
+	protected AtomicLong stolenPages = new AtomicLong();
+
+	/**
+	 * Number of pages distributed before their dependencies were prepared
+	 */
+	protected AtomicLong unpreparedPages = new AtomicLong();
+
+	/**
+	 * Number of prefetched pages
+	 */
+	protected AtomicLong prefetchedPages = new AtomicLong();
+
+	/**
+	 * Number of distributed pages, which were prefetched
+	 */
+	protected AtomicLong prefetchHits = new AtomicLong();
+
+	/**
+	 * Number of distributed pages, which were not prefetched
+	 */
+	protected AtomicLong prefetchMisses = new AtomicLong();
+
+	/**
+	 * Total time (in ns) spent waiting for pages being prefetched
+	 */
+	protected AtomicLong prefetchStallTime = new AtomicLong();
+
+	/**
+	 * Number of parsed tag structures taken from the cache
+	 */
+	protected AtomicLong tagStructCacheHits = new AtomicLong();
+
+	/**
+	 * Number of tag structures, which had to be parsed
+	 */
+	protected AtomicLong tagStructCacheMisses = new AtomicLong();
+
 	/**
 	 * Current publisher phase
 	 */
@@ -238,6 +296,68 @@ public class PublisherInfo implements PublisherInfoMBean, Serializable {
 		return Math.max(0, getFormsToPublish(nodeId) - getPublishedForms(nodeId));
 	}
 
+	@Override
+	public int getPageQueueDepth() {
+		return pageQueueDepth.values().stream().mapToInt(AtomicInteger::get).sum();
+	}
+
+	@Override
+	public long getPageDistributionContentions() {
+		return pageDistributionContentions.get();
+	}
+
+	@Override
+	public long getPageDistributionWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(pageDistributionWaitTime.get());
+	}
+
+	@Override
+	public long getStolenPages() {
+		return stolenPages.get();
+	}
+
+	@Override
+	public long getUnpreparedPages() {
+		return unpreparedPages.get();
+	}
+
+	@Override
+	public long getPrefetchedPages() {
+		return prefetchedPages.get();
+	}
+
+	@Override
+	public long getPrefetchHits() {
+		return prefetchHits.get();
+	}
+
+	@Override
+	public long getPrefetchMisses() {
+		return prefetchMisses.get();
+	}
+
+	@Override
+	public long getPrefetchStallTime() {
+		return TimeUnit.NANOSECONDS.toMillis(prefetchStallTime.get());
+	}
+
+	@Override
+	public long getTagStructCacheHits() {
+		return tagStructCacheHits.get();
+	}
+
+	@Override
+	public long getTagStructCacheMisses() {
+		return tagStructCacheMisses.get();
+	}
+
+	@Override
+	public int getTagStructCacheHitRate() {
+		long hits = tagStructCacheHits.get();
+		long total = hits + tagStructCacheMisses.get();
+		return total > 0 ? (int) (hits * 100 / total) : 0;
+	}
+
 	/**
 	 * Set whether the publish process is running
 	 * @param running true if the publish process is running, false if not
@@ -253,6 +373,17 @@ public class PublisherInfo implements PublisherInfoMBean, Serializable {
 			publishedFolders.clear();
 			formsToPublish.clear();
 			publishedForms.clear();
+			pageQueueDepth.clear();
+			pageDistributionContentions.set(0);
+			pageDistributionWaitTime.set(0);
+			stolenPages.set(0);
+			unpreparedPages.set(0);
+			prefetchedPages.set(0);
+			prefetchHits.set(0);
+			prefetchMisses.set(0);
+			prefetchStallTime.set(0);
+			tagStructCacheHits.set(0);
+			tagStructCacheMisses.set(0);
 		}
 	}
 
@@ -354,4 +485,83 @@ public class PublisherInfo implements PublisherInfoMBean, Serializable {
 			publishedForms.computeIfAbsent(nodeId, id -> new AtomicInteger()).set(formsToPublish.getOrDefault(nodeId, new AtomicInteger()).get());
 		}
 	}
+
+	/**
+	 * Get the counter for the pages queued in the page distributor for the given node
+	 * @param nodeId node ID
+	 * @return counter
+	 */
+	public AtomicInteger getPageQueueDepthCounter(int nodeId) {
+		return pageQueueDepth.computeIfAbsent(nodeId, id -> new AtomicInteger());
+	}
+
+	/**
+	 * Record a page distribution
+	 * @param contended true if the worker had to wait for another worker
+	 * @param waitNanos time waited in ns
+	 */
+	public void distributionWaited(boolean contended, long waitNanos) {
+		if (contended) {
+			pageDistributionContentions.incrementAndGet();
+		}
+		pageDistributionWaitTime.addAndGet(waitNanos);
+	}
+
+	/**
+	 * Increase the number of stolen pages by one
+	 */
+	public void pageStolen() {
+		stolenPages.incrementAndGet();
+	}
+
+	/**
+	 * Increase the number of pages, which were distributed before their dependencies were prepared, by one
+	 */
+	public void pageUnprepared() {
+		unpreparedPages.incrementAndGet();
+	}
+
+	/**
+	 * Increase the number of prefetched pages
+	 * @param count number of pages
+	 */
+	public void pagesPrefetched(int count) {
+		prefetchedPages.addAndGet(count);
+	}
+
+	/**
+	 * Increase the number of distributed pages, which were prefetched, by one
+	 */
+	public void pagePrefetchHit() {
+		prefetchHits.incrementAndGet();
+	}
+
+	/**
+	 * Increase the number of distributed pages, which were not prefetched, by one
+	 */
+	public void pagePrefetchMissed() {
+		prefetchMisses.incrementAndGet();
+	}
+
+	/**
+	 * Record the time spent waiting for a page being prefetched
+	 * @param stallNanos time waited in ns
+	 */
+	public void pagePrefetchStalled(long stallNanos) {
+		prefetchStallTime.addAndGet(stallNanos);
+	}
+
+	/**
+	 * Increase the number of parsed tag structures taken from the cache by one
+	 */
+	public void tagStructCacheHit() {
+		tagStructCacheHits.incrementAndGet();
+	}
+
+	/**
+	 * Increase the number of tag structures, which had to be parsed, by one
+	 */
+	public void tagStructCacheMissed() {
+		tagStructCacheMisses.incrementAndGet();
+	}
 }
@@ -178,4 +178,76 @@ public interface PublisherInfoMBean {
 	 * @return number of remaining forms
 	 */
 	int getRemainingForms(int nodeId);
+
+	/**
+	 * Get the number of pages, which are still queued in the page distributors of the current publish run
+	 * @return number of queued pages
+	 */
+	int getPageQueueDepth();
+
+	/**
+	 * Get the number of times, a publish worker had to wait for another worker when getting the next page
+	 * @return number of contended page distributions
+	 */
+	long getPageDistributionContentions();
+
+	/**
+	 * Get the total time (in ms), the publish workers spent waiting for the page distributor
+	 * @return waiting time in ms
+	 */
+	long getPageDistributionWaitTime();
+
+	/**
+	 * Get the number of pages, which were stolen by publish workers from the queues of other workers
+	 * @return number of stolen pages
+	 */
+	long getStolenPages();
+
+	/**
+	 * Get the number of pages, which were handed to a publish worker before their dependencies were prepared
+	 * @return number of unprepared pages
+	 */
+	long getUnpreparedPages();
+
+	/**
+	 * Get the number of pages, which were bulk loaded by the prefetcher ahead of the publish workers
+	 * @return number of prefetched pages
+	 */
+	long getPrefetchedPages();
+
+	/**
+	 * Get the number of pages, which were prefetched before they were handed to a publish worker
+	 * @return number of prefetch hits
+	 */
+	long getPrefetchHits();
+
+	/**
+	 * Get the number of pages, which were handed to a publish worker without being prefetched
+	 * @return number of prefetch misses
+	 */
+	long getPrefetchMisses();
+
+	/**
+	 * Get the total time (in ms), the publish workers spent waiting for pages being prefetched
+	 * @return stall time in ms
+	 */
+	long getPrefetchStallTime();
+
+	/**
+	 * Get the number of parsed tag structures, which were taken from the cache while rendering pages
+	 * @return number of cache hits
+	 */
+	long getTagStructCacheHits();
+
+	/**
+	 * Get the number of tag structures, which had to be parsed while rendering pages
+	 * @return number of cache misses
+	 */
+	long getTagStructCacheMisses();
+
+	/**
+	 * Get the hit rate (in percent) of the cache for parsed tag structures
+	 * @return hit rate in percent
+	 */
+	int getTagStructCacheHitRate();
 }
@@ -3,6 +3,7 @@ package com.gentics.contentnode.jmx;
 import com.gentics.api.lib.etc.ObjectTransformer;
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.db.DBUtils;
+import com.gentics.contentnode.factory.SessionCache;
 import com.gentics.contentnode.factory.Transaction;
 import com.gentics.contentnode.factory.TransactionManager;
 import com.gentics.contentnode.factory.Trx;
@@ -31,4 +32,45 @@ public class SessionInfo implements SessionInfoMBean {
 			return -1;
 		}
 	}
+
+	@Override
+	public boolean isCacheEnabled() {
+		return SessionCache.get() != null;
+	}
+
+	@Override
+	public int getCachedSessions() {
+		SessionCache cache = SessionCache.get();
+		return cache != null ? cache.getSize() : 0;
+	}
+
+	@Override
+	public long getCacheHits() {
+		SessionCache cache = SessionCache.get();
+		return cache != null ? cache.getHits() : 0;
+	}
+
+	@Override
+	public long getCacheMisses() {
+		SessionCache cache = SessionCache.get();
+		return cache != null ? cache.getMisses() : 0;
+	}
+
+	@Override
+	public long getCacheInvalidations() {
+		SessionCache cache = SessionCache.get();
+		return cache != null ? cache.getInvalidations() : 0;
+	}
+
+	@Override
+	public int getPendingTouches() {
+		SessionCache cache = SessionCache.get();
+		return cache != null ? cache.getPendingTouches() : 0;
+	}
+
+	@Override
+	public long getWrittenTouches() {
+		SessionCache cache = SessionCache.get();
+		return cache != null ? cache.getWrittenTouches() : 0;
+	}
 }
@@ -9,4 +9,46 @@ public interface SessionInfoMBean {
 	 * @return session count
 	 */
 	int getSessionCount();
+
+	/**
+	 * Check whether the session cache is enabled
+	 * @return true iff the session cache is enabled
+	 */
+	boolean isCacheEnabled();
+
+	/**
+	 * Get the number of cached sessions
+	 * @return number of cached sessions
+	 */
+	int getCachedSessions();
+
+	/**
+	 * Get the number of sessions, which were found in the cache
+	 * @return number of cache hits
+	 */
+	long getCacheHits();
+
+	/**
+	 * Get the number of sessions, which had to be loaded from the database
+	 * @return number of cache misses
+	 */
+	long getCacheMisses();
+
+	/**
+	 * Get the number of cache invalidations
+	 * @return number of invalidations
+	 */
+	long getCacheInvalidations();
+
+	/**
+	 * Get the number of session touches, which are not yet written to the database
+	 * @return number of pending touches
+	 */
+	int getPendingTouches();
+
+	/**
+	 * Get the number of session touches, which were written to the database in the background
+	 * @return number of written touches
+	 */
+	long getWrittenTouches();
 }
@@ -0,0 +1,131 @@
+package com.gentics.contentnode.jmx;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * VelocityTemplateInfo Management Bean
+ */
+public class VelocityTemplateInfo implements VelocityTemplateInfoMBean, Serializable {
+	/**
+	 * Serial Version UID
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Number of cache hits
+	 */
+	protected AtomicLong cacheHits = new AtomicLong();
+
+	/**
+	 * Number of compiled templates
+	 */
+	protected AtomicLong compiledTemplates = new AtomicLong();
+
+	/**
+	 * Compile time in ns
+	 */
+	protected AtomicLong compileTime = new AtomicLong();
+
+	/**
+	 * Compile statistics per construct ID
+	 */
+	protected Map<Integer, CompileStats> constructStats = new ConcurrentHashMap<>();
+
+	/**
+	 * Supplier for the number of strongly referenced templates
+	 */
+	protected transient IntSupplier strongTemplates = () -> 0;
+
+	/**
+	 * Supplier for the number of softly referenced templates
+	 */
+	protected transient IntSupplier softTemplates = () -> 0;
+
+	@Override
+	public int getStrongTemplates() {
+		return strongTemplates.getAsInt();
+	}
+
+	@Override
+	public int getSoftTemplates() {
+		return softTemplates.getAsInt();
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	@Override
+	public long getCompiledTemplates() {
+		return compiledTemplates.get();
+	}
+
+	@Override
+	public long getCompileTime() {
+		return TimeUnit.NANOSECONDS.toMillis(compileTime.get());
+	}
+
+	@Override
+	public String[] getConstructCompileStats() {
+		return constructStats.entrySet().stream().sorted(Map.Entry.comparingByKey())
+				.map(entry -> String.format("%d: %d templates, %d ms", entry.getKey(), entry.getValue().count.get(),
+						TimeUnit.NANOSECONDS.toMillis(entry.getValue().time.get())))
+				.toArray(String[]::new);
+	}
+
+	/**
+	 * Set the suppliers for the number of cached templates
+	 * @param strongTemplates supplier for the number of strongly referenced templates
+	 * @param softTemplates supplier for the number of softly referenced templates
+	 */
+	public void setCacheSizeSuppliers(IntSupplier strongTemplates, IntSupplier softTemplates) {
+		this.strongTemplates = strongTemplates;
+		this.softTemplates = softTemplates;
+	}
+
+	/**
+	 * Increase the number of cache hits by one
+	 */
+	public void cacheHit() {
+		cacheHits.incrementAndGet();
+	}
+
+	/**
+	 * Record the compilation of a template
+	 * @param constructId ID of the construct of the rendered tag (0 if not rendered for a tag)
+	 * @param nanos compile time in ns
+	 */
+	public void templateCompiled(int constructId, long nanos) {
+		compiledTemplates.incrementAndGet();
+		compileTime.addAndGet(nanos);
+		CompileStats stats = constructStats.computeIfAbsent(constructId, id -> new CompileStats());
+		stats.count.incrementAndGet();
+		stats.time.addAndGet(nanos);
+	}
+
+	/**
+	 * Compile statistics
+	 */
+	protected static class CompileStats implements Serializable {
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Number of compiled templates
+		 */
+		protected AtomicLong count = new AtomicLong();
+
+		/**
+		 * Compile time in ns
+		 */
+		protected AtomicLong time = new AtomicLong();
+	}
+}
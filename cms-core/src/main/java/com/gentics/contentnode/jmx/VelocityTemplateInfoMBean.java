@@ -0,0 +1,42 @@
+package com.gentics.contentnode.jmx;
+
+/**
+ * Interface for the velocity template MBean
+ */
+public interface VelocityTemplateInfoMBean {
+	/**
+	 * Get the number of compiled velocity templates, which are strongly referenced by the cache
+	 * @return number of strongly referenced templates
+	 */
+	int getStrongTemplates();
+
+	/**
+	 * Get the number of compiled velocity templates, which are softly referenced by the cache
+	 * @return number of softly referenced templates
+	 */
+	int getSoftTemplates();
+
+	/**
+	 * Get the number of velocity templates, which were found in the cache
+	 * @return number of cache hits
+	 */
+	long getCacheHits();
+
+	/**
+	 * Get the number of velocity templates, which had to be compiled
+	 * @return number of compiled templates
+	 */
+	long getCompiledTemplates();
+
+	/**
+	 * Get the total time (in ms) spent compiling velocity templates
+	 * @return compile time in ms
+	 */
+	long getCompileTime();
+
+	/**
+	 * Get the number of compiled templates and the compile time per construct (as "[construct ID]: [compiled templates] templates, [compile time] ms")
+	 * @return compile statistics per construct
+	 */
+	String[] getConstructCompileStats();
+}
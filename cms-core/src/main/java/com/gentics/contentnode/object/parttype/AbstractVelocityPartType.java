@@ -7,6 +7,7 @@ package com.gentics.contentnode.object.parttype;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.lang.ref.Reference;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.velocity.Template;
@@ -19,13 +20,12 @@ import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
 import org.apache.velocity.runtime.resource.util.StringResourceRepository;
 
 import com.gentics.api.contentnode.parttype.AbstractExtensiblePartType;
+import com.gentics.api.lib.etc.ObjectTransformer;
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.factory.TransactionManager;
 import com.gentics.contentnode.object.Tag;
 import com.gentics.contentnode.render.RenderType;
-import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
-import com.gentics.lib.render.velocity.SerializableVelocityTemplateWrapper;
 
 /**
  * Abstract navigation parttype providing common methods for all navigation
@@ -50,7 +50,7 @@ public abstract class AbstractVelocityPartType extends AbstractExtensiblePartTyp
 	 * 
 	 * The name of the template will be made unique by adding a new value of {@link #templateNamePostfixSequence}.
 	 * Uniqueness of templates is important so that the velocimacros of the template can safely be removed from the velocimacro factory, 
-	 * When the {@link SerializableVelocityTemplateWrapper} instance of the template is garbage collected.
+	 * when the template is garbage collected (see {@link VelocityTemplateCache}).
 	 * @param template The template as string.
 	 * @return The template object constructed from the string.
 	 */
@@ -84,55 +84,37 @@ public abstract class AbstractVelocityPartType extends AbstractExtensiblePartTyp
 	/**
 	 * Parse the template given by the parameters.
 	 * <ol>
-	 *   <li>Check whether the template has been cached (cache key is the md5 sum of the template source)</li>
-	 *   <li>Call {@link #getTemplateFromString(String)} to parse the template source into a Template</li>
-	 *   <li>Wrap the Template object into a {@link SerializableVelocityTemplateWrapper} instance that is put in the cache and returned from this object</li>
+	 *   <li>Check whether the template has been cached in the {@link VelocityTemplateCache} (cache key is the template source)</li>
+	 *   <li>Call {@link #getTemplateFromString(String)} to parse the template source into a Template, which is put into the cache</li>
 	 * </ol>
 	 * @param fullTemplate template source
 	 * @return A Template object.
 	 * @throws NodeException
 	 */
-	protected SerializableVelocityTemplateWrapper parseTemplate(String fullTemplate) throws NodeException {
-		// the md5Sum of the template will be used as cache key and part of its name
-		String md5Sum = StringUtils.md5(fullTemplate);
-
-		// try to get parsed templates from portal cache
-		Object tmpTemplates = getCachedObject(md5Sum);
-
-		if (tmpTemplates instanceof SerializableVelocityTemplateWrapper) {
-			logger.debug("Template found in cache.");
-			SerializableVelocityTemplateWrapper wrapper = (SerializableVelocityTemplateWrapper)tmpTemplates;
-			Template template = wrapper.getTemplate();
-
-			// template might be null as it is stored as transient in the
-			// wrapper
-			// if it is null, treat as cache miss
-			if (template != null) {
-				return wrapper;
-			} else {
-				logger.warn("Template cached, but null. Do not use disk-based cache for templates!");
-			}
-		}
-
-		Template tmp = null;
-
+	protected Template parseTemplate(String fullTemplate) throws NodeException {
 		try {
-			tmp = getTemplateFromString(fullTemplate);
+			return VelocityTemplateCache.get().get(fullTemplate, getConstructId(), () -> getTemplateFromString(fullTemplate));
 		} catch (Exception e) {
 			logger.error("StringResourceLoader didn't return a valid template. " + e.getMessage());
 			throw new NodeException("StringResourceLoader didn't return a valid template. " + e.getMessage(), e);
 		}
-        
-		SerializableVelocityTemplateWrapper wrapper = new SerializableVelocityTemplateWrapper(tmp);
+	}
 
-		putObjectIntoCache(md5Sum, wrapper);
+	/**
+	 * Get the ID of the construct of the currently rendered tag
+	 * @return construct ID or 0 if not rendering a tag
+	 * @throws NodeException
+	 */
+	protected int getConstructId() throws NodeException {
+		RenderType renderType = TransactionManager.getCurrentTransaction().getRenderType();
+		Tag tag = renderType != null ? renderType.getTopmostTag() : null;
 
-		return wrapper;
+		return tag != null ? ObjectTransformer.getInt(tag.getConstructId(), 0) : 0;
 	}
 
 	/**
-	 * Render the template wrapped by the wrapper and make sure that the wrapper is not garbage collected while the template is still rendered
-	 * @param wrapper wrapper
+	 * Render the template and make sure that the template is not garbage collected while it is still rendered
+	 * @param template template
 	 * @param context velocity context
 	 * @param writer write to receive the rendered template
 	 * @throws ResourceNotFoundException
@@ -140,17 +122,15 @@ public abstract class AbstractVelocityPartType extends AbstractExtensiblePartTyp
 	 * @throws MethodInvocationException
 	 * @throws IOException
 	 */
-	protected void mergeTemplate(SerializableVelocityTemplateWrapper wrapper, Context context, Writer writer)
+	protected void mergeTemplate(Template template, Context context, Writer writer)
 			throws ResourceNotFoundException, ParseErrorException, MethodInvocationException, IOException {
-		wrapper.getTemplate().merge(context, writer);
-
-		// special hack to avoid the instance of SerializableVelocityTemplateWrapper to
-		// be garbage collected while the template is still rendered.
-		// If the SerializableVelocityTemplateWrapper is garbage collected, the finalize() method would dump the VM namespace of the template
-		// to remove the local inline macros from the Velocity store (this is done to avoid memory leaks)
-		// if this happens while the template is rendered, the macros would not be resolved any more.
-		// accessing the config object after the call to getTemplate().merge() above will keep the reference, so the SerializableVelocityTemplateWrapper
-		// will not be eligible for garbage collection to an inapropriate moment.
-		wrapper.toString();
+		try {
+			template.merge(context, writer);
+		} finally {
+			// If the template is garbage collected, the VelocityTemplateCache would dump the VM namespace of the template
+			// to remove the local inline macros from the Velocity store (this is done to avoid memory leaks)
+			// if this happens while the template is rendered, the macros would not be resolved any more.
+			Reference.reachabilityFence(template);
+		}
 	}
 }
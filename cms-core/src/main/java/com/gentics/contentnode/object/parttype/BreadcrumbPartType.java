@@ -12,6 +12,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.exception.MethodInvocationException;
 import org.apache.velocity.exception.ParseErrorException;
@@ -29,7 +30,6 @@ import com.gentics.contentnode.rest.model.Property;
 import com.gentics.contentnode.rest.model.Property.Type;
 import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
-import com.gentics.lib.render.velocity.SerializableVelocityTemplateWrapper;
 
 /**
  * PartType 34 - Breadcrumb
@@ -213,8 +213,8 @@ public class BreadcrumbPartType extends AbstractVelocityPartType implements Tran
 				renderType.setParameter(CMSResolver.ModeResolver.PARAM_OVERWRITE_EDITMODE, new Integer(editMode));
 			}
 
-			if (config.wrapper != null) {
-				mergeTemplate(config.wrapper, context, outwriter);
+			if (config.compiledTemplate != null) {
+				mergeTemplate(config.compiledTemplate, context, outwriter);
 			}
 
 		} catch (ParseErrorException pee) {
@@ -370,7 +370,7 @@ public class BreadcrumbPartType extends AbstractVelocityPartType implements Tran
 		Collections.reverse(config.path);
 
 		// parse old style templates
-		config.wrapper = parseTemplate(config.template);
+		config.compiledTemplate = parseTemplate(config.template);
 
 		config.cutNavigation = false;
         
@@ -675,9 +675,9 @@ public class BreadcrumbPartType extends AbstractVelocityPartType implements Tran
 		protected List path;
 
 		/**
-		 * Store all templates read from XML input.
+		 * Compiled velocity template
 		 */
-		protected SerializableVelocityTemplateWrapper wrapper;
+		protected Template compiledTemplate;
 
 		/**
 		 * Name of tag for startpage of folder
@@ -700,7 +700,7 @@ public class BreadcrumbPartType extends AbstractVelocityPartType implements Tran
 			currentPage = null;
 			currentFolder = null;
 			path = null;
-			wrapper = null;
+			compiledTemplate = null;
 			tagnameStartpage = null;
 			cutNavigation = false;
 		}
@@ -13,6 +13,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.exception.MethodInvocationException;
 import org.apache.velocity.exception.ParseErrorException;
@@ -34,7 +35,6 @@ import com.gentics.contentnode.render.RenderableResolvable;
 import com.gentics.contentnode.rest.model.Property;
 import com.gentics.contentnode.rest.model.Property.Type;
 import com.gentics.lib.log.NodeLogger;
-import com.gentics.lib.render.velocity.SerializableVelocityTemplateWrapper;
 
 import io.reactivex.Flowable;
 
@@ -388,7 +388,7 @@ public class NavigationPartType extends AbstractVelocityPartType implements Tran
 		config.totalCounter = 0;
 
 		// parse template
-		config.wrapper = parseTemplate(config.template);
+		config.compiledTemplate = parseTemplate(config.template);
 
 		if (logger.isDebugEnabled()) {
 			logger.debug("End reading configuration." + config);
@@ -426,9 +426,9 @@ public class NavigationPartType extends AbstractVelocityPartType implements Tran
 		StringWriter outwriter = new StringWriter();
 
 		try {
-			if (config.wrapper != null) {
+			if (config.compiledTemplate != null) {
 				logger.debug("Merging main template.");
-				mergeTemplate(config.wrapper, context, outwriter);
+				mergeTemplate(config.compiledTemplate, context, outwriter);
 			} else {
 				logger.warn("No template available.");
 			}
@@ -1135,9 +1135,9 @@ public class NavigationPartType extends AbstractVelocityPartType implements Tran
 		public HashSet path;
 
 		/**
-		 * Store all templates read from XML input.
+		 * Compiled velocity template
 		 */
-		public SerializableVelocityTemplateWrapper wrapper;
+		public Template compiledTemplate;
 
 		/**
 		 * Counter over all elements in the navigation.
@@ -1156,7 +1156,7 @@ public class NavigationPartType extends AbstractVelocityPartType implements Tran
 			objects = null;
 			currentPage = null;
 			path = null;
-			wrapper = null;
+			compiledTemplate = null;
 			totalCounter = 0;
 		}
 
@@ -3,6 +3,7 @@ package com.gentics.contentnode.object.parttype;
 import java.io.IOException;
 import java.io.StringWriter;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.exception.MethodInvocationException;
 import org.apache.velocity.exception.ParseErrorException;
@@ -22,7 +23,6 @@ import com.gentics.contentnode.rest.model.Property;
 import com.gentics.contentnode.rest.model.Property.Type;
 import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
-import com.gentics.lib.render.velocity.SerializableVelocityTemplateWrapper;
 
 /**
  * PartType 33 - Velocity
@@ -87,8 +87,8 @@ public class VelocityPartType extends AbstractVelocityPartType implements Transf
 				renderType.setParameter(CMSResolver.ModeResolver.PARAM_OVERWRITE_EDITMODE, new Integer(editMode));
 			}
 
-			if (config.wrapper != null) {
-				mergeTemplate(config.wrapper, context, outwriter);
+			if (config.compiledTemplate != null) {
+				mergeTemplate(config.compiledTemplate, context, outwriter);
 			}
 
 		} catch (ParseErrorException pee) {
@@ -154,7 +154,7 @@ public class VelocityPartType extends AbstractVelocityPartType implements Transf
 		}
 
 		// parse template
-		config.wrapper = parseTemplate(config.template, config.macros);
+		config.compiledTemplate = parseTemplate(config.template, config.macros);
 
 		return config;
 	}
@@ -182,16 +182,16 @@ public class VelocityPartType extends AbstractVelocityPartType implements Transf
 	 * Parse the templates given by the parameters.
 	 * <ol>
 	 *   <li>Concatenate the input strings to generate the full template source (macros always come first)</li>
-	 *   <li>Check whether the template has been cached (cache key is the md5 sum of the template source)</li>
+	 *   <li>Check whether the template has been cached (cache key is the template source)</li>
 	 *   <li>Let Velocity parse the template source into a Template object. Use the next value of {@link #templateNamePostfixSequence} in the template name, so that no two templates have the same template name</li>
-	 *   <li>Wrap the Template object into a {@link SerializableVelocityTemplateWrapper} instance that is put in the cache and returned from this object</li>
+	 *   <li>Put the Template object into the {@link VelocityTemplateCache}</li>
 	 * </ol>
 	 * @param inputTemplate The Velocity template of the navigation
 	 * @param macros The Velocity macros to include
 	 * @return A Template object.
 	 * @throws NodeException
 	 */
-	protected SerializableVelocityTemplateWrapper parseTemplate(String inputTemplate, String macros) throws NodeException {
+	protected Template parseTemplate(String inputTemplate, String macros) throws NodeException {
 		String fullTemplate = inputTemplate;
 
 		// when additional macros are given, we combine the macros with the template
@@ -236,9 +236,9 @@ public class VelocityPartType extends AbstractVelocityPartType implements Transf
 		protected String macros;
 
 		/**
-		 * Store all templates read from XML input.
+		 * Compiled velocity template
 		 */
-		protected SerializableVelocityTemplateWrapper wrapper;
+		protected Template compiledTemplate;
 
 		/**
 		 * Create an empty instance
@@ -246,7 +246,7 @@ public class VelocityPartType extends AbstractVelocityPartType implements Transf
 		public ConfigObject() {
 			this.template = null;
 			this.macros = "";
-			this.wrapper = null;
+			this.compiledTemplate = null;
 		}
 	}
 
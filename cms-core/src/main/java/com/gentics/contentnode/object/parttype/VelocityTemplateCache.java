@@ -0,0 +1,219 @@
+package com.gentics.contentnode.object.parttype;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.runtime.RuntimeSingleton;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * In-heap cache for compiled velocity templates, keyed by the template source.
+ * The most recently used templates are strongly referenced (up to the configured size), templates which are evicted from
+ * the strong tier are kept with soft references, until they are either used again or garbage collected.
+ * When a template is garbage collected, the velocimacro namespace of the template is dumped.
+ */
+public class VelocityTemplateCache {
+	/**
+	 * Name of the configuration parameter for the maximum number of strongly referenced templates
+	 */
+	public final static String SIZE_CONFIG_KEY = "velocity_template_cache_size";
+
+	/**
+	 * Default maximum number of strongly referenced templates
+	 */
+	public final static int DEFAULT_SIZE = 1000;
+
+	/**
+	 * Logger
+	 */
+	protected final static NodeLogger logger = NodeLogger.getNodeLogger(VelocityTemplateCache.class);
+
+	/**
+	 * Singleton
+	 */
+	private static VelocityTemplateCache instance;
+
+	/**
+	 * Maximum number of strongly referenced templates
+	 */
+	protected final int size;
+
+	/**
+	 * Strongly referenced templates (in access order)
+	 */
+	protected final Map<String, Template> strong;
+
+	/**
+	 * Softly referenced templates
+	 */
+	protected final Map<String, TemplateReference> soft = new ConcurrentHashMap<>();
+
+	/**
+	 * Queue of the cleared references
+	 */
+	protected final ReferenceQueue<Template> queue = new ReferenceQueue<>();
+
+	/**
+	 * Get the singleton
+	 * @return cache instance
+	 */
+	public static synchronized VelocityTemplateCache get() {
+		if (instance == null) {
+			int size = DEFAULT_SIZE;
+			try {
+				size = ObjectTransformer.getInt(NodeConfigRuntimeConfiguration.getPreferences().getProperty(SIZE_CONFIG_KEY), size);
+			} catch (Exception e) {
+				logger.warn("Could not read configuration for the velocity template cache, using default size " + size, e);
+			}
+			instance = new VelocityTemplateCache(size);
+			MBeanRegistry.getVelocityTemplateInfo().setCacheSizeSuppliers(instance::getStrongSize, instance::getSoftSize);
+		}
+		return instance;
+	}
+
+	/**
+	 * Create an instance
+	 * @param size maximum number of strongly referenced templates
+	 */
+	protected VelocityTemplateCache(int size) {
+		this.size = Math.max(0, size);
+		this.strong = new LinkedHashMap<String, Template>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+				if (size() > VelocityTemplateCache.this.size) {
+					soft.put(eldest.getKey(), new TemplateReference(eldest.getKey(), eldest.getValue(), queue));
+					return true;
+				} else {
+					return false;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Get the compiled template for the given source. If the template is not cached, it is compiled with the given compiler and put into the cache.
+	 * @param source template source
+	 * @param constructId ID of the construct, for which the template is compiled (used for the statistics)
+	 * @param compiler compiler
+	 * @return compiled template
+	 * @throws Exception if compiling the template failed
+	 */
+	public Template get(String source, int constructId, Callable<Template> compiler) throws Exception {
+		expunge();
+
+		Template template = getCached(source);
+		if (template != null) {
+			MBeanRegistry.getVelocityTemplateInfo().cacheHit();
+			return template;
+		}
+
+		long start = System.nanoTime();
+		template = compiler.call();
+		MBeanRegistry.getVelocityTemplateInfo().templateCompiled(constructId, System.nanoTime() - start);
+
+		synchronized (strong) {
+			Template existing = getCached(source);
+			if (existing != null) {
+				// another thread compiled the same template in the meantime, so we use the cached template and throw the new one away
+				RuntimeSingleton.dumpVMNamespace(template.getName());
+				return existing;
+			}
+			strong.put(source, template);
+		}
+		return template;
+	}
+
+	/**
+	 * Get the number of strongly referenced templates
+	 * @return number of strongly referenced templates
+	 */
+	public int getStrongSize() {
+		synchronized (strong) {
+			return strong.size();
+		}
+	}
+
+	/**
+	 * Get the number of softly referenced templates
+	 * @return number of softly referenced templates
+	 */
+	public int getSoftSize() {
+		return soft.size();
+	}
+
+	/**
+	 * Get the cached template, move softly referenced templates back to the strong tier
+	 * @param source template source
+	 * @return cached template or null
+	 */
+	protected Template getCached(String source) {
+		synchronized (strong) {
+			Template template = strong.get(source);
+			if (template != null) {
+				return template;
+			}
+
+			TemplateReference ref = soft.remove(source);
+			if (ref != null) {
+				template = ref.get();
+				// clearing the reference will not enqueue it, so the namespace of the template will not be dumped
+				ref.clear();
+				if (template != null) {
+					strong.put(source, template);
+				}
+			}
+			return template;
+		}
+	}
+
+	/**
+	 * Dump the velocimacro namespaces of all templates, which were garbage collected
+	 */
+	protected void expunge() {
+		Reference<? extends Template> ref = null;
+		while ((ref = queue.poll()) != null) {
+			TemplateReference templateRef = (TemplateReference) ref;
+			soft.remove(templateRef.source, templateRef);
+			RuntimeSingleton.dumpVMNamespace(templateRef.name);
+		}
+	}
+
+	/**
+	 * Soft reference to a template, which keeps the source and name of the template
+	 */
+	protected static class TemplateReference extends SoftReference<Template> {
+		/**
+		 * Template source
+		 */
+		protected final String source;
+
+		/**
+		 * Template name
+		 */
+		protected final String name;
+
+		/**
+		 * Create an instance
+		 * @param source template source
+		 * @param template template
+		 * @param queue reference queue
+		 */
+		protected TemplateReference(String source, Template template, ReferenceQueue<Template> queue) {
+			super(template, queue);
+			this.source = source;
+			this.name = template.getName();
+		}
+	}
+}
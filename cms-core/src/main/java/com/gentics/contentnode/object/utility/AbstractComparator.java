@@ -125,6 +125,22 @@ public abstract class AbstractComparator {
 		}
 	}
 
+	/**
+	 * Get the sorted attribute
+	 * @return sorted attribute
+	 */
+	public SortAttribute getAttribute() {
+		return attribute;
+	}
+
+	/**
+	 * Get the sortway
+	 * @return 1 for ascending, -1 for descending
+	 */
+	public int getWay() {
+		return way;
+	}
+
 	/**
 	 * Compare exclusion/disinheriting status of two objects.
 	 * <ol>
@@ -9,6 +9,9 @@ import java.util.List;
 import java.util.Vector;
 
 import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.jmx.MBeanRegistry;
 import com.gentics.contentnode.parser.attribute.AttributeParser;
 import com.gentics.contentnode.parser.tag.struct.CodePart;
 import com.gentics.contentnode.parser.tag.struct.CodeStructRenderer;
@@ -16,8 +19,10 @@ import com.gentics.contentnode.parser.tag.struct.ParseStructRenderer;
 import com.gentics.contentnode.parser.tag.struct.RenderReturnCode;
 import com.gentics.contentnode.parser.tag.struct.StructParser;
 import com.gentics.contentnode.parser.tag.struct.StructRenderer;
+import com.gentics.contentnode.parser.tag.struct.TagStructCache;
 import com.gentics.contentnode.parser.tag.struct.TagStructParser;
 import com.gentics.contentnode.render.RenderResult;
+import com.gentics.contentnode.render.RenderType;
 import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
 import com.gentics.lib.log.RuntimeProfiler;
@@ -97,7 +102,7 @@ public abstract class AbstractTagParser implements TagParser {
             
 			try {
 				RuntimeProfiler.beginMark(JavaParserConstants.PARSER_PARSE, getClass().getName());
-				struct = getStructParser().parseToStruct(this, renderResult, source, keyname, parser);
+				struct = getStruct(renderResult, source, keyname, parser);
 			} finally {
 				RuntimeProfiler.endMark(JavaParserConstants.PARSER_PARSE, getClass().getName());
 			}
@@ -113,9 +118,70 @@ public abstract class AbstractTagParser implements TagParser {
 		return source;
 	}
 
+	/**
+	 * Get the structure of the template for the given keyname. If the parsed structures are cached (see {@link #isCacheStructs()}),
+	 * the structure is taken from the {@link TagStructCache}, or parsed and put into the cache, if parsing did not generate any messages.
+	 * @param renderResult render result
+	 * @param template template
+	 * @param keyname keyname
+	 * @param parser attribute parser
+	 * @return structure as list of {@link CodePart}
+	 * @throws NodeException
+	 */
+	protected List getStruct(RenderResult renderResult, String template, String keyname, AttributeParser parser) throws NodeException {
+		if (!isCacheStructs()) {
+			return getStructParser().parseToStruct(this, renderResult, template, keyname, parser);
+		}
+
+		TagStructCache.Key key = new TagStructCache.Key(getClass(), parser.getClass(), keyname, template);
+		List struct = TagStructCache.get(key);
+		boolean publish = isPublishMode();
+
+		if (struct != null) {
+			if (publish) {
+				MBeanRegistry.getPublisherInfo().tagStructCacheHit();
+			}
+			return struct;
+		}
+
+		int messages = renderResult.getMessages().size();
+		struct = getStructParser().parseToStruct(this, renderResult, template, keyname, parser);
+		// structures which caused messages are not cached, because the messages would not be generated again
+		if (renderResult.getMessages().size() == messages) {
+			TagStructCache.put(key, struct);
+		}
+		if (publish) {
+			MBeanRegistry.getPublisherInfo().tagStructCacheMissed();
+		}
+		return struct;
+	}
+
+	/**
+	 * Check whether the parsed structures of this parser shall be cached. This is only possible, if the
+	 * struct parser and attribute parsers do not have any state, which influences the parsed structures.
+	 * @return true to cache the parsed structures, false if not (default)
+	 */
+	protected boolean isCacheStructs() {
+		return false;
+	}
+
+	/**
+	 * Check whether the current transaction renders in publish mode
+	 * @return true for publish mode
+	 * @throws NodeException
+	 */
+	private boolean isPublishMode() throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransactionOrNull();
+		if (t == null) {
+			return false;
+		}
+		RenderType renderType = t.getRenderType();
+		return renderType != null && renderType.getEditMode() == RenderType.EM_PUBLISH;
+	}
+
 	private String renderStruct(RenderResult renderResult, String template, List struct) throws NodeException {
 
-		StringBuffer source = new StringBuffer(template.length());
+		StringBuilder source = new StringBuilder(template.length());
 
 		int pos = 0;
 
@@ -17,6 +17,7 @@ import com.gentics.contentnode.parser.attribute.Attribute;
 import com.gentics.contentnode.parser.attribute.AttributeParser;
 import com.gentics.contentnode.parser.tag.parsertag.FormatParserTagFactory;
 import com.gentics.contentnode.parser.tag.parsertag.RenderableParserTag;
+import com.gentics.contentnode.parser.tag.struct.TagStructParser;
 import com.gentics.contentnode.render.RenderResult;
 import com.gentics.contentnode.render.RenderType;
 import com.gentics.lib.log.NodeLogger;
@@ -55,6 +56,12 @@ public class ContentTagRenderer extends AbstractTagParser implements ParserTagFa
 		return keyname;
 	}
 
+	@Override
+	protected boolean isCacheStructs() {
+		// the NodeAttributeParser has no state and creates immutable attributes, so the parsed structures can be cached
+		return getStructParser() instanceof TagStructParser;
+	}
+
 	public ParserTag getParserTag(String keyname, Map params) throws NodeException {
 		RenderType renderType = TransactionManager.getCurrentTransaction().getRenderType();
 
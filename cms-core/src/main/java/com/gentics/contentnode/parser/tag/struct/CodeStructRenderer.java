@@ -46,7 +46,7 @@ public class CodeStructRenderer implements StructRenderer {
 	 * @param endCode the endcode which must match the last tag, or null if not set.
 	 * @return a status returncode.
 	 */
-	public RenderReturnCode renderStruct(TagParser parser, RenderResult result, StringBuffer source,
+	public RenderReturnCode renderStruct(TagParser parser, RenderResult result, StringBuilder source,
 			String template, List struct, int firstElement, String[] splitter, String endCode, List omitTags, List omitTagsEdit) throws NodeException {
 
 		int pos;
@@ -109,7 +109,7 @@ public class CodeStructRenderer implements StructRenderer {
 	 * @param firstElement the first element to copy to the code.
 	 * @param pos the position of the last codepart in the struct list.
 	 */
-	private void loadCode(StringBuffer source, String template, List struct, int firstElement, int pos) {
+	private void loadCode(StringBuilder source, String template, List struct, int firstElement, int pos) {
 		loadCode(source, template, struct, firstElement, (CodePart) struct.get(pos));
 	}
 
@@ -121,8 +121,8 @@ public class CodeStructRenderer implements StructRenderer {
 	 * @param firstElement the first element to copy to the code.
 	 * @param part the last codepart to copy to the code.
 	 */
-	private void loadCode(StringBuffer source, String template, List struct, int firstElement, CodePart part) {
-		source.append(template.substring(((CodePart) struct.get(firstElement)).getStartPos(), part.getStartPos()));
+	private void loadCode(StringBuilder source, String template, List struct, int firstElement, CodePart part) {
+		source.append(template, ((CodePart) struct.get(firstElement)).getStartPos(), part.getStartPos());
 	}
 
 }
@@ -64,7 +64,7 @@ public class ParseStructRenderer implements StructRenderer {
 	 * @param omitTagsEdit list of tags that shall not be rendered in edit mode any more
 	 * @return the status returncode.
 	 */
-	public RenderReturnCode renderStruct(TagParser parser, RenderResult result, StringBuffer source,
+	public RenderReturnCode renderStruct(TagParser parser, RenderResult result, StringBuilder source,
 			String template, List struct, int firstElement, String[] splitter, String endCode, List omitTags, List omitTagsEdit) throws NodeException {
 		boolean debugLog = logger.isDebugEnabled();
 
@@ -88,7 +88,7 @@ public class ParseStructRenderer implements StructRenderer {
 					logger.debug("part # " + pos.getPos() + " is a static string");
 				}
 
-				source.append(template.substring(part.getStartPos(), part.getEndPos()));
+				source.append(template, part.getStartPos(), part.getEndPos());
 				pos.increment(1);
 
 			} else if (part instanceof TagPart) {
@@ -200,7 +200,7 @@ public class ParseStructRenderer implements StructRenderer {
 	 * @param omitTagsEdit list of tags that shall not be rendered in edit mode
 	 * @throws NodeException
 	 */
-	public static void renderEditableTag(StringBuffer source, String code, ParserTag tag, List omitTags, List omitTagsEdit, RenderResult result) throws NodeException {
+	public static void renderEditableTag(StringBuilder source, String code, ParserTag tag, List omitTags, List omitTagsEdit, RenderResult result) throws NodeException {
 		RenderType renderType = TransactionManager.getCurrentTransaction().getRenderType();
 
 		// check whether we have an open tag
@@ -214,7 +214,7 @@ public class ParseStructRenderer implements StructRenderer {
 				// check for aloha mode
 				if (renderType.getEditMode() != RenderType.EM_ALOHA) {
 					// tag in ml tag, but not inline editable
-					StringBuffer replacement = new StringBuffer();
+					StringBuilder replacement = new StringBuilder();
 
 					// prefix
 					replacement.append(tag.getEditPrefix());
@@ -266,7 +266,7 @@ public class ParseStructRenderer implements StructRenderer {
 	 * @param result render result
 	 * @throws NodeException
 	 */
-	public static void renderClosedTag(ParserTag tag, StringBuffer source, List<?> omitTags, List<?> omitTagsEdit, RenderResult result) throws NodeException {
+	public static void renderClosedTag(ParserTag tag, StringBuilder source, List<?> omitTags, List<?> omitTagsEdit, RenderResult result) throws NodeException {
 		RenderType renderType = TransactionManager.getCurrentTransaction().getRenderType();
 		int editMode = renderType.getEditMode();
 		boolean debugLog = logger.isDebugEnabled();
@@ -321,7 +321,7 @@ public class ParseStructRenderer implements StructRenderer {
 	 * @param omitTagsEdit list of tags that shall not be rendered in edit mode any more
 	 * @throws StructParserException on unrecoverable structural errors.
 	 */
-	private void renderTag(TagParser parser, RenderResult result, StringBuffer source,
+	private void renderTag(TagParser parser, RenderResult result, StringBuilder source,
 			String template, StructRenderPosition pos, List struct, TagPart tagPart, ParserTag tag, List omitTags, List omitTagsEdit) throws StructParserException, NodeException {
 		RenderType renderType = TransactionManager.getCurrentTransaction().getRenderType();
 		int editMode = renderType.getEditMode();
@@ -359,7 +359,7 @@ public class ParseStructRenderer implements StructRenderer {
 
 			while (true) {
 
-				StringBuffer subCode = new StringBuffer();
+				StringBuilder subCode = new StringBuilder();
 
 				boolean preparseCode = tag.doPreParseCode(parser.doParseInputCode(), lastSplitter);
 
@@ -32,7 +32,7 @@ public interface StructRenderer {
 	 * @param omitTagsEdit list of tags that shall not be rendered in edit mode any more
 	 * @return a returncode container.
 	 */
-	RenderReturnCode renderStruct(TagParser parser, RenderResult result, StringBuffer source,
+	RenderReturnCode renderStruct(TagParser parser, RenderResult result, StringBuilder source,
 			String template, List struct, int firstElement, String[] splitter, String endCode, List omitTags, List omitTagsEdit) throws NodeException;
 
 }
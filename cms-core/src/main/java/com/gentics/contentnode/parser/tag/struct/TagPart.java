@@ -60,6 +60,15 @@ public class TagPart extends CodePart {
 		this.parserTag = null;
 	}
 
+	/**
+	 * Create a copy of the given tagpart, without the parsertag.
+	 *
+	 * @param tagPart the tagpart to copy.
+	 */
+	public TagPart(TagPart tagPart) {
+		this(tagPart.getStartPos(), tagPart.getEndPos(), tagPart.keyname, tagPart.type, tagPart.attributes);
+	}
+
 	/**
 	 * Get the matching parsertag for this parttype, using a given ParserTagFactory.
 	 *
@@ -0,0 +1,213 @@
+package com.gentics.contentnode.parser.tag.struct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.gentics.api.lib.cache.PortalCache;
+import com.gentics.api.lib.cache.PortalCacheAttributes;
+import com.gentics.api.lib.cache.PortalCacheException;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Cache for the structures (lists of {@link CodePart}) created by the {@link StructParser} for template sources.
+ * The cached structures are never handed out directly, because the {@link TagPart}s store their {@link com.gentics.contentnode.parser.tag.ParserTag},
+ * which depends on the rendered object. Instead, a shallow copy (with new {@link TagPart} instances) is returned.
+ * The size of the cache is limited by the settings of the cache region (the weight of an entry is the approximate size in bytes).
+ */
+public class TagStructCache {
+	/**
+	 * Name of the cache region
+	 */
+	public final static String CACHEREGION = "gentics-content-tagstructs";
+
+	/**
+	 * Approximate size of a single codepart in bytes
+	 */
+	protected final static int CODEPART_SIZE = 64;
+
+	/**
+	 * Logger
+	 */
+	protected final static NodeLogger logger = NodeLogger.getNodeLogger(TagStructCache.class);
+
+	/**
+	 * Cache instance
+	 */
+	protected static PortalCache cache;
+
+	/**
+	 * Number of cache hits
+	 */
+	protected static LongAdder hits = new LongAdder();
+
+	/**
+	 * Number of cache misses
+	 */
+	protected static LongAdder misses = new LongAdder();
+
+	static {
+		try {
+			cache = PortalCache.getCache(CACHEREGION);
+		} catch (PortalCacheException e) {
+			logger.error("Error while initializing cache for region {" + CACHEREGION + "}, will not cache parsed structures", e);
+		}
+	}
+
+	/**
+	 * Get a copy of the cached structure for the given key
+	 * @param key cache key
+	 * @return copy of the cached structure or null, if not cached
+	 */
+	public static List<CodePart> get(Key key) {
+		if (cache == null) {
+			return null;
+		}
+		try {
+			Object cached = cache.get(key);
+			if (cached instanceof CodePart[]) {
+				hits.increment();
+				return copy((CodePart[]) cached);
+			}
+		} catch (PortalCacheException e) {
+			logger.warn("Error while getting parsed structure from cache", e);
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Put the structure into the cache. The cached structure will not be modified afterwards, so it is safe to
+	 * continue using the given structure for rendering.
+	 * @param key cache key
+	 * @param struct parsed structure
+	 */
+	public static void put(Key key, List<?> struct) {
+		if (cache == null) {
+			return;
+		}
+		CodePart[] parts = new CodePart[struct.size()];
+		for (int i = 0; i < parts.length; i++) {
+			CodePart part = (CodePart) struct.get(i);
+			parts[i] = part instanceof TagPart ? new TagPart((TagPart) part) : part;
+		}
+		try {
+			PortalCacheAttributes attributes = cache.getDefaultCacheAttributes();
+			if (attributes != null) {
+				attributes.setSize(key.template.length() * 2 + parts.length * CODEPART_SIZE);
+				cache.put(key, parts, attributes);
+			} else {
+				cache.put(key, parts);
+			}
+		} catch (PortalCacheException e) {
+			logger.warn("Error while putting parsed structure into cache", e);
+		}
+	}
+
+	/**
+	 * Clear the cache
+	 */
+	public static void clear() {
+		if (cache == null) {
+			return;
+		}
+		try {
+			cache.clear();
+		} catch (PortalCacheException e) {
+			logger.warn("Error while clearing cache", e);
+		}
+	}
+
+	/**
+	 * Get the number of cache hits
+	 * @return number of hits
+	 */
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of cache misses
+	 * @return number of misses
+	 */
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Create a copy of the cached structure with new instances of the tagparts
+	 * @param cached cached structure
+	 * @return copy
+	 */
+	protected static List<CodePart> copy(CodePart[] cached) {
+		List<CodePart> struct = new ArrayList<>(cached.length);
+		for (CodePart part : cached) {
+			struct.add(part instanceof TagPart ? new TagPart((TagPart) part) : part);
+		}
+		return struct;
+	}
+
+	/**
+	 * Cache key, consisting of the parser classes, the keyname of the tags and the parsed template
+	 */
+	public static class Key {
+		/**
+		 * Class of the tag parser
+		 */
+		protected final Class<?> tagParserClass;
+
+		/**
+		 * Class of the attribute parser
+		 */
+		protected final Class<?> attributeParserClass;
+
+		/**
+		 * Keyname of the tags
+		 */
+		protected final String keyname;
+
+		/**
+		 * Parsed template
+		 */
+		protected final String template;
+
+		/**
+		 * Hashcode
+		 */
+		protected final int hashCode;
+
+		/**
+		 * Create a key
+		 * @param tagParserClass class of the tag parser
+		 * @param attributeParserClass class of the attribute parser
+		 * @param keyname keyname
+		 * @param template template
+		 */
+		public Key(Class<?> tagParserClass, Class<?> attributeParserClass, String keyname, String template) {
+			this.tagParserClass = tagParserClass;
+			this.attributeParserClass = attributeParserClass;
+			this.keyname = keyname;
+			this.template = template;
+			this.hashCode = Objects.hash(tagParserClass, attributeParserClass, keyname, template);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return hashCode == other.hashCode && tagParserClass == other.tagParserClass && attributeParserClass == other.attributeParserClass
+					&& Objects.equals(keyname, other.keyname) && template.equals(other.template);
+		}
+	}
+}
@@ -5,14 +5,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.db.DBUtils;
@@ -31,8 +32,9 @@ import com.gentics.lib.db.SQLExecutor;
 import com.gentics.lib.etc.StringUtils;
 import com.gentics.lib.log.NodeLogger;
 
-import gnu.trove.THashMap;
-import gnu.trove.THashSet;
+import gnu.trove.TIntHashSet;
+import gnu.trove.TIntIntHashMap;
+import gnu.trove.TIntObjectHashMap;
 
 /**
  * Static class that holds all permissions (for all groups)
@@ -96,40 +98,50 @@ public class PermissionStore {
 	}
 
 	/**
-	 * Nested map holding all permission entries (organized by group/type/id)
+	 * Permissions of all groups (organized by group/type/id).
+	 * Neither the map nor the contained {@link GroupPermissions} are modified after they have been published. Modifications will replace them (copy-on-write),
+	 * so reading does not need any locking.
 	 */
-	@SuppressWarnings("unchecked")
-	protected Map<Integer, Map<Integer, Map<Integer, Permissions>>> perms = Collections.synchronizedMap(new THashMap());
+	protected volatile TIntObjectHashMap<GroupPermissions> perms = new TIntObjectHashMap<>();
 
 	/**
-	 * Nested map holding role ID sets for a given object permission (organized by group/type id/obj id)
+	 * Role permissions per ID (copy-on-write like {@link #perms})
 	 */
-	@SuppressWarnings("unchecked")
-	protected Map<Integer, Map<Integer, Map<Integer, Set<Integer>>>> rolePerms = Collections.synchronizedMap(new THashMap());
+	protected volatile TIntObjectHashMap<RolePermissions> roles = new TIntObjectHashMap<>();
 
 	/**
-	 * Role permissions per ID
+	 * Lock for modifications of {@link #perms} and {@link #roles}
 	 */
-	@SuppressWarnings("unchecked")
-	protected Map<Integer, RolePermissions> roles = Collections.synchronizedMap(new THashMap());
+	protected final Object writeLock = new Object();
 
 	/**
 	 * Protected constructor
 	 */
 	protected PermissionStore() throws NodeException {
-		// refresh all groups
-		List<Integer> userGroupIds = getAllGroupIds();
+		// load all groups
+		TIntObjectHashMap<GroupPermissions> loadedPerms = new TIntObjectHashMap<>();
+		for (int groupId : getAllGroupIds()) {
+			loadedPerms.put(groupId, loadGroup(groupId));
+		}
 
-		for (final Integer groupId : userGroupIds) {
-			refreshGroupLocal(groupId);
+		// load all roles
+		TIntObjectHashMap<RolePermissions> loadedRoles = new TIntObjectHashMap<>();
+		for (int roleId : getAllRoleIds()) {
+			loadedRoles.put(roleId, loadRole(roleId));
 		}
 
-		// refresh all roles
-		List<Integer> roleIds = getAllRoleIds();
+		perms = loadedPerms;
+		roles = loadedRoles;
+	}
 
-		for (Integer roleId : roleIds) {
-			refreshRoleLocal(roleId);
-		}
+	/**
+	 * Create an instance with the given permissions (without reading from the DB)
+	 * @param perms permissions per group
+	 * @param roles role permissions per role
+	 */
+	protected PermissionStore(TIntObjectHashMap<GroupPermissions> perms, TIntObjectHashMap<RolePermissions> roles) {
+		this.perms = perms;
+		this.roles = roles;
 	}
 
 	/**
@@ -168,68 +180,6 @@ public class PermissionStore {
 		return roleIds;
 	}
 
-	/**
-	 * Get the group permissions map for the given group id. If none exists, create a new one.
-	 * @param groupId group id
-	 * @return group permissions map
-	 */
-	@SuppressWarnings("unchecked")
-	protected synchronized Map<Integer, Map<Integer, Permissions>> getGroupPerms(int groupId) {
-		Map<Integer, Map<Integer, Permissions>> groupPerms = perms.get(groupId);
-		if (groupPerms == null) {
-			groupPerms = Collections.synchronizedMap(new THashMap());
-			perms.put(groupId, groupPerms);
-		}
-		return groupPerms;
-	}
-
-	/**
-	 * Get the group role permissions map for the given group id. If non exists, create a new one.
-	 * @param groupId group id
-	 * @return group permissions map
-	 */
-	@SuppressWarnings("unchecked")
-	protected synchronized Map<Integer, Map<Integer, Set<Integer>>> getRoleGroupPerms(int groupId) {
-		Map<Integer, Map<Integer, Set<Integer>>> groupPerms = rolePerms.get(groupId);
-		if (groupPerms == null) {
-			groupPerms = Collections.synchronizedMap(new THashMap());
-			rolePerms.put(groupId, groupPerms);
-		}
-		return groupPerms;
-	}
-
-	/**
-	 * Get the type permissions map from the given group permissions map for the given type. If none exists, create a new one.
-	 * @param groupPerms group permissions map
-	 * @param objType object type
-	 * @return type permissions map
-	 */
-	@SuppressWarnings("unchecked")
-	protected synchronized Map<Integer, Permissions> getTypePerms(Map<Integer, Map<Integer, Permissions>> groupPerms, int objType) {
-		Map<Integer, Permissions> typePerms = groupPerms.get(objType);
-		if (typePerms == null) {
-			typePerms = Collections.synchronizedMap(new THashMap());
-			groupPerms.put(objType, typePerms);
-		}
-		return typePerms;
-	}
-
-	/**
-	 * Get the role type permissions map from the given role group permissions map for the given type. If none exists, create a new one.
-	 * @param groupRolePerms role group permissions map
-	 * @param objType object type
-	 * @return role type permissions map
-	 */
-	@SuppressWarnings("unchecked")
-	protected synchronized Map<Integer, Set<Integer>> getRoleTypePerms(Map<Integer, Map<Integer, Set<Integer>>> groupRolePerms, int objType) {
-		Map<Integer, Set<Integer>> typePerms = groupRolePerms.get(objType);
-		if (typePerms == null) {
-			typePerms = Collections.synchronizedMap(new THashMap());
-			groupRolePerms.put(objType, typePerms);
-		}
-		return typePerms;
-	}
-
 	/**
 	 * Get the merged permission bits for the given groups on the given object type.
 	 * This method must be used on the types that don't have specific object instances, but manage permissions on the types in the tree.
@@ -239,18 +189,16 @@ public class PermissionStore {
 	 * @throws NodeException
 	 */
 	public Permissions getMergedPermissions(List<Integer> groupIds, int objectType) throws NodeException {
-		List<Permissions> collectedPerms = new ArrayList<Permissions>();
-		for (Integer groupId : groupIds) {
-			Map<Integer, Map<Integer, Permissions>> groupPerms = perms.get(groupId);
+		TIntObjectHashMap<GroupPermissions> currentPerms = perms;
+		int mergedBits = 0;
+		for (int groupId : groupIds) {
+			GroupPermissions groupPerms = currentPerms.get(groupId);
 			if (groupPerms != null) {
-				Map<Integer, Permissions> typePerms = groupPerms.get(objectType);
-				if (typePerms != null) {
-					collectedPerms.addAll(typePerms.values());
-				}
+				mergedBits |= groupPerms.getMergedBits(objectType);
 			}
 		}
 
-		return Permissions.merge(collectedPerms);
+		return Permissions.fromBits(mergedBits);
 	}
 
 	/**
@@ -265,64 +213,50 @@ public class PermissionStore {
 	 */
 	public PermissionPair getMergedPermissions(List<Integer> groupIds, int objectType, int objectId, int checkType, int checkLangId) throws NodeException {
 		PermissionPair returnValue = new PermissionPair();
+		TIntObjectHashMap<GroupPermissions> currentPerms = perms;
 
-		List<Permissions> collectedPerms = new ArrayList<Permissions>();
-		for (Integer groupId : groupIds) {
-			Map<Integer, Map<Integer, Permissions>> groupPerms = perms.get(groupId);
+		int mergedBits = 0;
+		for (int groupId : groupIds) {
+			GroupPermissions groupPerms = currentPerms.get(groupId);
 			if (groupPerms != null) {
-				Map<Integer, Permissions> typePerms = groupPerms.get(objectType);
-				if (typePerms != null) {
-					Permissions objectPerms = typePerms.get(objectId);
-					if (objectPerms != null) {
-						collectedPerms.add(objectPerms);
-					}
-				}
+				mergedBits |= Permissions.toBits(groupPerms.get(objectType, objectId));
 			}
 		}
 
-		returnValue.setGroupPermissions(Permissions.merge(collectedPerms));
+		returnValue.setGroupPermissions(Permissions.fromBits(mergedBits));
 
 		if (roleCheckTypes.contains(checkType) && TransactionManager.getCurrentTransaction().getNodeConfig().getDefaultPreferences().isFeature(Feature.ROLES)) {
-			collectedPerms.clear();
-			for (Integer groupId : groupIds) {
-				Map<Integer, Map<Integer, Set<Integer>>> groupPerms = rolePerms.get(groupId);
-				if (groupPerms != null) {
-					Map<Integer, Set<Integer>> typePerms = groupPerms.get(objectType);
-					if (typePerms != null) {
-						Set<Integer> roleIds = typePerms.get(objectId);
-						if (roleIds != null) {
-							for (int roleId : roleIds) {
-								RolePermissions rolePerms = roles.get(roleId);
-								if (rolePerms != null) {
-									switch (checkType) {
-									case File.TYPE_FILE:
-									case ImageFile.TYPE_IMAGE:
-										Permissions filePerms = rolePerms.getFilePerm();
-										if (filePerms != null) {
-											collectedPerms.add(filePerms);
-										}
-										break;
-									case Page.TYPE_PAGE:
-										Permissions langPerms = rolePerms.getPagePerm(checkLangId);
-										if (langPerms != null) {
-											collectedPerms.add(langPerms);
-										}
-										// always add the permissions for all languages
-										if (checkLangId != 0) {
-											langPerms = rolePerms.getPagePerm();
-											if (langPerms != null) {
-												collectedPerms.add(langPerms);
-											}
-										}
-										break;
-									}
-								}
+			TIntObjectHashMap<RolePermissions> currentRoles = roles;
+			mergedBits = 0;
+			for (int groupId : groupIds) {
+				GroupPermissions groupPerms = currentPerms.get(groupId);
+				if (groupPerms == null) {
+					continue;
+				}
+				int[] roleIds = groupPerms.getRoleIds(objectType, objectId);
+				if (roleIds == null) {
+					continue;
+				}
+				for (int roleId : roleIds) {
+					RolePermissions rolePerms = currentRoles.get(roleId);
+					if (rolePerms != null) {
+						switch (checkType) {
+						case File.TYPE_FILE:
+						case ImageFile.TYPE_IMAGE:
+							mergedBits |= Permissions.toBits(rolePerms.getFilePerm());
+							break;
+						case Page.TYPE_PAGE:
+							mergedBits |= Permissions.toBits(rolePerms.getPagePerm(checkLangId));
+							// always add the permissions for all languages
+							if (checkLangId != 0) {
+								mergedBits |= Permissions.toBits(rolePerms.getPagePerm());
 							}
+							break;
 						}
 					}
 				}
 			}
-			returnValue.setRolePermissions(Permissions.merge(collectedPerms));
+			returnValue.setRolePermissions(Permissions.fromBits(mergedBits));
 		}
 
 		return returnValue;
@@ -339,29 +273,28 @@ public class PermissionStore {
 	 * @throws NodeException
 	 */
 	public Set<Integer> getGroupsWithPerm(int objectType, int objectId, PermType type, int checkType, int checkLangId) throws NodeException {
+		TIntObjectHashMap<GroupPermissions> currentPerms = perms;
 		Set<Integer> groupIds = new HashSet<>();
-		for (Entry<Integer, Map<Integer, Map<Integer, Permissions>>> entry : perms.entrySet()) {
-			int groupId = entry.getKey();
-			Map<Integer, Map<Integer, Permissions>> typeMap = entry.getValue();
-
-			if (Permissions.check(typeMap.getOrDefault(objectType, Collections.emptyMap()).getOrDefault(objectId, null), type.getBit())) {
+		for (int groupId : currentPerms.keys()) {
+			if (Permissions.check(currentPerms.get(groupId).get(objectType, objectId), type.getBit())) {
 				groupIds.add(groupId);
 			}
 		}
 
 		if (roleCheckTypes.contains(checkType) && NodeConfigRuntimeConfiguration.isFeature(Feature.ROLES)) {
-			for (Entry<Integer, Map<Integer, Map<Integer, Set<Integer>>>> entry : rolePerms.entrySet()) {
-				int groupId = entry.getKey();
-
+			TIntObjectHashMap<RolePermissions> currentRoles = roles;
+			for (int groupId : currentPerms.keys()) {
 				// no need to check the group, if it already is contained in the set
 				if (groupIds.contains(groupId)) {
 					continue;
 				}
 
-				Map<Integer, Map<Integer, Set<Integer>>> typeMap = entry.getValue();
-				Set<Integer> roleIdSet = typeMap.getOrDefault(objectType, Collections.emptyMap()).getOrDefault(objectId, Collections.emptySet());
-				for (Integer roleId : roleIdSet) {
-					RolePermissions rolePermissions = roles.get(roleId);
+				int[] roleIds = currentPerms.get(groupId).getRoleIds(objectType, objectId);
+				if (roleIds == null) {
+					continue;
+				}
+				for (int roleId : roleIds) {
+					RolePermissions rolePermissions = currentRoles.get(roleId);
 					if (rolePermissions != null) {
 						switch (checkType) {
 						case File.TYPE_FILE:
@@ -416,8 +349,28 @@ public class PermissionStore {
 	public void refreshGroupLocal(final int groupId) throws NodeException {
 		long start = System.currentTimeMillis();
 
-		@SuppressWarnings("unchecked")
-		final Map<Integer, Map<Integer, Permissions>> groupPerm = Collections.synchronizedMap(new THashMap());
+		synchronized (writeLock) {
+			GroupPermissions groupPerms = loadGroup(groupId);
+			TIntObjectHashMap<GroupPermissions> modified = perms.clone();
+			modified.put(groupId, groupPerms);
+			perms = modified;
+		}
+
+		if (logger.isInfoEnabled()) {
+			long duration = System.currentTimeMillis() - start;
+			logger.info("Refreshed permissions for group " + groupId + " in " + duration + " ms");
+		}
+	}
+
+	/**
+	 * Load the permissions of the given group from the DB
+	 * This method expects a currently running transaction
+	 * @param groupId group id
+	 * @return group permissions
+	 * @throws NodeException
+	 */
+	protected GroupPermissions loadGroup(final int groupId) throws NodeException {
+		final TIntObjectHashMap<TIntObjectHashMap<Permissions>> typePerms = new TIntObjectHashMap<>();
 
 		DBUtils.executeStatement("SELECT o_type, o_id, perm FROM perm WHERE usergroup_id = ?", new SQLExecutor() {
 			@Override
@@ -428,11 +381,15 @@ public class PermissionStore {
 			@Override
 			public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
 				while (rs.next()) {
-					Integer oType = rs.getInt("o_type");
-					Integer oId = rs.getInt("o_id");
+					int oType = rs.getInt("o_type");
+					int oId = rs.getInt("o_id");
 					Permissions p = Permissions.get(rs.getString("perm"));
 
-					Map<Integer, Permissions> typePerm = getTypePerms(groupPerm, oType);
+					TIntObjectHashMap<Permissions> typePerm = typePerms.get(oType);
+					if (typePerm == null) {
+						typePerm = new TIntObjectHashMap<>();
+						typePerms.put(oType, typePerm);
+					}
 					if (p != null) {
 						typePerm.put(oId, p);
 					} else {
@@ -441,12 +398,10 @@ public class PermissionStore {
 				}
 			}
 		});
-		perms.put(groupId, groupPerm);
 
-		@SuppressWarnings("unchecked")
-		final Map<Integer, Map<Integer, Set<Integer>>> groupRolePerm = Collections.synchronizedMap(new THashMap());
+		final TIntObjectHashMap<TIntObjectHashMap<TIntHashSet>> typeRoles = new TIntObjectHashMap<>();
 
-		// refresh roles for the group
+		// load roles for the group
 		DBUtils.executeStatement("SELECT ru.role_id, rua.obj_id, rua.obj_type FROM role_usergroup ru INNER JOIN "
 				+ "role_usergroup_assignment rua ON ru.id = rua.role_usergroup_id WHERE ru.usergroup_id = ?", new SQLExecutor() {
 			@Override
@@ -457,22 +412,38 @@ public class PermissionStore {
 			@Override
 			public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
 				while (rs.next()) {
-					Integer oType = rs.getInt("obj_type");
-					Integer oId = rs.getInt("obj_id");
-					Integer roleId = rs.getInt("role_id");
-
-					Map<Integer, Set<Integer>> roleTypePerms = getRoleTypePerms(groupRolePerm, oType);
-					Set<Integer> roleSet = getRoleSet(roleTypePerms, oId);
+					int oType = rs.getInt("obj_type");
+					int oId = rs.getInt("obj_id");
+					int roleId = rs.getInt("role_id");
+
+					TIntObjectHashMap<TIntHashSet> roleTypePerms = typeRoles.get(oType);
+					if (roleTypePerms == null) {
+						roleTypePerms = new TIntObjectHashMap<>();
+						typeRoles.put(oType, roleTypePerms);
+					}
+					TIntHashSet roleSet = roleTypePerms.get(oId);
+					if (roleSet == null) {
+						roleSet = new TIntHashSet();
+						roleTypePerms.put(oId, roleSet);
+					}
 					roleSet.add(roleId);
 				}
 			}
 		});
-		rolePerms.put(groupId, groupRolePerm);
 
-		if (logger.isInfoEnabled()) {
-			long duration = System.currentTimeMillis() - start;
-			logger.info("Refreshed permissions for group " + groupId + " in " + duration + " ms");
+		TIntObjectHashMap<TIntObjectHashMap<int[]>> typeRoleIds = new TIntObjectHashMap<>(typeRoles.size());
+		for (int oType : typeRoles.keys()) {
+			TIntObjectHashMap<TIntHashSet> roleTypePerms = typeRoles.get(oType);
+			TIntObjectHashMap<int[]> roleIds = new TIntObjectHashMap<>(roleTypePerms.size());
+			for (int oId : roleTypePerms.keys()) {
+				int[] sortedRoleIds = roleTypePerms.get(oId).toArray();
+				Arrays.sort(sortedRoleIds);
+				roleIds.put(oId, sortedRoleIds);
+			}
+			typeRoleIds.put(oType, roleIds);
 		}
+
+		return new GroupPermissions(typePerms, typeRoleIds);
 	}
 
 	/**
@@ -489,6 +460,22 @@ public class PermissionStore {
 		}
 	}
 
+	/**
+	 * Refresh the stored permissions for the given objects for all groups
+	 * This method expects a currently running transaction and will also call {@link PermissionStoreService#refreshObject(int, int)} on all found instances
+	 * @param objType object type
+	 * @param objIds object ids
+	 * @throws NodeException
+	 */
+	public void refreshObjects(final int objType, final Collection<Integer> objIds) throws NodeException {
+		refreshObjectsLocal(objType, objIds);
+		for (PermissionStoreService service : permissionStoreServiceLoader) {
+			for (int objId : objIds) {
+				service.refreshObject(objType, objId);
+			}
+		}
+	}
+
 	/**
 	 * Refresh the stored permissions for the given object for all groups
 	 * This method expects a currently running transaction
@@ -497,107 +484,108 @@ public class PermissionStore {
 	 * @throws NodeException
 	 */
 	public void refreshObjectLocal(final int objType, final int objId) throws NodeException {
+		refreshObjectsLocal(objType, Collections.singleton(objId));
+	}
+
+	/**
+	 * Refresh the stored permissions for the given objects for all groups. The stored permissions of every group are copied at most once.
+	 * This method expects a currently running transaction
+	 * @param objType object type
+	 * @param objIds object ids
+	 * @throws NodeException
+	 */
+	public void refreshObjectsLocal(final int objType, final Collection<Integer> objIds) throws NodeException {
+		if (objIds.isEmpty()) {
+			return;
+		}
 		long start = System.currentTimeMillis();
+		int[] ids = objIds.stream().mapToInt(Integer::intValue).distinct().toArray();
 
-		// get all existing group ids
-		final List<Integer> groupIds = getAllGroupIds();
-		final List<Integer> remainingGroupIds = new ArrayList<Integer>(groupIds);
+		synchronized (writeLock) {
+			// get all existing group ids
+			final List<Integer> groupIds = getAllGroupIds();
 
-		// get all existing permissions on the object
-		DBUtils.executeStatement("SELECT usergroup_id, perm FROM perm WHERE o_type = ? AND o_id = ?", new SQLExecutor() {
-			@Override
-			public void prepareStatement(PreparedStatement stmt) throws SQLException {
-				stmt.setInt(1, objType);
-				stmt.setInt(2, objId);
-			}
+			// get all existing permissions on the objects (per group and object)
+			final TIntObjectHashMap<TIntObjectHashMap<Permissions>> objectPerms = new TIntObjectHashMap<>();
+			DBUtils.executeMassStatement("SELECT usergroup_id, o_id, perm FROM perm WHERE o_type = ? AND o_id IN", objIds, 2, new SQLExecutor() {
+				@Override
+				public void prepareStatement(PreparedStatement stmt) throws SQLException {
+					stmt.setInt(1, objType);
+				}
 
-			@Override
-			public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
-				while (rs.next()) {
-					// set the permissions
-					Integer groupId = rs.getInt("usergroup_id");
-					if (!groupIds.contains(groupId)) {
-						// omit the perm, if the group does not exist
-						continue;
-					}
-					Permissions p = Permissions.get(rs.getString("perm"));
-					Map<Integer, Map<Integer, Permissions>> groupPerms = getGroupPerms(groupId);
-					Map<Integer, Permissions> typePerms = getTypePerms(groupPerms, objType);
-					if (p != null) {
-						typePerms.put(objId, p);
-					} else {
-						typePerms.remove(objId);
+				@Override
+				public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+					while (rs.next()) {
+						Permissions p = Permissions.get(rs.getString("perm"));
+						if (p != null) {
+							int groupId = rs.getInt("usergroup_id");
+							TIntObjectHashMap<Permissions> groupPerms = objectPerms.get(groupId);
+							if (groupPerms == null) {
+								groupPerms = new TIntObjectHashMap<>();
+								objectPerms.put(groupId, groupPerms);
+							}
+							groupPerms.put(rs.getInt("o_id"), p);
+						}
 					}
-					// remove the group from the list of the remaining group ids
-					remainingGroupIds.remove(groupId);
 				}
-			}
-		});
-
-		// for all remaining groups (groups for which no permission was found), we remove the setting
-		for (Integer groupId : remainingGroupIds) {
-			Map<Integer, Map<Integer, Permissions>> groupPerms = getGroupPerms(groupId);
-			Map<Integer, Permissions> typePerms = getTypePerms(groupPerms, objType);
-			typePerms.remove(objId);
-		}
-
-		remainingGroupIds.clear();
-		remainingGroupIds.addAll(groupIds);
-
-		// refresh roles
-		DBUtils.executeStatement("SELECT ru.role_id, ru.usergroup_id FROM role_usergroup ru INNER JOIN "
-				+ "role_usergroup_assignment rua ON ru.id = rua.role_usergroup_id WHERE rua.obj_type = ? AND rua.obj_id = ?", new SQLExecutor() {
-			@Override
-			public void prepareStatement(PreparedStatement stmt) throws SQLException {
-				stmt.setInt(1, objType);
-				stmt.setInt(2, objId);
-			}
+			});
 
-			@Override
-			public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
-				while (rs.next()) {
-					Integer groupId = rs.getInt("usergroup_id");
-					Integer roleId = rs.getInt("role_id");
+			// get all roles assigned on the objects (per group and object)
+			final TIntObjectHashMap<TIntObjectHashMap<TIntHashSet>> objectRoles = new TIntObjectHashMap<>();
+			DBUtils.executeMassStatement("SELECT ru.role_id, ru.usergroup_id, rua.obj_id FROM role_usergroup ru INNER JOIN "
+					+ "role_usergroup_assignment rua ON ru.id = rua.role_usergroup_id WHERE rua.obj_type = ? AND rua.obj_id IN", objIds, 2, new SQLExecutor() {
+				@Override
+				public void prepareStatement(PreparedStatement stmt) throws SQLException {
+					stmt.setInt(1, objType);
+				}
 
-					Map<Integer, Map<Integer, Set<Integer>>> groupPerms = getRoleGroupPerms(groupId);
-					Map<Integer, Set<Integer>> typePerms = getRoleTypePerms(groupPerms, objType);
-					Set<Integer> roleSet = getRoleSet(typePerms, objId);
-					roleSet.add(roleId);
+				@Override
+				public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+					while (rs.next()) {
+						int groupId = rs.getInt("usergroup_id");
+						TIntObjectHashMap<TIntHashSet> groupRoles = objectRoles.get(groupId);
+						if (groupRoles == null) {
+							groupRoles = new TIntObjectHashMap<>();
+							objectRoles.put(groupId, groupRoles);
+						}
+						int objId = rs.getInt("obj_id");
+						TIntHashSet roleSet = groupRoles.get(objId);
+						if (roleSet == null) {
+							roleSet = new TIntHashSet();
+							groupRoles.put(objId, roleSet);
+						}
+						roleSet.add(rs.getInt("role_id"));
+					}
+				}
+			});
 
-					// remove the group from the list of the remaining group ids
-					remainingGroupIds.remove(groupId);
+			// set the permissions and roles for all groups (this will remove the settings for groups, for which nothing was found)
+			TIntObjectHashMap<GroupPermissions> modified = perms.clone();
+			for (int groupId : groupIds) {
+				GroupPermissions groupPerms = modified.get(groupId);
+				if (groupPerms == null) {
+					groupPerms = GroupPermissions.EMPTY;
+				}
+				TIntObjectHashMap<Permissions> groupObjectPerms = objectPerms.get(groupId);
+				TIntObjectHashMap<TIntHashSet> groupObjectRoles = objectRoles.get(groupId);
+				GroupPermissions modifiedGroupPerms = groupPerms.with(objType, ids, objId -> groupObjectPerms != null ? groupObjectPerms.get(objId) : null,
+						objId -> {
+							TIntHashSet roleSet = groupObjectRoles != null ? groupObjectRoles.get(objId) : null;
+							return roleSet != null ? roleSet.toArray() : null;
+						});
+				if (modifiedGroupPerms != groupPerms) {
+					modified.put(groupId, modifiedGroupPerms);
 				}
 			}
-		});
-
-		// for all remaining groups (groups for which no permission was found), we remove the setting
-		for (Integer groupId : remainingGroupIds) {
-			Map<Integer, Map<Integer, Set<Integer>>> groupPerms = getRoleGroupPerms(groupId);
-			Map<Integer, Set<Integer>> typePerms = getRoleTypePerms(groupPerms, objType);
-			typePerms.remove(objId);
+			perms = modified;
 		}
 
 		if (logger.isInfoEnabled()) {
 			long duration = System.currentTimeMillis() - start;
-			logger.info("Refreshed permissions for object " + objType + "." + objId + " in " + duration + " ms");
+			logger.info("Refreshed permissions for " + ids.length + " objects of type " + objType + " in " + duration + " ms");
 		}
 	}
 
-	/**
-	 * Get the set of active roles for a given object out of the typePerms map. If it doesn't exists, a new one is created
-	 * @param typePerms type permission map
-	 * @param objId object to lookup
-	 * @return set of active roles on the requested object
-	 */
-	protected Set<Integer> getRoleSet(Map<Integer, Set<Integer>> typePerms, int objId) {
-		Set<Integer> roleSet = typePerms.get(objId);
-		if (roleSet == null) {
-			roleSet = Collections.synchronizedSet(new THashSet());
-			typePerms.put(objId, roleSet);
-		}
-		return roleSet;
-	}
-
 	/**
 	 * Refresh the given role
 	 * This will also call {@link PermissionStoreService#refreshRole(int)} on all found instances
@@ -617,6 +605,21 @@ public class PermissionStore {
 	 * @throws NodeException
 	 */
 	public void refreshRoleLocal(final int roleId) throws NodeException {
+		synchronized (writeLock) {
+			RolePermissions rolePerm = loadRole(roleId);
+			TIntObjectHashMap<RolePermissions> modified = roles.clone();
+			modified.put(roleId, rolePerm);
+			roles = modified;
+		}
+	}
+
+	/**
+	 * Load the given role from the DB
+	 * @param roleId role id
+	 * @return role permissions
+	 * @throws NodeException
+	 */
+	protected RolePermissions loadRole(final int roleId) throws NodeException {
 		final Map<Integer, Permissions> foundPermissions = new HashMap<Integer, Permissions>();
 		final Map<Integer, Integer> permissionType = new HashMap<Integer, Integer>();
 		final Map<Integer, Integer> permissionLangs = new HashMap<Integer, Integer>();
@@ -670,7 +673,7 @@ public class PermissionStore {
 				break;
 			}
 		}
-		roles.put(roleId, rolePerm);
+		return rolePerm;
 	}
 
 	/**
@@ -680,7 +683,8 @@ public class PermissionStore {
 	 * @throws NodeException
 	 */
 	public RolePermissions getRolePerm(int roleId) throws NodeException {
-		return roles.getOrDefault(roleId, new RolePermissions());
+		RolePermissions rolePerm = roles.get(roleId);
+		return rolePerm != null ? rolePerm : new RolePermissions();
 	}
 
 	/**
@@ -702,8 +706,11 @@ public class PermissionStore {
 	 * @throws NodeException
 	 */
 	public void removeGroupLocal(int groupId) throws NodeException {
-		perms.remove(groupId);
-		rolePerms.remove(groupId);
+		synchronized (writeLock) {
+			TIntObjectHashMap<GroupPermissions> modified = perms.clone();
+			modified.remove(groupId);
+			perms = modified;
+		}
 	}
 
 	/**
@@ -725,13 +732,16 @@ public class PermissionStore {
 	 * @param objId object id
 	 */
 	public void removeObjectLocal(final int objType, final int objId) {
-		for (Map<Integer, Map<Integer, Permissions>> groupPerms : perms.values()) {
-			Map<Integer, Permissions> typePerms = getTypePerms(groupPerms, objType);
-			typePerms.remove(objId);
-		}
-		for (Map<Integer, Map<Integer, Set<Integer>>> groupPerms : rolePerms.values()) {
-			Map<Integer, Set<Integer>> typePerms = getRoleTypePerms(groupPerms, objType);
-			typePerms.remove(objId);
+		synchronized (writeLock) {
+			TIntObjectHashMap<GroupPermissions> modified = perms.clone();
+			for (int groupId : modified.keys()) {
+				GroupPermissions groupPerms = modified.get(groupId);
+				GroupPermissions modifiedGroupPerms = groupPerms.with(objType, objId, null, null);
+				if (modifiedGroupPerms != groupPerms) {
+					modified.put(groupId, modifiedGroupPerms);
+				}
+			}
+			perms = modified;
 		}
 	}
 
@@ -752,17 +762,21 @@ public class PermissionStore {
 	 * @param roleId role id
 	 */
 	public void removeRoleLocal(final int roleId) {
-		rolePerms.remove(roleId);
-		for (Map<Integer, Map<Integer, Set<Integer>>> rolePermForGroup : rolePerms.values()) {
-			for (Map<Integer, Set<Integer>> rolePermForGroupAndType : rolePermForGroup.values()) {
-				for (Iterator<Map.Entry<Integer, Set<Integer>>> i = rolePermForGroupAndType.entrySet().iterator(); i.hasNext();) {
-					Entry<Integer, Set<Integer>> entry = i.next();
-					entry.getValue().remove(roleId);
-					if (entry.getValue().isEmpty()) {
-						i.remove();
-					}
+		synchronized (writeLock) {
+			TIntObjectHashMap<RolePermissions> modifiedRoles = roles.clone();
+			modifiedRoles.remove(roleId);
+
+			TIntObjectHashMap<GroupPermissions> modified = perms.clone();
+			for (int groupId : modified.keys()) {
+				GroupPermissions groupPerms = modified.get(groupId);
+				GroupPermissions modifiedGroupPerms = groupPerms.withoutRole(roleId);
+				if (modifiedGroupPerms != groupPerms) {
+					modified.put(groupId, modifiedGroupPerms);
 				}
 			}
+
+			roles = modifiedRoles;
+			perms = modified;
 		}
 	}
 
@@ -771,11 +785,10 @@ public class PermissionStore {
 	 * @return number of stored permissions
 	 */
 	public int getCount() {
+		TIntObjectHashMap<GroupPermissions> currentPerms = perms;
 		int count = 0;
-		for (Map<Integer, Map<Integer, Permissions>> groupPerms : perms.values()) {
-			for (Map<Integer, Permissions> typePerms : groupPerms.values()) {
-				count += typePerms.size();
-			}
+		for (int groupId : currentPerms.keys()) {
+			count += currentPerms.get(groupId).getCount();
 		}
 		return count;
 	}
@@ -847,7 +860,8 @@ public class PermissionStore {
 	 */
 	protected boolean checkGroupConsistency(final int groupId, final StringBuilder output, final boolean htmlOutput) throws NodeException {
 		final boolean[] ok = new boolean[] {true};
-		final Map<Integer, Map<Integer, Permissions>> groupPerm = getGroupPerms(groupId);
+		GroupPermissions storedGroupPerms = perms.get(groupId);
+		final GroupPermissions groupPerm = storedGroupPerms != null ? storedGroupPerms : GroupPermissions.EMPTY;
 
 		final Map<Integer, Set<Integer>> foundPerms = new HashMap<Integer, Set<Integer>>();
 
@@ -864,8 +878,8 @@ public class PermissionStore {
 					Integer oType = rs.getInt("o_type");
 					Integer oId = rs.getInt("o_id");
 					Permissions p = Permissions.get(rs.getString("perm"));
+					Permissions cached = groupPerm.get(oType, oId);
 
-					Map<Integer, Permissions> typePerm = getTypePerms(groupPerm, oType);
 					if (p != null) {
 						// get the set of found id's per type
 						Set<Integer> idSet = foundPerms.get(oType);
@@ -874,7 +888,7 @@ public class PermissionStore {
 							foundPerms.put(oType, idSet);
 						}
 						idSet.add(oId);
-						if (!p.equals(typePerm.get(oId))) {
+						if (!p.equals(cached)) {
 							ok[0] = false;
 							if (htmlOutput) {
 								output.append("<br/>");
@@ -882,7 +896,7 @@ public class PermissionStore {
 								output.append("\n");
 							}
 							output.append("mismatch for group ").append(groupId).append(" type ").append(oType).append(" id ").append(oId);
-							output.append(": cached ").append(typePerm.get(oId)).append(", stored ").append(p);
+							output.append(": cached ").append(cached).append(", stored ").append(p);
 						}
 					}
 				}
@@ -890,16 +904,15 @@ public class PermissionStore {
 		});
 
 		// now do the reverse check, check whether all cached perms are also found in the DB
-		for (Map.Entry<Integer, Map<Integer, Permissions>> typePermEntry : groupPerm.entrySet()) {
-			Integer oType = typePermEntry.getKey();
+		for (int oType : groupPerm.typePerms.keys()) {
 			Set<Integer> idSet = foundPerms.get(oType);
 			if (idSet == null) {
 				idSet = new HashSet<Integer>();
 				foundPerms.put(oType, idSet);
 			}
 
-			for (Map.Entry<Integer, Permissions> oPermEntry : typePermEntry.getValue().entrySet()) {
-				Integer oId = oPermEntry.getKey();
+			TIntObjectHashMap<Permissions> typePerm = groupPerm.typePerms.get(oType);
+			for (int oId : typePerm.keys()) {
 				if (!idSet.contains(oId)) {
 					ok[0] = false;
 					if (htmlOutput) {
@@ -908,7 +921,7 @@ public class PermissionStore {
 						output.append("\n");
 					}
 					output.append("mismatch for group ").append(groupId).append(" type ").append(oType).append(" id ").append(oId);
-					output.append(": cached ").append(oPermEntry.getValue()).append(", stored ").append((String)null);
+					output.append(": cached ").append(typePerm.get(oId)).append(", stored ").append((String)null);
 				}
 			}
 		}
@@ -923,10 +936,17 @@ public class PermissionStore {
 	 */
 	public Set<Integer> getFolderIdsWithPermissions(int groupId) {
 		Set<Integer> folderIds = new HashSet<>();
-		Map<Integer, Map<Integer, Permissions>> groupMap = perms.getOrDefault(groupId, Collections.emptyMap());
-		folderIds.addAll(groupMap.getOrDefault(Node.TYPE_NODE, Collections.emptyMap()).keySet());
-		folderIds.addAll(groupMap.getOrDefault(Folder.TYPE_FOLDER, Collections.emptyMap()).keySet());
-		folderIds.addAll(groupMap.getOrDefault(Node.TYPE_CHANNEL, Collections.emptyMap()).keySet());
+		GroupPermissions groupPerms = perms.get(groupId);
+		if (groupPerms != null) {
+			for (int type : new int[] { Node.TYPE_NODE, Folder.TYPE_FOLDER, Node.TYPE_CHANNEL }) {
+				TIntObjectHashMap<Permissions> typePerms = groupPerms.typePerms.get(type);
+				if (typePerms != null) {
+					for (int id : typePerms.keys()) {
+						folderIds.add(id);
+					}
+				}
+			}
+		}
 
 		return folderIds;
 	}
@@ -937,4 +957,266 @@ public class PermissionStore {
 	public static void reset() {
 		singleton = null;
 	}
+
+	/**
+	 * Permissions and role assignments of a single group.
+	 * Instances are never modified, modifications will create new instances.
+	 */
+	public static class GroupPermissions {
+		/**
+		 * Empty instance
+		 */
+		public final static GroupPermissions EMPTY = new GroupPermissions(new TIntObjectHashMap<>(), new TIntObjectHashMap<>());
+
+		/**
+		 * Permissions per object type and object id
+		 */
+		protected final TIntObjectHashMap<TIntObjectHashMap<Permissions>> typePerms;
+
+		/**
+		 * Merged permission bits of all objects per object type
+		 */
+		protected final TIntIntHashMap mergedBits;
+
+		/**
+		 * Sorted IDs of the assigned roles per object type and object id
+		 */
+		protected final TIntObjectHashMap<TIntObjectHashMap<int[]>> typeRoles;
+
+		/**
+		 * Create an instance
+		 * @param typePerms permissions per object type and object id
+		 * @param typeRoles sorted IDs of the assigned roles per object type and object id
+		 */
+		public GroupPermissions(TIntObjectHashMap<TIntObjectHashMap<Permissions>> typePerms, TIntObjectHashMap<TIntObjectHashMap<int[]>> typeRoles) {
+			this.typePerms = typePerms;
+			this.typeRoles = typeRoles;
+			mergedBits = new TIntIntHashMap(typePerms.size());
+			for (int type : typePerms.keys()) {
+				mergedBits.put(type, merge(typePerms.get(type)));
+			}
+		}
+
+		/**
+		 * Create an instance with precalculated merged bits
+		 * @param typePerms permissions per object type and object id
+		 * @param mergedBits merged permission bits per object type
+		 * @param typeRoles sorted IDs of the assigned roles per object type and object id
+		 */
+		private GroupPermissions(TIntObjectHashMap<TIntObjectHashMap<Permissions>> typePerms, TIntIntHashMap mergedBits,
+				TIntObjectHashMap<TIntObjectHashMap<int[]>> typeRoles) {
+			this.typePerms = typePerms;
+			this.mergedBits = mergedBits;
+			this.typeRoles = typeRoles;
+		}
+
+		/**
+		 * Get the permissions on the object
+		 * @param type object type
+		 * @param id object id
+		 * @return permissions (null for "empty")
+		 */
+		public Permissions get(int type, int id) {
+			TIntObjectHashMap<Permissions> perms = typePerms.get(type);
+			return perms != null ? perms.get(id) : null;
+		}
+
+		/**
+		 * Get the merged permission bits of all objects of the type
+		 * @param type object type
+		 * @return merged permission bits
+		 */
+		public int getMergedBits(int type) {
+			return mergedBits.get(type);
+		}
+
+		/**
+		 * Get the IDs of the roles assigned on the object
+		 * @param type object type
+		 * @param id object id
+		 * @return sorted role IDs (null if no roles assigned)
+		 */
+		public int[] getRoleIds(int type, int id) {
+			TIntObjectHashMap<int[]> roleIds = typeRoles.get(type);
+			return roleIds != null ? roleIds.get(id) : null;
+		}
+
+		/**
+		 * Get the number of stored permissions
+		 * @return number of stored permissions
+		 */
+		public int getCount() {
+			int count = 0;
+			for (int type : typePerms.keys()) {
+				count += typePerms.get(type).size();
+			}
+			return count;
+		}
+
+		/**
+		 * Get an instance with the permissions and roles on the given object changed
+		 * @param type object type
+		 * @param id object id
+		 * @param perm permissions (null for "empty")
+		 * @param roleIds role IDs (null or empty for no roles)
+		 * @return this instance, if nothing changed, or a modified copy
+		 */
+		public GroupPermissions with(int type, int id, Permissions perm, int[] roleIds) {
+			return with(type, new int[] { id }, objId -> perm, objId -> roleIds);
+		}
+
+		/**
+		 * Get an instance with the permissions and roles on the given objects changed.
+		 * The maps of the object type are copied at most once, regardless of the number of changed objects.
+		 * @param type object type
+		 * @param ids object ids
+		 * @param perms function returning the permissions of an object (null for "empty")
+		 * @param roles function returning the role IDs of an object (null or empty for no roles)
+		 * @return this instance, if nothing changed, or a modified copy
+		 */
+		public GroupPermissions with(int type, int[] ids, IntFunction<Permissions> perms, IntFunction<int[]> roles) {
+			TIntObjectHashMap<Permissions> modifiedPerms = null;
+			TIntObjectHashMap<int[]> modifiedRoles = null;
+
+			for (int id : ids) {
+				Permissions perm = perms.apply(id);
+				int[] roleIds = roles.apply(id);
+				if (roleIds != null) {
+					if (roleIds.length == 0) {
+						roleIds = null;
+					} else {
+						roleIds = roleIds.clone();
+						Arrays.sort(roleIds);
+					}
+				}
+
+				if (!Objects.equals(get(type, id), perm)) {
+					if (modifiedPerms == null) {
+						modifiedPerms = copy(typePerms.get(type));
+					}
+					put(modifiedPerms, id, perm);
+				}
+				if (!Arrays.equals(getRoleIds(type, id), roleIds)) {
+					if (modifiedRoles == null) {
+						modifiedRoles = copy(typeRoles.get(type));
+					}
+					put(modifiedRoles, id, roleIds);
+				}
+			}
+
+			if (modifiedPerms == null && modifiedRoles == null) {
+				return this;
+			}
+
+			TIntObjectHashMap<TIntObjectHashMap<Permissions>> modifiedTypePerms = typePerms;
+			TIntIntHashMap modifiedMergedBits = mergedBits;
+			if (modifiedPerms != null) {
+				modifiedTypePerms = typePerms.clone();
+				modifiedMergedBits = (TIntIntHashMap) mergedBits.clone();
+				if (modifiedPerms.isEmpty()) {
+					modifiedTypePerms.remove(type);
+					modifiedMergedBits.remove(type);
+				} else {
+					modifiedTypePerms.put(type, modifiedPerms);
+					modifiedMergedBits.put(type, merge(modifiedPerms));
+				}
+			}
+
+			TIntObjectHashMap<TIntObjectHashMap<int[]>> modifiedTypeRoles = typeRoles;
+			if (modifiedRoles != null) {
+				modifiedTypeRoles = typeRoles.clone();
+				if (modifiedRoles.isEmpty()) {
+					modifiedTypeRoles.remove(type);
+				} else {
+					modifiedTypeRoles.put(type, modifiedRoles);
+				}
+			}
+
+			return new GroupPermissions(modifiedTypePerms, modifiedMergedBits, modifiedTypeRoles);
+		}
+
+		/**
+		 * Get an instance without any assignments of the given role
+		 * @param roleId role ID
+		 * @return this instance, if the role was not assigned, or a modified copy
+		 */
+		public GroupPermissions withoutRole(int roleId) {
+			TIntObjectHashMap<TIntObjectHashMap<int[]>> modifiedTypeRoles = null;
+			for (int type : typeRoles.keys()) {
+				TIntObjectHashMap<int[]> roles = typeRoles.get(type);
+				TIntObjectHashMap<int[]> modifiedRoles = null;
+				for (int id : roles.keys()) {
+					int[] roleIds = roles.get(id);
+					int index = Arrays.binarySearch(roleIds, roleId);
+					if (index < 0) {
+						continue;
+					}
+					if (modifiedRoles == null) {
+						modifiedRoles = roles.clone();
+					}
+					if (roleIds.length == 1) {
+						modifiedRoles.remove(id);
+					} else {
+						int[] remaining = new int[roleIds.length - 1];
+						System.arraycopy(roleIds, 0, remaining, 0, index);
+						System.arraycopy(roleIds, index + 1, remaining, index, roleIds.length - index - 1);
+						modifiedRoles.put(id, remaining);
+					}
+				}
+
+				if (modifiedRoles != null) {
+					if (modifiedTypeRoles == null) {
+						modifiedTypeRoles = typeRoles.clone();
+					}
+					if (modifiedRoles.isEmpty()) {
+						modifiedTypeRoles.remove(type);
+					} else {
+						modifiedTypeRoles.put(type, modifiedRoles);
+					}
+				}
+			}
+
+			if (modifiedTypeRoles == null) {
+				return this;
+			}
+			return new GroupPermissions(typePerms, mergedBits, modifiedTypeRoles);
+		}
+
+		/**
+		 * Get a copy of the given map
+		 * @param map map (may be null)
+		 * @return copy
+		 */
+		protected static <T> TIntObjectHashMap<T> copy(TIntObjectHashMap<T> map) {
+			return map != null ? map.clone() : new TIntObjectHashMap<>();
+		}
+
+		/**
+		 * Put the value into the given map or remove the key
+		 * @param map map
+		 * @param key key
+		 * @param value value to put (null to remove)
+		 */
+		protected static <T> void put(TIntObjectHashMap<T> map, int key, T value) {
+			if (value != null) {
+				map.put(key, value);
+			} else {
+				map.remove(key);
+			}
+		}
+
+		/**
+		 * Merge the bits of all given permissions
+		 * @param perms permissions
+		 * @return merged bits
+		 */
+		protected static int merge(TIntObjectHashMap<Permissions> perms) {
+			int[] bits = new int[1];
+			perms.forEachValue(p -> {
+				bits[0] |= Permissions.toBits(p);
+				return true;
+			});
+			return bits[0];
+		}
+	}
 }
@@ -1,10 +1,8 @@
 package com.gentics.contentnode.perm;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.etc.Function;
@@ -18,14 +16,19 @@ import com.gentics.contentnode.rest.util.PermPattern;
 
 public class Permissions {
 	/**
-	 * Stored permission settings
+	 * Number of permission bits
 	 */
-	protected static Map<String, Permissions> storedPerms = new HashMap<String, Permissions>();
+	public final static int NUM_BITS = 32;
 
 	/**
-	 * here are the bits stored
+	 * Stored permission settings (by bit mask)
 	 */
-	protected byte[] bits = new byte[32];
+	protected static Map<Integer, Permissions> storedPerms = new ConcurrentHashMap<>();
+
+	/**
+	 * here are the bits stored. Permission bit i is stored as (1 &lt;&lt; i)
+	 */
+	protected final int bits;
 
 	/**
 	 * Function to transform the permission into the REST Model of file privileges
@@ -55,21 +58,50 @@ public class Permissions {
 	 * @return permissions object
 	 * @throws NodeException
 	 */
-	public static synchronized Permissions get(String permBits) throws NodeException {
-		Permissions perm = storedPerms.get(permBits);
-		if (perm == null) {
-			if (permBits.equals(PermHandler.EMPTY_PERM)) {
-				return null;
-			} else if (permBits.matches("^[0-1]{32}$")) {
-				perm = new Permissions(permBits);
-				storedPerms.put(permBits, perm);
-			} else {
+	public static Permissions get(String permBits) throws NodeException {
+		if (permBits == null || permBits.length() != NUM_BITS) {
+			throw new NodeException("Illegal permission bits string: " + permBits);
+		}
+		int mask = 0;
+		for (int i = 0; i < NUM_BITS; i++) {
+			switch (permBits.charAt(i)) {
+			case '1':
+				mask |= (1 << i);
+				break;
+			case '0':
+				break;
+			default:
 				throw new NodeException("Illegal permission bits string: " + permBits);
 			}
 		}
+		if (mask == 0) {
+			return null;
+		}
+		return fromBits(mask);
+	}
+
+	/**
+	 * Get the (shared) Permissions object for the given bit mask. Contrary to {@link #get(String)}, this will also return an instance for the empty mask.
+	 * @param mask bit mask (permission bit i is stored as (1 &lt;&lt; i))
+	 * @return permissions object
+	 */
+	public static Permissions fromBits(int mask) {
+		Permissions perm = storedPerms.get(mask);
+		if (perm == null) {
+			perm = storedPerms.computeIfAbsent(mask, Permissions::new);
+		}
 		return perm;
 	}
 
+	/**
+	 * Get the bit mask of the given permissions
+	 * @param perms permissions (may be null for "empty")
+	 * @return bit mask
+	 */
+	public static int toBits(Permissions perms) {
+		return perms == null ? 0 : perms.bits;
+	}
+
 	/**
 	 * Get the Permissions object for the given permission bits
 	 * @param permBits list of permission bits, that are set
@@ -77,17 +109,14 @@ public class Permissions {
 	 * @throws NodeException
 	 */
 	public static Permissions get(int... permBits) throws NodeException {
-		Set<Integer> bitSet = new HashSet<Integer>();
+		int mask = 0;
 		for (int permBit : permBits) {
-			bitSet.add(permBit);
-		}
-
-		StringBuilder str = new StringBuilder(32);
-		for (int i = 0; i < 32; i++) {
-			str.append(bitSet.contains(i) ? "1" : "0");
+			if (permBit >= 0 && permBit < NUM_BITS) {
+				mask |= (1 << permBit);
+			}
 		}
 
-		return get(str.toString());
+		return mask == 0 ? null : fromBits(mask);
 	}
 
 	/**
@@ -96,12 +125,12 @@ public class Permissions {
 	 * @return merged permissions
 	 */
 	public static Permissions merge(List<Permissions> perms) {
-		Permissions merged = new Permissions();
+		int merged = 0;
 		for (Permissions p : perms) {
-			merged.merge(p);
+			merged |= toBits(p);
 		}
 
-		return merged;
+		return fromBits(merged);
 	}
 
 	/**
@@ -110,12 +139,12 @@ public class Permissions {
 	 * @return merged permissions
 	 */
 	public static Permissions merge(Permissions... perms) {
-		Permissions merged = new Permissions();
+		int merged = 0;
 		for (Permissions p : perms) {
-			merged.merge(p);
+			merged |= toBits(p);
 		}
 
-		return merged;
+		return fromBits(merged);
 	}
 
 	/**
@@ -147,9 +176,8 @@ public class Permissions {
 			// bit already set, nothing to change
 			return perms;
 		} else {
-			// clone original perms, set the bit and return
-			// use Permissions.get() here to get stored perm instance
-			return get(new Permissions(perms.toString()).set(bit).toString());
+			// set the bit and return the stored perm instance
+			return fromBits(perms.bits | (1 << bit));
 		}
 	}
 
@@ -183,9 +211,9 @@ public class Permissions {
 			// bit not set, so nothing to do
 			return perms;
 		} else {
-			// clone original perms, unset the bit and return
-			// use Permissions.get() here to get stored perm instance (or null instead empty perms)
-			return get(new Permissions(perms.toString()).unset(bit).toString());
+			// unset the bit and return the stored perm instance (or null instead empty perms)
+			int mask = perms.bits & ~(1 << bit);
+			return mask == 0 ? null : fromBits(mask);
 		}
 	}
 
@@ -197,19 +225,19 @@ public class Permissions {
 	 * @throws NodeException
 	 */
 	public static Permissions change(Permissions perms, String pattern) throws NodeException {
-		Permissions mutableClone = new Permissions(toString(perms));
-		for (int bit = 0; bit < Math.min(pattern.length(), 32); bit++) {
+		int mask = toBits(perms);
+		for (int bit = 0; bit < Math.min(pattern.length(), NUM_BITS); bit++) {
 			switch(pattern.charAt(bit)) {
 			case '1':
-				mutableClone.set(bit);
+				mask |= (1 << bit);
 				break;
 			case '0':
-				mutableClone.unset(bit);
+				mask &= ~(1 << bit);
 				break;
 			}
 		}
 
-		return get(mutableClone.toString());
+		return mask == 0 ? null : fromBits(mask);
 	}
 
 	/**
@@ -232,57 +260,20 @@ public class Permissions {
 		return perms == null ? PermHandler.EMPTY_PERM : perms.toString();
 	}
 
-	/**
-	 * Create an empty permission setting
-	 */
-	private Permissions() {
-	}
-
 	/**
 	 * Create a new Permissions instance
-	 * @param permBits permission bits as string
+	 * @param bits permission bits as mask
 	 */
-	private Permissions(String permBits) {
-		int c = permBits.length();
-
-		bits = new byte[permBits.length()];
-		for (int i = 0; i < c; ++i) {
-			bits[i] = "1".equals(permBits.substring(i, i + 1)) ? (byte) 1 : (byte) 0;
-		}
+	private Permissions(int bits) {
+		this.bits = bits;
 	}
 
 	/**
-	 * Merge the given permissions into this one
-	 * @param p permissions to merge
+	 * Get the permission bits as mask (permission bit i is stored as (1 &lt;&lt; i))
+	 * @return bit mask
 	 */
-	private void merge(Permissions p) {
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] |= p.bits[i];
-		}
-	}
-
-	/**
-	 * Modify instance by setting the given bit
-	 * @param bit bit to set
-	 * @return fluent API
-	 */
-	private Permissions set(int bit) {
-		if (bit < bits.length) {
-			bits[bit] = (byte)1;
-		}
-		return this;
-	}
-
-	/**
-	 * Modify instance by unsetting the given bit
-	 * @param bit bit to unset
-	 * @return fluent API
-	 */
-	private Permissions unset(int bit) {
-		if (bit < bits.length) {
-			bits[bit] = (byte)0;
-		}
-		return this;
+	public int getBits() {
+		return bits;
 	}
 
 	/**
@@ -291,33 +282,41 @@ public class Permissions {
 	 * @return true when the bit is set, false if not
 	 */
 	public boolean check(int bit) {
-		if (bit < 0 || bit >= bits.length) {
+		if (bit < 0 || bit >= NUM_BITS) {
 			return false;
 		} else {
-			return bits[bit] == (byte) 1;
+			return (bits & (1 << bit)) != 0;
 		}
 	}
 
+	/**
+	 * Check whether all bits of the given mask are set
+	 * @param mask bit mask
+	 * @return true when all bits are set
+	 */
+	public boolean checkAll(int mask) {
+		return (bits & mask) == mask;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof Permissions) {
-			Permissions other = (Permissions) obj;
-			for (int i = 0; i < bits.length; i++) {
-				if (bits[i] != other.bits[i]) {
-					return false;
-				}
-			}
-			return true;
+			return bits == ((Permissions) obj).bits;
 		} else {
 			return false;
 		}
 	}
 
+	@Override
+	public int hashCode() {
+		return bits;
+	}
+
 	@Override
 	public String toString() {
-		StringBuilder b = new StringBuilder(32);
-		for (int i = 0; i < bits.length; i++) {
-			b.append(bits[i]);
+		StringBuilder b = new StringBuilder(NUM_BITS);
+		for (int i = 0; i < NUM_BITS; i++) {
+			b.append((bits & (1 << i)) != 0 ? '1' : '0');
 		}
 		return b.toString();
 	}
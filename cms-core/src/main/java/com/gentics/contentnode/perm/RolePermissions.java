@@ -1,8 +1,6 @@
 package com.gentics.contentnode.perm;
 
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -19,7 +17,7 @@ import com.gentics.contentnode.rest.model.PagePrivileges;
 import com.gentics.contentnode.rest.model.Privilege;
 import com.gentics.contentnode.rest.model.RolePermissionsModel;
 
-import gnu.trove.THashMap;
+import gnu.trove.TIntObjectHashMap;
 
 /**
  * Role permissions
@@ -128,10 +126,10 @@ public class RolePermissions {
 
 	/**
 	 * Map of page permissions per language. Keys are the language ID, values are the permission entries.
-	 * The entry with key 0 is the general page permission for the role
+	 * The entry with key 0 is the general page permission for the role.
+	 * The map is replaced for every modification, so reading does not need any locking
 	 */
-	@SuppressWarnings("unchecked")
-	private Map<Integer, Permissions> pagePerms = Collections.synchronizedMap(new THashMap());
+	private volatile TIntObjectHashMap<Permissions> pagePerms = new TIntObjectHashMap<>();
 
 	/**
 	 * Create an empty instance
@@ -165,8 +163,14 @@ public class RolePermissions {
 	 * @param perm permissions
 	 * @return fluent API
 	 */
-	public RolePermissions setPagePerm(int langId, Permissions perm) {
-		pagePerms.put(langId, perm);
+	public synchronized RolePermissions setPagePerm(int langId, Permissions perm) {
+		TIntObjectHashMap<Permissions> modified = pagePerms.clone();
+		if (perm != null) {
+			modified.put(langId, perm);
+		} else {
+			modified.remove(langId);
+		}
+		pagePerms = modified;
 		return this;
 	}
 
@@ -192,9 +196,7 @@ public class RolePermissions {
 		try {
 			RolePermissions clone = new RolePermissions();
 			clone.setFilePerm(getFilePerm());
-			for (Integer langId : pagePerms.keySet()) {
-				clone.setPagePerm(langId, getPagePerm(langId));
-			}
+			clone.pagePerms = pagePerms.clone();
 			return clone;
 		} catch (NodeException e) {
 			throw new CloneFailedException(e);
@@ -1,24 +1,45 @@
 package com.gentics.contentnode.publish;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
 import com.gentics.api.lib.etc.ObjectTransformer;
 import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.db.DBUtils;
 import com.gentics.contentnode.etc.NodeConfig;
 import com.gentics.contentnode.etc.NodePreferences;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
 import com.gentics.contentnode.events.DependencyManager;
+import com.gentics.contentnode.factory.BatchObjectFactory;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.object.Construct;
 import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.Template;
 import com.gentics.contentnode.publish.PublishQueue.NodeObjectIdWithAttributes;
 import com.gentics.contentnode.publish.PublishQueue.NodeObjectWithAttributes;
+import com.gentics.lib.db.SQLExecutor;
 import com.gentics.lib.log.NodeLogger;
 
 /**
  * Abstract List Implementation that contains a list of pageIds with optional attributes and will return instances of {@link NodeObjectWithAttributes<Page>}.
  * If the method {@link #remove(int)} is used to get another page from this list, the dependencies for the next
  * couple of pages will be prepared (if no prepared dependencies are laft).
+ * Additionally, the pages (with content, tags, values, templates and constructs) can be bulk loaded by a prefetcher,
+ * which runs ahead of the index pointer (see {@link #startPrefetcher()}) or is driven by the page distributor (see {@link #prefetchPages(int, int)}).
  */
 public abstract class AbstractPageList extends AbstractList<NodeObjectWithAttributes<Page>> {
 	/**
@@ -31,6 +52,46 @@ public abstract class AbstractPageList extends AbstractList<NodeObjectWithAttrib
 	 */
 	public final static int DEFAULT_PREPARE_DEPS = 100;
 
+	/**
+	 * Name of the configuration parameter to specify the number of pages, which shall be prefetched ahead of the publish workers (0 disables prefetching)
+	 */
+	public final static String PREFETCH_PAGES_CONFIG_KEY = "multithreaded_publishing.prefetchpages";
+
+	/**
+	 * by default, we prefetch up to 100 pages ahead
+	 */
+	public final static int DEFAULT_PREFETCH_PAGES = 100;
+
+	/**
+	 * Prefetch state of pages, which have not been prefetched (yet)
+	 */
+	protected final static int PREFETCH_NONE = 0;
+
+	/**
+	 * Prefetch state of pages, which are currently prefetched
+	 */
+	protected final static int PREFETCH_LOADING = 1;
+
+	/**
+	 * Prefetch state of prefetched pages
+	 */
+	protected final static int PREFETCH_DONE = 2;
+
+	/**
+	 * Prefetch state of pages, which were requested before they were prefetched (or for which prefetching failed)
+	 */
+	protected final static int PREFETCH_SKIPPED = 3;
+
+	/**
+	 * Time (in ms) the prefetcher waits, when there is nothing to prefetch
+	 */
+	protected final static long PREFETCH_IDLE_WAIT_MS = 10;
+
+	/**
+	 * Thread Factory for the prefetcher threads
+	 */
+	protected static ThreadFactory threadFactory = new PrefixedThreadFactory("page-list-prefetcher");
+
 	/**
 	 * Logger instance
 	 */
@@ -67,6 +128,56 @@ public abstract class AbstractPageList extends AbstractList<NodeObjectWithAttrib
 	 */
 	protected AtomicInteger indexPointer = new AtomicInteger(0);
 
+	/**
+	 * Number of pages, which shall be prefetched ahead of the index pointer
+	 */
+	protected int prefetchPages = DEFAULT_PREFETCH_PAGES;
+
+	/**
+	 * Prefetch states of the pages (null, if prefetching is disabled)
+	 */
+	protected AtomicIntegerArray prefetchStates;
+
+	/**
+	 * Monitor for waiting on pages, which are currently prefetched
+	 */
+	protected final Object prefetchMonitor = new Object();
+
+	/**
+	 * Prefetcher thread (if started)
+	 */
+	protected Thread prefetcher;
+
+	/**
+	 * Flag to mark whether prefetching shall stop
+	 */
+	protected volatile boolean prefetchStopped = false;
+
+	/**
+	 * Index of the next page, which will be prefetched by the prefetcher thread
+	 */
+	protected volatile int prefetchIndex = 0;
+
+	/**
+	 * Number of prefetched pages
+	 */
+	protected LongAdder prefetched = new LongAdder();
+
+	/**
+	 * Number of requested pages, which were prefetched
+	 */
+	protected LongAdder prefetchHits = new LongAdder();
+
+	/**
+	 * Number of requested pages, which were not prefetched
+	 */
+	protected LongAdder prefetchMisses = new LongAdder();
+
+	/**
+	 * Time (in ns) spent waiting for pages, which were requested while being prefetched
+	 */
+	protected LongAdder prefetchStallNanos = new LongAdder();
+
 	/**
 	 * Create an instance for the given list of page IDs
 	 * @param pageIds list of pageIds
@@ -77,8 +188,12 @@ public abstract class AbstractPageList extends AbstractList<NodeObjectWithAttrib
 		if (config != null) {
 			NodePreferences prefs = config.getDefaultPreferences();
 			prepareDepsCount = ObjectTransformer.getInt(prefs.getProperty(PREPARE_DEPS_CONFIG_KEY), prepareDepsCount);
+			prefetchPages = ObjectTransformer.getInt(prefs.getProperty(PREFETCH_PAGES_CONFIG_KEY), prefetchPages);
 		}
 		this.prepareThreshold = prepareDepsCount / 2;
+		if (prefetchPages > 0) {
+			prefetchStates = new AtomicIntegerArray(pageIds.size());
+		}
 	}
 
 	/* (non-Javadoc)
@@ -106,7 +221,11 @@ public abstract class AbstractPageList extends AbstractList<NodeObjectWithAttrib
 	@Override
 	public NodeObjectWithAttributes<Page> remove(int index) {
 		int current = indexPointer.getAndAdd(1);
+		if (prefetcher != null && prefetchIndex - current <= prefetchPages / 2) {
+			LockSupport.unpark(prefetcher);
+		}
 		try {
+			awaitPrefetched(current);
 			return getPage(pageIds.get(current));
 		} catch (NodeException e) {
 			throw new UnsupportedOperationException("Could get next page to publish", e);
@@ -141,6 +260,279 @@ public abstract class AbstractPageList extends AbstractList<NodeObjectWithAttrib
 		}
 	}
 
+	/**
+	 * Get the total number of pages in this list (including pages already removed)
+	 * @return total number of pages
+	 */
+	public int getTotalSize() {
+		return pageIds.size();
+	}
+
+	/**
+	 * Get the number of pages, for which the dependencies are prepared in one step
+	 * @return number of pages
+	 */
+	public int getPrepareDepsCount() {
+		return prepareDepsCount;
+	}
+
+	/**
+	 * Get the page at the given position, without modifying the index pointer
+	 * @param index position (relative to the total list)
+	 * @return page
+	 * @throws NodeException
+	 */
+	public NodeObjectWithAttributes<Page> getPageAt(int index) throws NodeException {
+		awaitPrefetched(index);
+		return getPage(pageIds.get(index));
+	}
+
+	/**
+	 * Prepare the dependencies for the pages in the given range
+	 * @param fromIndex start index (inclusive)
+	 * @param toIndex end index (exclusive)
+	 * @throws NodeException
+	 */
+	public void prepareDependencies(int fromIndex, int toIndex) throws NodeException {
+		toIndex = Math.min(toIndex, pageIds.size());
+		if (fromIndex >= toIndex) {
+			return;
+		}
+		DependencyManager.prepareDependencies(pageIds.subList(fromIndex, toIndex).stream().map(entry -> entry.id).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Start the prefetcher thread, which prefetches the pages ahead of the index pointer (used with {@link #remove(int)}).
+	 * Does nothing, if prefetching is disabled or the prefetcher is already started
+	 * @throws NodeException
+	 */
+	public void startPrefetcher() throws NodeException {
+		if (prefetchStates == null || prefetcher != null || pageIds.isEmpty()) {
+			return;
+		}
+		Transaction transaction = TransactionManager.getCurrentTransaction();
+		prefetcher = threadFactory.newThread(() -> {
+			TransactionManager.setCurrentTransaction(transaction);
+			try {
+				runPrefetcher();
+			} finally {
+				TransactionManager.setCurrentTransaction(null);
+			}
+		});
+		prefetcher.setDaemon(true);
+		prefetcher.start();
+	}
+
+	/**
+	 * Stop prefetching and wait for the prefetcher thread (if started)
+	 */
+	public void stopPrefetcher() {
+		prefetchStopped = true;
+		if (prefetcher != null) {
+			LockSupport.unpark(prefetcher);
+			try {
+				prefetcher.join(TimeUnit.SECONDS.toMillis(10));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Prefetch the pages ahead of the index pointer, until all pages are prefetched or prefetching is stopped
+	 */
+	protected void runPrefetcher() {
+		int chunkSize = Math.max(1, Math.min(prefetchPages / 2, prepareDepsCount));
+		while (!prefetchStopped) {
+			int from = Math.max(prefetchIndex, indexPointer.get());
+			if (from >= pageIds.size()) {
+				break;
+			}
+			int to = Math.min(Math.min(from + chunkSize, indexPointer.get() + prefetchPages), pageIds.size());
+			if (from < to) {
+				prefetchPages(from, to);
+				prefetchIndex = to;
+			} else {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(PREFETCH_IDLE_WAIT_MS));
+			}
+		}
+	}
+
+	/**
+	 * Prefetch the pages in the given range, which have not been prefetched or requested before.
+	 * Publish workers requesting one of the pages while it is prefetched will wait, until prefetching is done.
+	 * @param fromIndex start index (inclusive)
+	 * @param toIndex end index (exclusive)
+	 */
+	public void prefetchPages(int fromIndex, int toIndex) {
+		if (prefetchStates == null || prefetchStopped) {
+			return;
+		}
+		toIndex = Math.min(toIndex, pageIds.size());
+		List<Integer> indices = new ArrayList<>(Math.max(0, toIndex - fromIndex));
+		for (int i = fromIndex; i < toIndex; i++) {
+			if (prefetchStates.compareAndSet(i, PREFETCH_NONE, PREFETCH_LOADING)) {
+				indices.add(i);
+			}
+		}
+		if (indices.isEmpty()) {
+			return;
+		}
+
+		int state = PREFETCH_SKIPPED;
+		try {
+			prefetch(indices.stream().map(i -> pageIds.get(i).getId()).collect(Collectors.toList()));
+			state = PREFETCH_DONE;
+			prefetched.add(indices.size());
+			MBeanRegistry.getPublisherInfo().pagesPrefetched(indices.size());
+		} catch (NodeException | RuntimeException e) {
+			logger.warn("Error while prefetching pages, disabling prefetching", e);
+			prefetchStopped = true;
+		} finally {
+			for (int index : indices) {
+				prefetchStates.set(index, state);
+			}
+			synchronized (prefetchMonitor) {
+				prefetchMonitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Bulk load the pages with the given IDs with their content, tags, values, templates and constructs (through the {@link BatchObjectFactory} implementations),
+	 * so that they will be found in the caches, when the pages are rendered
+	 * @param ids page IDs
+	 * @throws NodeException
+	 */
+	protected void prefetch(List<Integer> ids) throws NodeException {
+		TransactionManager.getCurrentTransaction().prepareObjectData(Page.class, ids);
+		prefetchTemplatesAndConstructs(ids);
+	}
+
+	/**
+	 * Bulk load the templates of the pages with the given IDs and the constructs used in the pages and templates
+	 * @param ids page IDs
+	 * @throws NodeException
+	 */
+	protected void prefetchTemplatesAndConstructs(List<Integer> ids) throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransaction();
+		Set<Integer> templateIds = new HashSet<>();
+		Set<Integer> constructIds = new HashSet<>();
+
+		DBUtils.executeMassStatement(
+				"SELECT DISTINCT p.template_id, ct.construct_id FROM page p LEFT JOIN contenttag ct ON ct.content_id = p.content_id WHERE p.id IN", ids, 1,
+				new SQLExecutor() {
+					@Override
+					public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+						while (rs.next()) {
+							templateIds.add(rs.getInt("template_id"));
+							constructIds.add(rs.getInt("construct_id"));
+						}
+					}
+				});
+		templateIds.remove(0);
+
+		if (!templateIds.isEmpty()) {
+			DBUtils.executeMassStatement("SELECT DISTINCT construct_id FROM templatetag WHERE template_id IN", templateIds, 1, new SQLExecutor() {
+				@Override
+				public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+					while (rs.next()) {
+						constructIds.add(rs.getInt("construct_id"));
+					}
+				}
+			});
+			t.getObjects(Template.class, templateIds);
+		}
+		constructIds.remove(0);
+
+		if (!constructIds.isEmpty()) {
+			t.getObjects(Construct.class, constructIds);
+		}
+	}
+
+	/**
+	 * If prefetching is enabled, check whether the page at the given index was prefetched.
+	 * If the page is currently prefetched, wait until prefetching is done. If the page was not prefetched, mark it as skipped, so that it will not be prefetched any more.
+	 * @param index page index
+	 */
+	protected void awaitPrefetched(int index) {
+		if (prefetchStates == null || index < 0 || index >= prefetchStates.length()) {
+			return;
+		}
+		if (prefetchStates.compareAndSet(index, PREFETCH_NONE, PREFETCH_SKIPPED)) {
+			prefetchMisses.increment();
+			MBeanRegistry.getPublisherInfo().pagePrefetchMissed();
+			return;
+		}
+		if (prefetchStates.get(index) == PREFETCH_LOADING) {
+			long start = System.nanoTime();
+			synchronized (prefetchMonitor) {
+				while (prefetchStates.get(index) == PREFETCH_LOADING) {
+					try {
+						prefetchMonitor.wait(PREFETCH_IDLE_WAIT_MS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+			}
+			long stall = System.nanoTime() - start;
+			prefetchStallNanos.add(stall);
+			MBeanRegistry.getPublisherInfo().pagePrefetchStalled(stall);
+		}
+		if (prefetchStates.get(index) == PREFETCH_DONE) {
+			prefetchHits.increment();
+			MBeanRegistry.getPublisherInfo().pagePrefetchHit();
+		} else {
+			prefetchMisses.increment();
+			MBeanRegistry.getPublisherInfo().pagePrefetchMissed();
+		}
+	}
+
+	/**
+	 * Get the number of prefetched pages
+	 * @return number of prefetched pages
+	 */
+	public long getPrefetched() {
+		return prefetched.sum();
+	}
+
+	/**
+	 * Get the number of requested pages, which were prefetched
+	 * @return number of prefetch hits
+	 */
+	public long getPrefetchHits() {
+		return prefetchHits.sum();
+	}
+
+	/**
+	 * Get the number of requested pages, which were not prefetched
+	 * @return number of prefetch misses
+	 */
+	public long getPrefetchMisses() {
+		return prefetchMisses.sum();
+	}
+
+	/**
+	 * Get the total time (in ms) spent waiting for pages, which were requested while being prefetched
+	 * @return stall time in ms
+	 */
+	public long getPrefetchStallTime() {
+		return TimeUnit.NANOSECONDS.toMillis(prefetchStallNanos.sum());
+	}
+
+	/**
+	 * Get the prefetch statistics as info string
+	 * @return info string
+	 */
+	public String getPrefetchInfo() {
+		long hits = getPrefetchHits();
+		long requested = hits + getPrefetchMisses();
+		int hitRate = requested > 0 ? (int) (hits * 100 / requested) : 0;
+		return String.format("%d pages prefetched, hit rate %d%% (%d of %d), stall time %d ms", getPrefetched(), hitRate, hits, requested,
+				getPrefetchStallTime());
+	}
+
 	/**
 	 * Get the page with the given id
 	 * @param pageId page id
@@ -6,11 +6,10 @@
 package com.gentics.contentnode.publish;
 
 import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -26,6 +25,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -94,6 +94,7 @@ import com.gentics.contentnode.resolving.PropertyStackResolver;
 import com.gentics.contentnode.resolving.StackResolvable;
 import com.gentics.contentnode.runtime.ConfigurationValue;
 import com.gentics.lib.base.MapResolver;
+import com.gentics.lib.content.BinaryStreamValue;
 import com.gentics.lib.content.FilesystemAttributeStatistics;
 import com.gentics.lib.content.FilesystemAttributeValue;
 import com.gentics.lib.content.GenticsContentAttribute;
@@ -120,7 +121,6 @@ import com.gentics.lib.etc.IWorkPhase;
 import com.gentics.lib.log.NodeLogger;
 import com.gentics.lib.log.RuntimeProfiler;
 import com.gentics.lib.log.profilerconstants.JavaParserConstants;
-import com.gentics.lib.util.FileUtil;
 
 /**
  * The CnMap Publisher updates all configured and contentmaps.
@@ -170,6 +170,11 @@ public class CnMapPublisher {
 	private List<PublishObjectTask> publishFolderObjectTaskQueue;
 	private List<PublishObjectTask> publishFileObjectTaskQueue;
 
+	/**
+	 * Peak of the used heap (in bytes) while publishing files
+	 */
+	private final AtomicLong fileHeapPeak = new AtomicLong();
+
 	private boolean isMultithreaded;
 
 	protected final static int JOBGROUPSIZE_DEFAULT = 100; 
@@ -1029,7 +1034,45 @@ public class CnMapPublisher {
 	}
 
 	protected void publishFiles(IWorkPhase publishPhase) throws NodeException {
+		RenderResult renderResult = TransactionManager.getCurrentTransaction().getRenderResult();
+
+		BinaryStreamValue.resetStatistics();
+		long heapStart = getUsedHeap();
+		fileHeapPeak.set(heapStart);
+
 		publishObjects(ContentFile.TYPE_FILE, "files", publishPhase);
+
+		renderResult.info(CnMapPublisher.class,
+				String.format("Published files: %d bytes streamed, %d bytes unchanged. Used heap: %d MB at start, %d MB peak, %d MB at end",
+						BinaryStreamValue.getBytesStreamed(), BinaryStreamValue.getBytesSkipped(), heapStart / 1024 / 1024, fileHeapPeak.get() / 1024 / 1024,
+						getUsedHeap() / 1024 / 1024));
+	}
+
+	/**
+	 * Get the md5 hash of the given file, if it can be trusted to match the data in the dbfile. The md5 hash is not trusted, if the size of the dbfile
+	 * differs from the filesize of the file. In this case, the stored data will be compared with the dbfile.
+	 * @param file file
+	 * @param dataFile dbfile
+	 * @return md5 hash or null
+	 */
+	protected static String getTrustedMD5(ContentFile file, File dataFile) {
+		if (file.getFilesize() == dataFile.length()) {
+			return file.getMd5();
+		} else {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Filesize of " + file + " does not match the size of " + dataFile.getAbsolutePath() + ", not using the md5 hash");
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Get the currently used heap
+	 * @return used heap in bytes
+	 */
+	protected static long getUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
 	}
 
 	/**
@@ -1358,6 +1401,9 @@ public class CnMapPublisher {
 						contentMap.startWrite(objType);
 						// now store all objects
 						contentMap.getWritableDatasource().store(toStore);
+						if (objType == ContentFile.TYPE_FILE) {
+							fileHeapPeak.accumulateAndGet(getUsedHeap(), Math::max);
+						}
 
 						for (NodeObjectWithAttributes<? extends NodeObject> object : chunk) {
 							renderResult.info(CnMapPublisher.class, "written " + object + " into {" + contentMap + "} for " + node);
@@ -2307,11 +2353,8 @@ public class CnMapPublisher {
 							logger.error("Cannot find binary content for file " + object.getId() + "!");
 							throw new NodeException("Cannot find binary content for file " + object.getId() + "!");
 						}
-						InputStream in = rs.getBinaryStream("binarycontent");
-						ByteArrayOutputStream dataStream = new ByteArrayOutputStream();
-
-						FileUtil.pooledBufferInToOut(in, dataStream);
-						changeable.setProperty("binarycontent", dataStream.toByteArray());
+						// read the data directly, without copying it through an intermediate buffer
+						changeable.setProperty("binarycontent", rs.getBytes("binarycontent"));
 						publishedAttributes.add("binarycontent");
 					} else {
 						// read the binary content from the db file
@@ -2330,11 +2373,13 @@ public class CnMapPublisher {
 							data.setContinueIfFileNotFound(true);
 								data.setData(dataFile);
 								changeable.setProperty("binarycontent", data);
+							} else if (!dataFile.isFile()) {
+								throw new FileNotFoundException("Binary content " + dataFile.getAbsolutePath() + " does not exist");
+							} else if (cnObject != null) {
+								// stream the data from the file into the contentrepository (writing will be omitted, if the data did not change)
+								changeable.setProperty("binarycontent", new BinaryStreamValue(dataFile, getTrustedMD5(contentFile, dataFile)));
 							} else {
-								ByteArrayOutputStream dataStream = new ByteArrayOutputStream();
-								
-								FileUtil.pooledBufferInToOut(new FileInputStream(dataFile), dataStream);
-								changeable.setProperty("binarycontent", dataStream.toByteArray());
+								changeable.setProperty("binarycontent", Files.readAllBytes(dataFile.toPath()));
 							}
 							publishedAttributes.add("binarycontent");
 						}
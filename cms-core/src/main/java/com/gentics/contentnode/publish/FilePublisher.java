@@ -9,18 +9,17 @@ import static com.gentics.contentnode.rest.util.MiscUtils.doBuffered;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +28,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import com.gentics.api.lib.etc.ObjectTransformer;
@@ -38,6 +43,7 @@ import com.gentics.contentnode.db.DBUtils.PrepareStatement;
 import com.gentics.contentnode.etc.Feature;
 import com.gentics.contentnode.etc.NodeConfig;
 import com.gentics.contentnode.etc.NodePreferences;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
 import com.gentics.contentnode.factory.Transaction;
 import com.gentics.contentnode.factory.TransactionManager;
 import com.gentics.contentnode.image.CNGenticsImageStore;
@@ -75,13 +81,68 @@ public class FilePublisher {
 	private static final String PUBDIR_OLD = "pub_old";
 	private static final String PUBDIR_FAIL = "pub_fail";
 
+	/**
+	 * Name of the configuration parameter to enable incremental writing
+	 */
+	public static final String INCREMENTAL_PARAM = "contentnode.config.filepublisher.incremental";
+
+	/**
+	 * Name of the configuration parameter for the number of threads writing into the filesystem
+	 */
+	public static final String IO_THREADS_PARAM = "contentnode.config.filepublisher.iothreads";
+
+	/**
+	 * Default number of threads writing into the filesystem
+	 */
+	public static final int DEFAULT_IO_THREADS = 4;
+
 	private FileUtils fileUtils = new FileUtilsImpl();
 	private RenderResult renderResult;
 
 	/**
-	 * buffer used to write pages. (Yes, we are not thread safe.)
+	 * Flag to mark whether unchanged pages and files shall be linked from the previous generation (pub) instead of being written again
+	 */
+	private boolean incremental = false;
+
+	/**
+	 * Number of threads writing into the filesystem
+	 */
+	private int ioThreads = DEFAULT_IO_THREADS;
+
+	/**
+	 * Executor for the write operations of the current phase
 	 */
-	private char[] buf = new char[4 * 1024];
+	private WriteExecutor writeExecutor;
+
+	/**
+	 * Number of written pages
+	 */
+	private AtomicInteger writtenPages = new AtomicInteger();
+
+	/**
+	 * Number of pages linked from the previous generation
+	 */
+	private AtomicInteger linkedPages = new AtomicInteger();
+
+	/**
+	 * Number of written (copied) files
+	 */
+	private AtomicInteger writtenFiles = new AtomicInteger();
+
+	/**
+	 * Number of linked files (either from the previous generation or from the dbfiles)
+	 */
+	private AtomicInteger linkedFiles = new AtomicInteger();
+
+	/**
+	 * Number of written bytes
+	 */
+	private AtomicLong bytesWritten = new AtomicLong();
+
+	/**
+	 * Number of linked bytes
+	 */
+	private AtomicLong bytesLinked = new AtomicLong();
 
 	/**
 	 * feature 'publish_node_resolve_direct' which simply means that the node_id
@@ -135,6 +196,10 @@ public class FilePublisher {
 		if (publishResolveDirect) {
 			renderResult.info(FilePublisher.class, "We will be using node_id directly from publish table instead of resolving through folder_id.");
 		}
+
+		incremental = ObjectTransformer.getBoolean(prefs.getProperty(INCREMENTAL_PARAM), false);
+		ioThreads = Math.max(1, ObjectTransformer.getInt(prefs.getProperty(IO_THREADS_PARAM), DEFAULT_IO_THREADS));
+		renderResult.info(FilePublisher.class, "Writing into the filesystem with " + ioThreads + " threads, incremental: {" + incremental + "}");
 	}
 
 	public File getPublishDir() {
@@ -276,6 +341,7 @@ public class FilePublisher {
 			renderResult.info(FilePublisher.class, "Starting to write " + pageCount + " pages into filesystem");
 
 			boolean niceUrls = NodeConfigRuntimeConfiguration.isFeature(Feature.NICE_URLS);
+			writeExecutor = new WriteExecutor(ioThreads, phase);
 
 			doBuffered(publishIds, 100, idList -> {
 				String bindParams = StringUtils.repeat("?", idList.size(), ",");
@@ -298,8 +364,9 @@ public class FilePublisher {
 					}, Transaction.UPDATE_STATEMENT));
 				}
 
-				// now we write the sources into the filesystem
-				DBUtils.select("SELECT publish.id, publish.source, publish.filename, publish.page_id, publish.path, "
+				// prepare the pages
+				Map<Integer, PageEntry> toWrite = new HashMap<>();
+				DBUtils.select("SELECT publish.id, publish.filename, publish.page_id, publish.path, "
 						+ "publish.folder_id, publish.pdate, publish.node_id, publish.nice_url FROM publish WHERE id IN ("
 						+ bindParams + ")", prep, rs -> {
 							while (rs.next()) {
@@ -316,7 +383,6 @@ public class FilePublisher {
 								String filename = rs.getString("filename");
 								String path = rs.getString("path");
 								int pDate = rs.getInt("pdate");
-								Reader source = rs.getCharacterStream("source");
 								Integer nodeId = new Integer(rs.getInt("node_id"));
 								if (rs.wasNull()) {
 									nodeId = null;
@@ -332,15 +398,46 @@ public class FilePublisher {
 									alternateAndNiceUrls.addAll(altUrlMap.getOrDefault(id, Collections.emptySet()));
 								}
 
-								writePage(pageId, folderId, path, filename, pDate, source, nodeId, alternateAndNiceUrls);
-								phase.doneWork();
+								PageEntry entry = preparePage(pageId, folderId, path, filename, pDate, nodeId, alternateAndNiceUrls);
+								if (entry != null) {
+									toWrite.put(id, entry);
+								} else {
+									phase.doneWork();
+								}
 							}
 							return null;
 						}, Transaction.UPDATE_STATEMENT);
+
+				if (toWrite.isEmpty()) {
+					return;
+				}
+
+				// now we write the sources into the filesystem (or link the unchanged pages from the previous generation)
+				DBUtils.executeMassStatement("SELECT id, source FROM publish WHERE id IN ", null, new ArrayList<>(toWrite.keySet()), 1, new SQLExecutor() {
+					@Override
+					public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+						while (rs.next()) {
+							PublishRenderResult.checkInterrupted();
+
+							PageEntry entry = toWrite.get(rs.getInt("id"));
+							String source = ObjectTransformer.getString(rs.getString("source"), "");
+							writeExecutor.execute(() -> {
+								if (!linkPage(entry, source)) {
+									writePage(entry, source);
+								}
+							});
+						}
+					}
+				}, Transaction.UPDATE_STATEMENT);
 			});
 
+			writeExecutor.await();
 			success = true;
 		} finally {
+			if (writeExecutor != null) {
+				writeExecutor.close();
+				writeExecutor = null;
+			}
 			if (success && pageCount > 0) {
 				long duration = System.currentTimeMillis() - startWritePage;
 
@@ -350,6 +447,10 @@ public class FilePublisher {
 				renderResult.info(FilePublisher.class,
 						"Written " + pageCount + " pages into filesystem in " + duration + " ms (" + (pageCount * 1000 / duration) + " pages/sec, avg. "
 						+ (duration / pageCount) + " ms/page)");
+				if (incremental) {
+					renderResult.info(FilePublisher.class,
+							"Linked " + linkedPages.get() + " unchanged pages from the previous generation, written " + writtenPages.get() + " pages");
+				}
 			}
 		}
 	}
@@ -386,7 +487,18 @@ public class FilePublisher {
 
 		// iterate over all nodes, which need to be written into the filesystem
 		Collection<Node> nodesToWrite = getNodesToWrite().stream().filter(Node::doPublishFilesystemFiles).collect(Collectors.toList());
-		Publisher.writeFiles(phase, nodesToWrite, allImageData, renderResult, niceUrls, Optional.of(this::writeFile), Optional.ofNullable(cnMapPublisher), node -> node.getOnlineFiles());
+		// the work is done, when the files are written by the executor
+		writeExecutor = new WriteExecutor(ioThreads, niceUrls ? phase : null);
+		try {
+			Publisher.writeFiles(phase, nodesToWrite, allImageData, renderResult, false, Optional.of(this::writeFile), Optional.ofNullable(cnMapPublisher), node -> node.getOnlineFiles());
+			writeExecutor.await();
+		} finally {
+			writeExecutor.close();
+			writeExecutor = null;
+		}
+		if (incremental) {
+			renderResult.info(FilePublisher.class, "Linked " + linkedFiles.get() + " files, copied " + writtenFiles.get() + " files");
+		}
 	}
 
 
@@ -453,6 +565,7 @@ public class FilePublisher {
 		}
 
 		if (success) {
+			renderResult.info(FilePublisher.class, "Written " + bytesWritten.get() + " bytes, linked " + bytesLinked.get() + " bytes into the filesystem");
 
 			File oldDir = new File(getPublishDir(), PUBDIR_OLD);
 
@@ -498,18 +611,17 @@ public class FilePublisher {
 	}
 
 	/**
-	 * write a single page into the filesystem.
+	 * Prepare writing a single page into the filesystem.
 	 * @param pageId
 	 * @param folderId
 	 * @param path
 	 * @param filename
 	 * @param pDate
-	 * @param source
 	 * @param nodeId
 	 * @param niceAndalternateUrls optional alternate or nice URLs
-	 * @return true on success.
+	 * @return page entry or null, if the page shall not be written
 	 */
-	private boolean writePage(Integer pageId, Integer folderId, String path, String filename, int pDate, Reader source, Integer nodeId, Set<String> niceAndalternateUrls) throws NodeException {
+	private PageEntry preparePage(Integer pageId, Integer folderId, String path, String filename, int pDate, Integer nodeId, Set<String> niceAndalternateUrls) throws NodeException {
 		Transaction t = TransactionManager.getCurrentTransaction();
 
 		if (logger.isDebugEnabled()) {
@@ -539,28 +651,65 @@ public class FilePublisher {
 
 		if (!node.doPublishFilesystem()) {
 			logger.debug("Node {" + node.getHostname() + "} has publish into filesystem disabled.");
-			return false;
+			return null;
 		}
 
-		String file = new StringBuffer(path).append(filename).toString();
-		String fpath = new StringBuffer(getPublishDir().getAbsolutePath()).append(File.separator).append(PUBDIR_NEW).append(File.separator).append(path).toString();
+		// Simply write UTF8 if utf8 is enabled.. or latin1 if disabled.. i see no use to check utf8 feature here...
+		Charset charset;
 
-		File filepath = new File(fpath);
+		if (node.isUtf8()) {
+			charset = Charset.forName("UTF8");
+		} else {
+			charset = getNonUTF8Encoding();
+		}
 
-		if (filepath.exists() && !filepath.isDirectory()) {
-			logger.error("Could not write new page '" + file + "' [" + pageId + "]; path is not a valid directory.");
-			throw new PublishException("Could not write new page {" + file + "} / {" + pageId + "} - path is not a valid directory.");
+		return new PageEntry(pageId, path, filename, pDate, charset, niceAndalternateUrls);
+	}
+
+	/**
+	 * Link the page from the previous generation, if incremental writing is enabled and the file in the previous generation has the same content
+	 * @param entry page entry
+	 * @param source page source
+	 * @return true if the page was linked, false if it needs to be written
+	 * @throws NodeException
+	 */
+	private boolean linkPage(PageEntry entry, String source) throws NodeException {
+		if (!incremental || entry.pDate <= 0) {
+			return false;
+		}
+		File outFile = new File(getGenerationPath(entry.path, PUBDIR_NEW), entry.filename);
+		byte[] content = source.getBytes(entry.charset);
+		long linked = linkFromPreviousGeneration(entry.path + entry.filename, outFile, entry.pDate, content.length,
+				previous -> sameContent(previous, content));
+		if (linked < 0) {
+			return false;
 		}
 
-		if (!filepath.exists()) {
-			if (!filepath.mkdirs()) {
-				logger.error("Could not write new page '" + file + "' [" + pageId + "]; path could not be created.");
-				throw new PublishException(
-						"Could not write new page {" + file + "} / {" + pageId + "} - path could not be created. {" + filepath.getAbsolutePath() + "}");
-			}
+		try {
+			createNiceUrlLinks(outFile, entry.niceAndalternateUrls);
+		} catch (IOException e) {
+			logger.error("Could not link page '" + entry.path + entry.filename + "' [" + entry.pageId + "].", e);
+			throw new PublishException("Could not link page {" + entry.path + entry.filename + "} / {" + entry.pageId + "}", e);
 		}
+		linkedPages.incrementAndGet();
+		bytesLinked.addAndGet(linked);
+		return true;
+	}
 
-		File outFile = new File(filepath, filename);
+	/**
+	 * write a single page into the filesystem.
+	 * @param entry page entry
+	 * @param source page source
+	 * @return true on success.
+	 */
+	private boolean writePage(PageEntry entry, String source) throws NodeException {
+		Integer pageId = entry.pageId;
+		String file = new StringBuilder(entry.path).append(entry.filename).toString();
+		File filepath = new File(getGenerationPath(entry.path, PUBDIR_NEW));
+
+		createPath(filepath, "page", file, pageId);
+
+		File outFile = new File(filepath, entry.filename);
 
 		if (outFile.exists()) {
 			logger.error("Could not write new page '" + file + "' [" + pageId + "]; file exists.");
@@ -569,53 +718,29 @@ public class FilePublisher {
 		}
 
 		try {
-			// Simply write UTF8 if utf8 is enabled.. or latin1 if disabled.. i see no use to check utf8 feature here...
-			Charset charset;
-
-			if (node.isUtf8()) {
-				charset = Charset.forName("UTF8");
-			} else {
-				charset = getNonUTF8Encoding();
-			}
 			if (logger.isDebugEnabled()) {
-				logger.debug("Writing file using charset: {" + charset + "}");
+				logger.debug("Writing file using charset: {" + entry.charset + "}");
 			}
 
-			BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outFile), charset));
-
-			int c;
-			int counter = 0;
-
-			while ((c = source.read(buf, 0, buf.length)) != -1) {
-				out.write(buf, 0, c);
-				counter += c;
+			try (BufferedWriter out = Files.newBufferedWriter(outFile.toPath(), entry.charset)) {
+				out.write(source);
 			}
 
-			out.close();
-
 			if (logger.isDebugEnabled()) {
-				logger.debug("Written {" + outFile.length() + "} bytes into {" + outFile.getCanonicalPath() + "} - read: {" + counter + "} characters");
+				logger.debug("Written {" + outFile.length() + "} bytes into {" + outFile.getCanonicalPath() + "} - read: {" + source.length() + "} characters");
 			}
+			writtenPages.incrementAndGet();
+			bytesWritten.addAndGet(outFile.length());
 
-			if (pDate > 0) {
-				if (!outFile.setLastModified(((long) pDate) * 1000)) {
+			if (entry.pDate > 0) {
+				if (!outFile.setLastModified(((long) entry.pDate) * 1000)) {
 					logger.warn("Could not set modification date for '" + file + "' [" + pageId + "].");
 				}
 			} else {
-				logger.warn("Could not set modification date for '" + file + "' [" + pageId + "]; pDate {" + pDate + "}.");
-			}
-
-			if (!ObjectTransformer.isEmpty(niceAndalternateUrls)) {
-				for (String niceUrl : niceAndalternateUrls) {
-					File niceUrlFile = new File(new StringBuffer(getPublishDir().getAbsolutePath()).append(File.separator).append(PUBDIR_NEW).append(File.separator)
-							.append(niceUrl).toString());
-					niceUrlFile.getParentFile().mkdirs();
-
-					// create a hardlink
-					Files.createLink(FileSystems.getDefault().getPath(niceUrlFile.getAbsolutePath()), FileSystems.getDefault().getPath(outFile.getAbsolutePath()));
-				}
+				logger.warn("Could not set modification date for '" + file + "' [" + pageId + "]; pDate {" + entry.pDate + "}.");
 			}
 
+			createNiceUrlLinks(outFile, entry.niceAndalternateUrls);
 		} catch (IOException e) {
 			logger.error("Could not write new file '" + file + "' [" + pageId + "].", e);
 			throw new PublishException("Could not write new page {" + file + "} / {" + pageId + "}", e);
@@ -624,6 +749,119 @@ public class FilePublisher {
 		return true;
 	}
 
+	/**
+	 * Get the absolute path of the given path in the given generation of the publish directory
+	 * @param path path
+	 * @param generation generation (e.g. {@link #PUBDIR_NEW})
+	 * @return absolute path
+	 */
+	private String getGenerationPath(String path, String generation) {
+		return new StringBuilder(getPublishDir().getAbsolutePath()).append(File.separator).append(generation).append(File.separator).append(path).toString();
+	}
+
+	/**
+	 * Create the given directory (if it does not exist)
+	 * @param filepath directory
+	 * @param type type of the written object (for the error messages)
+	 * @param file written file (for the error messages)
+	 * @param id ID of the written object (for the error messages)
+	 * @throws PublishException if the path could not be created
+	 */
+	private void createPath(File filepath, String type, String file, Integer id) throws PublishException {
+		if (filepath.exists() && !filepath.isDirectory()) {
+			logger.error("Could not write new " + type + " '" + file + "' [" + id + "]; path is not a valid directory.");
+			throw new PublishException(
+					"Could not write new " + type + " {" + file + "} / {" + id + "} - path is not a valid directory. {" + filepath.getAbsolutePath() + "}");
+		}
+
+		if (!filepath.exists()) {
+			try {
+				// other threads may create the same directory concurrently, which is not a failure
+				Files.createDirectories(filepath.toPath());
+			} catch (IOException e) {
+				logger.error("Could not write new " + type + " '" + file + "' [" + id + "]; path could not be created.");
+				throw new PublishException(
+						"Could not write new " + type + " {" + file + "} / {" + id + "} - path could not be created. {" + filepath.getAbsolutePath() + "}", e);
+			}
+		}
+	}
+
+	/**
+	 * Create hardlinks for the nice and alternate URLs to the given file
+	 * @param outFile written file
+	 * @param niceAndalternateUrls optional set of nice and alternate URLs
+	 * @throws IOException
+	 */
+	private void createNiceUrlLinks(File outFile, Set<String> niceAndalternateUrls) throws IOException {
+		if (!ObjectTransformer.isEmpty(niceAndalternateUrls)) {
+			for (String niceUrl : niceAndalternateUrls) {
+				File niceUrlFile = new File(getGenerationPath(niceUrl, PUBDIR_NEW));
+				Files.createDirectories(niceUrlFile.getParentFile().toPath());
+
+				// create a hardlink
+				Files.createLink(FileSystems.getDefault().getPath(niceUrlFile.getAbsolutePath()), FileSystems.getDefault().getPath(outFile.getAbsolutePath()));
+			}
+		}
+	}
+
+	/**
+	 * Create a hardlink to the file from the previous generation (pub), if the file exists there, has the expected modification date and size
+	 * and the expected content. Comparing the content is necessary, because the content may change without changing the modification date
+	 * (e.g. when the page is rendered again within the same second or the charset is changed)
+	 * @param file path of the file (relative to the generation)
+	 * @param outFile file to create
+	 * @param timestamp expected modification timestamp (in seconds)
+	 * @param size expected size
+	 * @param sameContent check for the content of the file in the previous generation
+	 * @return size of the linked file or -1, if the file was not linked
+	 * @throws PublishException if the path for the linked file could not be created
+	 */
+	private long linkFromPreviousGeneration(String file, File outFile, int timestamp, long size, ContentCheck sameContent) throws PublishException {
+		File previous = new File(getGenerationPath(file, PUBDIR));
+		if (!Files.isRegularFile(previous.toPath(), LinkOption.NOFOLLOW_LINKS) || previous.lastModified() != ((long) timestamp) * 1000) {
+			return -1;
+		}
+		long length = previous.length();
+		if (length != size) {
+			return -1;
+		}
+
+		try {
+			if (!sameContent.test(previous)) {
+				return -1;
+			}
+			createPath(outFile.getParentFile(), "file", file, null);
+			if (fileUtils.createLink(previous, outFile)) {
+				return length;
+			}
+		} catch (IOException e) {
+			logger.debug("Could not link {" + file + "} from previous generation, will write it", e);
+		}
+		return -1;
+	}
+
+	/**
+	 * Check whether the file has the given content
+	 * @param file file
+	 * @param content content
+	 * @return true if the file has the content
+	 * @throws IOException
+	 */
+	protected static boolean sameContent(File file, byte[] content) throws IOException {
+		return file.length() == content.length && Arrays.equals(Files.readAllBytes(file.toPath()), content);
+	}
+
+	/**
+	 * Check whether the files have the same content
+	 * @param file file
+	 * @param other other file
+	 * @return true if both files have the same content
+	 * @throws IOException
+	 */
+	protected static boolean sameContent(File file, File other) throws IOException {
+		return file.length() == other.length() && Files.mismatch(file.toPath(), other.toPath()) == -1L;
+	}
+
 	public static Charset getNonUTF8Encoding() {
 		Charset charset;
 
@@ -706,17 +944,15 @@ public class FilePublisher {
 	 * @param eDate
 	 * @param niceAndalternateUrls optional set of nice and alternate URLs
 	 * @return true on success.
-	 * @throws PublishException if an error happens during file writing ..
+	 * @throws NodeException if an error happens during file writing ..
 	 */
-	private boolean writeFile(int fileId, String filename, String path, int filesize, int eDate, Set<String> niceAndalternateUrls) throws PublishException {
+	private boolean writeFile(int fileId, String filename, String path, int filesize, int eDate, Set<String> niceAndalternateUrls) throws NodeException {
 
 		if (logger.isDebugEnabled()) {
 			logger.debug("Writing file {" + filename + "} into {" + path + "} - expected filesize: {" + filesize + "}");
 		}
 
-		String file = new StringBuffer(path).append(filename).toString();
-		String fpath = new StringBuffer(getPublishDir().getAbsolutePath()).append(File.separator).append(PUBDIR_NEW).append(File.separator).append(path).toString();
-
+		String file = new StringBuilder(path).append(filename).toString();
 		File inFile = new File(getDbFilesDir(), fileId + ".bin");
 
 		if (!inFile.exists() || !inFile.isFile()) {
@@ -725,70 +961,68 @@ public class FilePublisher {
 			// throw new PublishException("Could not write new file {" + file + "} / {" + fileId + "} - dbfile does not exist. {" + inFile.getAbsolutePath() + "}");
 		}
 
-		File filepath = new File(fpath);
-
-		if (filepath.exists() && !filepath.isDirectory()) {
-			logger.error("Could not write new file '" + file + "' [" + fileId + "]; path is not a valid directory.");
-			throw new PublishException(
-					"Could not write new file {" + file + "} / {" + fileId + "} - path is not a valid directory. {" + filepath.getAbsolutePath() + "}");
-		}
-
-		if (!filepath.exists()) {
-			if (!filepath.mkdirs()) {
-				logger.error("Could not write new file '" + file + "' [" + fileId + "]; path could not be created.");
-				throw new PublishException("Could not write new file {" + file + "} / {" + fileId + "} - path could not be created.");
+		File filepath = new File(getGenerationPath(path, PUBDIR_NEW));
+		File outFile = new File(filepath, filename);
+		boolean hardlink = fileUtils.supportsSymlinks() && config.getDefaultPreferences().getFeature("hardlink_files");
+		boolean symlink = fileUtils.supportsSymlinks() && config.getDefaultPreferences().getFeature("symlink_files");
+
+		writeExecutor.execute(() -> {
+			// files which would be copied are linked from the previous generation, if they did not change
+			if (incremental && !hardlink && !symlink && eDate > 0) {
+				long linked = linkFromPreviousGeneration(file, outFile, eDate, filesize, previous -> sameContent(previous, inFile));
+				if (linked >= 0) {
+					try {
+						createNiceUrlLinks(outFile, niceAndalternateUrls);
+					} catch (IOException e) {
+						throw new PublishException("Error while linking file {" + file + "} / {" + fileId + "}", e);
+					}
+					linkedFiles.incrementAndGet();
+					bytesLinked.addAndGet(linked);
+					return;
+				}
 			}
-		}
 
-		File outFile = new File(filepath, filename);
+			createPath(filepath, "file", file, fileId);
 
-		if (outFile.exists()) {
-			logger.error("Could not write new file '" + file + "' [" + fileId + "]; file exists.");
-			// do not throw exception for now (same implementation as in PHP)
-			// throw new PublishException("Could not write new file {" + file + "} / {" + fileId + "} - file exists {" + outFile.getAbsolutePath() + "}");
-		}
+			if (outFile.exists()) {
+				logger.error("Could not write new file '" + file + "' [" + fileId + "]; file exists.");
+				// do not throw exception for now (same implementation as in PHP)
+				// throw new PublishException("Could not write new file {" + file + "} / {" + fileId + "} - file exists {" + outFile.getAbsolutePath() + "}");
+			}
 
-		try {
-			if (fileUtils.supportsSymlinks()) {
+			try {
 				boolean success = false;
 
-				if (config.getDefaultPreferences().getFeature("hardlink_files")) {
+				if (hardlink) {
 					success = fileUtils.createLink(inFile, outFile);
-				} else if (config.getDefaultPreferences().getFeature("symlink_files")) {
+				} else if (symlink) {
 					success = fileUtils.createSymlink(inFile, outFile);
-				} else {
-					fileUtils.createCopy(inFile, outFile);
 				}
-				if (!success) {
-					logger.warn("Unable to create link for file - trying to create copy.");
+				if (success) {
+					linkedFiles.incrementAndGet();
+					bytesLinked.addAndGet(inFile.length());
+				} else {
+					if (hardlink || symlink) {
+						logger.warn("Unable to create link for file - trying to create copy.");
+					}
 					fileUtils.createCopy(inFile, outFile);
+					writtenFiles.incrementAndGet();
+					bytesWritten.addAndGet(outFile.length());
 				}
-			} else {
-				fileUtils.createCopy(inFile, outFile);
-			}
-
-			if (!ObjectTransformer.isEmpty(niceAndalternateUrls)) {
-				for (String url : niceAndalternateUrls) {
-					File niceUrlFile = new File(new StringBuffer(getPublishDir().getAbsolutePath()).append(File.separator).append(PUBDIR_NEW).append(File.separator)
-							.append(url).toString());
-					niceUrlFile.getParentFile().mkdirs();
 
-					// create a hardlink
-					Files.createLink(FileSystems.getDefault().getPath(niceUrlFile.getAbsolutePath()), FileSystems.getDefault().getPath(outFile.getAbsolutePath()));
-				}
+				createNiceUrlLinks(outFile, niceAndalternateUrls);
+			} catch (IOException e) {
+				throw new PublishException("Error while writing file {" + file + "} / {" + fileId + "}", e);
 			}
 
-		} catch (IOException e) {
-			throw new PublishException("Error while writing file {" + file + "} / {" + fileId + "}", e);
-		}
-
-		if (eDate > 0) {
-			if (!outFile.setLastModified(((long) eDate) * 1000)) {
-				logger.warn("Could not set modification date for '" + file + "' [" + fileId + "].");
+			if (eDate > 0) {
+				if (!outFile.setLastModified(((long) eDate) * 1000)) {
+					logger.warn("Could not set modification date for '" + file + "' [" + fileId + "].");
+				}
+			} else {
+				logger.warn("Could not set modification date for '" + file + "' [" + fileId + "]; eDate {" + eDate + "}.");
 			}
-		} else {
-			logger.warn("Could not set modification date for '" + file + "' [" + fileId + "]; eDate {" + eDate + "}.");
-		}
+		});
 
 		return true;
 	}
@@ -806,4 +1040,211 @@ public class FilePublisher {
 			return false;
 		}
 	}
+
+	/**
+	 * Data of a page, which is written into the filesystem
+	 */
+	protected static class PageEntry {
+		/**
+		 * Page ID
+		 */
+		protected final Integer pageId;
+
+		/**
+		 * Path of the page
+		 */
+		protected final String path;
+
+		/**
+		 * Filename of the page
+		 */
+		protected final String filename;
+
+		/**
+		 * Publish timestamp
+		 */
+		protected final int pDate;
+
+		/**
+		 * Charset for writing the page
+		 */
+		protected final Charset charset;
+
+		/**
+		 * Optional nice and alternate URLs
+		 */
+		protected final Set<String> niceAndalternateUrls;
+
+		/**
+		 * Create an instance
+		 * @param pageId page ID
+		 * @param path path
+		 * @param filename filename
+		 * @param pDate publish timestamp
+		 * @param charset charset
+		 * @param niceAndalternateUrls optional nice and alternate URLs
+		 */
+		protected PageEntry(Integer pageId, String path, String filename, int pDate, Charset charset, Set<String> niceAndalternateUrls) {
+			this.pageId = pageId;
+			this.path = path;
+			this.filename = filename;
+			this.pDate = pDate;
+			this.charset = charset;
+			this.niceAndalternateUrls = niceAndalternateUrls;
+		}
+	}
+
+	/**
+	 * Interface for write operations
+	 */
+	@FunctionalInterface
+	protected static interface WriteTask {
+		/**
+		 * Do the write operation
+		 * @throws NodeException
+		 */
+		void write() throws NodeException;
+	}
+
+	/**
+	 * Interface for checking the content of a file
+	 */
+	@FunctionalInterface
+	protected static interface ContentCheck {
+		/**
+		 * Check the content of the file
+		 * @param file file
+		 * @return true if the file has the expected content
+		 * @throws IOException
+		 */
+		boolean test(File file) throws IOException;
+	}
+
+	/**
+	 * Executor for write operations into the filesystem. Operations are executed by a bounded number of threads, the queue of waiting operations is also bounded,
+	 * so that the thread submitting operations will execute them itself, when the queue is full.
+	 * The first error that occurs will be rethrown in the submitting thread and all further operations will be skipped.
+	 * Finished operations are reported as done work to the phase by the submitting thread.
+	 */
+	protected static class WriteExecutor implements AutoCloseable {
+		/**
+		 * Executor, null if the operations are executed synchronously
+		 */
+		protected final ThreadPoolExecutor executor;
+
+		/**
+		 * First error that occurred
+		 */
+		protected final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		/**
+		 * Phase, which gets the finished operations as done work (may be null)
+		 */
+		protected final IWorkPhase phase;
+
+		/**
+		 * Number of finished operations, which were not yet reported to the phase
+		 */
+		protected final AtomicInteger finished = new AtomicInteger();
+
+		/**
+		 * Create an instance
+		 * @param threads number of threads
+		 * @param phase phase, which gets the finished operations as done work (may be null)
+		 */
+		protected WriteExecutor(int threads, IWorkPhase phase) {
+			this.phase = phase;
+			if (threads > 1) {
+				executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threads * 4),
+						new PrefixedThreadFactory("filepublisher-io"), new ThreadPoolExecutor.CallerRunsPolicy());
+			} else {
+				executor = null;
+			}
+		}
+
+		/**
+		 * Execute the given task
+		 * @param task task
+		 * @throws NodeException if the task (or a task that was executed before) failed
+		 */
+		public void execute(WriteTask task) throws NodeException {
+			checkError();
+			if (executor == null) {
+				task.write();
+				finished.incrementAndGet();
+			} else {
+				executor.execute(() -> {
+					if (error.get() != null) {
+						return;
+					}
+					try {
+						task.write();
+						finished.incrementAndGet();
+					} catch (Throwable e) {
+						error.compareAndSet(null, e);
+					}
+				});
+			}
+			reportFinished();
+		}
+
+		/**
+		 * Wait until all submitted tasks are finished
+		 * @throws NodeException if a task failed
+		 */
+		public void await() throws NodeException {
+			if (executor != null) {
+				executor.shutdown();
+				try {
+					while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+						reportFinished();
+						PublishRenderResult.checkInterrupted();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new PublishException("Interrupted while waiting for write operations", e);
+				}
+			}
+			reportFinished();
+			checkError();
+		}
+
+		/**
+		 * Report the finished operations as done work to the phase
+		 */
+		protected void reportFinished() {
+			int count = finished.getAndSet(0);
+			if (phase != null && count > 0) {
+				phase.doneWork(count);
+			}
+		}
+
+		/**
+		 * Throw the first error that occurred
+		 * @throws NodeException
+		 */
+		protected void checkError() throws NodeException {
+			Throwable e = error.get();
+			if (e instanceof NodeException) {
+				throw (NodeException) e;
+			} else if (e != null) {
+				throw new PublishException("Error while writing into the filesystem", e);
+			}
+		}
+
+		/**
+		 * Stop the executor, cancel all waiting tasks and wait for the running tasks
+		 */
+		@Override
+		public void close() {
+			if (executor != null && !executor.isTerminated()) {
+				executor.shutdownNow();
+				try {
+					executor.awaitTermination(1, TimeUnit.MINUTES);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
 }
@@ -38,6 +38,7 @@ import com.gentics.contentnode.object.NodeObject;
 import com.gentics.contentnode.object.ObjectTag;
 import com.gentics.contentnode.object.Page;
 import com.gentics.contentnode.object.PublishableNodeObject;
+import com.gentics.contentnode.publish.InstantPublishingCoalescer.Operation;
 import com.gentics.contentnode.publish.PublishQueue.NodeObjectWithAttributes;
 import com.gentics.contentnode.publish.cr.TagmapEntryRenderer;
 import com.gentics.contentnode.publish.mesh.MeshPublishController;
@@ -302,7 +303,7 @@ public class InstantPublisher {
 			boolean needToRevealInherited = false;
 			// flag is set, if we should inform the publish process about the instant publishing of the object
 			boolean informPublishProcess = true;
-			List<Operator> operations = new ArrayList<>();
+			List<Operation> operations = new ArrayList<>();
 			List<Consumer<MeshPublisher>> meshOperations = new ArrayList<>();
 			int nodeId = node.getId();
 
@@ -334,7 +335,7 @@ public class InstantPublisher {
 							mp.remove(mp.getProject(finalNode), finalNode, objType, finalObject.getId(), MeshPublisher.getMeshUuid(finalObject), MeshPublisher.getMeshLanguage(finalObject));
 						});
 					} else {
-						operations.add(CnMapPublisher.removeObjectFromCR(object, contentMap, node));
+						operations.add(Operation.remove(object, contentMap, node));
 					}
 					if (delete) {
 						needToRevealInherited = true;
@@ -368,7 +369,7 @@ public class InstantPublisher {
 							String source = page.render(pageRenderResult, attributes, CnMapPublisher.LINKTRANSFORMER);
 
 							// immediately write the page into the contentmap
-							operations.add(CnMapPublisher.writePageIntoCR(page, contentMap, attributes, source, null, false));
+							operations.add(Operation.write(page, contentMap, node, CnMapPublisher.writePageIntoCR(page, contentMap, attributes, source, null, false)));
 						}
 					} finally {
 						if (node.isChannel()) {
@@ -389,7 +390,7 @@ public class InstantPublisher {
 											MeshPublisher.getMeshLanguage(toRemove));
 								});
 							} else {
-								operations.add(CnMapPublisher.removeObjectFromCR(t.getObject(Page.class, hiddenPageId, false, false, true), contentMap, node));
+								operations.add(Operation.remove(t.getObject(Page.class, hiddenPageId, false, false, true), contentMap, node));
 							}
 						}
 					}
@@ -414,7 +415,7 @@ public class InstantPublisher {
 								// TODO
 							} else {
 								// Previous node recorded in property[0]
-								operations.add(CnMapPublisher.removeObjectFromCR(object, contentMap, t.getObject(Node.class, Integer.valueOf(property[0]))));
+								operations.add(Operation.remove(object, contentMap, t.getObject(Node.class, Integer.valueOf(property[0]))));
 							}
 						}
 						if (meshCr) {
@@ -423,8 +424,8 @@ public class InstantPublisher {
 							});
 						} else {
 							// immediately write the object into the contentmap
-							operations.add(CnMapPublisher.writePreparedObject(node.getId(), CnMapPublisher.prepareObjectForWriting(object, null, contentMap, dbFilesDir, true, false),
-									contentMap, object.toString(), true));
+							operations.add(Operation.write(object, contentMap, node, CnMapPublisher.writePreparedObject(node.getId(),
+									CnMapPublisher.prepareObjectForWriting(object, null, contentMap, dbFilesDir, true, false), contentMap, object.toString(), true)));
 						}
 					} finally {
 						if (node.isChannel()) {
@@ -448,8 +449,7 @@ public class InstantPublisher {
 											MeshPublisher.getMeshLanguage(finalObject));
 								});
 							} else {
-								operations.add(CnMapPublisher.removeObjectFromCR(t.getObject(object.getObjectInfo().getObjectClass(), id, false, false, true),
-										contentMap, node));
+								operations.add(Operation.remove(t.getObject(object.getObjectInfo().getObjectClass(), id, false, false, true), contentMap, node));
 							}
 						}
 					}
@@ -463,7 +463,7 @@ public class InstantPublisher {
 									MeshPublisher.getMeshUuid(finalObject), MeshPublisher.getMeshLanguage(finalObject));
 						});
 					} else {
-						operations.add(CnMapPublisher.removeObjectFromCR(object, contentMap, node));
+						operations.add(Operation.remove(object, contentMap, node));
 					}
 					needToRevealInherited = true;
 				}
@@ -511,7 +511,11 @@ public class InstantPublisher {
 				break;
 			}
 
-			if (!operations.isEmpty()) {
+			InstantPublishingCoalescer coalescer = InstantPublishingCoalescer.get();
+			if (!operations.isEmpty() && coalescer != null) {
+				// the operations will be written together with other changes, after the transaction has been committed
+				coalescer.afterCommit(contentMap, operations, node, informPublishProcess ? object : null);
+			} else if (!operations.isEmpty()) {
 				try (ContentMapTrx trx = contentMap.startInstantPublishingTrx()) {
 					for (Operator op : operations) {
 						op.operate();
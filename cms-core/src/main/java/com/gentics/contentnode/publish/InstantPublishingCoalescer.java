@@ -0,0 +1,714 @@
+package com.gentics.contentnode.publish;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.etc.ContentMap;
+import com.gentics.contentnode.etc.ContentMap.ContentMapTrx;
+import com.gentics.contentnode.etc.Operator;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
+import com.gentics.contentnode.factory.AbstractTransactional;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.object.ContentFile;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.object.NodeObject;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Coalescer for instant publishing into SQL content repositories.
+ * Instead of writing every change in its own transaction into the content repository, the changes are collected for a configurable window
+ * after the transaction, which caused them, has been committed. Later changes of an object replace pending writes of the same object (contentid),
+ * so that an object, which is changed several times within the window, is written only once.
+ * All collected changes of a content repository are written with a single content repository transaction by a single thread,
+ * which preserves the order of the changes per object.
+ * An object is reported as instantly published, when all its operations have been written.
+ * If writing a batch fails, the objects will be written by the next publish process.
+ */
+public class InstantPublishingCoalescer implements InstantPublishingCoalescerMBean {
+	/**
+	 * Default maximum batch size
+	 */
+	public final static int DEFAULT_MAX_BATCH_SIZE = 500;
+
+	/**
+	 * Upper bounds (in ms) of the latency histogram buckets
+	 */
+	public final static long[] LATENCY_BUCKETS = { 10, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	/**
+	 * Upper bounds of the batch size histogram buckets
+	 */
+	public final static long[] BATCH_SIZE_BUCKETS = { 1, 2, 5, 10, 20, 50, 100, 200, 500 };
+
+	/**
+	 * Logger
+	 */
+	protected static NodeLogger logger = NodeLogger.getNodeLogger(InstantPublishingCoalescer.class);
+
+	/**
+	 * Instance, if coalescing is enabled
+	 */
+	private static InstantPublishingCoalescer instance;
+
+	/**
+	 * Window in ms
+	 */
+	protected long window;
+
+	/**
+	 * Maximum number of operations per batch
+	 */
+	protected int maxBatchSize;
+
+	/**
+	 * Service, which writes the batches
+	 */
+	protected ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor(new PrefixedThreadFactory("instant-publishing"));
+
+	/**
+	 * Queues per content map ID
+	 */
+	protected Map<Integer, Queue> queues = new HashMap<>();
+
+	/**
+	 * Flag, which is set when the coalescer is stopped
+	 */
+	protected boolean stopped = false;
+
+	/**
+	 * Number of written batches
+	 */
+	protected LongAdder batches = new LongAdder();
+
+	/**
+	 * Number of written operations
+	 */
+	protected LongAdder operations = new LongAdder();
+
+	/**
+	 * Number of merged operations
+	 */
+	protected LongAdder merged = new LongAdder();
+
+	/**
+	 * Number of failed operations
+	 */
+	protected LongAdder failed = new LongAdder();
+
+	/**
+	 * Latency histogram
+	 */
+	protected Histogram latencies = new Histogram(LATENCY_BUCKETS, " ms");
+
+	/**
+	 * Batch size histogram
+	 */
+	protected Histogram batchSizes = new Histogram(BATCH_SIZE_BUCKETS, "");
+
+	/**
+	 * Configure coalescing. If the window is positive, coalescing is enabled, otherwise it is disabled and pending operations are written.
+	 * @param window window in ms
+	 * @param maxBatchSize maximum number of operations per batch (if not positive, the default is used)
+	 */
+	public static synchronized void set(long window, int maxBatchSize) {
+		if (window > 0) {
+			if (instance == null) {
+				instance = new InstantPublishingCoalescer();
+				MBeanRegistry.registerMBean(instance, "Publish", "InstantPublishingCoalescer");
+			}
+			instance.window = window;
+			instance.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+		} else {
+			shutdown();
+		}
+	}
+
+	/**
+	 * Stop coalescing. All pending operations are written before this method returns.
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			InstantPublishingCoalescer stopping = instance;
+			instance = null;
+			MBeanRegistry.unregisterMBean("Publish", "InstantPublishingCoalescer");
+			stopping.stop();
+		}
+	}
+
+	/**
+	 * Get the coalescer
+	 * @return coalescer or null, if coalescing is disabled
+	 */
+	public static InstantPublishingCoalescer get() {
+		return instance;
+	}
+
+	/**
+	 * Get the key for an operation on the given object in the given content map. The key is the contentid of the object,
+	 * for multichannelling content maps, it also contains the node ID.
+	 * @param object object
+	 * @param contentMap content map
+	 * @param node node
+	 * @return key
+	 */
+	public static String getKey(NodeObject object, ContentMap contentMap, Node node) {
+		int objType = ObjectTransformer.getInt(object.getTType(), -1);
+		if (objType == ContentFile.TYPE_IMAGE) {
+			objType = ContentFile.TYPE_FILE;
+		}
+		StringBuilder key = new StringBuilder().append(objType).append(".").append(object.getId());
+		if (contentMap.isMultichannelling() && node != null) {
+			key.append("@").append(node.getId());
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Protected constructor
+	 */
+	protected InstantPublishingCoalescer() {
+	}
+
+	/**
+	 * Add the operations to the queue of the content map, after the current transaction has been committed
+	 * @param contentMap content map
+	 * @param ops operations
+	 * @param node node, for which the operations are done
+	 * @param published object, which will be reported as instantly published after all operations have been written (may be null)
+	 * @throws NodeException
+	 */
+	public void afterCommit(ContentMap contentMap, List<Operation> ops, Node node, NodeObject published) throws NodeException {
+		int nodeId = node.getId();
+		TransactionManager.getCurrentTransaction().addTransactional(new AbstractTransactional() {
+			@Override
+			public void onDBCommit(Transaction t) throws NodeException {
+			}
+
+			@Override
+			public boolean onTransactionCommit(Transaction t) {
+				add(contentMap, ops, nodeId, published);
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Add the operations to the queue of the content map
+	 * @param contentMap content map
+	 * @param ops operations
+	 * @param nodeId node ID
+	 * @param published object, which will be reported as instantly published after all operations have been written (may be null)
+	 */
+	protected synchronized void add(ContentMap contentMap, List<Operation> ops, int nodeId, NodeObject published) {
+		if (stopped) {
+			logger.warn(String.format("Dropped %d instant publishing operations for %s, because instant publishing coalescing was stopped", ops.size(),
+					contentMap));
+			return;
+		}
+
+		Queue queue = queues.computeIfAbsent(contentMap.getId(), id -> new Queue(contentMap));
+		queue.add(ops, nodeId, published);
+
+		try {
+			if (queue.size() >= maxBatchSize) {
+				service.execute(() -> flush(queue));
+			} else if (!queue.scheduled) {
+				queue.scheduled = true;
+				service.schedule(() -> flush(queue), window, TimeUnit.MILLISECONDS);
+			}
+		} catch (RejectedExecutionException e) {
+			logger.error(String.format("Could not schedule writing instant publishing operations for %s", contentMap), e);
+		}
+	}
+
+	/**
+	 * Write all pending operations of the queue in batches of at most {@link #maxBatchSize} operations
+	 * @param queue queue
+	 */
+	protected void flush(Queue queue) {
+		Batch batch = null;
+		do {
+			synchronized (this) {
+				batch = queue.take();
+			}
+			if (!batch.operations.isEmpty()) {
+				write(queue.contentMap, batch);
+			}
+		} while (batch.more);
+	}
+
+	/**
+	 * Write the batch in a single content repository transaction
+	 * @param contentMap content map
+	 * @param batch batch
+	 */
+	protected void write(ContentMap contentMap, Batch batch) {
+		List<Operation> batchOperations = batch.operations;
+		try {
+			writeOperations(contentMap, batch);
+
+			for (Operation op : batchOperations) {
+				for (Publication publication : op.publications) {
+					if (--publication.outstanding == 0 && !publication.failed) {
+						published(publication.object);
+					}
+				}
+			}
+
+			long now = System.currentTimeMillis();
+			for (Operation op : batchOperations) {
+				latencies.add(now - op.enqueued);
+			}
+			batchSizes.add(batchOperations.size());
+			batches.increment();
+			operations.add(batchOperations.size());
+		} catch (NodeException | RuntimeException e) {
+			InstantCRPublishing.increaseErrorCount(contentMap);
+			failed.add(batchOperations.size());
+			for (Operation op : batchOperations) {
+				for (Publication publication : op.publications) {
+					publication.outstanding--;
+					if (!publication.failed) {
+						publication.failed = true;
+						publishFailed(publication.object);
+					}
+				}
+			}
+			logger.error(String.format("Error while writing %d instant publishing operations into %s, objects will be written by the next publish process",
+					batchOperations.size(), contentMap), e);
+		}
+	}
+
+	/**
+	 * Write the operations of the batch in a single content repository transaction
+	 * @param contentMap content map
+	 * @param batch batch
+	 * @throws NodeException
+	 */
+	protected void writeOperations(ContentMap contentMap, Batch batch) throws NodeException {
+		List<Operation> batchOperations = batch.operations;
+		Set<Integer> nodeIds = batch.nodeIds;
+		Trx.operate(t -> {
+			try (ContentMapTrx trx = contentMap.startInstantPublishingTrx()) {
+				for (Operator op : batchOperations) {
+					op.operate();
+				}
+
+				// We use wallclock time so that instant publishing doesn't break
+				// cache consistency during a publish run
+				int timestamp = (int) (System.currentTimeMillis() / 1000);
+				contentMap.setLastMapUpdate(timestamp, t.getObjects(Node.class, nodeIds), false);
+				InstantCRPublishing.resetErrorCount(contentMap);
+				if (trx != null) {
+					trx.setSuccess();
+				}
+			} catch (SQLException e) {
+				throw new NodeException("Error while committing transaction to write " + batchOperations.size() + " operations into {" + contentMap + "}", e);
+			}
+		});
+	}
+
+	/**
+	 * Report the object as instantly published, after all its operations have been written
+	 * @param object object
+	 */
+	protected void published(NodeObject object) {
+		PublishController.instantPublished(object);
+	}
+
+	/**
+	 * Report that instantly publishing the object failed, because writing one of its operations failed
+	 * @param object object
+	 */
+	protected void publishFailed(NodeObject object) {
+		PublishController.instantPublishFailed(object);
+	}
+
+	/**
+	 * Stop the coalescer and write all pending operations
+	 */
+	protected void stop() {
+		synchronized (this) {
+			stopped = true;
+			for (Queue queue : queues.values()) {
+				service.execute(() -> flush(queue));
+			}
+		}
+		service.shutdown();
+		try {
+			if (!service.awaitTermination(1, TimeUnit.MINUTES)) {
+				logger.error("Instant publishing coalescer did not terminate within 1 minute");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public long getWindow() {
+		return window;
+	}
+
+	@Override
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	@Override
+	public synchronized int getPendingOperations() {
+		int pending = 0;
+		for (Queue queue : queues.values()) {
+			pending += queue.size();
+		}
+		return pending;
+	}
+
+	@Override
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	@Override
+	public long getOperations() {
+		return operations.sum();
+	}
+
+	@Override
+	public long getMergedOperations() {
+		return merged.sum();
+	}
+
+	@Override
+	public long getFailedOperations() {
+		return failed.sum();
+	}
+
+	@Override
+	public String[] getLatencyHistogram() {
+		return latencies.get();
+	}
+
+	@Override
+	public String[] getBatchSizeHistogram() {
+		return batchSizes.get();
+	}
+
+	@Override
+	public void resetStatistics() {
+		batches.reset();
+		operations.reset();
+		merged.reset();
+		failed.reset();
+		latencies.reset();
+		batchSizes.reset();
+	}
+
+	/**
+	 * Operation for an object in a content map
+	 */
+	public static class Operation implements Operator {
+		/**
+		 * Key of the object
+		 */
+		protected String key;
+
+		/**
+		 * True for writing the object, false for removing it
+		 */
+		protected boolean write;
+
+		/**
+		 * Wrapped operator
+		 */
+		protected Operator operator;
+
+		/**
+		 * Timestamp of the first change, which is contained in this operation
+		 */
+		protected long enqueued;
+
+		/**
+		 * Publications, which wait for this operation to be written
+		 */
+		protected List<Publication> publications = new ArrayList<>();
+
+		/**
+		 * Create an operation, which writes the object into the content map
+		 * @param object object
+		 * @param contentMap content map
+		 * @param node node
+		 * @param operator operator, which writes the object
+		 * @return operation
+		 */
+		public static Operation write(NodeObject object, ContentMap contentMap, Node node, Operator operator) {
+			return new Operation(getKey(object, contentMap, node), true, operator);
+		}
+
+		/**
+		 * Create an operation, which removes the object from the content map
+		 * @param object object
+		 * @param contentMap content map
+		 * @param node node
+		 * @return operation
+		 * @throws NodeException
+		 */
+		public static Operation remove(NodeObject object, ContentMap contentMap, Node node) throws NodeException {
+			return new Operation(getKey(object, contentMap, node), false, CnMapPublisher.removeObjectFromCR(object, contentMap, node));
+		}
+
+		/**
+		 * Create an instance
+		 * @param key key of the object
+		 * @param write true for writing, false for removing
+		 * @param operator wrapped operator
+		 */
+		public Operation(String key, boolean write, Operator operator) {
+			this.key = key;
+			this.write = write;
+			this.operator = operator;
+		}
+
+		@Override
+		public void operate() throws NodeException {
+			operator.operate();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s %s", write ? "write" : "remove", key);
+		}
+	}
+
+	/**
+	 * Queue of pending operations for a content map
+	 */
+	protected class Queue {
+		/**
+		 * Content map
+		 */
+		protected ContentMap contentMap;
+
+		/**
+		 * Pending operations in order
+		 */
+		protected Set<Operation> pending = new LinkedHashSet<>();
+
+		/**
+		 * Last pending operation per key
+		 */
+		protected Map<String, Operation> last = new HashMap<>();
+
+		/**
+		 * IDs of the nodes of the pending operations
+		 */
+		protected Set<Integer> nodeIds = new HashSet<>();
+
+		/**
+		 * Flag, which is set when writing the queue is scheduled
+		 */
+		protected boolean scheduled = false;
+
+		/**
+		 * Create an instance
+		 * @param contentMap content map
+		 */
+		protected Queue(ContentMap contentMap) {
+			this.contentMap = contentMap;
+		}
+
+		/**
+		 * Add the operations. If the last pending operation for the key of an operation is a write, it is replaced by the new operation,
+		 * which takes over the publications waiting for the replaced operation.
+		 * @param ops operations
+		 * @param nodeId node ID
+		 * @param object object, which will be reported as instantly published (may be null)
+		 */
+		protected void add(List<Operation> ops, int nodeId, NodeObject object) {
+			long now = System.currentTimeMillis();
+			Publication publication = object != null ? new Publication(object, ops.size()) : null;
+			for (Operation op : ops) {
+				op.enqueued = now;
+				Operation previous = last.get(op.key);
+				if (previous != null && previous.write) {
+					pending.remove(previous);
+					op.enqueued = previous.enqueued;
+					op.publications.addAll(previous.publications);
+					merged.increment();
+				}
+				if (publication != null) {
+					op.publications.add(publication);
+				}
+				pending.add(op);
+				last.put(op.key, op);
+			}
+			nodeIds.add(nodeId);
+		}
+
+		/**
+		 * Get the number of pending operations
+		 * @return number of pending operations
+		 */
+		protected int size() {
+			return pending.size();
+		}
+
+		/**
+		 * Take all pending operations (up to the maximum batch size) out of the queue
+		 * @return batch
+		 */
+		protected Batch take() {
+			Batch batch = new Batch();
+			for (Iterator<Operation> i = pending.iterator(); i.hasNext() && batch.operations.size() < maxBatchSize;) {
+				Operation op = i.next();
+				i.remove();
+				if (last.get(op.key) == op) {
+					last.remove(op.key);
+				}
+				batch.operations.add(op);
+			}
+
+			batch.nodeIds.addAll(nodeIds);
+			if (pending.isEmpty()) {
+				nodeIds.clear();
+				scheduled = false;
+			} else {
+				// the remaining operations are written with the next batch
+				batch.more = true;
+			}
+			return batch;
+		}
+	}
+
+	/**
+	 * Batch of operations, which are written in a single content repository transaction
+	 */
+	protected static class Batch {
+		/**
+		 * Operations
+		 */
+		protected List<Operation> operations = new ArrayList<>();
+
+		/**
+		 * Node IDs
+		 */
+		protected Set<Integer> nodeIds = new HashSet<>();
+
+		/**
+		 * Flag, which is set if the queue contained more operations than the maximum batch size
+		 */
+		protected boolean more = false;
+	}
+
+	/**
+	 * Object, which will be reported as instantly published, when all its operations have been written
+	 */
+	protected static class Publication {
+		/**
+		 * Object
+		 */
+		protected NodeObject object;
+
+		/**
+		 * Number of operations, which have not been written yet
+		 */
+		protected int outstanding;
+
+		/**
+		 * Flag, which is set if writing an operation failed
+		 */
+		protected boolean failed = false;
+
+		/**
+		 * Create an instance
+		 * @param object object
+		 * @param outstanding number of operations
+		 */
+		protected Publication(NodeObject object, int outstanding) {
+			this.object = object;
+			this.outstanding = outstanding;
+		}
+	}
+
+	/**
+	 * Histogram with fixed buckets
+	 */
+	protected static class Histogram {
+		/**
+		 * Upper bounds of the buckets
+		 */
+		protected long[] bounds;
+
+		/**
+		 * Unit of the values
+		 */
+		protected String unit;
+
+		/**
+		 * Counts per bucket (the last bucket counts all values exceeding the largest bound)
+		 */
+		protected AtomicLongArray counts;
+
+		/**
+		 * Create an instance
+		 * @param bounds upper bounds of the buckets
+		 * @param unit unit
+		 */
+		protected Histogram(long[] bounds, String unit) {
+			this.bounds = bounds;
+			this.unit = unit;
+			this.counts = new AtomicLongArray(bounds.length + 1);
+		}
+
+		/**
+		 * Add a value
+		 * @param value value
+		 */
+		protected void add(long value) {
+			int bucket = 0;
+			while (bucket < bounds.length && value > bounds[bucket]) {
+				bucket++;
+			}
+			counts.incrementAndGet(bucket);
+		}
+
+		/**
+		 * Get the histogram
+		 * @return one entry per bucket
+		 */
+		protected String[] get() {
+			String[] histogram = new String[counts.length()];
+			for (int i = 0; i < bounds.length; i++) {
+				histogram[i] = String.format("<= %d%s: %d", bounds[i], unit, counts.get(i));
+			}
+			histogram[bounds.length] = String.format("> %d%s: %d", bounds[bounds.length - 1], unit, counts.get(bounds.length));
+			return histogram;
+		}
+
+		/**
+		 * Reset the histogram
+		 */
+		protected void reset() {
+			for (int i = 0; i < counts.length(); i++) {
+				counts.set(i, 0);
+			}
+		}
+	}
+}
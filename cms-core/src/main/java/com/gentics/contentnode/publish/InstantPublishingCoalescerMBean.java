@@ -0,0 +1,65 @@
+package com.gentics.contentnode.publish;
+
+/**
+ * Interface for the instant publishing coalescer MBean
+ */
+public interface InstantPublishingCoalescerMBean {
+	/**
+	 * Get the window (in ms), for which changes are collected before they are written
+	 * @return window in ms
+	 */
+	long getWindow();
+
+	/**
+	 * Get the maximum number of operations per batch
+	 * @return maximum batch size
+	 */
+	int getMaxBatchSize();
+
+	/**
+	 * Get the number of operations, which are currently waiting to be written
+	 * @return number of pending operations
+	 */
+	int getPendingOperations();
+
+	/**
+	 * Get the number of written batches
+	 * @return number of batches
+	 */
+	long getBatches();
+
+	/**
+	 * Get the number of written operations
+	 * @return number of operations
+	 */
+	long getOperations();
+
+	/**
+	 * Get the number of operations, which were merged into later operations for the same object
+	 * @return number of merged operations
+	 */
+	long getMergedOperations();
+
+	/**
+	 * Get the number of operations, which failed to be written
+	 * @return number of failed operations
+	 */
+	long getFailedOperations();
+
+	/**
+	 * Get the histogram of latencies (time between the commit of the change and the commit of the batch in the content repository)
+	 * @return latency histogram
+	 */
+	String[] getLatencyHistogram();
+
+	/**
+	 * Get the histogram of batch sizes
+	 * @return batch size histogram
+	 */
+	String[] getBatchSizeHistogram();
+
+	/**
+	 * Reset the statistics
+	 */
+	void resetStatistics();
+}
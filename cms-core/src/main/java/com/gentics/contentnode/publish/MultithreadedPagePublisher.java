@@ -1,22 +1,14 @@
 package com.gentics.contentnode.publish;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.etc.Feature;
 import com.gentics.contentnode.etc.NodeConfig;
-import com.gentics.contentnode.etc.PrefixedThreadFactory;
 import com.gentics.contentnode.factory.ContentNodeFactory;
-import com.gentics.contentnode.factory.Level2CacheTrx;
 import com.gentics.contentnode.factory.MulticonnectionTransaction;
 import com.gentics.contentnode.factory.Transaction;
 import com.gentics.contentnode.factory.TransactionManager;
@@ -24,8 +16,8 @@ import com.gentics.contentnode.object.Node;
 import com.gentics.contentnode.object.Page;
 import com.gentics.contentnode.publish.PublishQueue.NodeObjectIdWithAttributes;
 import com.gentics.contentnode.publish.PublishQueue.NodeObjectWithAttributes;
-import com.gentics.contentnode.publish.wrapper.PublishablePage;
 import com.gentics.contentnode.publish.wrapper.PublishablePageList;
+import com.gentics.contentnode.publish.wrapper.PublishablePageWarmup;
 import com.gentics.contentnode.render.RenderResult;
 import com.gentics.lib.etc.IWorkPhase;
 import com.gentics.lib.etc.StatsItem;
@@ -38,11 +30,6 @@ import com.gentics.lib.render.exception.RecoverableException;
 public class MultithreadedPagePublisher extends PagePublisher {
 	private static final int DEFAULT_THREAD_LIMIT = 8;
 
-	/**
-	 * Thread Factory
-	 */
-	private static ThreadFactory threadFactory = new PrefixedThreadFactory("page-publisher");
-
 	/**
 	 * Create an instance
 	 * @param config config
@@ -114,7 +101,6 @@ public class MultithreadedPagePublisher extends PagePublisher {
 			renderResult.info(Publisher.class, "Preparing pages for publishing");
 
 			final boolean publishStats = t.getNodeConfig().getDefaultPreferences().isFeature(Feature.PUBLISH_STATS);
-			final StatsItem initializeCacheStats = new StatsItem();
 			StatsItem prepareStats = null;
 			if (publishStats) {
 				prepareStats = new StatsItem();
@@ -173,57 +159,8 @@ public class MultithreadedPagePublisher extends PagePublisher {
 				// and put them in the cache (if not already there)
 				t.setPublishCacheEnabled(true);
 				if (!disableVersionedPublishing && publishCache) {
-					renderResult.info(Publisher.class, "Initializing PublishablePage cache using " + threadLimit + " threads");
-					ExecutorService threadPool = Executors.newFixedThreadPool(threadLimit, threadFactory);
-					final List<Integer> prepareList = new ArrayList<>(pagesToDistribute.stream().map(e -> e.id).collect(Collectors.toList()));
-					Collection<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>(threadLimit);
-					final Transaction threadTransaction = t;
-					for (int i = 0; i < threadLimit; i++) {
-						tasks.add(new Callable<Boolean> () {
-							@Override
-							public Boolean call() throws Exception {
-								TransactionManager.setCurrentTransaction(threadTransaction);
-								Integer pageId = null;
-								while (true) {
-									pageId = null;
-									synchronized (prepareList) {
-										if (prepareList.size() > 0) {
-											pageId = prepareList.remove(0);
-										}
-									}
-									if (pageId == null) {
-										break;
-									}
-									if (publishStats) {
-										initializeCacheStats.start();
-									}
-									try {
-										PublishablePage.getInstance(pageId);
-									} finally {
-										if (publishStats) {
-											initializeCacheStats.stop();
-										}
-									}
-								}
-								return true;
-							}});
-					}
-					try (Level2CacheTrx level2Trx = new Level2CacheTrx(false)) {
-						threadPool.invokeAll(tasks);
-						threadPool.shutdown();
-						threadPool.awaitTermination(1, TimeUnit.DAYS);
-					} catch (InterruptedException e) {
-						String message = "An error occurred while preparing publish cache, continuing anyway";
-
-						renderResult.error(Publisher.class, message, e);
-
-						throw new NodeException(message, e);
-					}
-					if (publishStats) {
-						renderResult.info(Publisher.class, "Initialized PublishablePage cache: " + initializeCacheStats.getInfo());
-					} else {
-						renderResult.info(Publisher.class, "Initialized PublishablePage cache");
-					}
+					PublishablePageWarmup warmup = new PublishablePageWarmup(threadLimit, t.getNodeConfig(), publishStats);
+					warmup.run(pagesToDistribute.stream().map(e -> e.id).collect(Collectors.toList()), renderResult);
 				}
 			} finally {
 				t.setDisableVersionedPublish(false);
@@ -238,7 +175,8 @@ public class MultithreadedPagePublisher extends PagePublisher {
 			} else {
 				pages = new PublishablePageList(pagesToDistribute, t.getNodeConfig(), threadLimit);
 			}
-			PageDistributor pageDistributor = new PageDistributor(node.getId(), pages, loadMonitor, publishInfo, t.getNodeConfig(), this, cnMapPublisher, renderResult);
+			PageDistributor pageDistributor = PageDistributor.create(node.getId(), pages, threadLimit, loadMonitor, publishInfo, t.getNodeConfig(), this,
+					cnMapPublisher, renderResult);
 
 			long start = System.currentTimeMillis();
 			Iterator<PublishWorker> j = workers.iterator();
@@ -297,6 +235,8 @@ public class MultithreadedPagePublisher extends PagePublisher {
 					}
 				}
 				throw new PublishInterruptedException("The publish process has been interuppted");
+			} finally {
+				pageDistributor.finish();
 			}
 			mt.waitForAsynchronousJobs();
 			logger.info("Workers finished in " + (System.currentTimeMillis() - start) + "ms.");
@@ -6,6 +6,9 @@
 package com.gentics.contentnode.publish;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.gentics.api.lib.etc.ObjectTransformer;
 import com.gentics.api.lib.exception.NodeException;
@@ -17,6 +20,7 @@ import com.gentics.contentnode.factory.TransactionManager;
 import com.gentics.contentnode.factory.TransactionStatistics;
 import com.gentics.contentnode.factory.TransactionStatistics.Item;
 import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.jmx.PublisherInfo;
 import com.gentics.contentnode.object.Page;
 import com.gentics.contentnode.publish.PublishQueue.NodeObjectWithAttributes;
 import com.gentics.contentnode.render.RenderResult;
@@ -27,17 +31,17 @@ import com.gentics.lib.log.NodeLogger;
  * An instance of this class will be used by the PublishWorkers to get the next page to be rendered.
  */
 public class PageDistributor {
-	private int nodeId;
+	protected int nodeId;
 
-	private WorkLoadMonitor loadMonitor;
+	protected WorkLoadMonitor loadMonitor;
 
-	private List<NodeObjectWithAttributes<Page>> pages;
+	protected List<NodeObjectWithAttributes<Page>> pages;
 
-	private volatile int activeThreads = 0;
+	protected AtomicInteger activeThreads = new AtomicInteger();
 
 	private ThreadLocal<Object> threadMarker = new ThreadLocal<Object>();
 
-	private SimplePublishInfo publishInfo;
+	protected SimplePublishInfo publishInfo;
 
 	public static final double DEFAULT_LOAD_LIMIT = 2;
 
@@ -60,13 +64,29 @@ public class PageDistributor {
 	 */
 	public final static String PREPARE_DEPSDATA_CONFIG_KEY = "multithreaded_publishing.preparedepsdata";
 
+	/**
+	 * Name of the configuration parameter to specify how pages are distributed to the publish workers.
+	 * Possible values are {@link #DISTRIBUTION_SYNCHRONIZED} (default) and {@link #DISTRIBUTION_WORKSTEALING}
+	 */
+	public final static String DISTRIBUTION_CONFIG_KEY = "multithreaded_publishing.distribution";
+
+	/**
+	 * Distribution mode, where all workers get the pages from a common list, which is guarded by a lock
+	 */
+	public final static String DISTRIBUTION_SYNCHRONIZED = "synchronized";
+
+	/**
+	 * Distribution mode, where the pages are partitioned among the workers, which steal from each other (see {@link WorkStealingPageDistributor})
+	 */
+	public final static String DISTRIBUTION_WORKSTEALING = "workstealing";
+
 	private double loadLimit = DEFAULT_LOAD_LIMIT;
 
-	private static NodeLogger logger = NodeLogger.getNodeLogger(PageDistributor.class);
+	protected static NodeLogger logger = NodeLogger.getNodeLogger(PageDistributor.class);
 
-	private volatile int pageCounter = 0;
+	protected AtomicInteger pageCounter = new AtomicInteger();
 
-	private volatile boolean stop = false;
+	protected volatile boolean stop = false;
 
 	private NodeException nodeException = null;
 
@@ -74,9 +94,19 @@ public class PageDistributor {
 
 	private PagePublisher pagePublisher;
 
-	private CnMapPublisher cnMapPublisher;
+	protected CnMapPublisher cnMapPublisher;
+
+	protected TransactionStatistics stats;
+
+	/**
+	 * Counter for the pages still queued in this distributor
+	 */
+	protected AtomicInteger queueDepth;
 
-	private TransactionStatistics stats;
+	/**
+	 * Lock guarding the list of pages
+	 */
+	private ReentrantLock pagesLock = new ReentrantLock();
 
 	/**
 	 * Render result
@@ -109,6 +139,8 @@ public class PageDistributor {
 			loadLimit = ObjectTransformer.getDouble(prefs.getProperty(LOAD_LIMIT_CONFIG_KEY), loadLimit);
 		}
 		this.publishInfo.setLoadLimit((float) loadLimit);
+		queueDepth = MBeanRegistry.getPublisherInfo().getPageQueueDepthCounter(nodeId);
+		queueDepth.set(pages.size());
 
 		try {
 			stats = TransactionManager.getCurrentTransaction().getStatistics();
@@ -116,6 +148,42 @@ public class PageDistributor {
 		}
 	}
 
+	/**
+	 * Create the page distributor for the configured distribution mode (see {@link #DISTRIBUTION_CONFIG_KEY})
+	 * @param nodeId node ID
+	 * @param pages list of pages to distribute
+	 * @param threadLimit number of publish workers
+	 * @param loadMonitor load monitor (may be null)
+	 * @param publishInfo publish info
+	 * @param config configuration
+	 * @param pagePublisher page publisher
+	 * @param cnMapPublisher contentmap publisher
+	 * @param renderResult render result (may be null)
+	 * @return page distributor instance
+	 * @throws NodeException
+	 */
+	public static PageDistributor create(int nodeId, List<NodeObjectWithAttributes<Page>> pages, int threadLimit, WorkLoadMonitor loadMonitor,
+			SimplePublishInfo publishInfo, NodeConfig config, PagePublisher pagePublisher, CnMapPublisher cnMapPublisher, RenderResult renderResult)
+			throws NodeException {
+		String mode = DISTRIBUTION_SYNCHRONIZED;
+		if (config != null) {
+			mode = ObjectTransformer.getString(config.getDefaultPreferences().getProperty(DISTRIBUTION_CONFIG_KEY), mode);
+		}
+
+		if (DISTRIBUTION_WORKSTEALING.equals(mode) && pages instanceof AbstractPageList) {
+			if (renderResult != null) {
+				renderResult.info(Publisher.class, "Distributing pages to " + threadLimit + " workers with work stealing");
+			}
+			return new WorkStealingPageDistributor(nodeId, (AbstractPageList) pages, threadLimit, loadMonitor, publishInfo, config, pagePublisher,
+					cnMapPublisher, renderResult);
+		} else {
+			if (pages instanceof AbstractPageList) {
+				((AbstractPageList) pages).startPrefetcher();
+			}
+			return new PageDistributor(nodeId, pages, loadMonitor, publishInfo, config, pagePublisher, cnMapPublisher, renderResult);
+		}
+	}
+
 	/**
 	 * This is called every time a worker thread finishes a pages and tries to get an new one.
 	 * 
@@ -148,11 +216,43 @@ public class PageDistributor {
 		if (threadMarker.get() == null) {
 			threadMarker.set(new Object());
 		} else {
-			activeThreads--;
+			activeThreads.decrementAndGet();
+		}
+
+		NodeObjectWithAttributes<Page> p = takePage();
+		if (p == null) {
+			return null;
+		}
+
+		queueDepth.decrementAndGet();
+		publishInfo.pageRendered();
+		MBeanRegistry.getPublisherInfo().publishedPage(nodeId);
+
+		// Being here means there is some work for the current worker -> it will be active now ->
+		// increment the activeThreads-Counter and the pageCounter. 
+		activeThreads.incrementAndGet();
+		updatePublishInfo();
+
+		// update the thread time statistics every 16 pages
+		if (pageCounter.incrementAndGet() % 16 == 0) {
+			updatePublishThreadInfos();
+		}
+		return p;
+	}
+
+	/**
+	 * Take the next page from the list of pages. Access to the list is serialized with a lock.
+	 * @return next page or null if there is nothing left to do (or the distributor was stopped)
+	 */
+	protected NodeObjectWithAttributes<Page> takePage() {
+		long startWait = System.nanoTime();
+		boolean contended = !pagesLock.tryLock();
+		if (contended) {
+			pagesLock.lock();
 		}
-		NodeObjectWithAttributes<Page> p;
+		distributionWaited(contended, System.nanoTime() - startWait);
 
-		synchronized (pages) {
+		try {
 			if (pages instanceof AbstractPageList) {
 				try {
 					((AbstractPageList) pages).prepareDependencies();
@@ -164,13 +264,8 @@ public class PageDistributor {
 
 			// The loadbalancing should be inserted here, something like:
 			// if (load to high) { sleep some time until it falls }
-			if (loadMonitor != null) {
-				try {
-					loadMonitor.checkHighLoad();
-				} catch (Exception e) {
-					stop(new NodeException(e));
-					return null;
-				}
+			if (!checkLoad()) {
+				return null;
 			}
 
 			if (pages.isEmpty()) {
@@ -181,46 +276,105 @@ public class PageDistributor {
 					if (stats != null) {
 						stats.get(Item.GET_NEXT_PAGE).start();
 					}
-					p = pages.remove(0);
+					return pages.remove(0);
 				} catch (UnsupportedOperationException e) {
-					Throwable cause = e.getCause();
-					if (cause instanceof NodeException) {
-						stop((NodeException)cause);
-					} else if (cause instanceof GenericFailureException) {
-						stop((GenericFailureException)cause);
-					} else {
-						logger.error("PageDistributor failed due to exception", cause);
-						stop();
-					}
+					handleGetPageFailure(e);
 					return null;
 				} finally {
 					if (stats != null) {
 						stats.get(Item.GET_NEXT_PAGE).stop();
 					}
 				}
-				publishInfo.pageRendered();
-				MBeanRegistry.getPublisherInfo().publishedPage(nodeId);
 			}
+		} finally {
+			pagesLock.unlock();
 		}
+	}
 
-		// Being here means there is some work for the current worker -> it will be active now ->
-		// increment the activeThreads-Counter and the pageCounter. 
-		activeThreads++;
-		updatePublishInfo();
-		pageCounter++;
+	/**
+	 * Let the load monitor (if set) wait while the load is too high
+	 * @return true if the page distribution can continue, false if the distributor was stopped
+	 */
+	protected boolean checkLoad() {
+		if (loadMonitor != null) {
+			try {
+				loadMonitor.checkHighLoad();
+			} catch (Exception e) {
+				stop(new NodeException(e));
+				return false;
+			}
+		}
+		return true;
+	}
 
-		// update the thread time statistics every 16 pages
-		if (pageCounter % 16 == 0) {
-			updatePublishThreadInfos();
+	/**
+	 * Stop the distributor because getting the next page failed with the given exception
+	 * @param e exception thrown by the page list
+	 */
+	protected void handleGetPageFailure(UnsupportedOperationException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof NodeException) {
+			stop((NodeException)cause);
+		} else if (cause instanceof GenericFailureException) {
+			stop((GenericFailureException)cause);
+		} else {
+			logger.error("PageDistributor failed due to exception", cause);
+			stop();
+		}
+	}
+
+	/**
+	 * Record the time, the current worker waited for getting access to the pages
+	 * @param contended true if the access was contended
+	 * @param waitNanos waiting time in ns
+	 */
+	protected void distributionWaited(boolean contended, long waitNanos) {
+		PublisherInfo publisherInfo = MBeanRegistry.getPublisherInfo();
+		publisherInfo.distributionWaited(contended, waitNanos);
+
+		PublishThreadInfo threadInfo = getPublishThreadInfo();
+		if (threadInfo != null) {
+			threadInfo.increaseTimeWaitingDistributor(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+			if (contended) {
+				threadInfo.increaseDistributorContentions();
+			}
+		}
+	}
+
+	/**
+	 * Get the publish thread info of the current thread
+	 * @return publish thread info or null
+	 */
+	protected PublishThreadInfo getPublishThreadInfo() {
+		try {
+			return ((MulticonnectionTransaction) TransactionManager.getCurrentTransaction()).getPublishThreadInfo();
+		} catch (TransactionException | ClassCastException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Called when all workers are finished. Releases resources held by the distributor.
+	 */
+	public void finish() {
+		if (pages instanceof AbstractPageList) {
+			AbstractPageList pageList = (AbstractPageList) pages;
+			pageList.stopPrefetcher();
+			if (renderResult != null) {
+				try {
+					renderResult.info(Publisher.class, "Prefetched pages: " + pageList.getPrefetchInfo());
+				} catch (NodeException e) {
+					logger.error("Error while writing prefetch info", e);
+				}
+			}
 		}
-		return p;
 	}
 
-	private void updatePublishInfo() {
-		publishInfo.setCurrentThreadCount(activeThreads);
+	protected void updatePublishInfo() {
+		publishInfo.setCurrentThreadCount(activeThreads.get());
 	}
 
-	private void updatePublishThreadInfos() {
+	protected void updatePublishThreadInfos() {
 		try {
 			MulticonnectionTransaction t = (MulticonnectionTransaction) TransactionManager.getCurrentTransaction();
 
@@ -231,7 +385,7 @@ public class PageDistributor {
 	}
 
 	public int getActiveThreads() {
-		return activeThreads;
+		return activeThreads.get();
 	}
 
 	public void stop() {
@@ -82,21 +82,19 @@ public class PublishQueue {
 	protected static ExecutorService removerService = null;
 
 	/**
-	 * Threadlocal map for collecting data for "fast dependency dirting".
-	 * The map is constructed as
-	 * channelId -> Map(objectType -> Map(Ids -> Set(attribute names)))
+	 * Threadlocal batch for collecting data for "fast dependency dirting".
 	 */
-	protected static ThreadLocal<Map<Integer, Map<Integer, Map<Integer, Set<String>>>>> dependencyDirting = new ThreadLocal<>();
+	protected static ThreadLocal<PublishQueueBatch> dependencyDirting = new ThreadLocal<>();
 
 	protected final static List<Action> REMOVING_ACTIONS = Arrays.asList(Action.DELETE, Action.REMOVE, Action.OFFLINE, Action.HIDE);
 
 	/**
-	 * Initialize fast dependency dirting by preparing the threadlocal dependencyDirting map
+	 * Initialize fast dependency dirting by preparing the threadlocal dependencyDirting batch
 	 */
 	public static void initFastDependencyDirting() {
 		if (dependencyDirting.get() == null) {
 			logger.info("Initializing fast dependency dirting");
-			dependencyDirting.set(new HashMap<Integer, Map<Integer, Map<Integer, Set<String>>>>());
+			dependencyDirting.set(new PublishQueueBatch(true));
 		}
 	}
 
@@ -104,112 +102,24 @@ public class PublishQueue {
 	 * Finish fast dependency dirting
 	 */
 	public static void finishFastDependencyDirting() throws NodeException {
-		Map<Integer, Map<Integer, Map<Integer, Set<String>>>> dirtMap = dependencyDirting.get();
-		if (dirtMap == null) {
+		PublishQueueBatch batch = dependencyDirting.get();
+		if (batch == null) {
 			return;
 		}
 
 		logger.info("Finishing fast dependency dirting");
 
-		for (Map.Entry<Integer, Map<Integer, Map<Integer, Set<String>>>> channelEntry : dirtMap.entrySet()) {
-			final int channelId = channelEntry.getKey();
-			Map<Integer, Map<Integer, Set<String>>> dirtMapForChannel = channelEntry.getValue();
-
-			for (Map.Entry<Integer, Map<Integer, Set<String>>> typeEntry : dirtMapForChannel.entrySet()) {
-				final int objType = typeEntry.getKey();
-				Map<Integer, Set<String>> objIdMap = typeEntry.getValue();
-
-				if (objIdMap.isEmpty()) {
-					continue;
-				}
-
-				// get possibly existing publishqueue entries
-				final List<Entry> existingEntries = new ArrayList<PublishQueue.Entry>(1);
-
-				// check which of the entries already exists
-				DBUtils.executeMassStatement("SELECT * FROM publishqueue WHERE obj_type = ? AND action = ? AND channel_id = ? AND obj_id IN", new ArrayList<>(
-						objIdMap.keySet()), 4, new SQLExecutor() {
-					@Override
-					public void prepareStatement(PreparedStatement stmt)
-							throws SQLException {
-						stmt.setInt(1, objType); // obj_type = ?
-						stmt.setString(2, Action.DEPENDENCY.toString()); // action = ?
-						stmt.setInt(3, channelId); // channel_id = ?
-					}
-
-					@Override
-					public void handleResultSet(ResultSet rs)
-							throws SQLException, NodeException {
-						while (rs.next()) {
-							existingEntries.add(new Entry(rs));
-						}
-					}
-				});
-
-				Set<Integer> undelayIds = new HashSet<Integer>();
-				for (Entry entry : existingEntries) {
-					setAttributes(entry.id, true, objIdMap.get(entry.getObjId()));
-					objIdMap.remove(entry.getObjId());
-					if (entry.isDelayed()) {
-						undelayIds.add(entry.getObjId());
-					}
-				}
-
-				if (!undelayIds.isEmpty()) {
-					DBUtils.executeMassStatement("UPDATE publishqueue SET delay = ? WHERE obj_type = ? AND channel_id = ? AND obj_id IN", null,
-							new ArrayList<Integer>(undelayIds), 4, new SQLExecutor() {
-						@Override
-						public void prepareStatement(PreparedStatement stmt)
-								throws SQLException {
-							stmt.setInt(1, 0); // delay = ?
-							stmt.setInt(2, objType); // obj_type = ?
-							stmt.setInt(3, channelId); // channel_id = ?
-						}
-					}, Transaction.UPDATE_STATEMENT);
-				}
-
-				if (!objIdMap.isEmpty()) {
-					Transaction t = TransactionManager.getCurrentTransaction();
-
-					// increase the dirt counter
-					DirtCounter counter = DependencyManager.getDirtCounter();
-
-					List<Integer> entryIds = new ArrayList<>();
-					List<Set<String>> attributes = new ArrayList<>();
-					List<Object[]> argsList = new ArrayList<>();
-
-					for (Map.Entry<Integer, Set<String>> entry : objIdMap.entrySet()) {
-						argsList.add(new Object[] {objType, entry.getKey(), Action.DEPENDENCY.toString(), channelId, t.getUnixTimestamp()});
-						attributes.add(entry.getValue());
-						if (counter != null) {
-							counter.inc();
-						}
-					}
-					DBUtils.executeBatchStatement("INSERT INTO publishqueue (obj_type, obj_id, action, channel_id, timestamp) VALUES (?, ?, ?, ?, ?)",
-							Transaction.INSERT_STATEMENT, argsList, s -> {
-								ResultSet keys = s.getGeneratedKeys();
-								while (keys.next()) {
-									entryIds.add(keys.getInt(1));
-								}
-							});
-					if (entryIds.size() != attributes.size()) {
-						throw new NodeException("Error while fast dependency dirting: expected " + attributes.size() + " entries, but inserted "
-								+ entryIds.size() + " instead");
-					}
-					for (int i = 0; i < entryIds.size(); i++) {
-						setAttributes(entryIds.get(i), false, attributes.get(i));
-					}
-				}
-			}
+		try {
+			batch.flush();
+		} finally {
+			dependencyDirting.remove();
 		}
 
 		logger.info("Finished fast dependency dirting");
-
-		dependencyDirting.remove();
 	}
 
 	/**
-	 * Cancel fast dependency dirting by just disposing the prepared map
+	 * Cancel fast dependency dirting by just disposing the prepared batch
 	 */
 	public static void cancelFastDependencyDirting() {
 		if (dependencyDirting.get() != null) {
@@ -225,15 +135,15 @@ public class PublishQueue {
 	 * @param channelId channel id
 	 * @param attributes dirted attributes (may be empty)
 	 * @return true if object was prepared for fast dependency dirting, false if not
+	 * @throws NodeException
 	 */
-	protected static boolean doFastDependencyDirting(int objectType, int objId, int channelId, Set<String> attributes) {
-		Map<Integer, Map<Integer, Map<Integer, Set<String>>>> dirtMap = dependencyDirting.get();
-		if (dirtMap == null) {
+	protected static boolean doFastDependencyDirting(int objectType, int objId, int channelId, String... attributes) throws NodeException {
+		PublishQueueBatch batch = dependencyDirting.get();
+		if (batch == null) {
 			return false;
 		}
 
-		dirtMap.computeIfAbsent(channelId, key -> new HashMap<>()).computeIfAbsent(objectType, key -> new HashMap<>())
-				.computeIfAbsent(objId, key -> new HashSet<>()).addAll(attributes);
+		batch.add(objectType, objId, Action.DEPENDENCY, channelId, attributes);
 
 		return true;
 	}
@@ -1060,6 +970,9 @@ public class PublishQueue {
 		// get the nodes
 		Collection<Node> nodes = getNodes(nodeId);
 
+		// objects in channels are collected and written in batches
+		PublishQueueBatch batch = new PublishQueueBatch(false);
+
 		for (Node node : nodes) {
 			int channelId = ObjectTransformer.getInt(node.getId(), 0);
 
@@ -1081,7 +994,7 @@ public class PublishQueue {
 								continue;
 							}
 						}
-						dirtObject(Page.TYPE_PAGE, ObjectTransformer.getInt(page.getId(), 0), dirtAction, channelId, false, attributes);
+						batch.add(Page.TYPE_PAGE, ObjectTransformer.getInt(page.getId(), 0), dirtAction, channelId, attributes);
 					}
 				} finally {
 					t.resetChannel();
@@ -1140,14 +1053,14 @@ public class PublishQueue {
 						}
 					});
 
-					for (Integer id : ids) {
-						setAttributes(id, false, attributes);
-					}
+					setAttributes(ids, attributes);
 				} else {
 					DBUtils.executeUpdate(sql.toString(), (Object[]) params.toArray(new Object[params.size()]));
 				}
 			}
 		}
+
+		batch.flush();
 	}
 
 	/**
@@ -1300,6 +1213,9 @@ public class PublishQueue {
 		// get the nodes
 		Collection<Node> nodes = getNodes(nodeId);
 
+		// objects in channels are collected and written in batches
+		PublishQueueBatch batch = new PublishQueueBatch(false);
+
 		for (Node node : nodes) {
 			int channelId = ObjectTransformer.getInt(node.getId(), 0);
 
@@ -1319,7 +1235,7 @@ public class PublishQueue {
 							}
 						}
 
-						dirtObject(File.TYPE_FILE, ObjectTransformer.getInt(file.getId(), 0), dirtAction, channelId, false, attributes);
+						batch.add(File.TYPE_FILE, ObjectTransformer.getInt(file.getId(), 0), dirtAction, channelId, attributes);
 					}
 				} finally {
 					t.resetChannel();
@@ -1364,14 +1280,14 @@ public class PublishQueue {
 						}
 					});
 
-					for (Integer id : ids) {
-						setAttributes(id, false, attributes);
-					}
+					setAttributes(ids, attributes);
 				} else {
 					DBUtils.executeUpdate(sql.toString(), (Object[]) params.toArray(new Object[params.size()]));
 				}
 			}
 		}
+
+		batch.flush();
 	}
 
 	/**
@@ -1392,13 +1308,16 @@ public class PublishQueue {
 		// get the nodes
 		Collection<Node> nodes = getNodes(nodeId);
 
+		// objects in channels are collected and written in batches
+		PublishQueueBatch batch = new PublishQueueBatch(false);
+
 		for (Node node : nodes) {
 			final int channelId = ObjectTransformer.getInt(node.getId(), 0);
 
 			if (node.isChannel()) {
 				t.setChannelId(node.getId());
 				try {
-					recursiveDirtFolder(node.getFolder(), channelId, filterCreationDate, rangeStart, rangeEnd, dirtAction, attributes);
+					recursiveDirtFolder(batch, node.getFolder(), channelId, filterCreationDate, rangeStart, rangeEnd, dirtAction, attributes);
 				} finally {
 					t.resetChannel();
 				}
@@ -1442,14 +1361,14 @@ public class PublishQueue {
 						}
 					});
 
-					for (Integer id : ids) {
-						setAttributes(id, false, attributes);
-					}
+					setAttributes(ids, attributes);
 				} else {
 					DBUtils.executeUpdate(sql.toString(), (Object[]) params.toArray(new Object[params.size()]));
 				}
 			}
 		}
+
+		batch.flush();
 	}
 
 	/**
@@ -1764,6 +1683,7 @@ public class PublishQueue {
 
 	/**
 	 * Recursively dirt the folder in the given channel
+	 * @param batch batch collecting the dirted folders
 	 * @param folder folder
 	 * @param channelId channel
 	 * @param filterCreationDate true if folders shall be filtered by creation date
@@ -1773,20 +1693,20 @@ public class PublishQueue {
 	 * @param attributes optional list of attributes
 	 * @throws NodeException
 	 */
-	protected static void recursiveDirtFolder(Folder folder, int channelId, boolean filterCreationDate, int rangeStart, int rangeEnd, Action dirtAction,
-			String... attributes) throws NodeException {
+	protected static void recursiveDirtFolder(PublishQueueBatch batch, Folder folder, int channelId, boolean filterCreationDate, int rangeStart,
+			int rangeEnd, Action dirtAction, String... attributes) throws NodeException {
 		if (filterCreationDate) {
 			// range restriction
 			int cdate = folder.getCDate().getIntTimestamp();
 
 			if (rangeStart <= cdate && cdate <= rangeEnd) {
-				dirtObject(Folder.TYPE_FOLDER, ObjectTransformer.getInt(folder.getId(), 0), dirtAction, channelId, false, attributes);
+				batch.add(Folder.TYPE_FOLDER, ObjectTransformer.getInt(folder.getId(), 0), dirtAction, channelId, attributes);
 			}
 		} else {
-			dirtObject(Folder.TYPE_FOLDER, ObjectTransformer.getInt(folder.getId(), 0), dirtAction, channelId, false, attributes);
+			batch.add(Folder.TYPE_FOLDER, ObjectTransformer.getInt(folder.getId(), 0), dirtAction, channelId, attributes);
 		}
 		for (Folder child : folder.getChildFolders()) {
-			recursiveDirtFolder(child, channelId, filterCreationDate, rangeStart, rangeEnd, dirtAction, attributes);
+			recursiveDirtFolder(batch, child, channelId, filterCreationDate, rangeStart, rangeEnd, dirtAction, attributes);
 		}
 	}
 
@@ -1836,7 +1756,7 @@ public class PublishQueue {
 			throw new NodeException("Cannot dirt object without action");
 		}
 
-		if (checkExisting && action == Action.DEPENDENCY && doFastDependencyDirting(objType, objId, channelId, new HashSet<>(Arrays.asList(attributes)))) {
+		if (checkExisting && action == Action.DEPENDENCY && doFastDependencyDirting(objType, objId, channelId, attributes)) {
 			return null;
 		}
 
@@ -2004,6 +1924,29 @@ public class PublishQueue {
 		setAttributes(entryId, checkExisting, Arrays.asList(attributes));
 	}
 
+	/**
+	 * If the Feature {@link Feature#ATTRIBUTE_DIRTING} is set, add the optional list of attributes to all given (new) publishqueue entries.
+	 * The attributes are stored with JDBC batches.
+	 * @param entryIds publishqueue entry IDs
+	 * @param attributes optional list of attributes to add
+	 * @throws NodeException
+	 */
+	protected static void setAttributes(Collection<Integer> entryIds, String...attributes) throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransaction();
+
+		if (!t.getNodeConfig().getDefaultPreferences().isFeature(Feature.ATTRIBUTE_DIRTING) || ObjectTransformer.isEmpty(attributes)) {
+			return;
+		}
+
+		List<Object[]> argsList = new ArrayList<>(entryIds.size() * attributes.length);
+		for (Integer entryId : entryIds) {
+			for (String attribute : attributes) {
+				argsList.add(new Object[] {entryId, attribute});
+			}
+		}
+		PublishQueueBatch.insertAttributes(argsList);
+	}
+
 	/**
 	 * Get the action when the event mask for {@link #getAction} contains {@link Events#EVENT_CN_PAGESTATUS}.
 	 *
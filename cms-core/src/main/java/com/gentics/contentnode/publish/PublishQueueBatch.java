@@ -0,0 +1,369 @@
+package com.gentics.contentnode.publish;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.db.DBUtils;
+import com.gentics.contentnode.etc.Feature;
+import com.gentics.contentnode.events.DependencyManager;
+import com.gentics.contentnode.events.DependencyManager.DirtCounter;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.publish.PublishQueue.Action;
+import com.gentics.lib.db.SQLExecutor;
+
+/**
+ * Batch for dirting objects in the publishqueue.
+ * Dirted objects are collected in memory (duplicates are merged) and written with a few set-based statements, when the batch is flushed:
+ * <ol>
+ * <li>When existing entries shall be reused, they are selected with mass statements, undelayed and get the new attributes</li>
+ * <li>New entries are inserted with JDBC batches</li>
+ * <li>The attributes of the new entries are inserted with JDBC batches</li>
+ * </ol>
+ * Objects, which are dirted with actions that remove other publishqueue entries (e.g. {@link Action#DELETE}), are not collected,
+ * but dirted immediately with {@link PublishQueue#dirtObject(int, int, Action, int, boolean, String...)}.
+ */
+public class PublishQueueBatch {
+	/**
+	 * Maximum number of rows written with a single JDBC batch
+	 */
+	public final static int MAX_BATCH_ROWS = 1000;
+
+	/**
+	 * Actions, which remove other publishqueue entries. Objects dirted with these actions are not collected.
+	 */
+	protected final static Set<Action> IMMEDIATE_ACTIONS = EnumSet.of(Action.CREATE, Action.DELETE, Action.OFFLINE, Action.MOVE, Action.REMOVE,
+			Action.HIDE, Action.UNHIDE);
+
+	/**
+	 * Flag to mark, whether existing entries shall be reused
+	 */
+	protected final boolean checkExisting;
+
+	/**
+	 * Collected objects per group. The attribute sets are null, if the objects are dirted as a whole.
+	 */
+	protected final Map<Group, Map<Integer, Set<String>>> groups = new LinkedHashMap<>();
+
+	/**
+	 * Create an empty batch
+	 * @param checkExisting true to reuse existing publishqueue entries (for the same object, action and channel), false to always create new entries
+	 */
+	public PublishQueueBatch(boolean checkExisting) {
+		this.checkExisting = checkExisting;
+	}
+
+	/**
+	 * Dirt the object
+	 * @param objType object type
+	 * @param objId object id
+	 * @param action dirting action
+	 * @param channelId channel id
+	 * @param attributes optional list of attributes
+	 * @throws NodeException
+	 */
+	public void add(int objType, int objId, Action action, int channelId, String... attributes) throws NodeException {
+		add(objType, objId, action, channelId, attributes != null ? Arrays.asList(attributes) : null);
+	}
+
+	/**
+	 * Dirt the object
+	 * @param objType object type
+	 * @param objId object id
+	 * @param action dirting action
+	 * @param channelId channel id
+	 * @param attributes optional collection of attributes (null or empty to dirt the object as a whole)
+	 * @throws NodeException
+	 */
+	public void add(int objType, int objId, Action action, int channelId, Iterable<String> attributes) throws NodeException {
+		if (action == null) {
+			throw new NodeException("Cannot dirt object without action");
+		}
+		if (IMMEDIATE_ACTIONS.contains(action)) {
+			List<String> attrs = new ArrayList<>();
+			if (attributes != null) {
+				attributes.forEach(attrs::add);
+			}
+			PublishQueue.dirtObject(objType, objId, action, channelId, checkExisting, attrs.toArray(new String[attrs.size()]));
+			return;
+		}
+
+		Map<Integer, Set<String>> objects = groups.computeIfAbsent(new Group(objType, action, channelId), key -> new LinkedHashMap<>());
+		boolean whole = attributes == null || !attributes.iterator().hasNext();
+		if (!objects.containsKey(objId)) {
+			Set<String> attrs = null;
+			if (!whole) {
+				attrs = new HashSet<>();
+				attributes.forEach(attrs::add);
+			}
+			objects.put(objId, attrs);
+		} else {
+			Set<String> attrs = objects.get(objId);
+			// dirting the object as a whole wins over dirting single attributes
+			if (attrs != null) {
+				if (whole) {
+					objects.put(objId, null);
+				} else {
+					attributes.forEach(attrs::add);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check whether the batch is empty
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return groups.isEmpty();
+	}
+
+	/**
+	 * Get the number of collected objects
+	 * @return number of collected objects
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<Integer, Set<String>> objects : groups.values()) {
+			size += objects.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Write all collected objects into the publishqueue and clear the batch
+	 * @throws NodeException
+	 */
+	public void flush() throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransaction();
+		boolean attributeDirting = t.getNodeConfig().getDefaultPreferences().isFeature(Feature.ATTRIBUTE_DIRTING);
+
+		for (Map.Entry<Group, Map<Integer, Set<String>>> groupEntry : groups.entrySet()) {
+			Group group = groupEntry.getKey();
+			Map<Integer, Set<String>> objects = groupEntry.getValue();
+
+			if (checkExisting) {
+				updateExisting(group, objects, attributeDirting);
+			}
+			if (!objects.isEmpty()) {
+				insert(group, objects, attributeDirting);
+			}
+		}
+
+		groups.clear();
+	}
+
+	/**
+	 * Update existing entries for the objects of the given group and remove the objects from the map
+	 * @param group group
+	 * @param objects map of object IDs to attributes (will be modified)
+	 * @param attributeDirting true if attribute dirting is activated
+	 * @throws NodeException
+	 */
+	protected void updateExisting(Group group, Map<Integer, Set<String>> objects, boolean attributeDirting) throws NodeException {
+		// get existing entries (entry id per object id)
+		Map<Integer, Integer> existing = new HashMap<>();
+		Set<Integer> undelayIds = new HashSet<>();
+		DBUtils.executeMassStatement("SELECT id, obj_id, delay FROM publishqueue WHERE obj_type = ? AND action = ? AND channel_id = ? AND obj_id IN",
+				new ArrayList<>(objects.keySet()), 4, new SQLExecutor() {
+					@Override
+					public void prepareStatement(PreparedStatement stmt) throws SQLException {
+						stmt.setInt(1, group.objType); // obj_type = ?
+						stmt.setString(2, group.action.toString()); // action = ?
+						stmt.setInt(3, group.channelId); // channel_id = ?
+					}
+
+					@Override
+					public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+						while (rs.next()) {
+							int objId = rs.getInt("obj_id");
+							existing.putIfAbsent(objId, rs.getInt("id"));
+							if (rs.getBoolean("delay")) {
+								undelayIds.add(objId);
+							}
+						}
+					}
+				});
+
+		if (existing.isEmpty()) {
+			return;
+		}
+
+		if (!undelayIds.isEmpty()) {
+			DBUtils.executeMassStatement("UPDATE publishqueue SET delay = ? WHERE obj_type = ? AND channel_id = ? AND obj_id IN", null,
+					new ArrayList<>(undelayIds), 4, new SQLExecutor() {
+						@Override
+						public void prepareStatement(PreparedStatement stmt) throws SQLException {
+							stmt.setInt(1, 0); // delay = ?
+							stmt.setInt(2, group.objType); // obj_type = ?
+							stmt.setInt(3, group.channelId); // channel_id = ?
+						}
+					}, Transaction.UPDATE_STATEMENT);
+		}
+
+		if (attributeDirting) {
+			// get the existing attributes. Entries without attributes are dirted as a whole and will not be changed
+			Map<Integer, Set<String>> existingAttributes = new HashMap<>();
+			DBUtils.executeMassStatement("SELECT publishqueue_id, name FROM publishqueue_attribute WHERE publishqueue_id IN",
+					new ArrayList<>(existing.values()), 1, new SQLExecutor() {
+						@Override
+						public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+							while (rs.next()) {
+								existingAttributes.computeIfAbsent(rs.getInt("publishqueue_id"), key -> new HashSet<>()).add(rs.getString("name"));
+							}
+						}
+					});
+
+			List<Integer> clearIds = new ArrayList<>();
+			List<Object[]> argsList = new ArrayList<>();
+			for (Map.Entry<Integer, Integer> entry : existing.entrySet()) {
+				int entryId = entry.getValue();
+				Set<String> stored = existingAttributes.get(entryId);
+				if (stored == null) {
+					continue;
+				}
+				Set<String> attributes = objects.get(entry.getKey());
+				if (attributes == null) {
+					clearIds.add(entryId);
+				} else {
+					for (String attribute : attributes) {
+						if (!stored.contains(attribute)) {
+							argsList.add(new Object[] { entryId, attribute });
+						}
+					}
+				}
+			}
+
+			if (!clearIds.isEmpty()) {
+				DBUtils.executeMassStatement("DELETE FROM publishqueue_attribute WHERE publishqueue_id IN", null, clearIds, 1, null,
+						Transaction.DELETE_STATEMENT);
+			}
+			insertAttributes(argsList);
+		}
+
+		objects.keySet().removeAll(existing.keySet());
+	}
+
+	/**
+	 * Insert new entries for the objects of the given group
+	 * @param group group
+	 * @param objects map of object IDs to attributes
+	 * @param attributeDirting true if attribute dirting is activated
+	 * @throws NodeException
+	 */
+	protected void insert(Group group, Map<Integer, Set<String>> objects, boolean attributeDirting) throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransaction();
+		DirtCounter counter = DependencyManager.getDirtCounter();
+		int timestamp = t.getUnixTimestamp();
+
+		List<Integer> objIds = new ArrayList<>(objects.keySet());
+		for (int start = 0; start < objIds.size(); start += MAX_BATCH_ROWS) {
+			List<Integer> chunk = objIds.subList(start, Math.min(start + MAX_BATCH_ROWS, objIds.size()));
+			List<Object[]> argsList = new ArrayList<>(chunk.size());
+			for (Integer objId : chunk) {
+				argsList.add(new Object[] { group.objType, objId, group.action.toString(), group.channelId, timestamp });
+			}
+
+			List<Integer> entryIds = new ArrayList<>(chunk.size());
+			DBUtils.executeBatchStatement("INSERT INTO publishqueue (obj_type, obj_id, action, channel_id, timestamp) VALUES (?, ?, ?, ?, ?)",
+					Transaction.INSERT_STATEMENT, argsList, s -> {
+						ResultSet keys = s.getGeneratedKeys();
+						while (keys.next()) {
+							entryIds.add(keys.getInt(1));
+						}
+					});
+			if (entryIds.size() != chunk.size()) {
+				throw new NodeException("Error while dirting objects: expected " + chunk.size() + " entries, but inserted " + entryIds.size() + " instead");
+			}
+
+			if (counter != null) {
+				for (int i = 0; i < chunk.size(); i++) {
+					counter.inc();
+				}
+			}
+
+			if (attributeDirting) {
+				List<Object[]> attributeArgs = new ArrayList<>();
+				for (int i = 0; i < chunk.size(); i++) {
+					Set<String> attributes = objects.get(chunk.get(i));
+					if (attributes != null) {
+						for (String attribute : attributes) {
+							attributeArgs.add(new Object[] { entryIds.get(i), attribute });
+						}
+					}
+				}
+				insertAttributes(attributeArgs);
+			}
+		}
+	}
+
+	/**
+	 * Insert the given attributes
+	 * @param argsList list of arguments (entry ID and attribute name)
+	 * @throws NodeException
+	 */
+	protected static void insertAttributes(List<Object[]> argsList) throws NodeException {
+		for (int start = 0; start < argsList.size(); start += MAX_BATCH_ROWS) {
+			DBUtils.executeBatchInsert("INSERT INTO publishqueue_attribute (publishqueue_id, name) VALUES (?, ?)",
+					argsList.subList(start, Math.min(start + MAX_BATCH_ROWS, argsList.size())));
+		}
+	}
+
+	/**
+	 * Group of objects with the same type, action and channel
+	 */
+	protected static class Group {
+		/**
+		 * Object type
+		 */
+		protected final int objType;
+
+		/**
+		 * Action
+		 */
+		protected final Action action;
+
+		/**
+		 * Channel ID
+		 */
+		protected final int channelId;
+
+		/**
+		 * Create an instance
+		 * @param objType object type
+		 * @param action action
+		 * @param channelId channel ID
+		 */
+		protected Group(int objType, Action action, int channelId) {
+			this.objType = objType;
+			this.action = action;
+			this.channelId = channelId;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(objType, action, channelId);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Group) {
+				Group other = (Group) obj;
+				return objType == other.objType && action == other.action && channelId == other.channelId;
+			}
+			return false;
+		}
+	}
+}
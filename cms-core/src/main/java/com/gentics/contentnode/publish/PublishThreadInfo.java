@@ -26,6 +26,12 @@ public class PublishThreadInfo implements Serializable {
     
 	private long timeWaitingDB = 0;
     
+	private long timeWaitingDistributor = 0;
+    
+	private long distributorContentions = 0;
+    
+	private long pagesStolen = 0;
+    
 	private String threadName;
     
 	private int state = STATE_NOT_INITIALIZED;
@@ -54,6 +60,28 @@ public class PublishThreadInfo implements Serializable {
 		timeWaitingDB += time;
 	}
 
+	/**
+	 * Increase the time spent waiting for the page distributor
+	 * @param time time in ms
+	 */
+	public void increaseTimeWaitingDistributor(long time) {
+		timeWaitingDistributor += time;
+	}
+
+	/**
+	 * Increase the number of contended accesses to the page distributor by one
+	 */
+	public void increaseDistributorContentions() {
+		distributorContentions++;
+	}
+
+	/**
+	 * Increase the number of pages, which were stolen from other workers, by one
+	 */
+	public void increasePagesStolen() {
+		pagesStolen++;
+	}
+
 	/**
 	 * @return the timePublish
 	 */
@@ -74,6 +102,27 @@ public class PublishThreadInfo implements Serializable {
 	public long getTimeWaitingDB() {
 		return timeWaitingDB;
 	}
+
+	/**
+	 * @return the timeWaitingDistributor
+	 */
+	public long getTimeWaitingDistributor() {
+		return timeWaitingDistributor;
+	}
+
+	/**
+	 * @return the distributorContentions
+	 */
+	public long getDistributorContentions() {
+		return distributorContentions;
+	}
+
+	/**
+	 * @return the pagesStolen
+	 */
+	public long getPagesStolen() {
+		return pagesStolen;
+	}
     
 	public String toString() {
 		StringBuffer sb = new StringBuffer();
@@ -81,7 +130,9 @@ public class PublishThreadInfo implements Serializable {
 		sb.append("Statistics for thread {" + threadName + "} - ");
 		sb.append("worked: " + timePublish + "ms; ");
 		sb.append("waited because of high load: " + timeWaitingLoad + "ms; ");
-		sb.append("waited for database: " + timeWaitingDB + "ms");
+		sb.append("waited for database: " + timeWaitingDB + "ms; ");
+		sb.append("waited for page distributor: " + timeWaitingDistributor + "ms (" + distributorContentions + " contentions); ");
+		sb.append("stolen pages: " + pagesStolen);
 		return sb.toString();
 	}
 
@@ -0,0 +1,356 @@
+package com.gentics.contentnode.publish;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.lang3.mutable.MutableBoolean;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.etc.NodeConfig;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.factory.TransactionStatistics.Item;
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.publish.PublishQueue.NodeObjectWithAttributes;
+import com.gentics.contentnode.render.RenderResult;
+
+/**
+ * Implementation of {@link PageDistributor}, which does not serialize the publish workers on a common lock.
+ * The pages are split into one partition per worker. Every worker takes pages from the head of its own partition and
+ * steals from the tail of the fullest other partition, when its own partition is exhausted.
+ * The dependencies of the pages are prepared by a background thread, which runs ahead of the partition heads.
+ */
+public class WorkStealingPageDistributor extends PageDistributor {
+	/**
+	 * Name of the configuration parameter to specify the number of pages per partition, for which the dependencies shall be prepared in advance
+	 */
+	public final static String PREFETCH_WINDOW_CONFIG_KEY = "multithreaded_publishing.prefetchwindow";
+
+	/**
+	 * Time (in ms) the prefetcher waits, when there is nothing to prepare
+	 */
+	protected final static long PREFETCH_IDLE_WAIT_MS = 10;
+
+	/**
+	 * Thread Factory for the prefetcher threads
+	 */
+	protected static ThreadFactory threadFactory = new PrefixedThreadFactory("page-prefetcher");
+
+	/**
+	 * List of pages
+	 */
+	protected AbstractPageList pageList;
+
+	/**
+	 * Partitions of the page list
+	 */
+	protected Partition[] partitions;
+
+	/**
+	 * Counter for assigning partitions to the workers
+	 */
+	protected AtomicInteger ownerCounter = new AtomicInteger();
+
+	/**
+	 * Partition owned by the current worker
+	 */
+	protected ThreadLocal<Partition> ownPartition = ThreadLocal.withInitial(() -> partitions[ownerCounter.getAndIncrement() % partitions.length]);
+
+	/**
+	 * Number of pages per partition, which shall be prepared in advance
+	 */
+	protected int prefetchWindow;
+
+	/**
+	 * Number of pages, which are prepared in one step
+	 */
+	protected int prepareCount;
+
+	/**
+	 * Flag to mark whether all workers are finished
+	 */
+	protected volatile boolean finished = false;
+
+	/**
+	 * Prefetcher thread
+	 */
+	protected Thread prefetcher;
+
+	/**
+	 * Create an instance
+	 * @param nodeId node ID
+	 * @param pageList list of pages to distribute
+	 * @param threadLimit number of publish workers
+	 * @param loadMonitor load monitor (may be null)
+	 * @param publishInfo publish info
+	 * @param config configuration
+	 * @param pagePublisher page publisher
+	 * @param cnMapPublisher contentmap publisher
+	 * @param renderResult render result (may be null)
+	 * @throws NodeException
+	 */
+	public WorkStealingPageDistributor(int nodeId, AbstractPageList pageList, int threadLimit, WorkLoadMonitor loadMonitor, SimplePublishInfo publishInfo,
+			NodeConfig config, PagePublisher pagePublisher, CnMapPublisher cnMapPublisher, RenderResult renderResult) throws NodeException {
+		super(nodeId, pageList, loadMonitor, publishInfo, config, pagePublisher, cnMapPublisher, renderResult);
+		this.pageList = pageList;
+
+		prepareCount = Math.max(1, pageList.getPrepareDepsCount());
+		prefetchWindow = prepareCount;
+		if (config != null) {
+			prefetchWindow = ObjectTransformer.getInt(config.getDefaultPreferences().getProperty(PREFETCH_WINDOW_CONFIG_KEY), prefetchWindow);
+		}
+
+		int total = pageList.getTotalSize();
+		int numPartitions = Math.max(1, Math.min(threadLimit, total));
+		partitions = new Partition[numPartitions];
+		for (int i = 0; i < numPartitions; i++) {
+			partitions[i] = new Partition((int) ((long) i * total / numPartitions), (int) ((long) (i + 1) * total / numPartitions));
+		}
+
+		if (total > 0 && prefetchWindow > 0) {
+			Transaction transaction = TransactionManager.getCurrentTransaction();
+			prefetcher = threadFactory.newThread(() -> prefetch(transaction));
+			prefetcher.setDaemon(true);
+			prefetcher.start();
+		}
+	}
+
+	@Override
+	protected NodeObjectWithAttributes<Page> takePage() {
+		if (!checkLoad()) {
+			return null;
+		}
+
+		long startWait = System.nanoTime();
+		MutableBoolean contended = new MutableBoolean(false);
+		Partition source = ownPartition.get();
+		int index = source.pollHead(contended);
+		boolean stolen = false;
+
+		while (index < 0) {
+			source = findVictim();
+			if (source == null) {
+				break;
+			}
+			index = source.pollTail(contended);
+			stolen = index >= 0;
+		}
+		distributionWaited(contended.booleanValue(), System.nanoTime() - startWait);
+
+		if (index < 0 || stop) {
+			updatePublishThreadInfos();
+			return null;
+		}
+
+		if (stolen) {
+			MBeanRegistry.getPublisherInfo().pageStolen();
+			PublishThreadInfo threadInfo = getPublishThreadInfo();
+			if (threadInfo != null) {
+				threadInfo.increasePagesStolen();
+			}
+		}
+
+		if (index >= source.preparedUpTo) {
+			MBeanRegistry.getPublisherInfo().pageUnprepared();
+		}
+		if (prefetcher != null && source.preparedUpTo - index <= prefetchWindow / 2) {
+			LockSupport.unpark(prefetcher);
+		}
+
+		try {
+			if (stats != null) {
+				stats.get(Item.GET_NEXT_PAGE).start();
+			}
+			return pageList.getPageAt(index);
+		} catch (NodeException e) {
+			stop(e);
+			return null;
+		} finally {
+			if (stats != null) {
+				stats.get(Item.GET_NEXT_PAGE).stop();
+			}
+		}
+	}
+
+	@Override
+	public void finish() {
+		finished = true;
+		if (prefetcher != null) {
+			LockSupport.unpark(prefetcher);
+			try {
+				prefetcher.join(TimeUnit.SECONDS.toMillis(10));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		super.finish();
+	}
+
+	/**
+	 * Find the partition with the most remaining pages
+	 * @return partition or null if all partitions are empty
+	 */
+	protected Partition findVictim() {
+		Partition victim = null;
+		int maxRemaining = 0;
+		for (Partition partition : partitions) {
+			int remaining = partition.remaining();
+			if (remaining > maxRemaining) {
+				maxRemaining = remaining;
+				victim = partition;
+			}
+		}
+		return victim;
+	}
+
+	/**
+	 * Prepare the dependencies and prefetch the next pages of all partitions, until all pages are prepared or the distributor is finished
+	 * @param transaction publish transaction
+	 */
+	protected void prefetch(Transaction transaction) {
+		TransactionManager.setCurrentTransaction(transaction);
+		try {
+			while (!stop && !finished) {
+				boolean pending = false;
+				boolean worked = false;
+				for (Partition partition : partitions) {
+					long range = partition.range.get();
+					int head = Partition.head(range);
+					int tail = Partition.tail(range);
+					int from = Math.max(partition.preparedUpTo, head);
+					if (from >= tail) {
+						continue;
+					}
+					pending = true;
+					if (from - head < prefetchWindow) {
+						int to = Math.min(from + prepareCount, tail);
+						pageList.prepareDependencies(from, to);
+						pageList.prefetchPages(from, to);
+						partition.preparedUpTo = to;
+						worked = true;
+					}
+				}
+
+				if (!pending) {
+					break;
+				}
+				if (!worked) {
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(PREFETCH_IDLE_WAIT_MS));
+				}
+			}
+		} catch (NodeException e) {
+			logger.warn("Error while preparing dependencies, continuing without prefetching", e);
+		} finally {
+			TransactionManager.setCurrentTransaction(null);
+		}
+	}
+
+	/**
+	 * Partition of the page list. The remaining range of page indices is stored as pair of head (upper 32 bits) and tail (lower 32 bits) in a single {@link AtomicLong},
+	 * so that the owner can take from the head and other workers can steal from the tail without locking.
+	 */
+	protected static class Partition {
+		/**
+		 * Remaining range
+		 */
+		protected final AtomicLong range;
+
+		/**
+		 * Index (exclusive), up to which the dependencies have been prepared
+		 */
+		protected volatile int preparedUpTo;
+
+		/**
+		 * Create a partition for the given range
+		 * @param start start index (inclusive)
+		 * @param end end index (exclusive)
+		 */
+		protected Partition(int start, int end) {
+			range = new AtomicLong(pack(start, end));
+			preparedUpTo = start;
+		}
+
+		/**
+		 * Take the index from the head of the partition
+		 * @param contended will be set to true, if another thread modified the partition concurrently
+		 * @return index or -1 if the partition is empty
+		 */
+		protected int pollHead(MutableBoolean contended) {
+			while (true) {
+				long current = range.get();
+				int head = head(current);
+				int tail = tail(current);
+				if (head >= tail) {
+					return -1;
+				}
+				if (range.compareAndSet(current, pack(head + 1, tail))) {
+					return head;
+				}
+				contended.setTrue();
+			}
+		}
+
+		/**
+		 * Take the index from the tail of the partition
+		 * @param contended will be set to true, if another thread modified the partition concurrently
+		 * @return index or -1 if the partition is empty
+		 */
+		protected int pollTail(MutableBoolean contended) {
+			while (true) {
+				long current = range.get();
+				int head = head(current);
+				int tail = tail(current);
+				if (head >= tail) {
+					return -1;
+				}
+				if (range.compareAndSet(current, pack(head, tail - 1))) {
+					return tail - 1;
+				}
+				contended.setTrue();
+			}
+		}
+
+		/**
+		 * Get the number of remaining pages
+		 * @return number of remaining pages
+		 */
+		protected int remaining() {
+			long current = range.get();
+			return Math.max(0, tail(current) - head(current));
+		}
+
+		/**
+		 * Pack head and tail into a long
+		 * @param head head
+		 * @param tail tail
+		 * @return packed value
+		 */
+		protected static long pack(int head, int tail) {
+			return ((long) head << 32) | (tail & 0xFFFFFFFFL);
+		}
+
+		/**
+		 * Get the head from the packed value
+		 * @param range packed value
+		 * @return head
+		 */
+		protected static int head(long range) {
+			return (int) (range >>> 32);
+		}
+
+		/**
+		 * Get the tail from the packed value
+		 * @param range packed value
+		 * @return tail
+		 */
+		protected static int tail(long range) {
+			return (int) range;
+		}
+	}
+}
@@ -132,7 +132,7 @@ public interface TagmapEntryRenderer {
 				transformedValue = value;
 			} else {
 				Tag tag = (Tag) value;
-				StringBuffer source = new StringBuffer();
+				StringBuilder source = new StringBuilder();
 				// use the ParseStructRenderer to render that tag, because this will correctly render that tag in edit mode (if required)
 				ParseStructRenderer.renderClosedTag(tag, source, new ArrayList<>(), new ArrayList<>(), renderResult);
 
@@ -2,7 +2,9 @@ package com.gentics.contentnode.publish.mesh;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
@@ -12,6 +14,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.management.NotCompliantMBeanException;
 import javax.management.StandardMBean;
@@ -658,6 +661,44 @@ public class MeshPublishController extends StandardMBean implements AutoCloseabl
 		return state.name();
 	}
 
+	@Override
+	public Map<String, Integer> getRemovalRequestsInFlight() {
+		return getRemovalStats(MeshRequestStats::getInFlight);
+	}
+
+	@Override
+	public Map<String, Long> getRemovalRequests() {
+		return getRemovalStats(MeshRequestStats::getFinished);
+	}
+
+	@Override
+	public Map<String, Long> getFailedRemovalRequests() {
+		return getRemovalStats(MeshRequestStats::getFailed);
+	}
+
+	@Override
+	public Map<String, Long> getRemovalRequestsAverageLatency() {
+		return getRemovalStats(MeshRequestStats::getAverageLatency);
+	}
+
+	@Override
+	public Map<String, Long> getRemovalRequestsMaxLatency() {
+		return getRemovalStats(MeshRequestStats::getMaxLatency);
+	}
+
+	/**
+	 * Get a value of the removal request statistics for all publishers
+	 * @param extractor value extractor
+	 * @return map of CR names to values
+	 */
+	protected <T> Map<String, T> getRemovalStats(Function<MeshRequestStats, T> extractor) {
+		Map<String, T> stats = new TreeMap<>();
+		for (MeshPublisher mp : publishers) {
+			stats.put(mp.getCr().getName(), extractor.apply(mp.getRemovalStats()));
+		}
+		return stats;
+	}
+
 	/**
 	 * Check whether the controller is still busy (either render or write tasks still open)
 	 * @return true for busy
@@ -1,5 +1,7 @@
 package com.gentics.contentnode.publish.mesh;
 
+import java.util.Map;
+
 /**
  * Management Bean interface for MeshPublisher information
  */
@@ -45,4 +47,34 @@ public interface MeshPublishControllerInfoMBean {
 	 * @return state
 	 */
 	String getState();
+
+	/**
+	 * Get the number of removal requests (removing objects or taking objects offline) currently in flight per CR
+	 * @return map of CR names to numbers of requests in flight
+	 */
+	Map<String, Integer> getRemovalRequestsInFlight();
+
+	/**
+	 * Get the number of finished removal requests per CR
+	 * @return map of CR names to numbers of finished requests
+	 */
+	Map<String, Long> getRemovalRequests();
+
+	/**
+	 * Get the number of failed removal requests per CR
+	 * @return map of CR names to numbers of failed requests
+	 */
+	Map<String, Long> getFailedRemovalRequests();
+
+	/**
+	 * Get the average latency of removal requests in ms per CR
+	 * @return map of CR names to average latencies
+	 */
+	Map<String, Long> getRemovalRequestsAverageLatency();
+
+	/**
+	 * Get the maximum latency of removal requests in ms per CR
+	 * @return map of CR names to maximum latencies
+	 */
+	Map<String, Long> getRemovalRequestsMaxLatency();
 }
@@ -237,6 +237,7 @@ import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.SingleSource;
+import io.reactivex.exceptions.CompositeException;
 import io.reactivex.functions.BiPredicate;
 import io.reactivex.functions.Function;
 import io.reactivex.functions.Predicate;
@@ -335,6 +336,16 @@ public class MeshPublisher implements AutoCloseable {
 	 */
 	public final static int DEFAULT_GRAPHQL_PAGESIZE = 10000;
 
+	/**
+	 * Default maximum number of removal requests in flight
+	 */
+	public final static int DEFAULT_REMOVAL_CONCURRENCY = 8;
+
+	/**
+	 * Default number of objects, which are removed while holding the semaphore
+	 */
+	public final static int DEFAULT_REMOVAL_BATCHSIZE = 100;
+
 	/**
 	 * Number of retries, if requests to mesh fail with 404.
 	 * Currently, after creating a project in mesh (or renaming a project), the project routers are created asynchronously (even in non-cluster environments),
@@ -737,6 +748,21 @@ public class MeshPublisher implements AutoCloseable {
 	 */
 	protected AtomicInteger graphQlCounter = new AtomicInteger();
 
+	/**
+	 * Configured maximum number of removal requests in flight
+	 */
+	protected int removalConcurrency = DEFAULT_REMOVAL_CONCURRENCY;
+
+	/**
+	 * Configured number of objects, which are removed while holding the semaphore
+	 */
+	protected int removalBatchSize = DEFAULT_REMOVAL_BATCHSIZE;
+
+	/**
+	 * Statistics for requests to remove objects or take objects offline
+	 */
+	protected MeshRequestStats removalStats = new MeshRequestStats();
+
 	/**
 	 * Shutdown Mesh Publisher
 	 */
@@ -1282,6 +1308,8 @@ public class MeshPublisher implements AutoCloseable {
 			long connectTimeout = ObjectTransformer.getLong(prefs.getProperty("mesh.client.connectTimeout"), DEFAULT_TIMEOUT);
 			long writeTimeout = ObjectTransformer.getLong(prefs.getProperty("mesh.client.writeTimeout"), DEFAULT_TIMEOUT);
 			long readTimeout = ObjectTransformer.getLong(prefs.getProperty("mesh.client.readTimeout"), DEFAULT_TIMEOUT);
+			removalConcurrency = Math.max(1, ObjectTransformer.getInt(prefs.getProperty("mesh.client.removal.concurrency"), DEFAULT_REMOVAL_CONCURRENCY));
+			removalBatchSize = Math.max(1, ObjectTransformer.getInt(prefs.getProperty("mesh.client.removal.batchSize"), DEFAULT_REMOVAL_BATCHSIZE));
 
 			clientConfig = new MeshRestClientConfig.Builder().setHost(host).setPort(port).setSsl(ssl).build();
 			okHttpClient = OkHttpClientProvider.get(callTimeout, connectTimeout, writeTimeout, readTimeout, cr.isHttp2() ? ProtocolVersion.HTTP_2 : ProtocolVersion.HTTP_1_1);
@@ -2520,18 +2548,17 @@ public class MeshPublisher implements AutoCloseable {
 				}
 			}
 
+			List<ObjectToRemove> toRemove = new ArrayList<>();
 			for (Entry<String, Set<ObjectToDelete>> entry : toDelete.entrySet()) {
-				if (controller.publishProcess && (PublishController.getState() != PublishController.State.running)) {
-					logger.debug(String.format("Stop checking offline objects, because publisher state is %s", PublishController.getState()));
-					return false;
-				}
-
 				String meshUuid = entry.getKey();
 				Set<ObjectToDelete> toDeleteSet = entry.getValue();
 				for (ObjectToDelete o : toDeleteSet) {
-					remove(project, checkedNode, objectType, 0, meshUuid, o.language, o.additionalData, true);
+					toRemove.add(new ObjectToRemove(objectType, 0, meshUuid, o.language, o.additionalData));
 				}
 			}
+			if (!remove(project, getBranch(project, checkedNode), toRemove, true)) {
+				return false;
+			}
 		}
 
 		return true;
@@ -2545,9 +2572,81 @@ public class MeshPublisher implements AutoCloseable {
 	 */
 	public void remove(Node node, List<NodeObject> objectsToDelete) throws NodeException {
 		MeshProject project = getProject(node);
+		List<ObjectToRemove> toRemove = new ArrayList<>(objectsToDelete.size());
 		for (NodeObject nodeObject : objectsToDelete) {
-			remove(project, node, nodeObject.getTType(), nodeObject.getId(), getMeshUuid(nodeObject), getMeshLanguage(nodeObject));
+			toRemove.add(new ObjectToRemove(nodeObject.getTType(), nodeObject.getId(), getMeshUuid(nodeObject), getMeshLanguage(nodeObject), null));
+		}
+		remove(project, getBranch(project, node), toRemove, true);
+	}
+
+	/**
+	 * Remove the given objects from mesh.
+	 * The requests are pipelined with at most {@link #removalConcurrency} requests in flight. When the semaphore shall be acquired, this is done
+	 * for batches of {@link #removalBatchSize} objects, so that other transactions (e.g. instant publishing) can write between the batches.
+	 * Forms are removed via the service implementation (one by one, in the calling thread).
+	 * @param project mesh project
+	 * @param branch optional branch parameter
+	 * @param objects objects to remove
+	 * @param withSemaphore whether to acquire the semaphore
+	 * @return true if all objects were handled, false if removing was stopped, because the publish process is not running any more
+	 * @throws NodeException
+	 */
+	public boolean remove(MeshProject project, VersioningParameters branch, List<ObjectToRemove> objects, boolean withSemaphore) throws NodeException {
+		for (int start = 0; start < objects.size(); start += removalBatchSize) {
+			if (controller != null && controller.publishProcess && (PublishController.getState() != PublishController.State.running)) {
+				logger.debug(String.format("Stop removing objects, because publisher state is %s", PublishController.getState()));
+				return false;
+			}
+
+			List<ObjectToRemove> batch = objects.subList(start, Math.min(start + removalBatchSize, objects.size()));
+			if (withSemaphore) {
+				semaphoreMap.acquire(lockKey, callTimeout, TimeUnit.SECONDS);
+			}
+			try {
+				List<ObjectToRemove> removed = Collections.synchronizedList(new ArrayList<>(batch.size()));
+				List<ObjectToRemove> forms = new ArrayList<>();
+				List<ObjectToRemove> nodes = new ArrayList<>(batch.size());
+				for (ObjectToRemove o : batch) {
+					if (o.objectType() == Form.TYPE_FORM) {
+						forms.add(o);
+					} else {
+						nodes.add(o);
+					}
+				}
+
+				Throwable error = Flowable.fromIterable(nodes).flatMapCompletable(o -> {
+					return removeRequest(project, branch, o.objectType(), o.meshUuid(), o.meshLanguage(), o.additionalData())
+							.doOnComplete(() -> removed.add(o))
+							.onErrorResumeNext(t -> Completable.error(new NodeException(getRemoveErrorMessage(o.objectType(), o.meshUuid(), o.meshLanguage()), t)));
+				}, true, removalConcurrency).blockingGet();
+
+				for (ObjectToRemove o : forms) {
+					remove(project, branch, o.objectType(), o.objectId(), o.meshUuid(), o.meshLanguage(), o.additionalData(), false);
+				}
+
+				if (controller != null && controller.successHandler != null) {
+					for (ObjectToRemove o : removed) {
+						controller.successHandler.accept(Pair.of(o.objectType(), o.objectId()));
+					}
+				}
+
+				if (error instanceof CompositeException) {
+					List<Throwable> errors = ((CompositeException) error).getExceptions();
+					NodeException e = new NodeException(String.format("%d errors while removing objects from '%s'", errors.size(), cr.getName()), errors.get(0));
+					errors.stream().skip(1).forEach(e::addSuppressed);
+					throw e;
+				} else if (error instanceof NodeException) {
+					throw (NodeException) error;
+				} else if (error != null) {
+					throw new NodeException(String.format("Error while removing objects from '%s'", cr.getName()), error);
+				}
+			} finally {
+				if (withSemaphore) {
+					semaphoreMap.release(lockKey);
+				}
+			}
 		}
+		return true;
 	}
 
 	/**
@@ -2632,41 +2731,12 @@ public class MeshPublisher implements AutoCloseable {
 		}
 		try {
 			logger.debug(String.format("Start removing %d.%s", objectType, meshUuid));
-			if (objectType == Form.TYPE_FORM) {
-				// forms are removed via the service implementation
-				meshPublisherServiceLoader.callForFirstMatching(s -> s.handles(Form.class), s -> s.delete(this, project, meshUuid, additionalData));
-			} else if (meshLanguage != null) {
-				// delete the language version
-				if (branch != null) {
-					client.deleteNode(project.name, meshUuid, meshLanguage, new DeleteParametersImpl().setRecursive(true), branch).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				} else {
-					client.deleteNode(project.name, meshUuid, meshLanguage, new DeleteParametersImpl().setRecursive(true)).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				}
-			} else {
-				// delete the node
-				if (branch != null) {
-					client.deleteNode(project.name, meshUuid, new DeleteParametersImpl().setRecursive(true), branch).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				} else {
-					client.deleteNode(project.name, meshUuid, new DeleteParametersImpl().setRecursive(true)).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				}
-			}
+			removeRequest(project, branch, objectType, meshUuid, meshLanguage, additionalData).blockingAwait();
 			if (controller.successHandler != null) {
 				controller.successHandler.accept(Pair.of(objectType, objectId));
 			}
 		} catch (Throwable t) {
-			if (meshLanguage != null) {
-				throw new NodeException(String.format("Error while removing language %s of object of type %d with uuid %s", meshLanguage, objectType, meshUuid), t);
-			} else {
-				throw new NodeException(String.format("Error while removing object of type %d with uuid %s", objectType, meshUuid), t);
-			}
+			throw new NodeException(getRemoveErrorMessage(objectType, meshUuid, meshLanguage), t);
 		} finally {
 			logger.debug(String.format("Finished removing %d.%s", objectType, meshUuid));
 			if (withSemaphore) {
@@ -2675,6 +2745,72 @@ public class MeshPublisher implements AutoCloseable {
 		}
 	}
 
+	/**
+	 * Get the request for removing an object from mesh. The request will be tracked in the {@link #removalStats} and will succeed, if the object does not exist
+	 * @param project mesh project
+	 * @param branch optional branch parameter
+	 * @param objectType object type
+	 * @param meshUuid mesh UUID
+	 * @param meshLanguage mesh Language (null to delete all language variants)
+	 * @param additionalData optional additional data
+	 * @return request
+	 */
+	protected Completable removeRequest(MeshProject project, VersioningParameters branch, int objectType, String meshUuid, String meshLanguage,
+			Map<String, String> additionalData) {
+		Completable request;
+		if (objectType == Form.TYPE_FORM) {
+			// forms are removed via the service implementation
+			request = Completable.fromAction(() -> meshPublisherServiceLoader.callForFirstMatching(s -> s.handles(Form.class),
+					s -> s.delete(this, project, meshUuid, additionalData)));
+		} else if (meshLanguage != null) {
+			// delete the language version
+			if (branch != null) {
+				request = client.deleteNode(project.name, meshUuid, meshLanguage, new DeleteParametersImpl().setRecursive(true), branch).toCompletable();
+			} else {
+				request = client.deleteNode(project.name, meshUuid, meshLanguage, new DeleteParametersImpl().setRecursive(true)).toCompletable();
+			}
+			request = request.onErrorResumeNext(throwable -> ifNotFound(throwable, () -> Completable.complete()));
+		} else {
+			// delete the node
+			if (branch != null) {
+				request = client.deleteNode(project.name, meshUuid, new DeleteParametersImpl().setRecursive(true), branch).toCompletable();
+			} else {
+				request = client.deleteNode(project.name, meshUuid, new DeleteParametersImpl().setRecursive(true)).toCompletable();
+			}
+			request = request.onErrorResumeNext(throwable -> ifNotFound(throwable, () -> Completable.complete()));
+		}
+		return removalStats.track(request);
+	}
+
+	/**
+	 * Get the error message for failed removal of an object
+	 * @param objectType object type
+	 * @param meshUuid mesh UUID
+	 * @param meshLanguage mesh Language (may be null)
+	 * @return error message
+	 */
+	protected String getRemoveErrorMessage(int objectType, String meshUuid, String meshLanguage) {
+		if (meshLanguage != null) {
+			return String.format("Error while removing language %s of object of type %d with uuid %s", meshLanguage, objectType, meshUuid);
+		} else {
+			return String.format("Error while removing object of type %d with uuid %s", objectType, meshUuid);
+		}
+	}
+
+	/**
+	 * Get the branch parameter for removing objects of the node
+	 * @param project mesh project
+	 * @param node node
+	 * @return branch parameter (null if the CR does not have "project per node" activated)
+	 */
+	protected VersioningParameters getBranch(MeshProject project, Node node) {
+		if (cr.isProjectPerNode()) {
+			return project.enforceBranch(node.getId());
+		} else {
+			return null;
+		}
+	}
+
 	/**
 	 * Try to take an object offline in mesh
 	 * @param project mesh project
@@ -2690,32 +2826,7 @@ public class MeshPublisher implements AutoCloseable {
 
 		try {
 			logger.debug(String.format("Start taking %d.%s offline", objectType, meshUuid));
-			if (objectType == Page.TYPE_PAGE && meshLanguage != null) {
-				// for pages, we take offline the language version
-				if (branch != null) {
-					client.takeNodeLanguageOffline(project.name, meshUuid, meshLanguage, branch).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				} else {
-					client.takeNodeLanguageOffline(project.name, meshUuid, meshLanguage).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				}
-			} else if (objectType == Form.TYPE_FORM) {
-				meshPublisherServiceLoader.callForFirstMatching(s -> s.handles(Form.class),
-						s -> s.takeOffline(this, project, object));
-			} else {
-				// for folders and files, there is only one language version, so take the node offline
-				if (branch != null) {
-					client.takeNodeOffline(project.name, meshUuid, branch).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				} else {
-					client.takeNodeOffline(project.name, meshUuid).toCompletable().onErrorResumeNext(throwable -> {
-						return ifNotFound(throwable, () -> Completable.complete());
-					}).blockingAwait();
-				}
-			}
+			offlineRequest(project, branch, object, meshUuid, meshLanguage).blockingAwait();
 		} catch (Throwable t) {
 			if (objectType == Page.TYPE_PAGE && meshLanguage != null) {
 				throw new NodeException(String.format("Error while taking language %s of object of type %d with uuid %s offline", meshLanguage, objectType, meshUuid), t);
@@ -2728,6 +2839,49 @@ public class MeshPublisher implements AutoCloseable {
 		}
 	}
 
+	/**
+	 * Get the request for taking an object offline in mesh. The request will be tracked in the {@link #removalStats} and will succeed, if the object does not exist
+	 * @param project mesh project
+	 * @param branch optional branch parameter
+	 * @param object object to take offline
+	 * @param meshUuid mesh UUID of the object
+	 * @param meshLanguage mesh Language (null to take all language variants offline)
+	 * @return request
+	 */
+	protected Completable offlineRequest(MeshProject project, VersioningParameters branch, NodeObject object, String meshUuid, String meshLanguage) {
+		int objectType = object.getTType();
+		Completable request;
+		if (objectType == Page.TYPE_PAGE && meshLanguage != null) {
+			// for pages, we take offline the language version
+			if (branch != null) {
+				request = client.takeNodeLanguageOffline(project.name, meshUuid, meshLanguage, branch).toCompletable();
+			} else {
+				request = client.takeNodeLanguageOffline(project.name, meshUuid, meshLanguage).toCompletable();
+			}
+			request = request.onErrorResumeNext(throwable -> ifNotFound(throwable, () -> Completable.complete()));
+		} else if (objectType == Form.TYPE_FORM) {
+			request = Completable.fromAction(() -> meshPublisherServiceLoader.callForFirstMatching(s -> s.handles(Form.class),
+					s -> s.takeOffline(this, project, object)));
+		} else {
+			// for folders and files, there is only one language version, so take the node offline
+			if (branch != null) {
+				request = client.takeNodeOffline(project.name, meshUuid, branch).toCompletable();
+			} else {
+				request = client.takeNodeOffline(project.name, meshUuid).toCompletable();
+			}
+			request = request.onErrorResumeNext(throwable -> ifNotFound(throwable, () -> Completable.complete()));
+		}
+		return removalStats.track(request);
+	}
+
+	/**
+	 * Get the statistics for requests to remove objects or take objects offline
+	 * @return request statistics
+	 */
+	public MeshRequestStats getRemovalStats() {
+		return removalStats;
+	}
+
 	/**
 	 * Check whether the mesh publisher had an error
 	 * @throws NodeException
@@ -5544,6 +5698,11 @@ public class MeshPublisher implements AutoCloseable {
 	 */
 	protected record ObjectToDelete(String language, Map<String, String> additionalData) {}
 
+	/**
+	 * Record for objects, which are removed from mesh
+	 */
+	public record ObjectToRemove(int objectType, int objectId, String meshUuid, String meshLanguage, Map<String, String> additionalData) {}
+
 	/**
 	 * Class for contentrepository specific cache for data
 	 * @param <T> type of the cached data
@@ -0,0 +1,105 @@
+package com.gentics.contentnode.publish.mesh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.reactivex.Completable;
+import io.reactivex.functions.Action;
+
+/**
+ * Statistics for requests to Mesh (number of requests in flight, number of finished and failed requests and latencies)
+ */
+public class MeshRequestStats {
+	/**
+	 * Number of requests in flight
+	 */
+	protected final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * Number of finished requests
+	 */
+	protected final LongAdder finished = new LongAdder();
+
+	/**
+	 * Number of failed requests
+	 */
+	protected final LongAdder failed = new LongAdder();
+
+	/**
+	 * Sum of the latencies of all finished requests in ns
+	 */
+	protected final LongAdder totalNanos = new LongAdder();
+
+	/**
+	 * Maximum latency in ns
+	 */
+	protected final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Wrap the given request, so that it is tracked, when subscribed
+	 * @param request request
+	 * @return tracked request
+	 */
+	public Completable track(Completable request) {
+		return Completable.defer(() -> {
+			long start = System.nanoTime();
+			inFlight.incrementAndGet();
+			AtomicBoolean done = new AtomicBoolean();
+			Action finish = () -> {
+				if (done.compareAndSet(false, true)) {
+					inFlight.decrementAndGet();
+					long duration = System.nanoTime() - start;
+					finished.increment();
+					totalNanos.add(duration);
+					maxNanos.accumulateAndGet(duration, Math::max);
+				}
+			};
+			// statistics are updated before the downstream is notified (or when the request is disposed)
+			return request.doOnError(t -> failed.increment()).doOnTerminate(finish).doOnDispose(finish);
+		});
+	}
+
+	/**
+	 * Get the number of requests in flight
+	 * @return number of requests in flight
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Get the number of finished requests (including failed requests)
+	 * @return number of finished requests
+	 */
+	public long getFinished() {
+		return finished.sum();
+	}
+
+	/**
+	 * Get the number of failed requests
+	 * @return number of failed requests
+	 */
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	/**
+	 * Get the average latency in ms
+	 * @return average latency in ms (0 if no requests finished)
+	 */
+	public long getAverageLatency() {
+		long count = finished.sum();
+		return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count) : 0;
+	}
+
+	/**
+	 * Get the maximum latency in ms
+	 * @return maximum latency in ms
+	 */
+	public long getMaxLatency() {
+		return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+	}
+}
@@ -27,4 +27,12 @@ public class PublishablePageList extends AbstractPageList {
 	protected NodeObjectWithAttributes<Page> getPage(NodeObjectIdWithAttributes pageId) throws NodeException {
 		return new NodeObjectWithAttributes<Page>(PublishablePage.getInstance(pageId.getId()), pageId.getAttributes());
 	}
+
+	@Override
+	protected void prefetch(List<Integer> ids) throws NodeException {
+		for (Integer id : ids) {
+			PublishablePage.getInstance(id);
+		}
+		prefetchTemplatesAndConstructs(ids);
+	}
 }
@@ -0,0 +1,281 @@
+package com.gentics.contentnode.publish.wrapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.db.DBUtils;
+import com.gentics.contentnode.etc.NodeConfig;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
+import com.gentics.contentnode.factory.Level2CacheTrx;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.object.ObjectTag;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.Value;
+import com.gentics.contentnode.publish.Publisher;
+import com.gentics.contentnode.render.RenderResult;
+import com.gentics.lib.db.SQLExecutor;
+import com.gentics.lib.etc.StatsItem;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Warm-up of the {@link PublishablePage} cache before pages are rendered.
+ * The page IDs are split into chunks. For every chunk, the pages, the published versions of the pages (including contenttags and values)
+ * and the objecttags (including values) are loaded with a few set-based queries into the object cache. Afterwards, the {@link PublishablePage} instances
+ * are built from the preloaded data. The chunks are processed in parallel by a fixed number of threads.
+ */
+public class PublishablePageWarmup {
+	/**
+	 * Name of the configuration parameter to specify the number of pages, which are loaded together
+	 */
+	public final static String CHUNK_SIZE_CONFIG_KEY = "multithreaded_publishing.warmup_chunksize";
+
+	/**
+	 * By default, 100 pages are loaded together
+	 */
+	public final static int DEFAULT_CHUNK_SIZE = 100;
+
+	/**
+	 * Logger
+	 */
+	protected final static NodeLogger logger = NodeLogger.getNodeLogger(PublishablePageWarmup.class);
+
+	/**
+	 * Thread Factory
+	 */
+	protected static ThreadFactory threadFactory = new PrefixedThreadFactory("publishable-page-warmup");
+
+	/**
+	 * Number of threads
+	 */
+	protected int threadLimit;
+
+	/**
+	 * Chunk size
+	 */
+	protected int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Statistics for loading the data of the chunks (null if statistics are disabled)
+	 */
+	protected StatsItem loadStats;
+
+	/**
+	 * Statistics for building the instances (null if statistics are disabled)
+	 */
+	protected StatsItem buildStats;
+
+	/**
+	 * Create an instance
+	 * @param threadLimit number of threads
+	 * @param config configuration
+	 * @param publishStats true to collect statistics
+	 */
+	public PublishablePageWarmup(int threadLimit, NodeConfig config, boolean publishStats) {
+		this.threadLimit = Math.max(1, threadLimit);
+		if (config != null) {
+			chunkSize = Math.max(1, ObjectTransformer.getInt(config.getDefaultPreferences().getProperty(CHUNK_SIZE_CONFIG_KEY), chunkSize));
+		}
+		if (publishStats) {
+			loadStats = new StatsItem();
+			buildStats = new StatsItem();
+		}
+	}
+
+	/**
+	 * Warm up the cache for the given pages
+	 * @param pageIds page IDs
+	 * @param renderResult render result
+	 * @throws NodeException
+	 */
+	public void run(List<Integer> pageIds, RenderResult renderResult) throws NodeException {
+		renderResult.info(Publisher.class, "Initializing PublishablePage cache for " + pageIds.size() + " pages in chunks of " + chunkSize + " using "
+				+ threadLimit + " threads");
+
+		Queue<List<Integer>> chunks = new ConcurrentLinkedQueue<>();
+		for (int start = 0; start < pageIds.size(); start += chunkSize) {
+			chunks.add(new ArrayList<>(pageIds.subList(start, Math.min(start + chunkSize, pageIds.size()))));
+		}
+
+		final Transaction threadTransaction = TransactionManager.getCurrentTransaction();
+		ExecutorService threadPool = Executors.newFixedThreadPool(threadLimit, threadFactory);
+		Collection<Callable<Boolean>> tasks = new ArrayList<>(threadLimit);
+		for (int i = 0; i < threadLimit; i++) {
+			tasks.add(() -> {
+				TransactionManager.setCurrentTransaction(threadTransaction);
+				List<Integer> chunk = null;
+				while ((chunk = chunks.poll()) != null) {
+					warmUp(chunk);
+				}
+				return true;
+			});
+		}
+
+		try (Level2CacheTrx level2Trx = new Level2CacheTrx(false)) {
+			threadPool.invokeAll(tasks);
+			threadPool.shutdown();
+			threadPool.awaitTermination(1, TimeUnit.DAYS);
+		} catch (InterruptedException e) {
+			String message = "An error occurred while preparing publish cache, continuing anyway";
+
+			renderResult.error(Publisher.class, message, e);
+
+			throw new NodeException(message, e);
+		}
+
+		if (loadStats != null) {
+			renderResult.info(Publisher.class, "Initialized PublishablePage cache, loading: " + loadStats.getInfo() + ", building: " + buildStats.getInfo());
+		} else {
+			renderResult.info(Publisher.class, "Initialized PublishablePage cache");
+		}
+	}
+
+	/**
+	 * Warm up the cache for the given chunk of pages
+	 * @param chunk page IDs
+	 * @throws NodeException
+	 */
+	protected void warmUp(List<Integer> chunk) throws NodeException {
+		// omit pages, which are already cached
+		List<Integer> missing = new ArrayList<>(chunk.size());
+		for (Integer pageId : chunk) {
+			if (PublishablePage.getFromCache(pageId) == null) {
+				missing.add(pageId);
+			}
+		}
+		if (missing.isEmpty()) {
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+		if (loadStats != null) {
+			loadStats.start();
+		}
+		try {
+			preload(missing);
+		} catch (NodeException e) {
+			// preloading is just an optimization, the pages will be loaded one by one
+			logger.warn("Error while preloading data for " + missing.size() + " pages", e);
+		} finally {
+			if (loadStats != null) {
+				loadStats.stop(missing.size());
+			}
+		}
+		long loaded = System.currentTimeMillis();
+
+		if (buildStats != null) {
+			buildStats.start();
+		}
+		try {
+			for (Integer pageId : missing) {
+				PublishablePage.getInstance(pageId);
+			}
+		} finally {
+			if (buildStats != null) {
+				buildStats.stop(missing.size());
+			}
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Warmed up %d pages: loading took %d ms, building took %d ms", missing.size(), loaded - start,
+					System.currentTimeMillis() - loaded));
+		}
+	}
+
+	/**
+	 * Load the data of the given pages into the object cache
+	 * @param pageIds page IDs
+	 * @throws NodeException
+	 */
+	protected void preload(List<Integer> pageIds) throws NodeException {
+		Transaction t = TransactionManager.getCurrentTransaction();
+		boolean versionedPublishDisabled = t.isDisableVersionedPublish();
+		t.setChannelId(null);
+		t.setDisableVersionedPublish(true);
+		try {
+			// current versions of the pages (including the IDs of the objecttags)
+			t.getObjects(Page.class, pageIds);
+
+			// published versions of the pages (including contenttags and values)
+			Map<Integer, Integer> timestamps = getPublishedVersionTimestamps(pageIds);
+			if (!timestamps.isEmpty()) {
+				t.prepareVersionedObjects(Page.class, Page.class, timestamps);
+			}
+
+			// objecttags (which are not versioned) and their values
+			List<Integer> objectTagIds = new ArrayList<>();
+			DBUtils.executeMassStatement("SELECT t.id FROM objtag t WHERE t.obj_type = ? AND t.obj_id IN", pageIds, 2, new SQLExecutor() {
+				@Override
+				public void prepareStatement(PreparedStatement stmt) throws SQLException {
+					stmt.setInt(1, Page.TYPE_PAGE);
+				}
+
+				@Override
+				public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+					while (rs.next()) {
+						objectTagIds.add(rs.getInt("id"));
+					}
+				}
+			});
+			if (!objectTagIds.isEmpty()) {
+				t.getObjects(ObjectTag.class, objectTagIds);
+
+				List<Integer> valueIds = new ArrayList<>();
+				DBUtils.executeMassStatement("SELECT id FROM value WHERE objtag_id IN", objectTagIds, 1, new SQLExecutor() {
+					@Override
+					public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+						while (rs.next()) {
+							valueIds.add(rs.getInt("id"));
+						}
+					}
+				});
+				if (!valueIds.isEmpty()) {
+					t.getObjects(Value.class, valueIds);
+				}
+			}
+		} finally {
+			t.resetChannel();
+			t.setDisableVersionedPublish(versionedPublishDisabled);
+		}
+	}
+
+	/**
+	 * Get the timestamps of the published versions of the given pages
+	 * @param pageIds page IDs
+	 * @return map of page ID to timestamp of the published version (pages without published version are omitted)
+	 * @throws NodeException
+	 */
+	protected Map<Integer, Integer> getPublishedVersionTimestamps(List<Integer> pageIds) throws NodeException {
+		Map<Integer, Integer> timestamps = new HashMap<>(pageIds.size());
+		DBUtils.executeMassStatement("SELECT o_id, MAX(timestamp) timestamp FROM nodeversion WHERE o_type = ? AND published = 1 AND o_id IN", "GROUP BY o_id",
+				pageIds, 2, new SQLExecutor() {
+					@Override
+					public void prepareStatement(PreparedStatement stmt) throws SQLException {
+						stmt.setInt(1, Page.TYPE_PAGE);
+					}
+
+					@Override
+					public void handleResultSet(ResultSet rs) throws SQLException, NodeException {
+						while (rs.next()) {
+							timestamps.put(rs.getInt("o_id"), rs.getInt("timestamp"));
+						}
+					}
+				});
+		return timestamps;
+	}
+}
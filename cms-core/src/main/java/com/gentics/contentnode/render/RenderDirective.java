@@ -121,7 +121,7 @@ public class RenderDirective extends Directive {
 		int editMode = renderType.getEditMode();
 
 		if ((editMode == RenderType.EM_ALOHA) && tag.isEditable()) {
-			StringBuffer source = new StringBuffer();
+			StringBuilder source = new StringBuilder();
 			List<ParserTag> omitTags = new ArrayList<ParserTag>();
 			List<ParserTag> omitTagsEdit = new ArrayList<ParserTag>();
 			ParseStructRenderer.renderEditableTag(source, tag.render(result), tag, omitTags, omitTagsEdit, result);
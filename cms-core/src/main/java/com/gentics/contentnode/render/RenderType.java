@@ -7,13 +7,12 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EmptyStackException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Stack;
-import java.util.Vector;
+import java.util.Set;
 
 import com.gentics.contentnode.utils.ResourcePath;
 import org.apache.commons.io.FileUtils;
@@ -111,14 +110,18 @@ public class RenderType implements RenderInfo {
 	 */
 	protected final static ServiceLoaderUtil<HandlebarsService> handlebarsServiceLoader = ServiceLoaderUtil.load(HandlebarsService.class);
 
-	private Stack<RenderInfo> infoStack;
+	/**
+	 * Stack of render infos (the top is the last entry). The render type is confined to a single thread, so none of the
+	 * stacks and lists are synchronized.
+	 */
+	private List<RenderInfo> infoStack;
 	private StackResolver stack;
 
 	/**
 	 * stack holding the dependent objects (objects or object/elements currently
-	 * rendered) for correct creation of dependencies
+	 * rendered) for correct creation of dependencies (the top is the last entry)
 	 */
-	private Stack<DependencyObject> dependentObjectStack;
+	private List<DependencyObject> dependentObjectStack;
 
 	/**
 	 * This counter keeps track of how many times a dependent object was
@@ -130,15 +133,25 @@ public class RenderType implements RenderInfo {
 	private int dependentObjectStackSkipCounter = 0;
 
 	/**
-	 * list of all dependent objects which were used during rendering process
+	 * set of all dependent objects which were used during rendering process
 	 */
-	private List<DependencyObject> dependentObjects;
+	private Set<DependencyObject> dependentObjects;
 
 	/**
 	 * list of all dependencies to be stored
 	 */
 	private List<Dependency> dependencies;
 
+	/**
+	 * Index of the {@link #dependencies} by source, source property and dependent. Dependencies are deduplicated with this index when they are added.
+	 */
+	private Map<DependencyKey, Dependency> dependencyIndex;
+
+	/**
+	 * Key used for looking up dependencies in the {@link #dependencyIndex} (reused to avoid allocating a key for every added dependency)
+	 */
+	private DependencyKey lookupKey = new DependencyKey();
+
 	/**
 	 * version timestamp (default: current version)
 	 */
@@ -165,9 +178,9 @@ public class RenderType implements RenderInfo {
 	private List<Object> templateTagIds;
 
 	/**
-	 * stack for cms resolver (used for rendering extensible part types, like the VelocityPartType, NavigationPartType, etc.)
+	 * stack for cms resolver (used for rendering extensible part types, like the VelocityPartType, NavigationPartType, etc.). The top is the last entry.
 	 */
-	private Stack<CMSResolver> cmsResolverStack;
+	private List<CMSResolver> cmsResolverStack;
 
 	/**
 	 * Flag to mark whether the rendering is done in frontend mode
@@ -191,16 +204,12 @@ public class RenderType implements RenderInfo {
 	public RenderType(int editMode, boolean evaluate, boolean handleDependencies, String defaultRenderer,
 			RenderUrlFactory urlFactory, int versionTimestamp) {
 		this.versionTimestamp = versionTimestamp;
-		infoStack = new Stack<RenderInfo>();
-		dependentObjectStack = new Stack<DependencyObject>();
-		dependentObjects = new Vector<DependencyObject>();
-		dependencies = new Vector<Dependency>();
+		initStacks();
 		SimpleRenderInfo info = new SimpleRenderInfo(editMode, evaluate, handleDependencies, urlFactory, null,
 				new HashMap<String, Object>(), defaultRenderer, new ArrayList<String>(RendererFactory.getRendererKeys()), null, null, this);
 
-		infoStack.push(info);
+		infoStack.add(info);
 		this.stack = new StackResolver();
-		cmsResolverStack = new Stack<CMSResolver>();
 	}
 
 	/**
@@ -208,13 +217,9 @@ public class RenderType implements RenderInfo {
 	 * default templaterenderer keyname and the urlrenderer before you can use this renderType.
 	 */
 	public RenderType() {
-		infoStack = new Stack<RenderInfo>();
-		dependentObjectStack = new Stack<DependencyObject>();
-		dependentObjects = new Vector<DependencyObject>();
-		dependencies = new Vector<Dependency>();
-		infoStack.push(new SimpleRenderInfo(this, (StackResolvable) null));
+		initStacks();
+		infoStack.add(new SimpleRenderInfo(this, (StackResolvable) null));
 		this.stack = new StackResolver();
-		cmsResolverStack = new Stack<CMSResolver>();
 	}
 
 	/**
@@ -225,20 +230,28 @@ public class RenderType implements RenderInfo {
 	 */
 	public RenderType(RenderType renderType, boolean copyStack) {
 		this.versionTimestamp = renderType.versionTimestamp;
-		this.infoStack = new Stack<RenderInfo>();
-		dependentObjectStack = new Stack<DependencyObject>();
-		dependentObjects = new Vector<DependencyObject>();
-		dependencies = new Vector<Dependency>();
+		initStacks();
 		if (copyStack) {
 			// TODO think about copying the dependentObjectStack also
 			for (int i = 0; i < renderType.getDepth(); i++) {
-				infoStack.push(new SimpleRenderInfo(this, renderType.getInfo(i)));
+				infoStack.add(new SimpleRenderInfo(this, renderType.getInfo(i)));
 			}
 		} else {
-			infoStack.push(new SimpleRenderInfo(this, renderType.getInfo()));
+			infoStack.add(new SimpleRenderInfo(this, renderType.getInfo()));
 		}
 		this.stack = copyStack ? renderType.getStack().getCopy() : new StackResolver();
-		cmsResolverStack = new Stack<CMSResolver>();
+	}
+
+	/**
+	 * Create the (empty) stacks and lists. The array backed lists and maps do not allocate their arrays before entries are added.
+	 */
+	private void initStacks() {
+		infoStack = new ArrayList<>();
+		dependentObjectStack = new ArrayList<>();
+		dependentObjects = new HashSet<>();
+		dependencies = new ArrayList<>();
+		dependencyIndex = new HashMap<>();
+		cmsResolverStack = new ArrayList<>();
 	}
 
 	/**
@@ -423,7 +436,7 @@ public class RenderType implements RenderInfo {
 	 * @param resolvable the new top stackresolvable.
 	 */
 	public void push(StackResolvable resolvable) {
-		infoStack.push(new SimpleRenderInfo(getInfo(), resolvable));
+		infoStack.add(new SimpleRenderInfo(getInfo(), resolvable));
 		if (resolvable != null) {
 			stack.push(resolvable);
 
@@ -453,7 +466,7 @@ public class RenderType implements RenderInfo {
 		if (infoStack.size() <= 1) {
 			return null;
 		}
-		RenderInfo info = (RenderInfo) infoStack.pop();
+		RenderInfo info = infoStack.remove(infoStack.size() - 1);
 		final StackResolvable levelResolvable = info.getLevelResolvable();
 
 		if (levelResolvable != null) {
@@ -477,7 +490,7 @@ public class RenderType implements RenderInfo {
 		if (!Objects.equals(resolvable, levelResolvable)) {
 			return false;
 		}
-		infoStack.pop();
+		infoStack.remove(infoStack.size() - 1);
 		if (levelResolvable != null) {
 			stack.remove(levelResolvable);
 		}
@@ -506,7 +519,7 @@ public class RenderType implements RenderInfo {
 		if (i == -1) {
 			return false;
 		}
-		RenderInfo info = (RenderInfo) infoStack.remove(i);
+		RenderInfo info = infoStack.remove(i);
 		StackResolvable levelResolvable = info.getLevelResolvable();
 
 		if (levelResolvable != null) {
@@ -536,7 +549,7 @@ public class RenderType implements RenderInfo {
 		}
 
 		for (int i = 0; i < infoStack.size(); i++) {
-			StackResolvable info = ((RenderInfo) infoStack.get(i)).getLevelResolvable();
+			StackResolvable info = infoStack.get(i).getLevelResolvable();
 
 			if (info != null) {
 				if (key.equals(info.getStackHashKey())) {
@@ -554,7 +567,7 @@ public class RenderType implements RenderInfo {
 	 * @return the renderinfo from this level.
 	 */
 	public RenderInfo getInfo(int level) {
-		return (RenderInfo) infoStack.get(level);
+		return infoStack.get(level);
 	}
 
 	/**
@@ -946,11 +959,9 @@ public class RenderType implements RenderInfo {
 	private void pushDependentObjectNoInit(DependencyObject depObject) {
 		if (depObject != null) {
 			// push the object on top of the stack
-			dependentObjectStack.push(depObject);
-			// also add it to the list (if not already there)
-			if (!dependentObjects.contains(depObject)) {
-				dependentObjects.add(depObject);
-			}
+			dependentObjectStack.add(depObject);
+			// also add it to the set
+			dependentObjects.add(depObject);
 		}
 	}
 
@@ -963,7 +974,7 @@ public class RenderType implements RenderInfo {
 	 */
 	private void initDependencies(NodeObject object, Object channelId) throws NodeException {
 		if (isStoreDependencies()) {
-			dependencies.addAll(DependencyManager.getDependenciesForObject(object, null, null));
+			addStoredDependencies(DependencyManager.getDependenciesForObject(object, null, null));
 			if (ObjectTransformer.getInt(channelId, 0) != 0 && object instanceof LocalizableNodeObject<?>) {
 				// when getting the dependencies for the object for a specific
 				// channel, we also get the dependencies of the master objects
@@ -974,14 +985,37 @@ public class RenderType implements RenderInfo {
 				LocalizableNodeObject<NodeObject> locObject = (LocalizableNodeObject<NodeObject>)object;
 				locObject = locObject.getNextHigherObject();
 				while (locObject != null) {
-					dependencies.addAll(DependencyManager.getDependenciesForObject(locObject, null, null));
+					addStoredDependencies(DependencyManager.getDependenciesForObject(locObject, null, null));
 					locObject = locObject.getNextHigherObject();
 				}
 			}
-			Collections.sort(dependencies);
 		}
 	}
 
+	/**
+	 * Add the given stored dependencies to the {@link #dependencies} and the {@link #dependencyIndex}.
+	 * Duplicates are added to the list (so that they will be removed, when the dependencies are stored), but only the first
+	 * is indexed.
+	 * @param stored stored dependencies
+	 * @throws NodeException
+	 */
+	private void addStoredDependencies(List<Dependency> stored) throws NodeException {
+		for (Dependency dep : stored) {
+			dependencies.add(dep);
+			DependencyKey key = new DependencyKey().set(dep.getSource(), dep.getSourceProperty(), dep.getDependent());
+			dependencyIndex.putIfAbsent(key, dep);
+		}
+	}
+
+	/**
+	 * Get the top of the stack of dependent objects
+	 * @return top dependent object or null, if the stack is empty
+	 */
+	private DependencyObject peekDependentObject() {
+		int size = dependentObjectStack.size();
+		return size > 0 ? dependentObjectStack.get(size - 1) : null;
+	}
+
 	/**
 	 * Remove the top object from the stack of dependent objects
 	 */
@@ -998,11 +1032,10 @@ public class RenderType implements RenderInfo {
 				}
 			}            
             
-			try {
-				dependentObjectStack.pop();
-			} catch (EmptyStackException e) {
-				throw new NodeException("Error while modifying dependency stack", e);
+			if (dependentObjectStack.isEmpty()) {
+				throw new NodeException("Error while modifying dependency stack: stack is empty");
 			}
+			dependentObjectStack.remove(dependentObjectStack.size() - 1);
 		}
 	}
 
@@ -1014,19 +1047,16 @@ public class RenderType implements RenderInfo {
 	 */
 	public void pushDependentElement(NodeObject depElement) throws NodeException {
 		if (doHandleDependencies()) {
-			try {
-				DependencyObject topObject = (DependencyObject) dependentObjectStack.peek();
-				DependencyObject newObject = new DependencyObject(topObject.getObjectClass(), topObject.getObjectId(), depElement);
-
-				// push the new combination on top of the stack
-				dependentObjectStack.push(newObject);
-				// also add it to the list (if not already there)
-				if (!dependentObjects.contains(newObject)) {
-					dependentObjects.add(newObject);
-				}
-			} catch (EmptyStackException e) {
-				throw new NodeException("Error while modifying dependency stack", e);
+			DependencyObject topObject = peekDependentObject();
+			if (topObject == null) {
+				throw new NodeException("Error while modifying dependency stack: stack is empty");
 			}
+			DependencyObject newObject = new DependencyObject(topObject.getObjectClass(), topObject.getObjectId(), depElement);
+
+			// push the new combination on top of the stack
+			dependentObjectStack.add(newObject);
+			// also add it to the set
+			dependentObjects.add(newObject);
 		}
 	}
 
@@ -1061,64 +1091,61 @@ public class RenderType implements RenderInfo {
 				addDependency(source.getObject(), ((ObjectTag)source.getElement()).getName());
 			}
 
-			try {
-				DependencyObject dependent = (DependencyObject) dependentObjectStack.peek();
+			DependencyObject dependent = peekDependentObject();
+			if (dependent == null) {
+				throw new NodeException("Error while adding a dependency: dependent object stack is empty");
+			}
+
+			if (sourceProperty != null || !dependent.equals(source)) {
+				Transaction t = TransactionManager.getCurrentTransaction();
+				int channelId = 0;
+				// get the published node
+				Node channel = t.getObject(Node.class, t.getPublishedNodeId(), -1, false);
+				if (channel != null && channel.isChannel()) {
+					channelId = ObjectTransformer.getInt(channel.getId(), 0);
+				}
+				Dependency foundDep = dependencyIndex.get(lookupKey.set(source, sourceProperty, dependent));
 
-				if (sourceProperty != null || !dependent.equals(source)) {
-					Transaction t = TransactionManager.getCurrentTransaction();
+				if (foundDep == null) {
+					// new dependency found, add it
 					Dependency dep = DependencyManager.createDependency(source, sourceProperty, dependent, Events.UPDATE | Events.DELETE);
-					int channelId = 0;
-					// get the published node
-					Node channel = t.getObject(Node.class, t.getPublishedNodeId(), -1, false);
-					if (channel != null && channel.isChannel()) {
-						channelId = ObjectTransformer.getInt(channel.getId(), 0);
-					}
 					dep.addChannelId(channelId);
-					int index = Collections.binarySearch(dependencies, dep);
+					NodeLogger depLogger = DependencyManager.getLogger();
 
-					if (index < 0) {
-						// new dependency found, insert it
-						NodeLogger depLogger = DependencyManager.getLogger();
-
-						if (depLogger.isDebugEnabled()) {
-							depLogger.debug("Adding Dependency {" + dep + "}");
-						}
-						dependencies.add(-index - 1, dep);
-
-						// add the currently rendered property
-						dep.addDependentProperty(channelId, getRenderedProperty());
-					} else {
-						// old dependency found, mark it as being still existent
-						Dependency foundDep = (Dependency) dependencies.get(index);
-
-						foundDep.setExisting();
-						foundDep.addChannelId(channelId);
-						// when in simulation mode, and the dependency is
-						// the targeted one, we store the current render stack
-						// in the dependency manager
-						if (DependencyManager.isSimulationMode() && foundDep.getId() == DependencyManager.getTargetedSimulationDependencyId()) {
-							DependencyManager.setDependencyObjectStack(stack.getObjectStack());
-						}
+					if (depLogger.isDebugEnabled()) {
+						depLogger.debug("Adding Dependency {" + dep + "}");
+					}
+					dependencies.add(dep);
+					dependencyIndex.put(new DependencyKey().set(source, sourceProperty, dependent), dep);
 
-						// add the currently rendered property
-						foundDep.addDependentProperty(channelId, getRenderedProperty());
+					// add the currently rendered property
+					dep.addDependentProperty(channelId, getRenderedProperty());
+				} else {
+					// old dependency found, mark it as being still existent
+					foundDep.setExisting();
+					foundDep.addChannelId(channelId);
+					// when in simulation mode, and the dependency is
+					// the targeted one, we store the current render stack
+					// in the dependency manager
+					if (DependencyManager.isSimulationMode() && foundDep.getId() == DependencyManager.getTargetedSimulationDependencyId()) {
+						DependencyManager.setDependencyObjectStack(stack.getObjectStack());
 					}
+
+					// add the currently rendered property
+					foundDep.addDependentProperty(channelId, getRenderedProperty());
 				}
-			} catch (EmptyStackException e) {
-				throw new NodeException("Error while adding a dependency", e);
 			}
 		}
 	}
 
 	public void addElementDependency(NodeObject element, String sourceProperty) throws NodeException {
 		if (doHandleDependencies()) {
-			try {
-				DependencyObject dependent = (DependencyObject) dependentObjectStack.peek();
-
-				addDependency(new DependencyObject(dependent.getObjectClass(), dependent.getObjectId(), element), sourceProperty);
-			} catch (EmptyStackException e) {
-				throw new NodeException("Error while adding a dependency", e);
+			DependencyObject dependent = peekDependentObject();
+			if (dependent == null) {
+				throw new NodeException("Error while adding a dependency: dependent object stack is empty");
 			}
+
+			addDependency(new DependencyObject(dependent.getObjectClass(), dependent.getObjectId(), element), sourceProperty);
 		}
 	}
 
@@ -1132,6 +1159,7 @@ public class RenderType implements RenderInfo {
 			dependentObjectStack.clear();
 			dependentObjects.clear();
 			dependencies.clear();
+			dependencyIndex.clear();
 		}
 	}
 
@@ -1158,7 +1186,7 @@ public class RenderType implements RenderInfo {
 					if (logger.isDebugEnabled()) {
 						logger.debug(
 								"Not storing/deleting {" + dependencies.size() + "} dependencies, since dependentObjectStack still contains at least {"
-								+ dependentObjectStack.peek() + "}");
+								+ peekDependentObject() + "}");
 					}
 				} else {
 					if (isStoreDependencies()) {
@@ -1233,8 +1261,8 @@ public class RenderType implements RenderInfo {
 	public void setCollectTagIds(boolean collectTagIds) {
 		this.collectTagIds = collectTagIds;
 		if (this.collectTagIds) {
-			contentTagIds = new Vector<Object>();
-			templateTagIds = new Vector<Object>();
+			contentTagIds = new ArrayList<Object>();
+			templateTagIds = new ArrayList<Object>();
 		} else {
 			contentTagIds = null;
 			templateTagIds = null;
@@ -1299,24 +1327,25 @@ public class RenderType implements RenderInfo {
 			}
 		}
 
-		cmsResolverStack.push(new CMSResolver(page, template, tag, folder, node, file));
+		cmsResolverStack.add(new CMSResolver(page, template, tag, folder, node, file));
 	}
 
 	/**
 	 * Remove the topmost cms resolver from the stack
 	 */
 	public void popCMSResolver() {
-		CMSResolver cmsResolver = (CMSResolver) cmsResolverStack.pop();
+		CMSResolver cmsResolver = cmsResolverStack.remove(cmsResolverStack.size() - 1);
 
 		cmsResolver.clean();
 	}
 
 	/**
 	 * Get the topmost CMSResolver from the stack
-	 * @return CMSResolver
+	 * @return CMSResolver or null, if the stack is empty
 	 */
 	public CMSResolver getCMSResolver() {
-		return (CMSResolver) cmsResolverStack.peek();
+		int size = cmsResolverStack.size();
+		return size > 0 ? cmsResolverStack.get(size - 1) : null;
 	}
 
 	/**
@@ -1372,7 +1401,7 @@ public class RenderType implements RenderInfo {
 	public void preserveDependencies(String renderedProperty) throws NodeException {
 		if (doHandleDependencies() && dependencies != null) {
 			Transaction t = TransactionManager.getCurrentTransaction();
-			DependencyObject dependent = (DependencyObject) dependentObjectStack.peek();
+			DependencyObject dependent = peekDependentObject();
 
 			int channelId = 0;
 			// get the published node
@@ -1561,7 +1590,7 @@ public class RenderType implements RenderInfo {
 			if (!Objects.equals(toPop, levelResolvable)) {
 				return;
 			}
-			infoStack.pop();
+			infoStack.remove(infoStack.size() - 1);
 			if (levelResolvable != null) {
 				stack.remove(levelResolvable);
 			}
@@ -1576,4 +1605,64 @@ public class RenderType implements RenderInfo {
 			}
 		}
 	}
+
+	/**
+	 * Key of a dependency (source object type and id, source element type and id, source property and dependent object).
+	 * Instances are mutable, so that the same instance can be reused for lookups.
+	 */
+	private static class DependencyKey {
+		/**
+		 * Source object
+		 */
+		private DependencyObject source;
+
+		/**
+		 * Source property (may be null)
+		 */
+		private String sourceProperty;
+
+		/**
+		 * Dependent object
+		 */
+		private DependencyObject dependent;
+
+		/**
+		 * Hash code
+		 */
+		private int hash;
+
+		/**
+		 * Set the data of the key
+		 * @param source source object
+		 * @param sourceProperty source property
+		 * @param dependent dependent object
+		 * @return this instance
+		 */
+		private DependencyKey set(DependencyObject source, String sourceProperty, DependencyObject dependent) {
+			this.source = source;
+			this.sourceProperty = sourceProperty;
+			this.dependent = dependent;
+			this.hash = 31 * (31 * source.hashCode() + Objects.hashCode(sourceProperty)) + dependent.hashCode();
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj instanceof DependencyKey) {
+				DependencyKey other = (DependencyKey) obj;
+				return hash == other.hash && Objects.equals(sourceProperty, other.sourceProperty) && source.equals(other.source)
+						&& dependent.equals(other.dependent);
+			} else {
+				return false;
+			}
+		}
+	}
 }
@@ -391,7 +391,7 @@ public class RenderUtils {
 		int editMode = renderType.getEditMode();
 
 		if ((editMode == RenderType.EM_ALOHA) && tag.isEditable()) {
-			StringBuffer source = new StringBuffer();
+			StringBuilder source = new StringBuilder();
 			List<ParserTag> omitTags = new ArrayList<ParserTag>();
 			List<ParserTag> omitTagsEdit = new ArrayList<ParserTag>();
 			ParseStructRenderer.renderEditableTag(source, tag.render(result), tag, omitTags, omitTagsEdit, result);
@@ -53,6 +53,7 @@ import com.gentics.contentnode.events.QueueEntryType;
 import com.gentics.contentnode.exception.RestMappedException;
 import com.gentics.contentnode.factory.ContentNodeFactory;
 import com.gentics.contentnode.factory.Session;
+import com.gentics.contentnode.factory.SessionCache;
 import com.gentics.contentnode.factory.Transaction;
 import com.gentics.contentnode.factory.TransactionManager;
 import com.gentics.contentnode.factory.Trx;
@@ -777,6 +778,7 @@ public class AdminResourceImpl implements AdminResource {
 				Session session = trx.getTransaction().getSession();
 				if (session != null) {
 					DBUtils.update("UPDATE systemsession SET secret = ? WHERE id != ?", "", session.getSessionId());
+					SessionCache.invalidateAll();
 				}
 			}
 
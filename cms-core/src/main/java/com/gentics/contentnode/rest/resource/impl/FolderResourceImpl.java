@@ -4,6 +4,7 @@ import static com.gentics.contentnode.rest.util.MiscUtils.createNodeConflictMess
 import static com.gentics.contentnode.rest.util.MiscUtils.getItemList;
 import static com.gentics.contentnode.rest.util.MiscUtils.getMatchingSystemUsers;
 import static com.gentics.contentnode.rest.util.MiscUtils.reduceList;
+import static com.gentics.contentnode.rest.util.MiscUtils.sortAndReduce;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -66,6 +67,7 @@ import com.gentics.contentnode.factory.object.FolderFactory;
 import com.gentics.contentnode.factory.object.FolderFactory.ReductionType;
 import com.gentics.contentnode.factory.object.ObjectModificationException;
 import com.gentics.contentnode.factory.object.TagFactory;
+import com.gentics.contentnode.factory.perm.ViewPermType;
 import com.gentics.contentnode.factory.url.DynamicUrlFactory;
 import com.gentics.contentnode.factory.url.StaticUrlFactory;
 import com.gentics.contentnode.i18n.I18NHelper;
@@ -92,6 +94,7 @@ import com.gentics.contentnode.object.Value;
 import com.gentics.contentnode.object.ValueList;
 import com.gentics.contentnode.object.parttype.PageURLPartType;
 import com.gentics.contentnode.object.parttype.PartType;
+import com.gentics.contentnode.object.utility.AbstractComparator;
 import com.gentics.contentnode.object.utility.FileComparator;
 import com.gentics.contentnode.object.utility.FolderComparator;
 import com.gentics.contentnode.object.utility.PageComparator;
@@ -163,6 +166,7 @@ import com.gentics.contentnode.rest.util.Operator;
 import com.gentics.contentnode.rest.util.Operator.LockType;
 import com.gentics.contentnode.rest.util.ResolvableComparator;
 import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.contentnode.search.FullTextIndex;
 import com.gentics.contentnode.staging.StagingUtil;
 import com.gentics.lib.db.SQLExecutor;
 import com.gentics.lib.etc.StringUtils;
@@ -856,95 +860,113 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 						pageListParams.templateIds = templateMasterIds;
 					}
 
-					// get the pages
-					List<Page> pages = getPagesFromFolder(f,
-						PageSearch.create().setSearchString(filterParams.search).setSearchContent(pageListParams.searchContent).setFileNameSearch(pageListParams.filename)
-							.setNiceUrlSearch(pageListParams.niceUrl)
-							.setWorkflowOwn(pageListParams.workflowOwn).setWorkflowWatch(pageListParams.workflowWatch)
-							.setEditor(publishParams.isEditor).setCreator(publishParams.isCreator).setPublisher(publishParams.isPublisher)
-							.setOnline(publishParams.online).setModified(publishParams.modified)
-							.setPlanned(pageListParams.planned).setQueued(pageListParams.queued)
-							.setPriority(pageListParams.priority).setTemplateIds(pageListParams.templateIds)
-							.setPermissions(pageListParams.permission)
-							.setEditors(getMatchingSystemUsers(publishParams.editor, publishParams.editorIds))
-							.setCreators(getMatchingSystemUsers(publishParams.creator, publishParams.creatorIds))
-							.setPublishers(getMatchingSystemUsers(publishParams.publisher, publishParams.publisherIds))
-							.setEditedBefore(publishParams.editedBefore).setEditedSince(publishParams.editedSince)
-							.setCreatedBefore(publishParams.createdBefore).setCreatedSince(publishParams.createdSince)
-							.setPublishedBefore(publishParams.publishedBefore).setPublishedSince(publishParams.publishedSince)
-							.setRecursive(inFolder.recursive).setInherited(pageListParams.inherited)
-							.setWastebin(wastebinParams.wastebinSearch == WastebinSearch.only)
-							.setIncludeMlIds(pageListParams.includeMlIds)
-							.setExcludeMlIds(pageListParams.excludeMlIds),
-							pageListParams.timeDue,
-							pageListParams.inSync);
-
-					if (wastebinParams.wastebinSearch == WastebinSearch.only) {
-						Wastebin.ONLY.filter(pages);
+					// prepare the search
+					PageSearch search = PageSearch.create().setSearchString(filterParams.search).setSearchContent(pageListParams.searchContent).setFileNameSearch(pageListParams.filename)
+						.setNiceUrlSearch(pageListParams.niceUrl)
+						.setWorkflowOwn(pageListParams.workflowOwn).setWorkflowWatch(pageListParams.workflowWatch)
+						.setEditor(publishParams.isEditor).setCreator(publishParams.isCreator).setPublisher(publishParams.isPublisher)
+						.setOnline(publishParams.online).setModified(publishParams.modified)
+						.setPlanned(pageListParams.planned).setQueued(pageListParams.queued)
+						.setPriority(pageListParams.priority).setTemplateIds(pageListParams.templateIds)
+						.setPermissions(pageListParams.permission)
+						.setEditors(getMatchingSystemUsers(publishParams.editor, publishParams.editorIds))
+						.setCreators(getMatchingSystemUsers(publishParams.creator, publishParams.creatorIds))
+						.setPublishers(getMatchingSystemUsers(publishParams.publisher, publishParams.publisherIds))
+						.setEditedBefore(publishParams.editedBefore).setEditedSince(publishParams.editedSince)
+						.setCreatedBefore(publishParams.createdBefore).setCreatedSince(publishParams.createdSince)
+						.setPublishedBefore(publishParams.publishedBefore).setPublishedSince(publishParams.publishedSince)
+						.setRecursive(inFolder.recursive).setInherited(pageListParams.inherited)
+						.setWastebin(wastebinParams.wastebinSearch == WastebinSearch.only)
+						.setIncludeMlIds(pageListParams.includeMlIds)
+						.setExcludeMlIds(pageListParams.excludeMlIds);
+
+					Comparator<Page> comparator = null;
+					if (!ObjectTransformer.isEmpty(sortingParams.sortBy) && !ObjectTransformer.isEmpty(sortingParams.sortOrder)) {
+						comparator = new PageComparator(sortingParams.sortBy, sortingParams.sortOrder);
 					}
 
-					// check view permission on the pages
-					for (Iterator<Page> iter = pages.iterator(); iter.hasNext(); ) {
-						Page page = iter.next();
-						if (!PermHandler.ObjectPermission.view.checkObject(page)) {
-							iter.remove();
+					List<Page> pages = null;
+					int numItems = 0;
+
+					// plain listings (without language) are sorted and paged in the database
+					String orderBy = getOrderByClause("page", comparator);
+					if (orderBy != null && search.isEmpty() && ObjectTransformer.isEmpty(pageListParams.language) && pageListParams.timeDue <= 0
+							&& pageListParams.inSync == null && !includeWastebin && !t.getNodeConfig().getDefaultPreferences().isFeature(Feature.MULTICHANNELLING)) {
+						Pair<Integer, List<Page>> sorted = getSortedPagesFromFolder(f, orderBy, pagingParams.skipCount, pagingParams.maxItems);
+						if (sorted != null) {
+							numItems = sorted.getLeft();
+							pages = sorted.getRight();
 						}
 					}
 
-					// if a language was set, we need to filter out pages of the wrong language
-					if (lang != null) {
-						if (pageListParams.langFallback) {
-							// if language fallback shall be used, we need to do it
-							// now
-							PageLanguageFallbackList fallbackList = new PageLanguageFallbackList(lang, node);
+					// otherwise, the pages are filtered, sorted and reduced in memory
+					if (pages == null) {
+						pages = getPagesFromFolder(f, search, pageListParams.timeDue, pageListParams.inSync);
 
-							for (Page page : pages) {
-								fallbackList.addPage(page);
+						if (wastebinParams.wastebinSearch == WastebinSearch.only) {
+							Wastebin.ONLY.filter(pages);
+						}
+
+						// check view permission on the pages
+						for (Iterator<Page> iter = pages.iterator(); iter.hasNext(); ) {
+							Page page = iter.next();
+							if (!PermHandler.ObjectPermission.view.checkObject(page)) {
+								iter.remove();
 							}
-							pages = fallbackList.getPages();
-						} else {
-							// otherwise we simply ignore languages of the wrong
-							// language
+						}
+
+						// if a language was set, we need to filter out pages of the wrong language
+						if (lang != null) {
+							if (pageListParams.langFallback) {
+								// if language fallback shall be used, we need to do it
+								// now
+								PageLanguageFallbackList fallbackList = new PageLanguageFallbackList(lang, node);
+
+								for (Page page : pages) {
+									fallbackList.addPage(page);
+								}
+								pages = fallbackList.getPages();
+							} else {
+								// otherwise we simply ignore languages of the wrong
+								// language
+								for (Iterator<Page> iPages = pages.iterator(); iPages.hasNext();) {
+									Page page = iPages.next();
+
+									if (!lang.equals(page.getLanguage())) {
+										iPages.remove();
+									}
+								}
+							}
+						} else if ("0".equals(pageListParams.language)) {
+							// "0" was set as language, so we only return pages WITHOUT language
 							for (Iterator<Page> iPages = pages.iterator(); iPages.hasNext();) {
 								Page page = iPages.next();
 
-								if (!lang.equals(page.getLanguage())) {
+								if (page.getLanguage() != null) {
 									iPages.remove();
 								}
 							}
-						}
-					} else if ("0".equals(pageListParams.language)) {
-						// "0" was set as language, so we only return pages WITHOUT language
-						for (Iterator<Page> iPages = pages.iterator(); iPages.hasNext();) {
-							Page page = iPages.next();
-
-							if (page.getLanguage() != null) {
-								iPages.remove();
-							}
-						}
-					} else {
-						// do the fallback with no specific language
-						PageLanguageFallbackList fallbackList = new PageLanguageFallbackList(null, node);
+						} else {
+							// do the fallback with no specific language
+							PageLanguageFallbackList fallbackList = new PageLanguageFallbackList(null, node);
 
-						fallbackList.setCheckViewPermission(true);
+							fallbackList.setCheckViewPermission(true);
 
-						for (Page page : pages) {
-							fallbackList.addPage(page);
+							for (Page page : pages) {
+								fallbackList.addPage(page);
+							}
+							pages = fallbackList.getPages();
 						}
-						pages = fallbackList.getPages();
-					}
 
-					// optionally sort the list
-					if (!ObjectTransformer.isEmpty(sortingParams.sortBy) && !ObjectTransformer.isEmpty(sortingParams.sortOrder)) {
-						Collections.sort(pages, new PageComparator(sortingParams.sortBy, sortingParams.sortOrder));
+						numItems = pages.size();
+						sortAndReduce(pages, comparator, pagingParams.skipCount, pagingParams.maxItems);
 					}
 
 					// create the response
 					LegacyPageListResponse response = new LegacyPageListResponse();
 
-					response.setHasMoreItems(pagingParams.maxItems >= 0 && (pages.size() > pagingParams.skipCount + pagingParams.maxItems));
-					response.setNumItems(pages.size());
-					reduceList(pages, pagingParams.skipCount, pagingParams.maxItems);
+					response.setHasMoreItems(pagingParams.maxItems >= 0 && (numItems > pagingParams.skipCount + pagingParams.maxItems));
+					response.setNumItems(numItems);
 
 					List<com.gentics.contentnode.rest.model.Page> restPages = new ArrayList<>(pages.size());
 
@@ -1064,6 +1086,105 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 		return pages;
 	}
 
+	/**
+	 * Get the requested part of the pages in the folder, sorted and paged in the database.
+	 * The view permission only depends on the folder and the language of the pages, so it is checked once per language
+	 * and the statements are restricted to the visible languages.
+	 * This must not be used, if multichannelling is activated or a search or restriction is given.
+	 * @param f folder
+	 * @param orderBy ORDER BY clause (see {@link #getOrderByClause(String, Comparator)})
+	 * @param skipCount number of pages to be skipped
+	 * @param maxItems maximum number of pages to be returned (-1 for all)
+	 * @return pair of the total number of visible pages and the requested pages, null if the folder contains language variants,
+	 * which must be reduced by the language fallback in memory
+	 * @throws NodeException
+	 */
+	protected Pair<Integer, List<Page>> getSortedPagesFromFolder(com.gentics.contentnode.object.Folder f, String orderBy, int skipCount, int maxItems)
+			throws NodeException {
+		Transaction t = getTransaction();
+		PermHandler permHandler = t.getPermHandler();
+		DBUtils.PrepareStatement prepare = stmt -> stmt.setInt(1, f.getId());
+		String from = "FROM page LEFT JOIN content ON page.content_id = content.id LEFT JOIN template ON page.template_id = template.id "
+				+ "WHERE page.folder_id = ? AND content.id IS NOT NULL AND template.id IS NOT NULL" + Wastebin.EXCLUDE.filterClause("page");
+
+		if (permHandler != null) {
+			if (!permHandler.canView(f)) {
+				return Pair.of(0, Collections.emptyList());
+			}
+
+			PermType viewPermType = Page.class.getAnnotation(ViewPermType.class).value();
+			List<Integer> visibleLanguageIds = new ArrayList<>();
+			for (Integer languageId : DBUtils.select("SELECT DISTINCT page.contentgroup_id id " + from, prepare, DBUtils.IDS)) {
+				if (permHandler.check(f, Page.class, languageId, viewPermType)) {
+					visibleLanguageIds.add(languageId);
+				}
+			}
+			if (visibleLanguageIds.isEmpty()) {
+				return Pair.of(0, Collections.emptyList());
+			}
+			from += " AND page.contentgroup_id IN (" + StringUtils.merge(visibleLanguageIds.toArray(), ",") + ")";
+		}
+
+		// the language fallback would only keep one of the language variants of a page
+		int variants = DBUtils.select("SELECT COUNT(*) - COUNT(DISTINCT page.contentset_id) c " + from + " AND page.contentgroup_id != 0 AND page.contentset_id != 0",
+				prepare, DBUtils.firstInt("c"));
+		if (variants > 0) {
+			return null;
+		}
+
+		int count = DBUtils.select("SELECT COUNT(*) c " + from, prepare, DBUtils.firstInt("c"));
+		if (count == 0) {
+			return Pair.of(0, Collections.emptyList());
+		}
+
+		List<Integer> ids = DBUtils.select("SELECT page.id " + from + orderBy + getLimitClause(skipCount, maxItems), prepare, DBUtils.IDLIST);
+		return Pair.of(count, t.getObjects(Page.class, ids));
+	}
+
+	/**
+	 * Get the ORDER BY clause, which sorts the rows of the given table like the comparator sorts the objects.
+	 * Only sorting by name, edit date or creation date can be done in the database, ties are broken by the id (like in the comparators).
+	 * @param table table name
+	 * @param comparator comparator (may be null)
+	 * @return ORDER BY clause or null, if the objects must be sorted in memory
+	 */
+	protected static String getOrderByClause(String table, Comparator<?> comparator) {
+		if (!(comparator instanceof AbstractComparator)) {
+			return null;
+		}
+		AbstractComparator sorting = (AbstractComparator) comparator;
+		String column = null;
+
+		switch (sorting.getAttribute()) {
+		case NAME:
+			column = "name";
+			break;
+		case EDIT_DATE:
+			column = "edate";
+			break;
+		case CREATE_DATE:
+			column = "cdate";
+			break;
+		default:
+			return null;
+		}
+
+		return String.format(" ORDER BY %1$s.%2$s %3$s, %1$s.id %3$s", table, column, sorting.getWay() < 0 ? "DESC" : "ASC");
+	}
+
+	/**
+	 * Get the LIMIT clause, which selects the requested part of the rows
+	 * @param skipCount number of rows to be skipped
+	 * @param maxItems maximum number of rows (-1 for all)
+	 * @return LIMIT clause (empty, if all rows are requested)
+	 */
+	protected static String getLimitClause(int skipCount, int maxItems) {
+		if (skipCount <= 0 && maxItems < 0) {
+			return "";
+		}
+		return String.format(" LIMIT %d, %d", Math.max(0, skipCount), maxItems >= 0 ? maxItems : Integer.MAX_VALUE);
+	}
+
 	@Override
 	@GET
 	@Path("/getFiles/{folderId}")
@@ -1116,9 +1237,17 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 			return null;
 		}
 
+		// the permission only depends on the folder, so it is checked once per folder
+		Map<Object, Boolean> folderPermissions = new HashMap<>();
 		List<File> filesWithPermission = new Vector<>();
 		for (File file : imagesOrFiles) {
-			if (PermHandler.ObjectPermission.view.checkClass(file.getFolder(), File.class, null)) {
+			com.gentics.contentnode.object.Folder folder = file.getFolder();
+			Boolean permitted = folderPermissions.get(folder.getId());
+			if (permitted == null) {
+				permitted = PermHandler.ObjectPermission.view.checkClass(folder, File.class, null);
+				folderPermissions.put(folder.getId(), permitted);
+			}
+			if (permitted) {
 				filesWithPermission.add(file);
 			}
 		}
@@ -1126,6 +1255,68 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 		return filesWithPermission;
 	}
 
+	/**
+	 * Get the requested part of the images or files in the folder, sorted and paged in the database.
+	 * The view permission only depends on the folder, so it is checked once before the statements are done.
+	 * This must not be used, if multichannelling is activated or a search or restriction is given.
+	 * @param f folder
+	 * @param type type of objects to get (images or files)
+	 * @param orderBy ORDER BY clause (see {@link #getOrderByClause(String, Comparator)})
+	 * @param skipCount number of images or files to be skipped
+	 * @param maxItems maximum number of images or files to be returned (-1 for all)
+	 * @return pair of the total number of images or files and the requested images or files
+	 * @throws NodeException
+	 */
+	protected Pair<Integer, List<File>> getSortedFilesOrImagesFromFolder(com.gentics.contentnode.object.Folder f, int type, String orderBy, int skipCount,
+			int maxItems) throws NodeException {
+		if (!PermHandler.ObjectPermission.view.checkClass(f, File.class, null)) {
+			return Pair.of(0, Collections.emptyList());
+		}
+
+		Transaction t = getTransaction();
+		DBUtils.PrepareStatement prepare = stmt -> stmt.setInt(1, f.getId());
+		StringBuilder from = new StringBuilder("FROM contentfile WHERE contentfile.folder_id = ?");
+		Class<? extends File> clazz = null;
+
+		if (type == ContentFile.TYPE_IMAGE) {
+			from.append(" AND contentfile.filetype LIKE 'image%'");
+			clazz = ImageFile.class;
+		} else {
+			from.append(" AND (contentfile.filetype NOT LIKE 'image%' OR contentfile.filetype IS NULL)");
+			clazz = File.class;
+		}
+		from.append(Wastebin.EXCLUDE.filterClause("contentfile"));
+
+		int count = DBUtils.select("SELECT COUNT(*) c " + from, prepare, DBUtils.firstInt("c"));
+		if (count == 0) {
+			return Pair.of(0, Collections.emptyList());
+		}
+
+		List<Integer> ids = DBUtils.select("SELECT contentfile.id " + from + orderBy + getLimitClause(skipCount, maxItems), prepare, DBUtils.IDLIST);
+		return Pair.of(count, new ArrayList<>(t.getObjects(clazz, ids)));
+	}
+
+	/**
+	 * Get the ids of the child folders of the given folder, which are visible for the current user, sorted in the database.
+	 * Since the view permission is granted per folder, it is checked for the ids (without loading the folders) and the
+	 * requested part of the list must be selected afterwards.
+	 * This must not be used, if multichannelling is activated or a search or restriction is given.
+	 * @param f folder
+	 * @param orderBy ORDER BY clause (see {@link #getOrderByClause(String, Comparator)})
+	 * @return sorted list of visible folder ids
+	 * @throws NodeException
+	 */
+	protected List<Integer> getSortedChildFolderIds(com.gentics.contentnode.object.Folder f, String orderBy) throws NodeException {
+		PermHandler permHandler = getTransaction().getPermHandler();
+		List<Integer> ids = DBUtils.select("SELECT folder.id FROM folder WHERE folder.mother = ? AND folder.channel_id = 0" + Wastebin.EXCLUDE.filterClause("folder") + orderBy,
+				stmt -> stmt.setInt(1, f.getId()), DBUtils.IDLIST);
+
+		if (permHandler != null) {
+			ids.removeIf(id -> !permHandler.checkPermissionBit(com.gentics.contentnode.object.Folder.TYPE_FOLDER, id, PermHandler.PERM_VIEW));
+		}
+		return ids;
+	}
+
 	/**
 	 * get files or images for a folder including search options etc.
 	 * @param type type of returned objects
@@ -1156,29 +1347,44 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 
 			try (WastebinFilter filter = getWastebinFilter(includeWastebin, inFolder.folderId)) {
 			com.gentics.contentnode.object.Folder f = getFolder(inFolder.folderId, false);
-				List<File> imagesOrFiles = getFilesOrImagesFromFolder(f, type,
-					FileSearch.create().setSearchString(filterParams.search).setNiceUrlSearch(fileListParams.niceUrl)
+				FileSearch search = FileSearch.create().setSearchString(filterParams.search).setNiceUrlSearch(fileListParams.niceUrl)
 						.setEditors(getMatchingSystemUsers(editableParams.editor, editableParams.editorIds))
 						.setCreators(getMatchingSystemUsers(editableParams.creator, editableParams.creatorIds))
 						.setEditedBefore(editableParams.editedBefore).setEditedSince(editableParams.editedSince)
 						.setCreatedBefore(editableParams.createdBefore).setCreatedSince(editableParams.createdSince)
 						.setRecursive(inFolder.recursive).setInherited(fileListParams.inherited).setOnline(fileListParams.online).setBroken(fileListParams.broken)
-						.setUsed(fileListParams.used).setUsedIn(fileListParams.usedIn).setWastebin(wastebinParams.wastebinSearch == WastebinSearch.only));
+						.setUsed(fileListParams.used).setUsedIn(fileListParams.usedIn).setWastebin(wastebinParams.wastebinSearch == WastebinSearch.only);
 
-				if (wastebinParams.wastebinSearch == WastebinSearch.only) {
-					Wastebin.ONLY.filter(imagesOrFiles);
+				Comparator<File> comparator = null;
+				if (!ObjectTransformer.isEmpty(sortingParams.sortBy) && !ObjectTransformer.isEmpty(sortingParams.sortOrder)) {
+					comparator = new FileComparator(sortingParams.sortBy, sortingParams.sortOrder);
 				}
 
-				if (!ObjectTransformer.isEmpty(sortingParams.sortBy) && !ObjectTransformer.isEmpty(sortingParams.sortOrder)) {
-					Collections.sort(imagesOrFiles, new FileComparator(sortingParams.sortBy, sortingParams.sortOrder));
+				List<File> imagesOrFiles = null;
+				int numItems = 0;
+				String orderBy = getOrderByClause("contentfile", comparator);
+
+				if (orderBy != null && search.isEmpty() && !includeWastebin && !t.getNodeConfig().getDefaultPreferences().isFeature(Feature.MULTICHANNELLING)) {
+					// plain listings are sorted and paged in the database
+					Pair<Integer, List<File>> sorted = getSortedFilesOrImagesFromFolder(f, type, orderBy, pagingParams.skipCount, pagingParams.maxItems);
+					numItems = sorted.getLeft();
+					imagesOrFiles = sorted.getRight();
+				} else {
+					imagesOrFiles = getFilesOrImagesFromFolder(f, type, search);
+
+					if (wastebinParams.wastebinSearch == WastebinSearch.only) {
+						Wastebin.ONLY.filter(imagesOrFiles);
+					}
+
+					numItems = imagesOrFiles.size();
+					sortAndReduce(imagesOrFiles, comparator, pagingParams.skipCount, pagingParams.maxItems);
 				}
 
 				// create the response
 				LegacyFileListResponse response = new LegacyFileListResponse(null, new ResponseInfo(ResponseCode.OK, "Successfully loaded files"));
 
-				response.setNumItems(imagesOrFiles.size());
-				response.setHasMoreItems(pagingParams.maxItems >= 0 && (imagesOrFiles.size() > pagingParams.skipCount + pagingParams.maxItems));
-				reduceList(imagesOrFiles, pagingParams.skipCount, pagingParams.maxItems);
+				response.setNumItems(numItems);
+				response.setHasMoreItems(pagingParams.maxItems >= 0 && (numItems > pagingParams.skipCount + pagingParams.maxItems));
 
 				List<com.gentics.contentnode.rest.model.File> restFiles = new ArrayList<>(imagesOrFiles.size());
 
@@ -1261,89 +1467,103 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 			channelIdSet = setChannelToTransaction(folderListParams.nodeId);
 
 			List<com.gentics.contentnode.object.Folder> folders = null;
+			int numItems = 0;
 
-			if ("0".equalsIgnoreCase(id)) {
-				// get the root folders
-				PreparedStatement pst = null;
-				ResultSet res = null;
-
-				try {
-					pst = t.prepareStatement("SELECT id FROM folder WHERE mother = ? AND deleted = 0");
-					pst.setInt(1, 0);
-					res = pst.executeQuery();
+			FolderComparator comparator = null;
+			if (sortParams.sortBy != null && sortParams.sortOrder != null) {
+				comparator = new FolderComparator(sortParams.sortBy, sortParams.sortOrder);
+			}
 
-					Collection<Integer> ids = new ArrayList<>();
+			boolean multiChanneling = t.getNodeConfig().getDefaultPreferences().isFeature(Feature.MULTICHANNELLING);
+			String orderBy = getOrderByClause("folder", comparator);
 
-					while (res.next()) {
-						ids.add(res.getInt("id"));
-					}
+			if (!"0".equalsIgnoreCase(id) && orderBy != null && !multiChanneling && !inFolder.recursive && !includeWastebin && folderListParams.inherited == null
+					&& ObjectTransformer.isEmpty(filterParams.search) && ObjectTransformer.isEmpty(editableParams.editor) && ObjectTransformer.isEmpty(editableParams.creator)
+					&& editableParams.editedBefore <= 0 && editableParams.editedSince <= 0 && editableParams.createdBefore <= 0 && editableParams.createdSince <= 0) {
+				// plain listings of subfolders are sorted in the database, only the requested folders are loaded
+				try (WastebinFilter filter = getWastebinFilter(includeWastebin, id)) {
+					List<Integer> folderIds = getSortedChildFolderIds(getFolder(id, false), orderBy);
 
-					folders = new ArrayList<>(t.getObjects(com.gentics.contentnode.object.Folder.class, ids));
-				} catch (SQLException e) {
-					throw new NodeException("Error while getting root folders", e);
-				} finally {
-					t.closeResultSet(res);
-					t.closeStatement(pst);
+					numItems = folderIds.size();
+					reduceList(folderIds, pagingParams.skipCount, pagingParams.maxItems);
+					folders = new ArrayList<>(t.getObjects(com.gentics.contentnode.object.Folder.class, folderIds));
 				}
-
 			} else {
-				// get the list of subfolders
-				try (WastebinFilter filter = getWastebinFilter(includeWastebin, id)) {
-					// get the given folder
-					com.gentics.contentnode.object.Folder f = getFolder(id, false);
+				if ("0".equalsIgnoreCase(id)) {
+					// get the root folders
+					PreparedStatement pst = null;
+					ResultSet res = null;
 
-					folders = new ArrayList<>(f.getChildFolders());
-				}
-			}
+					try {
+						pst = t.prepareStatement("SELECT id FROM folder WHERE mother = ? AND deleted = 0");
+						pst.setInt(1, 0);
+						res = pst.executeQuery();
 
-			// remove the folders with insufficient permission
-			try (WastebinFilter filter = getWastebinFilter(includeWastebin, id)) {
-				boolean multiChanneling = t.getNodeConfig().getDefaultPreferences().isFeature(Feature.MULTICHANNELLING);
+						Collection<Integer> ids = new ArrayList<>();
 
-				for (Iterator<com.gentics.contentnode.object.Folder> i = folders.iterator(); i.hasNext(); ) {
-					com.gentics.contentnode.object.Folder folder = i.next();
-					boolean skipChannel = !multiChanneling && folder.getChannel() != null;
+						while (res.next()) {
+							ids.add(res.getInt("id"));
+						}
 
-					if (skipChannel || !ObjectPermission.view.checkObject(folder)) {
-						i.remove();
+						folders = new ArrayList<>(t.getObjects(com.gentics.contentnode.object.Folder.class, ids));
+					} catch (SQLException e) {
+						throw new NodeException("Error while getting root folders", e);
+					} finally {
+						t.closeResultSet(res);
+						t.closeStatement(pst);
+					}
+
+				} else {
+					// get the list of subfolders
+					try (WastebinFilter filter = getWastebinFilter(includeWastebin, id)) {
+						// get the given folder
+						com.gentics.contentnode.object.Folder f = getFolder(id, false);
+
+						folders = new ArrayList<>(f.getChildFolders());
 					}
 				}
-			}
 
-			// when folders shall be fetched recursively, do this now
-			if (inFolder.recursive && !folderListParams.tree) {
-				List<com.gentics.contentnode.object.Folder> subFolders = new ArrayList<>();
+				// remove the folders with insufficient permission
+				try (WastebinFilter filter = getWastebinFilter(includeWastebin, id)) {
+					for (Iterator<com.gentics.contentnode.object.Folder> i = folders.iterator(); i.hasNext(); ) {
+						com.gentics.contentnode.object.Folder folder = i.next();
+						boolean skipChannel = !multiChanneling && folder.getChannel() != null;
 
-				for (com.gentics.contentnode.object.Folder folder : folders) {
-					try (WastebinFilter filter = WastebinFilter.get(includeWastebin, folder.getOwningNode())) {
-						subFolders.addAll(recursiveGetSubfolders(folder, recursiveIds, PermHandler.ObjectPermission.view));
+						if (skipChannel || !ObjectPermission.view.checkObject(folder)) {
+							i.remove();
+						}
 					}
 				}
-				folders.addAll(subFolders);
-			}
 
-			// filter by optional search criteria
-			filterBySearch(folders, folderListParams.inherited, filterParams.search, editableParams, wastebinParams.wastebinSearch);
+				// when folders shall be fetched recursively, do this now
+				if (inFolder.recursive && !folderListParams.tree) {
+					List<com.gentics.contentnode.object.Folder> subFolders = new ArrayList<>();
 
-			// create a response with the folders
-			LegacyFolderListResponse response = new LegacyFolderListResponse(null, new ResponseInfo(ResponseCode.OK, "Successfully loaded subfolders"));
+					for (com.gentics.contentnode.object.Folder folder : folders) {
+						try (WastebinFilter filter = WastebinFilter.get(includeWastebin, folder.getOwningNode())) {
+							subFolders.addAll(recursiveGetSubfolders(folder, recursiveIds, PermHandler.ObjectPermission.view));
+						}
+					}
+					folders.addAll(subFolders);
+				}
 
-			response.setNumItems(folders.size());
-			response.setHasMoreItems(pagingParams.maxItems >= 0 && (folders.size() > pagingParams.skipCount + pagingParams.maxItems));
+				// filter by optional search criteria
+				filterBySearch(folders, folderListParams.inherited, filterParams.search, editableParams, wastebinParams.wastebinSearch);
 
-			folders = new ArrayList<>(folders);
+				numItems = folders.size();
+				folders = new ArrayList<>(folders);
 
-			// sort the list
-			Comparator<com.gentics.contentnode.object.Folder> comparator = null;
-			if (sortParams.sortBy != null && sortParams.sortOrder != null) {
-				comparator = new FolderComparator(sortParams.sortBy, sortParams.sortOrder);
+				// sort the list and reduce it if necessary
 				try (WastebinFilter filter = getWastebinFilter(includeWastebin, id)) {
-					Collections.sort(folders, comparator);
+					sortAndReduce(folders, comparator, pagingParams.skipCount, pagingParams.maxItems);
 				}
 			}
 
-			// reduce the list if necessary
-			reduceList(folders, pagingParams.skipCount, pagingParams.maxItems);
+			// create a response with the folders
+			LegacyFolderListResponse response = new LegacyFolderListResponse(null, new ResponseInfo(ResponseCode.OK, "Successfully loaded subfolders"));
+
+			response.setNumItems(numItems);
+			response.setHasMoreItems(pagingParams.maxItems >= 0 && (numItems > pagingParams.skipCount + pagingParams.maxItems));
 
 			List<Folder> restFolders = new ArrayList<>(folders.size());
 
@@ -1974,17 +2194,18 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 			}
 		}
 
-		// sort the list
-		if (!ObjectTransformer.isEmpty(sorting.sortBy) && !ObjectTransformer.isEmpty(sorting.sortOrder) && !ObjectTransformer.isEmpty(items)) {
-			Collections.sort(items, new ItemComparator(sorting.sortBy, sorting.sortOrder));
-		}
-
 		// create the response
 		ItemListResponse response = new ItemListResponse();
 
 		response.setNumItems(items.size());
 		response.setHasMoreItems(paging.maxItems >= 0 && (items.size() > paging.skipCount + paging.maxItems));
-		reduceList(items, paging.skipCount, paging.maxItems);
+
+		// sort the list and reduce it
+		Comparator<ContentNodeItem> comparator = null;
+		if (!ObjectTransformer.isEmpty(sorting.sortBy) && !ObjectTransformer.isEmpty(sorting.sortOrder) && !ObjectTransformer.isEmpty(items)) {
+			comparator = new ItemComparator(sorting.sortBy, sorting.sortOrder);
+		}
+		sortAndReduce(items, comparator, paging.skipCount, paging.maxItems);
 		response.setItems(items);
 
 		response.setResponseInfo(new ResponseInfo(ResponseCode.OK, "Successfully loaded items"));
@@ -2043,18 +2264,26 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 				recursiveGetFolderIds(folderId, folderIds);
 			}
 
+			// when the full-text index is enabled, the pages with names matching the words of the query (as prefixes) are found in the index
+			Set<Integer> indexedIds = ObjectTransformer.isEmpty(query) || folderIds.isEmpty() ? null
+					: FullTextIndex.find(Page.TYPE_PAGE, query, false, false, folderIds);
+
 			// get all pages within those folder id's that match the given
 			// criteria
-			if (folderIds.size() > 0) {
+			if (folderIds.size() > 0 && (indexedIds == null || !indexedIds.isEmpty())) {
 				StringBuffer sql = new StringBuffer(70 + 2 * folderIds.size());
 
-				sql.append("SELECT id FROM page WHERE deleted = 0 AND name LIKE ? AND folder_id IN (");
+				sql.append("SELECT id FROM page WHERE deleted = 0 AND ");
+				sql.append(indexedIds != null ? "id IN (" + StringUtils.merge(indexedIds.toArray(), ",") + ")" : "name LIKE ?");
+				sql.append(" AND folder_id IN (");
 				sql.append(StringUtils.repeat("?", folderIds.size(), ","));
 				sql.append(") limit " + skipCount + ", " + maxItems);
 				pst = t.prepareStatement(sql.toString());
 				int paramCounter = 0;
 
-				pst.setString(++paramCounter, "%" + ObjectTransformer.getString(query, "") + "%");
+				if (indexedIds == null) {
+					pst.setString(++paramCounter, "%" + ObjectTransformer.getString(query, "") + "%");
+				}
 				for (Iterator<Integer> i = folderIds.iterator(); i.hasNext();) {
 					pst.setInt(++paramCounter, i.next());
 				}
@@ -2156,18 +2385,26 @@ public class FolderResourceImpl extends AuthenticatedContentNodeResource impleme
 				recursiveGetFolderIds(folderId, folderIds);
 			}
 
+			// when the full-text index is enabled, the files with names matching the words of the query (as prefixes) are found in the index
+			Set<Integer> indexedIds = ObjectTransformer.isEmpty(query) || folderIds.isEmpty() ? null
+					: FullTextIndex.find(File.TYPE_FILE, query, false, false, folderIds);
+
 			// get all pages within those folder id's that match the given
 			// criteria
-			if (folderIds.size() > 0) {
+			if (folderIds.size() > 0 && (indexedIds == null || !indexedIds.isEmpty())) {
 				StringBuffer sql = new StringBuffer(70 + 2 * folderIds.size());
 
-				sql.append("SELECT id FROM contentfile WHERE deleted = 0 AND name LIKE ? AND folder_id IN (");
+				sql.append("SELECT id FROM contentfile WHERE deleted = 0 AND ");
+				sql.append(indexedIds != null ? "id IN (" + StringUtils.merge(indexedIds.toArray(), ",") + ")" : "name LIKE ?");
+				sql.append(" AND folder_id IN (");
 				sql.append(StringUtils.repeat("?", folderIds.size(), ","));
 				sql.append(") AND filetype NOT LIKE 'image%' limit " + skipCount + ", " + maxItems);
 				pst = t.prepareStatement(sql.toString());
 				int paramCounter = 0;
 
-				pst.setString(++paramCounter, "%" + query + "%");
+				if (indexedIds == null) {
+					pst.setString(++paramCounter, "%" + query + "%");
+				}
 				for (Iterator<Integer> i = folderIds.iterator(); i.hasNext();) {
 					pst.setInt(++paramCounter, i.next());
 				}
@@ -16,6 +16,7 @@ import jakarta.ws.rs.core.Response.Status;
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.db.DBUtils;
 import com.gentics.contentnode.etc.ContentNodeHelper;
+import com.gentics.contentnode.factory.SessionCache;
 import com.gentics.contentnode.factory.Trx;
 import com.gentics.contentnode.factory.object.UserLanguageFactory;
 import com.gentics.contentnode.object.UserLanguage;
@@ -80,6 +81,7 @@ public class I18nResourceImpl implements I18nResource {
 			}
 
 			DBUtils.update("UPDATE systemsession SET language = ? WHERE id = ?", language.getId(), trx.getTransaction().getSession().getSessionId());
+			SessionCache.invalidate(trx.getTransaction().getSession().getSessionId());
 			trx.success();
 
 			return new GenericResponse(null, new ResponseInfo(ResponseCode.OK, "Successfully modified language"));
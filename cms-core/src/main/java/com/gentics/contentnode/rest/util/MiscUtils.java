@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
 import java.util.Vector;
@@ -1064,18 +1065,72 @@ public class MiscUtils {
 	public static void reduceList(List<? extends Object> list, Integer skipCount, Integer maxItems) {
 		// skip skipCount elements from the start
 		if (skipCount > 0) {
-			skipCount = Math.min(skipCount, list.size());
-			for (int i = 0; i < skipCount; i++) {
-				list.remove(0);
-			}
+			list.subList(0, Math.min(skipCount, list.size())).clear();
+		}
+
+		if (maxItems >= 0 && list.size() > maxItems) {
+			// remove elements from the end, so that no more than maxItems are present in the list
+			list.subList(maxItems, list.size()).clear();
+		}
+	}
+
+	/**
+	 * Sort the given list with the comparator (if not null) and reduce it like {@link #reduceList(List, Integer, Integer)}.
+	 * If only a small part of the list is requested, the requested elements are selected with a bounded heap (top-K) instead of sorting the whole list.
+	 * The result is identical to a stable sort followed by {@link #reduceList(List, Integer, Integer)}, because elements comparing as equal keep their original order.
+	 * @param list list of objects to be sorted and reduced
+	 * @param comparator comparator, may be null to only reduce the list
+	 * @param skipCount number of elements to be skipped
+	 * @param maxItems maximum number of items to be returned (-1 for all)
+	 */
+	public static <T> void sortAndReduce(List<T> list, Comparator<? super T> comparator, Integer skipCount, Integer maxItems) {
+		int skip = Math.max(0, ObjectTransformer.getInt(skipCount, 0));
+		int max = ObjectTransformer.getInt(maxItems, -1);
+
+		if (comparator == null) {
+			reduceList(list, skip, max);
+			return;
 		}
 
-		if (maxItems >= 0) {
-			// remove elements from the end, until no more than maxItems are present in the list
-			while (list.size() > 0 && list.size() > maxItems) {
-				list.remove(list.size() - 1);
+		int size = list.size();
+		// the heap only pays off, if a small part of the list is requested
+		if (max < 0 || (long) skip + max >= size / 2) {
+			Collections.sort(list, comparator);
+			reduceList(list, skip, max);
+			return;
+		}
+
+		int k = skip + max;
+		if (k == 0) {
+			list.clear();
+			return;
+		}
+
+		List<T> elements = new ArrayList<>(list);
+		// compare indices by their elements, equal elements are ordered by their index (which makes the selection stable)
+		Comparator<Integer> byElement = (i1, i2) -> {
+			int cmp = comparator.compare(elements.get(i1), elements.get(i2));
+			return cmp != 0 ? cmp : Integer.compare(i1, i2);
+		};
+
+		// keep the k smallest elements in a max-heap
+		PriorityQueue<Integer> top = new PriorityQueue<>(k + 1, byElement.reversed());
+		for (int i = 0; i < size; i++) {
+			if (top.size() < k) {
+				top.add(i);
+			} else if (byElement.compare(i, top.peek()) < 0) {
+				top.poll();
+				top.add(i);
 			}
 		}
+
+		List<Integer> indices = new ArrayList<>(top);
+		Collections.sort(indices, byElement);
+
+		list.clear();
+		for (Integer index : indices.subList(Math.min(skip, indices.size()), indices.size())) {
+			list.add(elements.get(index));
+		}
 	}
 
 	/**
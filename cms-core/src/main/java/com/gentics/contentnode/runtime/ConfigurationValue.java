@@ -52,6 +52,11 @@ public enum ConfigurationValue {
 	 */
 	CACHE_CONFIG_PATH("CACHE_CONFIG_PATH", "com.gentics.contentnode.cache.config.path", () -> CONF_PATH.get() + "cache.ccf"),
 
+	/**
+	 * Cache implementation ("jcs" or "caffeine")
+	 */
+	CACHE_IMPLEMENTATION("CACHE_IMPLEMENTATION", "com.gentics.contentnode.cache.implementation", () -> "jcs"),
+
 	/**
 	 * Path to the directory, where the cache files will be stored
 	 */
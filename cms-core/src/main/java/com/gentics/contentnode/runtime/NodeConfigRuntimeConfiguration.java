@@ -35,6 +35,7 @@ import com.gentics.contentnode.jmx.MBeanRegistry;
 import com.gentics.contentnode.jmx.SessionInfo;
 import com.gentics.contentnode.object.Node;
 import com.gentics.contentnode.publish.InstantCRPublishing;
+import com.gentics.contentnode.publish.InstantPublishingCoalescer;
 import com.gentics.contentnode.rest.model.response.Message;
 import com.gentics.contentnode.rest.model.response.Message.Type;
 import com.gentics.contentnode.server.ServletContextHandlerService;
@@ -158,8 +159,11 @@ public class NodeConfigRuntimeConfiguration {
 			if (instantCRPublishingSettings != null) {
 				InstantCRPublishing.set(ObjectTransformer.getInt(instantCRPublishingSettings.get("maxErrorCount"), 0),
 						ObjectTransformer.getInt(instantCRPublishingSettings.get("retryAfter"), 0));
+				InstantPublishingCoalescer.set(ObjectTransformer.getLong(instantCRPublishingSettings.get("coalesceWindow"), 0),
+						ObjectTransformer.getInt(instantCRPublishingSettings.get("coalesceMaxBatchSize"), 0));
 			} else {
 				InstantCRPublishing.set(0, 0);
+				InstantPublishingCoalescer.set(0, 0);
 			}
 		} catch (Exception e) {
 			throw new NodeException("Error while loading Gentics Content.Node configuration", e);
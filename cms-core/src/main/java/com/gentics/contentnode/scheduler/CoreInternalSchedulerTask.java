@@ -14,6 +14,7 @@ import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.db.DBUtils;
 import com.gentics.contentnode.etc.Feature;
 import com.gentics.contentnode.etc.Function;
+import com.gentics.contentnode.factory.object.ContentAddressedStore;
 import com.gentics.contentnode.i18n.I18NHelper;
 import com.gentics.contentnode.logger.LogCollector;
 import com.gentics.contentnode.logger.StringListAppender;
@@ -85,6 +86,21 @@ public enum CoreInternalSchedulerTask implements InternalSchedulerTask {
 	}),
 
 
+	/**
+	 * Task that purges unreferenced binary contents from the content addressed storage
+	 */
+	purgedbfiles("Purge Binary Contents", "Purge binary contents of files, which are no longer referenced, from the content addressed storage", out -> {
+		try {
+			ContentAddressedStore.PurgeResult result = ContentAddressedStore.get().purge();
+			out.add(String.format("Purged %s", result));
+		} catch (IOException e) {
+			out.add("Error while purging binary contents:");
+			out.add(ExceptionUtils.getStackTrace(e));
+			return false;
+		}
+		return true;
+	}),
+
 	/**
 	 * Task that publishes dirted objects
 	 */
@@ -0,0 +1,878 @@
+package com.gentics.contentnode.search;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilter;
+import org.apache.lucene.analysis.de.GermanLightStemFilter;
+import org.apache.lucene.analysis.de.GermanNormalizationFilter;
+import org.apache.lucene.analysis.en.EnglishMinimalStemFilter;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilter;
+import org.apache.lucene.analysis.es.SpanishLightStemFilter;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchLightStemFilter;
+import org.apache.lucene.analysis.it.ItalianLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import com.gentics.api.lib.etc.ObjectTransformer;
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.db.DBUtils;
+import com.gentics.contentnode.etc.Feature;
+import com.gentics.contentnode.etc.NodePreferences;
+import com.gentics.contentnode.etc.PrefixedThreadFactory;
+import com.gentics.contentnode.events.Events;
+import com.gentics.contentnode.factory.AbstractTransactional;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.object.File;
+import com.gentics.contentnode.object.ImageFile;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.runtime.ConfigurationValue;
+import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.lib.log.NodeLogger;
+
+/**
+ * Embedded full-text index for pages, files and images, which is stored on disk (using Lucene).
+ * When the index is enabled, the string searches for pages and files look up the matching objects in the index instead of
+ * scanning the tables with LIKE predicates. The searched string is split into words and every word must match as prefix of an indexed word.
+ * Names, descriptions and page contents are tokenized with an analyzer for the language of the page (if supported).
+ * The index only finds candidate ids, which are restricted to the searched folders. All other restrictions (and the permission checks)
+ * are still applied to the candidates afterwards.
+ * The index is kept up to date by the dirt queue (see {@link #handleEvent(int, int, int)}). The objects are indexed by the thread of the index,
+ * after the transaction handling the dirt event has been committed.
+ */
+public class FullTextIndex implements FullTextIndexMBean {
+	/**
+	 * Name of the configuration parameter to enable the full-text index
+	 */
+	public final static String ENABLED_PARAM = "fulltext_index.enabled";
+
+	/**
+	 * Name of the configuration parameter for the index directory
+	 */
+	public final static String PATH_PARAM = "fulltext_index.path";
+
+	/**
+	 * Name of the configuration parameter for the maximum number of hits
+	 */
+	public final static String MAX_HITS_PARAM = "fulltext_index.maxhits";
+
+	/**
+	 * Default maximum number of hits. Searches with more hits are done in the database.
+	 */
+	public final static int DEFAULT_MAX_HITS = 1000;
+
+	/**
+	 * Interval for committing changes of the index in seconds
+	 */
+	public final static int COMMIT_INTERVAL_S = 10;
+
+	/**
+	 * Languages, which have a specific analyzer
+	 */
+	public final static List<String> LANGUAGES = Arrays.asList("de", "en", "fr", "it", "es");
+
+	/**
+	 * Field for updating and deleting documents (object type and id)
+	 */
+	protected final static String KEY_FIELD = "key";
+
+	/**
+	 * Field containing the object id
+	 */
+	protected final static String ID_FIELD = "id";
+
+	/**
+	 * Field containing the object type
+	 */
+	protected final static String TYPE_FIELD = "type";
+
+	/**
+	 * Field containing the id of the folder
+	 */
+	protected final static String FOLDER_FIELD = "folder";
+
+	/**
+	 * Field (prefix) for the name
+	 */
+	protected final static String NAME_FIELD = "name";
+
+	/**
+	 * Field (prefix) for the description
+	 */
+	protected final static String DESCRIPTION_FIELD = "description";
+
+	/**
+	 * Field (prefix) for the page content
+	 */
+	protected final static String CONTENT_FIELD = "content";
+
+	/**
+	 * Logger
+	 */
+	protected static NodeLogger logger = NodeLogger.getNodeLogger(FullTextIndex.class);
+
+	/**
+	 * Singleton (null if the index is not enabled)
+	 */
+	protected static volatile FullTextIndex instance;
+
+	/**
+	 * Index path
+	 */
+	protected Path path;
+
+	/**
+	 * Maximum number of hits
+	 */
+	protected int maxHits;
+
+	/**
+	 * Index directory
+	 */
+	protected Directory directory;
+
+	/**
+	 * Analyzer for all fields
+	 */
+	protected Analyzer analyzer;
+
+	/**
+	 * Index writer
+	 */
+	protected IndexWriter writer;
+
+	/**
+	 * Searcher manager (near realtime)
+	 */
+	protected SearcherManager searcherManager;
+
+	/**
+	 * Service, which rebuilds the index and commits the changes
+	 */
+	protected ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor(new PrefixedThreadFactory("fulltext-index"));
+
+	/**
+	 * Flag, which is false while the index is being built
+	 */
+	protected volatile boolean ready = false;
+
+	/**
+	 * Number of answered searches
+	 */
+	protected LongAdder searches = new LongAdder();
+
+	/**
+	 * Number of searches with too many hits
+	 */
+	protected LongAdder overflows = new LongAdder();
+
+	/**
+	 * Number of updates
+	 */
+	protected LongAdder updates = new LongAdder();
+
+	/**
+	 * Duration of the last rebuild in ms
+	 */
+	protected volatile long rebuildTime;
+
+	/**
+	 * Initialize the full-text index according to the configuration. If the index is enabled, it is opened (and built in the background, if
+	 * it is empty). If the index is disabled, it is closed.
+	 * The index is stored locally and only updated on the instance handling the dirt queue, so it is never enabled with the feature {@link Feature#CLUSTER}.
+	 * @throws NodeException
+	 */
+	public static synchronized void initialize() throws NodeException {
+		boolean enabled = false;
+		String path = null;
+		int maxHits = DEFAULT_MAX_HITS;
+		try {
+			NodePreferences prefs = NodeConfigRuntimeConfiguration.getPreferences();
+			enabled = ObjectTransformer.getBoolean(prefs.getProperty(ENABLED_PARAM), false);
+			path = prefs.getProperty(PATH_PARAM);
+			maxHits = ObjectTransformer.getInt(prefs.getProperty(MAX_HITS_PARAM), DEFAULT_MAX_HITS);
+			if (enabled && prefs.isFeature(Feature.CLUSTER)) {
+				logger.warn(String.format("The full-text index cannot be used with the feature %s, index will be disabled", Feature.CLUSTER.getName()));
+				enabled = false;
+			}
+		} catch (Exception e) {
+			logger.warn("Could not read configuration for the full-text index, index will be disabled", e);
+			enabled = false;
+		}
+
+		if (enabled && instance == null) {
+			if (StringUtils.isEmpty(path)) {
+				path = ConfigurationValue.CACHE_PATH.get() + "fulltextindex";
+			}
+			FullTextIndex index = new FullTextIndex(Paths.get(path), maxHits);
+			instance = index;
+			MBeanRegistry.registerMBean(index, "Search", "FullTextIndex");
+			if (index.getDocuments() == 0) {
+				index.rebuild();
+			} else {
+				index.ready = true;
+			}
+		} else if (!enabled && instance != null) {
+			shutdown();
+		}
+	}
+
+	/**
+	 * Close the full-text index (if enabled)
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			FullTextIndex closing = instance;
+			instance = null;
+			MBeanRegistry.unregisterMBean("Search", "FullTextIndex");
+			closing.close();
+			logger.info("Closed full-text index");
+		}
+	}
+
+	/**
+	 * Get the full-text index
+	 * @return full-text index or null, if not enabled
+	 */
+	public static FullTextIndex get() {
+		return instance;
+	}
+
+	/**
+	 * Find the ids of the objects, which match the given query, if the index is enabled and ready
+	 * @param objType object type ({@link Page#TYPE_PAGE} or {@link File#TYPE_FILE} for files and images)
+	 * @param query query string
+	 * @param searchDescription true to also search in the description
+	 * @param searchContent true to also search in the content of pages
+	 * @param folderIds optional collection of folder ids to restrict the search
+	 * @return set of matching ids or null, if the search must be done in the database
+	 */
+	public static Set<Integer> find(int objType, String query, boolean searchDescription, boolean searchContent, Collection<Integer> folderIds) {
+		FullTextIndex index = instance;
+		if (index == null) {
+			return null;
+		}
+		try {
+			return index.search(objType, query, searchDescription, searchContent, folderIds);
+		} catch (NodeException e) {
+			logger.error("Error while searching in the full-text index, searching in the database", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Update the index for an event, which was handled by the dirt queue. The object will be indexed by the thread of the index,
+	 * after the current transaction has been committed.
+	 * @param objType object type
+	 * @param objId object id
+	 * @param eventMask event mask
+	 * @throws NodeException
+	 */
+	public static void handleEvent(int objType, int objId, int eventMask) throws NodeException {
+		FullTextIndex index = instance;
+		if (index == null || objId <= 0) {
+			return;
+		}
+		if (objType != Page.TYPE_PAGE && objType != File.TYPE_FILE && objType != ImageFile.TYPE_IMAGE) {
+			return;
+		}
+		if (!Events.isEvent(eventMask, Events.CREATE) && !Events.isEvent(eventMask, Events.UPDATE) && !Events.isEvent(eventMask, Events.DELETE)
+				&& !Events.isEvent(eventMask, Events.MOVE) && !Events.isEvent(eventMask, Events.NOTIFY)) {
+			return;
+		}
+
+		TransactionManager.getCurrentTransaction().addTransactional(new AbstractTransactional() {
+			@Override
+			public void onDBCommit(Transaction t) throws NodeException {
+			}
+
+			@Override
+			public boolean onTransactionCommit(Transaction t) {
+				index.scheduleUpdate(objType, objId);
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Create an analyzer for the given language
+	 * @param language language code (null or unsupported languages use a language neutral analyzer)
+	 * @param html true to strip html markup
+	 * @return analyzer
+	 */
+	protected static Analyzer createAnalyzer(String language, boolean html) {
+		return new Analyzer() {
+			@Override
+			protected Reader initReader(String fieldName, Reader reader) {
+				return html ? new HTMLStripCharFilter(reader) : reader;
+			}
+
+			@Override
+			protected TokenStreamComponents createComponents(String fieldName) {
+				Tokenizer source = new StandardTokenizer();
+				TokenStream result = null;
+				switch (StringUtils.defaultString(language)) {
+				case "de":
+					result = new GermanLightStemFilter(new GermanNormalizationFilter(new LowerCaseFilter(source)));
+					break;
+				case "en":
+					result = new EnglishMinimalStemFilter(new LowerCaseFilter(new EnglishPossessiveFilter(source)));
+					break;
+				case "fr":
+					result = new FrenchLightStemFilter(new LowerCaseFilter(new ElisionFilter(source, FrenchAnalyzer.DEFAULT_ARTICLES)));
+					break;
+				case "it":
+					result = new ItalianLightStemFilter(new LowerCaseFilter(source));
+					break;
+				case "es":
+					result = new SpanishLightStemFilter(new LowerCaseFilter(source));
+					break;
+				default:
+					result = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+					break;
+				}
+				return new TokenStreamComponents(source, result);
+			}
+		};
+	}
+
+	/**
+	 * Get the name of the field with the given prefix for the language
+	 * @param prefix field prefix
+	 * @param language language code (may be null)
+	 * @return field name
+	 */
+	protected static String field(String prefix, String language) {
+		if (language != null && LANGUAGES.contains(language)) {
+			return prefix + "_" + language;
+		} else {
+			return prefix;
+		}
+	}
+
+	/**
+	 * Get the key of the document for the given object
+	 * @param objType object type
+	 * @param objId object id
+	 * @return key
+	 */
+	protected static String key(int objType, int objId) {
+		return objType + "." + objId;
+	}
+
+	/**
+	 * Open the index in the given directory
+	 * @param path index directory
+	 * @param maxHits maximum number of hits
+	 * @throws NodeException
+	 */
+	protected FullTextIndex(Path path, int maxHits) throws NodeException {
+		this.path = path;
+		this.maxHits = maxHits;
+
+		Map<String, Analyzer> fieldAnalyzers = new HashMap<>();
+		fieldAnalyzers.put(CONTENT_FIELD, createAnalyzer(null, true));
+		for (String language : LANGUAGES) {
+			fieldAnalyzers.put(field(NAME_FIELD, language), createAnalyzer(language, false));
+			fieldAnalyzers.put(field(DESCRIPTION_FIELD, language), createAnalyzer(language, false));
+			fieldAnalyzers.put(field(CONTENT_FIELD, language), createAnalyzer(language, true));
+		}
+		analyzer = new PerFieldAnalyzerWrapper(createAnalyzer(null, false), fieldAnalyzers);
+
+		try {
+			directory = FSDirectory.open(path);
+			writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(OpenMode.CREATE_OR_APPEND));
+			searcherManager = new SearcherManager(writer, null);
+		} catch (IOException e) {
+			close();
+			throw new NodeException(String.format("Error while opening the full-text index in %s", path), e);
+		}
+
+		service.scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL_S, COMMIT_INTERVAL_S, TimeUnit.SECONDS);
+		logger.info(String.format("Opened full-text index in %s", path));
+	}
+
+	/**
+	 * Search the ids of the objects matching the query. Every word of the query must match as prefix of an indexed word (in any of the searched fields).
+	 * The name is always searched.
+	 * @param objType object type ({@link Page#TYPE_PAGE} or {@link File#TYPE_FILE} for files and images)
+	 * @param query query string
+	 * @param searchDescription true to also search in the description
+	 * @param searchContent true to also search in the content of pages
+	 * @param folderIds optional collection of folder ids to restrict the search
+	 * @return set of matching ids or null, if the index is not ready, the query does not contain any words or there are too many hits
+	 * @throws NodeException
+	 */
+	public Set<Integer> search(int objType, String query, boolean searchDescription, boolean searchContent, Collection<Integer> folderIds)
+			throws NodeException {
+		if (!ready || StringUtils.isBlank(query)) {
+			return null;
+		}
+
+		try {
+			List<String> fields = new ArrayList<>();
+			List<String> languages = new ArrayList<>(LANGUAGES);
+			languages.add(null);
+			for (String language : languages) {
+				fields.add(field(NAME_FIELD, language));
+				if (searchDescription) {
+					fields.add(field(DESCRIPTION_FIELD, language));
+				}
+				if (searchContent && objType == Page.TYPE_PAGE) {
+					fields.add(field(CONTENT_FIELD, language));
+				}
+			}
+
+			// every word must match in any of the fields
+			BooleanQuery.Builder text = new BooleanQuery.Builder();
+			boolean hasWords = false;
+			for (String word : StringUtils.split(query)) {
+				BooleanQuery.Builder wordQuery = new BooleanQuery.Builder();
+				boolean hasClauses = false;
+				for (String field : fields) {
+					hasClauses |= addPrefixQuery(wordQuery, field, word);
+				}
+				if (hasClauses) {
+					text.add(wordQuery.build(), Occur.MUST);
+					hasWords = true;
+				}
+			}
+			if (!hasWords) {
+				return null;
+			}
+
+			BooleanQuery.Builder builder = new BooleanQuery.Builder();
+			builder.add(text.build(), Occur.MUST);
+			builder.add(new TermQuery(new Term(TYPE_FIELD, Integer.toString(objType))), Occur.FILTER);
+			if (folderIds != null) {
+				builder.add(IntPoint.newSetQuery(FOLDER_FIELD, folderIds), Occur.FILTER);
+			}
+
+			searcherManager.maybeRefresh();
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				IdCollector collector = new IdCollector();
+				searcher.search(builder.build(), collector);
+				if (collector.overflow) {
+					overflows.increment();
+					return null;
+				}
+				searches.increment();
+				return collector.ids;
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new NodeException(String.format("Error while searching for '%s' in the full-text index", query), e);
+		}
+	}
+
+	/**
+	 * Add a query to the builder, which requires all terms of the analyzed word as prefixes in the field
+	 * @param builder builder
+	 * @param field field name
+	 * @param word searched word
+	 * @return true iff the word contained any terms
+	 * @throws IOException
+	 */
+	protected boolean addPrefixQuery(BooleanQuery.Builder builder, String field, String word) throws IOException {
+		BooleanQuery.Builder terms = new BooleanQuery.Builder();
+		boolean hasTerms = false;
+		try (TokenStream stream = analyzer.tokenStream(field, word)) {
+			CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+			stream.reset();
+			while (stream.incrementToken()) {
+				terms.add(new PrefixQuery(new Term(field, term.toString())), Occur.MUST);
+				hasTerms = true;
+			}
+			stream.end();
+		}
+		if (hasTerms) {
+			builder.add(terms.build(), Occur.SHOULD);
+		}
+		return hasTerms;
+	}
+
+	/**
+	 * Update the index for the object in the thread of the index
+	 * @param objType object type
+	 * @param objId object id
+	 */
+	protected void scheduleUpdate(int objType, int objId) {
+		try {
+			service.execute(() -> {
+				try {
+					Trx.operate(() -> {
+						if (objType == Page.TYPE_PAGE) {
+							indexPage(objId);
+						} else {
+							indexFile(objId);
+						}
+					});
+				} catch (NodeException | RuntimeException e) {
+					logger.error(String.format("Error while updating the full-text index for object %d.%d", objType, objId), e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			logger.warn(String.format("Could not update the full-text index for object %d.%d, because the index was closed", objType, objId));
+		}
+	}
+
+	/**
+	 * (Re)index the page with given id and all other pages sharing the content. If the page does not exist, it is removed from the index.
+	 * @param pageId page id
+	 * @throws NodeException
+	 */
+	public void indexPage(int pageId) throws NodeException {
+		int contentId = DBUtils.select("SELECT content_id FROM page WHERE id = ?", st -> st.setInt(1, pageId), DBUtils.firstInt("content_id"));
+		if (contentId == 0) {
+			delete(Page.TYPE_PAGE, pageId);
+		} else {
+			indexContent(contentId);
+		}
+		updates.increment();
+	}
+
+	/**
+	 * (Re)index the file or image with given id. If the file does not exist, it is removed from the index.
+	 * @param fileId file id
+	 * @throws NodeException
+	 */
+	public void indexFile(int fileId) throws NodeException {
+		boolean found = DBUtils.select("SELECT id, folder_id, name, description FROM contentfile WHERE id = ?", st -> st.setInt(1, fileId), rs -> {
+			boolean exists = false;
+			while (rs.next()) {
+				addFile(rs);
+				exists = true;
+			}
+			return exists;
+		});
+		if (!found) {
+			delete(File.TYPE_FILE, fileId);
+		}
+		updates.increment();
+	}
+
+	/**
+	 * Index all pages with the given content
+	 * @param contentId content id
+	 * @throws NodeException
+	 */
+	protected void indexContent(int contentId) throws NodeException {
+		String content = DBUtils.select(
+				"SELECT value.value_text FROM contenttag JOIN value ON value.contenttag_id = contenttag.id WHERE contenttag.content_id = ?",
+				st -> st.setInt(1, contentId), rs -> {
+					StringBuilder text = new StringBuilder();
+					while (rs.next()) {
+						String value = rs.getString("value_text");
+						if (!StringUtils.isEmpty(value)) {
+							text.append(value).append('\n');
+						}
+					}
+					return text.toString();
+				});
+
+		DBUtils.select(
+				"SELECT page.id, page.folder_id, page.name, page.description, contentgroup.code FROM page LEFT JOIN contentgroup ON page.contentgroup_id = contentgroup.id WHERE page.content_id = ?",
+				st -> st.setInt(1, contentId), rs -> {
+					while (rs.next()) {
+						Document doc = createDocument(Page.TYPE_PAGE, rs.getInt("id"), rs.getInt("folder_id"), rs.getString("code"));
+						addText(doc, field(NAME_FIELD, rs.getString("code")), rs.getString("name"));
+						addText(doc, field(DESCRIPTION_FIELD, rs.getString("code")), rs.getString("description"));
+						addText(doc, field(CONTENT_FIELD, rs.getString("code")), content);
+						update(Page.TYPE_PAGE, rs.getInt("id"), doc);
+					}
+					return null;
+				});
+	}
+
+	/**
+	 * Add the file from the current row of the resultset to the index
+	 * @param rs resultset
+	 * @throws SQLException
+	 * @throws NodeException
+	 */
+	protected void addFile(ResultSet rs) throws SQLException, NodeException {
+		Document doc = createDocument(File.TYPE_FILE, rs.getInt("id"), rs.getInt("folder_id"), null);
+		addText(doc, NAME_FIELD, rs.getString("name"));
+		addText(doc, DESCRIPTION_FIELD, rs.getString("description"));
+		update(File.TYPE_FILE, rs.getInt("id"), doc);
+	}
+
+	/**
+	 * Create a document for an object
+	 * @param objType object type
+	 * @param objId object id
+	 * @param folderId folder id
+	 * @param language language code (may be null)
+	 * @return document
+	 */
+	protected Document createDocument(int objType, int objId, int folderId, String language) {
+		Document doc = new Document();
+		doc.add(new StringField(KEY_FIELD, key(objType, objId), Field.Store.NO));
+		doc.add(new StringField(TYPE_FIELD, Integer.toString(objType), Field.Store.NO));
+		doc.add(new NumericDocValuesField(ID_FIELD, objId));
+		doc.add(new IntPoint(FOLDER_FIELD, folderId));
+		return doc;
+	}
+
+	/**
+	 * Add the non empty texts to the field of the document
+	 * @param doc document
+	 * @param field field name
+	 * @param texts texts
+	 */
+	protected void addText(Document doc, String field, String... texts) {
+		for (String text : texts) {
+			if (!StringUtils.isEmpty(text)) {
+				doc.add(new TextField(field, text, Field.Store.NO));
+			}
+		}
+	}
+
+	/**
+	 * Add or replace the document of the object
+	 * @param objType object type
+	 * @param objId object id
+	 * @param doc document
+	 * @throws NodeException
+	 */
+	protected void update(int objType, int objId, Document doc) throws NodeException {
+		try {
+			writer.updateDocument(new Term(KEY_FIELD, key(objType, objId)), doc);
+		} catch (IOException e) {
+			throw new NodeException(String.format("Error while indexing object %d.%d", objType, objId), e);
+		}
+	}
+
+	/**
+	 * Remove the document of the object
+	 * @param objType object type
+	 * @param objId object id
+	 * @throws NodeException
+	 */
+	protected void delete(int objType, int objId) throws NodeException {
+		try {
+			writer.deleteDocuments(new Term(KEY_FIELD, key(objType, objId)));
+		} catch (IOException e) {
+			throw new NodeException(String.format("Error while removing object %d.%d from the index", objType, objId), e);
+		}
+	}
+
+	/**
+	 * Remove all documents and index all pages, files and images. While the index is rebuilt, searches are done in the database.
+	 * @throws NodeException
+	 */
+	protected void rebuildIndex() throws NodeException {
+		long start = System.currentTimeMillis();
+		ready = false;
+		try {
+			writer.deleteAll();
+
+			List<Integer> contentIds = DBUtils.select("SELECT DISTINCT content_id id FROM page", DBUtils.IDLIST);
+			for (Integer contentId : contentIds) {
+				indexContent(contentId);
+			}
+
+			DBUtils.select("SELECT id, folder_id, name, description FROM contentfile", rs -> {
+				while (rs.next()) {
+					addFile(rs);
+				}
+				return null;
+			});
+
+			writer.commit();
+			searcherManager.maybeRefresh();
+		} catch (IOException e) {
+			throw new NodeException("Error while rebuilding the full-text index", e);
+		}
+		ready = true;
+		rebuildTime = System.currentTimeMillis() - start;
+		logger.info(String.format("Rebuilt full-text index with %d documents in %d ms", getDocuments(), rebuildTime));
+	}
+
+	/**
+	 * Commit the changes (if any)
+	 */
+	protected void commit() {
+		try {
+			if (writer.hasUncommittedChanges()) {
+				writer.commit();
+			}
+		} catch (IOException | RuntimeException e) {
+			logger.error("Error while committing the full-text index", e);
+		}
+	}
+
+	/**
+	 * Stop the service, commit the changes and close the index
+	 */
+	protected void close() {
+		service.shutdown();
+		try {
+			if (!service.awaitTermination(1, TimeUnit.MINUTES)) {
+				logger.error("Full-text index service did not terminate within 1 minute");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			if (searcherManager != null) {
+				searcherManager.close();
+			}
+			if (writer != null) {
+				writer.close();
+			}
+			if (directory != null) {
+				directory.close();
+			}
+		} catch (IOException e) {
+			logger.error(String.format("Error while closing the full-text index in %s", path), e);
+		}
+	}
+
+	@Override
+	public String getPath() {
+		return path.toString();
+	}
+
+	@Override
+	public boolean isReady() {
+		return ready;
+	}
+
+	@Override
+	public int getDocuments() {
+		return writer.getDocStats().numDocs;
+	}
+
+	@Override
+	public long getSearches() {
+		return searches.sum();
+	}
+
+	@Override
+	public long getOverflows() {
+		return overflows.sum();
+	}
+
+	@Override
+	public long getUpdates() {
+		return updates.sum();
+	}
+
+	@Override
+	public long getRebuildTime() {
+		return rebuildTime;
+	}
+
+	@Override
+	public String rebuild() {
+		ready = false;
+		service.execute(() -> {
+			try {
+				Trx.operate(() -> rebuildIndex());
+			} catch (NodeException | RuntimeException e) {
+				logger.error("Error while rebuilding the full-text index", e);
+			}
+		});
+		return "Rebuilding the full-text index in the background";
+	}
+
+	/**
+	 * Collector for the ids of the matching documents, which stops when more than the maximum number of hits are found
+	 */
+	protected class IdCollector extends SimpleCollector {
+		/**
+		 * Collected ids
+		 */
+		protected Set<Integer> ids = new HashSet<>();
+
+		/**
+		 * Flag, which is set when there were too many hits
+		 */
+		protected boolean overflow = false;
+
+		/**
+		 * Id values of the current segment
+		 */
+		protected NumericDocValues idValues;
+
+		@Override
+		protected void doSetNextReader(LeafReaderContext context) throws IOException {
+			if (overflow) {
+				throw new CollectionTerminatedException();
+			}
+			idValues = DocValues.getNumeric(context.reader(), ID_FIELD);
+		}
+
+		@Override
+		public void collect(int doc) throws IOException {
+			if (ids.size() >= maxHits) {
+				overflow = true;
+				throw new CollectionTerminatedException();
+			}
+			if (idValues.advanceExact(doc)) {
+				ids.add((int) idValues.longValue());
+			}
+		}
+
+		@Override
+		public ScoreMode scoreMode() {
+			return ScoreMode.COMPLETE_NO_SCORES;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.gentics.contentnode.search;
+
+/**
+ * Interface for the full-text index MBean
+ */
+public interface FullTextIndexMBean {
+	/**
+	 * Get the path of the index directory
+	 * @return index path
+	 */
+	String getPath();
+
+	/**
+	 * Check whether the index is ready (is not being built)
+	 * @return true iff the index is ready
+	 */
+	boolean isReady();
+
+	/**
+	 * Get the number of indexed objects
+	 * @return number of indexed objects
+	 */
+	int getDocuments();
+
+	/**
+	 * Get the number of searches, which were answered by the index
+	 * @return number of searches
+	 */
+	long getSearches();
+
+	/**
+	 * Get the number of searches, which had too many hits and were done in the database
+	 * @return number of searches with too many hits
+	 */
+	long getOverflows();
+
+	/**
+	 * Get the number of objects, which were (re)indexed or removed due to events
+	 * @return number of updates
+	 */
+	long getUpdates();
+
+	/**
+	 * Get the duration of the last rebuild of the index in ms
+	 * @return rebuild duration in ms
+	 */
+	long getRebuildTime();
+
+	/**
+	 * Rebuild the index in the background
+	 * @return result message
+	 */
+	String rebuild();
+}
@@ -0,0 +1,113 @@
+package com.gentics.contentnode.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import com.gentics.contentnode.events.Events;
+import com.gentics.contentnode.events.QueueEntry;
+import com.gentics.contentnode.factory.NodeFactory.NextAction;
+import com.gentics.contentnode.object.Page;
+
+/**
+ * Test cases for the order of handling batches of dirt queue entries in parallel
+ */
+public class DirtQueueBatchTest {
+	/**
+	 * Executor for handling the groups
+	 */
+	private static ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	/**
+	 * Shutdown the executor
+	 */
+	@AfterClass
+	public static void tearDownOnce() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Test that a later event for the same object is not handled, when an event is still queued after being handled
+	 * @throws Exception
+	 */
+	@Test
+	public void testRetryInGroup() throws Exception {
+		QueueEntry retried = event(1);
+		List<QueueEntry> entries = Arrays.asList(retried, event(2), event(1));
+
+		assertThat(handle(retried, entries)).as("Indices of handled entries").containsOnly(0, 1);
+	}
+
+	/**
+	 * Test that no event after a barrier is handled, when an event before the barrier is still queued after being handled
+	 * @throws Exception
+	 */
+	@Test
+	public void testRetryBeforeBarrier() throws Exception {
+		QueueEntry retried = event(1);
+		List<QueueEntry> entries = Arrays.asList(retried, event(2), barrier(), event(1), event(2));
+
+		assertThat(handle(retried, entries)).as("Indices of handled entries").containsOnly(0, 1);
+	}
+
+	/**
+	 * Test that all events are handled, when no event must be retried
+	 * @throws Exception
+	 */
+	@Test
+	public void testNoRetry() throws Exception {
+		List<QueueEntry> entries = Arrays.asList(event(1), event(2), barrier(), event(1), event(2));
+
+		assertThat(handle(null, entries)).as("Indices of handled entries").containsOnly(0, 1, 2, 3, 4);
+	}
+
+	/**
+	 * Create an update event for the page with given ID
+	 * @param pageId page ID
+	 * @return queue entry
+	 */
+	protected QueueEntry event(int pageId) {
+		return new QueueEntry(1, pageId, Page.TYPE_PAGE, Events.UPDATE, null, 0, null);
+	}
+
+	/**
+	 * Create a logging event, which must be handled alone
+	 * @return queue entry
+	 */
+	protected QueueEntry barrier() {
+		return new QueueEntry(1, -1, -1, Events.LOGGING_START, null, 0, null);
+	}
+
+	/**
+	 * Handle the entries with a worker, which returns {@link NextAction#RETRY} for the given entry
+	 * @param retried entry, which is still queued after being handled (may be null)
+	 * @param entries entries
+	 * @return set of the indices of the handled entries (entries are compared by identity, because all entries have the same ID)
+	 */
+	protected Set<Integer> handle(QueueEntry retried, List<QueueEntry> entries) {
+		Set<Integer> handled = ConcurrentHashMap.newKeySet();
+		NodeFactory.TriggerEventJobThread worker = NodeFactory.getInstance().new TriggerEventJobThread() {
+			@Override
+			protected NextAction handleEntry(QueueEntry entry) {
+				for (int i = 0; i < entries.size(); i++) {
+					if (entries.get(i) == entry) {
+						handled.add(i);
+					}
+				}
+				return entry == retried ? NextAction.RETRY : NextAction.CONTINUE;
+			}
+		};
+
+		NextAction next = worker.handleEntries(executor, entries);
+		assertThat(next).as("Next action").isEqualTo(retried != null ? NextAction.RETRY : NextAction.CONTINUE);
+		return handled;
+	}
+}
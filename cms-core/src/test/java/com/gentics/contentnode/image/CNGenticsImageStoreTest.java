@@ -1,9 +1,12 @@
 package com.gentics.contentnode.image;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.awt.image.BufferedImage;
 import java.io.InputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -11,6 +14,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import javax.imageio.ImageIO;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -19,6 +25,9 @@ import com.gentics.api.lib.exception.NodeException;
 import com.gentics.contentnode.db.DBUtils;
 import com.gentics.contentnode.etc.Feature;
 import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.image.CNGenticsImageStore.ImageDescription;
+import com.gentics.contentnode.image.CNGenticsImageStore.RenderedVariant;
+import com.gentics.contentnode.image.CNGenticsImageStore.SourceImage;
 import com.gentics.contentnode.object.Construct;
 import com.gentics.contentnode.object.ContentTag;
 import com.gentics.contentnode.object.File;
@@ -28,6 +37,8 @@ import com.gentics.contentnode.object.Page;
 import com.gentics.contentnode.object.Template;
 import com.gentics.contentnode.object.TemplateTag;
 import com.gentics.contentnode.object.Value;
+import com.gentics.contentnode.publish.PublishInterruptedException;
+import com.gentics.contentnode.runtime.ConfigurationValue;
 import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
 import com.gentics.contentnode.testutils.Creator;
 import com.gentics.contentnode.testutils.DBTestContext;
@@ -219,4 +230,74 @@ public class CNGenticsImageStoreTest {
 				}
 			});
 	}
+
+	/**
+	 * Test that all variants of a source image are rendered from the decoded image
+	 * @throws Exception
+	 */
+	@Test
+	public void testRenderVariants() throws Exception {
+		NodeConfigRuntimeConfiguration config = NodeConfigRuntimeConfiguration.getDefault();
+		CNGenticsImageStore gis = new CNGenticsImageStore(config.getNodeConfig());
+		testContext.startTransactionWithPermissions(true);
+		Node node = Creator.createNode("variantnode", "varianthost", "/Content.Node", "/", null);
+		ImageFile image = Creator.createImage(node.getFolder(), "variants.jpg", node);
+
+		SourceImage sourceImage = new SourceImage(image, Arrays.asList(new ImageDescription(1, image.getId(), "100/50/force"),
+				new ImageDescription(2, image.getId(), "40/30/force"), new ImageDescription(3, image.getId(), "20/20/cropandresize/force/0/0/10/10")));
+		Semaphore semaphore = new Semaphore(1);
+		List<RenderedVariant> rendered = gis.renderVariants(sourceImage, semaphore);
+
+		assertEquals("Check number of rendered variants", 3, rendered.size());
+		assertEquals("Semaphore must be released", 1, semaphore.availablePermits());
+		int[][] dimensions = { { 100, 50 }, { 40, 30 }, { 20, 20 } };
+		for (int i = 0; i < rendered.size(); i++) {
+			RenderedVariant variant = rendered.get(i);
+			assertEquals("Check ID of rendered variant", i + 1, variant.id);
+			assertTrue("Variant " + variant.id + " must have been resized", variant.resized);
+
+			java.io.File resizedFile = new java.io.File(ConfigurationValue.GIS_PATH.get(), variant.hash.substring(0, 2) + "/" + variant.hash);
+			assertTrue("Resized file of variant " + variant.id + " must exist", resizedFile.exists());
+			BufferedImage resizedImage = ImageIO.read(resizedFile);
+			assertEquals("Check width of variant " + variant.id, dimensions[i][0], resizedImage.getWidth());
+			assertEquals("Check height of variant " + variant.id, dimensions[i][1], resizedImage.getHeight());
+		}
+	}
+
+	/**
+	 * Test that rendering the variants fails, when the thread was interrupted
+	 * @throws Exception
+	 */
+	@Test
+	public void testRenderVariantsInterrupted() throws Exception {
+		NodeConfigRuntimeConfiguration config = NodeConfigRuntimeConfiguration.getDefault();
+		CNGenticsImageStore gis = new CNGenticsImageStore(config.getNodeConfig());
+		testContext.startTransactionWithPermissions(true);
+		Node node = Creator.createNode("variantnode", "varianthost", "/Content.Node", "/", null);
+		ImageFile image = Creator.createImage(node.getFolder(), "variants.jpg", node);
+
+		SourceImage sourceImage = new SourceImage(image, Arrays.asList(new ImageDescription(1, image.getId(), "100/50/force")));
+		Semaphore semaphore = new Semaphore(1);
+		Thread.currentThread().interrupt();
+		try {
+			gis.renderVariants(sourceImage, semaphore);
+			fail("Rendering the variants must fail, when the thread was interrupted");
+		} catch (PublishInterruptedException e) {
+			assertTrue("Thread must still be interrupted", Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted();
+		}
+		assertEquals("Semaphore must not be held", 1, semaphore.availablePermits());
+	}
+
+	/**
+	 * Test that rendering images while publishing always leaves a permit of the shared semaphore to the servlet
+	 */
+	@Test
+	public void testRendererThreads() {
+		assertEquals("Threads with more processors than permits", 9, CNGenticsImageStore.getRendererThreads(16, 10));
+		assertEquals("Threads with less processors than permits", 4, CNGenticsImageStore.getRendererThreads(4, 10));
+		assertEquals("Threads with as many processors as permits", 3, CNGenticsImageStore.getRendererThreads(4, 4));
+		assertEquals("Threads with a single permit", 1, CNGenticsImageStore.getRendererThreads(4, 1));
+	}
 }
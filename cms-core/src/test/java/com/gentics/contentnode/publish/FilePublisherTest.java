@@ -0,0 +1,131 @@
+package com.gentics.contentnode.publish;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.publish.FilePublisher.WriteExecutor;
+
+/**
+ * Test cases for the content comparison and the write executor of the {@link FilePublisher}
+ */
+public class FilePublisherTest {
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	/**
+	 * Test that a file with the same content is detected
+	 * @throws Exception
+	 */
+	@Test
+	public void testSameContent() throws Exception {
+		File file = file("page.html", "\u00c4hnlich".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(FilePublisher.sameContent(file, "\u00c4hnlich".getBytes(StandardCharsets.UTF_8))).as("Same content").isTrue();
+		assertThat(FilePublisher.sameContent(file, file("copy.html", "\u00c4hnlich".getBytes(StandardCharsets.UTF_8)))).as("Same file content").isTrue();
+	}
+
+	/**
+	 * Test that a content with the same length, but different bytes is detected as changed
+	 * @throws Exception
+	 */
+	@Test
+	public void testChangedContentSameLength() throws Exception {
+		File file = file("page.html", "Version 1".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(FilePublisher.sameContent(file, "Version 2".getBytes(StandardCharsets.UTF_8))).as("Same content").isFalse();
+		assertThat(FilePublisher.sameContent(file, file("other.html", "Version 2".getBytes(StandardCharsets.UTF_8)))).as("Same file content").isFalse();
+	}
+
+	/**
+	 * Test that a content, which is written with another charset, is detected as changed
+	 * @throws Exception
+	 */
+	@Test
+	public void testChangedCharset() throws Exception {
+		File file = file("page.html", "\u00c4hnlich".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(FilePublisher.sameContent(file, "\u00c4hnlich".getBytes(StandardCharsets.ISO_8859_1))).as("Same content").isFalse();
+	}
+
+	/**
+	 * Test that written operations are reported as done work, when they are finished
+	 * @throws Exception
+	 */
+	@Test
+	public void testDoneWork() throws Exception {
+		CNWorkPhase phase = new CNWorkPhase();
+		CountDownLatch latch = new CountDownLatch(1);
+
+		try (WriteExecutor executor = new WriteExecutor(2, phase)) {
+			executor.execute(() -> await(latch));
+			executor.execute(() -> await(latch));
+			assertThat(phase.getDoneWork()).as("Done work before operations are finished").isEqualTo(0);
+
+			latch.countDown();
+			executor.await();
+			assertThat(phase.getDoneWork()).as("Done work after operations are finished").isEqualTo(2);
+		}
+	}
+
+	/**
+	 * Test that the first error of an operation is thrown and not counted as done work
+	 * @throws Exception
+	 */
+	@Test
+	public void testError() throws Exception {
+		CNWorkPhase phase = new CNWorkPhase();
+		CountDownLatch written = new CountDownLatch(1);
+
+		try (WriteExecutor executor = new WriteExecutor(2, phase)) {
+			executor.execute(() -> written.countDown());
+			await(written);
+			executor.execute(() -> {
+				throw new NodeException("Writing failed");
+			});
+			executor.await();
+			fail("Waiting for the operations must fail");
+		} catch (NodeException e) {
+			assertThat(e).as("Error").hasMessage("Writing failed");
+		}
+		assertThat(phase.getDoneWork()).as("Done work").isEqualTo(1);
+	}
+
+	/**
+	 * Create a file with given content
+	 * @param name file name
+	 * @param content content
+	 * @return file
+	 * @throws Exception
+	 */
+	protected File file(String name, byte[] content) throws Exception {
+		File file = testFolder.newFile(name);
+		Files.write(file.toPath(), content);
+		return file;
+	}
+
+	/**
+	 * Wait for the latch
+	 * @param latch latch
+	 * @throws NodeException
+	 */
+	protected void await(CountDownLatch latch) throws NodeException {
+		try {
+			if (!latch.await(10, TimeUnit.SECONDS)) {
+				throw new NodeException("Timeout while waiting");
+			}
+		} catch (InterruptedException e) {
+			throw new NodeException(e);
+		}
+	}
+}
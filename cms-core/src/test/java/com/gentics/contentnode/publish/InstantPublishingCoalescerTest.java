@@ -0,0 +1,210 @@
+package com.gentics.contentnode.publish;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.etc.ContentMap;
+import com.gentics.contentnode.object.NodeObject;
+import com.gentics.contentnode.publish.InstantPublishingCoalescer.Batch;
+import com.gentics.contentnode.publish.InstantPublishingCoalescer.Operation;
+import com.gentics.contentnode.publish.InstantPublishingCoalescer.Queue;
+
+/**
+ * Test cases for coalescing and batching instant publishing operations in the {@link InstantPublishingCoalescer}
+ */
+public class InstantPublishingCoalescerTest {
+	/**
+	 * Log of written batches, published and failed objects
+	 */
+	protected List<String> log = Collections.synchronizedList(new ArrayList<>());
+
+	/**
+	 * Coalescer, which does not write into a content repository
+	 */
+	protected InstantPublishingCoalescer coalescer;
+
+	/**
+	 * Queue for the content map
+	 */
+	protected Queue queue;
+
+	@Before
+	public void setup() {
+		coalescer = new InstantPublishingCoalescer() {
+			@Override
+			protected void writeOperations(ContentMap contentMap, Batch batch) throws NodeException {
+				log.add("batch " + batch.operations.size());
+				for (Operation op : batch.operations) {
+					op.operate();
+				}
+			}
+
+			@Override
+			protected void published(NodeObject object) {
+				log.add("published " + object.getId());
+			}
+
+			@Override
+			protected void publishFailed(NodeObject object) {
+				log.add("failed " + object.getId());
+			}
+		};
+		coalescer.window = 60_000;
+		coalescer.maxBatchSize = InstantPublishingCoalescer.DEFAULT_MAX_BATCH_SIZE;
+
+		ContentMap contentMap = mock(ContentMap.class);
+		when(contentMap.getId()).thenReturn(1);
+		queue = coalescer.new Queue(contentMap);
+	}
+
+	@After
+	public void tearDown() {
+		coalescer.service.shutdownNow();
+	}
+
+	/**
+	 * Test that a pending write is replaced by a later write of the same object and both publications are reported
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplaceWrite() throws Exception {
+		queue.add(Arrays.asList(write("10007.1", "v1")), 1, object(1));
+		queue.add(Arrays.asList(write("10007.1", "v2")), 1, object(2));
+		coalescer.flush(queue);
+
+		assertThat(log).as("Log").containsExactly("batch 1", "write 10007.1 v2", "published 1", "published 2");
+		assertThat(coalescer.getMergedOperations()).as("Merged operations").isEqualTo(1);
+		assertThat(coalescer.getOperations()).as("Written operations").isEqualTo(1);
+	}
+
+	/**
+	 * Test that a pending write is replaced by a later removal of the same object
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplaceWriteByRemove() throws Exception {
+		queue.add(Arrays.asList(write("10007.1", "v1")), 1, object(1));
+		queue.add(Arrays.asList(remove("10007.1")), 1, object(2));
+		coalescer.flush(queue);
+
+		assertThat(log).as("Log").containsExactly("batch 1", "remove 10007.1", "published 1", "published 2");
+	}
+
+	/**
+	 * Test that a pending removal is not replaced by a later write of the same object
+	 * @throws Exception
+	 */
+	@Test
+	public void testNoReplaceRemove() throws Exception {
+		queue.add(Arrays.asList(remove("10007.1")), 1, object(1));
+		queue.add(Arrays.asList(write("10007.1", "v2")), 1, object(2));
+		coalescer.flush(queue);
+
+		assertThat(log).as("Log").containsExactly("batch 2", "remove 10007.1", "write 10007.1 v2", "published 1", "published 2");
+		assertThat(coalescer.getMergedOperations()).as("Merged operations").isEqualTo(0);
+	}
+
+	/**
+	 * Test that the operations are split into batches of the maximum size and objects are reported, as soon as all their operations are written
+	 * @throws Exception
+	 */
+	@Test
+	public void testBatchSplitting() throws Exception {
+		coalescer.maxBatchSize = 2;
+		queue.add(Arrays.asList(write("10007.1", "v1"), write("10008.1", "v1")), 1, object(1));
+		queue.add(Arrays.asList(write("10007.2", "v1"), write("10007.3", "v1"), write("10007.4", "v1")), 1, object(2));
+		coalescer.flush(queue);
+
+		assertThat(log).as("Log").containsExactly(
+				"batch 2", "write 10007.1 v1", "write 10008.1 v1", "published 1",
+				"batch 2", "write 10007.2 v1", "write 10007.3 v1",
+				"batch 1", "write 10007.4 v1", "published 2");
+		assertThat(coalescer.getBatches()).as("Written batches").isEqualTo(3);
+		assertThat(coalescer.getPendingOperations()).as("Pending operations").isEqualTo(0);
+	}
+
+	/**
+	 * Test that an object is not reported as published, if one of its batches failed, even if a later batch succeeds
+	 * @throws Exception
+	 */
+	@Test
+	public void testPartialFailure() throws Exception {
+		coalescer.maxBatchSize = 2;
+		queue.add(Arrays.asList(write("10007.1", "v1"), write("10007.2", "v1")), 1, object(1));
+		queue.add(Arrays.asList(write("10007.3", "v1"), fail("10007.4"), write("10007.5", "v1")), 1, object(2));
+		queue.add(Arrays.asList(write("10007.6", "v1")), 1, object(3));
+		coalescer.flush(queue);
+
+		assertThat(log).as("Log").containsExactly(
+				"batch 2", "write 10007.1 v1", "write 10007.2 v1", "published 1",
+				"batch 2", "write 10007.3 v1", "failed 2",
+				"batch 2", "write 10007.5 v1", "write 10007.6 v1", "published 3");
+		assertThat(coalescer.getFailedOperations()).as("Failed operations").isEqualTo(2);
+		assertThat(coalescer.getOperations()).as("Written operations").isEqualTo(4);
+	}
+
+	/**
+	 * Test that an object is not reported as published, if the operation, which replaced its operation, failed
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplacingOperationFailed() throws Exception {
+		queue.add(Arrays.asList(write("10007.1", "v1")), 1, object(1));
+		queue.add(Arrays.asList(fail("10007.1")), 1, object(2));
+		coalescer.flush(queue);
+
+		assertThat(log).as("Log").containsExactly("batch 1", "failed 1", "failed 2");
+	}
+
+	/**
+	 * Create a write operation, which logs the written version
+	 * @param key key
+	 * @param version version
+	 * @return operation
+	 */
+	protected Operation write(String key, String version) {
+		return new Operation(key, true, () -> log.add(String.format("write %s %s", key, version)));
+	}
+
+	/**
+	 * Create a remove operation, which logs the removal
+	 * @param key key
+	 * @return operation
+	 */
+	protected Operation remove(String key) {
+		return new Operation(key, false, () -> log.add(String.format("remove %s", key)));
+	}
+
+	/**
+	 * Create a write operation, which fails
+	 * @param key key
+	 * @return operation
+	 */
+	protected Operation fail(String key) {
+		return new Operation(key, true, () -> {
+			throw new NodeException(String.format("Writing %s failed", key));
+		});
+	}
+
+	/**
+	 * Create an object with given ID
+	 * @param id ID
+	 * @return object
+	 */
+	protected NodeObject object(int id) {
+		NodeObject object = mock(NodeObject.class);
+		when(object.getId()).thenReturn(id);
+		return object;
+	}
+}
@@ -0,0 +1,173 @@
+package com.gentics.contentnode.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.apache.lucene.document.Document;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gentics.contentnode.object.File;
+import com.gentics.contentnode.object.Page;
+
+/**
+ * Test cases for searching in the {@link FullTextIndex}
+ */
+public class FullTextIndexTest {
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	/**
+	 * Tested index
+	 */
+	protected FullTextIndex index;
+
+	@Before
+	public void setup() throws Exception {
+		index = new FullTextIndex(testFolder.newFolder("index").toPath(), 2);
+		index.ready = true;
+	}
+
+	@After
+	public void tearDown() {
+		index.close();
+	}
+
+	/**
+	 * Test that the words of the query are matched as prefixes of the indexed words
+	 * @throws Exception
+	 */
+	@Test
+	public void testPrefix() throws Exception {
+		page(1, 1, null, "Publishing Workflow", null, null);
+
+		assertThat(index.search(Page.TYPE_PAGE, "publ", false, false, null)).as("Pages matching prefix").containsOnly(1);
+		assertThat(index.search(Page.TYPE_PAGE, "work PUBLISH", false, false, null)).as("Pages matching all prefixes").containsOnly(1);
+		assertThat(index.search(Page.TYPE_PAGE, "flow", false, false, null)).as("Pages matching infix").isEmpty();
+		assertThat(index.search(Page.TYPE_PAGE, "publ other", false, false, null)).as("Pages matching one of the prefixes").isEmpty();
+	}
+
+	/**
+	 * Test that words are stemmed according to the language of the page
+	 * @throws Exception
+	 */
+	@Test
+	public void testStemming() throws Exception {
+		page(1, 1, "en", "Dog food", null, null);
+		page(2, 1, "de", "H\u00e4user am See", null, null);
+
+		assertThat(index.search(Page.TYPE_PAGE, "dogs", false, false, null)).as("Pages matching the english plural").containsOnly(1);
+		assertThat(index.search(Page.TYPE_PAGE, "Haus", false, false, null)).as("Pages matching the german singular").containsOnly(2);
+	}
+
+	/**
+	 * Test that the description and the content are only searched, if requested
+	 * @throws Exception
+	 */
+	@Test
+	public void testSearchedFields() throws Exception {
+		page(1, 1, null, "Annual report", "Summary of the year", "<p>Revenue and <b>profit</b></p>");
+		file(2, 1, "report.pdf", "Summary of the report");
+
+		assertThat(index.search(Page.TYPE_PAGE, "summary", false, false, null)).as("Pages matching the name").isEmpty();
+		assertThat(index.search(Page.TYPE_PAGE, "summary", true, false, null)).as("Pages matching name or description").containsOnly(1);
+		assertThat(index.search(Page.TYPE_PAGE, "profit", true, false, null)).as("Pages matching name or description").isEmpty();
+		assertThat(index.search(Page.TYPE_PAGE, "profit", true, true, null)).as("Pages matching name, description or content").containsOnly(1);
+		assertThat(index.search(Page.TYPE_PAGE, "b", true, true, null)).as("Pages matching markup").isEmpty();
+
+		assertThat(index.search(File.TYPE_FILE, "summary", false, false, null)).as("Files matching the name").isEmpty();
+		assertThat(index.search(File.TYPE_FILE, "summary", true, false, null)).as("Files matching name or description").containsOnly(2);
+		assertThat(index.search(File.TYPE_FILE, "annual", true, false, null)).as("Files matching the name of a page").isEmpty();
+	}
+
+	/**
+	 * Test restricting the search to folders
+	 * @throws Exception
+	 */
+	@Test
+	public void testFolderFilter() throws Exception {
+		page(1, 1, null, "Contact", null, null);
+		page(2, 2, null, "Contact", null, null);
+
+		assertThat(index.search(Page.TYPE_PAGE, "contact", false, false, Arrays.asList(1))).as("Pages in folder 1").containsOnly(1);
+		assertThat(index.search(Page.TYPE_PAGE, "contact", false, false, Arrays.asList(1, 2))).as("Pages in folders 1 and 2").containsOnly(1, 2);
+		assertThat(index.search(Page.TYPE_PAGE, "contact", false, false, Arrays.asList(3))).as("Pages in folder 3").isEmpty();
+	}
+
+	/**
+	 * Test that searches with more than the maximum number of hits must be done in the database
+	 * @throws Exception
+	 */
+	@Test
+	public void testOverflow() throws Exception {
+		page(1, 1, null, "News 1", null, null);
+		page(2, 1, null, "News 2", null, null);
+		page(3, 2, null, "News 3", null, null);
+
+		assertThat(index.search(Page.TYPE_PAGE, "news", false, false, null)).as("Pages with too many hits").isNull();
+		assertThat(index.getOverflows()).as("Number of overflows").isEqualTo(1);
+		assertThat(index.search(Page.TYPE_PAGE, "news", false, false, Arrays.asList(2))).as("Pages in folder 2").containsOnly(3);
+	}
+
+	/**
+	 * Test that deleted objects are not found any more
+	 * @throws Exception
+	 */
+	@Test
+	public void testDelete() throws Exception {
+		page(1, 1, null, "Imprint", null, null);
+		page(2, 1, null, "Imprint", null, null);
+		index.delete(Page.TYPE_PAGE, 1);
+
+		assertThat(index.search(Page.TYPE_PAGE, "imprint", false, false, null)).as("Pages after deletion").containsOnly(2);
+	}
+
+	/**
+	 * Test that the index is not used, while it is not ready
+	 * @throws Exception
+	 */
+	@Test
+	public void testNotReady() throws Exception {
+		page(1, 1, null, "Imprint", null, null);
+		index.ready = false;
+
+		assertThat(index.search(Page.TYPE_PAGE, "imprint", false, false, null)).as("Pages while index is not ready").isNull();
+	}
+
+	/**
+	 * Add a page to the index
+	 * @param id page ID
+	 * @param folderId folder ID
+	 * @param language language code (may be null)
+	 * @param name name
+	 * @param description description (may be null)
+	 * @param content content (may be null)
+	 * @throws Exception
+	 */
+	protected void page(int id, int folderId, String language, String name, String description, String content) throws Exception {
+		Document doc = index.createDocument(Page.TYPE_PAGE, id, folderId, language);
+		index.addText(doc, FullTextIndex.field(FullTextIndex.NAME_FIELD, language), name);
+		index.addText(doc, FullTextIndex.field(FullTextIndex.DESCRIPTION_FIELD, language), description);
+		index.addText(doc, FullTextIndex.field(FullTextIndex.CONTENT_FIELD, language), content);
+		index.update(Page.TYPE_PAGE, id, doc);
+	}
+
+	/**
+	 * Add a file to the index
+	 * @param id file ID
+	 * @param folderId folder ID
+	 * @param name name
+	 * @param description description
+	 * @throws Exception
+	 */
+	protected void file(int id, int folderId, String name, String description) throws Exception {
+		Document doc = index.createDocument(File.TYPE_FILE, id, folderId, null);
+		index.addText(doc, FullTextIndex.NAME_FIELD, name);
+		index.addText(doc, FullTextIndex.DESCRIPTION_FIELD, description);
+		index.update(File.TYPE_FILE, id, doc);
+	}
+}
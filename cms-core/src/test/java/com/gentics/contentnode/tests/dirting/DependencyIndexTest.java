@@ -0,0 +1,200 @@
+package com.gentics.contentnode.tests.dirting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.events.DependencyIndex;
+import com.gentics.contentnode.events.Events;
+import com.gentics.contentnode.object.ContentTag;
+import com.gentics.contentnode.object.Folder;
+import com.gentics.contentnode.object.Page;
+
+import gnu.trove.TIntObjectHashMap;
+
+/**
+ * Test cases for the in-memory {@link DependencyIndex}
+ */
+public class DependencyIndexTest {
+	/**
+	 * Tested index
+	 */
+	protected DependencyIndex index;
+
+	/**
+	 * Fill the index with dependencies of two pages
+	 * @throws SQLException
+	 */
+	@Before
+	public void setup() throws SQLException {
+		index = new DependencyIndex() {
+		};
+		index.replaceDependent(Page.TYPE_PAGE, 1, Arrays.asList(
+				row(1, Folder.TYPE_FOLDER, 10, 0, 0, "name", Page.TYPE_PAGE, 1, Events.UPDATE),
+				row(2, Folder.TYPE_FOLDER, 10, 0, 0, "pub_dir", Page.TYPE_PAGE, 1, Events.UPDATE),
+				row(3, Page.TYPE_PAGE, 2, ContentTag.TYPE_CONTENTTAG, 100, null, Page.TYPE_PAGE, 1, Events.UPDATE | Events.DELETE)));
+		index.replaceDependent(Page.TYPE_PAGE, 2, Arrays.asList(
+				row(4, Folder.TYPE_FOLDER, 10, 0, 0, null, Page.TYPE_PAGE, 2, Events.DELETE)));
+	}
+
+	/**
+	 * Test getting dependencies on a modified object
+	 */
+	@Test
+	public void testModifiedObject() {
+		assertThat(ids(index.getByModifiedObject(Folder.TYPE_FOLDER, 10, false, null, Events.UPDATE))).as("All properties").containsOnly(1, 2);
+		assertThat(ids(index.getByModifiedObject(Folder.TYPE_FOLDER, 10, false, new String[] { "pub_dir" }, Events.UPDATE))).as("Filtered properties")
+				.containsOnly(2);
+		assertThat(ids(index.getByModifiedObject(Folder.TYPE_FOLDER, 10, false, new String[0], Events.DELETE))).as("Without property").containsOnly(4);
+		assertThat(ids(index.getByModifiedObject(Page.TYPE_PAGE, 2, false, null, Events.UPDATE))).as("Without elements").isEmpty();
+		assertThat(ids(index.getByModifiedObject(Page.TYPE_PAGE, 2, true, null, Events.DELETE))).as("With elements").containsOnly(3);
+	}
+
+	/**
+	 * Test getting dependencies on a modified element
+	 */
+	@Test
+	public void testModifiedElement() {
+		assertThat(ids(index.getByModifiedElement(ContentTag.TYPE_CONTENTTAG, 100, null, Events.UPDATE))).as("Element").containsOnly(3);
+		assertThat(ids(index.getByModifiedElement(ContentTag.TYPE_CONTENTTAG, 100, new String[] { "name" }, Events.UPDATE))).as("Element with property")
+				.isEmpty();
+		assertThat(ids(index.getByModifiedObjectAndElement(Page.TYPE_PAGE, 2, ContentTag.TYPE_CONTENTTAG, 100, null, Events.UPDATE)))
+				.as("Object and element").containsOnly(3);
+		assertThat(ids(index.getByModifiedObjectAndElement(Page.TYPE_PAGE, 3, ContentTag.TYPE_CONTENTTAG, 100, null, Events.UPDATE)))
+				.as("Other object and element").isEmpty();
+	}
+
+	/**
+	 * Test that replacing, removing and cleaning dependencies keeps the index in sync
+	 * @throws SQLException
+	 */
+	@Test
+	public void testModification() throws SQLException {
+		index.replaceDependent(Page.TYPE_PAGE, 1, Collections.singletonList(row(5, Folder.TYPE_FOLDER, 10, 0, 0, "name", Page.TYPE_PAGE, 1, Events.UPDATE)));
+		assertThat(ids(index.getByModifiedObject(Folder.TYPE_FOLDER, 10, true, null, Events.UPDATE | Events.DELETE))).as("After replace").containsOnly(4, 5);
+		assertThat(ids(index.getByModifiedElement(ContentTag.TYPE_CONTENTTAG, 100, null, Events.UPDATE))).as("Element after replace").isEmpty();
+
+		index.removeDependent(Page.TYPE_PAGE, 2);
+		assertThat(ids(index.getByModifiedObject(Folder.TYPE_FOLDER, 10, true, null, Events.UPDATE | Events.DELETE))).as("After remove").containsOnly(5);
+
+		index.removeObjects(Folder.TYPE_FOLDER, Collections.singletonList(10));
+		assertThat(index.getDependencies()).as("Number of dependencies after cleanup").isEqualTo(0);
+		assertThat(index.getKeys()).as("Number of keys after cleanup").isEqualTo(0);
+		assertThat(index.getEstimatedMemory()).as("Estimated memory after cleanup").isEqualTo(0);
+	}
+
+	/**
+	 * Test that modifications, which are applied while the index is rebuilt, are not lost
+	 * @throws Exception
+	 */
+	@Test
+	public void testModificationWhileLoading() throws Exception {
+		ReloadableIndex reloadable = new ReloadableIndex();
+		List<DependencyIndex.Row> initial = Arrays.asList(row(1, Folder.TYPE_FOLDER, 10, 0, 0, "name", Page.TYPE_PAGE, 1, Events.UPDATE),
+				row(3, Page.TYPE_PAGE, 2, ContentTag.TYPE_CONTENTTAG, 100, null, Page.TYPE_PAGE, 1, Events.UPDATE | Events.DELETE));
+		reloadable.modify(i -> i.replaceDependent(Page.TYPE_PAGE, 1, initial));
+
+		// the loaded data does not contain the modifications, which are applied while loading
+		reloadable.loaded.put(1, row(1, Folder.TYPE_FOLDER, 10, 0, 0, "name", Page.TYPE_PAGE, 1, Events.UPDATE));
+		reloadable.loaded.put(3, row(3, Page.TYPE_PAGE, 2, ContentTag.TYPE_CONTENTTAG, 100, null, Page.TYPE_PAGE, 1, Events.UPDATE | Events.DELETE));
+		reloadable.loaded.put(4, row(4, Folder.TYPE_FOLDER, 10, 0, 0, null, Page.TYPE_PAGE, 2, Events.DELETE));
+		DependencyIndex.Row replacement = row(5, Folder.TYPE_FOLDER, 10, 0, 0, "pub_dir", Page.TYPE_PAGE, 1, Events.UPDATE);
+		reloadable.duringLoad = () -> {
+			reloadable.modify(i -> i.replaceDependent(Page.TYPE_PAGE, 1, Collections.singletonList(replacement)));
+			reloadable.modify(i -> i.removeDependent(Page.TYPE_PAGE, 2));
+		};
+
+		reloadable.reload();
+
+		assertThat(ids(reloadable.getByModifiedObject(Folder.TYPE_FOLDER, 10, true, null, Events.UPDATE | Events.DELETE))).as("After reload")
+				.containsOnly(5);
+		assertThat(ids(reloadable.getByModifiedElement(ContentTag.TYPE_CONTENTTAG, 100, null, Events.UPDATE))).as("Element after reload").isEmpty();
+		assertThat(reloadable.getDependencies()).as("Number of dependencies after reload").isEqualTo(1);
+
+		// modifications after loading are not recorded any more
+		reloadable.duringLoad = () -> {};
+		reloadable.reload();
+		assertThat(ids(reloadable.getByModifiedObject(Folder.TYPE_FOLDER, 10, true, null, Events.UPDATE | Events.DELETE))).as("After second reload")
+				.containsOnly(1, 4);
+	}
+
+	/**
+	 * Create a row of dependencymap2
+	 * @return row
+	 * @throws SQLException
+	 */
+	protected DependencyIndex.Row row(int id, int modObjType, int modObjId, int modEleType, int modEleId, String modProp, int depObjType,
+			int depObjId, int eventMask) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getInt("id")).thenReturn(id);
+		when(rs.getInt("mod_obj_type")).thenReturn(modObjType);
+		when(rs.getInt("mod_obj_id")).thenReturn(modObjId);
+		when(rs.getInt("mod_ele_type")).thenReturn(modEleType);
+		when(rs.getInt("mod_ele_id")).thenReturn(modEleId);
+		when(rs.getString("mod_prop")).thenReturn(modProp);
+		when(rs.getInt("dep_obj_type")).thenReturn(depObjType);
+		when(rs.getInt("dep_obj_id")).thenReturn(depObjId);
+		when(rs.getString("dep_channel_id")).thenReturn("0");
+		when(rs.getInt("eventmask")).thenReturn(eventMask);
+		return new DependencyIndex.Row(rs) {
+		};
+	}
+
+	/**
+	 * Get the ids of the rows
+	 * @param rows rows
+	 * @return ids
+	 */
+	protected List<Integer> ids(List<DependencyIndex.Row> rows) {
+		return rows.stream().map(DependencyIndex.Row::getId).collect(Collectors.toList());
+	}
+
+	/**
+	 * Dependency index, which loads the given dependencies instead of reading them from the database
+	 */
+	protected static class ReloadableIndex extends DependencyIndex {
+		/**
+		 * Dependencies, which are loaded
+		 */
+		protected TIntObjectHashMap<Row> loaded = new TIntObjectHashMap<>();
+
+		/**
+		 * Action, which is executed while loading
+		 */
+		protected Runnable duringLoad = () -> {};
+
+		@Override
+		protected TIntObjectHashMap<Row> loadAll() throws NodeException {
+			duringLoad.run();
+			return loaded;
+		}
+
+		/**
+		 * Reload the index
+		 * @throws NodeException
+		 */
+		public void reload() throws NodeException {
+			load();
+		}
+
+		/**
+		 * Apply the modification like done after a transaction has been committed
+		 * @param modification modification
+		 */
+		public void modify(Consumer<DependencyIndex> modification) {
+			apply(modification);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.gentics.contentnode.tests.dirting;
+
+import static com.gentics.contentnode.publish.PublishQueue.getDirtedObjectIds;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createNode;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createPage;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createTemplate;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.update;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.gentics.contentnode.factory.NodeFactory;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.jmx.DirtQueueInfo;
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.Template;
+import com.gentics.contentnode.testutils.DBTestContext;
+
+/**
+ * Test cases for handling the dirt queue with multiple threads
+ */
+public class ParallelDirtQueueTest {
+	/**
+	 * Number of worker threads
+	 */
+	private final static int THREADS = 4;
+
+	@ClassRule
+	public static DBTestContext testContext = new DBTestContext().config(prefs -> {
+		prefs.set(NodeFactory.DIRTQUEUE_THREADS_CONFIG_KEY, Integer.toString(THREADS));
+		prefs.set(NodeFactory.DIRTQUEUE_BATCHSIZE_CONFIG_KEY, "7");
+	});
+
+	/**
+	 * Number of test pages
+	 */
+	private final static int NUM_PAGES = 20;
+
+	private static Node node;
+
+	private static List<Page> pages = new ArrayList<>();
+
+	/**
+	 * Setup static test data
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setupOnce() throws Exception {
+		node = Trx.supply(() -> createNode());
+		Template template = Trx.supply(() -> createTemplate(node.getFolder(), "Template"));
+
+		for (int i = 0; i < NUM_PAGES; i++) {
+			String name = "Page " + i;
+			pages.add(Trx.supply(() -> update(createPage(node.getFolder(), template, name), Page::publish)));
+		}
+
+		testContext.waitForDirtqueueWorker();
+		testContext.publish(false);
+	}
+
+	/**
+	 * Test that all dirt events are handled, when the dirt queue is handled in parallel
+	 * @throws Exception
+	 */
+	@Test
+	public void testParallelHandling() throws Exception {
+		DirtQueueInfo info = MBeanRegistry.getDirtQueueInfo();
+		long processedBefore = info.getProcessedEntries();
+		long failedBefore = info.getFailedEntries();
+
+		// modify every page twice, so that there are multiple entries for the same object
+		for (Page page : pages) {
+			Trx.operate(() -> update(page, p -> p.setName(p.getName() + " modified")));
+			Trx.operate(() -> update(page, Page::publish));
+		}
+
+		testContext.waitForDirtqueueWorker();
+
+		List<Integer> pageIds = pages.stream().map(Page::getId).collect(Collectors.toList());
+		Trx.operate(() -> {
+			assertThat(getDirtedObjectIds(Page.class, false, node)).as("Dirted pages").containsAll(pageIds);
+		});
+
+		assertThat(info.getWorkerThreads()).as("Worker threads").isEqualTo(THREADS);
+		assertThat(info.getProcessedEntries() - processedBefore).as("Handled entries").isGreaterThanOrEqualTo(2 * NUM_PAGES);
+		assertThat(info.getFailedEntries() - failedBefore).as("Failed entries").isEqualTo(0);
+	}
+}
@@ -0,0 +1,128 @@
+package com.gentics.contentnode.tests.factory;
+
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createChannel;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createFile;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createNode;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.localize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.etc.Feature;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.factory.object.ContentAddressedStore;
+import com.gentics.contentnode.object.File;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.runtime.NodeConfigRuntimeConfiguration;
+import com.gentics.contentnode.testutils.DBTestContext;
+
+/**
+ * Test cases for files sharing their binary contents in the {@link ContentAddressedStore}
+ */
+public class ContentAddressedFileTest {
+	@ClassRule
+	public static DBTestContext testContext = new DBTestContext();
+
+	/**
+	 * Test node
+	 */
+	private static Node node;
+
+	/**
+	 * Test channel
+	 */
+	private static Node channel;
+
+	/**
+	 * Enable the content addressed storage and create the test node
+	 * @throws NodeException
+	 */
+	@BeforeClass
+	public static void setupOnce() throws NodeException {
+		testContext.getContext().setFeature(Feature.MULTICHANNELLING, true);
+		NodeConfigRuntimeConfiguration.getPreferences().setProperty(ContentAddressedStore.ENABLED_PARAM, "true");
+		node = Trx.supply(() -> createNode());
+		channel = Trx.supply(() -> createChannel(node, "Channel", "channel", "/"));
+	}
+
+	/**
+	 * Disable the content addressed storage
+	 */
+	@AfterClass
+	public static void tearDownOnce() {
+		NodeConfigRuntimeConfiguration.getPreferences().setProperty(ContentAddressedStore.ENABLED_PARAM, (String) null);
+	}
+
+	/**
+	 * Test that a copy shares the stored content and the content is purged after both files were deleted
+	 * @throws Exception
+	 */
+	@Test
+	public void testCopy() throws Exception {
+		File file = Trx.supply(() -> createFile(node.getFolder(), "original.txt", "Copied content".getBytes(StandardCharsets.UTF_8)));
+		File copy = Trx.supply(() -> {
+			File c = (File) file.copy();
+			c.setName("copy.txt");
+			c.save();
+			return c;
+		});
+
+		java.io.File content = Trx.supply(() -> ContentAddressedStore.get().getContent(file.getMd5()));
+		assertThat(content).as("Stored content").exists().hasContent("Copied content");
+		assertThat(Trx.supply(() -> copy.getMd5())).as("MD5 of copy").isEqualTo(Trx.supply(() -> file.getMd5()));
+		assertShared(file, content);
+		assertShared(copy, content);
+		assertThat(ContentAddressedStore.getReferences(content)).as("References").isEqualTo(2);
+
+		Trx.operate(() -> copy.delete(true));
+		assertThat(ContentAddressedStore.getReferences(content)).as("References after deleting the copy").isEqualTo(1);
+		ContentAddressedStore.get().purge();
+		assertThat(content).as("Content referenced by the original").exists();
+
+		Trx.operate(() -> file.delete(true));
+		assertThat(ContentAddressedStore.getReferences(content)).as("References after deleting the original").isEqualTo(0);
+		ContentAddressedStore.get().purge();
+		assertThat(content).as("Unreferenced content").doesNotExist();
+	}
+
+	/**
+	 * Test that a localized copy shares the stored content and the content is purged after both files were deleted
+	 * @throws Exception
+	 */
+	@Test
+	public void testLocalize() throws Exception {
+		File file = Trx.supply(() -> createFile(node.getFolder(), "localized.txt", "Localized content".getBytes(StandardCharsets.UTF_8)));
+		File localized = Trx.supply(() -> localize(file, channel));
+
+		java.io.File content = Trx.supply(() -> ContentAddressedStore.get().getContent(file.getMd5()));
+		assertThat(content).as("Stored content").exists().hasContent("Localized content");
+		assertShared(file, content);
+		assertShared(localized, content);
+		assertThat(ContentAddressedStore.getReferences(content)).as("References").isEqualTo(2);
+
+		Trx.operate(() -> localized.delete(true));
+		assertThat(ContentAddressedStore.getReferences(content)).as("References after deleting the localized copy").isEqualTo(1);
+
+		Trx.operate(() -> file.delete(true));
+		ContentAddressedStore.get().purge();
+		assertThat(content).as("Unreferenced content").doesNotExist();
+	}
+
+	/**
+	 * Assert that the dbfile of the given file is the stored content
+	 * @param file file
+	 * @param content stored content
+	 * @throws Exception
+	 */
+	protected void assertShared(File file, java.io.File content) throws Exception {
+		java.io.File binFile = Trx.supply(() -> file.getBinFile());
+		assertThat(Files.isSameFile(binFile.toPath(), content.toPath())).as("dbfile of " + file + " is the stored content").isTrue();
+	}
+}
@@ -0,0 +1,152 @@
+package com.gentics.contentnode.tests.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gentics.contentnode.factory.object.ContentAddressedStore;
+import com.gentics.contentnode.factory.object.ContentAddressedStore.PurgeResult;
+
+/**
+ * Test cases for the {@link ContentAddressedStore}
+ */
+public class ContentAddressedStoreTest {
+	/**
+	 * MD5 hash of the test data
+	 */
+	public final static String MD5 = "0cc175b9c0f1b6a831c399e269772661";
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	/**
+	 * dbfiles directory
+	 */
+	protected File dbFilesDir;
+
+	/**
+	 * Tested store
+	 */
+	protected ContentAddressedStore store;
+
+	/**
+	 * Create the store
+	 * @throws Exception
+	 */
+	@Before
+	public void setup() throws Exception {
+		dbFilesDir = testFolder.newFolder("dbfiles");
+		store = new ContentAddressedStore(dbFilesDir);
+	}
+
+	/**
+	 * Test that identical contents are stored only once and referenced by hard links
+	 * @throws Exception
+	 */
+	@Test
+	public void testStore() throws Exception {
+		File first = new File(dbFilesDir, "1.bin");
+		File second = new File(dbFilesDir, "2.bin");
+
+		store.store(data(), MD5, first);
+		store.store(data(), MD5, second);
+
+		File content = store.getContent(MD5);
+		assertThat(content).as("Stored content").exists().hasContent("a");
+		assertThat(first).as("First file").hasContent("a");
+		assertThat(second).as("Second file").hasContent("a");
+		assertThat(Files.isSameFile(first.toPath(), content.toPath())).as("First file is linked").isTrue();
+		assertThat(ContentAddressedStore.getReferences(content)).as("References").isEqualTo(2);
+	}
+
+	/**
+	 * Test that data, which differs from the stored content with the same md5 hash, is not linked to the stored content
+	 * @throws Exception
+	 */
+	@Test
+	public void testStoreDifferentContent() throws Exception {
+		File first = new File(dbFilesDir, "1.bin");
+		File sameSize = new File(dbFilesDir, "2.bin");
+		File otherSize = new File(dbFilesDir, "3.bin");
+
+		store.store(data(), MD5, first);
+		store.store(data("b"), MD5, sameSize);
+		store.store(data("bb"), MD5, otherSize);
+
+		File content = store.getContent(MD5);
+		assertThat(content).as("Stored content").hasContent("a");
+		assertThat(sameSize).as("File with same size").hasContent("b");
+		assertThat(otherSize).as("File with other size").hasContent("bb");
+		assertThat(Files.isSameFile(sameSize.toPath(), content.toPath())).as("File with same size is linked").isFalse();
+		assertThat(Files.isSameFile(otherSize.toPath(), content.toPath())).as("File with other size is linked").isFalse();
+		assertThat(ContentAddressedStore.getReferences(content)).as("References").isEqualTo(1);
+	}
+
+	/**
+	 * Test that copies share the binary content
+	 * @throws Exception
+	 */
+	@Test
+	public void testLink() throws Exception {
+		File first = new File(dbFilesDir, "1.bin");
+		File copy = new File(dbFilesDir, "2.bin");
+
+		store.store(data(), MD5, first);
+		ContentAddressedStore.link(first, copy);
+
+		assertThat(Files.isSameFile(copy.toPath(), first.toPath())).as("Copy is linked").isTrue();
+		assertThat(ContentAddressedStore.getReferences(store.getContent(MD5))).as("References").isEqualTo(2);
+	}
+
+	/**
+	 * Test that only unreferenced contents are purged
+	 * @throws Exception
+	 */
+	@Test
+	public void testPurge() throws Exception {
+		File first = new File(dbFilesDir, "1.bin");
+		File second = new File(dbFilesDir, "2.bin");
+
+		store.store(data(), MD5, first);
+		store.store(data(), MD5, second);
+
+		first.delete();
+		PurgeResult result = store.purge();
+		assertThat(result.getRemoved()).as("Removed contents").isEqualTo(0);
+		assertThat(store.getContent(MD5)).as("Referenced content").exists();
+
+		second.delete();
+		result = store.purge();
+		assertThat(result.getRemoved()).as("Removed contents").isEqualTo(1);
+		assertThat(result.getBytes()).as("Freed bytes").isEqualTo(1);
+		assertThat(store.getContent(MD5)).as("Unreferenced content").doesNotExist();
+	}
+
+	/**
+	 * Create a temporary file containing the test data
+	 * @return file
+	 * @throws Exception
+	 */
+	protected File data() throws Exception {
+		return data("a");
+	}
+
+	/**
+	 * Create a temporary file containing the given data
+	 * @param content data
+	 * @return file
+	 * @throws Exception
+	 */
+	protected File data(String content) throws Exception {
+		File data = testFolder.newFile();
+		Files.write(data.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return data;
+	}
+}
@@ -0,0 +1,92 @@
+package com.gentics.contentnode.tests.perm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.object.Folder;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.perm.PermissionStore.GroupPermissions;
+import com.gentics.contentnode.perm.Permissions;
+
+/**
+ * Test cases for the (immutable) {@link GroupPermissions}
+ */
+public class GroupPermissionsTest {
+	/**
+	 * Test that modifications create copies and the merged type permissions are updated
+	 * @throws NodeException
+	 */
+	@Test
+	public void testModify() throws NodeException {
+		Permissions view = Permissions.get("10000000000000000000000000000000");
+		Permissions edit = Permissions.get("01000000000000000000000000000000");
+
+		GroupPermissions first = GroupPermissions.EMPTY.with(Folder.TYPE_FOLDER, 1, view, null);
+		GroupPermissions second = first.with(Folder.TYPE_FOLDER, 2, edit, null);
+
+		assertThat(GroupPermissions.EMPTY.get(Folder.TYPE_FOLDER, 1)).as("Permissions in empty instance").isNull();
+		assertThat(first.get(Folder.TYPE_FOLDER, 2)).as("Permissions in first instance").isNull();
+		assertThat(second.get(Folder.TYPE_FOLDER, 1)).as("Permissions in second instance").isSameAs(view);
+		assertThat(second.get(Folder.TYPE_FOLDER, 2)).as("Permissions in second instance").isSameAs(edit);
+		assertThat(second.getMergedBits(Folder.TYPE_FOLDER)).as("Merged bits").isEqualTo(view.getBits() | edit.getBits());
+		assertThat(second.getMergedBits(Node.TYPE_NODE)).as("Merged bits of other type").isEqualTo(0);
+		assertThat(second.getCount()).as("Count").isEqualTo(2);
+
+		assertThat(second.with(Folder.TYPE_FOLDER, 2, edit, null)).as("Unchanged instance").isSameAs(second);
+
+		GroupPermissions removed = second.with(Folder.TYPE_FOLDER, 1, null, null);
+		assertThat(removed.get(Folder.TYPE_FOLDER, 1)).as("Removed permissions").isNull();
+		assertThat(removed.getMergedBits(Folder.TYPE_FOLDER)).as("Merged bits after removal").isEqualTo(edit.getBits());
+		assertThat(second.get(Folder.TYPE_FOLDER, 1)).as("Permissions in original instance").isSameAs(view);
+	}
+
+	/**
+	 * Test modifying the permissions and roles of multiple objects at once
+	 * @throws NodeException
+	 */
+	@Test
+	public void testModifyMultiple() throws NodeException {
+		Permissions view = Permissions.get("10000000000000000000000000000000");
+		Permissions edit = Permissions.get("01000000000000000000000000000000");
+
+		GroupPermissions original = GroupPermissions.EMPTY.with(Folder.TYPE_FOLDER, 1, view, null).with(Node.TYPE_NODE, 1, edit, null);
+		GroupPermissions modified = original.with(Folder.TYPE_FOLDER, new int[] { 1, 2, 3 }, id -> id == 1 ? null : edit,
+				id -> id == 3 ? new int[] { 2, 1 } : null);
+
+		assertThat(modified.get(Folder.TYPE_FOLDER, 1)).as("Removed permissions").isNull();
+		assertThat(modified.get(Folder.TYPE_FOLDER, 2)).as("Added permissions").isSameAs(edit);
+		assertThat(modified.get(Folder.TYPE_FOLDER, 3)).as("Added permissions").isSameAs(edit);
+		assertThat(modified.getRoleIds(Folder.TYPE_FOLDER, 3)).as("Role IDs").containsExactly(1, 2);
+		assertThat(modified.getMergedBits(Folder.TYPE_FOLDER)).as("Merged bits").isEqualTo(edit.getBits());
+		assertThat(modified.get(Node.TYPE_NODE, 1)).as("Permissions of other type").isSameAs(edit);
+		assertThat(modified.getCount()).as("Count").isEqualTo(3);
+
+		assertThat(original.get(Folder.TYPE_FOLDER, 1)).as("Permissions in original instance").isSameAs(view);
+		assertThat(original.get(Folder.TYPE_FOLDER, 2)).as("Permissions in original instance").isNull();
+		assertThat(original.getRoleIds(Folder.TYPE_FOLDER, 3)).as("Role IDs in original instance").isNull();
+
+		assertThat(modified.with(Folder.TYPE_FOLDER, new int[] { 1, 2, 3 }, id -> modified.get(Folder.TYPE_FOLDER, id),
+				id -> modified.getRoleIds(Folder.TYPE_FOLDER, id))).as("Unchanged instance").isSameAs(modified);
+	}
+
+	/**
+	 * Test removing role assignments
+	 * @throws NodeException
+	 */
+	@Test
+	public void testRemoveRole() throws NodeException {
+		GroupPermissions perms = GroupPermissions.EMPTY.with(Folder.TYPE_FOLDER, 1, null, new int[] { 3, 1, 2 }).with(Folder.TYPE_FOLDER, 2, null,
+				new int[] { 2 });
+
+		assertThat(perms.getRoleIds(Folder.TYPE_FOLDER, 1)).as("Role IDs").containsExactly(1, 2, 3);
+
+		GroupPermissions withoutRole = perms.withoutRole(2);
+		assertThat(withoutRole.getRoleIds(Folder.TYPE_FOLDER, 1)).as("Role IDs after removal").containsExactly(1, 3);
+		assertThat(withoutRole.getRoleIds(Folder.TYPE_FOLDER, 2)).as("Role IDs after removal").isNull();
+		assertThat(perms.getRoleIds(Folder.TYPE_FOLDER, 2)).as("Role IDs in original instance").containsExactly(2);
+
+		assertThat(withoutRole.withoutRole(4)).as("Unchanged instance").isSameAs(withoutRole);
+	}
+}
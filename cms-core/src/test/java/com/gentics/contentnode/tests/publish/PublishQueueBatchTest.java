@@ -0,0 +1,142 @@
+package com.gentics.contentnode.tests.publish;
+
+import static com.gentics.contentnode.db.DBUtils.update;
+import static com.gentics.contentnode.factory.Trx.operate;
+import static com.gentics.contentnode.factory.Trx.supply;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.db.DBUtils;
+import com.gentics.contentnode.etc.Feature;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.publish.PublishQueue;
+import com.gentics.contentnode.publish.PublishQueue.Action;
+import com.gentics.contentnode.publish.PublishQueueBatch;
+import com.gentics.contentnode.testutils.DBTestContext;
+import com.gentics.contentnode.testutils.GCNFeature;
+
+/**
+ * Test cases for the {@link PublishQueueBatch}
+ */
+@GCNFeature(set = { Feature.ATTRIBUTE_DIRTING })
+public class PublishQueueBatchTest {
+	@ClassRule
+	public static DBTestContext testContext = new DBTestContext();
+
+	/**
+	 * Clean the publishqueue
+	 * @throws NodeException
+	 */
+	@Before
+	public void setUp() throws NodeException {
+		operate(() -> {
+			update("DELETE FROM publishqueue_attribute");
+			update("DELETE FROM publishqueue");
+		});
+	}
+
+	/**
+	 * Test that dirting the same object multiple times creates a single entry with merged attributes
+	 * @throws NodeException
+	 */
+	@Test
+	public void testMergeAttributes() throws NodeException {
+		operate(() -> {
+			PublishQueueBatch batch = new PublishQueueBatch(true);
+			batch.add(Page.TYPE_PAGE, 1, Action.DEPENDENCY, 0, "name");
+			batch.add(Page.TYPE_PAGE, 1, Action.DEPENDENCY, 0, "content");
+			batch.add(Page.TYPE_PAGE, 2, Action.DEPENDENCY, 0, "name");
+			assertThat(batch.size()).as("Collected objects").isEqualTo(2);
+			batch.flush();
+			assertThat(batch.isEmpty()).as("Batch empty after flush").isTrue();
+		});
+
+		assertThat(countEntries()).as("Number of entries").isEqualTo(2);
+		Map<Integer, Set<String>> dirted = supply(() -> PublishQueue.getDirtedObjectIdsWithAttributes(Page.class, false, null));
+		assertThat(dirted).as("Dirted pages").containsOnlyKeys(1, 2);
+		assertThat(dirted.get(1)).as("Attributes of page 1").containsOnly("name", "content");
+		assertThat(dirted.get(2)).as("Attributes of page 2").containsOnly("name");
+	}
+
+	/**
+	 * Test that dirting the whole object wins over dirting single attributes
+	 * @throws NodeException
+	 */
+	@Test
+	public void testWholeObject() throws NodeException {
+		operate(() -> {
+			PublishQueueBatch batch = new PublishQueueBatch(true);
+			batch.add(Page.TYPE_PAGE, 1, Action.DEPENDENCY, 0, "name");
+			batch.add(Page.TYPE_PAGE, 1, Action.DEPENDENCY, 0);
+			batch.add(Page.TYPE_PAGE, 1, Action.DEPENDENCY, 0, "content");
+			batch.flush();
+		});
+
+		assertThat(countEntries()).as("Number of entries").isEqualTo(1);
+		Map<Integer, Set<String>> dirted = supply(() -> PublishQueue.getDirtedObjectIdsWithAttributes(Page.class, false, null));
+		assertThat(dirted).as("Dirted pages").containsOnlyKeys(1);
+		assertThat(dirted.get(1)).as("Attributes of page 1").isNull();
+	}
+
+	/**
+	 * Test that existing entries are reused and get the new attributes
+	 * @throws NodeException
+	 */
+	@Test
+	public void testReuseExisting() throws NodeException {
+		operate(() -> {
+			PublishQueueBatch batch = new PublishQueueBatch(true);
+			batch.add(Page.TYPE_PAGE, 1, Action.DEPENDENCY, 0, "name");
+			batch.add(Page.TYPE_PAGE, 2, Action.DEPENDENCY, 0, "name");
+			batch.flush();
+		});
+
+		operate(() -> {
+			PublishQueueBatch batch = new PublishQueueBatch(true);
+			batch.add(Page.TYPE_PAGE, 1, Action.DEPENDENCY, 0, "content");
+			batch.add(Page.TYPE_PAGE, 2, Action.DEPENDENCY, 0);
+			batch.add(Page.TYPE_PAGE, 3, Action.DEPENDENCY, 0, "content");
+			batch.flush();
+		});
+
+		assertThat(countEntries()).as("Number of entries").isEqualTo(3);
+		Map<Integer, Set<String>> dirted = supply(() -> PublishQueue.getDirtedObjectIdsWithAttributes(Page.class, false, null));
+		assertThat(dirted).as("Dirted pages").containsOnlyKeys(1, 2, 3);
+		assertThat(dirted.get(1)).as("Attributes of page 1").containsOnly("name", "content");
+		assertThat(dirted.get(2)).as("Attributes of page 2").isNull();
+		assertThat(dirted.get(3)).as("Attributes of page 3").containsOnly("content");
+	}
+
+	/**
+	 * Test that objects are dirted in different channels separately
+	 * @throws NodeException
+	 */
+	@Test
+	public void testChannels() throws NodeException {
+		operate(() -> {
+			PublishQueueBatch batch = new PublishQueueBatch(false);
+			batch.add(Page.TYPE_PAGE, 1, Action.MODIFY, 1);
+			batch.add(Page.TYPE_PAGE, 1, Action.MODIFY, 2);
+			batch.add(Page.TYPE_PAGE, 1, Action.MODIFY, 2);
+			batch.flush();
+		});
+
+		assertThat(countEntries()).as("Number of entries").isEqualTo(2);
+	}
+
+	/**
+	 * Count the publishqueue entries
+	 * @return number of entries
+	 * @throws NodeException
+	 */
+	protected int countEntries() throws NodeException {
+		return supply(() -> DBUtils.select("SELECT COUNT(*) c FROM publishqueue", DBUtils.firstInt("c")));
+	}
+}
@@ -0,0 +1,171 @@
+package com.gentics.contentnode.tests.publish.mesh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.factory.Transaction;
+import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.object.ContentRepository;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.publish.mesh.MeshPublishController;
+import com.gentics.contentnode.publish.mesh.MeshPublisher;
+import com.gentics.contentnode.publish.mesh.MeshPublisher.ObjectToRemove;
+import com.gentics.contentnode.rest.model.ContentRepositoryModel;
+import com.gentics.mesh.parameter.VersioningParameters;
+
+import io.reactivex.Completable;
+
+/**
+ * Test cases for the error handling when removing multiple objects from Mesh with pipelined requests
+ */
+public class MeshPublisherRemoveErrorsTest {
+	/**
+	 * Name of the CR
+	 */
+	public final static String CR_NAME = "Test CR";
+
+	/**
+	 * Objects to remove
+	 */
+	protected List<ObjectToRemove> objects = Arrays.asList(page(1), page(2), page(3), page(4), page(5));
+
+	/**
+	 * Successfully removed objects
+	 */
+	protected List<Pair<Integer, Integer>> removed = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void setup() {
+		TransactionManager.setCurrentTransaction(mock(Transaction.class));
+	}
+
+	@After
+	public void tearDown() {
+		TransactionManager.setCurrentTransaction(null);
+	}
+
+	/**
+	 * Test that all objects are reported as removed, if all requests succeed
+	 * @throws Exception
+	 */
+	@Test
+	public void testNoError() throws Exception {
+		try (MeshPublisher publisher = publisher(Collections.emptyList())) {
+			assertThat(publisher.remove(null, null, objects, false)).as("All objects handled").isTrue();
+		}
+
+		assertThat(removed).as("Removed objects").containsOnly(removed(1), removed(2), removed(3), removed(4), removed(5));
+	}
+
+	/**
+	 * Test that a single failed removal is thrown, after the other removals were done
+	 * @throws Exception
+	 */
+	@Test
+	public void testSingleError() throws Exception {
+		try (MeshPublisher publisher = publisher(Arrays.asList("uuid2"))) {
+			publisher.remove(null, null, objects, false);
+			fail("Removing must fail");
+		} catch (NodeException e) {
+			assertThat(e.getMessage()).as("Error message").isEqualTo(String.format("Error while removing object of type %d with uuid uuid2", Page.TYPE_PAGE));
+			assertThat(e.getCause()).as("Cause").hasMessage("Removal of uuid2 failed");
+		}
+
+		assertThat(removed).as("Removed objects").containsOnly(removed(1), removed(3), removed(4), removed(5));
+	}
+
+	/**
+	 * Test that multiple failed removals are aggregated into a single exception, after the other removals were done
+	 * @throws Exception
+	 */
+	@Test
+	public void testMultipleErrors() throws Exception {
+		try (MeshPublisher publisher = publisher(Arrays.asList("uuid2", "uuid4"))) {
+			publisher.remove(null, null, objects, false);
+			fail("Removing must fail");
+		} catch (NodeException e) {
+			assertThat(e.getMessage()).as("Error message").isEqualTo(String.format("2 errors while removing objects from '%s'", CR_NAME));
+			assertThat(e.getSuppressed()).as("Suppressed errors").hasSize(1);
+
+			List<String> errorMessages = Stream.concat(Stream.of(e.getCause()), Stream.of(e.getSuppressed())).map(Throwable::getMessage)
+					.collect(Collectors.toList());
+			assertThat(errorMessages).as("Error messages").containsOnly(
+					String.format("Error while removing object of type %d with uuid uuid2", Page.TYPE_PAGE),
+					String.format("Error while removing object of type %d with uuid uuid4", Page.TYPE_PAGE));
+		}
+
+		assertThat(removed).as("Removed objects").containsOnly(removed(1), removed(3), removed(5));
+	}
+
+	/**
+	 * Create a publisher, which does not connect to Mesh. The removal requests for the given UUIDs fail, all other removal requests succeed.
+	 * Successfully removed objects are added to {@link #removed}
+	 * @param failingUuids list of UUIDs, for which the removal fails
+	 * @return publisher instance
+	 * @throws Exception
+	 */
+	protected MeshPublisher publisher(Collection<String> failingUuids) throws Exception {
+		ContentRepository cr = mock(ContentRepository.class);
+		when(cr.getCrType()).thenReturn(ContentRepositoryModel.Type.mesh);
+		when(cr.getName()).thenReturn(CR_NAME);
+		when(cr.getUrl()).thenReturn("localhost/testproject");
+		when(cr.getEffectiveUrl()).thenReturn("localhost/testproject");
+
+		MeshPublishController publishController = new MeshPublishController() {
+			{
+				successHandler = removed::add;
+			}
+		};
+
+		return new MeshPublisher(cr, false) {
+			{
+				controller = publishController;
+			}
+
+			@Override
+			protected Completable removeRequest(MeshProject project, VersioningParameters branch, int objectType, String meshUuid,
+					String meshLanguage, Map<String, String> additionalData) {
+				if (failingUuids.contains(meshUuid)) {
+					return Completable.error(new Exception(String.format("Removal of %s failed", meshUuid)));
+				} else {
+					return Completable.complete();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Get the page with given ID as object to remove
+	 * @param id page ID
+	 * @return object to remove
+	 */
+	protected static ObjectToRemove page(int id) {
+		return new ObjectToRemove(Page.TYPE_PAGE, id, "uuid" + id, null, null);
+	}
+
+	/**
+	 * Get the pair, which is passed to the success handler for the removed page
+	 * @param id page ID
+	 * @return pair
+	 */
+	protected static Pair<Integer, Integer> removed(int id) {
+		return Pair.of(Page.TYPE_PAGE, id);
+	}
+}
@@ -0,0 +1,68 @@
+package com.gentics.contentnode.tests.publish.mesh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.gentics.contentnode.publish.mesh.MeshRequestStats;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.subjects.CompletableSubject;
+
+/**
+ * Test cases for the {@link MeshRequestStats}
+ */
+public class MeshRequestStatsTest {
+	/**
+	 * Test that requests are counted as in flight while they are running
+	 */
+	@Test
+	public void testInFlight() {
+		MeshRequestStats stats = new MeshRequestStats();
+		CompletableSubject first = CompletableSubject.create();
+		CompletableSubject second = CompletableSubject.create();
+
+		Completable all = Completable.merge(Flowable.just(stats.track(first), stats.track(second))).cache();
+		all.subscribe();
+		assertThat(stats.getInFlight()).as("Requests in flight").isEqualTo(2);
+
+		first.onComplete();
+		assertThat(stats.getInFlight()).as("Requests in flight").isEqualTo(1);
+		assertThat(stats.getFinished()).as("Finished requests").isEqualTo(1);
+
+		second.onComplete();
+		assertThat(stats.getInFlight()).as("Requests in flight").isEqualTo(0);
+		assertThat(stats.getFinished()).as("Finished requests").isEqualTo(2);
+		assertThat(stats.getFailed()).as("Failed requests").isEqualTo(0);
+	}
+
+	/**
+	 * Test that failed requests are counted
+	 */
+	@Test
+	public void testFailed() {
+		MeshRequestStats stats = new MeshRequestStats();
+		Throwable error = stats.track(Completable.error(new Exception("Request failed"))).blockingGet();
+
+		assertThat(error).as("Error").isNotNull();
+		assertThat(stats.getInFlight()).as("Requests in flight").isEqualTo(0);
+		assertThat(stats.getFinished()).as("Finished requests").isEqualTo(1);
+		assertThat(stats.getFailed()).as("Failed requests").isEqualTo(1);
+	}
+
+	/**
+	 * Test the latencies
+	 */
+	@Test
+	public void testLatency() {
+		MeshRequestStats stats = new MeshRequestStats();
+		stats.track(Completable.complete()).blockingAwait();
+		stats.track(Completable.timer(100, TimeUnit.MILLISECONDS)).blockingAwait();
+
+		assertThat(stats.getMaxLatency()).as("Max latency").isGreaterThanOrEqualTo(100);
+		assertThat(stats.getAverageLatency()).as("Average latency").isGreaterThanOrEqualTo(40).isLessThanOrEqualTo(stats.getMaxLatency());
+	}
+}
@@ -13,7 +13,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
@@ -24,14 +27,18 @@ import com.gentics.contentnode.etc.AsynchronousWorker;
 import com.gentics.contentnode.factory.MulticonnectionTransaction;
 import com.gentics.contentnode.factory.Transaction;
 import com.gentics.contentnode.factory.TransactionManager;
+import com.gentics.contentnode.jmx.MBeanRegistry;
 import com.gentics.contentnode.object.Content;
 import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.publish.AbstractPageList;
 import com.gentics.contentnode.publish.AsynchronousWorkerLoadMonitor;
 import com.gentics.contentnode.publish.PageDistributor;
 import com.gentics.contentnode.publish.PublishQueue;
+import com.gentics.contentnode.publish.PublishQueue.NodeObjectIdWithAttributes;
 import com.gentics.contentnode.publish.PublishQueue.NodeObjectWithAttributes;
 import com.gentics.contentnode.publish.SimplePublishInfo;
 import com.gentics.contentnode.publish.WorkLoadMonitor;
+import com.gentics.contentnode.publish.WorkStealingPageDistributor;
 import com.gentics.contentnode.render.RenderResult;
 import com.gentics.lib.genericexceptions.GenericFailureException;
 
@@ -182,6 +189,141 @@ public class PageDistributorTest {
 		}
 	}
 
+	/**
+	 * Test that the work stealing distributor hands out every page exactly once, even if the workers have different speeds
+	 * @throws Exception
+	 */
+	@Test
+	public void testWorkStealing() throws Exception {
+		SimplePublishInfo publishInfo = new SimplePublishInfo();
+		List<NodeObjectIdWithAttributes> pageIds = new ArrayList<>();
+		for (int i = 0; i < NUM_PAGES; i++) {
+			pageIds.add(new NodeObjectIdWithAttributes(i, null));
+		}
+		AbstractPageList pageList = new AbstractPageList(pageIds, null) {
+			@Override
+			protected NodeObjectWithAttributes<Page> getPage(NodeObjectIdWithAttributes pageId) throws NodeException {
+				Page page = mock(Page.class);
+				when(page.getId()).thenReturn(pageId.getId());
+				return new NodeObjectWithAttributes<>(page, pageId.getAttributes());
+			}
+		};
+		TransactionManager.setCurrentTransaction(transaction);
+		PageDistributor pageDistributor = new WorkStealingPageDistributor(1, pageList, NUM_WORKER, null, publishInfo, null, null, null, null);
+
+		Map<Integer, AtomicInteger> handled = new ConcurrentHashMap<>();
+		Collection<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < NUM_WORKER; i++) {
+			// the first worker is slow, so its pages must be stolen by the others
+			boolean slow = i == 0;
+			Thread worker = new Thread(() -> {
+				TransactionManager.setCurrentTransaction(transaction);
+				NodeObjectWithAttributes<Page> pageWithAttributes = null;
+				while ((pageWithAttributes = pageDistributor.getNextPage()) != null) {
+					handled.computeIfAbsent(pageWithAttributes.getObject().getId(), id -> new AtomicInteger()).incrementAndGet();
+					if (slow) {
+						try {
+							Thread.sleep(JOB_PROCESSING_TIME);
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+
+		for (Thread worker : workers) {
+			worker.join(MAXIMUM_WAIT);
+			assertFalse("Worker thread did not finish within " + MAXIMUM_WAIT + " ms", worker.isAlive());
+		}
+		pageDistributor.finish();
+
+		NodeException nodeException = pageDistributor.getNodeException();
+		if (nodeException != null) {
+			throw nodeException;
+		}
+
+		assertEquals("Check number of handled pages", NUM_PAGES, handled.size());
+		for (Map.Entry<Integer, AtomicInteger> entry : handled.entrySet()) {
+			assertEquals("Check how often page " + entry.getKey() + " was handled", 1, entry.getValue().get());
+		}
+		assertTrue("Pages of the slow worker should have been stolen", MBeanRegistry.getPublisherInfo().getStolenPages() > 0);
+	}
+
+	/**
+	 * Test that the prefetcher of the page list prefetches the pages ahead of the workers and every page is prefetched at most once
+	 * @throws Exception
+	 */
+	@Test
+	public void testPrefetch() throws Exception {
+		SimplePublishInfo publishInfo = new SimplePublishInfo();
+		List<NodeObjectIdWithAttributes> pageIds = new ArrayList<>();
+		for (int i = 0; i < NUM_PAGES; i++) {
+			pageIds.add(new NodeObjectIdWithAttributes(i, null));
+		}
+		Map<Integer, AtomicInteger> prefetchedIds = new ConcurrentHashMap<>();
+		AbstractPageList pageList = new AbstractPageList(pageIds, null) {
+			@Override
+			protected NodeObjectWithAttributes<Page> getPage(NodeObjectIdWithAttributes pageId) throws NodeException {
+				Page page = mock(Page.class);
+				when(page.getId()).thenReturn(pageId.getId());
+				return new NodeObjectWithAttributes<>(page, pageId.getAttributes());
+			}
+
+			@Override
+			protected void prefetch(List<Integer> ids) throws NodeException {
+				for (Integer id : ids) {
+					prefetchedIds.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+				}
+			}
+		};
+		TransactionManager.setCurrentTransaction(transaction);
+		PageDistributor pageDistributor = PageDistributor.create(1, pageList, NUM_WORKER, null, publishInfo, null, null, null, null);
+
+		Map<Integer, AtomicInteger> handled = new ConcurrentHashMap<>();
+		Collection<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < NUM_WORKER; i++) {
+			Thread worker = new Thread(() -> {
+				TransactionManager.setCurrentTransaction(transaction);
+				NodeObjectWithAttributes<Page> pageWithAttributes = null;
+				while ((pageWithAttributes = pageDistributor.getNextPage()) != null) {
+					handled.computeIfAbsent(pageWithAttributes.getObject().getId(), id -> new AtomicInteger()).incrementAndGet();
+					try {
+						Thread.sleep(1);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+
+		for (Thread worker : workers) {
+			worker.join(MAXIMUM_WAIT);
+			assertFalse("Worker thread did not finish within " + MAXIMUM_WAIT + " ms", worker.isAlive());
+		}
+		pageDistributor.finish();
+
+		NodeException nodeException = pageDistributor.getNodeException();
+		if (nodeException != null) {
+			throw nodeException;
+		}
+
+		assertEquals("Check number of handled pages", NUM_PAGES, handled.size());
+		for (Map.Entry<Integer, AtomicInteger> entry : handled.entrySet()) {
+			assertEquals("Check how often page " + entry.getKey() + " was handled", 1, entry.getValue().get());
+		}
+		for (Map.Entry<Integer, AtomicInteger> entry : prefetchedIds.entrySet()) {
+			assertEquals("Check how often page " + entry.getKey() + " was prefetched", 1, entry.getValue().get());
+		}
+		assertEquals("Check number of prefetch hits and misses", NUM_PAGES, pageList.getPrefetchHits() + pageList.getPrefetchMisses());
+		assertEquals("Check number of prefetched pages", prefetchedIds.size(), pageList.getPrefetched());
+		assertTrue("Pages should have been prefetched", pageList.getPrefetchHits() > 0);
+	}
+
 	/**
 	 * Set the number of currently queued jobs
 	 * @param queuedJobs queued jobs
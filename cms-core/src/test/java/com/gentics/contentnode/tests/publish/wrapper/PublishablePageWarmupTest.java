@@ -0,0 +1,94 @@
+package com.gentics.contentnode.tests.publish.wrapper;
+
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createNode;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createPage;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.createTemplate;
+import static com.gentics.contentnode.tests.utils.ContentNodeTestDataUtils.update;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.etc.Feature;
+import com.gentics.contentnode.factory.Trx;
+import com.gentics.contentnode.object.Node;
+import com.gentics.contentnode.object.Page;
+import com.gentics.contentnode.object.Template;
+import com.gentics.contentnode.publish.wrapper.PublishablePage;
+import com.gentics.contentnode.publish.wrapper.PublishablePageWarmup;
+import com.gentics.contentnode.render.RenderResult;
+import com.gentics.contentnode.testutils.DBTestContext;
+
+/**
+ * Test cases for the batched warm-up of the {@link PublishablePage} cache
+ */
+public class PublishablePageWarmupTest {
+	@ClassRule
+	public static DBTestContext testContext = new DBTestContext();
+
+	/**
+	 * Number of test pages
+	 */
+	private final static int NUM_PAGES = 25;
+
+	/**
+	 * Published test pages
+	 */
+	private static List<Page> pages = new ArrayList<>();
+
+	/**
+	 * Page, which was never published
+	 */
+	private static Page unpublished;
+
+	/**
+	 * Setup static test data
+	 * @throws NodeException
+	 */
+	@BeforeClass
+	public static void setupOnce() throws NodeException {
+		testContext.getContext().getNodeConfig().getDefaultPreferences().setFeature(Feature.PUBLISH_CACHE, true);
+		Node node = Trx.supply(() -> createNode());
+		Template template = Trx.supply(() -> createTemplate(node.getFolder(), "Template"));
+
+		for (int i = 0; i < NUM_PAGES; i++) {
+			String name = "Page " + i;
+			pages.add(Trx.supply(() -> update(createPage(node.getFolder(), template, name), Page::publish)));
+		}
+		unpublished = Trx.supply(() -> createPage(node.getFolder(), template, "Unpublished Page"));
+	}
+
+	/**
+	 * Test that the warm-up puts all published pages into the cache (in chunks, which do not fit evenly)
+	 * @throws NodeException
+	 */
+	@Test
+	public void testWarmup() throws NodeException {
+		PublishablePage.clearCache();
+
+		List<Integer> pageIds = pages.stream().map(Page::getId).collect(Collectors.toList());
+		pageIds.add(unpublished.getId());
+
+		Trx.operate(t -> {
+			t.getNodeConfig().getDefaultPreferences().setProperty(PublishablePageWarmup.CHUNK_SIZE_CONFIG_KEY, "10");
+			try {
+				new PublishablePageWarmup(1, t.getNodeConfig(), true).run(pageIds, new RenderResult());
+			} finally {
+				t.getNodeConfig().getDefaultPreferences().unsetProperty(PublishablePageWarmup.CHUNK_SIZE_CONFIG_KEY);
+			}
+		});
+
+		Trx.operate(() -> {
+			for (Page page : pages) {
+				StringBuilder diff = new StringBuilder();
+				assertThat(PublishablePage.check(page.getId(), diff)).as("Cache of " + page + " is valid (" + diff + ")").isTrue();
+			}
+		});
+	}
+}
@@ -11,6 +11,9 @@ import java.util.List;
 import org.junit.Test;
 
 import com.gentics.api.lib.exception.NodeException;
+import com.gentics.contentnode.events.Dependency;
+import com.gentics.contentnode.events.DependencyObject;
+import com.gentics.contentnode.factory.Trx;
 import com.gentics.contentnode.render.RenderType;
 import com.gentics.contentnode.resolving.StackResolvable;
 
@@ -129,4 +132,39 @@ public class RenderTypeTest extends AbstractRenderTypeTest {
 		assertTrue(page1 + " must be found on stack", renderType.find(page1) > 0);
 		assertTrue(contentTag + " must be found on stack", renderType.find(contentTag) > 0);
 	}
+
+	/**
+	 * Test that adding the same dependency twice stores it only once
+	 * @throws NodeException
+	 */
+	@Test
+	public void testAddDependencyTwice() throws NodeException {
+		Trx.operate(() -> {
+			RenderType renderType = new RenderType();
+			renderType.setHandleDependencies(true);
+			renderType.pushDependentObject(new DependencyObject(page1));
+
+			renderType.addDependency(page2, "name");
+			renderType.addDependency(page2, "name");
+			renderType.addDependency(page2, "filename");
+
+			DependencyObject source = new DependencyObject(page2);
+			int nameDependencies = 0;
+			int sourceDependencies = 0;
+			for (Dependency dep : renderType.getDependencies()) {
+				if (source.equals(dep.getSource())) {
+					sourceDependencies++;
+					if ("name".equals(dep.getSourceProperty())) {
+						nameDependencies++;
+					}
+				}
+			}
+
+			assertEquals("Check number of dependencies on the name", 1, nameDependencies);
+			assertEquals("Check number of dependencies on the source", 2, sourceDependencies);
+
+			renderType.popDependentObject();
+			renderType.resetDependencies();
+		});
+	}
 }
@@ -0,0 +1,105 @@
+package com.gentics.contentnode.tests.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.contentnode.parser.tag.ContentTagRenderer;
+import com.gentics.contentnode.parser.tag.NodeAttributeParser;
+import com.gentics.contentnode.parser.tag.struct.CodePart;
+import com.gentics.contentnode.parser.tag.struct.TagPart;
+import com.gentics.contentnode.parser.tag.struct.TagStructCache;
+import com.gentics.contentnode.parser.tag.struct.TagStructParser;
+import com.gentics.contentnode.render.RenderResult;
+
+/**
+ * Test cases for the {@link TagStructCache}
+ */
+public class TagStructCacheTest {
+	/**
+	 * Keyname of the tags
+	 */
+	public final static String KEYNAME = "node";
+
+	/**
+	 * Parsed template
+	 */
+	public final static String TEMPLATE = "<h1><node page.name></h1>\n<node content>\n<p>Footer</p>";
+
+	/**
+	 * Tag parser
+	 */
+	protected ContentTagRenderer tagParser = new ContentTagRenderer(KEYNAME);
+
+	/**
+	 * Attribute parser
+	 */
+	protected NodeAttributeParser attributeParser = new NodeAttributeParser();
+
+	/**
+	 * Clear the cache
+	 */
+	@Before
+	public void setup() {
+		TagStructCache.clear();
+	}
+
+	/**
+	 * Test that a cached structure is returned as copy with new tag parts
+	 * @throws Exception
+	 */
+	@Test
+	public void testGetCopy() throws Exception {
+		TagStructCache.Key key = key(TEMPLATE);
+		List<?> struct = TagStructParser.getInstance().parseToStruct(tagParser, new RenderResult(), TEMPLATE, KEYNAME, attributeParser);
+		TagStructCache.put(key, struct);
+
+		List<CodePart> cached = TagStructCache.get(key(new String(TEMPLATE)));
+		assertThat(cached).as("Cached structure").isNotNull().isNotSameAs(struct).hasSameSizeAs(struct);
+
+		for (int i = 0; i < struct.size(); i++) {
+			CodePart original = (CodePart) struct.get(i);
+			CodePart copy = cached.get(i);
+			assertThat(copy.getStartPos()).as("Start position of part " + i).isEqualTo(original.getStartPos());
+			assertThat(copy.getEndPos()).as("End position of part " + i).isEqualTo(original.getEndPos());
+			if (original instanceof TagPart) {
+				assertThat(copy).as("Part " + i).isInstanceOf(TagPart.class).isNotSameAs(original);
+				assertThat(((TagPart) copy).getType()).as("Type of part " + i).isEqualTo(((TagPart) original).getType());
+				assertThat(((TagPart) copy).getAttributes()).as("Attributes of part " + i).isEqualTo(((TagPart) original).getAttributes());
+			}
+		}
+	}
+
+	/**
+	 * Test that structures are cached per template and keyname
+	 * @throws Exception
+	 */
+	@Test
+	public void testKey() throws Exception {
+		List<?> struct = TagStructParser.getInstance().parseToStruct(tagParser, new RenderResult(), TEMPLATE, KEYNAME, attributeParser);
+		TagStructCache.put(key(TEMPLATE), struct);
+
+		long hits = TagStructCache.getHits();
+		long misses = TagStructCache.getMisses();
+
+		assertThat(TagStructCache.get(key(TEMPLATE + " "))).as("Structure for other template").isNull();
+		assertThat(TagStructCache.get(new TagStructCache.Key(ContentTagRenderer.class, NodeAttributeParser.class, "other", TEMPLATE)))
+				.as("Structure for other keyname").isNull();
+		assertThat(TagStructCache.get(key(TEMPLATE))).as("Structure for template").isNotNull();
+
+		assertThat(TagStructCache.getHits() - hits).as("Number of hits").isEqualTo(1);
+		assertThat(TagStructCache.getMisses() - misses).as("Number of misses").isEqualTo(2);
+	}
+
+	/**
+	 * Create the cache key for the template
+	 * @param template template
+	 * @return cache key
+	 */
+	protected TagStructCache.Key key(String template) {
+		return new TagStructCache.Key(ContentTagRenderer.class, NodeAttributeParser.class, KEYNAME, template);
+	}
+}
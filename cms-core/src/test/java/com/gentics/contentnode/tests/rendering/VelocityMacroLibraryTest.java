@@ -39,7 +39,6 @@ import com.gentics.contentnode.object.Template;
 import com.gentics.contentnode.object.TemplateTag;
 import com.gentics.contentnode.render.RenderType;
 import com.gentics.contentnode.testutils.DBTestContext;
-import com.gentics.lib.render.velocity.SerializableVelocityTemplateWrapper;
 
 /**
  * Test configuring and using a velocity macro library with a file resource loader
@@ -183,7 +182,7 @@ public class VelocityMacroLibraryTest {
 
 	/**
 	 * Test garbage collection while rendering velocity. This test reproduced the
-	 * problem that instances of {@link SerializableVelocityTemplateWrapper}
+	 * problem that instances of {@code SerializableVelocityTemplateWrapper}
 	 * sometimes were garbage collected while the wrapped template was still
 	 * rendered. This cause the template's namespace to be dumped so that inline
 	 * macros could not be resolved any more.
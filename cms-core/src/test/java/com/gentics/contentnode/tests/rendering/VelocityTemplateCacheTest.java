@@ -0,0 +1,74 @@
+package com.gentics.contentnode.tests.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.velocity.Template;
+import org.junit.Test;
+
+import com.gentics.contentnode.jmx.MBeanRegistry;
+import com.gentics.contentnode.object.parttype.VelocityTemplateCache;
+
+/**
+ * Test cases for the {@link VelocityTemplateCache}
+ */
+public class VelocityTemplateCacheTest {
+	/**
+	 * Construct ID used for the statistics
+	 */
+	public final static int CONSTRUCT_ID = 4711;
+
+	/**
+	 * Test that templates are only compiled once per source
+	 * @throws Exception
+	 */
+	@Test
+	public void testCompileOnce() throws Exception {
+		AtomicInteger compiled = new AtomicInteger();
+		String source = "#set($a = 1)$a " + UUID.randomUUID();
+		long hits = MBeanRegistry.getVelocityTemplateInfo().getCacheHits();
+
+		Template first = VelocityTemplateCache.get().get(source, CONSTRUCT_ID, () -> template(compiled));
+		Template second = VelocityTemplateCache.get().get(new String(source), CONSTRUCT_ID, () -> template(compiled));
+
+		assertThat(second).as("Cached template").isSameAs(first);
+		assertThat(compiled.get()).as("Number of compiled templates").isEqualTo(1);
+		assertThat(MBeanRegistry.getVelocityTemplateInfo().getCacheHits() - hits).as("Number of cache hits").isEqualTo(1);
+	}
+
+	/**
+	 * Test that different sources are compiled into different templates, and the compilations are counted per construct
+	 * @throws Exception
+	 */
+	@Test
+	public void testDifferentSources() throws Exception {
+		AtomicInteger compiled = new AtomicInteger();
+		String source = "$cms.page.name " + UUID.randomUUID();
+		long compiledTemplates = MBeanRegistry.getVelocityTemplateInfo().getCompiledTemplates();
+
+		Template first = VelocityTemplateCache.get().get(source, CONSTRUCT_ID, () -> template(compiled));
+		Template second = VelocityTemplateCache.get().get(source + " ", CONSTRUCT_ID, () -> template(compiled));
+
+		assertThat(second).as("Template for other source").isNotSameAs(first);
+		assertThat(compiled.get()).as("Number of compiled templates").isEqualTo(2);
+		assertThat(MBeanRegistry.getVelocityTemplateInfo().getCompiledTemplates() - compiledTemplates).as("Number of compiled templates in MBean")
+				.isEqualTo(2);
+		assertThat(MBeanRegistry.getVelocityTemplateInfo().getConstructCompileStats()).as("Compile stats")
+				.anyMatch(stats -> stats.startsWith(CONSTRUCT_ID + ": "));
+	}
+
+	/**
+	 * Create a mocked template with a unique name
+	 * @param compiled counter for compiled templates
+	 * @return template
+	 */
+	protected Template template(AtomicInteger compiled) {
+		Template template = mock(Template.class);
+		when(template.getName()).thenReturn("Test Template-" + compiled.incrementAndGet());
+		return template;
+	}
+}
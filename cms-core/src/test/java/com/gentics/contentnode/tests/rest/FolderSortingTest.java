@@ -150,6 +150,105 @@ public class FolderSortingTest {
 	}
 
 
+	/**
+	 * Test sorting and paging of plain listings (which is done in the database)
+	 * @throws Exception
+	 */
+	@Test
+	public void testSortAndPage() throws Exception {
+		Node node = null;
+		List<Integer> ids = new ArrayList<>();
+
+		try (Trx trx = new Trx()) {
+			node = ContentNodeTestDataUtils.createNode();
+			Folder rootFolder = node.getFolder();
+
+			for (String name : Arrays.asList("Object c", "Object a", "Object e", "Object b", "Object d")) {
+				switch (this.objectType) {
+				case Folder.TYPE_FOLDER:
+					ids.add(ContentNodeTestDataUtils.createFolder(rootFolder, name).getId());
+					break;
+				case Page.TYPE_PAGE:
+					ids.add(ContentNodeTestDataUtils.createTemplateAndPage(rootFolder, name).getId());
+					break;
+				case File.TYPE_FILE:
+					ids.add(ContentNodeTestDataUtils.createFile(rootFolder, name, "content".getBytes()).getId());
+					break;
+				}
+			}
+			trx.success();
+		}
+
+		assertSortedAndPaged(node.getFolder(), "name", "asc", 1, 2, 5, true, new Integer[] { ids.get(3), ids.get(0) });
+		assertSortedAndPaged(node.getFolder(), "name", "desc", 0, 3, 5, true, new Integer[] { ids.get(2), ids.get(4), ids.get(0) });
+		assertSortedAndPaged(node.getFolder(), "name", "asc", 3, -1, 5, false, new Integer[] { ids.get(4), ids.get(2) });
+		assertSortedAndPaged(node.getFolder(), "cdate", "asc", 4, 10, 5, false, new Integer[] { ids.get(4) });
+	}
+
+	/**
+	 * Assert that the legacy list endpoint returns the expected objects
+	 * @param folder folder
+	 * @param sortField sorted attribute
+	 * @param sortWay sort way
+	 * @param skipCount skip count
+	 * @param maxItems maximum number of items
+	 * @param numItems expected total number of items
+	 * @param hasMoreItems expected "hasMoreItems" flag
+	 * @param ids expected object IDs
+	 * @throws Exception
+	 */
+	@SuppressWarnings("unchecked")
+	protected void assertSortedAndPaged(Folder folder, String sortField, String sortWay, int skipCount, int maxItems, int numItems, boolean hasMoreItems, Integer[] ids)
+			throws Exception {
+		List<com.gentics.contentnode.rest.model.ContentNodeItem> objects = new ArrayList<>();
+		InFolderParameterBean inFolder = new InFolderParameterBean().setFolderId(folder.getId().toString());
+		LegacyFilterParameterBean filter = new LegacyFilterParameterBean();
+		LegacySortParameterBean sorting = new LegacySortParameterBean().setSortBy(sortField).setSortOrder(sortWay);
+		LegacyPagingParameterBean paging = new LegacyPagingParameterBean().setSkipCount(skipCount).setMaxItems(maxItems);
+		EditableParameterBean editable = new EditableParameterBean();
+		WastebinParameterBean wastebin = new WastebinParameterBean();
+		int responseNumItems = 0;
+		boolean responseHasMoreItems = false;
+
+		try (Trx trx = new Trx()) {
+			FolderResource folderResource = ContentNodeRESTUtils.getFolderResource();
+
+			switch (this.objectType) {
+			case Folder.TYPE_FOLDER:
+				LegacyFolderListResponse folderListResponse = folderResource.getFolders(inFolder.folderId, new ArrayList<>(), false, inFolder,
+						new FolderListParameterBean(), filter, sorting, paging, editable, wastebin);
+				ContentNodeTestUtils.assertResponseCodeOk(folderListResponse);
+				objects = (List<com.gentics.contentnode.rest.model.ContentNodeItem>)(Object)folderListResponse.getFolders();
+				responseNumItems = folderListResponse.getNumItems();
+				responseHasMoreItems = folderListResponse.isHasMoreItems();
+				break;
+			case Page.TYPE_PAGE:
+				LegacyPageListResponse pageListResponse = folderResource.getPages(inFolder.folderId, inFolder, new PageListParameterBean(), filter, sorting,
+						paging, new PublishableParameterBean(), wastebin);
+				ContentNodeTestUtils.assertResponseCodeOk(pageListResponse);
+				objects = (List<com.gentics.contentnode.rest.model.ContentNodeItem>)(Object)pageListResponse.getPages();
+				responseNumItems = pageListResponse.getNumItems();
+				responseHasMoreItems = pageListResponse.isHasMoreItems();
+				break;
+			case File.TYPE_FILE:
+				LegacyFileListResponse fileListResponse = folderResource.getFiles(inFolder.folderId, inFolder, new FileListParameterBean(), filter, sorting,
+						paging, editable, wastebin);
+				ContentNodeTestUtils.assertResponseCodeOk(fileListResponse);
+				objects = (List<com.gentics.contentnode.rest.model.ContentNodeItem>)(Object)fileListResponse.getFiles();
+				responseNumItems = fileListResponse.getNumItems();
+				responseHasMoreItems = fileListResponse.isHasMoreItems();
+				break;
+			}
+		}
+
+		assertEquals("Number of items", numItems, responseNumItems);
+		assertEquals("Has more items", hasMoreItems, responseHasMoreItems);
+		assertEquals("Number of returned objects", ids.length, objects.size());
+		for (int i = 0; i < ids.length; i++) {
+			assertEquals("Node object ID must match", ids[i], objects.get(i).getId());
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void assertDeletedRestObjectsFromFolderSortingLegacy(Folder folder, String sortField, String sortWay, Integer[] ids) throws Exception {
 		List<com.gentics.contentnode.rest.model.ContentNodeItem> deletedObjects = new ArrayList<>();
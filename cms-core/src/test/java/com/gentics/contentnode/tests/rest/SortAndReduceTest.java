@@ -0,0 +1,57 @@
+package com.gentics.contentnode.tests.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+
+import org.junit.Test;
+
+import com.gentics.contentnode.rest.util.MiscUtils;
+
+/**
+ * Test cases for {@link MiscUtils#sortAndReduce(List, Comparator, Integer, Integer)}
+ */
+public class SortAndReduceTest {
+	/**
+	 * Comparator, which only compares the first character (so that many elements are equal)
+	 */
+	public final static Comparator<String> FIRST_CHAR = (s1, s2) -> Character.compare(s1.charAt(0), s2.charAt(0));
+
+	/**
+	 * Test that the top-K selection returns the same elements in the same order as sorting and reducing the whole list
+	 */
+	@Test
+	public void testSameAsSort() {
+		Random random = new Random(4711);
+		List<String> original = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			original.add((char) ('a' + random.nextInt(26)) + "-" + i);
+		}
+
+		for (int[] paging : new int[][] { { 0, 10 }, { 17, 10 }, { 0, 0 }, { 990, 10 }, { 995, 10 }, { 2000, 10 }, { 0, -1 }, { 100, -1 }, { 10, 400 } }) {
+			List<String> expected = new ArrayList<>(original);
+			Collections.sort(expected, FIRST_CHAR);
+			MiscUtils.reduceList(expected, paging[0], paging[1]);
+
+			List<String> actual = new Vector<>(original);
+			MiscUtils.sortAndReduce(actual, FIRST_CHAR, paging[0], paging[1]);
+
+			assertThat(actual).as("Sorted and reduced list for skipCount " + paging[0] + ", maxItems " + paging[1]).containsExactlyElementsOf(expected);
+		}
+	}
+
+	/**
+	 * Test that the list is only reduced without comparator
+	 */
+	@Test
+	public void testWithoutComparator() {
+		List<String> list = new ArrayList<>(List.of("c", "a", "b", "d"));
+		MiscUtils.sortAndReduce(list, null, 1, 2);
+		assertThat(list).as("Reduced list").containsExactly("a", "b");
+	}
+}
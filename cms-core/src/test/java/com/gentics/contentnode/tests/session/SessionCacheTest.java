@@ -0,0 +1,85 @@
+package com.gentics.contentnode.tests.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.gentics.contentnode.factory.SessionCache;
+
+/**
+ * Test cases for the {@link SessionCache}
+ */
+public class SessionCacheTest {
+	/**
+	 * Test that cached sessions are found until they expire
+	 * @throws Exception
+	 */
+	@Test
+	public void testExpiration() throws Exception {
+		SessionCache cache = new SessionCache(10, 200);
+		cache.put(new SessionCache.Entry(cache, 1, 42, 2, "secret"), cache.getGeneration());
+
+		SessionCache.Entry cached = cache.get(1);
+		assertThat(cached).as("Cached session").isNotNull();
+		assertThat(cached.getUserId()).as("User ID").isEqualTo(42);
+		assertThat(cached.getLanguageId()).as("Language ID").isEqualTo(2);
+		assertThat(cached.getSecret()).as("Secret").isEqualTo("secret");
+
+		Thread.sleep(250);
+		assertThat(cache.get(1)).as("Expired session").isNull();
+		assertThat(cache.getHits()).as("Cache hits").isEqualTo(1);
+		assertThat(cache.getMisses()).as("Cache misses").isEqualTo(1);
+	}
+
+	/**
+	 * Test that the cache does not grow beyond its size
+	 * @throws Exception
+	 */
+	@Test
+	public void testSize() throws Exception {
+		SessionCache cache = new SessionCache(2, 10_000);
+		for (int sessionId = 1; sessionId <= 3; sessionId++) {
+			cache.put(new SessionCache.Entry(cache, sessionId, 42, 1, "secret" + sessionId), cache.getGeneration());
+		}
+
+		assertThat(cache.getSize()).as("Number of cached sessions").isEqualTo(2);
+		assertThat(cache.get(3)).as("Session, which did not fit into the cache").isNull();
+	}
+
+	/**
+	 * Test invalidation of cached sessions
+	 * @throws Exception
+	 */
+	@Test
+	public void testInvalidation() throws Exception {
+		SessionCache cache = new SessionCache(10, 10_000);
+		cache.put(new SessionCache.Entry(cache, 1, 42, 1, "secret"), cache.getGeneration());
+		cache.put(new SessionCache.Entry(cache, 2, 42, 1, "secret"), cache.getGeneration());
+		cache.put(new SessionCache.Entry(cache, 3, 43, 1, "other"), cache.getGeneration());
+
+		cache.remove(entry -> entry.getSessionId() == 1);
+		assertThat(cache.get(1)).as("Invalidated session").isNull();
+		assertThat(cache.get(2)).as("Other session").isNotNull();
+
+		cache.remove(entry -> entry.getSecret().equals("secret"));
+		assertThat(cache.get(2)).as("Session with invalidated secret").isNull();
+		assertThat(cache.get(3)).as("Session with other secret").isNotNull();
+		assertThat(cache.getInvalidations()).as("Number of invalidations").isEqualTo(2);
+	}
+
+	/**
+	 * Test that sessions, which were loaded before an invalidation, are not put into the cache
+	 * @throws Exception
+	 */
+	@Test
+	public void testInvalidationWhileLoading() throws Exception {
+		SessionCache cache = new SessionCache(10, 10_000);
+		long generation = cache.getGeneration();
+
+		// session is invalidated while being loaded
+		cache.remove(entry -> entry.getSessionId() == 1);
+		cache.put(new SessionCache.Entry(cache, 1, 42, 1, "secret"), generation);
+
+		assertThat(cache.get(1)).as("Session loaded before invalidation").isNull();
+	}
+}
@@ -5,6 +5,7 @@ import static com.gentics.contentnode.factory.Trx.operate;
 import com.gentics.api.lib.cache.PortalCacheException;
 import com.gentics.api.lib.exception.NodeException;
 import com.gentics.api.lib.resolving.ResolverContextHandler;
+import com.gentics.contentnode.cache.CaffeineCache;
 import com.gentics.contentnode.cache.GCMSCache;
 import com.gentics.contentnode.db.DBUtils;
 import com.gentics.contentnode.etc.ContentNodeHelper;
@@ -172,7 +173,12 @@ public class Initializer {
 			String cachePath = ConfigurationValue.CACHE_PATH.get();
 			System.setProperty(ConfigurationValue.CACHE_PATH.getSystemPropertyName(), cachePath);
 
-			GCMSCache.initialize(cacheConfigurationPath);
+			if (StringUtils.equalsIgnoreCase(ConfigurationValue.CACHE_IMPLEMENTATION.get(), CaffeineCache.IMPLEMENTATION_NAME)) {
+				logger.info("Using Caffeine cache implementation");
+				CaffeineCache.initialize(cacheConfigurationPath);
+			} else {
+				GCMSCache.initialize(cacheConfigurationPath);
+			}
 		} catch (PortalCacheException e) {
 			logger.error("Error while initializing the cache", e);
 		}
@@ -254,8 +260,10 @@ public class Initializer {
 	 * Shutdown
 	 */
 	public void shutdown() {
-		logger.info("Shutdown JCS Cache");
-		CompositeCacheManager.getInstance().shutDown();
+		if (!StringUtils.equalsIgnoreCase(ConfigurationValue.CACHE_IMPLEMENTATION.get(), CaffeineCache.IMPLEMENTATION_NAME)) {
+			logger.info("Shutdown JCS Cache");
+			CompositeCacheManager.getInstance().shutDown();
+		}
 
 		logger.info("Checking for running publish process.");
 		if (PublishController.isRunningLocally()) {
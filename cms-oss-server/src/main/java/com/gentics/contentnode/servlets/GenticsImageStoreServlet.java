@@ -67,7 +67,7 @@ public class GenticsImageStoreServlet extends HttpServlet {
 	/**
 	 * Default value for parallel resize operations
 	 */
-	public final static int DEFAULT_SEMAPHORE_PERMITS = 10;
+	public final static int DEFAULT_SEMAPHORE_PERMITS = CNGenticsImageStore.DEFAULT_SEMAPHORE_PERMITS;
 
 	/**
 	 * logger
@@ -82,7 +82,7 @@ public class GenticsImageStoreServlet extends HttpServlet {
 	/**
 	 * Config parameter for parallel GIS requests
 	 */
-	public final static String SEMAPHORE_PERMITS = "gis_requests";
+	public final static String SEMAPHORE_PERMITS = CNGenticsImageStore.SEMAPHORE_PERMITS;
 
 	/**
 	 * Will be instantiated with a class given by an optional servlet parameter which enables the user
@@ -110,8 +110,8 @@ public class GenticsImageStoreServlet extends HttpServlet {
 		ServletConfig config = getServletConfig();
 		Properties configurationProperties = runtimeConfiguration.getConfigurationProperties();
 
-		semaphore = new Semaphore(ObjectTransformer.getInt(runtimeConfiguration.getNodeConfig().getDefaultPreferences().getProperty(SEMAPHORE_PERMITS),
-				DEFAULT_SEMAPHORE_PERMITS), true);
+		// the semaphore is shared with the publish process
+		semaphore = CNGenticsImageStore.getSharedSemaphore();
 
 		for (Enumeration<?> e = config.getInitParameterNames(); e.hasMoreElements();) {
 			String name = e.nextElement().toString();